@@ -96,6 +96,11 @@ public class ClientConfig {
     private Map<String, ClientReliableTopicConfig> reliableTopicConfigMap
             = new ConcurrentHashMap<String, ClientReliableTopicConfig>();
 
+    private Map<String, ClientFlakeIdGeneratorConfig> flakeIdGeneratorConfigMap
+            = new ConcurrentHashMap<String, ClientFlakeIdGeneratorConfig>();
+
+    private Map<String, ClientQueueConfig> queueConfigMap = new ConcurrentHashMap<String, ClientQueueConfig>();
+
     private Map<String, Map<String, QueryCacheConfig>> queryCacheConfigs;
 
     private SerializationConfig serializationConfig = new SerializationConfig();
@@ -234,6 +239,76 @@ public class ClientConfig {
         return reliableTopicConfig;
     }
 
+    /**
+     * Adds a ClientFlakeIdGeneratorConfig.
+     *
+     * @param flakeIdGeneratorConfig the ClientFlakeIdGeneratorConfig to add
+     * @return configured {@link com.hazelcast.client.config.ClientConfig} for chaining
+     */
+    public ClientConfig addFlakeIdGeneratorConfig(ClientFlakeIdGeneratorConfig flakeIdGeneratorConfig) {
+        flakeIdGeneratorConfigMap.put(flakeIdGeneratorConfig.getName(), flakeIdGeneratorConfig);
+        return this;
+    }
+
+    /**
+     * Gets the ClientFlakeIdGeneratorConfig for a given flake ID generator name.
+     *
+     * @param name the name of the flake ID generator
+     * @return the found config. If none is found, a default configured one is returned.
+     */
+    public ClientFlakeIdGeneratorConfig getFlakeIdGeneratorConfig(String name) {
+        ClientFlakeIdGeneratorConfig flakeIdGeneratorConfig = lookupByPattern(flakeIdGeneratorConfigMap, name);
+        if (flakeIdGeneratorConfig == null) {
+            flakeIdGeneratorConfig = new ClientFlakeIdGeneratorConfig(name);
+            addFlakeIdGeneratorConfig(flakeIdGeneratorConfig);
+        }
+        return flakeIdGeneratorConfig;
+    }
+
+    /**
+     * Returns the map of ClientFlakeIdGeneratorConfigs, mapped by config name.
+     *
+     * @return the flake ID generator configurations mapped by config name
+     */
+    public Map<String, ClientFlakeIdGeneratorConfig> getFlakeIdGeneratorConfigMap() {
+        return flakeIdGeneratorConfigMap;
+    }
+
+    /**
+     * Adds a ClientQueueConfig.
+     *
+     * @param queueConfig the ClientQueueConfig to add
+     * @return configured {@link com.hazelcast.client.config.ClientConfig} for chaining
+     */
+    public ClientConfig addQueueConfig(ClientQueueConfig queueConfig) {
+        queueConfigMap.put(queueConfig.getName(), queueConfig);
+        return this;
+    }
+
+    /**
+     * Gets the ClientQueueConfig for a given queue name.
+     *
+     * @param name the name of the queue
+     * @return the found config. If none is found, a default configured one is returned.
+     */
+    public ClientQueueConfig getQueueConfig(String name) {
+        ClientQueueConfig queueConfig = lookupByPattern(queueConfigMap, name);
+        if (queueConfig == null) {
+            queueConfig = new ClientQueueConfig(name);
+            addQueueConfig(queueConfig);
+        }
+        return queueConfig;
+    }
+
+    /**
+     * Returns the map of ClientQueueConfigs, mapped by config name.
+     *
+     * @return the queue configurations mapped by config name
+     */
+    public Map<String, ClientQueueConfig> getQueueConfigMap() {
+        return queueConfigMap;
+    }
+
     /**
      * please use {@link ClientConfig#addNearCacheConfig(NearCacheConfig)}
      *
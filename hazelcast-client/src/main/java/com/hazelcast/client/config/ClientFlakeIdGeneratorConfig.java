@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.config;
+
+import static com.hazelcast.config.FlakeIdGeneratorConfig.DEFAULT_PREFETCH_COUNT;
+import static com.hazelcast.config.FlakeIdGeneratorConfig.DEFAULT_PREFETCH_VALIDITY_MILLIS;
+import static com.hazelcast.config.FlakeIdGeneratorConfig.MAXIMUM_PREFETCH_COUNT;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * Contains the FlakeIdGenerator configuration for a client.
+ *
+ * @see com.hazelcast.client.proxy.ClientFlakeIdGeneratorProxy
+ */
+public class ClientFlakeIdGeneratorConfig {
+
+    private String name;
+    private int prefetchCount = DEFAULT_PREFETCH_COUNT;
+    private long prefetchValidityMillis = DEFAULT_PREFETCH_VALIDITY_MILLIS;
+
+    /**
+     * Creates a new ClientFlakeIdGeneratorConfig with default settings.
+     */
+    public ClientFlakeIdGeneratorConfig(String name) {
+        this.name = checkNotNull(name, "name");
+    }
+
+    /**
+     * Gets the name of the flake ID generator.
+     *
+     * @return the name of the flake ID generator.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of IDs prefetched in a single batch.
+     *
+     * @return the prefetch count.
+     * @see #setPrefetchCount(int)
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * Sets how many IDs are prefetched in a single batch.
+     *
+     * Every batch is requested from a random member with a single remote call, the IDs of the batch are then
+     * returned locally. A larger batch reduces the number of remote calls, but IDs of a batch which is not used up
+     * are lost.
+     *
+     * @param prefetchCount the number of IDs in a batch, from 1 to {@value
+     *                      com.hazelcast.config.FlakeIdGeneratorConfig#MAXIMUM_PREFETCH_COUNT}.
+     * @return the updated config.
+     * @throws IllegalArgumentException if prefetchCount is out of range.
+     */
+    public ClientFlakeIdGeneratorConfig setPrefetchCount(int prefetchCount) {
+        checkTrue(prefetchCount > 0 && prefetchCount <= MAXIMUM_PREFETCH_COUNT,
+                "prefetchCount should be in the range 1.." + MAXIMUM_PREFETCH_COUNT + ", but is " + prefetchCount);
+        this.prefetchCount = prefetchCount;
+        return this;
+    }
+
+    /**
+     * Gets the time in milliseconds a prefetched batch of IDs stays valid.
+     *
+     * @return the prefetch validity in milliseconds, {@code 0} means unlimited.
+     * @see #setPrefetchValidityMillis(long)
+     */
+    public long getPrefetchValidityMillis() {
+        return prefetchValidityMillis;
+    }
+
+    /**
+     * Sets how long a prefetched batch of IDs stays valid. After this time the remaining IDs of the batch are
+     * discarded, so the returned IDs stay roughly ordered by their creation time.
+     *
+     * @param prefetchValidityMillis the validity in milliseconds, {@code 0} means unlimited.
+     * @return the updated config.
+     * @throws IllegalArgumentException if prefetchValidityMillis is negative.
+     */
+    public ClientFlakeIdGeneratorConfig setPrefetchValidityMillis(long prefetchValidityMillis) {
+        this.prefetchValidityMillis = checkNotNegative(prefetchValidityMillis, "prefetchValidityMillis should not be negative");
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientFlakeIdGeneratorConfig{"
+                + "name='" + name + '\''
+                + ", prefetchCount=" + prefetchCount
+                + ", prefetchValidityMillis=" + prefetchValidityMillis
+                + '}';
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.config;
+
+import static com.hazelcast.config.QueueConfig.DEFAULT_SHARD_COUNT;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Contains the Queue configuration for a client.
+ *
+ * @see com.hazelcast.client.proxy.ClientShardedQueueProxy
+ */
+public class ClientQueueConfig {
+
+    private String name;
+    private int shardCount = DEFAULT_SHARD_COUNT;
+
+    /**
+     * Creates a new ClientQueueConfig with default settings.
+     */
+    public ClientQueueConfig(String name) {
+        this.name = checkNotNull(name, "name");
+    }
+
+    /**
+     * Gets the name of the queue.
+     *
+     * @return the name of the queue.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of sub-queues the items of this queue are spread over.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of sub-queues the items of this queue are spread over.
+     *
+     * The shard count must be the same as the {@link com.hazelcast.config.QueueConfig#setShardCount(int) shard count}
+     * of the queue on the members, otherwise the client offers to and polls from other sub-queues than the members.
+     *
+     * @param shardCount the number of shards
+     * @return the updated queue config.
+     * @throws IllegalArgumentException if shardCount is smaller than 1.
+     */
+    public ClientQueueConfig setShardCount(int shardCount) {
+        this.shardCount = checkPositive(shardCount, "shardCount should be positive");
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientQueueConfig{"
+                + "name='" + name + '\''
+                + ", shardCount=" + shardCount
+                + '}';
+    }
+}
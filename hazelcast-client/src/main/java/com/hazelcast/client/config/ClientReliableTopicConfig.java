@@ -40,10 +40,16 @@ public class ClientReliableTopicConfig {
      */
     public static final TopicOverloadPolicy DEFAULT_TOPIC_OVERLOAD_POLICY = BLOCK;
 
+    /**
+     * The default number of shards, a single ringbuffer backs the topic.
+     */
+    public static final int DEFAULT_SHARD_COUNT = 1;
+
     private Executor executor;
     private int readBatchSize = DEFAULT_READ_BATCH_SIZE;
     private String name;
     private TopicOverloadPolicy topicOverloadPolicy = DEFAULT_TOPIC_OVERLOAD_POLICY;
+    private int shardCount = DEFAULT_SHARD_COUNT;
 
     /**
      * Creates a new ReliableTopicConfig with default settings.
@@ -153,6 +159,31 @@ public class ClientReliableTopicConfig {
         return this;
     }
 
+    /**
+     * Gets the number of ringbuffers the messages of this reliable topic are spread over.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of ringbuffers the messages of this reliable topic are spread over.
+     *
+     * The shard count must be the same as the {@link com.hazelcast.config.ReliableTopicConfig#setShardCount(int) shard
+     * count} of the topic on the members, otherwise the client publishes to and listens on other ringbuffers than the
+     * members.
+     *
+     * @param shardCount the number of shards
+     * @return the updated reliable topic config.
+     * @throws IllegalArgumentException if shardCount is smaller than 1.
+     */
+    public ClientReliableTopicConfig setShardCount(int shardCount) {
+        this.shardCount = checkPositive(shardCount, "shardCount should be positive");
+        return this;
+    }
+
     @Override
     public String toString() {
         return "ClientReliableTopicConfig{"
@@ -160,6 +191,7 @@ public class ClientReliableTopicConfig {
                 + ", topicOverloadPolicy=" + topicOverloadPolicy
                 + ", executor=" + executor
                 + ", readBatchSize=" + readBatchSize
+                + ", shardCount=" + shardCount
                 + '}';
     }
 }
@@ -50,6 +50,7 @@ import com.hazelcast.config.ConfigPatternMatcher;
 import com.hazelcast.config.DurableExecutorConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.GroupConfig;
 import com.hazelcast.config.HotRestartPersistenceConfig;
 import com.hazelcast.config.JobTrackerConfig;
@@ -641,6 +642,32 @@ public class ClientDynamicClusterConfig extends Config {
         throw new UnsupportedOperationException(UNSUPPORTED_ERROR_MESSAGE);
     }
 
+    @Override
+    public Config addFlakeIdGeneratorConfig(FlakeIdGeneratorConfig config) {
+        throw new UnsupportedOperationException("Adding a flake ID generator configuration is not supported by the"
+                + " client protocol, add it to the configuration of the members instead");
+    }
+
+    @Override
+    public FlakeIdGeneratorConfig findFlakeIdGeneratorConfig(String name) {
+        throw new UnsupportedOperationException(UNSUPPORTED_ERROR_MESSAGE);
+    }
+
+    @Override
+    public FlakeIdGeneratorConfig getFlakeIdGeneratorConfig(String name) {
+        throw new UnsupportedOperationException(UNSUPPORTED_ERROR_MESSAGE);
+    }
+
+    @Override
+    public Map<String, FlakeIdGeneratorConfig> getFlakeIdGeneratorConfigs() {
+        throw new UnsupportedOperationException(UNSUPPORTED_ERROR_MESSAGE);
+    }
+
+    @Override
+    public Config setFlakeIdGeneratorConfigs(Map<String, FlakeIdGeneratorConfig> map) {
+        throw new UnsupportedOperationException(UNSUPPORTED_ERROR_MESSAGE);
+    }
+
     @Override
     public Map<String, TopicConfig> getTopicConfigs() {
         throw new UnsupportedOperationException(UNSUPPORTED_ERROR_MESSAGE);
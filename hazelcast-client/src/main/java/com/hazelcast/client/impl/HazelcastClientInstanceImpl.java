@@ -98,6 +98,8 @@ import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.durableexecutor.DurableExecutorService;
 import com.hazelcast.durableexecutor.impl.DistributedDurableExecutorService;
 import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.flakeidgen.impl.FlakeIdGeneratorService;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.internal.diagnostics.BuildInfoPlugin;
 import com.hazelcast.internal.diagnostics.ConfigPropertiesPlugin;
@@ -125,6 +127,8 @@ import com.hazelcast.mapreduce.impl.MapReduceService;
 import com.hazelcast.multimap.impl.MultiMapService;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.Connection;
+import com.hazelcast.pncounter.PNCounter;
+import com.hazelcast.pncounter.impl.PNCounterService;
 import com.hazelcast.quorum.QuorumService;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.ringbuffer.Ringbuffer;
@@ -590,6 +594,16 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         return getDistributedObject(IdGeneratorService.SERVICE_NAME, name);
     }
 
+    @Override
+    public FlakeIdGenerator getFlakeIdGenerator(String name) {
+        return getDistributedObject(FlakeIdGeneratorService.SERVICE_NAME, name);
+    }
+
+    @Override
+    public PNCounter getPNCounter(String name) {
+        return getDistributedObject(PNCounterService.SERVICE_NAME, name);
+    }
+
     @Override
     public IAtomicLong getAtomicLong(String name) {
         return getDistributedObject(AtomicLongService.SERVICE_NAME, name);
@@ -44,9 +44,11 @@ import com.hazelcast.core.MultiMap;
 import com.hazelcast.core.PartitionService;
 import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.durableexecutor.DurableExecutorService;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
 import com.hazelcast.instance.TerminatedLifecycleService;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.mapreduce.JobTracker;
+import com.hazelcast.pncounter.PNCounter;
 import com.hazelcast.quorum.QuorumService;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.scheduledexecutor.IScheduledExecutorService;
@@ -190,6 +192,16 @@ public class HazelcastClientProxy implements HazelcastInstance, SerializationSer
         return getClient().getIdGenerator(name);
     }
 
+    @Override
+    public FlakeIdGenerator getFlakeIdGenerator(String name) {
+        return getClient().getFlakeIdGenerator(name);
+    }
+
+    @Override
+    public PNCounter getPNCounter(String name) {
+        return getClient().getPNCounter(name);
+    }
+
     @Override
     public IAtomicLong getAtomicLong(String name) {
         return getClient().getAtomicLong(name);
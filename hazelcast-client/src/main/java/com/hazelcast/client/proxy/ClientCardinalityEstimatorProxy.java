@@ -17,18 +17,37 @@
 package com.hazelcast.client.proxy;
 
 import com.hazelcast.cardinality.CardinalityEstimator;
+import com.hazelcast.cardinality.impl.CardinalityEstimatorService;
+import com.hazelcast.cardinality.impl.HyperLogLogBuffer;
+import com.hazelcast.cardinality.impl.MergeCallable;
 import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.CardinalityEstimatorAddCodec;
 import com.hazelcast.client.impl.protocol.codec.CardinalityEstimatorEstimateCodec;
 import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.core.IExecutorService;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.strategy.StringPartitioningStrategy;
 import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 
+import java.util.concurrent.ExecutionException;
+
+import static com.hazelcast.client.spi.properties.ClientProperty.CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Proxy implementation of {@link CardinalityEstimator}.
+ * <p>
+ * When {@link ClientProperty#CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS} is set, the added elements are aggregated
+ * into a {@link HyperLogLogBuffer}. At the end of the window and before every estimate the buffer is merged into the
+ * estimator by submitting a {@link MergeCallable} to the partition owner through the executor named
+ * {@link CardinalityEstimatorService#EXECUTOR_NAME}, because the client protocol has no message for the merge. The
+ * future returned by {@link #addAsync(Object)} is completed when the window of the element has been merged,
+ * {@link #add(Object)} does not wait for the merge.
  */
 public class ClientCardinalityEstimatorProxy
         extends PartitionSpecificClientProxy implements CardinalityEstimator {
@@ -47,10 +66,32 @@ public class ClientCardinalityEstimatorProxy
         }
     };
 
+    private String partitionKey;
+    private long bufferWindowMillis;
+    private HyperLogLogBuffer buffer;
+    private IExecutorService executor;
+
     public ClientCardinalityEstimatorProxy(String serviceName, String objectId, ClientContext context) {
         super(serviceName, objectId, context);
     }
 
+    @Override
+    protected void onInitialize() {
+        super.onInitialize();
+        partitionKey = StringPartitioningStrategy.getPartitionKey(name);
+        bufferWindowMillis = getClient().getProperties().getMillis(CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS);
+        if (bufferWindowMillis > 0) {
+            buffer = new HyperLogLogBuffer(getContext().getExecutionService().getUserExecutor(),
+                    getContext().getLoggingService().getLogger(HyperLogLogBuffer.class), new Runnable() {
+                @Override
+                public void run() {
+                    scheduleFlush();
+                }
+            });
+            executor = getClient().getExecutorService(CardinalityEstimatorService.EXECUTOR_NAME);
+        }
+    }
+
     @Override
     public String toString() {
         return "CardinalityEstimator{" + "name='" + name + '\'' + '}';
@@ -58,7 +99,10 @@ public class ClientCardinalityEstimatorProxy
 
     @Override
     public void add(Object obj) {
-        addAsync(obj).join();
+        InternalCompletableFuture<Void> future = addAsync(obj);
+        if (buffer == null) {
+            future.join();
+        }
     }
 
     @Override
@@ -71,13 +115,79 @@ public class ClientCardinalityEstimatorProxy
         checkNotNull(obj, "Object is null");
 
         Data data = toData(obj);
+        if (buffer != null) {
+            return buffer.add(data.hash64());
+        }
         ClientMessage request = CardinalityEstimatorAddCodec.encodeRequest(name, data.hash64());
         return invokeOnPartitionAsync(request, ADD_DECODER);
     }
 
     @Override
     public InternalCompletableFuture<Long> estimateAsync() {
+        if (buffer != null) {
+            flushAndWait();
+        }
         ClientMessage request = CardinalityEstimatorEstimateCodec.encodeRequest(name);
         return invokeOnPartitionAsync(request, ESTIMATE_DECODER);
     }
+
+    @Override
+    protected void onDestroy() {
+        if (buffer != null) {
+            HyperLogLogBuffer.Window window = buffer.drain();
+            if (window != null) {
+                window.fail(new DistributedObjectDestroyedException("CardinalityEstimator[" + name
+                        + "] has been destroyed before the buffered elements were merged"));
+            }
+        }
+    }
+
+    @Override
+    protected void onShutdown() {
+        if (buffer != null) {
+            flush();
+        }
+    }
+
+    private void scheduleFlush() {
+        getContext().getExecutionService().schedule(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, bufferWindowMillis, MILLISECONDS);
+    }
+
+    /**
+     * Merges the buffered elements. The futures of the adds of the window are completed when the merge completes,
+     * a failed window is put back into the buffer by {@link HyperLogLogBuffer.Window#onFailure}.
+     */
+    private void flush() {
+        HyperLogLogBuffer.Window window = buffer.drain();
+        if (window != null) {
+            executor.submitToKeyOwner(new MergeCallable(name, window.getSketch()), partitionKey, window);
+        }
+    }
+
+    /**
+     * Merges the buffered elements before an estimate, so the estimate includes them. The merge is not ordered
+     * with the estimate invocation, so it has to complete first.
+     */
+    private void flushAndWait() {
+        HyperLogLogBuffer.Window window = buffer.drain();
+        if (window == null) {
+            return;
+        }
+        try {
+            executor.submitToKeyOwner(new MergeCallable(name, window.getSketch()), partitionKey).get();
+            window.onResponse(null);
+        } catch (ExecutionException e) {
+            window.onFailure(e.getCause());
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            window.onFailure(e);
+            Thread.currentThread().interrupt();
+            throw rethrow(e);
+        }
+    }
 }
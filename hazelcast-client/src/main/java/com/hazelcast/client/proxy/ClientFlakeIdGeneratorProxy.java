@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.config.ClientFlakeIdGeneratorConfig;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.ClientProxy;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.flakeidgen.impl.AutoBatcher;
+import com.hazelcast.flakeidgen.impl.AutoBatcher.IdBatchSupplier;
+import com.hazelcast.flakeidgen.impl.IdBatchAndWaitTime;
+import com.hazelcast.flakeidgen.impl.NewIdBatchCallable;
+import com.hazelcast.util.Clock;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Proxy implementation of {@link FlakeIdGenerator}.
+ * <p>
+ * The client does not have a node ID, it requests the batches of IDs from a random member by submitting a
+ * {@link NewIdBatchCallable} to the executor named
+ * {@link com.hazelcast.flakeidgen.impl.FlakeIdGeneratorService#EXECUTOR_NAME}. The next batch is requested as soon
+ * as the current one is taken into use, so {@link #newId()} does not wait for the executor unless the IDs are used
+ * up faster than a batch is fetched.
+ */
+public class ClientFlakeIdGeneratorProxy extends ClientProxy implements FlakeIdGenerator {
+
+    private final AutoBatcher batcher;
+
+    public ClientFlakeIdGeneratorProxy(String serviceName, String objectId, ClientContext context,
+                                       ClientFlakeIdGeneratorConfig config, IExecutorService executor) {
+        super(serviceName, objectId, context);
+        this.batcher = new AutoBatcher(config.getPrefetchCount(), config.getPrefetchValidityMillis(),
+                new PrefetchingIdBatchSupplier(objectId, config.getPrefetchValidityMillis(), executor));
+    }
+
+    @Override
+    public long newId() {
+        return batcher.newId();
+    }
+
+    @Override
+    public String toString() {
+        return "FlakeIdGenerator{" + "name='" + name + '\'' + '}';
+    }
+
+    /**
+     * Hands out the batch requested in the background and requests the next one. The {@link AutoBatcher} calls it
+     * under its lock, so it is not called concurrently.
+     */
+    private static final class PrefetchingIdBatchSupplier implements IdBatchSupplier {
+        private final String name;
+        private final long validity;
+        private final IExecutorService executor;
+        private Future<IdBatchAndWaitTime> prefetched;
+        private long prefetchedSince;
+
+        PrefetchingIdBatchSupplier(String name, long validity, IExecutorService executor) {
+            this.name = name;
+            this.validity = validity;
+            this.executor = executor;
+        }
+
+        @Override
+        public IdBatchAndWaitTime newIdBatch(int batchSize) {
+            Future<IdBatchAndWaitTime> future = prefetched;
+            // a batch prefetched longer than its validity ago would be discarded right away by the batcher
+            if (future == null || (validity > 0 && prefetchedSince + validity <= Clock.currentTimeMillis())) {
+                future = submit(batchSize);
+            }
+            prefetched = submit(batchSize);
+            prefetchedSince = Clock.currentTimeMillis();
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rethrow(e);
+            }
+        }
+
+        private Future<IdBatchAndWaitTime> submit(int batchSize) {
+            return executor.submit(new NewIdBatchCallable(name, batchSize, true));
+        }
+    }
+}
@@ -42,6 +42,7 @@ import com.hazelcast.client.impl.protocol.codec.MultiMapValuesCodec;
 import com.hazelcast.client.spi.ClientContext;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.EventHandler;
+import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryEventType;
@@ -73,12 +74,15 @@ import com.hazelcast.util.ThreadUtil;
 
 import java.util.AbstractMap;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkPositive;
 import static com.hazelcast.util.Preconditions.isNotNull;
@@ -125,6 +129,63 @@ public class ClientMultiMapProxy<K, V> extends ClientProxy implements MultiMap<K
         return new UnmodifiableLazyList<V>(resultParameters.response, getSerializationService());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The client protocol has no message for adding multiple values with a single operation, so the values
+     * are added one by one to preserve their order.
+     */
+    @Override
+    public boolean putAll(K key, Collection<? extends V> values) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(values, "Null values collection is not allowed!");
+
+        Data keyData = toData(key);
+        long threadId = ThreadUtil.getThreadId();
+        boolean changed = false;
+        for (V value : values) {
+            checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+            ClientMessage request = MultiMapPutCodec.encodeRequest(name, keyData, toData(value), threadId);
+            ClientMessage response = invoke(request, keyData);
+            changed |= MultiMapPutCodec.decodeResponse(response).response;
+        }
+        return changed;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The client protocol has no message for fetching multiple keys with a single operation, so the keys are
+     * fetched with concurrent invocations instead of one after the other.
+     */
+    @Override
+    public Map<K, Collection<V>> getAll(Set<K> keys) {
+        checkNotNull(keys, "Null keys set is not allowed!");
+
+        long threadId = ThreadUtil.getThreadId();
+        Map<K, Future<ClientMessage>> futures = new HashMap<K, Future<ClientMessage>>(keys.size());
+        for (K key : keys) {
+            checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+            Data keyData = toData(key);
+            int partitionId = getContext().getPartitionService().getPartitionId(keyData);
+            ClientMessage request = MultiMapGetCodec.encodeRequest(name, keyData, threadId);
+            futures.put(key, new ClientInvocation(getClient(), request, getName(), partitionId).invoke());
+        }
+
+        Map<K, Collection<V>> result = new HashMap<K, Collection<V>>(futures.size());
+        for (Map.Entry<K, Future<ClientMessage>> entry : futures.entrySet()) {
+            try {
+                MultiMapGetCodec.ResponseParameters resultParameters = MultiMapGetCodec.decodeResponse(entry.getValue().get());
+                if (!resultParameters.response.isEmpty()) {
+                    result.put(entry.getKey(), new UnmodifiableLazyList<V>(resultParameters.response, getSerializationService()));
+                }
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+        }
+        return result;
+    }
+
     @Override
     public boolean remove(Object key, Object value) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
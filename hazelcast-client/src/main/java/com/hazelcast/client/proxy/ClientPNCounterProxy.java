@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.ClientProxy;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.core.Member;
+import com.hazelcast.pncounter.ConsistencyLostException;
+import com.hazelcast.pncounter.PNCounter;
+import com.hazelcast.pncounter.impl.PNCounterCallable;
+import com.hazelcast.pncounter.impl.PNCounterResult;
+import com.hazelcast.spi.exception.RetryableException;
+import com.hazelcast.util.RandomPicker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Proxy implementation of {@link PNCounter}.
+ * <p>
+ * The client does not hold a replica of the counter, it submits every invocation as a {@link PNCounterCallable}
+ * to the executor named {@link com.hazelcast.pncounter.impl.PNCounterService#EXECUTOR_NAME} on a single member and
+ * keeps using that member as long as it is reachable. The proxy remembers the logical timestamps of the replicas it
+ * has observed and sends them with every invocation, a member which has not received all of them rejects the
+ * invocation and the proxy tries another member. This keeps read-your-writes when the proxy has to switch members.
+ * An update which fails for another reason is not retried, since it may have been applied already.
+ */
+public class ClientPNCounterProxy extends ClientProxy implements PNCounter {
+
+    private final IExecutorService executor;
+    private volatile Map<String, Long> observedClock = Collections.emptyMap();
+    private volatile Member target;
+
+    public ClientPNCounterProxy(String serviceName, String objectId, ClientContext context, IExecutorService executor) {
+        super(serviceName, objectId, context);
+        this.executor = executor;
+    }
+
+    @Override
+    public long get() {
+        return invoke(0);
+    }
+
+    @Override
+    public long getAndAdd(long delta) {
+        return invoke(delta) - delta;
+    }
+
+    @Override
+    public long addAndGet(long delta) {
+        return invoke(delta);
+    }
+
+    @Override
+    public long getAndSubtract(long delta) {
+        return invoke(-delta) + delta;
+    }
+
+    @Override
+    public long subtractAndGet(long delta) {
+        return invoke(-delta);
+    }
+
+    @Override
+    public long getAndIncrement() {
+        return invoke(1) - 1;
+    }
+
+    @Override
+    public long incrementAndGet() {
+        return invoke(1);
+    }
+
+    @Override
+    public long getAndDecrement() {
+        return invoke(-1) + 1;
+    }
+
+    @Override
+    public long decrementAndGet() {
+        return invoke(-1);
+    }
+
+    @Override
+    public synchronized void reset() {
+        observedClock = Collections.emptyMap();
+        target = null;
+    }
+
+    private long invoke(long delta) {
+        Set<Member> failedMembers = new HashSet<Member>();
+        Throwable lastFailure = null;
+        Member member;
+        while ((member = chooseTarget(failedMembers)) != null) {
+            try {
+                PNCounterCallable callable = new PNCounterCallable(name, delta, observedClock);
+                PNCounterResult result = executor.submitToMember(callable, member).get();
+                updateObservedClock(result.getClock());
+                return result.getValue();
+            } catch (ExecutionException e) {
+                // MemberLeftException is an ExecutionException itself
+                lastFailure = e.getCause() != null ? e.getCause() : e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rethrow(e);
+            } catch (HazelcastException e) {
+                lastFailure = e;
+            }
+            failedMembers.add(member);
+            target = null;
+            if (!isRetryable(lastFailure, delta)) {
+                throw rethrow(lastFailure);
+            }
+        }
+        if (lastFailure == null) {
+            throw new HazelcastException("Cannot invoke the PN counter " + name + ", there is no member in the cluster");
+        }
+        throw rethrow(lastFailure);
+    }
+
+    private Member chooseTarget(Set<Member> failedMembers) {
+        Member member = target;
+        if (member != null) {
+            return member;
+        }
+        List<Member> candidates = new ArrayList<Member>(getContext().getClusterService().getMemberList());
+        candidates.removeAll(failedMembers);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        member = candidates.get(RandomPicker.getInt(candidates.size()));
+        target = member;
+        return member;
+    }
+
+    private synchronized void updateObservedClock(Map<String, Long> clock) {
+        Map<String, Long> merged = new HashMap<String, Long>(observedClock);
+        for (Map.Entry<String, Long> entry : clock.entrySet()) {
+            Long observed = merged.get(entry.getKey());
+            if (observed == null || observed < entry.getValue()) {
+                merged.put(entry.getKey(), entry.getValue());
+            }
+        }
+        observedClock = merged;
+    }
+
+    /**
+     * A member rejects an invocation with a {@link ConsistencyLostException} before it applies the delta, so it can
+     * always be retried on another member. Any other failure may have hit an update which has already been applied,
+     * and an update is not idempotent, so only reads are retried then.
+     */
+    private static boolean isRetryable(Throwable failure, long delta) {
+        if (failure instanceof ConsistencyLostException) {
+            return true;
+        }
+        return delta == 0
+                && (failure instanceof RetryableException
+                || failure instanceof HazelcastInstanceNotActiveException
+                || failure instanceof IOException);
+    }
+
+    @Override
+    public String toString() {
+        return "PNCounter{" + "name='" + name + '\'' + '}';
+    }
+}
@@ -28,6 +28,7 @@ import com.hazelcast.core.ITopic;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.Message;
 import com.hazelcast.core.MessageListener;
+import com.hazelcast.core.PartitionAware;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.LocalTopicStats;
 import com.hazelcast.nio.serialization.Data;
@@ -42,6 +43,7 @@ import com.hazelcast.topic.TopicOverloadException;
 import com.hazelcast.topic.TopicOverloadPolicy;
 import com.hazelcast.topic.impl.reliable.ReliableMessageListenerAdapter;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
+import com.hazelcast.topic.impl.reliable.ShardedListenerGroup;
 import com.hazelcast.util.UuidUtil;
 import com.hazelcast.version.MemberVersion;
 
@@ -50,9 +52,10 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
-import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
+import static com.hazelcast.ringbuffer.impl.RingbufferService.getTopicRingbufferName;
 import static com.hazelcast.topic.impl.reliable.ReliableTopicService.SERVICE_NAME;
 import static com.hazelcast.util.ExceptionUtil.peel;
+import static com.hazelcast.util.HashUtil.hashToIndex;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -61,6 +64,10 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * <p/>
  * Unlike other topics, a reliable topic has its own {@link com.hazelcast.ringbuffer.Ringbuffer} to store events and
  * has its own executor to process events.
+ * <p/>
+ * If the topic is configured with a {@link ClientReliableTopicConfig#getShardCount() shard count} larger than 1, it
+ * uses the ringbuffers of the shards of the topic on the members. The messages are added to the shards like on the
+ * members, and every listener has a runner per shard.
  *
  * @param <E> message type
  */
@@ -71,17 +78,23 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
 
     private final ILogger logger;
     private final ConcurrentMap<String, MessageRunner> runnersMap = new ConcurrentHashMap<String, MessageRunner>();
-    private final Ringbuffer ringbuffer;
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final Ringbuffer<ReliableTopicMessage>[] shards;
     private final SerializationService serializationService;
     private final ClientReliableTopicConfig config;
     private final Executor executor;
     private final TopicOverloadPolicy overloadPolicy;
 
+    @SuppressWarnings("unchecked")
     public ClientReliableTopicProxy(String objectId, ClientContext context, HazelcastClientInstanceImpl client) {
         super(SERVICE_NAME, objectId, context);
-        this.ringbuffer = client.getRingbuffer(TOPIC_RB_PREFIX + objectId);
         this.serializationService = client.getSerializationService();
         this.config = client.getClientConfig().getReliableTopicConfig(objectId);
+        this.shards = new Ringbuffer[config.getShardCount()];
+        for (int shard = 0; shard < shards.length; shard++) {
+            shards[shard] = client.getRingbuffer(getTopicRingbufferName(objectId, shard));
+        }
+        this.ringbuffer = shards[0];
         this.executor = getExecutor(config, client);
         this.overloadPolicy = config.getTopicOverloadPolicy();
         logger = client.getLoggingService().getLogger(getClass());
@@ -95,23 +108,42 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         return executor;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * On a sharded topic the message is added to the shard selected by its partition key if it is
+     * {@link PartitionAware}, otherwise to a shard selected by the publishing thread.
+     */
     @Override
     public void publish(E payload) {
+        Object key = payload instanceof PartitionAware ? ((PartitionAware) payload).getPartitionKey() : null;
+        publish(key, payload);
+    }
+
+    /**
+     * Publishes the message to the shard selected by the given key. Messages published with the same key are
+     * received in publication order. On an unsharded topic the key is ignored.
+     *
+     * @param key     the key selecting the shard or {@code null} to select the shard by the publishing thread
+     * @param payload the message
+     */
+    public void publish(Object key, E payload) {
         try {
             Data data = serializationService.toData(payload);
             ReliableTopicMessage message = new ReliableTopicMessage(data, null);
+            Ringbuffer<ReliableTopicMessage> shard = selectShard(key);
             switch (overloadPolicy) {
                 case ERROR:
-                    addOrFail(message);
+                    addOrFail(shard, message);
                     break;
                 case DISCARD_OLDEST:
-                    addOrOverwrite(message);
+                    addOrOverwrite(shard, message);
                     break;
                 case DISCARD_NEWEST:
-                    ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
+                    shard.addAsync(message, OverflowPolicy.FAIL).get();
                     break;
                 case BLOCK:
-                    addWithBackoff(message);
+                    addWithBackoff(shard, message);
                     break;
                 default:
                     throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
@@ -122,21 +154,29 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         }
     }
 
-    private Long addOrOverwrite(ReliableTopicMessage message) throws Exception {
-        return (Long) ringbuffer.addAsync(message, OverflowPolicy.OVERWRITE).get();
+    private Ringbuffer<ReliableTopicMessage> selectShard(Object key) {
+        if (shards.length == 1) {
+            return ringbuffer;
+        }
+        int hash = key == null ? (int) Thread.currentThread().getId() : serializationService.toData(key).getPartitionHash();
+        return shards[hashToIndex(hash, shards.length)];
+    }
+
+    private Long addOrOverwrite(Ringbuffer<ReliableTopicMessage> shard, ReliableTopicMessage message) throws Exception {
+        return shard.addAsync(message, OverflowPolicy.OVERWRITE).get();
     }
 
-    private void addOrFail(ReliableTopicMessage message) throws Exception {
-        long sequenceId = (Long) ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
+    private void addOrFail(Ringbuffer<ReliableTopicMessage> shard, ReliableTopicMessage message) throws Exception {
+        long sequenceId = shard.addAsync(message, OverflowPolicy.FAIL).get();
         if (sequenceId == -1) {
             throw new TopicOverloadException("Failed to publish message: " + message + " on topic:" + name);
         }
     }
 
-    private void addWithBackoff(ReliableTopicMessage message) throws Exception {
+    private void addWithBackoff(Ringbuffer<ReliableTopicMessage> shard, ReliableTopicMessage message) throws Exception {
         long timeoutMs = INITIAL_BACKOFF_MS;
         for (; ; ) {
-            long result = (Long) ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
+            long result = shard.addAsync(message, OverflowPolicy.FAIL).get();
             if (result != -1) {
                 break;
             }
@@ -156,9 +196,26 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         String id = UuidUtil.newUnsecureUuidString();
         ReliableMessageListener<E> reliableMessageListener = toReliableMessageListener(listener);
 
-        MessageRunner runner = new MessageRunner(id, reliableMessageListener);
+        if (shards.length > 1) {
+            return addShardedMessageListener(id, reliableMessageListener);
+        }
+        MessageRunner runner = new MessageRunner(id, reliableMessageListener, ringbuffer, null);
         runnersMap.put(id, runner);
-        runner.next();
+        runner.start();
+        return id;
+    }
+
+    private String addShardedMessageListener(String id, ReliableMessageListener<E> listener) {
+        ShardedListenerGroup<E> group = new ShardedListenerGroup<E>(listener, shards.length);
+        for (int shard = 0; shard < shards.length; shard++) {
+            MessageRunner runner = new MessageRunner(id, group.shardListener(shard), shards[shard], group);
+            group.setRunner(shard, runner);
+            if (shard == 0) {
+                // the runner of the first shard represents the group, cancelling it cancels all runners
+                runnersMap.put(id, runner);
+            }
+        }
+        group.start();
         return id;
     }
 
@@ -196,16 +253,21 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         return "ITopic{" + "name='" + name + '\'' + '}';
     }
 
-    class MessageRunner implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+    class MessageRunner implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>>, ShardedListenerGroup.Runner {
 
         final ReliableMessageListener<E> listener;
         private final String id;
+        private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+        private final ShardedListenerGroup<E> group;
         private long sequence;
         private volatile boolean cancelled;
 
-        public MessageRunner(String id, ReliableMessageListener<E> listener) {
+        MessageRunner(String id, ReliableMessageListener<E> listener, Ringbuffer<ReliableTopicMessage> ringbuffer,
+                      ShardedListenerGroup<E> group) {
             this.id = id;
             this.listener = listener;
+            this.ringbuffer = ringbuffer;
+            this.group = group;
 
             // we are going to listen to next publication. We don't care about what already has been published.
             long initialSequence = listener.retrieveInitialSequence();
@@ -215,6 +277,11 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
             this.sequence = initialSequence;
         }
 
+        @Override
+        public void start() {
+            next();
+        }
+
         void next() {
             if (cancelled) {
                 return;
@@ -313,9 +380,13 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
             cancel();
         }
 
-        void cancel() {
+        @Override
+        public void cancel() {
             cancelled = true;
             runnersMap.remove(id);
+            if (group != null) {
+                group.cancel();
+            }
         }
 
         private boolean terminate(Throwable failure) {
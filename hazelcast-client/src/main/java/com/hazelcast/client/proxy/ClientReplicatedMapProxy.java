@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.ReplicatedMapAddEntryListenerToKeyCodec;
@@ -47,13 +48,19 @@ import com.hazelcast.core.MapEvent;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.ResultSet;
 import com.hazelcast.internal.util.ThreadLocalRandomProvider;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
 import com.hazelcast.monitor.LocalReplicatedMapStats;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
 import com.hazelcast.util.IterationType;
 
@@ -61,6 +68,7 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -409,6 +417,80 @@ public class ClientReplicatedMapProxy<K, V> extends ClientProxy implements Repli
         throw new UnsupportedOperationException("Replicated Map statistics are not available for client!");
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<K> keySet(Predicate<K, V> predicate) {
+        Set<K> keySet = new HashSet<K>();
+        for (QueryableEntry entry : query(predicate, "keySet")) {
+            keySet.add((K) entry.getKey());
+        }
+        return keySet;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values(Predicate<K, V> predicate) {
+        Collection<V> values = new ArrayList<V>();
+        for (QueryableEntry entry : query(predicate, "values")) {
+            values.add((V) entry.getValue());
+        }
+        return values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Entry<K, V>> entrySet(Predicate<K, V> predicate) {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (QueryableEntry entry : query(predicate, "entrySet")) {
+            entries.add(new AbstractMap.SimpleImmutableEntry(entry.getKey(), entry.getValue()));
+        }
+        Set resultSet = new ResultSet(entries, IterationType.ENTRY);
+        return resultSet;
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator) {
+        return aggregate(aggregator, TruePredicate.<K, V>truePredicate());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, "Aggregator cannot be null!");
+        // the aggregator is stateful, so the aggregation is done on a copy of it
+        Aggregator<Entry<K, V>, R> copy = toObject(toData(aggregator));
+        for (QueryableEntry entry : query(predicate, "aggregate")) {
+            copy.accumulate(entry);
+        }
+        copy.onAccumulationFinished();
+        copy.onCombinationFinished();
+        return copy.aggregate();
+    }
+
+    /**
+     * Fetches all entries from a member and evaluates the predicate on the client. The client protocol has no
+     * query messages for the replicated map, so the indexes of the members are not used.
+     */
+    private List<QueryableEntry> query(Predicate<K, V> predicate, String method) {
+        checkNotNull(predicate, "Predicate cannot be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("PagingPredicate not supported in " + method + " method");
+        }
+        ClientMessage request = ReplicatedMapEntrySetCodec.encodeRequest(name);
+        ClientMessage response = invokeOnPartition(request, targetPartitionId);
+        ReplicatedMapEntrySetCodec.ResponseParameters result = ReplicatedMapEntrySetCodec.decodeResponse(response);
+        InternalSerializationService serializationService = (InternalSerializationService) getSerializationService();
+        List<QueryableEntry> entries = new ArrayList<QueryableEntry>();
+        for (Entry<Data, Data> dataEntry : result.response) {
+            QueryableEntry entry = new CachedQueryEntry(serializationService, dataEntry.getKey(), dataEntry.getValue(),
+                    Extractors.empty());
+            if (predicate.apply(entry)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
     @Override
     public Collection<V> values() {
         ClientMessage request = ReplicatedMapValuesCodec.encodeRequest(name);
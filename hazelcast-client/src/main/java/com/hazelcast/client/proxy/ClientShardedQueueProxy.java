@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.ClientProxy;
+import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.core.ItemListener;
+import com.hazelcast.core.PartitionAware;
+import com.hazelcast.monitor.LocalQueueStats;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static com.hazelcast.util.Preconditions.checkFalse;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Proxy implementation of {@link IQueue} for a queue with a
+ * {@link com.hazelcast.client.config.ClientQueueConfig#getShardCount() shard count} larger than 1.
+ * <p>
+ * The shards are selected like the member side {@code ShardedQueueProxyImpl} does: an offered item goes to the
+ * shard selected by the key passed to {@link #offer(Object, Object)}, by the partition key of a
+ * {@link PartitionAware} item, or to the next shard in round-robin order. Since a client owns no partitions, a poll
+ * tries the shards in rotating order, so the consumers do not all drain the same shard.
+ *
+ * @param <E> the type of elements in this queue
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class ClientShardedQueueProxy<E> extends ClientProxy implements IQueue<E> {
+
+    /**
+     * The maximum time a blocking poll waits on a single shard before it checks the other shards again.
+     */
+    static final long POLL_SLICE_MILLIS = 100;
+
+    private final ClientQueueProxy<E>[] shards;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final ConcurrentMap<String, String[]> listenerRegistrations = new ConcurrentHashMap<String, String[]>();
+
+    @SuppressWarnings("unchecked")
+    public ClientShardedQueueProxy(String serviceName, String name, ClientContext context, int shardCount) {
+        super(serviceName, name, context);
+        this.shards = new ClientQueueProxy[shardCount];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void onInitialize() {
+        // the first shard is not created by the proxy manager since this proxy is registered under its name
+        shards[0] = new ClientQueueProxy<E>(getServiceName(), name, getContext());
+        shards[0].onInitialize();
+        for (int i = 1; i < shards.length; i++) {
+            shards[i] = (ClientQueueProxy<E>) getContext().getProxyManager()
+                    .getOrCreateProxy(getServiceName(), QueueService.getShardName(name, i));
+        }
+    }
+
+    /**
+     * Returns the number of shards of this queue.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public String addItemListener(ItemListener<E> listener, boolean includeValue) {
+        String[] registrationIds = new String[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            registrationIds[i] = shards[i].addItemListener(listener, includeValue);
+        }
+        listenerRegistrations.put(registrationIds[0], registrationIds);
+        return registrationIds[0];
+    }
+
+    @Override
+    public boolean removeItemListener(String registrationId) {
+        String[] registrationIds = listenerRegistrations.remove(registrationId);
+        if (registrationIds == null) {
+            return false;
+        }
+        boolean removed = false;
+        for (int i = 0; i < shards.length; i++) {
+            removed |= shards[i].removeItemListener(registrationIds[i]);
+        }
+        return removed;
+    }
+
+    @Override
+    public LocalQueueStats getLocalQueueStats() {
+        throw new UnsupportedOperationException("Locality is ambiguous for client!");
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (offer(e)) {
+            return true;
+        }
+        throw new IllegalStateException("Queue is full!");
+    }
+
+    @Override
+    public boolean offer(E e) {
+        try {
+            return offer(e, 0, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Inserts the item into the shard selected by the given key. All items offered with the same key are polled
+     * in offer order.
+     *
+     * @param key the key selecting the shard
+     * @param e   the item to add
+     * @return {@code true} if the item was added, {@code false} if the shard is full
+     */
+    public boolean offer(Object key, E e) {
+        checkNotNull(key, "Key is null");
+        return shards[shardIndex(key)].offer(e);
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        offer(e, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(e, "Item is null");
+        if (e instanceof PartitionAware) {
+            Object key = ((PartitionAware) e).getPartitionKey();
+            if (key != null) {
+                return shards[shardIndex(key)].offer(e, timeout, unit);
+            }
+        }
+        // an item without a key can go to any shard, so a full shard is skipped before waiting for space
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[(start + i) % shards.length].offer(e)) {
+                return true;
+            }
+        }
+        return timeout != 0 && shards[start].offer(e, timeout, unit);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return poll(-1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long timeoutMillis = unit.toMillis(timeout);
+        long deadline = timeoutMillis < 0 ? Long.MAX_VALUE : Clock.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            int start = nextShardIndex();
+            for (int i = 0; i < shards.length; i++) {
+                E item = shards[(start + i) % shards.length].poll();
+                if (item != null) {
+                    return item;
+                }
+            }
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (timeoutMillis == 0 || remaining <= 0) {
+                return null;
+            }
+            // wait on one shard for a while, the other shards are checked again afterwards
+            E item = shards[start].poll(Math.min(remaining, POLL_SLICE_MILLIS), MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        try {
+            return poll(0, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public E remove() {
+        final E res = poll();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public E peek() {
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            E item = shards[(start + i) % shards.length].peek();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E element() {
+        final E res = peek();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        for (ClientQueueProxy<E> shard : shards) {
+            if (shard.remove(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        for (ClientQueueProxy<E> shard : shards) {
+            if (shard.contains(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object o : c) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> objects) {
+        return drainTo(objects, -1);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        checkNotNull(c, "Collection is null");
+        checkFalse(this.equals(c), "Can not drain to same Queue");
+        int drained = 0;
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            if (maxElements >= 0 && drained >= maxElements) {
+                break;
+            }
+            ClientQueueProxy<E> shard = shards[(start + i) % shards.length];
+            drained += maxElements < 0 ? shard.drainTo(c) : shard.drainTo(c, maxElements - drained);
+        }
+        return drained;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        List<List<E>> itemsPerShard = new ArrayList<List<E>>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            itemsPerShard.add(new ArrayList<E>());
+        }
+        for (E e : c) {
+            checkNotNull(e, "Item is null");
+            Object key = e instanceof PartitionAware ? ((PartitionAware) e).getPartitionKey() : null;
+            itemsPerShard.get(key != null ? shardIndex(key) : nextShardIndex()).add(e);
+        }
+        boolean changed = false;
+        for (int i = 0; i < shards.length; i++) {
+            List<E> items = itemsPerShard.get(i);
+            if (!items.isEmpty()) {
+                changed |= shards[i].addAll(items);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = false;
+        for (ClientQueueProxy<E> shard : shards) {
+            changed |= shard.removeAll(c);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean changed = false;
+        for (ClientQueueProxy<E> shard : shards) {
+            changed |= shard.retainAll(c);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        for (ClientQueueProxy<E> shard : shards) {
+            shard.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (ClientQueueProxy<E> shard : shards) {
+            size += shard.size();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (ClientQueueProxy<E> shard : shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        long remainingCapacity = 0;
+        for (ClientQueueProxy<E> shard : shards) {
+            remainingCapacity += shard.remainingCapacity();
+        }
+        return (int) Math.min(remainingCapacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the items of all shards, shard by shard. The returned iterator does not support removal.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList(toList()).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return toList().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] ts) {
+        return toList().toArray(ts);
+    }
+
+    @Override
+    protected void postDestroy() {
+        for (int i = 1; i < shards.length; i++) {
+            shards[i].destroy();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IQueue{name='" + name + '\'' + ", shardCount=" + shards.length + '}';
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> toList() {
+        List<E> list = new ArrayList<E>();
+        for (ClientQueueProxy<E> shard : shards) {
+            Collections.addAll(list, (E[]) shard.toArray());
+        }
+        return list;
+    }
+
+    private int shardIndex(Object key) {
+        return hashToIndex(toData(key).getPartitionHash(), shards.length);
+    }
+
+    private int nextShardIndex() {
+        return (roundRobin.getAndIncrement() & Integer.MAX_VALUE) % shards.length;
+    }
+}
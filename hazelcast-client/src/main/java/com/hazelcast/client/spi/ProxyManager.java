@@ -24,6 +24,7 @@ import com.hazelcast.client.HazelcastClientOfflineException;
 import com.hazelcast.client.LoadBalancer;
 import com.hazelcast.client.cache.impl.ClientCacheProxyFactory;
 import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.config.ClientFlakeIdGeneratorConfig;
 import com.hazelcast.client.config.ProxyFactoryConfig;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.client.impl.protocol.ClientMessage;
@@ -36,11 +37,13 @@ import com.hazelcast.client.proxy.ClientCardinalityEstimatorProxy;
 import com.hazelcast.client.proxy.ClientCountDownLatchProxy;
 import com.hazelcast.client.proxy.ClientDurableExecutorServiceProxy;
 import com.hazelcast.client.proxy.ClientExecutorServiceProxy;
+import com.hazelcast.client.proxy.ClientFlakeIdGeneratorProxy;
 import com.hazelcast.client.proxy.ClientIdGeneratorProxy;
 import com.hazelcast.client.proxy.ClientListProxy;
 import com.hazelcast.client.proxy.ClientLockProxy;
 import com.hazelcast.client.proxy.ClientMapReduceProxy;
 import com.hazelcast.client.proxy.ClientMultiMapProxy;
+import com.hazelcast.client.proxy.ClientPNCounterProxy;
 import com.hazelcast.client.proxy.ClientQueueProxy;
 import com.hazelcast.client.proxy.ClientReliableTopicProxy;
 import com.hazelcast.client.proxy.ClientReplicatedMapProxy;
@@ -48,6 +51,7 @@ import com.hazelcast.client.proxy.ClientRingbufferProxy;
 import com.hazelcast.client.proxy.ClientScheduledExecutorProxy;
 import com.hazelcast.client.proxy.ClientSemaphoreProxy;
 import com.hazelcast.client.proxy.ClientSetProxy;
+import com.hazelcast.client.proxy.ClientShardedQueueProxy;
 import com.hazelcast.client.proxy.ClientTopicProxy;
 import com.hazelcast.client.proxy.txn.xa.XAResourceProxy;
 import com.hazelcast.client.spi.impl.ClientInvocation;
@@ -72,15 +76,18 @@ import com.hazelcast.core.DistributedObjectListener;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IAtomicLong;
+import com.hazelcast.core.IExecutorService;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.OperationTimeoutException;
 import com.hazelcast.durableexecutor.impl.DistributedDurableExecutorService;
 import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.flakeidgen.impl.FlakeIdGeneratorService;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.mapreduce.impl.MapReduceService;
 import com.hazelcast.multimap.impl.MultiMapService;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.pncounter.impl.PNCounterService;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.ringbuffer.impl.RingbufferService;
 import com.hazelcast.scheduledexecutor.impl.DistributedScheduledExecutorService;
@@ -168,7 +175,18 @@ public final class ProxyManager {
         if (JCacheDetector.isJCacheAvailable(config.getClassLoader())) {
             register(ICacheService.SERVICE_NAME, new ClientCacheProxyFactory(client));
         }
-        register(QueueService.SERVICE_NAME, ClientQueueProxy.class);
+        register(QueueService.SERVICE_NAME, new ClientProxyFactoryWithContext() {
+            @Override
+            public ClientProxy create(String id, ClientContext context) {
+                if (QueueService.getShardIndex(id) == 0) {
+                    int shardCount = client.getClientConfig().getQueueConfig(id).getShardCount();
+                    if (shardCount > 1) {
+                        return new ClientShardedQueueProxy(QueueService.SERVICE_NAME, id, context, shardCount);
+                    }
+                }
+                return new ClientQueueProxy(QueueService.SERVICE_NAME, id, context);
+            }
+        });
         register(MultiMapService.SERVICE_NAME, ClientMultiMapProxy.class);
         register(ListService.SERVICE_NAME, ClientListProxy.class);
         register(SetService.SERVICE_NAME, ClientSetProxy.class);
@@ -197,6 +215,21 @@ public final class ProxyManager {
                 return new ClientIdGeneratorProxy(IdGeneratorService.SERVICE_NAME, id, context, atomicLong);
             }
         });
+        register(FlakeIdGeneratorService.SERVICE_NAME, new ClientProxyFactoryWithContext() {
+            @Override
+            public ClientProxy create(String id, ClientContext context) {
+                ClientFlakeIdGeneratorConfig config = client.getClientConfig().getFlakeIdGeneratorConfig(id);
+                IExecutorService executor = client.getExecutorService(FlakeIdGeneratorService.EXECUTOR_NAME);
+                return new ClientFlakeIdGeneratorProxy(FlakeIdGeneratorService.SERVICE_NAME, id, context, config, executor);
+            }
+        });
+        register(PNCounterService.SERVICE_NAME, new ClientProxyFactoryWithContext() {
+            @Override
+            public ClientProxy create(String id, ClientContext context) {
+                IExecutorService executor = client.getExecutorService(PNCounterService.EXECUTOR_NAME);
+                return new ClientPNCounterProxy(PNCounterService.SERVICE_NAME, id, context, executor);
+            }
+        });
         register(CardinalityEstimatorService.SERVICE_NAME, ClientCardinalityEstimatorProxy.class);
         register(DistributedScheduledExecutorService.SERVICE_NAME, ClientScheduledExecutorProxy.class);
 
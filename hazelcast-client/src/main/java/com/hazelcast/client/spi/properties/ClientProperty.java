@@ -159,6 +159,16 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_BALANCER_INTERVAL_SECONDS
             = new HazelcastProperty("hazelcast.client.io.balancer.interval.seconds", 20, SECONDS);
 
+    /**
+     * Window in milliseconds in which the client buffers the elements added to a
+     * {@link com.hazelcast.cardinality.CardinalityEstimator}. The elements are aggregated into a local HyperLogLog and
+     * only its registers are sent to the cluster, once per window, instead of one invocation per element. An estimate
+     * made through the client includes its buffered elements, the estimates made through other clients and members
+     * include them after the window. Disabled when 0, which is the default.
+     */
+    public static final HazelcastProperty CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS
+            = new HazelcastProperty("hazelcast.client.cardinality.estimator.buffer.window.millis", 0, MILLISECONDS);
+
 
     private ClientProperty() {
     }
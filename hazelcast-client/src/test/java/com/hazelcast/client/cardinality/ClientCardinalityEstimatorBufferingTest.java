@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.cardinality;
+
+import com.hazelcast.cardinality.CardinalityEstimator;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.client.spi.properties.ClientProperty.CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientCardinalityEstimatorBufferingTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        member = hazelcastFactory.newHazelcastInstance();
+        hazelcastFactory.newHazelcastInstance();
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS.getName(), "200");
+        client = hazelcastFactory.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testEstimate_includesOwnBufferedElements() {
+        CardinalityEstimator estimator = client.getCardinalityEstimator("estimator");
+        for (int i = 0; i < 100; i++) {
+            estimator.add(i);
+        }
+
+        assertEquals(100, estimator.estimate());
+    }
+
+    @Test
+    public void testBufferIsFlushedAfterWindow() {
+        CardinalityEstimator estimator = client.getCardinalityEstimator("estimator");
+        for (int i = 0; i < 100; i++) {
+            estimator.add(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, member.getCardinalityEstimator("estimator").estimate());
+            }
+        });
+    }
+
+    @Test
+    public void testAddAsync_completesWhenMerged() throws Exception {
+        CardinalityEstimator estimator = client.getCardinalityEstimator("estimator");
+
+        assertEquals(null, estimator.addAsync(1).get());
+        // the estimate is made through a member, so it does not flush the buffer of the client
+        assertEquals(1, member.getCardinalityEstimator("estimator").estimate());
+    }
+}
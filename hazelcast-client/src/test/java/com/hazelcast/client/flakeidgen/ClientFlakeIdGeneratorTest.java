@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.flakeidgen;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.config.ClientFlakeIdGeneratorConfig;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientFlakeIdGeneratorTest extends HazelcastTestSupport {
+
+    private static final int PREFETCH_COUNT = 10;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private FlakeIdGenerator gen;
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance();
+        hazelcastFactory.newHazelcastInstance();
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addFlakeIdGeneratorConfig(new ClientFlakeIdGeneratorConfig("gen").setPrefetchCount(PREFETCH_COUNT));
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        gen = client.getFlakeIdGenerator("gen");
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testIdsOfBatchAreConsecutive() {
+        long first = gen.newId();
+        for (int i = 1; i < PREFETCH_COUNT; i++) {
+            assertEquals(first + i * (1L << 16), gen.newId());
+        }
+    }
+
+    @Test
+    public void testIdsUnique() {
+        Set<Long> ids = new HashSet<Long>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(gen.newId());
+        }
+
+        assertEquals(1000, ids.size());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.pncounter;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.pncounter.PNCounter;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.PN_COUNTER_REPLICATION_PERIOD_MILLIS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientPNCounterTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance member1;
+    private HazelcastInstance member2;
+    private PNCounter counter;
+
+    @Before
+    public void setup() {
+        Config config = new Config().setProperty(PN_COUNTER_REPLICATION_PERIOD_MILLIS.getName(), "100");
+        member1 = hazelcastFactory.newHazelcastInstance(config);
+        member2 = hazelcastFactory.newHazelcastInstance(config);
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient();
+        counter = client.getPNCounter("counter");
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testReadsOwnWrites() {
+        assertEquals(1, counter.incrementAndGet());
+        assertEquals(1, counter.getAndAdd(5));
+        assertEquals(6, counter.get());
+        assertEquals(6, counter.getAndSubtract(2));
+        assertEquals(3, counter.decrementAndGet());
+    }
+
+    @Test
+    public void testUpdatesReachAllMembers() {
+        counter.addAndGet(10);
+        member1.getPNCounter("counter").addAndGet(1);
+        member2.getPNCounter("counter").addAndGet(2);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(13, counter.get());
+                assertEquals(13, member1.getPNCounter("counter").get());
+                assertEquals(13, member2.getPNCounter("counter").get());
+            }
+        });
+    }
+
+    @Test
+    public void testReset_keepsValue() {
+        counter.addAndGet(4);
+        counter.reset();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(4, counter.get());
+            }
+        });
+    }
+}
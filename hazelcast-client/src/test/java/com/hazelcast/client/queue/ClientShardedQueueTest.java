@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.queue;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.config.ClientQueueConfig;
+import com.hazelcast.client.proxy.ClientShardedQueueProxy;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.core.TransactionalQueue;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientShardedQueueTest extends HazelcastTestSupport {
+
+    private static final int SHARD_COUNT = 4;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addQueueConfig(new QueueConfig("sharded*").setShardCount(SHARD_COUNT));
+        member = hazelcastFactory.newHazelcastInstance(config);
+        hazelcastFactory.newHazelcastInstance(config);
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addQueueConfig(new ClientQueueConfig("sharded*").setShardCount(SHARD_COUNT));
+        client = hazelcastFactory.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testProxyIsSharded() {
+        IQueue<Integer> queue = client.getQueue("sharded");
+
+        assertTrue(queue instanceof ClientShardedQueueProxy);
+        assertEquals(SHARD_COUNT, ((ClientShardedQueueProxy) queue).getShardCount());
+    }
+
+    @Test
+    public void testItemsAreSpreadOverShards() {
+        IQueue<Integer> queue = client.getQueue("sharded");
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertEquals(100, queue.size());
+        assertEquals(100, member.getQueue("sharded").size());
+        for (int i = 1; i < SHARD_COUNT; i++) {
+            assertEquals(25, member.getQueue(QueueService.getShardName("sharded", i)).size());
+        }
+    }
+
+    @Test
+    public void testPollItemsOfferedByMember() {
+        IQueue<Integer> memberQueue = member.getQueue("sharded");
+        for (int i = 0; i < 100; i++) {
+            memberQueue.offer(i);
+        }
+
+        IQueue<Integer> queue = client.getQueue("sharded");
+        Set<Integer> polled = new HashSet<Integer>();
+        Integer item;
+        while ((item = queue.poll()) != null) {
+            polled.add(item);
+        }
+
+        assertEquals(100, polled.size());
+        assertTrue(memberQueue.isEmpty());
+    }
+
+    @Test
+    public void testKeyedItemsKeepOrder() {
+        ClientShardedQueueProxy<Integer> queue = (ClientShardedQueueProxy<Integer>) client.<Integer>getQueue("sharded");
+        for (int i = 0; i < 50; i++) {
+            queue.offer("key", i);
+        }
+
+        List<Integer> drained = new ArrayList<Integer>();
+        queue.drainTo(drained);
+
+        assertEquals(50, drained.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, (int) drained.get(i));
+        }
+    }
+
+    @Test
+    public void testTransactionalQueue_offersToAllShards() {
+        TransactionContext context = client.newTransactionContext();
+        context.beginTransaction();
+        TransactionalQueue<Integer> txQueue = context.getQueue("sharded");
+        for (int i = 0; i < 8; i++) {
+            assertTrue(txQueue.offer(i));
+        }
+        context.commitTransaction();
+
+        assertEquals(8, member.getQueue("sharded").size());
+        for (int i = 1; i < SHARD_COUNT; i++) {
+            assertEquals(2, member.getQueue(QueueService.getShardName("sharded", i)).size());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.replicatedmap;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReplicatedMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientReplicatedMapQueryTest extends HazelcastTestSupport {
+
+    private TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private ReplicatedMap<Integer, Integer> map;
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance();
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient();
+        map = client.getReplicatedMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testKeySet() {
+        Predicate<Integer, Integer> predicate = Predicates.greaterEqual("this", 90);
+
+        assertEquals(10, map.keySet(predicate).size());
+        assertTrue(map.keySet(predicate).contains(95));
+    }
+
+    @Test
+    public void testValues() {
+        Predicate<Integer, Integer> predicate = Predicates.lessThan("this", 10);
+
+        assertEquals(10, map.values(predicate).size());
+        assertTrue(map.values(predicate).contains(5));
+    }
+
+    @Test
+    public void testEntrySet() {
+        Predicate<Integer, Integer> predicate = Predicates.equal("this", 42);
+
+        assertEquals(1, map.entrySet(predicate).size());
+        Map.Entry<Integer, Integer> entry = map.entrySet(predicate).iterator().next();
+        assertEquals(42, (int) entry.getKey());
+        assertEquals(42, (int) entry.getValue());
+    }
+
+    @Test
+    public void testAggregate() {
+        assertEquals(100, (long) map.aggregate(Aggregators.<Map.Entry<Integer, Integer>>count()));
+        assertEquals(45, (long) map.aggregate(Aggregators.<Map.Entry<Integer, Integer>>integerSum(),
+                Predicates.lessThan("this", 10)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPagingPredicate_notSupported() {
+        map.keySet(new PagingPredicate<Integer, Integer>(10));
+    }
+}
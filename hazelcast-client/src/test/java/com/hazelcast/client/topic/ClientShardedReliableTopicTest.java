@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.topic;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.config.ClientReliableTopicConfig;
+import com.hazelcast.client.proxy.ClientReliableTopicProxy;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.impl.reliable.ReliableMessageListenerMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferService.getTopicRingbufferName;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientShardedReliableTopicTest extends HazelcastTestSupport {
+
+    private static final int SHARD_COUNT = 4;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private final String topicName = randomName();
+
+    private HazelcastInstance member;
+    private ClientReliableTopicProxy<String> clientTopic;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addReliableTopicConfig(new ReliableTopicConfig(topicName).setShardCount(SHARD_COUNT));
+        member = hazelcastFactory.newHazelcastInstance(config);
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addReliableTopicConfig(new ClientReliableTopicConfig(topicName).setShardCount(SHARD_COUNT));
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        clientTopic = (ClientReliableTopicProxy<String>) client.<String>getReliableTopic(topicName);
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void clientPublishesToAllShards() {
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        member.<String>getReliableTopic(topicName).addMessageListener(listener);
+
+        final int messageCount = 100;
+        for (int i = 0; i < messageCount; i++) {
+            clientTopic.publish(i, "item" + i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(messageCount, listener.objects.size());
+            }
+        });
+        int usedShards = 0;
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            Ringbuffer ringbuffer = member.getRingbuffer(getTopicRingbufferName(topicName, shard));
+            if (ringbuffer.size() > 0) {
+                usedShards++;
+            }
+        }
+        assertTrue(usedShards > 1);
+    }
+
+    @Test
+    public void clientListenerReceivesMessagesOfAllShards() {
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        clientTopic.addMessageListener(listener);
+
+        final int messageCount = 100;
+        for (int i = 0; i < messageCount; i++) {
+            member.<String>getReliableTopic(topicName).publish("item" + i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(messageCount, listener.objects.size());
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void plainListenerWithInitialSequence_isRejected() {
+        ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        listener.initialSequence = 0;
+
+        clientTopic.addMessageListener(listener);
+    }
+}
@@ -18,8 +18,11 @@ package com.hazelcast.cache.impl.journal;
 
 import com.hazelcast.cache.impl.CacheDataSerializerHook;
 import com.hazelcast.cache.journal.EventJournalCacheEvent;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.journal.EventJournalQueryPredicate;
 import com.hazelcast.nio.serialization.SerializableByConvention;
 import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.function.Predicate;
@@ -31,24 +34,48 @@ public class CacheEventJournalReadResultSetImpl<K, V, T> extends ReadResultSetIm
     }
 
     CacheEventJournalReadResultSetImpl(int minSize, int maxSize, SerializationService serializationService,
-                                       final Predicate<? super EventJournalCacheEvent<K, V>> predicate,
-                                       final Projection<? super EventJournalCacheEvent<K, V>, T> projection) {
+                                       Predicate<? super EventJournalCacheEvent<K, V>> predicate,
+                                       Projection<? super EventJournalCacheEvent<K, V>, T> projection) {
         super(minSize, maxSize, serializationService,
-                predicate == null ? null : new Predicate<InternalEventJournalCacheEvent>() {
-                    @Override
-                    @SuppressWarnings("unchecked")
-                    @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
-                    public boolean test(InternalEventJournalCacheEvent e) {
-                        return predicate.test((DeserializingEventJournalCacheEvent<K, V>) e);
-                    }
-                },
+                CacheEventJournalReadResultSetImpl.<K, V>adaptPredicate(predicate, serializationService),
                 projection == null ? null : new ProjectionAdapter<K, V, T>(projection));
     }
 
+    /**
+     * Adapts the user supplied predicate to the internal journal events. An {@link EventJournalQueryPredicate} is
+     * evaluated on the serialized key and value of the events, any other predicate on the deserializing events.
+     */
+    private static <K, V> Predicate<InternalEventJournalCacheEvent> adaptPredicate(
+            final Predicate<? super EventJournalCacheEvent<K, V>> predicate,
+            final SerializationService serializationService) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof EventJournalQueryPredicate) {
+            final EventJournalQueryPredicate queryPredicate = (EventJournalQueryPredicate) predicate;
+            final Extractors extractors = Extractors.empty();
+            return new Predicate<InternalEventJournalCacheEvent>() {
+                @Override
+                public boolean test(InternalEventJournalCacheEvent e) {
+                    return queryPredicate.test((InternalSerializationService) serializationService,
+                            e.getDataKey(), e.getDataNewValue(), e.getDataOldValue(), extractors);
+                }
+            };
+        }
+        return new Predicate<InternalEventJournalCacheEvent>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
+            public boolean test(InternalEventJournalCacheEvent e) {
+                return predicate.test((DeserializingEventJournalCacheEvent<K, V>) e);
+            }
+        };
+    }
+
     @Override
     public void addItem(long seq, Object item) {
-        // the event journal ringbuffer supports only OBJECT format for now
-        final InternalEventJournalCacheEvent e = (InternalEventJournalCacheEvent) item;
+        // the event journal ringbuffer is in OBJECT format, items read from the disk tier are serialized
+        final InternalEventJournalCacheEvent e = serializationService.toObject(item);
         final DeserializingEventJournalCacheEvent<K, V> deserialisingEvent
                 = new DeserializingEventJournalCacheEvent<K, V>(serializationService, e);
         super.addItem(seq, deserialisingEvent);
@@ -49,6 +49,10 @@ public class CardinalityEstimatorContainer implements IdentifiedDataSerializable
         hll.add(hash);
     }
 
+    public void merge(HyperLogLog other) {
+        hll.merge(other);
+    }
+
     public long estimate() {
         return hll.estimate();
     }
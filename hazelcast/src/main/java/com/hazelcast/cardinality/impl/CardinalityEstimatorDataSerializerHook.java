@@ -22,6 +22,8 @@ import com.hazelcast.cardinality.impl.hyperloglog.impl.SparseHyperLogLogEncoder;
 import com.hazelcast.cardinality.impl.operations.AggregateBackupOperation;
 import com.hazelcast.cardinality.impl.operations.AggregateOperation;
 import com.hazelcast.cardinality.impl.operations.EstimateOperation;
+import com.hazelcast.cardinality.impl.operations.MergeBackupOperation;
+import com.hazelcast.cardinality.impl.operations.MergeOperation;
 import com.hazelcast.cardinality.impl.operations.ReplicationOperation;
 import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
@@ -45,6 +47,9 @@ public final class CardinalityEstimatorDataSerializerHook
     public static final int HLL = 5;
     public static final int HLL_DENSE_ENC = 6;
     public static final int HLL_SPARSE_ENC = 7;
+    public static final int MERGE = 8;
+    public static final int MERGE_BACKUP = 9;
+    public static final int MERGE_CALLABLE = 10;
 
     @Override
     public int getFactoryId() {
@@ -73,6 +78,12 @@ public final class CardinalityEstimatorDataSerializerHook
                         return new DenseHyperLogLogEncoder();
                     case HLL_SPARSE_ENC:
                         return new SparseHyperLogLogEncoder();
+                    case MERGE:
+                        return new MergeOperation();
+                    case MERGE_BACKUP:
+                        return new MergeBackupOperation();
+                    case MERGE_CALLABLE:
+                        return new MergeCallable();
                     default:
                         return null;
                 }
@@ -17,27 +17,44 @@
 package com.hazelcast.cardinality.impl;
 
 import com.hazelcast.cardinality.CardinalityEstimator;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
 import com.hazelcast.cardinality.impl.operations.AggregateOperation;
 import com.hazelcast.cardinality.impl.operations.EstimateOperation;
+import com.hazelcast.cardinality.impl.operations.MergeOperation;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.AbstractDistributedObject;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 
+import static com.hazelcast.spi.properties.GroupProperty.CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+/**
+ * Member side proxy of the {@link CardinalityEstimator}. When
+ * {@link com.hazelcast.spi.properties.GroupProperty#CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS} is set, the added
+ * elements are aggregated into a {@link HyperLogLogBuffer}, which is merged into the estimator at the end of the
+ * window and before every estimate made through this proxy. The future returned by {@link #addAsync(Object)} is
+ * completed when the window of the element has been merged, {@link #add(Object)} does not wait for the merge.
+ */
 class CardinalityEstimatorProxy
         extends AbstractDistributedObject<CardinalityEstimatorService>
         implements CardinalityEstimator {
 
     private final String name;
     private final int partitionId;
+    private final long bufferWindowMillis;
+    private final HyperLogLogBuffer buffer;
 
     CardinalityEstimatorProxy(String name, NodeEngine nodeEngine, CardinalityEstimatorService service) {
         super(nodeEngine, service);
         this.name = name;
         this.partitionId = nodeEngine.getPartitionService().getPartitionId(getNameAsPartitionAwareData());
+        this.bufferWindowMillis = nodeEngine.getProperties().getMillis(CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS);
+        this.buffer = bufferWindowMillis > 0 ? newBuffer(nodeEngine) : null;
     }
 
     @Override
@@ -52,7 +69,10 @@ class CardinalityEstimatorProxy
 
     @Override
     public void add(Object obj) {
-        addAsync(obj).join();
+        InternalCompletableFuture<Void> future = addAsync(obj);
+        if (buffer == null) {
+            future.join();
+        }
     }
 
     @Override
@@ -64,6 +84,9 @@ class CardinalityEstimatorProxy
     public InternalCompletableFuture<Void> addAsync(Object obj) {
         checkNotNull(obj, "Object is null.");
         Data data = getNodeEngine().getSerializationService().toData(obj);
+        if (buffer != null) {
+            return buffer.add(data.hash64());
+        }
         Operation operation = new AggregateOperation(name, data.hash64())
                 .setPartitionId(partitionId);
         return invokeOnPartition(operation);
@@ -71,11 +94,69 @@ class CardinalityEstimatorProxy
 
     @Override
     public InternalCompletableFuture<Long> estimateAsync() {
+        // the merge and the estimate run on the same partition thread, in the order they are sent
+        flush();
         Operation operation = new EstimateOperation(name)
                 .setPartitionId(partitionId);
         return invokeOnPartition(operation);
     }
 
+    /**
+     * Merges the HyperLogLog into the estimator without buffering it.
+     *
+     * @param hll the HyperLogLog to merge
+     * @return the future of the merge
+     */
+    InternalCompletableFuture<Void> mergeAsync(HyperLogLog hll) {
+        Operation operation = new MergeOperation(name, hll)
+                .setPartitionId(partitionId);
+        return invokeOnPartition(operation);
+    }
+
+    /**
+     * Merges the buffered elements into the estimator. The futures of the adds of the window are completed when the
+     * merge completes. A failed window is put back into the buffer by {@link HyperLogLogBuffer.Window#onFailure}.
+     */
+    void flush() {
+        if (buffer == null) {
+            return;
+        }
+        HyperLogLogBuffer.Window window = buffer.drain();
+        if (window != null) {
+            mergeAsync(window.getSketch()).andThen(window);
+        }
+    }
+
+    @Override
+    protected void postDestroy() {
+        if (buffer != null) {
+            HyperLogLogBuffer.Window window = buffer.drain();
+            if (window != null) {
+                window.fail(new DistributedObjectDestroyedException("CardinalityEstimator[" + name
+                        + "] has been destroyed before the buffered elements were merged"));
+            }
+        }
+    }
+
+    private HyperLogLogBuffer newBuffer(NodeEngine nodeEngine) {
+        return new HyperLogLogBuffer(nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR),
+                nodeEngine.getLogger(HyperLogLogBuffer.class), new Runnable() {
+            @Override
+            public void run() {
+                scheduleFlush();
+            }
+        });
+    }
+
+    private void scheduleFlush() {
+        getNodeEngine().getExecutionService().schedule(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, bufferWindowMillis, MILLISECONDS);
+    }
+
     @Override
     public String toString() {
         return "CardinalityEstimator{" + "name='" + name + '\'' + '}';
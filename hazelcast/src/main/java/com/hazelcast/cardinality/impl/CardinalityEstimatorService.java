@@ -18,6 +18,9 @@ package com.hazelcast.cardinality.impl;
 
 import com.hazelcast.cardinality.impl.operations.ReplicationOperation;
 import com.hazelcast.config.CardinalityEstimatorConfig;
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.core.LifecycleEvent;
+import com.hazelcast.core.LifecycleListener;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
@@ -36,7 +39,9 @@ import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.core.LifecycleEvent.LifecycleState.SHUTTING_DOWN;
 import static com.hazelcast.partition.strategy.StringPartitioningStrategy.getPartitionKey;
+import static com.hazelcast.spi.properties.GroupProperty.CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
@@ -45,6 +50,11 @@ public class CardinalityEstimatorService
 
     public static final String SERVICE_NAME = "hz:impl:cardinalityEstimatorService";
 
+    /**
+     * The name of the executor running the {@link MergeCallable}s of the clients.
+     */
+    public static final String EXECUTOR_NAME = "hz:impl:cardinalityEstimatorExecutor";
+
     private NodeEngine nodeEngine;
     private final ConcurrentMap<String, CardinalityEstimatorContainer> containers =
             new ConcurrentHashMap<String, CardinalityEstimatorContainer>();
@@ -71,6 +81,17 @@ public class CardinalityEstimatorService
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
         this.nodeEngine = nodeEngine;
+        if (nodeEngine.getProperties().getMillis(CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS) > 0) {
+            // the connections are already closed when the services are shut down, so the buffers are flushed before
+            nodeEngine.getHazelcastInstance().getLifecycleService().addLifecycleListener(new LifecycleListener() {
+                @Override
+                public void stateChanged(LifecycleEvent event) {
+                    if (event.getState() == SHUTTING_DOWN) {
+                        flushBuffers();
+                    }
+                }
+            });
+        }
     }
 
     @Override
@@ -139,6 +160,12 @@ public class CardinalityEstimatorService
         }
     }
 
+    private void flushBuffers() {
+        for (DistributedObject proxy : nodeEngine.getProxyService().getDistributedObjects(SERVICE_NAME)) {
+            ((CardinalityEstimatorProxy) proxy).flush();
+        }
+    }
+
     private int getPartitionId(String name) {
         IPartitionService partitionService = nodeEngine.getPartitionService();
         String partitionKey = getPartitionKey(name);
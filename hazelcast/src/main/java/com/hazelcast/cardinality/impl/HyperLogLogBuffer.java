@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cardinality.impl;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Aggregates the hashes added to a {@link com.hazelcast.cardinality.CardinalityEstimator} into a local HyperLogLog,
+ * which the owner drains once per buffering window and merges into the estimator with a single
+ * {@link com.hazelcast.cardinality.impl.operations.MergeOperation}. The HyperLogLog has a bounded size, so the
+ * buffer does not grow with the number of added elements.
+ * <p>
+ * All adds of a window share a future, which is completed when the merge of the window completes. A window whose
+ * merge failed, e.g. during a migration, is put back into the buffer and merged with the next window, which is
+ * safe since merging a HyperLogLog twice does not change the estimate. After {@value #MAX_MERGE_ATTEMPTS} failed
+ * merges the failure is logged and the futures of the window are completed with it.
+ */
+public final class HyperLogLogBuffer {
+
+    static final int MAX_MERGE_ATTEMPTS = 3;
+
+    private final Executor executor;
+    private final ILogger logger;
+    private final Runnable windowOpenedListener;
+
+    private Window window;
+
+    /**
+     * @param executor             the default executor of the callbacks registered on the futures of the windows
+     * @param logger               the logger of the futures and of the failed merges
+     * @param windowOpenedListener notified when the first hash is added to an empty buffer or a failed window is put
+     *                             back into it, it schedules the flush at the end of the window
+     */
+    public HyperLogLogBuffer(Executor executor, ILogger logger, Runnable windowOpenedListener) {
+        this.executor = executor;
+        this.logger = logger;
+        this.windowOpenedListener = windowOpenedListener;
+    }
+
+    /**
+     * Adds the hash to the buffer.
+     *
+     * @param hash the hash of the element
+     * @return the future completed when the buffered hashes have been merged into the estimator
+     */
+    public synchronized InternalCompletableFuture<Void> add(long hash) {
+        if (window == null) {
+            window = new Window(new HyperLogLogImpl(), new MergeFuture(executor, logger));
+            windowOpenedListener.run();
+        }
+        window.sketch.add(hash);
+        return window.futures.get(0);
+    }
+
+    /**
+     * Returns the buffered window and empties the buffer. The caller merges the HyperLogLog of the window and
+     * reports the outcome of the merge to the window, which is an {@link ExecutionCallback}.
+     *
+     * @return the buffered window or {@code null} if the buffer is empty
+     */
+    public synchronized Window drain() {
+        Window drained = window;
+        window = null;
+        return drained;
+    }
+
+    /**
+     * Puts a window whose merge failed back into the buffer, so it is merged with the next window.
+     */
+    private void restore(Window failed) {
+        boolean opened;
+        synchronized (this) {
+            opened = window == null;
+            if (opened) {
+                window = failed;
+            } else {
+                window.sketch.merge(failed.sketch);
+                window.futures.addAll(failed.futures);
+                window.failedMergeAttempts = Math.max(window.failedMergeAttempts, failed.failedMergeAttempts);
+            }
+        }
+        if (opened) {
+            windowOpenedListener.run();
+        }
+    }
+
+    /**
+     * A drained window: the HyperLogLog to merge and the futures of the adds of the window.
+     */
+    public final class Window implements ExecutionCallback<Void> {
+
+        private final HyperLogLog sketch;
+        private final List<MergeFuture> futures = new ArrayList<MergeFuture>(1);
+        private int failedMergeAttempts;
+
+        private Window(HyperLogLog sketch, MergeFuture future) {
+            this.sketch = sketch;
+            this.futures.add(future);
+        }
+
+        public HyperLogLog getSketch() {
+            return sketch;
+        }
+
+        @Override
+        public void onResponse(Void response) {
+            complete(null);
+        }
+
+        /**
+         * Puts the window back into the buffer or, after the last merge attempt, completes its futures with the failure.
+         */
+        @Override
+        public void onFailure(Throwable t) {
+            if (++failedMergeAttempts < MAX_MERGE_ATTEMPTS) {
+                logger.warning("Failed to merge the buffered cardinality estimator elements, attempt "
+                        + failedMergeAttempts + " of " + MAX_MERGE_ATTEMPTS + ", they are merged with the next window", t);
+                restore(this);
+            } else {
+                logger.warning("Dropping the buffered cardinality estimator elements after " + MAX_MERGE_ATTEMPTS
+                        + " failed merge attempts", t);
+                fail(t);
+            }
+        }
+
+        /**
+         * Completes the futures of the window with the failure without merging it again.
+         *
+         * @param t the failure
+         */
+        public void fail(Throwable t) {
+            complete(t);
+        }
+
+        private void complete(Object value) {
+            for (MergeFuture future : futures) {
+                future.complete(value);
+            }
+        }
+    }
+
+    private static final class MergeFuture extends AbstractCompletableFuture<Void> implements InternalCompletableFuture<Void> {
+
+        MergeFuture(Executor executor, ILogger logger) {
+            super(executor, logger);
+        }
+
+        @Override
+        public Void join() {
+            try {
+                return get();
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public boolean complete(Object value) {
+            if (isDone()) {
+                return false;
+            }
+            setResult(value);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cardinality.impl;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Merges a HyperLogLog buffered by a client into the estimator. Clients submit it to the member owning the
+ * partition of the estimator, which runs a {@link com.hazelcast.cardinality.impl.operations.MergeOperation}.
+ */
+public class MergeCallable implements Callable<Void>, IdentifiedDataSerializable, HazelcastInstanceAware {
+
+    private String name;
+    private HyperLogLog hll;
+    private transient HazelcastInstance instance;
+
+    public MergeCallable() {
+    }
+
+    public MergeCallable(String name, HyperLogLog hll) {
+        this.name = name;
+        this.hll = hll;
+    }
+
+    @Override
+    public Void call() throws Exception {
+        CardinalityEstimatorProxy proxy = instance.getDistributedObject(CardinalityEstimatorService.SERVICE_NAME, name);
+        return proxy.mergeAsync(hll).join();
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance instance) {
+        this.instance = instance;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return CardinalityEstimatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CardinalityEstimatorDataSerializerHook.MERGE_CALLABLE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeObject(hll);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        hll = in.readObject();
+    }
+}
@@ -53,4 +53,14 @@ public interface HyperLogLog extends IdentifiedDataSerializable {
      * @param hashes the hash values array to aggregate
      */
     void addAll(long[] hashes);
+
+    /**
+     * Merges the registers of the other HyperLogLog into the registers of this one. Afterwards this HyperLogLog
+     * estimates the cardinality of the union of both. Merging is idempotent, merging the same HyperLogLog again
+     * has no effect.
+     *
+     * @param other the HyperLogLog to merge, it must have the same precision and is not modified
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    void merge(HyperLogLog other);
 }
@@ -79,6 +79,23 @@ public class DenseHyperLogLogEncoder implements HyperLogLogEncoder {
         return false;
     }
 
+    @Override
+    public HyperLogLogEncoder merge(HyperLogLogEncoder other) {
+        DenseHyperLogLogEncoder otherDense = other.getEncodingType() == HyperLogLogEncoding.DENSE
+                ? (DenseHyperLogLogEncoder) other
+                : (DenseHyperLogLogEncoder) ((SparseHyperLogLogEncoder) other).asDense();
+        if (otherDense.p != p) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog registers of precision " + otherDense.p
+                    + " into registers of precision " + p);
+        }
+        for (int i = 0; i < register.length; i++) {
+            if (otherDense.register[i] > register[i]) {
+                register[i] = otherDense.register[i];
+            }
+        }
+        return this;
+    }
+
     @Override
     public long estimate() {
         final double raw = (1 / computeE()) * alpha() * m * m;
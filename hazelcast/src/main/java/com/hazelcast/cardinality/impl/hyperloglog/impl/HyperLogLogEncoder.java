@@ -37,6 +37,16 @@ public interface HyperLogLogEncoder extends IdentifiedDataSerializable {
      */
     boolean add(long hash);
 
+    /**
+     * Merges the registers of the other encoder into the registers of this one by taking the maximum of every
+     * register. A sparse encoder turns into a dense one when the other encoder is dense.
+     *
+     * @param other the encoder to merge, it must have the same precision and is not modified
+     * @return the merged encoder, either this one or a new dense encoder
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    HyperLogLogEncoder merge(HyperLogLogEncoder other);
+
     /**
      * Returns the size in memory occupied (in bytes) for this implementation of HyperLogLog.
      *
@@ -82,6 +82,13 @@ public class HyperLogLogImpl implements HyperLogLog {
         }
     }
 
+    @Override
+    public void merge(HyperLogLog other) {
+        encoder = encoder.merge(((HyperLogLogImpl) other).encoder);
+        cachedEstimate = null;
+        convertToDenseIfNeeded();
+    }
+
     @Override
     public int getFactoryId() {
         return CardinalityEstimatorDataSerializerHook.F_ID;
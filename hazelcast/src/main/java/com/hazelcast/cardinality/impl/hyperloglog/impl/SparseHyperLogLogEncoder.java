@@ -78,6 +78,28 @@ public class SparseHyperLogLogEncoder implements HyperLogLogEncoder  {
         return true;
     }
 
+    @Override
+    public HyperLogLogEncoder merge(HyperLogLogEncoder other) {
+        if (other.getEncodingType() == HyperLogLogEncoding.DENSE) {
+            return asDense().merge(other);
+        }
+        SparseHyperLogLogEncoder otherSparse = (SparseHyperLogLogEncoder) other;
+        if (otherSparse.p != p || otherSparse.pPrime != pPrime) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog registers of precision " + otherSparse.p
+                    + " into registers of precision " + p);
+        }
+        // the encoded hashes are merged exactly like added ones, they keep the larger run of zeros per index
+        otherSparse.mergeAndResetTmp();
+        for (int hash : otherSparse.register.explode()) {
+            temp[tempIdx++] = hash;
+            if (tempIdx == DEFAULT_TEMP_CAPACITY) {
+                mergeAndResetTmp();
+            }
+        }
+        mergeAndResetTmp();
+        return this;
+    }
+
     @Override
     public long estimate() {
         mergeAndResetTmp();
@@ -127,6 +149,8 @@ public class SparseHyperLogLogEncoder implements HyperLogLogEncoder  {
     }
 
     public HyperLogLogEncoder asDense() {
+        // the hashes still in the temporary buffer are not in the register yet
+        mergeAndResetTmp();
         byte[] dense = new byte[1 << this.p];
         for (int hash : register.explode()) {
             int index = decodeHashPIndex(hash);
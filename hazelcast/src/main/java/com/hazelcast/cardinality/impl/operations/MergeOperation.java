@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cardinality.impl.operations;
+
+import com.hazelcast.cardinality.impl.CardinalityEstimatorDataSerializerHook;
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+
+/**
+ * Merges the registers of a HyperLogLog, which a caller has accumulated locally, into the estimator. This replaces
+ * one {@link AggregateOperation} per element with a single operation per buffering window.
+ */
+public class MergeOperation
+        extends CardinalityEstimatorBackupAwareOperation {
+
+    private HyperLogLog hll;
+
+    public MergeOperation() {
+    }
+
+    public MergeOperation(String name, HyperLogLog hll) {
+        super(name);
+        this.hll = hll;
+    }
+
+    @Override
+    public int getId() {
+        return CardinalityEstimatorDataSerializerHook.MERGE;
+    }
+
+    @Override
+    public void run() throws Exception {
+        getCardinalityEstimatorContainer().merge(hll);
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new MergeBackupOperation(name, hll);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(hll);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        hll = in.readObject();
+    }
+}
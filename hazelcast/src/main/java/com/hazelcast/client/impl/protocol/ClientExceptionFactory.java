@@ -40,6 +40,7 @@ import com.hazelcast.mapreduce.TopologyChangedException;
 import com.hazelcast.memory.NativeOutOfMemoryError;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.partition.NoDataMemberInClusterException;
+import com.hazelcast.pncounter.ConsistencyLostException;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.quorum.QuorumException;
 import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
@@ -637,6 +638,12 @@ public class ClientExceptionFactory {
                 return new IndeterminateOperationStateException(message, cause);
             }
         });
+        register(ClientProtocolErrorCodes.CONSISTENCY_LOST, ConsistencyLostException.class, new ExceptionFactory() {
+            @Override
+            public Throwable createException(String message, Throwable cause) {
+                return new ConsistencyLostException(message);
+            }
+        });
     }
 
     public Throwable createException(ClientMessage clientMessage) {
@@ -107,6 +107,7 @@ public final class ClientProtocolErrorCodes {
     public static final int STALE_TASK = 82;
     public static final int LOCAL_MEMBER_RESET = 83;
     public static final int INDETERMINATE_OPERATION_STATE = 84;
+    public static final int CONSISTENCY_LOST = 85;
 
     // These exception codes are reserved to by used by hazelcast-jet project
     public static final int JET_EXCEPTIONS_RANGE_START = 500;
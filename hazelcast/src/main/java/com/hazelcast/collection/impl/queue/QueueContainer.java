@@ -34,15 +34,11 @@ import com.hazelcast.util.Clock;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -54,10 +50,16 @@ import java.util.concurrent.TimeUnit;
  * <li>transactional operation functionalities</li>
  * <li>schedules queue destruction if it is configured to be destroyed once empty</li>
  * </ul>
+ * The items are kept in a {@link QueueItemRing} in queue order on the partition owner and in item ID order on a
+ * backup replica, so no {@link QueueItem} is allocated per stored item.
  */
 @SuppressWarnings("checkstyle:methodcount")
 public class QueueContainer implements IdentifiedDataSerializable {
     private static final int ID_PROMOTION_OFFSET = 100000;
+    /**
+     * The item IDs of the shards of a sharded queue are prefixed with the shard index in the bits above this shift.
+     */
+    private static final int SHARD_ITEM_ID_SHIFT = 48;
     /**
      * Contains item ID to queue item mappings for current transactions
      */
@@ -65,8 +67,8 @@ public class QueueContainer implements IdentifiedDataSerializable {
     private final Map<Long, Data> dataMap = new HashMap<Long, Data>();
     private QueueWaitNotifyKey pollWaitNotifyKey;
     private QueueWaitNotifyKey offerWaitNotifyKey;
-    private LinkedList<QueueItem> itemQueue;
-    private Map<Long, QueueItem> backupMap;
+    private QueueItemRing itemQueue;
+    private QueueItemRing backupQueue;
     private QueueConfig config;
     private QueueStoreWrapper store;
     private NodeEngine nodeEngine;
@@ -118,12 +120,19 @@ public class QueueContainer implements IdentifiedDataSerializable {
             Set<Long> keys = store.loadAllKeys();
             if (keys != null) {
                 long maxId = -1;
+                long now = Clock.currentTimeMillis();
+                QueueItemRing items = getItemQueue();
+                boolean sharded = config.getShardCount() > 1;
+                int shardIndex = QueueService.getShardIndex(name);
                 for (Long key : keys) {
-                    QueueItem item = new QueueItem(this, key, null);
-                    getItemQueue().offer(item);
+                    // the shards of a sharded queue may share a store, every shard loads the keys of its ID range
+                    if (sharded && key >>> SHARD_ITEM_ID_SHIFT != shardIndex) {
+                        continue;
+                    }
+                    items.addLast(key, null, now);
                     maxId = Math.max(maxId, key);
                 }
-                idGenerator = maxId + 1;
+                setId(maxId);
             }
         }
     }
@@ -172,7 +181,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return the head of the queue or a reserved item with the {@code reservedOfferId} if there is any
      */
     public QueueItem txnPollReserve(long reservedOfferId, String transactionId) {
-        QueueItem item = getItemQueue().peek();
+        QueueItem item = peekItem();
         if (item == null) {
             TxQueueItem txItem = txMap.remove(reservedOfferId);
             if (txItem == null) {
@@ -181,14 +190,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             item = new QueueItem(this, txItem.getItemId(), txItem.getData());
             return item;
         }
-        if (store.isEnabled() && item.getData() == null) {
-            try {
-                load(item);
-            } catch (Exception e) {
-                throw new HazelcastException(e);
-            }
-        }
-        getItemQueue().poll();
+        getItemQueue().removeFirst(1);
         txMap.put(item.getItemId(), new TxQueueItem(item).setPollOperation(true).setTransactionId(transactionId));
         return item;
     }
@@ -206,7 +208,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @see com.hazelcast.collection.impl.txnqueue.operations.TxnReservePollOperation
      */
     public void txnPollBackupReserve(long itemId, String transactionId) {
-        QueueItem item = getBackupMap().remove(itemId);
+        QueueItem item = removeBackupItem(itemId);
         if (item != null) {
             txMap.put(itemId, new TxQueueItem(item).setPollOperation(true).setTransactionId(transactionId));
             return;
@@ -265,7 +267,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
         }
 
         if (backup) {
-            getBackupMap().put(itemId, item);
+            getBackupQueue().insertOrdered(itemId, item.getData(), item.getCreationTime());
         } else {
             addTxItemOrdered(item);
         }
@@ -273,17 +275,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return true;
     }
 
-    @SuppressWarnings("unchecked")
     private void addTxItemOrdered(TxQueueItem txQueueItem) {
-        final ListIterator<QueueItem> iterator = ((List<QueueItem>) getItemQueue()).listIterator();
-        while (iterator.hasNext()) {
-            final QueueItem queueItem = iterator.next();
-            if (txQueueItem.itemId < queueItem.itemId) {
-                iterator.previous();
-                break;
-            }
-        }
-        iterator.add(txQueueItem);
+        final QueueItemRing items = getItemQueue();
+        items.insert(items.indexOfFirstLarger(txQueueItem.itemId), txQueueItem.itemId, txQueueItem.getData(),
+                txQueueItem.getCreationTime());
     }
 
     //TX Offer
@@ -346,10 +341,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
         }
         item.setData(data);
         if (!backup) {
-            getItemQueue().offer(item);
+            getItemQueue().addLast(itemId, data, item.getCreationTime());
             cancelEvictionIfExists();
         } else {
-            getBackupMap().put(itemId, item);
+            getBackupQueue().insertOrdered(itemId, data, item.getCreationTime());
         }
         if (store.isEnabled() && !backup) {
             try {
@@ -401,7 +396,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @throws HazelcastException if there is an exception while loading the data from the queue store
      */
     public QueueItem txnPeek(long offerId, String transactionId) {
-        QueueItem item = getItemQueue().peek();
+        QueueItem item = peekItem();
         if (item == null) {
             if (offerId == -1) {
                 return null;
@@ -413,13 +408,6 @@ public class QueueContainer implements IdentifiedDataSerializable {
             item = new QueueItem(this, txItem.getItemId(), txItem.getData());
             return item;
         }
-        if (store.isEnabled() && item.getData() == null) {
-            try {
-                load(item);
-            } catch (Exception e) {
-                throw new HazelcastException(e);
-            }
-        }
         return item;
     }
 
@@ -427,20 +415,19 @@ public class QueueContainer implements IdentifiedDataSerializable {
 
 
     public long offer(Data data) {
-        QueueItem item = new QueueItem(this, nextId(), null);
+        final long itemId = nextId();
         if (store.isEnabled()) {
             try {
-                store.store(item.getItemId(), data);
+                store.store(itemId, data);
             } catch (Exception e) {
                 throw new HazelcastException(e);
             }
         }
-        if (!store.isEnabled() || store.getMemoryLimit() > getItemQueue().size()) {
-            item.setData(data);
-        }
-        getItemQueue().offer(item);
+        final QueueItemRing items = getItemQueue();
+        final boolean inMemory = !store.isEnabled() || store.getMemoryLimit() > items.size();
+        items.addLast(itemId, inMemory ? data : null, Clock.currentTimeMillis());
         cancelEvictionIfExists();
-        return item.getItemId();
+        return itemId;
     }
 
     /**
@@ -452,11 +439,9 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @param itemId the item ID as determined by the primary replica
      */
     public void offerBackup(Data data, long itemId) {
-        QueueItem item = new QueueItem(this, itemId, null);
-        if (!store.isEnabled() || store.getMemoryLimit() > getItemQueue().size()) {
-            item.setData(data);
-        }
-        getBackupMap().put(itemId, item);
+        final QueueItemRing backupItems = getBackupQueue();
+        final boolean inMemory = !store.isEnabled() || store.getMemoryLimit() > backupItems.size();
+        backupItems.insertOrdered(itemId, inMemory ? data : null, Clock.currentTimeMillis());
     }
 
     /**
@@ -468,15 +453,9 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return map of item ID and items added
      */
     public Map<Long, Data> addAll(Collection<Data> dataList) {
-        final Map<Long, Data> map = new HashMap<Long, Data>(dataList.size());
-        final List<QueueItem> list = new ArrayList<QueueItem>(dataList.size());
+        final Map<Long, Data> map = new LinkedHashMap<Long, Data>(dataList.size());
         for (Data data : dataList) {
-            final QueueItem item = new QueueItem(this, nextId(), null);
-            if (!store.isEnabled() || store.getMemoryLimit() > getItemQueue().size()) {
-                item.setData(data);
-            }
-            map.put(item.getItemId(), data);
-            list.add(item);
+            map.put(nextId(), data);
         }
         if (store.isEnabled() && !map.isEmpty()) {
             try {
@@ -485,8 +464,14 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 throw new HazelcastException(e);
             }
         }
-        if (!list.isEmpty()) {
-            getItemQueue().addAll(list);
+        if (!map.isEmpty()) {
+            // the items are added in one pass after the store succeeded, as the ring does not allocate per item
+            final QueueItemRing items = getItemQueue();
+            final long now = Clock.currentTimeMillis();
+            for (Map.Entry<Long, Data> entry : map.entrySet()) {
+                final boolean inMemory = !store.isEnabled() || store.getMemoryLimit() > items.size();
+                items.addLast(entry.getKey(), inMemory ? entry.getValue() : null, now);
+            }
             cancelEvictionIfExists();
         }
         return map;
@@ -501,12 +486,11 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @see #offerBackup(Data, long)
      */
     public void addAllBackup(Map<Long, Data> dataMap) {
+        final QueueItemRing backupItems = getBackupQueue();
+        final long now = Clock.currentTimeMillis();
         for (Map.Entry<Long, Data> entry : dataMap.entrySet()) {
-            QueueItem item = new QueueItem(this, entry.getKey(), null);
-            if (!store.isEnabled() || store.getMemoryLimit() > getItemQueue().size()) {
-                item.setData(entry.getValue());
-            }
-            getBackupMap().put(item.getItemId(), item);
+            final boolean inMemory = !store.isEnabled() || store.getMemoryLimit() > backupItems.size();
+            backupItems.insertOrdered(entry.getKey(), inMemory ? entry.getValue() : null, now);
         }
     }
 
@@ -517,18 +501,21 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return the first item in the queue
      */
     public QueueItem peek() {
-        final QueueItem item = getItemQueue().peek();
-        if (item == null) {
+        return peekItem();
+    }
+
+    /**
+     * Creates a queue item for the head of the queue, loading its data from the queue store if needed.
+     *
+     * @return the head of the queue or {@code null} if the queue is empty
+     */
+    private QueueItem peekItem() {
+        final QueueItemRing items = getItemQueue();
+        if (items.isEmpty()) {
             return null;
         }
-        if (store.isEnabled() && item.getData() == null) {
-            try {
-                load(item);
-            } catch (Exception e) {
-                throw new HazelcastException(e);
-            }
-        }
-        return item;
+        loadIfNeeded(0);
+        return items.toQueueItem(0, this);
     }
 
     /**
@@ -549,8 +536,8 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 throw new HazelcastException(e);
             }
         }
-        getItemQueue().poll();
-        age(item, Clock.currentTimeMillis());
+        getItemQueue().removeFirst(1);
+        age(item.getCreationTime(), Clock.currentTimeMillis());
         scheduleEvictionIfEmpty();
         return item;
     }
@@ -563,10 +550,12 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @param itemId the item ID as determined by the primary replica
      */
     public void pollBackup(long itemId) {
-        QueueItem item = getBackupMap().remove(itemId);
-        if (item != null) {
+        final QueueItemRing backupItems = getBackupQueue();
+        final int index = indexOfBackupItem(itemId);
+        if (index >= 0) {
             //For Stats
-            age(item, Clock.currentTimeMillis());
+            age(backupItems.creationTime(index), Clock.currentTimeMillis());
+            backupItems.removeAt(index);
         }
     }
 
@@ -579,9 +568,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return the map of IDs and removed (drained) items
      */
     public Map<Long, Data> drain(int maxSize) {
+        final QueueItemRing items = getItemQueue();
         int maxSizeParam = maxSize;
-        if (maxSizeParam < 0 || maxSizeParam > getItemQueue().size()) {
-            maxSizeParam = getItemQueue().size();
+        if (maxSizeParam < 0 || maxSizeParam > items.size()) {
+            maxSizeParam = items.size();
         }
         final LinkedHashMap<Long, Data> map = new LinkedHashMap<Long, Data>(maxSizeParam);
         mapDrainIterator(maxSizeParam, map);
@@ -594,32 +584,43 @@ public class QueueContainer implements IdentifiedDataSerializable {
         }
         long current = Clock.currentTimeMillis();
         for (int i = 0; i < maxSizeParam; i++) {
-            final QueueItem item = getItemQueue().poll();
             //For Stats
-            age(item, current);
+            age(items.creationTime(i), current);
         }
+        items.removeFirst(maxSizeParam);
         if (maxSizeParam != 0) {
             scheduleEvictionIfEmpty();
         }
         return map;
     }
 
+    @SuppressWarnings("unchecked")
     public void mapDrainIterator(int maxSize, Map map) {
-        Iterator<QueueItem> iter = getItemQueue().iterator();
+        final QueueItemRing items = getItemQueue();
         for (int i = 0; i < maxSize; i++) {
-            QueueItem item = iter.next();
-            if (store.isEnabled() && item.getData() == null) {
-                try {
-                    load(item);
-                } catch (Exception e) {
-                    throw new HazelcastException(e);
-                }
-            }
-            map.put(item.getItemId(), item.getData());
+            map.put(items.itemId(i), loadIfNeeded(i));
         }
     }
 
     public void drainFromBackup(Set<Long> itemIdSet) {
+        final QueueItemRing backupItems = getBackupQueue();
+        final long current = Clock.currentTimeMillis();
+        if (itemIdSet.size() == backupItems.size()) {
+            // the whole backup is drained, which is the common case for drain and clear
+            boolean all = true;
+            for (int i = 0; i < backupItems.size() && all; i++) {
+                all = itemIdSet.contains(backupItems.itemId(i));
+            }
+            if (all) {
+                for (int i = 0; i < backupItems.size(); i++) {
+                    //For Stats
+                    age(backupItems.creationTime(i), current);
+                }
+                backupItems.clear();
+                dataMap.clear();
+                return;
+            }
+        }
         for (Long itemId : itemIdSet) {
             pollBackup(itemId);
         }
@@ -644,16 +645,17 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return the number of items on this backup replica
      */
     public int backupSize() {
-        return getBackupMap().size();
+        return getBackupQueue().size();
     }
 
     public Map<Long, Data> clear() {
         long current = Clock.currentTimeMillis();
-        LinkedHashMap<Long, Data> map = new LinkedHashMap<Long, Data>(getItemQueue().size());
-        for (QueueItem item : getItemQueue()) {
-            map.put(item.getItemId(), item.getData());
+        final QueueItemRing items = getItemQueue();
+        LinkedHashMap<Long, Data> map = new LinkedHashMap<Long, Data>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            map.put(items.itemId(i), getData(items, i));
             // For stats
-            age(item, current);
+            age(items.creationTime(i), current);
         }
         if (store.isEnabled() && !map.isEmpty()) {
             try {
@@ -677,22 +679,22 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * This method does not trigger store load.
      */
     public long remove(Data data) {
-        Iterator<QueueItem> iter = getItemQueue().iterator();
-        while (iter.hasNext()) {
-            QueueItem item = iter.next();
-            if (data.equals(item.getData())) {
+        final QueueItemRing items = getItemQueue();
+        for (int i = 0; i < items.size(); i++) {
+            if (data.equals(getData(items, i))) {
+                final long itemId = items.itemId(i);
                 if (store.isEnabled()) {
                     try {
-                        store.delete(item.getItemId());
+                        store.delete(itemId);
                     } catch (Exception e) {
                         throw new HazelcastException(e);
                     }
                 }
-                iter.remove();
                 //For Stats
-                age(item, Clock.currentTimeMillis());
+                age(items.creationTime(i), Clock.currentTimeMillis());
+                items.removeAt(i);
                 scheduleEvictionIfEmpty();
-                return item.getItemId();
+                return itemId;
             }
         }
         return -1;
@@ -705,7 +707,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @param itemId the queue item ID
      */
     public void removeBackup(long itemId) {
-        getBackupMap().remove(itemId);
+        removeBackupItem(itemId);
     }
 
 
@@ -716,10 +718,12 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return true if the queue contains all items, false otherwise
      */
     public boolean contains(Collection<Data> dataSet) {
+        final QueueItemRing items = getItemQueue();
         for (Data data : dataSet) {
             boolean contains = false;
-            for (QueueItem item : getItemQueue()) {
-                if (item.getData() != null && item.getData().equals(data)) {
+            for (int i = 0; i < items.size(); i++) {
+                final Data itemData = getData(items, i);
+                if (itemData != null && itemData.equals(data)) {
                     contains = true;
                     break;
                 }
@@ -737,16 +741,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * @return the item data in the queue.
      */
     public List<Data> getAsDataList() {
-        final List<Data> dataList = new ArrayList<Data>(getItemQueue().size());
-        for (QueueItem item : getItemQueue()) {
-            if (store.isEnabled() && item.getData() == null) {
-                try {
-                    load(item);
-                } catch (Exception e) {
-                    throw new HazelcastException(e);
-                }
-            }
-            dataList.add(item.getData());
+        final QueueItemRing items = getItemQueue();
+        final List<Data> dataList = new ArrayList<Data>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            dataList.add(loadIfNeeded(i));
         }
         return dataList;
     }
@@ -765,17 +763,12 @@ public class QueueContainer implements IdentifiedDataSerializable {
      */
     public Map<Long, Data> compareAndRemove(Collection<Data> dataList, boolean retain) {
         final LinkedHashMap<Long, Data> map = new LinkedHashMap<Long, Data>();
-        for (QueueItem item : getItemQueue()) {
-            if (item.getData() == null && store.isEnabled()) {
-                try {
-                    load(item);
-                } catch (Exception e) {
-                    throw new HazelcastException(e);
-                }
-            }
-            boolean contains = dataList.contains(item.getData());
+        final QueueItemRing items = getItemQueue();
+        for (int i = 0; i < items.size(); i++) {
+            final Data itemData = loadIfNeeded(i);
+            boolean contains = dataList.contains(itemData);
             if ((retain && !contains) || (!retain && contains)) {
-                map.put(item.getItemId(), item.getData());
+                map.put(items.itemId(i), itemData);
             }
         }
 
@@ -802,15 +795,17 @@ public class QueueContainer implements IdentifiedDataSerializable {
                 throw new HazelcastException(e);
             }
         }
-        final Iterator<QueueItem> iter = getItemQueue().iterator();
-        while (iter.hasNext()) {
-            final QueueItem item = iter.next();
-            if (map.containsKey(item.getItemId())) {
-                iter.remove();
+        final QueueItemRing items = getItemQueue();
+        final boolean[] removed = new boolean[items.size()];
+        final long current = Clock.currentTimeMillis();
+        for (int i = 0; i < items.size(); i++) {
+            if (map.containsKey(items.itemId(i))) {
+                removed[i] = true;
                 //For Stats
-                age(item, Clock.currentTimeMillis());
+                age(items.creationTime(i), current);
             }
         }
+        items.removeMarked(removed);
         scheduleEvictionIfEmpty();
     }
 
@@ -827,22 +822,23 @@ public class QueueContainer implements IdentifiedDataSerializable {
      * item is also being loaded even though it is not amongst the first {@link QueueStoreWrapper#getBulkLoad()} items in the
      * queue.
      *
-     * @param item the item for which the data is being set
+     * @param index the index of the item in the item queue for which the data is being set
      * @throws Exception if there is any exception. For example, when calling methods on the queue store
      */
-    private void load(QueueItem item) throws Exception {
+    private void load(int index) throws Exception {
+        final QueueItemRing items = getItemQueue();
+        final long requestedItemId = items.itemId(index);
         int bulkLoad = store.getBulkLoad();
-        bulkLoad = Math.min(getItemQueue().size(), bulkLoad);
+        bulkLoad = Math.min(items.size(), bulkLoad);
         if (bulkLoad == 1) {
-            item.setData(store.load(item.getItemId()));
+            items.setData(index, store.load(requestedItemId));
         } else if (bulkLoad > 1) {
             long maxIdToLoad = -1;
-            final Iterator<QueueItem> iter = getItemQueue().iterator();
             final HashSet<Long> keySet = new HashSet<Long>(bulkLoad);
 
-            keySet.add(item.getItemId());
-            while (keySet.size() < bulkLoad && iter.hasNext()) {
-                final long itemId = iter.next().getItemId();
+            keySet.add(requestedItemId);
+            for (int i = 0; keySet.size() < bulkLoad && i < items.size(); i++) {
+                final long itemId = items.itemId(i);
                 if (itemId > lastIdLoaded) {
                     keySet.add(itemId);
                     maxIdToLoad = Math.max(itemId, maxIdToLoad);
@@ -852,10 +848,43 @@ public class QueueContainer implements IdentifiedDataSerializable {
             final Map<Long, Data> values = store.loadAll(keySet);
             lastIdLoaded = maxIdToLoad;
             dataMap.putAll(values);
-            item.setData(getDataFromMap(item.getItemId()));
+            items.setData(index, getDataFromMap(requestedItemId));
         }
     }
 
+    /**
+     * Returns the data of the item at the given index in the item queue, loading it from the queue store if it is
+     * enabled and the data is not in memory.
+     */
+    private Data loadIfNeeded(int index) {
+        final QueueItemRing items = getItemQueue();
+        final Data data = getData(items, index);
+        if (data != null || !store.isEnabled()) {
+            return data;
+        }
+        try {
+            load(index);
+        } catch (Exception e) {
+            throw new HazelcastException(e);
+        }
+        return items.data(index);
+    }
+
+    /**
+     * Returns the data of the item at the given index, taking it from the bulk-loaded data if it is not set yet.
+     * This method does not trigger store load.
+     */
+    private Data getData(QueueItemRing items, int index) {
+        Data data = items.data(index);
+        if (data == null) {
+            data = getDataFromMap(items.itemId(index));
+            if (data != null) {
+                items.setData(index, data);
+            }
+        }
+        return data;
+    }
+
     /**
      * Returns if this queue can accommodate one item.
      *
@@ -877,51 +906,68 @@ public class QueueContainer implements IdentifiedDataSerializable {
 
     /**
      * Returns the item queue on the partition owner. This method
-     * will also move the items from the backup map if this
+     * will also take over the items of the backup queue if this
      * member has been promoted from a backup replica to the
-     * partition owner and clear the backup map.
+     * partition owner. The backup queue is ordered by item ID,
+     * so it becomes the item queue as is.
      *
      * @return the item queue
      */
-    public Deque<QueueItem> getItemQueue() {
+    QueueItemRing getItemQueue() {
         if (itemQueue == null) {
-            itemQueue = new LinkedList<QueueItem>();
-            if (backupMap != null && !backupMap.isEmpty()) {
-                List<QueueItem> values = new ArrayList<QueueItem>(backupMap.values());
-                Collections.sort(values);
-                itemQueue.addAll(values);
-                final QueueItem lastItem = itemQueue.peekLast();
-                if (lastItem != null) {
-                    setId(lastItem.itemId + ID_PROMOTION_OFFSET);
+            if (backupQueue != null) {
+                itemQueue = backupQueue;
+                backupQueue = null;
+                if (!itemQueue.isEmpty()) {
+                    setId(itemQueue.lastItemId() + ID_PROMOTION_OFFSET);
                 }
-                backupMap.clear();
-                backupMap = null;
+            } else {
+                itemQueue = new QueueItemRing();
             }
         }
         return itemQueue;
     }
 
     /**
-     * Return the map containing queue items when this instance is
-     * a backup replica.
-     * The map contains both items that are parts of different
+     * Return the queue items when this instance is a backup replica,
+     * ordered by item ID.
+     * It contains both items that are parts of different
      * transactions and items which have already been committed
      * to the queue.
      *
-     * @return backup replica map from item ID to queue item
+     * @return backup replica items
      */
-    private Map<Long, QueueItem> getBackupMap() {
-        if (backupMap == null) {
-            backupMap = new HashMap<Long, QueueItem>();
+    private QueueItemRing getBackupQueue() {
+        if (backupQueue == null) {
             if (itemQueue != null) {
-                for (QueueItem item : itemQueue) {
-                    backupMap.put(item.getItemId(), item);
-                }
-                itemQueue.clear();
+                backupQueue = itemQueue;
                 itemQueue = null;
+                backupQueue.sortByItemId(this);
+            } else {
+                backupQueue = new QueueItemRing();
             }
         }
-        return backupMap;
+        return backupQueue;
+    }
+
+    private int indexOfBackupItem(long itemId) {
+        final QueueItemRing backupItems = getBackupQueue();
+        // items are mostly polled in order, so the item is usually the head of the backup queue
+        if (!backupItems.isEmpty() && backupItems.itemId(0) == itemId) {
+            return 0;
+        }
+        return backupItems.binarySearch(itemId);
+    }
+
+    private QueueItem removeBackupItem(long itemId) {
+        final int index = indexOfBackupItem(itemId);
+        if (index < 0) {
+            return null;
+        }
+        final QueueItemRing backupItems = getBackupQueue();
+        final QueueItem item = backupItems.toQueueItem(index, this);
+        backupItems.removeAt(index);
+        return item;
     }
 
 
@@ -939,6 +985,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
         final SerializationService serializationService = nodeEngine.getSerializationService();
         ClassLoader classLoader = nodeEngine.getConfigClassLoader();
         this.store = QueueStoreWrapper.create(name, storeConfig, serializationService, classLoader);
+        if (config.getShardCount() > 1) {
+            // every shard of a sharded queue generates item IDs in its own range so that they can share a queue store
+            idGenerator = Math.max(idGenerator, (long) QueueService.getShardIndex(name) << SHARD_ITEM_ID_SHIFT);
+        }
     }
 
     /** Returns the next ID that can be used for uniquely identifying queue items */
@@ -958,8 +1008,8 @@ public class QueueContainer implements IdentifiedDataSerializable {
         return config;
     }
 
-    private void age(QueueItem item, long currentTime) {
-        long elapsed = currentTime - item.getCreationTime();
+    private void age(long creationTime, long currentTime) {
+        long elapsed = currentTime - creationTime;
         if (elapsed <= 0) {
             //elapsed time can not be a negative value, a system clock problem maybe. ignored
             return;
@@ -1016,7 +1066,7 @@ public class QueueContainer implements IdentifiedDataSerializable {
             if (transactionId.equals(item.getTransactionId())) {
                 iterator.remove();
                 if (item.isPollOperation()) {
-                    getItemQueue().offerFirst(item);
+                    getItemQueue().addFirst(item.getItemId(), item.getData(), item.getCreationTime());
                     cancelEvictionIfExists();
                 }
             }
@@ -1026,9 +1076,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
-        out.writeInt(getItemQueue().size());
-        for (QueueItem item : getItemQueue()) {
-            out.writeObject(item);
+        final QueueItemRing items = getItemQueue();
+        out.writeInt(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            out.writeObject(items.toQueueItem(i, this));
         }
         out.writeInt(txMap.size());
         for (TxQueueItem item : txMap.values()) {
@@ -1042,9 +1093,11 @@ public class QueueContainer implements IdentifiedDataSerializable {
         pollWaitNotifyKey = new QueueWaitNotifyKey(name, "poll");
         offerWaitNotifyKey = new QueueWaitNotifyKey(name, "offer");
         int size = in.readInt();
+        final QueueItemRing items = new QueueItemRing(size);
+        itemQueue = items;
         for (int j = 0; j < size; j++) {
             QueueItem item = in.readObject();
-            getItemQueue().offer(item);
+            items.addLast(item.getItemId(), item.getData(), item.getCreationTime());
             setId(item.getItemId());
         }
         int txSize = in.readInt();
@@ -1060,8 +1113,8 @@ public class QueueContainer implements IdentifiedDataSerializable {
         if (itemQueue != null) {
             itemQueue.clear();
         }
-        if (backupMap != null) {
-            backupMap.clear();
+        if (backupQueue != null) {
+            backupQueue.clear();
         }
         txMap.clear();
         dataMap.clear();
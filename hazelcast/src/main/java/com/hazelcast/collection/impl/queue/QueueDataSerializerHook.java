@@ -37,6 +37,7 @@ import com.hazelcast.collection.impl.queue.operations.QueueReplicationOperation;
 import com.hazelcast.collection.impl.queue.operations.RemainingCapacityOperation;
 import com.hazelcast.collection.impl.queue.operations.RemoveBackupOperation;
 import com.hazelcast.collection.impl.queue.operations.RemoveOperation;
+import com.hazelcast.collection.impl.queue.operations.ShardedQueuePollOperation;
 import com.hazelcast.collection.impl.queue.operations.SizeOperation;
 import com.hazelcast.collection.impl.txnqueue.TxQueueItem;
 import com.hazelcast.collection.impl.txnqueue.operations.QueueTransactionRollbackOperation;
@@ -121,6 +122,7 @@ public final class QueueDataSerializerHook implements DataSerializerHook {
 
     public static final int TXN_COMMIT = 42;
     public static final int TXN_COMMIT_BACKUP = 43;
+    public static final int SHARDED_POLL = 44;
 
 
     public int getFactoryId() {
@@ -129,7 +131,7 @@ public final class QueueDataSerializerHook implements DataSerializerHook {
 
     public DataSerializableFactory createFactory() {
 
-        ConstructorFunction<Integer, IdentifiedDataSerializable>[] constructors = new ConstructorFunction[TXN_COMMIT_BACKUP + 1];
+        ConstructorFunction<Integer, IdentifiedDataSerializable>[] constructors = new ConstructorFunction[SHARDED_POLL + 1];
         constructors[OFFER] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
             public IdentifiedDataSerializable createNew(Integer arg) {
                 return new OfferOperation();
@@ -351,6 +353,12 @@ public final class QueueDataSerializerHook implements DataSerializerHook {
                 return new TxnCommitBackupOperation();
             }
         };
+        constructors[SHARDED_POLL] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ShardedQueuePollOperation();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -45,6 +45,13 @@ public class QueueItem implements IdentifiedDataSerializable, Comparable<QueueIt
         this.data = data;
     }
 
+    public QueueItem(QueueContainer container, long itemId, Data data, long creationTime) {
+        this.container = container;
+        this.itemId = itemId;
+        this.data = data;
+        this.creationTime = creationTime;
+    }
+
     public Data getData() {
         if (data == null && container != null) {
             data = container.getDataFromMap(itemId);
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * The storage of the items of a {@link QueueContainer}. The item IDs, creation times and data are kept in parallel
+ * ring arrays, so adding an item does not allocate a {@link QueueItem} or a list node. A {@link QueueItem} is only
+ * created when an item is handed out by the container.
+ * <p>
+ * Items are addressed by their index, {@code 0} being the head of the queue. Adding and removing at either end is
+ * constant time, removing or inserting in the middle moves the items on the shorter side of the index.
+ * <p>
+ * The storage is not thread-safe, it is only accessed by the partition thread owning the queue.
+ */
+final class QueueItemRing {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] itemIds;
+    private long[] creationTimes;
+    private Data[] data;
+    private int mask;
+    private int head;
+    private int size;
+
+    QueueItemRing() {
+        this(INITIAL_CAPACITY);
+    }
+
+    QueueItemRing(int capacity) {
+        allocate(nextPowerOfTwo(Math.max(capacity, INITIAL_CAPACITY)));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long itemId(int index) {
+        return itemIds[slot(index)];
+    }
+
+    long creationTime(int index) {
+        return creationTimes[slot(index)];
+    }
+
+    Data data(int index) {
+        return data[slot(index)];
+    }
+
+    void setData(int index, Data itemData) {
+        data[slot(index)] = itemData;
+    }
+
+    long lastItemId() {
+        return itemId(size - 1);
+    }
+
+    /**
+     * Creates a {@link QueueItem} for the item at the given index.
+     */
+    QueueItem toQueueItem(int index, QueueContainer container) {
+        int slot = slot(index);
+        return new QueueItem(container, itemIds[slot], data[slot], creationTimes[slot]);
+    }
+
+    void addLast(long itemId, Data itemData, long creationTime) {
+        ensureCapacity(size + 1);
+        set(slot(size), itemId, itemData, creationTime);
+        size++;
+    }
+
+    void addFirst(long itemId, Data itemData, long creationTime) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & mask;
+        set(head, itemId, itemData, creationTime);
+        size++;
+    }
+
+    /**
+     * Inserts the item so that it has the given index, the items from that index on are moved back by one.
+     */
+    void insert(int index, long itemId, Data itemData, long creationTime) {
+        if (index == size) {
+            addLast(itemId, itemData, creationTime);
+            return;
+        }
+        if (index == 0) {
+            addFirst(itemId, itemData, creationTime);
+            return;
+        }
+        ensureCapacity(size + 1);
+        if (index < size / 2) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                move(i + 1, i);
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                move(i - 1, i);
+            }
+        }
+        set(slot(index), itemId, itemData, creationTime);
+        size++;
+    }
+
+    /**
+     * Inserts the item in item ID order, assuming the items are ordered by item ID. If an item with the same ID
+     * exists already, it is replaced.
+     */
+    void insertOrdered(long itemId, Data itemData, long creationTime) {
+        if (size == 0 || lastItemId() < itemId) {
+            addLast(itemId, itemData, creationTime);
+            return;
+        }
+        int index = binarySearch(itemId);
+        if (index >= 0) {
+            set(slot(index), itemId, itemData, creationTime);
+        } else {
+            insert(-index - 1, itemId, itemData, creationTime);
+        }
+    }
+
+    /**
+     * Removes the given number of items from the head.
+     */
+    void removeFirst(int count) {
+        for (int i = 0; i < count; i++) {
+            data[slot(i)] = null;
+        }
+        head = (head + count) & mask;
+        size -= count;
+    }
+
+    void removeAt(int index) {
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                move(i - 1, i);
+            }
+            data[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                move(i + 1, i);
+            }
+            data[slot(size - 1)] = null;
+        }
+        size--;
+    }
+
+    /**
+     * Removes the items whose index is marked in one pass.
+     *
+     * @param marked the marks, indexed like the items
+     */
+    void removeMarked(boolean[] marked) {
+        int target = 0;
+        for (int index = 0; index < size; index++) {
+            if (!marked[index]) {
+                if (target != index) {
+                    move(index, target);
+                }
+                target++;
+            }
+        }
+        for (int index = target; index < size; index++) {
+            data[slot(index)] = null;
+        }
+        size = target;
+    }
+
+    /**
+     * Returns the index of the first item with an item ID larger than the given one, or the size if there is none.
+     */
+    int indexOfFirstLarger(long itemId) {
+        for (int index = 0; index < size; index++) {
+            if (itemId(index) > itemId) {
+                return index;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Searches the item with the given ID, assuming the items are ordered by item ID.
+     *
+     * @return the index of the item or {@code -(insertion index) - 1} if there is no such item
+     */
+    int binarySearch(long itemId) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midItemId = itemId(mid);
+            if (midItemId < itemId) {
+                low = mid + 1;
+            } else if (midItemId > itemId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Orders the items by item ID.
+     */
+    void sortByItemId(QueueContainer container) {
+        boolean sorted = true;
+        for (int index = 1; index < size && sorted; index++) {
+            sorted = itemId(index - 1) < itemId(index);
+        }
+        if (sorted) {
+            return;
+        }
+        List<QueueItem> items = new ArrayList<QueueItem>(size);
+        for (int index = 0; index < size; index++) {
+            items.add(toQueueItem(index, container));
+        }
+        Collections.sort(items);
+        clear();
+        for (QueueItem item : items) {
+            addLast(item.getItemId(), item.data, item.getCreationTime());
+        }
+    }
+
+    void clear() {
+        Arrays.fill(data, null);
+        head = 0;
+        size = 0;
+    }
+
+    private int slot(int index) {
+        return (head + index) & mask;
+    }
+
+    private void set(int slot, long itemId, Data itemData, long creationTime) {
+        itemIds[slot] = itemId;
+        creationTimes[slot] = creationTime;
+        data[slot] = itemData;
+    }
+
+    private void move(int fromIndex, int toIndex) {
+        int from = slot(fromIndex);
+        set(slot(toIndex), itemIds[from], data[from], creationTimes[from]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= itemIds.length) {
+            return;
+        }
+        long[] oldItemIds = itemIds;
+        long[] oldCreationTimes = creationTimes;
+        Data[] oldData = data;
+        int oldHead = head;
+        int oldMask = mask;
+        allocate(nextPowerOfTwo(capacity));
+        for (int index = 0; index < size; index++) {
+            int from = (oldHead + index) & oldMask;
+            set(index, oldItemIds[from], oldData[from], oldCreationTimes[from]);
+        }
+        head = 0;
+    }
+
+    private void allocate(int capacity) {
+        itemIds = new long[capacity];
+        creationTimes = new long[capacity];
+        data = new Data[capacity];
+        mask = capacity - 1;
+    }
+}
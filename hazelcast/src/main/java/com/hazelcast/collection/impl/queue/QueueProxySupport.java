@@ -61,7 +61,7 @@ abstract class QueueProxySupport extends AbstractDistributedObject<QueueService>
         super(nodeEngine, queueService);
         this.name = name;
         this.partitionId = nodeEngine.getPartitionService().getPartitionId(getNameAsPartitionAwareData());
-        this.config = nodeEngine.getConfig().findQueueConfig(name);
+        this.config = nodeEngine.getConfig().findQueueConfig(QueueService.getConfigName(name));
     }
 
     @Override
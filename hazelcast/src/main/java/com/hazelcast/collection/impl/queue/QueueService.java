@@ -19,11 +19,14 @@ package com.hazelcast.collection.impl.queue;
 import com.hazelcast.collection.impl.common.DataAwareItemEvent;
 import com.hazelcast.collection.impl.queue.operations.QueueReplicationOperation;
 import com.hazelcast.collection.impl.txnqueue.TransactionalQueueProxy;
+import com.hazelcast.collection.impl.txnqueue.TransactionalShardedQueueProxy;
 import com.hazelcast.collection.impl.txnqueue.operations.QueueTransactionRollbackOperation;
 import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.ItemEvent;
 import com.hazelcast.core.ItemEventType;
 import com.hazelcast.core.ItemListener;
+import com.hazelcast.core.TransactionalQueue;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.LocalQueueStats;
@@ -76,6 +79,12 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
 
     public static final String SERVICE_NAME = "hz:impl:queueService";
 
+    /**
+     * Infix separating the queue name from the shard index in the names of the sub-queues of a sharded queue.
+     * The sub-queues of all shards use the configuration of the queue name.
+     */
+    public static final String QUEUE_SHARD_INFIX = "_hz_shard_";
+
     private final EntryTaskScheduler<String, Void> queueEvictionScheduler;
     private final NodeEngine nodeEngine;
     private final ConcurrentMap<String, QueueContainer> containerMap
@@ -129,7 +138,7 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
             return container;
         }
 
-        container = new QueueContainer(name, nodeEngine.getConfig().findQueueConfig(name), nodeEngine, this);
+        container = new QueueContainer(name, nodeEngine.getConfig().findQueueConfig(getConfigName(name)), nodeEngine, this);
         QueueContainer existing = containerMap.putIfAbsent(name, container);
         if (existing != null) {
             container = existing;
@@ -229,7 +238,11 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
     }
 
     @Override
-    public QueueProxyImpl createDistributedObject(String objectId) {
+    public DistributedObject createDistributedObject(String objectId) {
+        QueueConfig config = nodeEngine.getConfig().findQueueConfig(objectId);
+        if (config.getShardCount() > 1 && getShardIndex(objectId) == 0) {
+            return new ShardedQueueProxyImpl(objectId, this, nodeEngine, config.getShardCount());
+        }
         return new QueueProxyImpl(objectId, this, nodeEngine);
     }
 
@@ -317,7 +330,11 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
     }
 
     @Override
-    public TransactionalQueueProxy createTransactionalObject(String name, Transaction transaction) {
+    public TransactionalQueue createTransactionalObject(String name, Transaction transaction) {
+        QueueConfig config = nodeEngine.getConfig().findQueueConfig(name);
+        if (config.getShardCount() > 1 && getShardIndex(name) == 0) {
+            return new TransactionalShardedQueueProxy(nodeEngine, this, name, transaction, config.getShardCount());
+        }
         return new TransactionalQueueProxy(nodeEngine, this, name, transaction);
     }
 
@@ -349,7 +366,50 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
 
     @Override
     public String getQuorumName(String name) {
-        final QueueConfig queueConfig = nodeEngine.getConfig().findQueueConfig(name);
+        final QueueConfig queueConfig = nodeEngine.getConfig().findQueueConfig(getConfigName(name));
         return queueConfig.getQuorumName();
     }
+
+    /**
+     * Returns the name of the configuration of the queue with the given name. The sub-queues of a sharded queue
+     * use the configuration of the sharded queue.
+     *
+     * @param name the name of the queue
+     * @return the name of the queue configuration
+     */
+    public static String getConfigName(String name) {
+        int shardIndex = name.lastIndexOf(QUEUE_SHARD_INFIX);
+        return shardIndex > 0 ? name.substring(0, shardIndex) : name;
+    }
+
+    /**
+     * Returns the index of the shard of a sharded queue held by the queue with the given name. The first shard
+     * of a sharded queue has the name of the sharded queue, the other shards append {@link #QUEUE_SHARD_INFIX} and
+     * their index to it.
+     *
+     * @param name the name of the queue
+     * @return the index of the shard, {@code 0} if the queue is not a sub-queue of a sharded queue
+     */
+    public static int getShardIndex(String name) {
+        int shardIndex = name.lastIndexOf(QUEUE_SHARD_INFIX);
+        if (shardIndex <= 0) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(name.substring(shardIndex + QUEUE_SHARD_INFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the name of the sub-queue holding the given shard of a sharded queue.
+     *
+     * @param name       the name of the sharded queue
+     * @param shardIndex the index of the shard
+     * @return the name of the sub-queue
+     */
+    public static String getShardName(String name, int shardIndex) {
+        return shardIndex == 0 ? name : name + QUEUE_SHARD_INFIX + shardIndex;
+    }
 }
@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.impl.queue.operations.ShardedQueuePollOperation;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.core.ItemListener;
+import com.hazelcast.core.PartitionAware;
+import com.hazelcast.monitor.LocalQueueStats;
+import com.hazelcast.monitor.impl.LocalQueueStatsImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.AbstractDistributedObject;
+import com.hazelcast.spi.InitializingObject;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static com.hazelcast.util.Preconditions.checkFalse;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Proxy implementation for a Queue with a {@link com.hazelcast.config.QueueConfig#getShardCount() shard count} larger
+ * than 1. The items are spread over that many partition-local sub-queues, so the offers and polls are executed by
+ * several partition threads in parallel.
+ * <p>
+ * The first shard is the sub-queue with the name of the queue, the other shards append
+ * {@link QueueService#QUEUE_SHARD_INFIX} and their index to it. An offered item is added to the shard selected by
+ * its key: the key passed to {@link #offer(Object, Object)}, the partition key of a {@link PartitionAware} item, or
+ * the next shard in round-robin order if there is no key. A poll first tries the shards owned by this member and then
+ * steals from the remote shards with one call per owning member, so a consumer mostly works on local items while no
+ * item is left behind.
+ * <p>
+ * The queue keeps FIFO order only between items of the same shard.
+ *
+ * @param <E> the type of the items in the queue
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class ShardedQueueProxyImpl<E> extends AbstractDistributedObject<QueueService>
+        implements IQueue<E>, InitializingObject {
+
+    /**
+     * The maximum time a blocking poll waits on a single shard before it checks the other shards again.
+     */
+    static final long POLL_SLICE_MILLIS = 100;
+
+    private final String name;
+    private final QueueProxyImpl<E>[] shards;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final ConcurrentMap<String, String[]> listenerRegistrations = new ConcurrentHashMap<String, String[]>();
+
+    @SuppressWarnings("unchecked")
+    public ShardedQueueProxyImpl(String name, QueueService queueService, NodeEngine nodeEngine, int shardCount) {
+        super(nodeEngine, queueService);
+        this.name = name;
+        this.shards = new QueueProxyImpl[shardCount];
+        // the first shard is not registered in the proxy service since this proxy is registered under its name
+        this.shards[0] = new QueueProxyImpl<E>(name, queueService, nodeEngine);
+        for (int i = 1; i < shardCount; i++) {
+            String shardName = QueueService.getShardName(name, i);
+            shards[i] = (QueueProxyImpl<E>) nodeEngine.getProxyService()
+                    .getDistributedObject(QueueService.SERVICE_NAME, shardName);
+        }
+    }
+
+    @Override
+    public void initialize() {
+        // the proxies of the other shards have been initialized by the proxy service
+        shards[0].initialize();
+    }
+
+    /**
+     * Returns the number of shards of this queue.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (offer(e)) {
+            return true;
+        }
+        throw new IllegalStateException("Queue is full!");
+    }
+
+    @Override
+    public boolean offer(E e) {
+        try {
+            return offer(e, 0, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Inserts the item into the shard selected by the given key. All items offered with the same key are polled
+     * in offer order.
+     *
+     * @param key the key selecting the shard
+     * @param e   the item to add
+     * @return {@code true} if the item was added, {@code false} if the shard is full
+     */
+    public boolean offer(Object key, E e) {
+        checkNotNull(key, "Key is null");
+        return shards[shardIndex(key)].offer(e);
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        offer(e, -1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit timeUnit) throws InterruptedException {
+        checkNotNull(e, "Object is null");
+        if (e instanceof PartitionAware) {
+            Object key = ((PartitionAware) e).getPartitionKey();
+            if (key != null) {
+                return shards[shardIndex(key)].offer(e, timeout, timeUnit);
+            }
+        }
+        // an item without a key can go to any shard, so a full shard is skipped before waiting for space
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[(start + i) % shards.length].offer(e)) {
+                return true;
+            }
+        }
+        return timeout != 0 && shards[start].offer(e, timeout, timeUnit);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return poll(-1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        long timeoutMillis = timeUnit.toMillis(timeout);
+        long deadline = timeoutMillis < 0 ? Long.MAX_VALUE : Clock.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            E item = pollShards();
+            if (item != null) {
+                return item;
+            }
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (timeoutMillis == 0 || remaining <= 0) {
+                return null;
+            }
+            // wait on the preferred shard for a while, the other shards are checked again afterwards
+            item = localShardsFirst().get(0).poll(Math.min(remaining, POLL_SLICE_MILLIS), MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        try {
+            return poll(0, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public E remove() {
+        final E res = poll();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public E peek() {
+        for (QueueProxyImpl<E> shard : localShardsFirst()) {
+            E item = shard.peek();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E element() {
+        final E res = peek();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        for (QueueProxyImpl<E> shard : shards) {
+            if (shard.remove(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        for (QueueProxyImpl<E> shard : shards) {
+            if (shard.contains(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> objects) {
+        for (Object o : objects) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> objects) {
+        return drainTo(objects, -1);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> objects, int maxElements) {
+        checkNotNull(objects, "Collection is null");
+        checkFalse(this.equals(objects), "Can not drain to same Queue");
+        int drained = 0;
+        for (QueueProxyImpl<E> shard : localShardsFirst()) {
+            if (maxElements >= 0 && drained >= maxElements) {
+                break;
+            }
+            drained += shard.drainTo(objects, maxElements < 0 ? -1 : maxElements - drained);
+        }
+        return drained;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> es) {
+        List<List<E>> itemsPerShard = new ArrayList<List<E>>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            itemsPerShard.add(new ArrayList<E>());
+        }
+        for (E e : es) {
+            checkNotNull(e, "Object is null");
+            Object key = e instanceof PartitionAware ? ((PartitionAware) e).getPartitionKey() : null;
+            itemsPerShard.get(key != null ? shardIndex(key) : nextShardIndex()).add(e);
+        }
+        boolean changed = false;
+        for (int i = 0; i < shards.length; i++) {
+            List<E> items = itemsPerShard.get(i);
+            if (!items.isEmpty()) {
+                changed |= shards[i].addAll(items);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> objects) {
+        boolean changed = false;
+        for (QueueProxyImpl<E> shard : shards) {
+            changed |= shard.removeAll(objects);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> objects) {
+        boolean changed = false;
+        for (QueueProxyImpl<E> shard : shards) {
+            changed |= shard.retainAll(objects);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        for (QueueProxyImpl<E> shard : shards) {
+            shard.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (QueueProxyImpl<E> shard : shards) {
+            size += shard.size();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (QueueProxyImpl<E> shard : shards) {
+            if (!shard.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        long remainingCapacity = 0;
+        for (QueueProxyImpl<E> shard : shards) {
+            remainingCapacity += shard.remainingCapacity();
+        }
+        return (int) Math.min(remainingCapacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the items of all shards, shard by shard. The returned iterator does not support removal.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList(toList()).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return toList().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] ts) {
+        return toList().toArray(ts);
+    }
+
+    @Override
+    public String addItemListener(ItemListener<E> listener, boolean includeValue) {
+        String[] registrationIds = new String[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            registrationIds[i] = shards[i].addItemListener(listener, includeValue);
+        }
+        listenerRegistrations.put(registrationIds[0], registrationIds);
+        return registrationIds[0];
+    }
+
+    @Override
+    public boolean removeItemListener(String registrationId) {
+        String[] registrationIds = listenerRegistrations.remove(registrationId);
+        if (registrationIds == null) {
+            return false;
+        }
+        boolean removed = false;
+        for (int i = 0; i < shards.length; i++) {
+            removed |= shards[i].removeItemListener(registrationIds[i]);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the statistics of the shards on this member. The item counts and ages are merged over all shards,
+     * the operation counts are only available from the statistics of the single shards.
+     * <p>
+     * The shards which did not age any item yet are skipped for the ages. The average age is the average of the
+     * shards weighted by their owned item count, a shard without items still counts once.
+     */
+    @Override
+    public LocalQueueStats getLocalQueueStats() {
+        LocalQueueStatsImpl merged = new LocalQueueStatsImpl();
+        long ownedItemCount = 0;
+        long backupItemCount = 0;
+        long minAge = Long.MAX_VALUE;
+        long maxAge = Long.MIN_VALUE;
+        long weightedAge = 0;
+        long totalWeight = 0;
+        for (QueueProxyImpl<E> shard : shards) {
+            LocalQueueStats stats = shard.getLocalQueueStats();
+            ownedItemCount += stats.getOwnedItemCount();
+            backupItemCount += stats.getBackupItemCount();
+            if (stats.getMinAge() == Long.MAX_VALUE) {
+                // the shard did not age any item, its ages are the initial values
+                continue;
+            }
+            minAge = Math.min(minAge, stats.getMinAge());
+            maxAge = Math.max(maxAge, stats.getMaxAge());
+            long weight = Math.max(stats.getOwnedItemCount(), 1);
+            weightedAge += stats.getAvgAge() * weight;
+            totalWeight += weight;
+        }
+        merged.setOwnedItemCount((int) Math.min(ownedItemCount, Integer.MAX_VALUE));
+        merged.setBackupItemCount((int) Math.min(backupItemCount, Integer.MAX_VALUE));
+        merged.setMinAge(minAge);
+        merged.setMaxAge(maxAge);
+        merged.setAveAge(totalWeight == 0 ? 0 : weightedAge / totalWeight);
+        return merged;
+    }
+
+    @Override
+    protected void postDestroy() {
+        super.postDestroy();
+        for (int i = 1; i < shards.length; i++) {
+            shards[i].destroy();
+        }
+    }
+
+    @Override
+    public String getServiceName() {
+        return QueueService.SERVICE_NAME;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "IQueue{name='" + name + '\'' + ", shardCount=" + shards.length + '}';
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> toList() {
+        List<E> list = new ArrayList<E>();
+        for (QueueProxyImpl<E> shard : shards) {
+            Collections.addAll(list, (E[]) shard.toArray());
+        }
+        return list;
+    }
+
+    private int shardIndex(Object key) {
+        return hashToIndex(getNodeEngine().toData(key).getPartitionHash(), shards.length);
+    }
+
+    private int nextShardIndex() {
+        return (roundRobin.getAndIncrement() & Integer.MAX_VALUE) % shards.length;
+    }
+
+    /**
+     * Polls the shards owned by this member first and then the remote shards with a single
+     * {@link ShardedQueuePollOperation} per owner, so an empty queue costs at most one remote call per member.
+     * The order of the shards and of the members is rotated on every call, so the stealing consumers do not all
+     * drain the same remote shard.
+     */
+    @SuppressWarnings("unchecked")
+    private E pollShards() {
+        NodeEngine nodeEngine = getNodeEngine();
+        IPartitionService partitionService = nodeEngine.getPartitionService();
+        Address thisAddress = nodeEngine.getThisAddress();
+        Map<Address, List<Integer>> remoteShardsByOwner = new LinkedHashMap<Address, List<Integer>>();
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            int shardIndex = (start + i) % shards.length;
+            Address owner = partitionService.getPartitionOwner(shards[shardIndex].partitionId);
+            if (owner == null || owner.equals(thisAddress)) {
+                // a shard without an owner is polled directly, the invocation waits for the partition assignment
+                E item = shards[shardIndex].poll();
+                if (item != null) {
+                    return item;
+                }
+            } else {
+                List<Integer> ownedShards = remoteShardsByOwner.get(owner);
+                if (ownedShards == null) {
+                    ownedShards = new ArrayList<Integer>();
+                    remoteShardsByOwner.put(owner, ownedShards);
+                }
+                ownedShards.add(shardIndex);
+            }
+        }
+        OperationService operationService = nodeEngine.getOperationService();
+        for (Map.Entry<Address, List<Integer>> entry : remoteShardsByOwner.entrySet()) {
+            List<Integer> ownedShards = entry.getValue();
+            int[] shardIndexes = new int[ownedShards.size()];
+            for (int i = 0; i < shardIndexes.length; i++) {
+                shardIndexes[i] = ownedShards.get(i);
+            }
+            Operation operation = new ShardedQueuePollOperation(name, shardIndexes);
+            Object item = operationService.invokeOnTarget(QueueService.SERVICE_NAME, operation, entry.getKey()).join();
+            if (item != null) {
+                return (E) item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the shards, the shards owned by this member first. The order of the remote shards is rotated on
+     * every call, so the stealing consumers do not all drain the same remote shard.
+     */
+    private List<QueueProxyImpl<E>> localShardsFirst() {
+        IPartitionService partitionService = getNodeEngine().getPartitionService();
+        List<QueueProxyImpl<E>> ordered = new ArrayList<QueueProxyImpl<E>>(shards.length);
+        for (QueueProxyImpl<E> shard : shards) {
+            if (partitionService.isPartitionOwner(shard.partitionId)) {
+                ordered.add(shard);
+            }
+        }
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            QueueProxyImpl<E> shard = shards[(start + i) % shards.length];
+            if (!partitionService.isPartitionOwner(shard.partitionId)) {
+                ordered.add(shard);
+            }
+        }
+        return ordered;
+    }
+}
@@ -55,7 +55,7 @@ public class QueueReplicationOperation extends Operation implements IdentifiedDa
         for (Map.Entry<String, QueueContainer> entry : migrationData.entrySet()) {
             String name = entry.getKey();
             QueueContainer container = entry.getValue();
-            QueueConfig conf = config.findQueueConfig(name);
+            QueueConfig conf = config.findQueueConfig(QueueService.getConfigName(name));
             container.setConfig(conf, nodeEngine, service);
             service.addContainer(name, container);
         }
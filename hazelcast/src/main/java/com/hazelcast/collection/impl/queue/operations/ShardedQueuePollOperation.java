@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue.operations;
+
+import com.hazelcast.collection.impl.queue.QueueDataSerializerHook;
+import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.AbstractNamedOperation;
+import com.hazelcast.spi.impl.MutatingOperation;
+
+import java.io.IOException;
+
+import static com.hazelcast.partition.strategy.StringPartitioningStrategy.getPartitionKey;
+
+/**
+ * Polls the given shards of a sharded queue which are owned by the target member, one after the other, and
+ * responds with the first item found or {@code null} if all shards are empty. A sharded queue sends it once per
+ * member instead of one {@link PollOperation} per remote shard.
+ * <p>
+ * The shards are polled with local {@link PollOperation}s chained on their completion, so neither the generic
+ * operation thread nor the partition threads wait for each other. A shard which has migrated in the meantime is
+ * polled on its new owner.
+ */
+public class ShardedQueuePollOperation extends AbstractNamedOperation implements MutatingOperation {
+
+    private int[] shardIndexes;
+
+    public ShardedQueuePollOperation() {
+    }
+
+    public ShardedQueuePollOperation(String name, int[] shardIndexes) {
+        super(name);
+        this.shardIndexes = shardIndexes;
+    }
+
+    @Override
+    public void run() throws Exception {
+        pollShard(0);
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    private void pollShard(final int index) {
+        if (index == shardIndexes.length) {
+            sendResponse(null);
+            return;
+        }
+        NodeEngine nodeEngine = getNodeEngine();
+        String shardName = QueueService.getShardName(name, shardIndexes[index]);
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(getPartitionKey(shardName));
+        nodeEngine.getOperationService()
+                .createInvocationBuilder(QueueService.SERVICE_NAME, new PollOperation(shardName, 0), partitionId)
+                // the item is passed on as it is, the member may not be able to deserialize it
+                .setResultDeserialized(false)
+                .<Data>invoke()
+                .andThen(new ExecutionCallback<Data>() {
+                    @Override
+                    public void onResponse(Data item) {
+                        if (item != null) {
+                            sendResponse(item);
+                        } else {
+                            pollShard(index + 1);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        sendResponse(t);
+                    }
+                });
+    }
+
+    @Override
+    public String getServiceName() {
+        return QueueService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return QueueDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return QueueDataSerializerHook.SHARDED_POLL;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeIntArray(shardIndexes);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        shardIndexes = in.readIntArray();
+    }
+}
@@ -63,7 +63,7 @@ public abstract class TransactionalQueueProxySupport<E>
         super(nodeEngine, service, tx);
         this.name = name;
         partitionId = nodeEngine.getPartitionService().getPartitionId(getNameAsPartitionAwareData());
-        config = nodeEngine.getConfig().findQueueConfig(name);
+        config = nodeEngine.getConfig().findQueueConfig(QueueService.getConfigName(name));
     }
 
     @Override
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.txnqueue;
+
+import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.core.PartitionAware;
+import com.hazelcast.core.TransactionalQueue;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.TransactionalDistributedObject;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.transaction.impl.Transaction;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.EmptyStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Provides proxy for the Transactional Queue of a queue with a
+ * {@link com.hazelcast.config.QueueConfig#getShardCount() shard count} larger than 1.
+ * <p>
+ * Each shard is accessed by its own {@link TransactionalQueueProxy}, so the transaction keeps a log record per
+ * touched shard. The shards are selected like {@link com.hazelcast.collection.impl.queue.ShardedQueueProxyImpl} does:
+ * an offered item goes to the shard selected by the partition key of a {@link PartitionAware} item or to the next
+ * shard in round-robin order, a poll tries the shards owned by this member before the remote shards. Since every
+ * poll reserves its item in the shard, the remote shards are polled one by one.
+ *
+ * @param <E> the type of the items in the queue
+ */
+public class TransactionalShardedQueueProxy<E> extends TransactionalDistributedObject<QueueService>
+        implements TransactionalQueue<E> {
+
+    /**
+     * The maximum time a blocking poll or peek waits on a single shard before it checks the other shards again.
+     */
+    static final long POLL_SLICE_MILLIS = 100;
+
+    private final String name;
+    private final TransactionalQueueProxy<E>[] shards;
+    private int roundRobin;
+
+    @SuppressWarnings("unchecked")
+    public TransactionalShardedQueueProxy(NodeEngine nodeEngine, QueueService service, String name, Transaction tx,
+                                          int shardCount) {
+        super(nodeEngine, service, tx);
+        this.name = name;
+        this.shards = new TransactionalQueueProxy[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new TransactionalQueueProxy<E>(nodeEngine, service, QueueService.getShardName(name, i), tx);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return QueueService.SERVICE_NAME;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        try {
+            return offer(e, 0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ignored) {
+            EmptyStatement.ignore(ignored);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(e, "Offered item should not be null.");
+        checkNotNull(unit, "TimeUnit should not be null.");
+
+        if (e instanceof PartitionAware) {
+            Object key = ((PartitionAware) e).getPartitionKey();
+            if (key != null) {
+                int shardIndex = hashToIndex(getNodeEngine().toData(key).getPartitionHash(), shards.length);
+                return shards[shardIndex].offer(e, timeout, unit);
+            }
+        }
+        // an item without a key can go to any shard, so a full shard is skipped before waiting for space
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[(start + i) % shards.length].offer(e)) {
+                return true;
+            }
+        }
+        return timeout != 0 && shards[start].offer(e, timeout, unit);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return poll(-1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public E poll() {
+        try {
+            return poll(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ignored) {
+            EmptyStatement.ignore(ignored);
+        }
+        return null;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(unit, "TimeUnit should not be null.");
+
+        long timeoutMillis = unit.toMillis(timeout);
+        long deadline = timeoutMillis < 0 ? Long.MAX_VALUE : Clock.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            List<TransactionalQueueProxy<E>> ordered = localShardsFirst();
+            for (TransactionalQueueProxy<E> shard : ordered) {
+                E item = shard.poll();
+                if (item != null) {
+                    return item;
+                }
+            }
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (timeoutMillis == 0 || remaining <= 0) {
+                return null;
+            }
+            E item = ordered.get(0).poll(Math.min(remaining, POLL_SLICE_MILLIS), MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        try {
+            return peek(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ignored) {
+            EmptyStatement.ignore(ignored);
+        }
+        return null;
+    }
+
+    @Override
+    public E peek(long timeout, TimeUnit unit) throws InterruptedException {
+        checkNotNull(unit, "TimeUnit should not be null.");
+
+        long timeoutMillis = unit.toMillis(timeout);
+        long deadline = timeoutMillis < 0 ? Long.MAX_VALUE : Clock.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            List<TransactionalQueueProxy<E>> ordered = localShardsFirst();
+            for (TransactionalQueueProxy<E> shard : ordered) {
+                E item = shard.peek();
+                if (item != null) {
+                    return item;
+                }
+            }
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (timeoutMillis == 0 || remaining <= 0) {
+                return null;
+            }
+            E item = ordered.get(0).peek(Math.min(remaining, POLL_SLICE_MILLIS), MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (TransactionalQueueProxy<E> shard : shards) {
+            size += shard.size();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionalQueue{name=" + name + ", shardCount=" + shards.length + '}';
+    }
+
+    private int nextShardIndex() {
+        // a transaction is bound to a single thread
+        return (roundRobin++ & Integer.MAX_VALUE) % shards.length;
+    }
+
+    /**
+     * Returns the shards, the shards owned by this member first. The order of the remote shards is rotated on
+     * every call, so the transactions do not all reserve their items in the same remote shard.
+     */
+    private List<TransactionalQueueProxy<E>> localShardsFirst() {
+        IPartitionService partitionService = getNodeEngine().getPartitionService();
+        List<TransactionalQueueProxy<E>> ordered = new ArrayList<TransactionalQueueProxy<E>>(shards.length);
+        for (TransactionalQueueProxy<E> shard : shards) {
+            if (partitionService.isPartitionOwner(shard.partitionId)) {
+                ordered.add(shard);
+            }
+        }
+        int start = nextShardIndex();
+        for (int i = 0; i < shards.length; i++) {
+            TransactionalQueueProxy<E> shard = shards[(start + i) % shards.length];
+            if (!partitionService.isPartitionOwner(shard.partitionId)) {
+                ordered.add(shard);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.concurrent.lock;
+
+import com.hazelcast.concurrent.lock.operations.UnlockOperation;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.ObjectNamespace;
+import com.hazelcast.util.Clock;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.concurrent.lock.LockServiceImpl.SERVICE_NAME;
+
+/**
+ * Keeps the {@link com.hazelcast.core.ILock}s acquired by this member cached after they have been unlocked.
+ *
+ * A cached lock stays held on its partition owner by the thread that acquired it, so that thread can lock and
+ * unlock it again without a round trip. The partition owner revokes the cached lock as soon as another caller
+ * contends for it or asks for its state, and the lock is released on the partition owner when it has been idle
+ * for the cache lease.
+ * Only locks without a lease time are cached.
+ */
+public final class LocalLockCache {
+
+    private final ConcurrentMap<Data, CachedLock> locks = new ConcurrentHashMap<Data, CachedLock>();
+    // revocations which arrived before the response of the operation which acquired the lock
+    private final ConcurrentMap<Data, Long> pendingRevocations = new ConcurrentHashMap<Data, Long>();
+    private final NodeEngine nodeEngine;
+    private final long leaseMillis;
+
+    LocalLockCache(NodeEngine nodeEngine, long leaseMillis) {
+        this.nodeEngine = nodeEngine;
+        this.leaseMillis = leaseMillis;
+    }
+
+    public boolean isEnabled() {
+        return leaseMillis > 0;
+    }
+
+    long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    /**
+     * Returns the cached lock of the given key or {@code null} if the lock isn't cached.
+     */
+    CachedLock get(Data key) {
+        CachedLock lock = locks.get(key);
+        return lock == null || lock.isReleased() ? null : lock;
+    }
+
+    /**
+     * Acquires the cached lock of the given key if it is cached for the given thread.
+     *
+     * An acquisition which must not be cached, e.g. because it has a lease time, only re-enters a lock already
+     * held by the thread; an idle cached lock is unlocked instead, so it is acquired on the partition owner again.
+     *
+     * @param key       the key of the lock
+     * @param threadId  the ID of the acquiring thread
+     * @param cacheable {@code true} if the acquisition may be served from an idle cached lock
+     * @return {@code true} if the lock was acquired without a round trip, {@code false} otherwise
+     */
+    boolean tryAcquire(Data key, long threadId, boolean cacheable) {
+        CachedLock lock = locks.get(key);
+        if (lock == null) {
+            return false;
+        }
+        synchronized (lock) {
+            if (lock.released || lock.threadId != threadId) {
+                return false;
+            }
+            if (lock.holdCount > 0 || cacheable) {
+                lock.holdCount++;
+                lock.lastUsed = Clock.currentTimeMillis();
+                return true;
+            }
+            lock.released = true;
+        }
+        locks.remove(key, lock);
+        unlock(key, lock);
+        return false;
+    }
+
+    /**
+     * Registers the lock of the given key which has just been acquired on the partition owner.
+     */
+    void acquired(ObjectNamespace namespace, Data key, long threadId) {
+        CachedLock lock = new CachedLock(namespace, threadId);
+        if (pendingRevocations.remove(key) != null) {
+            lock.revoked = true;
+        }
+        locks.put(key, lock);
+    }
+
+    /**
+     * Releases the cached lock of the given key if it is cached for the given thread.
+     *
+     * @return {@code true} if the lock was released without a round trip, {@code false} if the lock has to be
+     * unlocked on the partition owner
+     * @throws IllegalMonitorStateException if the lock is cached for the given thread but not held by it
+     */
+    boolean release(Data key, long threadId) {
+        CachedLock lock = locks.get(key);
+        if (lock == null) {
+            return false;
+        }
+        synchronized (lock) {
+            if (lock.released || lock.threadId != threadId) {
+                return false;
+            }
+            if (lock.holdCount == 0) {
+                throw new IllegalMonitorStateException("Current thread is not owner of the lock!");
+            }
+            lock.lastUsed = Clock.currentTimeMillis();
+            if (--lock.holdCount > 0 || !lock.revoked) {
+                return true;
+            }
+            lock.released = true;
+        }
+        locks.remove(key, lock);
+        return false;
+    }
+
+    /**
+     * Revokes the cached lock of the given key on request of its partition owner.
+     *
+     * The lock is unlocked on the partition owner right away if it is idle, otherwise when it is released
+     * by its thread for the last time.
+     *
+     * @param key        the key of the lock
+     * @param invalidate {@code true} if the lock isn't held on the partition owner anymore
+     * @return the future of the unlock on the partition owner if the lock was idle, {@code null} if the lock
+     * is in use, isn't cached or has been invalidated
+     */
+    public ICompletableFuture<Object> revoke(Data key, boolean invalidate) {
+        CachedLock lock = locks.get(key);
+        if (lock == null) {
+            if (!invalidate) {
+                pendingRevocations.put(key, Clock.currentTimeMillis());
+            }
+            return null;
+        }
+        synchronized (lock) {
+            if (lock.released) {
+                return null;
+            }
+            if (lock.holdCount > 0 && !invalidate) {
+                lock.revoked = true;
+                return null;
+            }
+            lock.released = true;
+        }
+        locks.remove(key, lock);
+        return invalidate ? null : unlock(key, lock);
+    }
+
+    /**
+     * Drops the cached lock of the given key without unlocking it, e.g. because the lock has been destroyed.
+     */
+    void invalidate(Data key) {
+        revoke(key, true);
+    }
+
+    /**
+     * Unlocks the cached locks which have been idle for longer than the cache lease.
+     */
+    void evictIdleLocks() {
+        long now = Clock.currentTimeMillis();
+        for (Iterator<Long> iterator = pendingRevocations.values().iterator(); iterator.hasNext(); ) {
+            if (now - iterator.next() >= leaseMillis) {
+                iterator.remove();
+            }
+        }
+        for (Data key : locks.keySet()) {
+            CachedLock lock = locks.get(key);
+            if (lock != null && lock.evictIfIdle(now, leaseMillis)) {
+                locks.remove(key, lock);
+                unlock(key, lock);
+            }
+        }
+    }
+
+    void clear() {
+        locks.clear();
+        pendingRevocations.clear();
+    }
+
+    private ICompletableFuture<Object> unlock(Data key, CachedLock lock) {
+        UnlockOperation operation = new UnlockOperation(lock.namespace, key, lock.threadId);
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+        return nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
+    }
+
+    /**
+     * A lock held on its partition owner by a thread of this member. All fields are guarded by the lock itself.
+     */
+    static final class CachedLock {
+
+        private final ObjectNamespace namespace;
+        private final long threadId;
+        private int holdCount = 1;
+        private long lastUsed = Clock.currentTimeMillis();
+        private boolean revoked;
+        private boolean released;
+
+        CachedLock(ObjectNamespace namespace, long threadId) {
+            this.namespace = namespace;
+            this.threadId = threadId;
+        }
+
+        long getThreadId() {
+            return threadId;
+        }
+
+        synchronized int getHoldCount() {
+            return holdCount;
+        }
+
+        synchronized boolean isReleased() {
+            return released;
+        }
+
+        synchronized boolean evictIfIdle(long now, long leaseMillis) {
+            if (released || holdCount > 0 || now - lastUsed < leaseMillis) {
+                return false;
+            }
+            released = true;
+            return true;
+        }
+    }
+}
@@ -40,7 +40,8 @@ public class LockProxy extends AbstractDistributedObject<LockServiceImpl> implem
         super(nodeEngine, lockService);
         this.name = name;
         this.key = getNameAsPartitionAwareData();
-        this.lockSupport = new LockProxySupport(new InternalLockNamespace(name), lockService.getMaxLeaseTimeInMillis());
+        this.lockSupport = new LockProxySupport(new InternalLockNamespace(name), lockService.getMaxLeaseTimeInMillis(),
+                lockService.getLocalLockCache());
         this.partitionId = getNodeEngine().getPartitionService().getPartitionId(key);
     }
 
@@ -37,13 +37,30 @@ public final class LockProxySupport {
 
     private final ObjectNamespace namespace;
     private final long maxLeaseTimeInMillis;
+    private final LocalLockCache localLockCache;
 
     public LockProxySupport(ObjectNamespace namespace, long maxLeaseTimeInMillis) {
+        this(namespace, maxLeaseTimeInMillis, null);
+    }
+
+    /**
+     * Creates a lock support which keeps the locks acquired without a lease time in the given cache after they
+     * have been unlocked.
+     *
+     * @param localLockCache the cache of this member, ignored if {@code null} or disabled
+     */
+    public LockProxySupport(ObjectNamespace namespace, long maxLeaseTimeInMillis, LocalLockCache localLockCache) {
         this.namespace = namespace;
         this.maxLeaseTimeInMillis = maxLeaseTimeInMillis;
+        this.localLockCache = localLockCache != null && localLockCache.isEnabled() ? localLockCache : null;
     }
 
     public boolean isLocked(NodeEngine nodeEngine, Data key) {
+        LocalLockCache.CachedLock cachedLock = getCachedLock(key);
+        if (cachedLock != null) {
+            return cachedLock.getHoldCount() > 0;
+        }
+
         IsLockedOperation operation = new IsLockedOperation(namespace, key);
         InternalCompletableFuture<Boolean> f = invoke(nodeEngine, operation, key);
         return f.join();
@@ -54,19 +71,42 @@ public final class LockProxySupport {
         return nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
     }
 
+    private LocalLockCache.CachedLock getCachedLock(Data key) {
+        return localLockCache == null ? null : localLockCache.get(key);
+    }
+
+    private boolean isCacheable(long leaseTime) {
+        return localLockCache != null && (leaseTime < 0 || leaseTime == Long.MAX_VALUE);
+    }
+
     public boolean isLockedByCurrentThread(NodeEngine nodeEngine, Data key) {
+        LocalLockCache.CachedLock cachedLock = getCachedLock(key);
+        if (cachedLock != null) {
+            return cachedLock.getThreadId() == getThreadId() && cachedLock.getHoldCount() > 0;
+        }
+
         IsLockedOperation operation = new IsLockedOperation(namespace, key, getThreadId());
         InternalCompletableFuture<Boolean> f = invoke(nodeEngine, operation, key);
         return f.join();
     }
 
     public int getLockCount(NodeEngine nodeEngine, Data key) {
+        LocalLockCache.CachedLock cachedLock = getCachedLock(key);
+        if (cachedLock != null) {
+            return cachedLock.getHoldCount();
+        }
+
         Operation operation = new GetLockCountOperation(namespace, key);
         InternalCompletableFuture<Number> f = invoke(nodeEngine, operation, key);
         return f.join().intValue();
     }
 
     public long getRemainingLeaseTime(NodeEngine nodeEngine, Data key) {
+        LocalLockCache.CachedLock cachedLock = getCachedLock(key);
+        if (cachedLock != null) {
+            return cachedLock.getHoldCount() > 0 ? Long.MAX_VALUE : -1L;
+        }
+
         Operation operation = new GetRemainingLeaseTimeOperation(namespace, key);
         InternalCompletableFuture<Number> f = invoke(nodeEngine, operation, key);
         return f.join().longValue();
@@ -78,12 +118,20 @@ public final class LockProxySupport {
 
     public void lock(NodeEngine nodeEngine, Data key, long leaseTime) {
         leaseTime = getLeaseTime(leaseTime);
+        long threadId = getThreadId();
+        boolean cacheable = isCacheable(leaseTime);
+        if (localLockCache != null && localLockCache.tryAcquire(key, threadId, cacheable)) {
+            return;
+        }
 
-        LockOperation operation = new LockOperation(namespace, key, getThreadId(), leaseTime, -1);
+        LockOperation operation = new LockOperation(namespace, key, threadId, leaseTime, -1);
         InternalCompletableFuture<Boolean> f = invoke(nodeEngine, operation, key);
         if (!f.join()) {
             throw new IllegalStateException();
         }
+        if (cacheable) {
+            localLockCache.acquired(namespace, key, threadId);
+        }
     }
 
     public void lockInterruptly(NodeEngine nodeEngine, Data key) throws InterruptedException {
@@ -92,14 +140,22 @@ public final class LockProxySupport {
 
     public void lockInterruptly(NodeEngine nodeEngine, Data key, long leaseTime) throws InterruptedException {
         leaseTime = getLeaseTime(leaseTime);
+        long threadId = getThreadId();
+        boolean cacheable = isCacheable(leaseTime);
+        if (localLockCache != null && localLockCache.tryAcquire(key, threadId, cacheable)) {
+            return;
+        }
 
-        LockOperation operation = new LockOperation(namespace, key, getThreadId(), leaseTime, -1);
+        LockOperation operation = new LockOperation(namespace, key, threadId, leaseTime, -1);
         InternalCompletableFuture<Boolean> f = invoke(nodeEngine, operation, key);
         try {
             f.get();
         } catch (Throwable t) {
             throw rethrowAllowInterrupted(t);
         }
+        if (cacheable) {
+            localLockCache.acquired(namespace, key, threadId);
+        }
     }
 
     private long getLeaseTime(long leaseTime) {
@@ -129,14 +185,25 @@ public final class LockProxySupport {
                            long leaseTime, TimeUnit leaseTimeunit) throws InterruptedException {
         long timeoutInMillis = getTimeInMillis(timeout, timeunit);
         long leaseTimeInMillis = getTimeInMillis(leaseTime, leaseTimeunit);
-        LockOperation operation = new LockOperation(namespace, key, getThreadId(), leaseTimeInMillis, timeoutInMillis);
+        long threadId = getThreadId();
+        boolean cacheable = isCacheable(leaseTimeInMillis);
+        if (localLockCache != null && localLockCache.tryAcquire(key, threadId, cacheable)) {
+            return true;
+        }
+
+        LockOperation operation = new LockOperation(namespace, key, threadId, leaseTimeInMillis, timeoutInMillis);
         InternalCompletableFuture<Boolean> f = invoke(nodeEngine, operation, key);
 
+        boolean locked;
         try {
-            return f.get();
+            locked = f.get();
         } catch (Throwable t) {
             throw rethrowAllowInterrupted(t);
         }
+        if (locked && cacheable) {
+            localLockCache.acquired(namespace, key, threadId);
+        }
+        return locked;
     }
 
     private long getTimeInMillis(final long time, final TimeUnit timeunit) {
@@ -144,12 +211,20 @@ public final class LockProxySupport {
     }
 
     public void unlock(NodeEngine nodeEngine, Data key) {
-        UnlockOperation operation = new UnlockOperation(namespace, key, getThreadId());
+        long threadId = getThreadId();
+        if (localLockCache != null && localLockCache.release(key, threadId)) {
+            return;
+        }
+
+        UnlockOperation operation = new UnlockOperation(namespace, key, threadId);
         InternalCompletableFuture<Number> f = invoke(nodeEngine, operation, key);
         f.join();
     }
 
     public void forceUnlock(NodeEngine nodeEngine, Data key) {
+        if (localLockCache != null) {
+            localLockCache.invalidate(key);
+        }
         UnlockOperation operation = new UnlockOperation(namespace, key, -1, true);
         InternalCompletableFuture<Number> f = invoke(nodeEngine, operation, key);
         f.join();
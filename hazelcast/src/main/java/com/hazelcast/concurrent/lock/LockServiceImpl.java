@@ -18,6 +18,7 @@ package com.hazelcast.concurrent.lock;
 
 import com.hazelcast.concurrent.lock.operations.LocalLockCleanupOperation;
 import com.hazelcast.concurrent.lock.operations.LockReplicationOperation;
+import com.hazelcast.concurrent.lock.operations.RevokeCachedLockOperation;
 import com.hazelcast.concurrent.lock.operations.UnlockOperation;
 import com.hazelcast.config.LockConfig;
 import com.hazelcast.core.DistributedObject;
@@ -26,6 +27,7 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.strategy.StringPartitioningStrategy;
 import com.hazelcast.spi.ClientAwareService;
 import com.hazelcast.spi.FragmentedMigrationAwareService;
+import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.MemberAttributeServiceEvent;
 import com.hazelcast.spi.MembershipAwareService;
@@ -53,7 +55,10 @@ import java.util.LinkedList;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.spi.properties.GroupProperty.LOCK_LOCAL_CACHE_LEASE_MILLIS;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
 
 @SuppressWarnings("checkstyle:methodcount")
@@ -69,6 +74,8 @@ public final class LockServiceImpl implements LockService, ManagedService, Remot
     private final ConcurrentMap<String, Object> quorumConfigCache = new ConcurrentHashMap<String, Object>();
     private final ContextMutexFactory quorumConfigCacheMutexFactory = new ContextMutexFactory();
     private final long maxLeaseTimeInMillis;
+    private final LocalLockCache localLockCache;
+    private ScheduledFuture<?> localLockEvictionTask;
 
     public LockServiceImpl(NodeEngine nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -78,6 +85,7 @@ public final class LockServiceImpl implements LockService, ManagedService, Remot
         }
 
         maxLeaseTimeInMillis = getMaxLeaseTimeInMillis(nodeEngine.getProperties());
+        localLockCache = new LocalLockCache(nodeEngine, nodeEngine.getProperties().getMillis(LOCK_LOCAL_CACHE_LEASE_MILLIS));
     }
 
     NodeEngine getNodeEngine() {
@@ -101,10 +109,20 @@ public final class LockServiceImpl implements LockService, ManagedService, Remot
                 };
             }
         });
+        if (localLockCache.isEnabled()) {
+            long periodMillis = localLockCache.getLeaseMillis();
+            localLockEvictionTask = nodeEngine.getExecutionService().scheduleWithRepetition(new Runnable() {
+                @Override
+                public void run() {
+                    localLockCache.evictIdleLocks();
+                }
+            }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void reset() {
+        localLockCache.clear();
         for (LockStoreContainer container : containers) {
             for (LockStoreImpl lockStore : container.getLockStores()) {
                 lockStore.clear();
@@ -114,6 +132,11 @@ public final class LockServiceImpl implements LockService, ManagedService, Remot
 
     @Override
     public void shutdown(boolean terminate) {
+        if (localLockEvictionTask != null) {
+            localLockEvictionTask.cancel(false);
+            localLockEvictionTask = null;
+        }
+        localLockCache.clear();
         for (LockStoreContainer container : containers) {
             container.clear();
         }
@@ -124,6 +147,37 @@ public final class LockServiceImpl implements LockService, ManagedService, Remot
         return maxLeaseTimeInMillis;
     }
 
+    public LocalLockCache getLocalLockCache() {
+        return localLockCache;
+    }
+
+    /**
+     * Asks the member which holds the given lock to revoke it from its {@link LocalLockCache}.
+     *
+     * Called by the partition owner when another caller contends for the lock or asks for its state, or with
+     * {@code invalidate} set when the lock has been force-unlocked. Does nothing if the local lock cache is
+     * disabled or the lock isn't held by a member.
+     *
+     * @param namespace  the namespace of the lock
+     * @param key        the key of the lock
+     * @param owner      the UUID of the owner of the lock, may be {@code null}
+     * @param invalidate {@code true} if the lock isn't held on the partition owner anymore
+     * @return the future which completes with {@code true} once an idle cached lock has been unlocked, or with
+     * {@code false} if the lock is in use; {@code null} if the lock can't be cached by its owner
+     */
+    public InternalCompletableFuture<Boolean> revokeCachedLock(ObjectNamespace namespace, Data key, String owner,
+                                                               boolean invalidate) {
+        if (owner == null || !localLockCache.isEnabled() || !(namespace instanceof InternalLockNamespace)) {
+            return null;
+        }
+        MemberImpl member = nodeEngine.getClusterService().getMember(owner);
+        if (member == null) {
+            return null;
+        }
+        RevokeCachedLockOperation operation = new RevokeCachedLockOperation(key, invalidate);
+        return nodeEngine.getOperationService().invokeOnTarget(SERVICE_NAME, operation, member.getAddress());
+    }
+
     @Override
     public void registerLockStoreConstructor(String serviceName,
                                              ConstructorFunction<ObjectNamespace, LockStoreInfo> constructorFunction) {
@@ -336,6 +390,7 @@ public final class LockServiceImpl implements LockService, ManagedService, Remot
         final Data key = nodeEngine.getSerializationService().toData(objectId, StringPartitioningStrategy.INSTANCE);
         final int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         final LockStoreImpl lockStore = containers[partitionId].getLockStore(new InternalLockNamespace(objectId));
+        localLockCache.invalidate(key);
 
         if (lockStore != null) {
             InternalOperationService operationService = (InternalOperationService) nodeEngine.getOperationService();
@@ -342,6 +342,14 @@ public final class LockStoreImpl implements IdentifiedDataSerializable, LockStor
         }
     }
 
+    /**
+     * Returns the UUID of the owner of the lock of the given key, or {@code null} if the key isn't locked.
+     */
+    public String getOwner(Data key) {
+        LockResource lock = locks.get(key);
+        return lock == null || !lock.isLocked() ? null : lock.getOwner();
+    }
+
     @Override
     public String getOwnerInfo(Data key) {
         final LockResource lock = locks.get(key);
@@ -19,11 +19,13 @@ package com.hazelcast.concurrent.lock.operations;
 import com.hazelcast.concurrent.lock.LockDataSerializerHook;
 import com.hazelcast.concurrent.lock.LockServiceImpl;
 import com.hazelcast.concurrent.lock.LockStoreImpl;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.nio.serialization.impl.Versioned;
+import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.NamedOperation;
 import com.hazelcast.spi.ObjectNamespace;
 import com.hazelcast.spi.Operation;
@@ -53,6 +55,8 @@ public abstract class AbstractLockOperation extends Operation
     protected transient Object response;
     private volatile long referenceCallId;
     private transient boolean asyncBackup;
+    private transient boolean cachedLockRevoked;
+    private transient boolean awaitingRevocation;
 
     public AbstractLockOperation() {
     }
@@ -78,11 +82,68 @@ public abstract class AbstractLockOperation extends Operation
         setWaitTimeout(timeout);
     }
 
+    @Override
+    public void beforeRun() throws Exception {
+        awaitingRevocation = false;
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return !awaitingRevocation;
+    }
+
     @Override
     public final Object getResponse() {
         return response;
     }
 
+    /**
+     * Asks the member holding the lock of the key to revoke it from its
+     * {@link com.hazelcast.concurrent.lock.LocalLockCache}. Revokes only once per operation.
+     *
+     * @return the future of the revocation, {@code null} if the lock has already been revoked by this operation
+     * or can't be cached by its owner
+     */
+    protected final InternalCompletableFuture<Boolean> revokeCachedLock(LockStoreImpl lockStore) {
+        if (cachedLockRevoked) {
+            return null;
+        }
+        cachedLockRevoked = true;
+        LockServiceImpl service = getService();
+        return service.revokeCachedLock(namespace, key, lockStore.getOwner(key), false);
+    }
+
+    /**
+     * Revokes the lock of the key from the local lock cache of its owner and runs this operation again once
+     * the owner has answered. An idle cached lock is unlocked before the operation runs again, so the caller
+     * finds the lock free as if it hadn't been cached.
+     *
+     * @return {@code true} if the operation runs again and must not respond now
+     */
+    protected final boolean revokeCachedLockAndRetry(LockStoreImpl lockStore) {
+        InternalCompletableFuture<Boolean> future = revokeCachedLock(lockStore);
+        if (future == null) {
+            return false;
+        }
+        awaitingRevocation = true;
+        future.andThen(new ExecutionCallback<Boolean>() {
+            @Override
+            public void onResponse(Boolean released) {
+                retry();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                retry();
+            }
+        });
+        return true;
+    }
+
+    private void retry() {
+        getNodeEngine().getOperationService().execute(this);
+    }
+
     protected final LockStoreImpl getLockStore() {
         LockServiceImpl service = getService();
         return service.getLockStore(getPartitionId(), namespace);
@@ -39,6 +39,11 @@ public class GetLockCountOperation extends AbstractLockOperation implements Read
     @Override
     public void run() throws Exception {
         LockStoreImpl lockStore = getLockStore();
-        response = lockStore.getLockCount(key);
+        int lockCount = lockStore.getLockCount(key);
+        response = lockCount;
+        if (lockCount > 0) {
+            // a lock held idle in a local lock cache is reported as free
+            revokeCachedLockAndRetry(lockStore);
+        }
     }
 }
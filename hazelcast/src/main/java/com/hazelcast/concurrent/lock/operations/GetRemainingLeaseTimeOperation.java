@@ -40,5 +40,9 @@ public class GetRemainingLeaseTimeOperation extends AbstractLockOperation implem
     public void run() throws Exception {
         LockStoreImpl lockStore = getLockStore();
         response = lockStore.getRemainingLeaseTime(key);
+        if (lockStore.isLocked(key)) {
+            // a lock held idle in a local lock cache is reported as free
+            revokeCachedLockAndRetry(lockStore);
+        }
     }
 }
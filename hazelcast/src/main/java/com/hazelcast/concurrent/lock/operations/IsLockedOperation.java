@@ -45,6 +45,10 @@ public class IsLockedOperation extends AbstractLockOperation implements Readonly
         LockStoreImpl lockStore = getLockStore();
         if (threadId == ANY_THREAD) {
             response = lockStore.isLocked(key);
+            if (Boolean.TRUE.equals(response)) {
+                // a lock held idle in a local lock cache is reported as free
+                revokeCachedLockAndRetry(lockStore);
+            }
         } else {
             response = lockStore.isLockedBy(key, getCallerUuid(), threadId);
         }
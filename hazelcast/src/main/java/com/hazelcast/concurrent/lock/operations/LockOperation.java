@@ -44,7 +44,12 @@ public class LockOperation extends AbstractLockOperation implements BlockingOper
 
     @Override
     public void run() throws Exception {
-        response = getLockStore().lock(key, getCallerUuid(), threadId, getReferenceCallId(), leaseTime);
+        LockStoreImpl lockStore = getLockStore();
+        response = lockStore.lock(key, getCallerUuid(), threadId, getReferenceCallId(), leaseTime);
+        if (Boolean.FALSE.equals(response)) {
+            // a try-lock without timeout gets the lock if it was only held idle in a local lock cache
+            revokeCachedLockAndRetry(lockStore);
+        }
     }
 
     @Override
@@ -67,7 +72,12 @@ public class LockOperation extends AbstractLockOperation implements BlockingOper
     @Override
     public final boolean shouldWait() {
         LockStoreImpl lockStore = getLockStore();
-        return getWaitTimeout() != 0 && !lockStore.canAcquireLock(key, getCallerUuid(), threadId);
+        boolean shouldWait = getWaitTimeout() != 0 && !lockStore.canAcquireLock(key, getCallerUuid(), threadId);
+        if (shouldWait) {
+            // the waiting operation is notified when an idle cached lock has been unlocked
+            revokeCachedLock(lockStore);
+        }
+        return shouldWait;
     }
 
     @Override
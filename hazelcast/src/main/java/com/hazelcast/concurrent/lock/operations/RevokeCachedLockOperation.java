@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.concurrent.lock.operations;
+
+import com.hazelcast.concurrent.lock.LockDataSerializerHook;
+import com.hazelcast.concurrent.lock.LockServiceImpl;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+
+/**
+ * Sent by the partition owner of a lock to the member which holds it, to revoke the lock from the
+ * {@link com.hazelcast.concurrent.lock.LocalLockCache} of that member.
+ * <p>
+ * Responds with {@code true} once an idle cached lock has been unlocked on the partition owner, and with
+ * {@code false} if the lock is in use and will be unlocked by its thread.
+ */
+public class RevokeCachedLockOperation extends Operation implements IdentifiedDataSerializable {
+
+    private Data key;
+    private boolean invalidate;
+    private transient boolean releasing;
+
+    public RevokeCachedLockOperation() {
+    }
+
+    public RevokeCachedLockOperation(Data key, boolean invalidate) {
+        this.key = key;
+        this.invalidate = invalidate;
+    }
+
+    @Override
+    public void run() throws Exception {
+        LockServiceImpl service = getService();
+        ICompletableFuture<Object> unlockFuture = service.getLocalLockCache().revoke(key, invalidate);
+        if (unlockFuture == null) {
+            return;
+        }
+        releasing = true;
+        unlockFuture.andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                sendResponse(true);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // the partition owner finds out about the state of the lock when it checks it again
+                sendResponse(true);
+            }
+        });
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return !releasing;
+    }
+
+    @Override
+    public Object getResponse() {
+        return false;
+    }
+
+    @Override
+    public String getServiceName() {
+        return LockServiceImpl.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return LockDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return LockDataSerializerHook.REVOKE_CACHED_LOCK;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeData(key);
+        out.writeBoolean(invalidate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        key = in.readData();
+        invalidate = in.readBoolean();
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.concurrent.lock.operations;
 
 import com.hazelcast.concurrent.lock.LockDataSerializerHook;
+import com.hazelcast.concurrent.lock.LockServiceImpl;
 import com.hazelcast.concurrent.lock.LockStoreImpl;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -77,7 +78,10 @@ public class UnlockOperation extends AbstractLockOperation implements Notifier,
 
     protected final void forceUnlock() {
         LockStoreImpl lockStore = getLockStore();
+        String owner = lockStore.getOwner(key);
         response = lockStore.forceUnlock(key);
+        LockServiceImpl service = getService();
+        service.revokeCachedLock(namespace, key, owner, true);
     }
 
     @Override
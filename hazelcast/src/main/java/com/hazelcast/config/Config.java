@@ -73,6 +73,9 @@ public class Config {
 
     private final Map<String, ReliableTopicConfig> reliableTopicConfigs = new ConcurrentHashMap<String, ReliableTopicConfig>();
 
+    private final Map<String, FlakeIdGeneratorConfig> flakeIdGeneratorConfigs =
+            new ConcurrentHashMap<String, FlakeIdGeneratorConfig>();
+
     private final Map<String, QueueConfig> queueConfigs = new ConcurrentHashMap<String, QueueConfig>();
 
     private final Map<String, LockConfig> lockConfigs = new ConcurrentHashMap<String, LockConfig>();
@@ -745,6 +748,89 @@ public class Config {
         return this;
     }
 
+    /**
+     * Returns a read-only {@link FlakeIdGeneratorConfig} configuration for the given flake ID generator name.
+     * <p>
+     * The name is matched by pattern to the configuration and by stripping the partition ID qualifier from
+     * the given {@code name}. If there is no config found by the name, it will return the configuration
+     * with the name {@code default}.
+     *
+     * @param name name of the flake ID generator config
+     * @return the flake ID generator configuration
+     */
+    public FlakeIdGeneratorConfig findFlakeIdGeneratorConfig(String name) {
+        String baseName = getBaseName(name);
+        FlakeIdGeneratorConfig config = lookupByPattern(configPatternMatcher, flakeIdGeneratorConfigs, baseName);
+        if (config != null) {
+            return config.getAsReadOnly();
+        }
+        return getFlakeIdGeneratorConfig("default").getAsReadOnly();
+    }
+
+    /**
+     * Returns the {@link FlakeIdGeneratorConfig} for the given name, creating one if necessary and adding it to
+     * the collection of known configurations.
+     * <p>
+     * The configuration is found by matching the configuration name pattern to the provided {@code name}.
+     * If no configuration matches, it will create one by cloning the {@code "default"} configuration and add it
+     * to the configuration collection.
+     *
+     * @param name name of the flake ID generator config
+     * @return the flake ID generator configuration
+     */
+    public FlakeIdGeneratorConfig getFlakeIdGeneratorConfig(String name) {
+        String baseName = getBaseName(name);
+        FlakeIdGeneratorConfig config = lookupByPattern(configPatternMatcher, flakeIdGeneratorConfigs, baseName);
+        if (config != null) {
+            return config;
+        }
+        FlakeIdGeneratorConfig defConfig = flakeIdGeneratorConfigs.get("default");
+        if (defConfig == null) {
+            defConfig = new FlakeIdGeneratorConfig("default");
+            addFlakeIdGeneratorConfig(defConfig);
+        }
+        config = new FlakeIdGeneratorConfig(defConfig, name);
+        addFlakeIdGeneratorConfig(config);
+        return config;
+    }
+
+    /**
+     * Returns the map of {@link FlakeIdGeneratorConfig} configurations, mapped by config name.
+     *
+     * @return the flake ID generator configurations mapped by config name
+     */
+    public Map<String, FlakeIdGeneratorConfig> getFlakeIdGeneratorConfigs() {
+        return flakeIdGeneratorConfigs;
+    }
+
+    /**
+     * Adds a flake ID generator configuration. The configuration may be a pattern, see
+     * {@link #setConfigPatternMatcher(ConfigPatternMatcher)}.
+     *
+     * @param config the flake ID generator configuration
+     * @return this config instance
+     */
+    public Config addFlakeIdGeneratorConfig(FlakeIdGeneratorConfig config) {
+        flakeIdGeneratorConfigs.put(config.getName(), config);
+        return this;
+    }
+
+    /**
+     * Sets the map of {@link FlakeIdGeneratorConfig} configurations, mapped by config name. The config name
+     * may be a pattern with which the configuration will be obtained in the future.
+     *
+     * @param map the flake ID generator configuration map to set
+     * @return this config instance
+     */
+    public Config setFlakeIdGeneratorConfigs(Map<String, FlakeIdGeneratorConfig> map) {
+        flakeIdGeneratorConfigs.clear();
+        flakeIdGeneratorConfigs.putAll(map);
+        for (Entry<String, FlakeIdGeneratorConfig> entry : map.entrySet()) {
+            entry.getValue().setName(entry.getKey());
+        }
+        return this;
+    }
+
     /**
      * @return the topicConfigs
      */
@@ -1466,6 +1552,7 @@ public class Config {
                 + ", mapConfigs=" + mapConfigs
                 + ", topicConfigs=" + topicConfigs
                 + ", reliableTopicConfigs=" + reliableTopicConfigs
+                + ", flakeIdGeneratorConfigs=" + flakeIdGeneratorConfigs
                 + ", queueConfigs=" + queueConfigs
                 + ", multiMapConfigs=" + multiMapConfigs
                 + ", executorConfigs=" + executorConfigs
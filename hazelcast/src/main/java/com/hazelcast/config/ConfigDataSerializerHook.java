@@ -87,8 +87,17 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
     public static final int QUORUM_LISTENER_CONFIG = 45;
     public static final int CACHE_PARTITION_LOST_LISTENER_CONFIG = 46;
     public static final int SIMPLE_CACHE_ENTRY_LISTENER_CONFIG = 47;
+    public static final int FLAKE_ID_GENERATOR_CONFIG = 48;
+    // the IDs below mark configs carrying the fields added in this patch release, which are only written when they
+    // differ from their defaults: the default configs keep the previous wire format and the members not knowing the
+    // fields fail to read a config using them instead of misreading the stream
+    public static final int REPLICATED_MAP_CONFIG_WITH_INDEXES = 49;
+    public static final int RINGBUFFER_STORE_CONFIG_WITH_WRITE_BEHIND = 50;
+    public static final int RELIABLE_TOPIC_CONFIG_WITH_SHARDS = 51;
+    public static final int QUEUE_CONFIG_WITH_SHARDS = 52;
+    public static final int MULTIMAP_CONFIG_WITH_VALUE_INDEX = 53;
 
-    private static final int LEN = SIMPLE_CACHE_ENTRY_LISTENER_CONFIG + 1;
+    private static final int LEN = MULTIMAP_CONFIG_WITH_VALUE_INDEX + 1;
 
     @Override
     public int getFactoryId() {
@@ -391,6 +400,58 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
                         return new CacheSimpleEntryListenerConfig();
                     }
                 };
+        constructors[FLAKE_ID_GENERATOR_CONFIG] =
+                new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+                    @Override
+                    public IdentifiedDataSerializable createNew(Integer arg) {
+                        return new FlakeIdGeneratorConfig();
+                    }
+                };
+        constructors[REPLICATED_MAP_CONFIG_WITH_INDEXES] =
+                new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+                    @Override
+                    public IdentifiedDataSerializable createNew(Integer arg) {
+                        ReplicatedMapConfig config = new ReplicatedMapConfig();
+                        config.indexesSerialized = true;
+                        return config;
+                    }
+                };
+        constructors[RINGBUFFER_STORE_CONFIG_WITH_WRITE_BEHIND] =
+                new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+                    @Override
+                    public IdentifiedDataSerializable createNew(Integer arg) {
+                        RingbufferStoreConfig config = new RingbufferStoreConfig();
+                        config.writeBehindSerialized = true;
+                        return config;
+                    }
+                };
+        constructors[RELIABLE_TOPIC_CONFIG_WITH_SHARDS] =
+                new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+                    @Override
+                    public IdentifiedDataSerializable createNew(Integer arg) {
+                        ReliableTopicConfig config = new ReliableTopicConfig();
+                        config.shardCountSerialized = true;
+                        return config;
+                    }
+                };
+        constructors[QUEUE_CONFIG_WITH_SHARDS] =
+                new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+                    @Override
+                    public IdentifiedDataSerializable createNew(Integer arg) {
+                        QueueConfig config = new QueueConfig();
+                        config.shardCountSerialized = true;
+                        return config;
+                    }
+                };
+        constructors[MULTIMAP_CONFIG_WITH_VALUE_INDEX] =
+                new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+                    @Override
+                    public IdentifiedDataSerializable createNew(Integer arg) {
+                        MultiMapConfig config = new MultiMapConfig();
+                        config.valueIndexSerialized = true;
+                        return config;
+                    }
+                };
 
 
         return new ArrayDataSerializableFactory(constructors);
@@ -124,6 +124,7 @@ public class ConfigXmlGenerator {
         listenerXmlGenerator(gen, config);
         serializationXmlGenerator(gen, config);
         reliableTopicXmlGenerator(gen, config);
+        flakeIdGeneratorXmlGenerator(gen, config);
         liteMemberXmlGenerator(gen, config);
         nativeMemoryXmlGenerator(gen, config);
         servicesXmlGenerator(gen, config);
@@ -180,6 +181,13 @@ public class ConfigXmlGenerator {
                 }
                 gen.close();
             }
+            if (!r.getMapIndexConfigs().isEmpty()) {
+                gen.open("indexes");
+                for (MapIndexConfig indexCfg : r.getMapIndexConfigs()) {
+                    gen.node("index", indexCfg.getAttribute(), "ordered", indexCfg.isOrdered());
+                }
+                gen.close();
+            }
             gen.close();
         }
     }
@@ -371,12 +379,24 @@ public class ConfigXmlGenerator {
         }
     }
 
+    private static void flakeIdGeneratorXmlGenerator(XmlGenerator gen, Config config) {
+        for (FlakeIdGeneratorConfig m : config.getFlakeIdGeneratorConfigs().values()) {
+            gen.open("flake-id-generator", "name", m.getName())
+               .node("prefetch-count", m.getPrefetchCount())
+               .node("prefetch-validity-millis", m.getPrefetchValidityMillis())
+               .node("id-offset", m.getIdOffset())
+               .node("node-id-offset", m.getNodeIdOffset())
+               .close();
+        }
+    }
+
     private static void reliableTopicXmlGenerator(XmlGenerator gen, Config config) {
         for (ReliableTopicConfig t : config.getReliableTopicConfigs().values()) {
             gen.open("reliable-topic", "name", t.getName())
                .node("statistics-enabled", t.isStatisticsEnabled())
                .node("read-batch-size", t.getReadBatchSize())
-               .node("topic-overload-policy", t.getTopicOverloadPolicy());
+               .node("topic-overload-policy", t.getTopicOverloadPolicy())
+               .node("shard-count", t.getShardCount());
 
             if (!t.getMessageListenerConfigs().isEmpty()) {
                 gen.open("message-listeners");
@@ -397,7 +417,8 @@ public class ConfigXmlGenerator {
                .node("async-backup-count", mm.getAsyncBackupCount())
                .node("statistics-enabled", mm.isStatisticsEnabled())
                .node("binary", mm.isBinary())
-               .node("value-collection-type", mm.getValueCollectionType());
+               .node("value-collection-type", mm.getValueCollectionType())
+               .node("value-index-enabled", mm.isValueIndexEnabled());
 
             if (!mm.getEntryListenerConfigs().isEmpty()) {
                 gen.open("entry-listeners");
@@ -430,7 +451,8 @@ public class ConfigXmlGenerator {
                .node("max-size", q.getMaxSize())
                .node("backup-count", q.getBackupCount())
                .node("async-backup-count", q.getAsyncBackupCount())
-               .node("empty-queue-ttl", q.getEmptyQueueTtl());
+               .node("empty-queue-ttl", q.getEmptyQueueTtl())
+               .node("shard-count", q.getShardCount());
             appendItemListenerConfigs(gen, q.getItemListenerConfigs());
             final QueueStoreConfig storeConfig = q.getQueueStoreConfig();
             if (storeConfig != null) {
@@ -468,7 +490,12 @@ public class ConfigXmlGenerator {
                 gen.open("ringbuffer-store", "enabled", storeConfig.isEnabled())
                    .node("class-name", storeConfig.getClassName())
                    .node("factory-class-name", storeConfig.getFactoryClassName())
-                   .appendProperties(storeConfig.getProperties());
+                   .appendProperties(storeConfig.getProperties())
+                   .node("write-behind", null,
+                           "enabled", storeConfig.isWriteBehindEnabled(),
+                           "queue-capacity", storeConfig.getWriteBehindQueueCapacity(),
+                           "batch-size", storeConfig.getWriteBehindBatchSize(),
+                           "acknowledge-type", storeConfig.getWriteBehindAcknowledgeType());
                 gen.close();
             }
             gen.close();
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.config;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.Preconditions.checkHasText;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * Configuration for a {@link com.hazelcast.flakeidgen.FlakeIdGenerator}.
+ * <p>
+ * The generator composes its IDs from a timestamp, a node ID assigned once to every member and a sequence, so
+ * no cluster call is needed to generate an ID. The settings of this config control how many IDs are prefetched
+ * by a caller and how long prefetched IDs stay valid, as well as offsets applied to the generated IDs.
+ */
+public class FlakeIdGeneratorConfig implements IdentifiedDataSerializable {
+
+    /**
+     * Default value for {@link #getPrefetchCount()}.
+     */
+    public static final int DEFAULT_PREFETCH_COUNT = 100;
+
+    /**
+     * Default value for {@link #getPrefetchValidityMillis()}.
+     */
+    public static final long DEFAULT_PREFETCH_VALIDITY_MILLIS = 600000;
+
+    /**
+     * Maximum value for {@link #getPrefetchCount()}.
+     */
+    public static final int MAXIMUM_PREFETCH_COUNT = 100000;
+
+    private String name;
+    private int prefetchCount = DEFAULT_PREFETCH_COUNT;
+    private long prefetchValidityMillis = DEFAULT_PREFETCH_VALIDITY_MILLIS;
+    private long idOffset;
+    private long nodeIdOffset;
+
+    public FlakeIdGeneratorConfig() {
+    }
+
+    /**
+     * Creates a new FlakeIdGeneratorConfig with default settings.
+     */
+    public FlakeIdGeneratorConfig(String name) {
+        this.name = checkNotNull(name, "name");
+    }
+
+    /**
+     * Creates a new FlakeIdGeneratorConfig by cloning an existing one.
+     *
+     * @param config the FlakeIdGeneratorConfig to clone
+     */
+    public FlakeIdGeneratorConfig(FlakeIdGeneratorConfig config) {
+        this.name = config.name;
+        this.prefetchCount = config.prefetchCount;
+        this.prefetchValidityMillis = config.prefetchValidityMillis;
+        this.idOffset = config.idOffset;
+        this.nodeIdOffset = config.nodeIdOffset;
+    }
+
+    FlakeIdGeneratorConfig(FlakeIdGeneratorConfig config, String name) {
+        this(config);
+        this.name = name;
+    }
+
+    /**
+     * Gets the name of the flake ID generator.
+     *
+     * @return the name of the flake ID generator
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the flake ID generator.
+     *
+     * @param name the name of the flake ID generator
+     * @return the updated FlakeIdGeneratorConfig
+     * @throws IllegalArgumentException if name is {@code null} or an empty string
+     */
+    public FlakeIdGeneratorConfig setName(String name) {
+        this.name = checkHasText(name, "name must contain text");
+        return this;
+    }
+
+    /**
+     * Gets the number of IDs prefetched in a single batch.
+     *
+     * @return the prefetch count
+     * @see #setPrefetchCount(int)
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * Sets how many IDs are prefetched in a single batch.
+     * <p>
+     * Every caller of {@link com.hazelcast.flakeidgen.FlakeIdGenerator#newId()} takes its IDs from a prefetched
+     * batch, a new batch is only requested when the current one is used up or no longer valid. A larger batch
+     * reduces the number of batch requests, which is mostly relevant for clients since every batch request is a
+     * remote call, but IDs of a batch which is not used up are lost.
+     *
+     * @param prefetchCount the number of IDs in a batch, from 1 to {@value #MAXIMUM_PREFETCH_COUNT}
+     * @return the updated FlakeIdGeneratorConfig
+     * @throws IllegalArgumentException if prefetchCount is out of range
+     */
+    public FlakeIdGeneratorConfig setPrefetchCount(int prefetchCount) {
+        checkTrue(prefetchCount > 0 && prefetchCount <= MAXIMUM_PREFETCH_COUNT,
+                "prefetchCount should be in the range 1.." + MAXIMUM_PREFETCH_COUNT + ", but is " + prefetchCount);
+        this.prefetchCount = prefetchCount;
+        return this;
+    }
+
+    /**
+     * Gets the time in milliseconds a prefetched batch of IDs stays valid.
+     *
+     * @return the prefetch validity in milliseconds, {@code 0} means unlimited
+     * @see #setPrefetchValidityMillis(long)
+     */
+    public long getPrefetchValidityMillis() {
+        return prefetchValidityMillis;
+    }
+
+    /**
+     * Sets how long a prefetched batch of IDs stays valid.
+     * <p>
+     * The IDs contain a timestamp component, so the IDs of a batch which was fetched a long time ago are roughly
+     * ordered before IDs generated by other callers in the meantime. If the IDs are expected to be roughly ordered
+     * by their creation time, the remaining IDs of a batch are discarded after this time and a new batch is fetched.
+     *
+     * @param prefetchValidityMillis the validity in milliseconds, {@code 0} means unlimited
+     * @return the updated FlakeIdGeneratorConfig
+     * @throws IllegalArgumentException if prefetchValidityMillis is negative
+     */
+    public FlakeIdGeneratorConfig setPrefetchValidityMillis(long prefetchValidityMillis) {
+        this.prefetchValidityMillis = checkNotNegative(prefetchValidityMillis, "prefetchValidityMillis should not be negative");
+        return this;
+    }
+
+    /**
+     * Gets the offset added to every generated ID.
+     *
+     * @return the ID offset
+     * @see #setIdOffset(long)
+     */
+    public long getIdOffset() {
+        return idOffset;
+    }
+
+    /**
+     * Sets the offset added to every generated ID.
+     * <p>
+     * The offset can be used to keep the generated IDs larger than the IDs which were generated before, for
+     * example by an {@link com.hazelcast.core.IdGenerator} this generator replaces. The offset must be the same
+     * on all members.
+     *
+     * @param idOffset the ID offset
+     * @return the updated FlakeIdGeneratorConfig
+     */
+    public FlakeIdGeneratorConfig setIdOffset(long idOffset) {
+        this.idOffset = idOffset;
+        return this;
+    }
+
+    /**
+     * Gets the offset added to the node ID assigned to every member.
+     *
+     * @return the node ID offset
+     * @see #setNodeIdOffset(long)
+     */
+    public long getNodeIdOffset() {
+        return nodeIdOffset;
+    }
+
+    /**
+     * Sets the offset added to the node ID assigned to every member.
+     * <p>
+     * Node IDs are assigned from a cluster-wide counter which starts at 0. If IDs of several clusters have to be
+     * unique together, every cluster can be configured with a distinct node ID offset.
+     *
+     * @param nodeIdOffset the node ID offset
+     * @return the updated FlakeIdGeneratorConfig
+     * @throws IllegalArgumentException if nodeIdOffset is negative
+     */
+    public FlakeIdGeneratorConfig setNodeIdOffset(long nodeIdOffset) {
+        this.nodeIdOffset = checkNotNegative(nodeIdOffset, "nodeIdOffset should not be negative");
+        return this;
+    }
+
+    /**
+     * Gets immutable version of this configuration.
+     *
+     * @return immutable version of this configuration
+     * @deprecated this method will be removed in 4.0; it is meant for internal usage only
+     */
+    public FlakeIdGeneratorConfig getAsReadOnly() {
+        return new FlakeIdGeneratorConfigReadOnly(this);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ConfigDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ConfigDataSerializerHook.FLAKE_ID_GENERATOR_CONFIG;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(prefetchCount);
+        out.writeLong(prefetchValidityMillis);
+        out.writeLong(idOffset);
+        out.writeLong(nodeIdOffset);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        prefetchCount = in.readInt();
+        prefetchValidityMillis = in.readLong();
+        idOffset = in.readLong();
+        nodeIdOffset = in.readLong();
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FlakeIdGeneratorConfig)) {
+            return false;
+        }
+
+        FlakeIdGeneratorConfig that = (FlakeIdGeneratorConfig) o;
+
+        if (prefetchCount != that.prefetchCount) {
+            return false;
+        }
+        if (prefetchValidityMillis != that.prefetchValidityMillis) {
+            return false;
+        }
+        if (idOffset != that.idOffset) {
+            return false;
+        }
+        if (nodeIdOffset != that.nodeIdOffset) {
+            return false;
+        }
+        return name != null ? name.equals(that.name) : that.name == null;
+    }
+
+    @Override
+    public final int hashCode() {
+        int result = name != null ? name.hashCode() : 0;
+        result = 31 * result + prefetchCount;
+        result = 31 * result + (int) (prefetchValidityMillis ^ (prefetchValidityMillis >>> 32));
+        result = 31 * result + (int) (idOffset ^ (idOffset >>> 32));
+        result = 31 * result + (int) (nodeIdOffset ^ (nodeIdOffset >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FlakeIdGeneratorConfig{"
+                + "name='" + name + '\''
+                + ", prefetchCount=" + prefetchCount
+                + ", prefetchValidityMillis=" + prefetchValidityMillis
+                + ", idOffset=" + idOffset
+                + ", nodeIdOffset=" + nodeIdOffset
+                + '}';
+    }
+
+    static class FlakeIdGeneratorConfigReadOnly extends FlakeIdGeneratorConfig {
+
+        FlakeIdGeneratorConfigReadOnly(FlakeIdGeneratorConfig config) {
+            super(config);
+        }
+
+        @Override
+        public FlakeIdGeneratorConfig setName(String name) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public FlakeIdGeneratorConfig setPrefetchCount(int prefetchCount) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public FlakeIdGeneratorConfig setPrefetchValidityMillis(long prefetchValidityMillis) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public FlakeIdGeneratorConfig setIdOffset(long idOffset) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public FlakeIdGeneratorConfig setNodeIdOffset(long nodeIdOffset) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+    }
+}
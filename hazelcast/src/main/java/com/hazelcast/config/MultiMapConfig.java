@@ -54,6 +54,9 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
     private int backupCount = DEFAULT_SYNC_BACKUP_COUNT;
     private int asyncBackupCount = DEFAULT_ASYNC_BACKUP_COUNT;
     private boolean statisticsEnabled = true;
+    private boolean valueIndexEnabled;
+    // set when the config is read with the ID of the format carrying the value index flag, see getId()
+    transient boolean valueIndexSerialized;
     private MultiMapConfigReadOnly readOnly;
 
     public MultiMapConfig() {
@@ -70,6 +73,7 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
         this.backupCount = defConfig.backupCount;
         this.asyncBackupCount = defConfig.asyncBackupCount;
         this.statisticsEnabled = defConfig.statisticsEnabled;
+        this.valueIndexEnabled = defConfig.valueIndexEnabled;
         this.listenerConfigs = new ArrayList<EntryListenerConfig>(defConfig.getEntryListenerConfigs());
     }
 
@@ -294,6 +298,31 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Checks if the reverse value index is enabled for this MultiMap.
+     *
+     * @return {@code true} if the value index is enabled, {@code false} otherwise
+     */
+    public boolean isValueIndexEnabled() {
+        return valueIndexEnabled;
+    }
+
+    /**
+     * Enables or disables the reverse value index for this MultiMap.
+     * <p>
+     * When enabled, every partition maintains a hash index from values to the keys holding them, so that
+     * {@link com.hazelcast.core.MultiMap#containsValue(Object)} and
+     * {@link com.hazelcast.core.MultiMap#containsEntry(Object, Object)} do not have to scan all value collections.
+     * The index costs additional memory and a hash update per put and remove.
+     *
+     * @param valueIndexEnabled {@code true} to enable the value index, {@code false} otherwise
+     * @return this updated MultiMap configuration
+     */
+    public MultiMapConfig setValueIndexEnabled(boolean valueIndexEnabled) {
+        this.valueIndexEnabled = valueIndexEnabled;
+        return this;
+    }
+
     public String toString() {
         return "MultiMapConfig{"
                 + "name='" + name + '\''
@@ -302,6 +331,7 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
                 + ", binary=" + binary
                 + ", backupCount=" + backupCount
                 + ", asyncBackupCount=" + asyncBackupCount
+                + ", valueIndexEnabled=" + valueIndexEnabled
                 + '}';
     }
 
@@ -312,7 +342,10 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
 
     @Override
     public int getId() {
-        return ConfigDataSerializerHook.MULTIMAP_CONFIG;
+        // the value index flag is only written with its own ID, so a config with the default keeps the format of the
+        // members not knowing it
+        return valueIndexEnabled ? ConfigDataSerializerHook.MULTIMAP_CONFIG_WITH_VALUE_INDEX
+                : ConfigDataSerializerHook.MULTIMAP_CONFIG;
     }
 
     @Override
@@ -332,6 +365,9 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
         out.writeInt(backupCount);
         out.writeInt(asyncBackupCount);
         out.writeBoolean(statisticsEnabled);
+        if (valueIndexEnabled) {
+            out.writeBoolean(valueIndexEnabled);
+        }
     }
 
     @Override
@@ -351,6 +387,9 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
         backupCount = in.readInt();
         asyncBackupCount = in.readInt();
         statisticsEnabled = in.readBoolean();
+        if (valueIndexSerialized) {
+            valueIndexEnabled = in.readBoolean();
+        }
     }
 
     @Override
@@ -377,6 +416,9 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
         if (statisticsEnabled != that.statisticsEnabled) {
             return false;
         }
+        if (valueIndexEnabled != that.valueIndexEnabled) {
+            return false;
+        }
         if (!name.equals(that.name)) {
             return false;
         }
@@ -396,6 +438,7 @@ public class MultiMapConfig implements IdentifiedDataSerializable {
         result = 31 * result + backupCount;
         result = 31 * result + asyncBackupCount;
         result = 31 * result + (statisticsEnabled ? 1 : 0);
+        result = 31 * result + (valueIndexEnabled ? 1 : 0);
         return result;
     }
 }
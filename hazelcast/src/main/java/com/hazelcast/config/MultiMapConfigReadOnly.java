@@ -71,6 +71,11 @@ public class MultiMapConfigReadOnly extends MultiMapConfig {
         throw new UnsupportedOperationException("This config is read-only multimap: " + getName());
     }
 
+    @Override
+    public MultiMapConfig setValueIndexEnabled(boolean valueIndexEnabled) {
+        throw new UnsupportedOperationException("This config is read-only multimap: " + getName());
+    }
+
     @Override
     public MultiMapConfig setSyncBackupCount(int syncBackupCount) {
         throw new UnsupportedOperationException("This config is read-only multimap: " + getName());
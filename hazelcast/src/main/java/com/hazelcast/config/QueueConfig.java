@@ -28,6 +28,7 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.readNu
 import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeNullableList;
 import static com.hazelcast.util.Preconditions.checkAsyncBackupCount;
 import static com.hazelcast.util.Preconditions.checkBackupCount;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
  * Contains the configuration for an {@link com.hazelcast.core.IQueue}.
@@ -54,6 +55,11 @@ public class QueueConfig implements IdentifiedDataSerializable {
      */
     public static final int DEFAULT_EMPTY_QUEUE_TTL = -1;
 
+    /**
+     * Default value for the number of shards, a single partition holds the Queue.
+     */
+    public static final int DEFAULT_SHARD_COUNT = 1;
+
     private String name;
     private List<ItemListenerConfig> listenerConfigs;
     private int backupCount = DEFAULT_SYNC_BACKUP_COUNT;
@@ -63,6 +69,9 @@ public class QueueConfig implements IdentifiedDataSerializable {
     private QueueStoreConfig queueStoreConfig;
     private boolean statisticsEnabled = true;
     private String quorumName;
+    private int shardCount = DEFAULT_SHARD_COUNT;
+    // set when the config is read with the ID of the format carrying the shard count, see getId()
+    transient boolean shardCountSerialized;
     private transient QueueConfigReadOnly readOnly;
 
     public QueueConfig() {
@@ -81,6 +90,7 @@ public class QueueConfig implements IdentifiedDataSerializable {
         this.emptyQueueTtl = config.emptyQueueTtl;
         this.statisticsEnabled = config.statisticsEnabled;
         this.quorumName = config.quorumName;
+        this.shardCount = config.shardCount;
         this.queueStoreConfig = config.queueStoreConfig != null ? new QueueStoreConfig(config.queueStoreConfig) : null;
         this.listenerConfigs = new ArrayList<ItemListenerConfig>(config.getItemListenerConfigs());
     }
@@ -118,6 +128,35 @@ public class QueueConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Returns the number of partition-local sub-queues the items of the Queue are spread over.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of partition-local sub-queues the items of the Queue are spread over.
+     * <p>
+     * A Queue is held by a single partition by default, so all operations are executed by the thread owning that
+     * partition. If the shard count is larger than 1, the items are spread over that many sub-queues living in
+     * different partitions. Items offered with the same key are kept in the same shard and are polled in offer order,
+     * there is no ordering between items of different shards. The maximum size, the backup counts and the queue store
+     * apply to every shard.
+     * <p>
+     * The shard count must be the same on all members and must not be changed while the Queue is in use.
+     *
+     * @param shardCount the number of shards
+     * @return the Queue configuration
+     * @throws IllegalArgumentException if shardCount is smaller than 1
+     */
+    public QueueConfig setShardCount(int shardCount) {
+        this.shardCount = checkPositive(shardCount, "shardCount should be positive");
+        return this;
+    }
+
     /**
      * Returns the maximum size of the Queue.
      *
@@ -322,6 +361,7 @@ public class QueueConfig implements IdentifiedDataSerializable {
                 + ", emptyQueueTtl=" + emptyQueueTtl
                 + ", queueStoreConfig=" + queueStoreConfig
                 + ", statisticsEnabled=" + statisticsEnabled
+                + ", shardCount=" + shardCount
                 + '}';
     }
 
@@ -332,7 +372,10 @@ public class QueueConfig implements IdentifiedDataSerializable {
 
     @Override
     public int getId() {
-        return ConfigDataSerializerHook.QUEUE_CONFIG;
+        // the shard count is only written with its own ID, so a config with the default keeps the format of the members
+        // not knowing it
+        return shardCount != DEFAULT_SHARD_COUNT ? ConfigDataSerializerHook.QUEUE_CONFIG_WITH_SHARDS
+                : ConfigDataSerializerHook.QUEUE_CONFIG;
     }
 
     @Override
@@ -346,6 +389,9 @@ public class QueueConfig implements IdentifiedDataSerializable {
         out.writeObject(queueStoreConfig);
         out.writeBoolean(statisticsEnabled);
         out.writeUTF(quorumName);
+        if (shardCount != DEFAULT_SHARD_COUNT) {
+            out.writeInt(shardCount);
+        }
     }
 
     @Override
@@ -359,6 +405,9 @@ public class QueueConfig implements IdentifiedDataSerializable {
         queueStoreConfig = in.readObject();
         statisticsEnabled = in.readBoolean();
         quorumName = in.readUTF();
+        if (shardCountSerialized) {
+            shardCount = in.readInt();
+        }
     }
 
     @Override
@@ -387,6 +436,9 @@ public class QueueConfig implements IdentifiedDataSerializable {
         if (statisticsEnabled != that.statisticsEnabled) {
             return false;
         }
+        if (shardCount != that.shardCount) {
+            return false;
+        }
         if (!name.equals(that.name)) {
             return false;
         }
@@ -411,6 +463,7 @@ public class QueueConfig implements IdentifiedDataSerializable {
         result = 31 * result + (queueStoreConfig != null ? queueStoreConfig.hashCode() : 0);
         result = 31 * result + (statisticsEnabled ? 1 : 0);
         result = 31 * result + (quorumName != null ? quorumName.hashCode() : 0);
+        result = 31 * result + shardCount;
         return result;
     }
 }
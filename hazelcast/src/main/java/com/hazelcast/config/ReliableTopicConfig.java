@@ -66,12 +66,20 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
      */
     public static final boolean DEFAULT_STATISTICS_ENABLED = true;
 
+    /**
+     * The default number of shards, a single ringbuffer backs the topic.
+     */
+    public static final int DEFAULT_SHARD_COUNT = 1;
+
     private Executor executor;
     private int readBatchSize = DEFAULT_READ_BATCH_SIZE;
     private String name;
     private boolean statisticsEnabled = DEFAULT_STATISTICS_ENABLED;
     private List<ListenerConfig> listenerConfigs = new LinkedList<ListenerConfig>();
     private TopicOverloadPolicy topicOverloadPolicy = DEFAULT_TOPIC_OVERLOAD_POLICY;
+    private int shardCount = DEFAULT_SHARD_COUNT;
+    // set when the config is read with the ID of the format carrying the shard count, see getId()
+    transient boolean shardCountSerialized;
 
     public ReliableTopicConfig() {
     }
@@ -95,6 +103,7 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
         this.executor = config.executor;
         this.topicOverloadPolicy = config.topicOverloadPolicy;
         this.listenerConfigs = config.listenerConfigs;
+        this.shardCount = config.shardCount;
     }
 
     ReliableTopicConfig(ReliableTopicConfig config, String name) {
@@ -215,6 +224,36 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Gets the number of ringbuffers the messages of this reliable topic are spread over.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of ringbuffers the messages of this reliable topic are spread over.
+     * <p>
+     * A reliable topic is backed by a single ringbuffer by default, so all messages are added on the partition
+     * owning that ringbuffer. If the shard count is larger than 1, the topic is backed by that many ringbuffers which
+     * are spread over the partitions of the cluster. A message is added to the shard selected by its key, so the
+     * messages with the same key are received in publication order, while messages with different keys may be
+     * received in any order. Every listener consumes all shards.
+     * <p>
+     * The shard count must be the same on all members and must not be changed while the topic is in use.
+     *
+     * @param shardCount the number of shards
+     * @return the updated reliable topic config
+     * @throws IllegalArgumentException if shardCount is smaller than 1
+     * @see com.hazelcast.topic.ShardedReliableMessageListener
+     */
+    public ReliableTopicConfig setShardCount(int shardCount) {
+        this.shardCount = checkPositive(shardCount, "shardCount should be positive");
+        return this;
+    }
+
     /**
      * Checks if statistics are enabled for this reliable topic.
      *
@@ -277,6 +316,7 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
                 + ", readBatchSize=" + readBatchSize
                 + ", statisticsEnabled=" + statisticsEnabled
                 + ", listenerConfigs=" + listenerConfigs
+                + ", shardCount=" + shardCount
                 + '}';
     }
 
@@ -297,7 +337,10 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
 
     @Override
     public int getId() {
-        return ConfigDataSerializerHook.RELIABLE_TOPIC_CONFIG;
+        // the shard count is only written with its own ID, so a config with the default keeps the format of the members
+        // not knowing it
+        return shardCount != DEFAULT_SHARD_COUNT ? ConfigDataSerializerHook.RELIABLE_TOPIC_CONFIG_WITH_SHARDS
+                : ConfigDataSerializerHook.RELIABLE_TOPIC_CONFIG;
     }
 
     @Override
@@ -308,6 +351,9 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
         out.writeBoolean(statisticsEnabled);
         writeNullableList(listenerConfigs, out);
         out.writeUTF(topicOverloadPolicy.name());
+        if (shardCount != DEFAULT_SHARD_COUNT) {
+            out.writeInt(shardCount);
+        }
     }
 
     @Override
@@ -318,6 +364,9 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
         statisticsEnabled = in.readBoolean();
         listenerConfigs = readNullableList(in);
         topicOverloadPolicy = TopicOverloadPolicy.valueOf(in.readUTF());
+        if (shardCountSerialized) {
+            shardCount = in.readInt();
+        }
     }
 
     @Override
@@ -338,6 +387,9 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
         if (statisticsEnabled != that.statisticsEnabled) {
             return false;
         }
+        if (shardCount != that.shardCount) {
+            return false;
+        }
         if (executor != null ? !executor.equals(that.executor) : that.executor != null) {
             return false;
         }
@@ -358,6 +410,7 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
         result = 31 * result + (statisticsEnabled ? 1 : 0);
         result = 31 * result + (listenerConfigs != null ? listenerConfigs.hashCode() : 0);
         result = 31 * result + (topicOverloadPolicy != null ? topicOverloadPolicy.hashCode() : 0);
+        result = 31 * result + shardCount;
         return result;
     }
 
@@ -382,6 +435,11 @@ public class ReliableTopicConfig implements IdentifiedDataSerializable {
             throw new UnsupportedOperationException("This config is read-only");
         }
 
+        @Override
+        public ReliableTopicConfig setShardCount(int shardCount) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
         @Override
         public ReliableTopicConfig addMessageListenerConfig(ListenerConfig listenerConfig) {
             throw new UnsupportedOperationException("This config is read-only");
@@ -69,6 +69,9 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
     private String mergePolicy = DEFAULT_MERGE_POLICY;
 
     private List<ListenerConfig> listenerConfigs;
+    private List<MapIndexConfig> mapIndexConfigs;
+    // set when the config is read with the ID of the format carrying the index configs, see getId()
+    transient boolean indexesSerialized;
 
     public ReplicatedMapConfig() {
     }
@@ -92,6 +95,7 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
         this.asyncFillup = replicatedMapConfig.asyncFillup;
         this.statisticsEnabled = replicatedMapConfig.statisticsEnabled;
         this.mergePolicy = replicatedMapConfig.mergePolicy;
+        this.mapIndexConfigs = new ArrayList<MapIndexConfig>(replicatedMapConfig.getMapIndexConfigs());
     }
 
     /**
@@ -247,6 +251,31 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Adds an index on an attribute of the replicated map values. The indexes are maintained locally on every
+     * member and are used by the predicate queries and aggregations of
+     * {@link com.hazelcast.core.ReplicatedMap}.
+     *
+     * @param mapIndexConfig the index configuration
+     * @return this configuration
+     */
+    public ReplicatedMapConfig addMapIndexConfig(MapIndexConfig mapIndexConfig) {
+        getMapIndexConfigs().add(mapIndexConfig);
+        return this;
+    }
+
+    public List<MapIndexConfig> getMapIndexConfigs() {
+        if (mapIndexConfigs == null) {
+            mapIndexConfigs = new ArrayList<MapIndexConfig>();
+        }
+        return mapIndexConfigs;
+    }
+
+    public ReplicatedMapConfig setMapIndexConfigs(List<MapIndexConfig> mapIndexConfigs) {
+        this.mapIndexConfigs = mapIndexConfigs;
+        return this;
+    }
+
     /**
      * True if the replicated map is available for reads before the initial
      * replication is completed, false otherwise. Default is true. If false, no Exception will be
@@ -333,6 +362,7 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
                 + ", asyncFillup=" + asyncFillup
                 + ", statisticsEnabled=" + statisticsEnabled
                 + ", mergePolicy='" + mergePolicy + '\''
+                + ", mapIndexConfigs=" + mapIndexConfigs
                 + '}';
     }
 
@@ -343,7 +373,14 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
 
     @Override
     public int getId() {
-        return ConfigDataSerializerHook.REPLICATED_MAP_CONFIG;
+        // the index configs are only written with their own ID, so a config without indexes keeps the format of
+        // the members not knowing them
+        return hasMapIndexConfigs() ? ConfigDataSerializerHook.REPLICATED_MAP_CONFIG_WITH_INDEXES
+                : ConfigDataSerializerHook.REPLICATED_MAP_CONFIG;
+    }
+
+    private boolean hasMapIndexConfigs() {
+        return mapIndexConfigs != null && !mapIndexConfigs.isEmpty();
     }
 
     @Override
@@ -354,6 +391,9 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
         out.writeBoolean(statisticsEnabled);
         out.writeUTF(mergePolicy);
         writeNullableList(listenerConfigs, out);
+        if (hasMapIndexConfigs()) {
+            writeNullableList(mapIndexConfigs, out);
+        }
     }
 
     @Override
@@ -364,6 +404,9 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
         statisticsEnabled = in.readBoolean();
         mergePolicy = in.readUTF();
         listenerConfigs = readNullableList(in);
+        if (indexesSerialized) {
+            mapIndexConfigs = readNullableList(in);
+        }
     }
 
     @Override
@@ -392,6 +435,9 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
         if (mergePolicy != null ? !mergePolicy.equals(that.mergePolicy) : that.mergePolicy != null) {
             return false;
         }
+        if (!getMapIndexConfigs().equals(that.getMapIndexConfigs())) {
+            return false;
+        }
         return listenerConfigs != null ? listenerConfigs.equals(that.listenerConfigs) : that.listenerConfigs == null;
     }
 
@@ -404,6 +450,7 @@ public class ReplicatedMapConfig implements IdentifiedDataSerializable {
         result = 31 * result + (statisticsEnabled ? 1 : 0);
         result = 31 * result + (mergePolicy != null ? mergePolicy.hashCode() : 0);
         result = 31 * result + (listenerConfigs != null ? listenerConfigs.hashCode() : 0);
+        result = 31 * result + getMapIndexConfigs().hashCode();
         return result;
     }
 }
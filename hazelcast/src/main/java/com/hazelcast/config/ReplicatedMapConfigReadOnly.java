@@ -16,6 +16,8 @@
 
 package com.hazelcast.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -72,4 +74,24 @@ class ReplicatedMapConfigReadOnly extends ReplicatedMapConfig {
     public ReplicatedMapConfig setMergePolicy(String mergePolicy) {
         throw new UnsupportedOperationException("This config is read-only");
     }
+
+    @Override
+    public List<MapIndexConfig> getMapIndexConfigs() {
+        List<MapIndexConfig> mapIndexConfigs = super.getMapIndexConfigs();
+        List<MapIndexConfig> readOnlyMapIndexConfigs = new ArrayList<MapIndexConfig>(mapIndexConfigs.size());
+        for (MapIndexConfig mapIndexConfig : mapIndexConfigs) {
+            readOnlyMapIndexConfigs.add(mapIndexConfig.getAsReadOnly());
+        }
+        return Collections.unmodifiableList(readOnlyMapIndexConfigs);
+    }
+
+    @Override
+    public ReplicatedMapConfig addMapIndexConfig(MapIndexConfig mapIndexConfig) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
+    @Override
+    public ReplicatedMapConfig setMapIndexConfigs(List<MapIndexConfig> mapIndexConfigs) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
 }
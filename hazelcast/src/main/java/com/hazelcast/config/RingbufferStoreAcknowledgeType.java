@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.config;
+
+/**
+ * Determines when an item added to a ringbuffer with a write-behind {@link com.hazelcast.core.RingbufferStore}
+ * is acknowledged to the caller.
+ *
+ * @see RingbufferStoreConfig#setWriteBehindAcknowledgeType(RingbufferStoreAcknowledgeType)
+ */
+public enum RingbufferStoreAcknowledgeType {
+
+    /**
+     * ACK after the item has been added to the in-memory ringbuffer (without waiting for the ringbuffer store).
+     */
+    MEMORY(0),
+
+    /**
+     * ACK after the item has been written to the ringbuffer store by the write-behind flusher.
+     * The partition thread is not blocked while the item is waiting to be stored.
+     */
+    STORED(1);
+
+    private final int id;
+
+    RingbufferStoreAcknowledgeType(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the ID for the given {@link RingbufferStoreAcknowledgeType}.
+     * <p>
+     * This reason this ID is used instead of an the ordinal value is that the ordinal value is more prone to changes due to
+     * reordering.
+     *
+     * @return the ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the {@link RingbufferStoreAcknowledgeType} for the given ID.
+     *
+     * @return the {@link RingbufferStoreAcknowledgeType} found or {@code null} if not found
+     */
+    public static RingbufferStoreAcknowledgeType getById(final int id) {
+        for (RingbufferStoreAcknowledgeType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
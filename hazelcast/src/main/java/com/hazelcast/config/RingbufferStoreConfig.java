@@ -25,6 +25,8 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import java.io.IOException;
 import java.util.Properties;
 
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 import static com.hazelcast.util.Preconditions.isNotNull;
 
 /**
@@ -32,13 +34,30 @@ import static com.hazelcast.util.Preconditions.isNotNull;
  */
 public class RingbufferStoreConfig implements IdentifiedDataSerializable {
 
+    /**
+     * Default maximum number of items waiting to be written by the write-behind store.
+     */
+    public static final int DEFAULT_WRITE_BEHIND_QUEUE_CAPACITY = 10000;
+
+    /**
+     * Default maximum number of items written by the write-behind store in a single
+     * {@link RingbufferStore#storeAll(long, Object[])} call.
+     */
+    public static final int DEFAULT_WRITE_BEHIND_BATCH_SIZE = 1000;
+
     private boolean enabled = true;
     private String className;
     private String factoryClassName;
     private Properties properties = new Properties();
     private RingbufferStore storeImplementation;
     private RingbufferStoreFactory factoryImplementation;
+    private boolean writeBehindEnabled;
+    private int writeBehindQueueCapacity = DEFAULT_WRITE_BEHIND_QUEUE_CAPACITY;
+    private int writeBehindBatchSize = DEFAULT_WRITE_BEHIND_BATCH_SIZE;
+    private RingbufferStoreAcknowledgeType writeBehindAcknowledgeType = RingbufferStoreAcknowledgeType.MEMORY;
     private transient RingbufferStoreConfigReadOnly readOnly;
+    // set when the config is read with the ID of the format carrying the write-behind settings, see getId()
+    transient boolean writeBehindSerialized;
 
     public RingbufferStoreConfig() {
     }
@@ -50,6 +69,10 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
         factoryClassName = config.getFactoryClassName();
         factoryImplementation = config.getFactoryImplementation();
         properties.putAll(config.getProperties());
+        writeBehindEnabled = config.isWriteBehindEnabled();
+        writeBehindQueueCapacity = config.getWriteBehindQueueCapacity();
+        writeBehindBatchSize = config.getWriteBehindBatchSize();
+        writeBehindAcknowledgeType = config.getWriteBehindAcknowledgeType();
     }
 
     public RingbufferStore getStoreImplementation() {
@@ -115,11 +138,83 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    public boolean isWriteBehindEnabled() {
+        return writeBehindEnabled;
+    }
+
+    /**
+     * Enables or disables the write-behind mode. In write-behind mode the items added to the ringbuffer are
+     * queued and written to the ringbuffer store by a background flusher, so the partition thread does not
+     * wait for the store. Consecutive queued items are written in a single
+     * {@link RingbufferStore#storeAll(long, Object[])} call. Items which could not be written are logged and
+     * dropped.
+     *
+     * @param writeBehindEnabled {@code true} to enable the write-behind mode
+     * @return the updated config
+     */
+    public RingbufferStoreConfig setWriteBehindEnabled(boolean writeBehindEnabled) {
+        this.writeBehindEnabled = writeBehindEnabled;
+        return this;
+    }
+
+    public int getWriteBehindQueueCapacity() {
+        return writeBehindQueueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of items waiting to be written by the write-behind store. When the queue is full,
+     * the thread adding an item writes the oldest queued items itself before the item is queued.
+     *
+     * @param writeBehindQueueCapacity the maximum number of queued items
+     * @return the updated config
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public RingbufferStoreConfig setWriteBehindQueueCapacity(int writeBehindQueueCapacity) {
+        this.writeBehindQueueCapacity = checkPositive(writeBehindQueueCapacity, "writeBehindQueueCapacity must be positive");
+        return this;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of items written by the write-behind store in a single
+     * {@link RingbufferStore#storeAll(long, Object[])} call.
+     *
+     * @param writeBehindBatchSize the maximum batch size
+     * @return the updated config
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public RingbufferStoreConfig setWriteBehindBatchSize(int writeBehindBatchSize) {
+        this.writeBehindBatchSize = checkPositive(writeBehindBatchSize, "writeBehindBatchSize must be positive");
+        return this;
+    }
+
+    public RingbufferStoreAcknowledgeType getWriteBehindAcknowledgeType() {
+        return writeBehindAcknowledgeType;
+    }
+
+    /**
+     * Sets when an item added in write-behind mode is acknowledged to the caller.
+     *
+     * @param writeBehindAcknowledgeType the acknowledge type
+     * @return the updated config
+     */
+    public RingbufferStoreConfig setWriteBehindAcknowledgeType(RingbufferStoreAcknowledgeType writeBehindAcknowledgeType) {
+        this.writeBehindAcknowledgeType = checkNotNull(writeBehindAcknowledgeType, "writeBehindAcknowledgeType can't be null");
+        return this;
+    }
+
     public String toString() {
         return "RingbufferStoreConfig{"
                 + "enabled=" + enabled
                 + ", className='" + className + '\''
                 + ", properties=" + properties
+                + ", writeBehindEnabled=" + writeBehindEnabled
+                + ", writeBehindQueueCapacity=" + writeBehindQueueCapacity
+                + ", writeBehindBatchSize=" + writeBehindBatchSize
+                + ", writeBehindAcknowledgeType=" + writeBehindAcknowledgeType
                 + '}';
     }
 
@@ -143,7 +238,17 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
 
     @Override
     public int getId() {
-        return ConfigDataSerializerHook.RINGBUFFER_STORE_CONFIG;
+        // the write-behind settings are only written with their own ID, so a config with the default settings keeps
+        // the format of the members not knowing them
+        return hasWriteBehindSettings() ? ConfigDataSerializerHook.RINGBUFFER_STORE_CONFIG_WITH_WRITE_BEHIND
+                : ConfigDataSerializerHook.RINGBUFFER_STORE_CONFIG;
+    }
+
+    private boolean hasWriteBehindSettings() {
+        return writeBehindEnabled
+                || writeBehindQueueCapacity != DEFAULT_WRITE_BEHIND_QUEUE_CAPACITY
+                || writeBehindBatchSize != DEFAULT_WRITE_BEHIND_BATCH_SIZE
+                || writeBehindAcknowledgeType != RingbufferStoreAcknowledgeType.MEMORY;
     }
 
     @Override
@@ -154,6 +259,12 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
         out.writeObject(properties);
         out.writeObject(storeImplementation);
         out.writeObject(factoryImplementation);
+        if (hasWriteBehindSettings()) {
+            out.writeBoolean(writeBehindEnabled);
+            out.writeInt(writeBehindQueueCapacity);
+            out.writeInt(writeBehindBatchSize);
+            out.writeInt(writeBehindAcknowledgeType.getId());
+        }
     }
 
     @Override
@@ -164,6 +275,12 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
         properties = in.readObject();
         storeImplementation = in.readObject();
         factoryImplementation = in.readObject();
+        if (writeBehindSerialized) {
+            writeBehindEnabled = in.readBoolean();
+            writeBehindQueueCapacity = in.readInt();
+            writeBehindBatchSize = in.readInt();
+            writeBehindAcknowledgeType = RingbufferStoreAcknowledgeType.getById(in.readInt());
+        }
     }
 
     @Override
@@ -181,6 +298,18 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
         if (enabled != that.enabled) {
             return false;
         }
+        if (writeBehindEnabled != that.writeBehindEnabled) {
+            return false;
+        }
+        if (writeBehindQueueCapacity != that.writeBehindQueueCapacity) {
+            return false;
+        }
+        if (writeBehindBatchSize != that.writeBehindBatchSize) {
+            return false;
+        }
+        if (writeBehindAcknowledgeType != that.writeBehindAcknowledgeType) {
+            return false;
+        }
         if (className != null ? !className.equals(that.className) : that.className != null) {
             return false;
         }
@@ -208,6 +337,10 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
         result = 31 * result + (properties != null ? properties.hashCode() : 0);
         result = 31 * result + (storeImplementation != null ? storeImplementation.hashCode() : 0);
         result = 31 * result + (factoryImplementation != null ? factoryImplementation.hashCode() : 0);
+        result = 31 * result + (writeBehindEnabled ? 1 : 0);
+        result = 31 * result + writeBehindQueueCapacity;
+        result = 31 * result + writeBehindBatchSize;
+        result = 31 * result + writeBehindAcknowledgeType.hashCode();
         return result;
     }
 
@@ -254,5 +387,25 @@ public class RingbufferStoreConfig implements IdentifiedDataSerializable {
         public RingbufferStoreConfig setFactoryImplementation(RingbufferStoreFactory factoryImplementation) {
             throw new UnsupportedOperationException("This config is read-only.");
         }
+
+        @Override
+        public RingbufferStoreConfig setWriteBehindEnabled(boolean writeBehindEnabled) {
+            throw new UnsupportedOperationException("This config is read-only.");
+        }
+
+        @Override
+        public RingbufferStoreConfig setWriteBehindQueueCapacity(int writeBehindQueueCapacity) {
+            throw new UnsupportedOperationException("This config is read-only.");
+        }
+
+        @Override
+        public RingbufferStoreConfig setWriteBehindBatchSize(int writeBehindBatchSize) {
+            throw new UnsupportedOperationException("This config is read-only.");
+        }
+
+        @Override
+        public RingbufferStoreConfig setWriteBehindAcknowledgeType(RingbufferStoreAcknowledgeType writeBehindAcknowledgeType) {
+            throw new UnsupportedOperationException("This config is read-only.");
+        }
     }
 }
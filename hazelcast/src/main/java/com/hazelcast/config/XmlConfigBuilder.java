@@ -66,6 +66,7 @@ import static com.hazelcast.config.XmlElements.CARDINALITY_ESTIMATOR;
 import static com.hazelcast.config.XmlElements.DURABLE_EXECUTOR_SERVICE;
 import static com.hazelcast.config.XmlElements.EVENT_JOURNAL;
 import static com.hazelcast.config.XmlElements.EXECUTOR_SERVICE;
+import static com.hazelcast.config.XmlElements.FLAKE_ID_GENERATOR;
 import static com.hazelcast.config.XmlElements.GROUP;
 import static com.hazelcast.config.XmlElements.HOT_RESTART_PERSISTENCE;
 import static com.hazelcast.config.XmlElements.IMPORT;
@@ -363,6 +364,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
             handleTopic(node);
         } else if (RELIABLE_TOPIC.isEqual(nodeName)) {
             handleReliableTopic(node);
+        } else if (FLAKE_ID_GENERATOR.isEqual(nodeName)) {
+            handleFlakeIdGenerator(node);
         } else if (CACHE.isEqual(nodeName)) {
             handleCache(node);
         } else if (NATIVE_MEMORY.isEqual(nodeName)) {
@@ -1039,6 +1042,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 qConfig.setQuorumName(value);
             } else if ("empty-queue-ttl".equals(nodeName)) {
                 qConfig.setEmptyQueueTtl(getIntegerValue("empty-queue-ttl", value));
+            } else if ("shard-count".equals(nodeName)) {
+                qConfig.setShardCount(getIntegerValue("shard-count", value));
             }
         }
         this.config.addQueueConfig(qConfig);
@@ -1134,6 +1139,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 multiMapConfig.setStatisticsEnabled(getBooleanValue(value));
             } else if ("binary".equals(nodeName)) {
                 multiMapConfig.setBinary(getBooleanValue(value));
+            } else if ("value-index-enabled".equals(nodeName)) {
+                multiMapConfig.setValueIndexEnabled(getBooleanValue(value));
             }
         }
         this.config.addMultiMapConfig(multiMapConfig);
@@ -1171,6 +1178,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 }
             } else if ("merge-policy".equals(nodeName)) {
                 replicatedMapConfig.setMergePolicy(value);
+            } else if ("indexes".equals(nodeName)) {
+                replicatedMapIndexesHandle(n, replicatedMapConfig);
             }
         }
         this.config.addReplicatedMapConfig(replicatedMapConfig);
@@ -1553,6 +1562,17 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
         }
     }
 
+    private void replicatedMapIndexesHandle(Node n, ReplicatedMapConfig replicatedMapConfig) {
+        for (Node indexNode : childElements(n)) {
+            if ("index".equals(cleanNodeName(indexNode))) {
+                NamedNodeMap attrs = indexNode.getAttributes();
+                boolean ordered = getBooleanValue(getTextContent(attrs.getNamedItem("ordered")));
+                String attribute = getTextContent(indexNode);
+                replicatedMapConfig.addMapIndexConfig(new MapIndexConfig(attribute, ordered));
+            }
+        }
+    }
+
     private void queryCacheIndexesHandle(Node n, QueryCacheConfig queryCacheConfig) {
         for (Node indexNode : childElements(n)) {
             if ("index".equals(cleanNodeName(indexNode))) {
@@ -1745,12 +1765,32 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 config.setFactoryClassName(getTextContent(n).trim());
             } else if ("properties".equals(nodeName)) {
                 fillProperties(n, config.getProperties());
+            } else if ("write-behind".equals(nodeName)) {
+                handleRingbufferStoreWriteBehind(n, config);
             }
 
         }
         return config;
     }
 
+    private void handleRingbufferStoreWriteBehind(Node node, RingbufferStoreConfig config) {
+        final NamedNodeMap atts = node.getAttributes();
+        for (int a = 0; a < atts.getLength(); a++) {
+            Node att = atts.item(a);
+            String name = att.getNodeName();
+            String value = getTextContent(att).trim();
+            if ("enabled".equals(name)) {
+                config.setWriteBehindEnabled(getBooleanValue(value));
+            } else if ("queue-capacity".equals(name)) {
+                config.setWriteBehindQueueCapacity(getIntegerValue(name, value));
+            } else if ("batch-size".equals(name)) {
+                config.setWriteBehindBatchSize(getIntegerValue(name, value));
+            } else if ("acknowledge-type".equals(name)) {
+                config.setWriteBehindAcknowledgeType(RingbufferStoreAcknowledgeType.valueOf(upperCaseInternal(value)));
+            }
+        }
+    }
+
     private QueueStoreConfig createQueueStoreConfig(Node node) {
         QueueStoreConfig queueStoreConfig = new QueueStoreConfig();
         NamedNodeMap atts = node.getAttributes();
@@ -1870,6 +1910,8 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
             } else if ("topic-overload-policy".equals(nodeName)) {
                 TopicOverloadPolicy topicOverloadPolicy = TopicOverloadPolicy.valueOf(upperCaseInternal(getTextContent(n)));
                 topicConfig.setTopicOverloadPolicy(topicOverloadPolicy);
+            } else if ("shard-count".equals(nodeName)) {
+                topicConfig.setShardCount(getIntegerValue("shard-count", getTextContent(n)));
             } else if ("message-listeners".equals(nodeName)) {
                 for (Node listenerNode : childElements(n)) {
                     if ("message-listener".equals(cleanNodeName(listenerNode))) {
@@ -1881,6 +1923,26 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
         config.addReliableTopicConfig(topicConfig);
     }
 
+    private void handleFlakeIdGenerator(Node node) {
+        Node attName = node.getAttributes().getNamedItem("name");
+        String name = getTextContent(attName);
+        FlakeIdGeneratorConfig generatorConfig = new FlakeIdGeneratorConfig(name);
+        for (Node n : childElements(node)) {
+            String nodeName = cleanNodeName(n);
+            String value = getTextContent(n).trim();
+            if ("prefetch-count".equals(nodeName)) {
+                generatorConfig.setPrefetchCount(getIntegerValue("prefetch-count", value));
+            } else if ("prefetch-validity-millis".equals(nodeName)) {
+                generatorConfig.setPrefetchValidityMillis(getLongValue("prefetch-validity-millis", value));
+            } else if ("id-offset".equals(nodeName)) {
+                generatorConfig.setIdOffset(getLongValue("id-offset", value));
+            } else if ("node-id-offset".equals(nodeName)) {
+                generatorConfig.setNodeIdOffset(getLongValue("node-id-offset", value));
+            }
+        }
+        config.addFlakeIdGeneratorConfig(generatorConfig);
+    }
+
     private void handleJobTracker(Node node) {
         Node attName = node.getAttributes().getNamedItem("name");
         String name = getTextContent(attName);
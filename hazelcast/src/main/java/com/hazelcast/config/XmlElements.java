@@ -40,6 +40,7 @@ enum XmlElements {
     SET("set", true),
     TOPIC("topic", true),
     RELIABLE_TOPIC("reliable-topic", true),
+    FLAKE_ID_GENERATOR("flake-id-generator", true),
     JOB_TRACKER("jobtracker", true),
     SEMAPHORE("semaphore", true),
     LOCK("lock", true),
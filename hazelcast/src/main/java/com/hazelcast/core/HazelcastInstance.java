@@ -19,8 +19,10 @@ package com.hazelcast.core;
 import com.hazelcast.cardinality.CardinalityEstimator;
 import com.hazelcast.config.Config;
 import com.hazelcast.durableexecutor.DurableExecutorService;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.mapreduce.JobTracker;
+import com.hazelcast.pncounter.PNCounter;
 import com.hazelcast.quorum.QuorumService;
 import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
 import com.hazelcast.ringbuffer.Ringbuffer;
@@ -262,6 +264,30 @@ public interface HazelcastInstance {
      */
     IdGenerator getIdGenerator(String name);
 
+    /**
+     * Creates a cluster-wide unique ID generator. Generated IDs are {@code long} primitive values and are k-ordered
+     * (roughly ordered). IDs are in the range from {@code 0} to {@code Long.MAX_VALUE}.
+     * <p>
+     * The IDs contain a timestamp component and a node ID component, which is assigned when the member first
+     * creates a flake ID generator. This allows the IDs to be ordered and unique without any coordination between
+     * members. See {@link FlakeIdGenerator} for the details.
+     *
+     * @param name name of the {@link FlakeIdGenerator}
+     * @return FlakeIdGenerator for the given name
+     */
+    FlakeIdGenerator getFlakeIdGenerator(String name);
+
+    /**
+     * Creates a cluster-wide PN counter, a counter which can be incremented and decremented without any
+     * coordination between members. Every member accumulates its own updates locally and the members
+     * periodically replicate their state to each other, so the value is eventually consistent.
+     * See {@link PNCounter} for the details.
+     *
+     * @param name name of the {@link PNCounter}
+     * @return PNCounter for the given name
+     */
+    PNCounter getPNCounter(String name);
+
     /**
      * Creates cluster-wide atomic long. Hazelcast {@link IAtomicLong} is distributed
      * implementation of <tt>java.util.concurrent.atomic.AtomicLong</tt>.
@@ -97,6 +97,49 @@ public interface MultiMap<K, V>
      */
     Collection<V> get(K key);
 
+    /**
+     * Stores all given values under the key in a single operation.
+     * <p/>
+     * The values are added in iteration order of the given collection. Values which are already associated
+     * with the key are skipped if the value collection type of the multimap is SET.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * <p>
+     * This method uses <tt>hashCode</tt> and <tt>equals</tt> of the binary form of
+     * the <tt>key</tt>, not the actual implementations of <tt>hashCode</tt> and <tt>equals</tt>
+     * defined in the <tt>key</tt>'s class.
+     * </p>
+     *
+     * @param key    the key to store the values under
+     * @param values the values to be stored
+     * @return true if the size of the multimap is increased, false otherwise
+     * @since 3.10
+     */
+    boolean putAll(K key, Collection<? extends V> values);
+
+    /**
+     * Returns the collections of values associated with the given keys.
+     * <p/>
+     * The keys are grouped by partition and fetched with a single invocation per member, instead of one
+     * invocation per key. Keys which are not contained in the multimap are not contained in the returned map.
+     * <p/>
+     * <p><b>Warning:</b></p>
+     * <p>
+     * This method uses <tt>hashCode</tt> and <tt>equals</tt> of the binary form of
+     * the <tt>keys</tt>, not the actual implementations of <tt>hashCode</tt> and <tt>equals</tt>
+     * defined in the <tt>key</tt>'s class.
+     * </p>
+     * <p/>
+     * <p><b>Warning-2:</b></p>
+     * The returned map and collections are <b>NOT</b> backed by the multimap,
+     * so changes to the multimap are <b>NOT</b> reflected in them, and vice-versa.
+     *
+     * @param keys the keys whose associated values are to be returned
+     * @return the map of the keys to the collections of their associated values
+     * @since 3.10
+     */
+    Map<K, Collection<V>> getAll(Set<K> keys);
+
     /**
      * Removes the given key value pair from the multimap.
      * <p/>
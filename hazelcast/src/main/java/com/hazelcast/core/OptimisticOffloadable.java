@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.map.EntryProcessor;
+
+/**
+ * Marks an {@link Offloadable} processing unit which should be executed optimistically, without locking the key.
+ * <p>
+ * A modifying offloadable {@link EntryProcessor} normally locks the key for the time-span of the off-loaded processing,
+ * so concurrent operations on a hot key queue up behind the lock. If the entry processor implements this interface,
+ * the key is not locked: the processor is applied to a snapshot of the entry and its result is committed only if the
+ * entry has not been modified in the meantime. On a conflict the processor is applied again to the new value of the
+ * entry, so it may be invoked more than once and should not have side-effects outside of the entry. If the conflicts
+ * keep occurring, the processor is eventually executed on the partition thread.
+ * <p>
+ * Currently supported in:
+ * <ul>
+ * <li>{@link EntryProcessor} passed to {@link IMap#executeOnKey(Object, EntryProcessor)}</li>
+ * <li>{@link EntryProcessor} passed to {@link IMap#submitToKey(Object, EntryProcessor)} </li>
+ * <li>{@link EntryProcessor} passed to {@link IMap#submitToKey(Object, EntryProcessor, ExecutionCallback)} </li>
+ * </ul>
+ *
+ * @see Offloadable
+ * @see ReadOnly
+ */
+public interface OptimisticOffloadable extends Offloadable {
+}
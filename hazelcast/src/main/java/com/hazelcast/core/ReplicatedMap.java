@@ -16,6 +16,7 @@
 
 package com.hazelcast.core;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.monitor.LocalReplicatedMapStats;
 import com.hazelcast.query.Predicate;
 
@@ -222,6 +223,65 @@ public interface ReplicatedMap<K, V> extends Map<K, V>, DistributedObject {
      */
     Set<K> keySet();
 
+    /**
+     * Returns the keys of the entries matching the given predicate. The predicate is evaluated locally against
+     * the replica of this member, no remote calls are made. The indexes configured by
+     * {@link com.hazelcast.config.ReplicatedMapConfig#addMapIndexConfig(com.hazelcast.config.MapIndexConfig)}
+     * are used when the predicate supports them.<br/>
+     * The returned set is <b>NOT</b> backed by the map. Since the replication is asynchronous, the result
+     * may not reflect updates recently done on other members. Predicates of type
+     * {@link com.hazelcast.query.PagingPredicate} are not supported.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @return the keys of the matching entries
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     * @since 3.10
+     */
+    Set<K> keySet(Predicate<K, V> predicate);
+
+    /**
+     * Returns the values of the entries matching the given predicate. The predicate is evaluated locally, see
+     * {@link #keySet(Predicate)}.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @return the values of the matching entries
+     * @since 3.10
+     */
+    Collection<V> values(Predicate<K, V> predicate);
+
+    /**
+     * Returns the entries matching the given predicate. The predicate is evaluated locally, see
+     * {@link #keySet(Predicate)}.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @return the matching entries
+     * @since 3.10
+     */
+    Set<Entry<K, V>> entrySet(Predicate<K, V> predicate);
+
+    /**
+     * Applies the aggregation logic on all entries of the local replica and returns the result.
+     * The given aggregator instance is not modified, the aggregation is done on a copy of it.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @since 3.10
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator);
+
+    /**
+     * Applies the aggregation logic on the entries of the local replica matching the given predicate and returns
+     * the result. The predicate is evaluated locally, see {@link #keySet(Predicate)}.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param predicate  predicate to filter the entries with
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @since 3.10
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate);
+
     /**
      * Returns LocalReplicatedMapStats for this replicated map.
      * LocalReplicatedMapStats is the statistics for the local
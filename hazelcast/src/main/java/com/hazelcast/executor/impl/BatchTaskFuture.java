@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor.impl;
+
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.executor.CompletedFuture;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The future of a single task sent in a batch by {@link ExecutorServiceProxy#submitAll(java.util.Collection)}.
+ * It completes together with the other tasks of the batch. Tasks of a batch can not be cancelled.
+ *
+ * @param <V> the result type of the task
+ */
+final class BatchTaskFuture<V> implements Future<V> {
+
+    private final InternalCompletableFuture<TaskBatchResponse> batchFuture;
+    private final int index;
+    private final SerializationService serializationService;
+
+    BatchTaskFuture(InternalCompletableFuture<TaskBatchResponse> batchFuture, int index,
+                    SerializationService serializationService) {
+        this.batchFuture = batchFuture;
+        this.index = index;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return batchFuture.isDone();
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+        return resolve(batchFuture.get());
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return resolve(batchFuture.get(timeout, unit));
+    }
+
+    private V resolve(TaskBatchResponse response) throws InterruptedException, ExecutionException {
+        return new CompletedFuture<V>(serializationService, response.getResult(index), null).get();
+    }
+}
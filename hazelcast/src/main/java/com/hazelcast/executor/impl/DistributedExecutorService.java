@@ -17,13 +17,18 @@
 package com.hazelcast.executor.impl;
 
 import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.core.DistributedObject;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.LocalExecutorStats;
 import com.hazelcast.monitor.impl.LocalExecutorStatsImpl;
+import com.hazelcast.nio.Address;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.LiveOperations;
 import com.hazelcast.spi.LiveOperationsTracker;
 import com.hazelcast.spi.ManagedService;
+import com.hazelcast.spi.MemberAttributeServiceEvent;
+import com.hazelcast.spi.MembershipAwareService;
+import com.hazelcast.spi.MembershipServiceEvent;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.RemoteService;
@@ -46,7 +51,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 public class DistributedExecutorService implements ManagedService, RemoteService, LiveOperationsTracker,
-        StatisticsAwareService<LocalExecutorStats> {
+        StatisticsAwareService<LocalExecutorStats>, MembershipAwareService {
 
     public static final String SERVICE_NAME = "hz:impl:executorService";
 
@@ -74,12 +79,14 @@ public class DistributedExecutorService implements ManagedService, RemoteService
     };
 
     private ILogger logger;
+    private TaskBatchExecutor taskBatchExecutor;
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
         this.nodeEngine = nodeEngine;
         this.executionService = nodeEngine.getExecutionService();
         this.logger = nodeEngine.getLogger(DistributedExecutorService.class);
+        this.taskBatchExecutor = new TaskBatchExecutor(nodeEngine, this);
     }
 
     @Override
@@ -88,6 +95,7 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         submittedTasks.clear();
         statsMap.clear();
         executorConfigCache.clear();
+        taskBatchExecutor.reset();
     }
 
     @Override
@@ -119,6 +127,10 @@ public class DistributedExecutorService implements ManagedService, RemoteService
         }
     }
 
+    public TaskBatchExecutor getTaskBatchExecutor() {
+        return taskBatchExecutor;
+    }
+
     public boolean cancel(String uuid, boolean interrupt) {
         CallableProcessor processor = submittedTasks.remove(uuid);
         if (processor != null && processor.cancel(interrupt)) {
@@ -134,6 +146,7 @@ public class DistributedExecutorService implements ManagedService, RemoteService
 
     public void shutdownExecutor(String name) {
         executionService.shutdownExecutor(name);
+        taskBatchExecutor.shutdown(name);
         shutdownExecutors.add(name);
         executorConfigCache.remove(name);
     }
@@ -151,6 +164,7 @@ public class DistributedExecutorService implements ManagedService, RemoteService
     public void destroyDistributedObject(String name) {
         shutdownExecutors.remove(name);
         executionService.shutdownExecutor(name);
+        taskBatchExecutor.shutdown(name);
         statsMap.remove(name);
         executorConfigCache.remove(name);
     }
@@ -181,6 +195,24 @@ public class DistributedExecutorService implements ManagedService, RemoteService
             Operation op = processor.op;
             liveOperations.add(op.getCallerAddress(), op.getCallId());
         }
+        taskBatchExecutor.populate(liveOperations);
+    }
+
+    @Override
+    public void memberAdded(MembershipServiceEvent event) {
+    }
+
+    @Override
+    public void memberRemoved(MembershipServiceEvent event) {
+        Address address = event.getMember().getAddress();
+        taskBatchExecutor.memberRemoved(address);
+        for (DistributedObject proxy : nodeEngine.getProxyService().getDistributedObjects(SERVICE_NAME)) {
+            ((ExecutorServiceProxy) proxy).memberRemoved(address);
+        }
+    }
+
+    @Override
+    public void memberAttributeChanged(MemberAttributeServiceEvent event) {
     }
 
     @Override
@@ -198,7 +230,7 @@ public class DistributedExecutorService implements ManagedService, RemoteService
      * @param name
      * @return
      */
-    private ExecutorConfig getOrFindExecutorConfig(String name) {
+    ExecutorConfig getOrFindExecutorConfig(String name) {
         ExecutorConfig cfg = executorConfigCache.get(name);
         if (cfg != null) {
             return cfg;
@@ -18,8 +18,11 @@ package com.hazelcast.executor.impl;
 
 import com.hazelcast.executor.impl.operations.CallableTaskOperation;
 import com.hazelcast.executor.impl.operations.CancellationOperation;
+import com.hazelcast.executor.impl.operations.MemberCallableTaskBatchOperation;
 import com.hazelcast.executor.impl.operations.MemberCallableTaskOperation;
 import com.hazelcast.executor.impl.operations.ShutdownOperation;
+import com.hazelcast.executor.impl.operations.StealTasksOperation;
+import com.hazelcast.executor.impl.operations.StolenTaskResultsOperation;
 import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -37,6 +40,11 @@ public class ExecutorDataSerializerHook implements DataSerializerHook {
     public static final int RUNNABLE_ADAPTER = 2;
     public static final int CANCELLATION = 3;
     public static final int SHUTDOWN = 4;
+    public static final int MEMBER_CALLABLE_TASK_BATCH = 5;
+    public static final int TASK_BATCH_RESPONSE = 6;
+    public static final int STEAL_TASKS = 7;
+    public static final int STOLEN_TASKS = 8;
+    public static final int STOLEN_TASK_RESULTS = 9;
 
     @Override
     public int getFactoryId() {
@@ -59,6 +67,16 @@ public class ExecutorDataSerializerHook implements DataSerializerHook {
                         return new CancellationOperation();
                     case SHUTDOWN:
                         return new ShutdownOperation();
+                    case MEMBER_CALLABLE_TASK_BATCH:
+                        return new MemberCallableTaskBatchOperation();
+                    case TASK_BATCH_RESPONSE:
+                        return new TaskBatchResponse();
+                    case STEAL_TASKS:
+                        return new StealTasksOperation();
+                    case STOLEN_TASKS:
+                        return new StolenTasks();
+                    case STOLEN_TASK_RESULTS:
+                        return new StolenTaskResultsOperation();
                     default:
                         return null;
                 }
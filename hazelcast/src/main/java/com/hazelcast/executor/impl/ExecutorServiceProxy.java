@@ -58,6 +58,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.logging.Level;
 
+import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
 import static com.hazelcast.util.FutureUtil.ExceptionHandler;
 import static com.hazelcast.util.FutureUtil.logAllExceptions;
 import static com.hazelcast.util.FutureUtil.waitWithDeadline;
@@ -71,6 +72,11 @@ public class ExecutorServiceProxy
     public static final int SYNC_FREQUENCY = 100;
     public static final int SYNC_DELAY_MS = 10;
 
+    /**
+     * The maximum number of tasks sent to a member in a single operation by {@link #submitAll(Collection)}.
+     */
+    public static final int TASK_BATCH_SIZE = 1000;
+
     private static final AtomicIntegerFieldUpdater<ExecutorServiceProxy> CONSECUTIVE_SUBMITS = AtomicIntegerFieldUpdater
             .newUpdater(ExecutorServiceProxy.class, "consecutiveSubmits");
 
@@ -81,6 +87,7 @@ public class ExecutorServiceProxy
     private final Random random = new Random(-System.currentTimeMillis());
     private final int partitionCount;
     private final ILogger logger;
+    private final TaskBatchSubmitter batchSubmitter;
 
     // This field is never accessed directly but by the CONSECUTIVE_SUBMITS above
     private volatile int consecutiveSubmits;
@@ -92,14 +99,14 @@ public class ExecutorServiceProxy
         this.name = name;
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
         this.logger = nodeEngine.getLogger(ExecutorServiceProxy.class);
+        this.batchSubmitter = new TaskBatchSubmitter(name, nodeEngine);
         getLocalExecutorStats();
     }
 
     @Override
     public void execute(Runnable command, MemberSelector memberSelector) {
         List<Member> members = selectMembers(memberSelector);
-        int selectedMember = random.nextInt(members.size());
-        executeOnMember(command, members.get(selectedMember));
+        executeOnMember(command, selectMember(members));
     }
 
     @Override
@@ -111,8 +118,7 @@ public class ExecutorServiceProxy
     @Override
     public <T> Future<T> submit(Callable<T> task, MemberSelector memberSelector) {
         List<Member> members = selectMembers(memberSelector);
-        int selectedMember = random.nextInt(members.size());
-        return submitToMember(task, members.get(selectedMember));
+        return submitToMember(task, selectMember(members));
     }
 
     @Override
@@ -124,8 +130,7 @@ public class ExecutorServiceProxy
     @Override
     public void submit(Runnable task, MemberSelector memberSelector, ExecutionCallback callback) {
         List<Member> members = selectMembers(memberSelector);
-        int selectedMember = random.nextInt(members.size());
-        submitToMember(task, members.get(selectedMember), callback);
+        submitToMember(task, selectMember(members), callback);
     }
 
     @Override
@@ -137,8 +142,7 @@ public class ExecutorServiceProxy
     @Override
     public <T> void submit(Callable<T> task, MemberSelector memberSelector, ExecutionCallback<T> callback) {
         List<Member> members = selectMembers(memberSelector);
-        int selectedMember = random.nextInt(members.size());
-        submitToMember(task, members.get(selectedMember), callback);
+        submitToMember(task, selectMember(members), callback);
     }
 
     @Override
@@ -415,6 +419,45 @@ public class ExecutorServiceProxy
         submitToMembers(task, nodeEngine.getClusterService().getMembers(), callback);
     }
 
+    /**
+     * Submits the tasks to the data members in batches of up to {@link #TASK_BATCH_SIZE} tasks per operation.
+     * <p>
+     * A {@link PartitionAware} task is sent to and run by the owner of its partition, every other task is sent to the
+     * member with the least load. The load of a member is the queue depth it advertised with its last batch response
+     * plus the tasks sent to it by this proxy which are not done yet. Members which run out of tasks steal queued tasks
+     * which are not {@link PartitionAware} from the other members, see {@link TaskBatchExecutor}.
+     * <p>
+     * The returned futures complete together with the other tasks of their batch and can not be cancelled.
+     *
+     * @param tasks the tasks to submit
+     * @param <T>   the result type of the tasks
+     * @return the futures of the tasks in the iteration order of the given collection
+     */
+    public <T> List<Future<T>> submitAll(Collection<? extends Callable<T>> tasks) {
+        checkNotNull(tasks, "tasks must not be null");
+        checkNotShutdown();
+
+        return batchSubmitter.submitAll(tasks, selectMembers(DATA_MEMBER_SELECTOR));
+    }
+
+    /**
+     * Submits the tasks to the given member in batches of up to {@link #TASK_BATCH_SIZE} tasks per operation. The
+     * tasks are run by the given member, other members do not steal them.
+     *
+     * @param tasks  the tasks to submit
+     * @param member the member to send the tasks to
+     * @param <T>    the result type of the tasks
+     * @return the futures of the tasks in the iteration order of the given collection
+     * @see #submitAll(Collection)
+     */
+    public <T> List<Future<T>> submitAllToMember(Collection<? extends Callable<T>> tasks, Member member) {
+        checkNotNull(tasks, "tasks must not be null");
+        checkNotNull(member, "member must not be null");
+        checkNotShutdown();
+
+        return batchSubmitter.submitAllToMember(tasks, member.getAddress());
+    }
+
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
             throws InterruptedException {
@@ -593,6 +636,21 @@ public class ExecutorServiceProxy
         return getNodeEngine().getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR);
     }
 
+    void memberRemoved(Address address) {
+        batchSubmitter.memberRemoved(address);
+    }
+
+    /**
+     * Selects a random member, or the least loaded member once this proxy sent task batches and knows the load of
+     * the members.
+     */
+    private Member selectMember(List<Member> members) {
+        if (batchSubmitter.isBatching()) {
+            return batchSubmitter.selectLeastLoaded(members);
+        }
+        return members.get(random.nextInt(members.size()));
+    }
+
     private List<Member> selectMembers(MemberSelector memberSelector) {
         if (memberSelector == null) {
             throw new IllegalArgumentException("memberSelector must not be null");
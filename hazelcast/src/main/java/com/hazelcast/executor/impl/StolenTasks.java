@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * The tasks handed out by a member to a member stealing work from it. Every task is identified by the ID of its batch
+ * on the victim and its index in that batch, so the results can be sent back to the victim.
+ *
+ * @see TaskBatchExecutor
+ */
+public class StolenTasks implements IdentifiedDataSerializable {
+
+    private long[] batchIds;
+    private int[] indexes;
+    private Data[] tasks;
+
+    public StolenTasks() {
+    }
+
+    public StolenTasks(long[] batchIds, int[] indexes, Data[] tasks) {
+        this.batchIds = batchIds;
+        this.indexes = indexes;
+        this.tasks = tasks;
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    public long[] getBatchIds() {
+        return batchIds;
+    }
+
+    public int[] getIndexes() {
+        return indexes;
+    }
+
+    public Data[] getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.STOLEN_TASKS;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(tasks.length);
+        for (int i = 0; i < tasks.length; i++) {
+            out.writeLong(batchIds[i]);
+            out.writeInt(indexes[i]);
+            out.writeData(tasks[i]);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        batchIds = new long[size];
+        indexes = new int[size];
+        tasks = new Data[size];
+        for (int i = 0; i < size; i++) {
+            batchIds[i] = in.readLong();
+            indexes[i] = in.readInt();
+            tasks[i] = in.readData();
+        }
+    }
+}
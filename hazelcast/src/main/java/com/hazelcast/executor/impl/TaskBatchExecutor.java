@@ -0,0 +1,599 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor.impl;
+
+import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ManagedContext;
+import com.hazelcast.core.Member;
+import com.hazelcast.executor.impl.operations.StealTasksOperation;
+import com.hazelcast.executor.impl.operations.StolenTaskResultsOperation;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.monitor.impl.LocalExecutorStatsImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.LiveOperations;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.util.EmptyStatement.ignore;
+
+/**
+ * Executes the task batches sent by {@link ExecutorServiceProxy#submitAll(Collection)}.
+ * <p>
+ * The tasks of all batches of an executor are queued in one deque on the member, bounded by the queue capacity of the
+ * executor config. The tasks which do not fit into the deque are rejected. At most as many drainers as the pool size
+ * of the executor run on the executor, each takes tasks from the head of the deque until it is empty. The response of
+ * a batch is sent once all of its tasks are done and advertises the queue depth of the member, so the submitters can
+ * send the next batches to the least loaded members.
+ * <p>
+ * When the deque of a member runs empty, the member steals up to half of the queued tasks of another member from the
+ * tail of that member's deque. Only the tasks of stealable batches are stolen, i.e. neither the tasks submitted to a
+ * given member nor {@link com.hazelcast.core.PartitionAware} tasks. Stolen tasks are not stolen again. The thief runs
+ * the stolen tasks and sends their results back, the victim completes its batches with them. If the results can not
+ * be sent, the thief sends the failure instead. If the thief leaves the cluster before it sent the results, the
+ * victim queues the stolen tasks again.
+ * <p>
+ * Once a member received its first batch, its idle executors which received batches ask one other member for tasks,
+ * at first after {@value #MIN_IDLE_STEAL_INTERVAL_MILLIS} milliseconds. The interval is doubled up to
+ * {@value #MAX_IDLE_STEAL_INTERVAL_MILLIS} milliseconds while the member does not get any tasks. Members and executors
+ * which never received batches do not poll the other members at all.
+ */
+public class TaskBatchExecutor {
+
+    /**
+     * The initial interval in which idle members ask another member for tasks.
+     */
+    static final long MIN_IDLE_STEAL_INTERVAL_MILLIS = 100;
+
+    /**
+     * The maximum interval in which idle members ask another member for tasks.
+     */
+    static final long MAX_IDLE_STEAL_INTERVAL_MILLIS = 10000;
+
+    private static final Object NULL_RESULT = new Object();
+
+    private final NodeEngine nodeEngine;
+    private final DistributedExecutorService service;
+    private final ILogger logger;
+    private final ConcurrentMap<String, TaskDeque> deques = new ConcurrentHashMap<String, TaskDeque>();
+    private final ConcurrentMap<Long, TaskBatch> batches = new ConcurrentHashMap<Long, TaskBatch>();
+    private final AtomicLong batchIdGenerator = new AtomicLong();
+    // set when this member got tasks since the last run of the idle stealer
+    private final AtomicBoolean gotTasks = new AtomicBoolean();
+    private final AtomicBoolean idleStealerStarted = new AtomicBoolean();
+    private final IdleStealer idleStealer = new IdleStealer();
+
+    TaskBatchExecutor(NodeEngine nodeEngine, DistributedExecutorService service) {
+        this.nodeEngine = nodeEngine;
+        this.service = service;
+        this.logger = nodeEngine.getLogger(TaskBatchExecutor.class);
+    }
+
+    /**
+     * Queues the tasks of a batch. The response is sent through the given operation once all tasks are done.
+     *
+     * @param name      the name of the executor
+     * @param tasks     the serialized tasks
+     * @param stealable {@code true} if other members may steal the tasks, {@code false} if they have to run on this
+     *                  member
+     * @param op        the operation which sent the batch
+     */
+    public void execute(String name, List<Data> tasks, boolean stealable, Operation op) {
+        TaskBatch batch = new TaskBatch(batchIdGenerator.incrementAndGet(), name, tasks.toArray(new Data[0]),
+                stealable, op);
+        if (tasks.isEmpty()) {
+            batch.done();
+            return;
+        }
+        batches.put(batch.id, batch);
+        enqueue(batch);
+        if (idleStealerStarted.compareAndSet(false, true)) {
+            idleStealer.schedule();
+        }
+    }
+
+    /**
+     * Takes up to half of the queued tasks of the executor, at most {@code maxTasks}, from the tail of its deque. The
+     * tasks of batches which are not stealable are skipped.
+     *
+     * @param name     the name of the executor
+     * @param maxTasks the maximum number of tasks to take
+     * @param thief    the member which runs the tasks
+     * @return the stolen tasks
+     */
+    public StolenTasks steal(String name, int maxTasks, Address thief) {
+        TaskDeque deque = deques.get(name);
+        List<BatchTask> stolen = new ArrayList<BatchTask>();
+        if (deque != null) {
+            int count = Math.min(maxTasks, deque.tasks.size() / 2);
+            Iterator<BatchTask> iterator = deque.tasks.descendingIterator();
+            while (stolen.size() < count && iterator.hasNext()) {
+                BatchTask task = iterator.next();
+                // a drainer may have taken the task in the meantime
+                if (task.batch.stealable && deque.tasks.removeLastOccurrence(task)) {
+                    if (task.batch.markStolen(task.index, thief)) {
+                        stolen.add(task);
+                    } else {
+                        deque.tasks.offerLast(task);
+                    }
+                }
+            }
+        }
+        long[] batchIds = new long[stolen.size()];
+        int[] indexes = new int[stolen.size()];
+        Data[] tasks = new Data[stolen.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            BatchTask task = stolen.get(i);
+            batchIds[i] = task.batch.id;
+            indexes[i] = task.index;
+            tasks[i] = task.batch.tasks[task.index];
+        }
+        return new StolenTasks(batchIds, indexes, tasks);
+    }
+
+    /**
+     * Completes the tasks stolen by the given member with their results.
+     */
+    public void completeStolen(long[] batchIds, int[] indexes, Object[] results, Address thief) {
+        for (int i = 0; i < batchIds.length; i++) {
+            TaskBatch batch = batches.get(batchIds[i]);
+            if (batch != null && batch.unmarkStolen(indexes[i], thief)) {
+                batch.complete(indexes[i], results[i]);
+            }
+        }
+    }
+
+    /**
+     * Queues the tasks stolen by the given member again, since their results will not arrive anymore.
+     */
+    void memberRemoved(Address address) {
+        for (TaskBatch batch : batches.values()) {
+            for (int index = 0; index < batch.tasks.length; index++) {
+                if (batch.unmarkStolen(index, address)) {
+                    TaskDeque deque = getDeque(batch.name);
+                    if (deque.tasks.offerFirst(new BatchTask(batch, index))) {
+                        startDrainers(batch.name, deque, 1);
+                    } else {
+                        batch.complete(index, newRejectedExecutionException(batch.name));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting for execution on the executor.
+     */
+    int getQueueDepth(String name) {
+        TaskDeque deque = deques.get(name);
+        int queued = deque == null ? 0 : deque.tasks.size();
+        return queued + nodeEngine.getExecutionService().getExecutor(name).getQueueSize();
+    }
+
+    void populate(LiveOperations liveOperations) {
+        for (TaskBatch batch : batches.values()) {
+            if (batch.op != null) {
+                liveOperations.add(batch.op.getCallerAddress(), batch.op.getCallId());
+            }
+        }
+    }
+
+    void shutdown(String name) {
+        TaskDeque deque = deques.remove(name);
+        if (deque != null) {
+            fail(deque, new RejectedExecutionException("Executor[" + name + "] is shut down"));
+        }
+    }
+
+    void reset() {
+        deques.clear();
+        batches.clear();
+    }
+
+    private void enqueue(TaskBatch batch) {
+        gotTasks.set(true);
+        TaskDeque deque = getDeque(batch.name);
+        LocalExecutorStatsImpl stats = statsOrNull(batch.name);
+        int queued = 0;
+        for (int index = 0; index < batch.tasks.length; index++) {
+            if (deque.tasks.offerLast(new BatchTask(batch, index))) {
+                queued++;
+                if (stats != null) {
+                    stats.startPending();
+                }
+            } else {
+                if (stats != null) {
+                    stats.rejectExecution();
+                }
+                batch.complete(index, newRejectedExecutionException(batch.name));
+            }
+        }
+        startDrainers(batch.name, deque, queued);
+    }
+
+    private static RejectedExecutionException newRejectedExecutionException(String name) {
+        return new RejectedExecutionException("Executor[" + name + "] queue capacity is exceeded");
+    }
+
+    private TaskDeque getDeque(String name) {
+        TaskDeque deque = deques.get(name);
+        if (deque == null) {
+            int queueCapacity = service.getOrFindExecutorConfig(name).getQueueCapacity();
+            TaskDeque newDeque = new TaskDeque(queueCapacity <= 0 ? Integer.MAX_VALUE : queueCapacity);
+            deque = deques.putIfAbsent(name, newDeque);
+            if (deque == null) {
+                deque = newDeque;
+            }
+        }
+        return deque;
+    }
+
+    private void startDrainers(String name, TaskDeque deque, int taskCount) {
+        int poolSize = service.getOrFindExecutorConfig(name).getPoolSize();
+        for (int started = 0; started < taskCount; started++) {
+            int drainers = deque.drainers.get();
+            if (drainers >= poolSize) {
+                return;
+            }
+            if (!deque.drainers.compareAndSet(drainers, drainers + 1)) {
+                started--;
+                continue;
+            }
+            try {
+                nodeEngine.getExecutionService().execute(name, new Drainer(name, deque));
+            } catch (RejectedExecutionException e) {
+                deque.drainers.decrementAndGet();
+                fail(deque, e);
+                return;
+            }
+        }
+    }
+
+    private void fail(TaskDeque deque, Throwable cause) {
+        BatchTask task;
+        while ((task = deque.tasks.pollFirst()) != null) {
+            task.batch.complete(task.index, cause);
+        }
+    }
+
+    private LocalExecutorStatsImpl statsOrNull(String name) {
+        ExecutorConfig config = service.getOrFindExecutorConfig(name);
+        return config.isStatisticsEnabled() ? service.getLocalExecutorStats(name) : null;
+    }
+
+    private void run(BatchTask task) {
+        TaskBatch batch = task.batch;
+        LocalExecutorStatsImpl stats = statsOrNull(batch.name);
+        long start = Clock.currentTimeMillis();
+        if (stats != null) {
+            stats.startExecution(start - batch.creationTime);
+        }
+        Object result;
+        try {
+            result = toCallable(batch.tasks[task.index]).call();
+        } catch (Throwable t) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("While executing batch task on Executor[" + batch.name + "]", t);
+            }
+            result = t;
+        }
+        batch.complete(task.index, result);
+        if (stats != null) {
+            stats.finishExecution(Clock.currentTimeMillis() - start);
+        }
+    }
+
+    private Callable toCallable(Data taskData) {
+        Callable callable = nodeEngine.toObject(taskData);
+        ManagedContext managedContext = nodeEngine.getSerializationService().getManagedContext();
+        if (callable instanceof RunnableAdapter) {
+            RunnableAdapter adapter = (RunnableAdapter) callable;
+            adapter.setRunnable((Runnable) managedContext.initialize(adapter.getRunnable()));
+            return adapter;
+        }
+        return (Callable) managedContext.initialize(callable);
+    }
+
+    /**
+     * Steals tasks from the other data members one after the other until one of them hands out tasks.
+     */
+    private void trySteal(String name, TaskDeque deque, int maxVictims) {
+        if (!deque.stealing.compareAndSet(false, true)) {
+            return;
+        }
+        List<Address> victims = new ArrayList<Address>();
+        for (Member member : nodeEngine.getClusterService().getMembers(DATA_MEMBER_SELECTOR)) {
+            if (!member.localMember()) {
+                victims.add(member.getAddress());
+            }
+        }
+        int attempts = Math.min(maxVictims, victims.size());
+        stealFrom(name, deque, victims, deque.nextVictim.getAndIncrement(), 0, attempts);
+    }
+
+    private void stealFrom(final String name, final TaskDeque deque, final List<Address> victims, final int offset,
+                           final int attempt, final int attempts) {
+        if (attempt >= attempts || deques.get(name) != deque) {
+            deque.stealing.set(false);
+            return;
+        }
+        final Address victim = victims.get((offset + attempt) % victims.size());
+        int maxTasks = Math.min(service.getOrFindExecutorConfig(name).getPoolSize(), deque.tasks.remainingCapacity());
+        if (maxTasks == 0) {
+            deque.stealing.set(false);
+            return;
+        }
+        Operation op = new StealTasksOperation(name, maxTasks);
+        nodeEngine.getOperationService().<StolenTasks>invokeOnTarget(DistributedExecutorService.SERVICE_NAME, op, victim)
+                .andThen(new ExecutionCallback<StolenTasks>() {
+                    @Override
+                    public void onResponse(StolenTasks stolen) {
+                        if (stolen.size() == 0) {
+                            stealFrom(name, deque, victims, offset, attempt + 1, attempts);
+                            return;
+                        }
+                        deque.stealing.set(false);
+                        enqueue(new TaskBatch(batchIdGenerator.incrementAndGet(), name, stolen, victim));
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        stealFrom(name, deque, victims, offset, attempt + 1, attempts);
+                    }
+                });
+    }
+
+    /**
+     * The queued tasks of an executor.
+     */
+    private static final class TaskDeque {
+        final LinkedBlockingDeque<BatchTask> tasks;
+        final AtomicInteger drainers = new AtomicInteger();
+        final AtomicBoolean stealing = new AtomicBoolean();
+        final AtomicInteger nextVictim = new AtomicInteger();
+
+        TaskDeque(int capacity) {
+            this.tasks = new LinkedBlockingDeque<BatchTask>(capacity);
+        }
+    }
+
+    /**
+     * A task of a batch, identified by its index in the batch.
+     */
+    private static final class BatchTask {
+        final TaskBatch batch;
+        final int index;
+
+        BatchTask(TaskBatch batch, int index) {
+            this.batch = batch;
+            this.index = index;
+        }
+    }
+
+    /**
+     * The tasks of a batch and their results. A batch was either sent by a submitter, then its response is sent
+     * through the operation, or it contains tasks stolen from another member, then the results are sent back to it.
+     */
+    private final class TaskBatch {
+        final long id;
+        final String name;
+        final Data[] tasks;
+        final long creationTime = Clock.currentTimeMillis();
+        final boolean stealable;
+        final Operation op;
+
+        // set for batches of stolen tasks
+        final Address victim;
+        final long[] victimBatchIds;
+        final int[] victimIndexes;
+
+        private final AtomicReferenceArray<Object> results;
+        private final AtomicInteger remaining;
+        // the members which stole the tasks, guarded by this
+        private Address[] thieves;
+
+        TaskBatch(long id, String name, Data[] tasks, boolean stealable, Operation op) {
+            this(id, name, tasks, stealable, op, null, null, null);
+        }
+
+        TaskBatch(long id, String name, StolenTasks stolen, Address victim) {
+            this(id, name, stolen.getTasks(), false, null, victim, stolen.getBatchIds(), stolen.getIndexes());
+        }
+
+        private TaskBatch(long id, String name, Data[] tasks, boolean stealable, Operation op, Address victim,
+                          long[] victimBatchIds, int[] victimIndexes) {
+            this.id = id;
+            this.name = name;
+            this.tasks = tasks;
+            this.stealable = stealable;
+            this.op = op;
+            this.victim = victim;
+            this.victimBatchIds = victimBatchIds;
+            this.victimIndexes = victimIndexes;
+            this.results = new AtomicReferenceArray<Object>(tasks.length);
+            this.remaining = new AtomicInteger(tasks.length);
+        }
+
+        synchronized boolean markStolen(int index, Address thief) {
+            if (results.get(index) != null) {
+                return false;
+            }
+            if (thieves == null) {
+                thieves = new Address[tasks.length];
+            }
+            thieves[index] = thief;
+            return true;
+        }
+
+        synchronized boolean unmarkStolen(int index, Address thief) {
+            if (thieves == null || thieves[index] == null || !thieves[index].equals(thief)) {
+                return false;
+            }
+            thieves[index] = null;
+            return true;
+        }
+
+        void complete(int index, Object result) {
+            if (results.compareAndSet(index, null, result == null ? NULL_RESULT : result)
+                    && remaining.decrementAndGet() == 0) {
+                done();
+            }
+        }
+
+        void done() {
+            batches.remove(id);
+            Object[] values = new Object[tasks.length];
+            for (int i = 0; i < values.length; i++) {
+                Object value = results.get(i);
+                values[i] = value == NULL_RESULT ? null : value;
+            }
+            if (op != null) {
+                op.sendResponse(new TaskBatchResponse(values, getQueueDepth(name)));
+            } else {
+                sendResults(values, true);
+            }
+        }
+
+        /**
+         * Sends the results of the stolen tasks back to the victim. If they can not be sent, e.g. since a result is
+         * not serializable, the failure is sent as the result of every task, so the batches of the victim complete.
+         */
+        private void sendResults(final Object[] values, final boolean firstAttempt) {
+            ExecutionCallback<Object> callback = new ExecutionCallback<Object>() {
+                @Override
+                public void onResponse(Object response) {
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    if (nodeEngine.getClusterService().getMember(victim) == null) {
+                        // the submitters of the batches get the failure of the victim
+                        logger.finest("Could not send the results of stolen tasks to " + victim, t);
+                    } else if (firstAttempt) {
+                        Object[] failures = new Object[values.length];
+                        Arrays.fill(failures, t);
+                        sendResults(failures, false);
+                    } else {
+                        logger.warning("Could not send the results of stolen tasks to " + victim, t);
+                    }
+                }
+            };
+            Operation resultsOp = new StolenTaskResultsOperation(name, victimBatchIds, victimIndexes, values);
+            try {
+                nodeEngine.getOperationService()
+                        .invokeOnTarget(DistributedExecutorService.SERVICE_NAME, resultsOp, victim)
+                        .andThen(callback);
+            } catch (Throwable t) {
+                callback.onFailure(t);
+            }
+        }
+    }
+
+    /**
+     * Runs the queued tasks of an executor until the deque is empty, then tries to steal tasks from other members.
+     */
+    private final class Drainer implements Runnable {
+        private final String name;
+        private final TaskDeque deque;
+
+        Drainer(String name, TaskDeque deque) {
+            this.name = name;
+            this.deque = deque;
+        }
+
+        @Override
+        public void run() {
+            try {
+                BatchTask task;
+                while ((task = deque.tasks.pollFirst()) != null) {
+                    TaskBatchExecutor.this.run(task);
+                }
+            } finally {
+                deque.drainers.decrementAndGet();
+            }
+            if (!deque.tasks.isEmpty()) {
+                // a task was queued after this drainer found the deque empty
+                startDrainers(name, deque, 1);
+            } else if (deque.drainers.get() == 0) {
+                trySteal(name, deque, Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Lets every idle executor of this member which received batches ask one other member for tasks. The stealer
+     * reschedules itself, the interval is reset when this member got tasks since the last run and doubled otherwise.
+     */
+    private final class IdleStealer implements Runnable {
+
+        private long intervalMillis = MIN_IDLE_STEAL_INTERVAL_MILLIS;
+
+        void schedule() {
+            try {
+                nodeEngine.getExecutionService().schedule(this, intervalMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // the member is shutting down
+                ignore(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (gotTasks.getAndSet(false)) {
+                intervalMillis = MIN_IDLE_STEAL_INTERVAL_MILLIS;
+            } else {
+                intervalMillis = Math.min(intervalMillis * 2, MAX_IDLE_STEAL_INTERVAL_MILLIS);
+            }
+            try {
+                stealIfIdle();
+            } finally {
+                schedule();
+            }
+        }
+
+        private void stealIfIdle() {
+            for (Map.Entry<String, TaskDeque> entry : deques.entrySet()) {
+                String name = entry.getKey();
+                TaskDeque deque = entry.getValue();
+                if (!service.isShutdown(name) && deque.tasks.isEmpty() && deque.drainers.get() == 0) {
+                    trySteal(name, deque, 1);
+                }
+            }
+        }
+    }
+}
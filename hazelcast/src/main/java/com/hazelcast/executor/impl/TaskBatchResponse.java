@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * The response to a {@link com.hazelcast.executor.impl.operations.MemberCallableTaskBatchOperation}. It contains the
+ * result or the exception of every task of the batch and the queue depth of the executor on the executing member at
+ * the time the batch completed, which the submitters use to select the least loaded member.
+ */
+public class TaskBatchResponse implements IdentifiedDataSerializable {
+
+    private Object[] results;
+    private int queueDepth;
+
+    public TaskBatchResponse() {
+    }
+
+    public TaskBatchResponse(Object[] results, int queueDepth) {
+        this.results = results;
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Returns the result of the task with the given index in the batch. The result is an exception if the task failed.
+     */
+    public Object getResult(int index) {
+        return results[index];
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.TASK_BATCH_RESPONSE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(queueDepth);
+        out.writeInt(results.length);
+        for (Object result : results) {
+            out.writeObject(result);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        queueDepth = in.readInt();
+        results = new Object[in.readInt()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = in.readObject();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.executor.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.PartitionAware;
+import com.hazelcast.executor.impl.operations.MemberCallableTaskBatchOperation;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.executor.impl.ExecutorServiceProxy.TASK_BATCH_SIZE;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Sends the tasks of {@link ExecutorServiceProxy#submitAll(Collection)} and
+ * {@link ExecutorServiceProxy#submitAllToMember(Collection, Member)} to the members in batches and keeps track of the
+ * load of the members as seen by the proxy.
+ * <p>
+ * The tasks which have to run on a given member, i.e. the {@link PartitionAware} tasks and the tasks submitted to a
+ * member, are sent in batches which other members are not allowed to steal from. The batches of {@link PartitionAware}
+ * tasks are sent per partition and follow the partition when it migrates.
+ */
+final class TaskBatchSubmitter {
+
+    private final String name;
+    private final NodeEngine nodeEngine;
+    private final Random random = new Random(-System.currentTimeMillis());
+    private final ConcurrentMap<Address, MemberLoad> memberLoads = new ConcurrentHashMap<Address, MemberLoad>();
+
+    TaskBatchSubmitter(String name, NodeEngine nodeEngine) {
+        this.name = name;
+        this.nodeEngine = nodeEngine;
+    }
+
+    <T> List<Future<T>> submitAll(Collection<? extends Callable<T>> tasks, List<Member> members) {
+        Future<T>[] futures = newFutures(tasks.size());
+        // the partition aware tasks are sent first, so their load is known when the other tasks are distributed
+        Map<Integer, PendingBatch> partitionBatches = new HashMap<Integer, PendingBatch>();
+        List<Integer> otherPositions = new ArrayList<Integer>();
+        int position = 0;
+        for (Callable<T> task : tasks) {
+            checkNotNull(task, "task can't be null");
+            int partitionId = getPartitionId(task);
+            if (partitionId >= 0) {
+                PendingBatch batch = getOrCreateBatch(partitionBatches, partitionId, null, partitionId, false);
+                addToBatch(partitionBatches, partitionId, batch, task, position, futures);
+            } else {
+                otherPositions.add(position);
+            }
+            position++;
+        }
+        sendBatches(partitionBatches, futures);
+
+        Map<Address, PendingBatch> stealable = new HashMap<Address, PendingBatch>();
+        Iterator<Integer> positions = otherPositions.iterator();
+        int nextPosition = positions.hasNext() ? positions.next() : -1;
+        position = 0;
+        for (Callable<T> task : tasks) {
+            if (position++ != nextPosition) {
+                continue;
+            }
+            Address target = selectLeastLoaded(members, stealable).getAddress();
+            PendingBatch batch = getOrCreateBatch(stealable, target, target, -1, true);
+            addToBatch(stealable, target, batch, task, nextPosition, futures);
+            nextPosition = positions.hasNext() ? positions.next() : -1;
+        }
+        sendBatches(stealable, futures);
+        return toList(futures);
+    }
+
+    <T> List<Future<T>> submitAllToMember(Collection<? extends Callable<T>> tasks, Address target) {
+        Map<Address, PendingBatch> pinned = new HashMap<Address, PendingBatch>();
+        Future<T>[] futures = newFutures(tasks.size());
+        int position = 0;
+        for (Callable<T> task : tasks) {
+            checkNotNull(task, "task can't be null");
+            PendingBatch batch = getOrCreateBatch(pinned, target, target, -1, false);
+            addToBatch(pinned, target, batch, task, position++, futures);
+        }
+        sendBatches(pinned, futures);
+        return toList(futures);
+    }
+
+    /**
+     * Returns {@code true} if batches were sent to any of the current members, i.e. if their load is known.
+     */
+    boolean isBatching() {
+        return !memberLoads.isEmpty();
+    }
+
+    /**
+     * Forgets the load of a member which left the cluster.
+     */
+    void memberRemoved(Address address) {
+        memberLoads.remove(address);
+    }
+
+    /**
+     * Selects the member with the least load, members with the same load are selected randomly.
+     *
+     * @param members the members to select from
+     * @return the selected member
+     */
+    Member selectLeastLoaded(List<Member> members) {
+        return selectLeastLoaded(members, Collections.<Address, PendingBatch>emptyMap());
+    }
+
+    /**
+     * Selects the member with the least load, including the tasks of the batches which are not sent yet.
+     */
+    private Member selectLeastLoaded(List<Member> members, Map<Address, PendingBatch> pending) {
+        int size = members.size();
+        int offset = random.nextInt(size);
+        Member selected = null;
+        int minLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Member member = members.get((offset + i) % size);
+            Address address = member.getAddress();
+            MemberLoad memberLoad = memberLoads.get(address);
+            int load = (memberLoad == null ? 0 : memberLoad.get()) + pendingTasks(pending, address);
+            if (load < minLoad) {
+                minLoad = load;
+                selected = member;
+            }
+        }
+        return selected;
+    }
+
+    private static int pendingTasks(Map<Address, PendingBatch> pending, Address address) {
+        PendingBatch batch = pending.get(address);
+        return batch == null ? 0 : batch.tasks.size();
+    }
+
+    /**
+     * Returns the partition ID of a {@link PartitionAware} task or {@code -1} if the task can run on any member.
+     */
+    private int getPartitionId(Callable task) {
+        if (task instanceof PartitionAware) {
+            Object partitionKey = ((PartitionAware) task).getPartitionKey();
+            if (partitionKey != null) {
+                return nodeEngine.getPartitionService().getPartitionId(partitionKey);
+            }
+        }
+        return -1;
+    }
+
+    private static <K> PendingBatch getOrCreateBatch(Map<K, PendingBatch> pending, K key, Address target,
+                                                     int partitionId, boolean stealable) {
+        PendingBatch batch = pending.get(key);
+        if (batch == null) {
+            batch = new PendingBatch(target, partitionId, stealable);
+            pending.put(key, batch);
+        }
+        return batch;
+    }
+
+    private <K, T> void addToBatch(Map<K, PendingBatch> pending, K key, PendingBatch batch, Callable<T> task,
+                                   int position, Future<T>[] futures) {
+        batch.tasks.add(nodeEngine.toData(task));
+        batch.positions.add(position);
+        if (batch.tasks.size() == TASK_BATCH_SIZE) {
+            pending.remove(key);
+            sendBatch(batch, futures);
+        }
+    }
+
+    private <T> void sendBatches(Map<?, PendingBatch> pending, Future<T>[] futures) {
+        for (PendingBatch batch : pending.values()) {
+            sendBatch(batch, futures);
+        }
+    }
+
+    private <T> void sendBatch(PendingBatch batch, Future<T>[] futures) {
+        Operation op = new MemberCallableTaskBatchOperation(name, batch.tasks, batch.stealable);
+        OperationService operationService = nodeEngine.getOperationService();
+        InternalCompletableFuture<TaskBatchResponse> future;
+        Address target;
+        if (batch.partitionId >= 0) {
+            // the batch is retried on the new owner if the partition migrates
+            future = operationService.invokeOnPartition(DistributedExecutorService.SERVICE_NAME, op, batch.partitionId);
+            target = nodeEngine.getPartitionService().getPartitionOwner(batch.partitionId);
+        } else {
+            future = operationService.invokeOnTarget(DistributedExecutorService.SERVICE_NAME, op, batch.target);
+            target = batch.target;
+        }
+        final int size = batch.tasks.size();
+        if (target != null) {
+            final MemberLoad load = getMemberLoad(target);
+            load.outstanding.addAndGet(size);
+            future.andThen(new ExecutionCallback<TaskBatchResponse>() {
+                @Override
+                public void onResponse(TaskBatchResponse response) {
+                    load.queueDepth = response.getQueueDepth();
+                    load.outstanding.addAndGet(-size);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    load.outstanding.addAndGet(-size);
+                }
+            });
+        }
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        for (int i = 0; i < size; i++) {
+            futures[batch.positions.get(i)] = new BatchTaskFuture<T>(future, i, serializationService);
+        }
+    }
+
+    private MemberLoad getMemberLoad(Address address) {
+        MemberLoad load = memberLoads.get(address);
+        if (load == null) {
+            MemberLoad newLoad = new MemberLoad();
+            load = memberLoads.putIfAbsent(address, newLoad);
+            if (load == null) {
+                load = newLoad;
+            }
+        }
+        return load;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Future<T>[] newFutures(int size) {
+        return new Future[size];
+    }
+
+    private static <T> List<Future<T>> toList(Future<T>[] futures) {
+        List<Future<T>> list = new ArrayList<Future<T>>(futures.length);
+        Collections.addAll(list, futures);
+        return list;
+    }
+
+    /**
+     * The tasks collected for a member or a partition and their positions in the result list.
+     */
+    private static final class PendingBatch {
+        // the target member, null for batches sent to a partition
+        final Address target;
+        // the target partition, -1 for batches sent to a member
+        final int partitionId;
+        final boolean stealable;
+        final List<Data> tasks = new ArrayList<Data>();
+        final List<Integer> positions = new ArrayList<Integer>();
+
+        PendingBatch(Address target, int partitionId, boolean stealable) {
+            this.target = target;
+            this.partitionId = partitionId;
+            this.stealable = stealable;
+        }
+    }
+
+    /**
+     * The load of a member as seen by the proxy.
+     */
+    private static final class MemberLoad {
+        // the queue depth advertised by the last batch response of the member
+        volatile int queueDepth;
+        // the tasks sent to the member which are not done yet
+        final AtomicInteger outstanding = new AtomicInteger();
+
+        int get() {
+            return queueDepth + outstanding.get();
+        }
+    }
+}
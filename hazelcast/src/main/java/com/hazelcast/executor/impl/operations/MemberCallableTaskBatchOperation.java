@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor.impl.operations;
+
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.executor.impl.ExecutorDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.ExceptionAction;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+import com.hazelcast.spi.impl.AbstractNamedOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends a batch of tasks to a member in a single operation. The response is a
+ * {@link com.hazelcast.executor.impl.TaskBatchResponse} sent once all tasks of the batch are done. Tasks of a batch
+ * which is not stealable, e.g. tasks submitted to this member or {@link com.hazelcast.core.PartitionAware} tasks, are
+ * not stolen by other members. The batches of {@link com.hazelcast.core.PartitionAware} tasks are sent to the
+ * partition, so they are retried on the new owner when the partition migrates.
+ *
+ * @see com.hazelcast.executor.impl.TaskBatchExecutor
+ */
+public final class MemberCallableTaskBatchOperation extends AbstractNamedOperation implements IdentifiedDataSerializable {
+
+    private List<Data> tasks;
+    private boolean stealable;
+
+    public MemberCallableTaskBatchOperation() {
+    }
+
+    public MemberCallableTaskBatchOperation(String name, List<Data> tasks, boolean stealable) {
+        super(name);
+        this.tasks = tasks;
+        this.stealable = stealable;
+    }
+
+    @Override
+    public void run() throws Exception {
+        DistributedExecutorService service = getService();
+        service.getTaskBatchExecutor().execute(getName(), tasks, stealable, this);
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public ExceptionAction onInvocationException(Throwable throwable) {
+        // the batches sent to a partition are retried like every other partition operation
+        if (getPartitionId() < 0
+                && (throwable instanceof MemberLeftException || throwable instanceof TargetNotMemberException)) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        return super.onInvocationException(throwable);
+    }
+
+    @Override
+    public String getServiceName() {
+        return DistributedExecutorService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeBoolean(stealable);
+        out.writeInt(tasks.size());
+        for (Data task : tasks) {
+            out.writeData(task);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        stealable = in.readBoolean();
+        int size = in.readInt();
+        tasks = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(in.readData());
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.MEMBER_CALLABLE_TASK_BATCH;
+    }
+}
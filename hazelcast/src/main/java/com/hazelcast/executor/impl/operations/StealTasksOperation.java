@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor.impl.operations;
+
+import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.executor.impl.ExecutorDataSerializerHook;
+import com.hazelcast.executor.impl.StolenTasks;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.AbstractNamedOperation;
+
+import java.io.IOException;
+
+/**
+ * Sent by an idle member to take queued batch tasks from the member executing this operation. The response is a
+ * {@link StolenTasks}, which is empty if the member has no tasks to spare.
+ *
+ * @see com.hazelcast.executor.impl.TaskBatchExecutor
+ */
+public final class StealTasksOperation extends AbstractNamedOperation implements IdentifiedDataSerializable {
+
+    private int maxTasks;
+    private transient StolenTasks response;
+
+    public StealTasksOperation() {
+    }
+
+    public StealTasksOperation(String name, int maxTasks) {
+        super(name);
+        this.maxTasks = maxTasks;
+    }
+
+    @Override
+    public void run() throws Exception {
+        DistributedExecutorService service = getService();
+        response = service.getTaskBatchExecutor().steal(getName(), maxTasks, getCallerAddress());
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    public String getServiceName() {
+        return DistributedExecutorService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(maxTasks);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        maxTasks = in.readInt();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.STEAL_TASKS;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor.impl.operations;
+
+import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.executor.impl.ExecutorDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.AbstractNamedOperation;
+
+import java.io.IOException;
+
+/**
+ * Sent by a member which has run stolen tasks back to the member it stole them from, to complete the batches of the
+ * tasks with their results.
+ *
+ * @see com.hazelcast.executor.impl.TaskBatchExecutor
+ */
+public final class StolenTaskResultsOperation extends AbstractNamedOperation implements IdentifiedDataSerializable {
+
+    private long[] batchIds;
+    private int[] indexes;
+    private Object[] results;
+
+    public StolenTaskResultsOperation() {
+    }
+
+    public StolenTaskResultsOperation(String name, long[] batchIds, int[] indexes, Object[] results) {
+        super(name);
+        this.batchIds = batchIds;
+        this.indexes = indexes;
+        this.results = results;
+    }
+
+    @Override
+    public void run() throws Exception {
+        DistributedExecutorService service = getService();
+        service.getTaskBatchExecutor().completeStolen(batchIds, indexes, results, getCallerAddress());
+    }
+
+    @Override
+    public String getServiceName() {
+        return DistributedExecutorService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLongArray(batchIds);
+        out.writeIntArray(indexes);
+        for (Object result : results) {
+            out.writeObject(result);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        batchIds = in.readLongArray();
+        indexes = in.readIntArray();
+        results = new Object[indexes.length];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = in.readObject();
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ExecutorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ExecutorDataSerializerHook.STOLEN_TASK_RESULTS;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen;
+
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.spi.annotation.Beta;
+
+/**
+ * A cluster-wide unique ID generator. Generated IDs are {@code long} primitive values and are k-ordered (roughly
+ * ordered).
+ * <p>
+ * The IDs contain a timestamp component, a node ID component and a sequence component. The node ID is taken once
+ * from a cluster-wide counter when a member creates its first flake ID generator, afterwards the IDs are generated
+ * without any coordination between members. Callers prefetch batches of IDs, so a member generates IDs without any
+ * remote call and a client makes a single remote call per batch.
+ * <p>
+ * The timestamp component is in milliseconds since 1.1.2018, 0:00 UTC and has 41 bits. This caps the useful lifespan
+ * of the generator to little less than 70 years (until ~2088). The sequence component is 6 bits. If more than 64 IDs
+ * are requested in a single millisecond, the IDs will gracefully overflow to the next millisecond and uniqueness is
+ * guaranteed in this case. The implementation does not allow overflowing by more than 15 seconds, if IDs are
+ * requested at a higher rate, the thread calling {@link #newId()} waits before it gets the IDs of the next batch.
+ * The member generating the batch never waits, it returns the wait time along with the batch. Note, however, that
+ * clients are able to generate even faster because each batch is requested from a random member and the limit of
+ * 64 IDs per millisecond is for a single member.
+ * <p>
+ * The node ID component has 16 bits. The node IDs are assigned from the {@code IAtomicLong} named {@code
+ * hz:atomic:flakeIdGenerator:nodeId}, which is incremented once by every member starting or merging into the cluster
+ * after a split-brain and never decremented: the node ID of a member leaving the cluster is not reclaimed. The node
+ * IDs are therefore exhausted after 2^16 member starts and merges in the lifetime of a cluster, fewer if a node ID
+ * offset is configured, see {@link com.hazelcast.config.FlakeIdGeneratorConfig#setNodeIdOffset(long)}. A member with
+ * a node ID out of range is not able to generate IDs itself, it will request its batches from another member instead
+ * and logs a warning. Once all members are out of range, {@link #newId()} fails. A rolling restart does not help
+ * since the counter survives it. The remedy is to shut down the whole cluster and start it again: the counter is
+ * lost, the node IDs will be assigned from zero again and the uniqueness is preserved thanks to the timestamp
+ * component. The counter must not be modified or destroyed by the application.
+ * <p>
+ * The IDs generated in a split-brain scenario are unique as long as the sub-clusters do not assign the same node ID
+ * to newly started members, which may happen since every sub-cluster continues the counter from its last known
+ * value. Members which were part of the cluster before the split keep their node IDs.
+ *
+ * @since 3.10
+ */
+@Beta
+public interface FlakeIdGenerator extends DistributedObject {
+
+    /**
+     * Generates and returns a cluster-wide unique ID.
+     * <p>
+     * The IDs are returned from a locally prefetched batch, a new batch is requested when the current one is used
+     * up or no longer valid. The prefetch count and the validity of a batch can be configured, see {@link
+     * com.hazelcast.config.FlakeIdGeneratorConfig} for members and {@code
+     * ClientFlakeIdGeneratorConfig} for clients.
+     * <p>
+     * <b>Note:</b> Values returned from this method may not be strictly ordered.
+     *
+     * @return new cluster-wide unique ID
+     * @throws com.hazelcast.core.HazelcastException if the node IDs of all members in the cluster are out of range
+     */
+    long newId();
+}
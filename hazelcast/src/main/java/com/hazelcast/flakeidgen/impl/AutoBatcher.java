@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen.impl;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.util.Clock;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Hands out the IDs of prefetched {@link IdBatch}es. A new batch is requested from the {@link IdBatchSupplier} when
+ * the current batch is used up or its validity has expired.
+ * <p>
+ * Taking an ID from the current batch is a single CAS, only the thread which finds the batch used up requests a new
+ * one while the other threads wait for it.
+ * <p>
+ * A batch whose IDs lie too far in the future comes with a wait time. The generating member does not wait, the
+ * threads calling {@link #newId()} wait instead until the batch may be handed out.
+ */
+public class AutoBatcher {
+
+    private final int batchSize;
+    private final long validity;
+    private final IdBatchSupplier batchIdSupplier;
+
+    private volatile Block block = new Block(new IdBatchAndWaitTime(new IdBatch(0, 0, 0), 0), 0);
+
+    /**
+     * @param batchSize       the number of IDs requested in a batch
+     * @param validity        the validity of a batch in milliseconds, {@code 0} means unlimited
+     * @param batchIdSupplier the supplier of new batches
+     */
+    public AutoBatcher(int batchSize, long validity, IdBatchSupplier batchIdSupplier) {
+        this.batchSize = batchSize;
+        this.validity = validity;
+        this.batchIdSupplier = batchIdSupplier;
+    }
+
+    /**
+     * Returns the next ID from the current batch, requesting a new batch if necessary.
+     */
+    public long newId() {
+        for (; ; ) {
+            Block block = this.block;
+            block.awaitValid();
+            long id = block.next();
+            if (id != Long.MIN_VALUE) {
+                return id;
+            }
+
+            synchronized (this) {
+                if (block == this.block) {
+                    this.block = new Block(batchIdSupplier.newIdBatch(batchSize), validity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Supplies new batches of IDs.
+     */
+    public interface IdBatchSupplier {
+
+        /**
+         * Returns a new batch of IDs.
+         *
+         * @param batchSize the number of IDs in the batch
+         * @return the batch and the time to wait before handing out its IDs
+         */
+        IdBatchAndWaitTime newIdBatch(int batchSize);
+    }
+
+    private static final class Block {
+        private static final AtomicIntegerFieldUpdater<Block> NUM_RETURNED =
+                AtomicIntegerFieldUpdater.newUpdater(Block.class, "numReturned");
+
+        private final IdBatch idBatch;
+        private final long validSince;
+        private final long invalidSince;
+        private volatile int numReturned;
+
+        private Block(IdBatchAndWaitTime batchAndWaitTime, long validity) {
+            this.idBatch = batchAndWaitTime.idBatch();
+            this.validSince = Clock.currentTimeMillis() + batchAndWaitTime.waitTimeMillis();
+            this.invalidSince = validity > 0 ? validSince + validity : Long.MAX_VALUE;
+        }
+
+        /**
+         * Parks the calling thread until the IDs of the block may be handed out.
+         */
+        void awaitValid() {
+            long waitTime;
+            while ((waitTime = validSince - Clock.currentTimeMillis()) > 0) {
+                LockSupport.parkNanos(MILLISECONDS.toNanos(waitTime));
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new HazelcastException("Interrupted while waiting for the flake ID batch");
+                }
+            }
+        }
+
+        /**
+         * Returns the next ID or {@link Long#MIN_VALUE} if the block is used up or no longer valid.
+         */
+        long next() {
+            if (invalidSince <= Clock.currentTimeMillis()) {
+                return Long.MIN_VALUE;
+            }
+            int index;
+            do {
+                index = numReturned;
+                if (index == idBatch.batchSize()) {
+                    return Long.MIN_VALUE;
+                }
+            } while (!NUM_RETURNED.compareAndSet(this, index, index + 1));
+
+            return idBatch.get(index);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen.impl;
+
+import com.hazelcast.config.FlakeIdGeneratorConfig;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.core.Member;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.flakeidgen.impl.AutoBatcher.IdBatchSupplier;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.AbstractDistributedObject;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.util.Collections.newSetFromMap;
+
+/**
+ * Member side proxy of the {@link FlakeIdGenerator}. The IDs are generated locally from the node ID of the member,
+ * only when the node ID is out of range the batches are requested from other members.
+ * <p>
+ * Generating a batch never blocks. When the IDs of a batch lie more than {@link #ALLOWED_FUTURE_MILLIS} in the
+ * future, the batch is returned along with the time to wait and the {@link AutoBatcher} of the requester, which
+ * runs on the thread asking for an ID, waits before handing the IDs out. The executor and operation threads serving
+ * the requests of other members and clients are therefore never parked.
+ */
+public class FlakeIdGeneratorProxy
+        extends AbstractDistributedObject<FlakeIdGeneratorService>
+        implements FlakeIdGenerator {
+
+    static final int BITS_TIMESTAMP = 41;
+    static final int BITS_SEQUENCE = 6;
+    static final int BITS_NODE_ID = 16;
+
+    /**
+     * 1.1.2018 0:00 UTC
+     */
+    static final long EPOCH_START = 1514764800000L;
+    static final long INCREMENT = 1L << BITS_NODE_ID;
+
+    /**
+     * How far to the future is it allowed to go to generate IDs.
+     */
+    static final long ALLOWED_FUTURE_MILLIS = 15000;
+
+    private static final long NODE_ID_UPPER_BOUND = 1L << BITS_NODE_ID;
+    private static final long TIMESTAMP_UPPER_BOUND = 1L << BITS_TIMESTAMP;
+
+    private final String name;
+    private final long idOffset;
+    private final long nodeIdOffset;
+    private final ILogger logger;
+    private final AutoBatcher batcher;
+
+    /**
+     * The highest timestamp-sequence value handed out, the next batch starts after it or at the current
+     * timestamp, whichever is larger.
+     */
+    private final AtomicLong generatedValue = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * The UUIDs of the members known to have a node ID out of range.
+     */
+    private final Set<String> outOfRangeMembers = newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    FlakeIdGeneratorProxy(String name, NodeEngine nodeEngine, FlakeIdGeneratorService service) {
+        super(nodeEngine, service);
+        this.name = name;
+        this.logger = nodeEngine.getLogger(getClass());
+
+        FlakeIdGeneratorConfig config = nodeEngine.getConfig().findFlakeIdGeneratorConfig(name);
+        this.idOffset = config.getIdOffset();
+        this.nodeIdOffset = config.getNodeIdOffset();
+        this.batcher = new AutoBatcher(config.getPrefetchCount(), config.getPrefetchValidityMillis(),
+                new IdBatchSupplier() {
+                    @Override
+                    public IdBatchAndWaitTime newIdBatch(int batchSize) {
+                        return FlakeIdGeneratorProxy.this.newIdBatch(batchSize);
+                    }
+                });
+    }
+
+    @Override
+    public long newId() {
+        return batcher.newId();
+    }
+
+    /**
+     * Generates a new batch of IDs. If the node ID of this member is out of range, the batch is requested from
+     * another member.
+     *
+     * @param batchSize the number of IDs in the batch
+     * @return the batch and the time to wait before handing out its IDs
+     * @throws HazelcastException if the node IDs of all members are out of range
+     */
+    public IdBatchAndWaitTime newIdBatch(int batchSize) {
+        long nodeId = getNodeId();
+        if (nodeId < NODE_ID_UPPER_BOUND) {
+            return newIdBaseLocal(Clock.currentTimeMillis(), nodeId, batchSize);
+        }
+        return newIdBatchRemote(batchSize);
+    }
+
+    /**
+     * Generates a new batch of IDs on this member.
+     *
+     * @param batchSize the number of IDs in the batch
+     * @return the batch and the time to wait before handing out its IDs
+     * @throws NodeIdOutOfRangeException if the node ID of this member is out of range
+     */
+    public IdBatchAndWaitTime newIdBatchLocal(int batchSize) {
+        long nodeId = getNodeId();
+        if (nodeId >= NODE_ID_UPPER_BOUND) {
+            throw new NodeIdOutOfRangeException("Node ID " + nodeId + " of member " + getNodeEngine().getLocalMember()
+                    + " is out of range");
+        }
+        return newIdBaseLocal(Clock.currentTimeMillis(), nodeId, batchSize);
+    }
+
+    /**
+     * Reserves a batch of IDs for the given timestamp. If the IDs of the batch lie more than
+     * {@link #ALLOWED_FUTURE_MILLIS} in the future, the returned wait time is the time to wait before
+     * handing out the batch. This method never waits itself.
+     */
+    IdBatchAndWaitTime newIdBaseLocal(long now, long nodeId, int batchSize) {
+        checkPositive(batchSize, "batchSize should be positive");
+        long timestamp = now - EPOCH_START;
+        if (timestamp >= TIMESTAMP_UPPER_BOUND) {
+            throw new HazelcastException("Current time out of allowed range");
+        }
+        long minValue = timestamp << BITS_SEQUENCE;
+        long oldValue;
+        long base;
+        do {
+            oldValue = generatedValue.get();
+            base = Math.max(minValue, oldValue);
+        } while (!generatedValue.compareAndSet(oldValue, base + batchSize));
+
+        long waitTime = Math.max(0, ((base + batchSize - minValue) >> BITS_SEQUENCE) - ALLOWED_FUTURE_MILLIS);
+        base = base << BITS_NODE_ID | nodeId;
+        return new IdBatchAndWaitTime(new IdBatch(base + idOffset, INCREMENT, batchSize), waitTime);
+    }
+
+    private IdBatchAndWaitTime newIdBatchRemote(int batchSize) {
+        List<Member> members = new ArrayList<Member>(getNodeEngine().getClusterService().getMembers());
+        Collections.shuffle(members);
+        IExecutorService executor = getNodeEngine().getHazelcastInstance()
+                .getExecutorService(FlakeIdGeneratorService.EXECUTOR_NAME);
+        for (Member member : members) {
+            if (member.localMember() || outOfRangeMembers.contains(member.getUuid())) {
+                continue;
+            }
+            try {
+                return executor.submitToMember(new NewIdBatchCallable(name, batchSize, false), member).get();
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof NodeIdOutOfRangeException)) {
+                    throw rethrow(e.getCause());
+                }
+                outOfRangeMembers.add(member.getUuid());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rethrow(e);
+            }
+        }
+        throw new HazelcastException("All members have a node ID out of range, a cluster restart is required");
+    }
+
+    private long getNodeId() {
+        long nodeId = getService().getNodeId() + nodeIdOffset;
+        if (nodeId >= NODE_ID_UPPER_BOUND && outOfRangeMembers.add(getNodeEngine().getLocalMember().getUuid())) {
+            logger.warning("Node ID " + nodeId + " is out of range, the flake ID generator " + name
+                    + " requests its ID batches from other members. Restart the cluster to reassign the node IDs.");
+        }
+        return nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return FlakeIdGeneratorService.SERVICE_NAME;
+    }
+}
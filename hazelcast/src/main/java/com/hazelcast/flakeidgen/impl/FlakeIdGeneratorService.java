@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen.impl;
+
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.spi.ManagedService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.RemoteService;
+
+import java.util.Properties;
+
+/**
+ * Service of the {@link com.hazelcast.flakeidgen.FlakeIdGenerator}. Besides creating the proxies it assigns the
+ * node ID of the member, which is shared by all flake ID generators.
+ */
+public class FlakeIdGeneratorService implements ManagedService, RemoteService {
+
+    public static final String SERVICE_NAME = "hz:impl:flakeIdGeneratorService";
+
+    /**
+     * The name of the executor running the {@link NewIdBatchCallable}s.
+     */
+    public static final String EXECUTOR_NAME = "hz:impl:flakeIdGeneratorExecutor";
+
+    /**
+     * The name of the cluster-wide counter the node IDs are taken from. The counter is never decremented, so the
+     * node IDs of the members which left the cluster are not reclaimed and the 2^16 node IDs are used up by the
+     * member starts and merges of the cluster lifetime. Only a restart of the whole cluster resets the counter.
+     */
+    static final String NODE_ID_COUNTER_NAME = "hz:atomic:flakeIdGenerator:nodeId";
+
+    private static final long UNASSIGNED = -1;
+
+    private final Object nodeIdLock = new Object();
+    private NodeEngine nodeEngine;
+    private volatile long nodeId = UNASSIGNED;
+
+    public FlakeIdGeneratorService(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+    }
+
+    @Override
+    public void init(NodeEngine nodeEngine, Properties properties) {
+        this.nodeEngine = nodeEngine;
+    }
+
+    @Override
+    public void reset() {
+        // a member merging into another cluster takes a new node ID from the counter of that cluster
+        nodeId = UNASSIGNED;
+    }
+
+    @Override
+    public void shutdown(boolean terminate) {
+    }
+
+    /**
+     * Returns the node ID of this member, taking it from the cluster-wide counter on the first call. This is the only
+     * cluster call made by the flake ID generators of this member. The node ID is not returned to the counter when
+     * the member shuts down, see {@link #NODE_ID_COUNTER_NAME}.
+     *
+     * @return the node ID, not including the node ID offset of a generator
+     */
+    long getNodeId() {
+        long id = nodeId;
+        if (id == UNASSIGNED) {
+            synchronized (nodeIdLock) {
+                id = nodeId;
+                if (id == UNASSIGNED) {
+                    id = nodeEngine.getHazelcastInstance().getAtomicLong(NODE_ID_COUNTER_NAME).getAndIncrement();
+                    nodeId = id;
+                }
+            }
+        }
+        return id;
+    }
+
+    @Override
+    public DistributedObject createDistributedObject(String name) {
+        return new FlakeIdGeneratorProxy(name, nodeEngine, this);
+    }
+
+    @Override
+    public void destroyDistributedObject(String name) {
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * A batch of IDs of a {@link com.hazelcast.flakeidgen.FlakeIdGenerator}. The batch contains the IDs
+ * {@code base + i * increment} for {@code i} from {@code 0} to {@code batchSize - 1}.
+ */
+public class IdBatch implements IdentifiedDataSerializable {
+
+    private long base;
+    private long increment;
+    private int batchSize;
+
+    public IdBatch() {
+    }
+
+    public IdBatch(long base, long increment, int batchSize) {
+        this.base = base;
+        this.increment = increment;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the first ID of the batch.
+     */
+    public long base() {
+        return base;
+    }
+
+    /**
+     * Returns the difference between two consecutive IDs of the batch.
+     */
+    public long increment() {
+        return increment;
+    }
+
+    /**
+     * Returns the number of IDs in the batch.
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the ID at the given index of the batch.
+     *
+     * @param index the index, from {@code 0} to {@code batchSize - 1}
+     * @return the ID
+     */
+    public long get(int index) {
+        return base + index * increment;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return FlakeIdGeneratorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return FlakeIdGeneratorDataSerializerHook.ID_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(base);
+        out.writeLong(increment);
+        out.writeInt(batchSize);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        base = in.readLong();
+        increment = in.readLong();
+        batchSize = in.readInt();
+    }
+
+    @Override
+    public String toString() {
+        return "IdBatch{"
+                + "base=" + base
+                + ", increment=" + increment
+                + ", batchSize=" + batchSize
+                + '}';
+    }
+}
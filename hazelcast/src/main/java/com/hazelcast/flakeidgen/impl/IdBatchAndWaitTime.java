@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.flakeidgen.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * A reserved {@link IdBatch} with the time to wait before its IDs may be handed out. The wait time is positive
+ * when the IDs lie more than {@link FlakeIdGeneratorProxy#ALLOWED_FUTURE_MILLIS} in the future. The member
+ * generating the batch never waits itself, the wait is left to the {@link AutoBatcher} of the requester.
+ */
+public class IdBatchAndWaitTime implements IdentifiedDataSerializable {
+
+    IdBatch idBatch;
+    long waitTimeMillis;
+
+    public IdBatchAndWaitTime() {
+    }
+
+    public IdBatchAndWaitTime(IdBatch idBatch, long waitTimeMillis) {
+        this.idBatch = idBatch;
+        this.waitTimeMillis = waitTimeMillis;
+    }
+
+    /**
+     * Returns the reserved batch.
+     */
+    public IdBatch idBatch() {
+        return idBatch;
+    }
+
+    /**
+     * Returns the time in milliseconds to wait before the IDs of the batch may be handed out, {@code 0} if they
+     * may be handed out right away.
+     */
+    public long waitTimeMillis() {
+        return waitTimeMillis;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return FlakeIdGeneratorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return FlakeIdGeneratorDataSerializerHook.ID_BATCH_AND_WAIT_TIME;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        idBatch.writeData(out);
+        out.writeLong(waitTimeMillis);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        idBatch = new IdBatch();
+        idBatch.readData(in);
+        waitTimeMillis = in.readLong();
+    }
+
+    @Override
+    public String toString() {
+        return "IdBatchAndWaitTime{"
+                + "idBatch=" + idBatch
+                + ", waitTimeMillis=" + waitTimeMillis
+                + '}';
+    }
+}
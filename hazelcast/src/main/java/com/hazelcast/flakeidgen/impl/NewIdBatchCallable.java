@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen.impl;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * Generates a new {@link IdBatch} on the member it is executed on. It is submitted by clients, which cannot generate
+ * IDs themselves, and by members whose node ID is out of range. The executing member does not wait when the IDs
+ * lie too far in the future, it returns the wait time along with the batch.
+ */
+public class NewIdBatchCallable
+        implements Callable<IdBatchAndWaitTime>, IdentifiedDataSerializable, HazelcastInstanceAware {
+
+    private String name;
+    private int batchSize;
+    private boolean forwardingAllowed;
+    private transient HazelcastInstance instance;
+
+    public NewIdBatchCallable() {
+    }
+
+    /**
+     * @param name              the name of the flake ID generator
+     * @param batchSize         the number of IDs in the batch
+     * @param forwardingAllowed if the executing member may forward the request to another member when its own
+     *                          node ID is out of range, otherwise it throws a {@link NodeIdOutOfRangeException}
+     */
+    public NewIdBatchCallable(String name, int batchSize, boolean forwardingAllowed) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.forwardingAllowed = forwardingAllowed;
+    }
+
+    @Override
+    public IdBatchAndWaitTime call() throws Exception {
+        FlakeIdGeneratorProxy proxy = instance.getDistributedObject(FlakeIdGeneratorService.SERVICE_NAME, name);
+        return forwardingAllowed ? proxy.newIdBatch(batchSize) : proxy.newIdBatchLocal(batchSize);
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance instance) {
+        this.instance = instance;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return FlakeIdGeneratorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return FlakeIdGeneratorDataSerializerHook.NEW_ID_BATCH_CALLABLE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(batchSize);
+        out.writeBoolean(forwardingAllowed);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        batchSize = in.readInt();
+        forwardingAllowed = in.readBoolean();
+    }
+}
@@ -55,6 +55,8 @@ import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.durableexecutor.DurableExecutorService;
 import com.hazelcast.durableexecutor.impl.DistributedDurableExecutorService;
 import com.hazelcast.executor.impl.DistributedExecutorService;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.flakeidgen.impl.FlakeIdGeneratorService;
 import com.hazelcast.internal.jmx.ManagementService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
@@ -64,6 +66,8 @@ import com.hazelcast.mapreduce.JobTracker;
 import com.hazelcast.mapreduce.impl.MapReduceService;
 import com.hazelcast.memory.MemoryStats;
 import com.hazelcast.multimap.impl.MultiMapService;
+import com.hazelcast.pncounter.PNCounter;
+import com.hazelcast.pncounter.impl.PNCounterService;
 import com.hazelcast.quorum.QuorumService;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.ringbuffer.Ringbuffer;
@@ -285,6 +289,18 @@ public class HazelcastInstanceImpl implements HazelcastInstance, SerializationSe
         return getDistributedObject(IdGeneratorService.SERVICE_NAME, name);
     }
 
+    @Override
+    public FlakeIdGenerator getFlakeIdGenerator(String name) {
+        checkNotNull(name, "Retrieving a Flake ID-generator instance with a null name is not allowed!");
+        return getDistributedObject(FlakeIdGeneratorService.SERVICE_NAME, name);
+    }
+
+    @Override
+    public PNCounter getPNCounter(String name) {
+        checkNotNull(name, "Retrieving a PN counter instance with a null name is not allowed!");
+        return getDistributedObject(PNCounterService.SERVICE_NAME, name);
+    }
+
     @Override
     public IAtomicLong getAtomicLong(String name) {
         checkNotNull(name, "Retrieving an atomic-long instance with a null name is not allowed!");
@@ -43,9 +43,11 @@ import com.hazelcast.core.MultiMap;
 import com.hazelcast.core.PartitionService;
 import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.durableexecutor.DurableExecutorService;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.mapreduce.JobTracker;
+import com.hazelcast.pncounter.PNCounter;
 import com.hazelcast.quorum.QuorumService;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.scheduledexecutor.IScheduledExecutorService;
@@ -176,6 +178,16 @@ public final class HazelcastInstanceProxy implements HazelcastInstance, Serializ
         return getOriginal().getIdGenerator(name);
     }
 
+    @Override
+    public FlakeIdGenerator getFlakeIdGenerator(String name) {
+        return getOriginal().getFlakeIdGenerator(name);
+    }
+
+    @Override
+    public PNCounter getPNCounter(String name) {
+        return getOriginal().getPNCounter(name);
+    }
+
     @Override
     public IAtomicLong getAtomicLong(String name) {
         return getOriginal().getAtomicLong(name);
@@ -23,6 +23,7 @@ import com.hazelcast.config.ConfigurationException;
 import com.hazelcast.config.DurableExecutorConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.ListConfig;
 import com.hazelcast.config.LockConfig;
 import com.hazelcast.config.MapConfig;
@@ -105,6 +106,8 @@ public class ClusterWideConfigurationService implements PreJoinAwareService,
     private final ConcurrentMap<String, QueueConfig> queueConfigs = new ConcurrentHashMap<String, QueueConfig>();
     private final ConcurrentMap<String, ReliableTopicConfig> reliableTopicConfigs =
             new ConcurrentHashMap<String, ReliableTopicConfig>();
+    private final ConcurrentMap<String, FlakeIdGeneratorConfig> flakeIdGeneratorConfigs =
+            new ConcurrentHashMap<String, FlakeIdGeneratorConfig>();
     private final ConcurrentMap<String, CacheSimpleConfig> cacheSimpleConfigs =
             new ConcurrentHashMap<String, CacheSimpleConfig>();
     private final ConcurrentMap<String, EventJournalConfig> cacheEventJournalConfigs =
@@ -132,6 +135,7 @@ public class ClusterWideConfigurationService implements PreJoinAwareService,
             semaphoreConfigs,
             queueConfigs,
             reliableTopicConfigs,
+            flakeIdGeneratorConfigs,
             cacheSimpleConfigs,
             cacheEventJournalConfigs,
             mapEventJournalConfigs,
@@ -288,6 +292,9 @@ public class ClusterWideConfigurationService implements PreJoinAwareService,
         } else if (newConfig instanceof ReliableTopicConfig) {
             ReliableTopicConfig reliableTopicConfig = (ReliableTopicConfig) newConfig;
             currentConfig = reliableTopicConfigs.putIfAbsent(reliableTopicConfig.getName(), reliableTopicConfig);
+        } else if (newConfig instanceof FlakeIdGeneratorConfig) {
+            FlakeIdGeneratorConfig flakeIdGeneratorConfig = (FlakeIdGeneratorConfig) newConfig;
+            currentConfig = flakeIdGeneratorConfigs.putIfAbsent(flakeIdGeneratorConfig.getName(), flakeIdGeneratorConfig);
         } else if (newConfig instanceof CacheSimpleConfig) {
             CacheSimpleConfig cacheSimpleConfig = (CacheSimpleConfig) newConfig;
             currentConfig = cacheSimpleConfigs.putIfAbsent(cacheSimpleConfig.getName(), cacheSimpleConfig);
@@ -508,6 +515,16 @@ public class ClusterWideConfigurationService implements PreJoinAwareService,
         return reliableTopicConfigs;
     }
 
+    @Override
+    public FlakeIdGeneratorConfig findFlakeIdGeneratorConfig(String name) {
+        return lookupByPattern(configPatternMatcher, flakeIdGeneratorConfigs, name);
+    }
+
+    @Override
+    public ConcurrentMap<String, FlakeIdGeneratorConfig> getFlakeIdGeneratorConfigs() {
+        return flakeIdGeneratorConfigs;
+    }
+
     @Override
     public CacheSimpleConfig findCacheSimpleConfig(String name) {
         return lookupByPattern(configPatternMatcher, cacheSimpleConfigs, name);
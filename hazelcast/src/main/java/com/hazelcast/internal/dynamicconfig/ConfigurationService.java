@@ -21,6 +21,7 @@ import com.hazelcast.config.CardinalityEstimatorConfig;
 import com.hazelcast.config.DurableExecutorConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.ListConfig;
 import com.hazelcast.config.LockConfig;
 import com.hazelcast.config.MapConfig;
@@ -177,6 +178,14 @@ public interface ConfigurationService {
      */
     ReliableTopicConfig findReliableTopicConfig(String name);
 
+    /**
+     * Find existing Flake ID Generator Config
+     *
+     * @param name
+     * @return Flake ID Generator Config or null when requested Flake ID Generator configuration does not exist
+     */
+    FlakeIdGeneratorConfig findFlakeIdGeneratorConfig(String name);
+
     /**
      * Find existing Cache Config
      *
@@ -255,6 +264,13 @@ public interface ConfigurationService {
      */
     Map<String, ReliableTopicConfig> getReliableTopicConfigs();
 
+    /**
+     * Return all registered flake ID generator configurations.
+     *
+     * @return registered flake ID generator configurations
+     */
+    Map<String, FlakeIdGeneratorConfig> getFlakeIdGeneratorConfigs();
+
     /**
      * Return all registered executor configurations.
      *
@@ -24,6 +24,7 @@ import com.hazelcast.config.ConfigurationException;
 import com.hazelcast.config.DurableExecutorConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.GroupConfig;
 import com.hazelcast.config.HotRestartPersistenceConfig;
 import com.hazelcast.config.JobTrackerConfig;
@@ -693,6 +694,50 @@ public class DynamicConfigurationAwareConfig extends Config {
         throw new UnsupportedOperationException("Unsupported operation");
     }
 
+    @Override
+    public FlakeIdGeneratorConfig findFlakeIdGeneratorConfig(String name) {
+        return getFlakeIdGeneratorConfigInternal(name, "default").getAsReadOnly();
+    }
+
+    @Override
+    public FlakeIdGeneratorConfig getFlakeIdGeneratorConfig(String name) {
+        return getFlakeIdGeneratorConfigInternal(name, name);
+    }
+
+    private FlakeIdGeneratorConfig getFlakeIdGeneratorConfigInternal(String name, String fallbackName) {
+        String baseName = getBaseName(name);
+        Map<String, FlakeIdGeneratorConfig> flakeIdGeneratorConfigs = staticConfig.getFlakeIdGeneratorConfigs();
+        FlakeIdGeneratorConfig flakeIdGeneratorConfig = lookupByPattern(configPatternMatcher, flakeIdGeneratorConfigs, baseName);
+        if (flakeIdGeneratorConfig == null) {
+            flakeIdGeneratorConfig = configurationService.findFlakeIdGeneratorConfig(baseName);
+        }
+        if (flakeIdGeneratorConfig == null) {
+            flakeIdGeneratorConfig = staticConfig.getFlakeIdGeneratorConfig(fallbackName);
+        }
+        return flakeIdGeneratorConfig;
+    }
+
+    @Override
+    public Map<String, FlakeIdGeneratorConfig> getFlakeIdGeneratorConfigs() {
+        Map<String, FlakeIdGeneratorConfig> staticConfigs = staticConfig.getFlakeIdGeneratorConfigs();
+        Map<String, FlakeIdGeneratorConfig> dynamicConfigs = configurationService.getFlakeIdGeneratorConfigs();
+
+        return aggregate(staticConfigs, dynamicConfigs);
+    }
+
+    @Override
+    public Config addFlakeIdGeneratorConfig(FlakeIdGeneratorConfig flakeIdGeneratorConfig) {
+        checkStaticConfigurationDoesNotExist(staticConfig.getFlakeIdGeneratorConfigs(), flakeIdGeneratorConfig.getName(),
+                flakeIdGeneratorConfig);
+        configurationService.broadcastConfig(flakeIdGeneratorConfig);
+        return this;
+    }
+
+    @Override
+    public Config setFlakeIdGeneratorConfigs(Map<String, FlakeIdGeneratorConfig> map) {
+        throw new UnsupportedOperationException("Unsupported operation");
+    }
+
     @Override
     public ExecutorConfig findExecutorConfig(String name) {
         return getExecutorConfigInternal(name, "default").getAsReadOnly();
@@ -21,6 +21,7 @@ import com.hazelcast.config.CardinalityEstimatorConfig;
 import com.hazelcast.config.DurableExecutorConfig;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.config.FlakeIdGeneratorConfig;
 import com.hazelcast.config.ListConfig;
 import com.hazelcast.config.LockConfig;
 import com.hazelcast.config.MapConfig;
@@ -122,6 +123,11 @@ class EmptyConfigurationService implements ConfigurationService {
         return null;
     }
 
+    @Override
+    public FlakeIdGeneratorConfig findFlakeIdGeneratorConfig(String name) {
+        return null;
+    }
+
     @Override
     public CacheSimpleConfig findCacheSimpleConfig(String name) {
         return null;
@@ -202,6 +208,11 @@ class EmptyConfigurationService implements ConfigurationService {
         return emptyMap();
     }
 
+    @Override
+    public Map<String, FlakeIdGeneratorConfig> getFlakeIdGeneratorConfigs() {
+        return emptyMap();
+    }
+
     @Override
     public Map<String, ExecutorConfig> getExecutorConfigs() {
         return emptyMap();
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.spi.FragmentedMigrationAwareService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.ServiceNamespace;
+
+/**
+ * A {@link FragmentedMigrationAwareService} which can synchronize a backup replica by transferring only the data
+ * which differs between the primary and the backup replica, instead of the whole replica fragment.
+ * <p>
+ * The backup replica sends a digest of its replica fragment within the
+ * {@link com.hazelcast.internal.partition.operation.PartitionReplicaSyncRequest}, the primary replica compares it
+ * with its own data and prepares an operation which brings the backup replica up to date. Whenever there is no
+ * digest or the service cannot prepare a delta, the whole fragment is replicated as before.
+ */
+public interface DeltaReplicaSyncAwareService extends FragmentedMigrationAwareService {
+
+    /**
+     * Returns the digest of the backup replica fragment. Called on the backup replica on the partition thread.
+     *
+     * @param partitionId the ID of the partition
+     * @param namespace   the namespace of the replica fragment
+     * @return the digest or {@code null} if the service cannot provide it for the fragment
+     */
+    int[] getReplicaDigest(int partitionId, ServiceNamespace namespace);
+
+    /**
+     * Prepares the operation which brings the backup replica fragment with the given digest up to date. Called on
+     * the primary replica on the partition thread.
+     *
+     * @param event     the replication event
+     * @param namespace the namespace of the replica fragment
+     * @param digest    the digest of the backup replica fragment
+     * @return the operation or {@code null} if the whole fragment needs to be replicated
+     */
+    Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace, int[] digest);
+}
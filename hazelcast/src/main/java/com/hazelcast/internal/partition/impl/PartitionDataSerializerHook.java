@@ -30,6 +30,7 @@ import com.hazelcast.internal.partition.operation.LegacyMigrationOperation;
 import com.hazelcast.internal.partition.operation.LegacyMigrationRequestOperation;
 import com.hazelcast.internal.partition.operation.PartitionStateOperation;
 import com.hazelcast.internal.partition.operation.PromotionCommitOperation;
+import com.hazelcast.internal.partition.operation.PartitionReplicaDigestSyncRequest;
 import com.hazelcast.internal.partition.operation.PartitionReplicaSyncRequest;
 import com.hazelcast.internal.partition.operation.PartitionReplicaSyncResponse;
 import com.hazelcast.internal.partition.operation.PartitionReplicaSyncRetryResponse;
@@ -70,8 +71,9 @@ public final class PartitionDataSerializerHook implements DataSerializerHook {
     public static final int MIGRATION = 18;
     public static final int MIGRATION_REQUEST = 19;
     public static final int NONFRAGMENTED_SERVICE_NAMESPACE = 20;
+    public static final int REPLICA_DIGEST_SYNC_REQUEST = 21;
 
-    private static final int LEN = NONFRAGMENTED_SERVICE_NAMESPACE + 1;
+    private static final int LEN = REPLICA_DIGEST_SYNC_REQUEST + 1;
 
     @Override
     public int getFactoryId() {
@@ -185,6 +187,11 @@ public final class PartitionDataSerializerHook implements DataSerializerHook {
                 return NonFragmentedServiceNamespace.INSTANCE;
             }
         };
+        constructors[REPLICA_DIGEST_SYNC_REQUEST] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new PartitionReplicaDigestSyncRequest();
+            }
+        };
         return new ArrayDataSerializableFactory(constructors);
     }
 }
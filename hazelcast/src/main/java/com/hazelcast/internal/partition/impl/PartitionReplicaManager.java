@@ -19,9 +19,11 @@ package com.hazelcast.internal.partition.impl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.partition.DeltaReplicaSyncAwareService;
 import com.hazelcast.internal.partition.InternalPartition;
 import com.hazelcast.internal.partition.NonFragmentedServiceNamespace;
 import com.hazelcast.internal.partition.PartitionReplicaVersionManager;
+import com.hazelcast.internal.partition.operation.PartitionReplicaDigestSyncRequest;
 import com.hazelcast.internal.partition.operation.PartitionReplicaSyncRequest;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
@@ -33,6 +35,8 @@ import com.hazelcast.spi.ServiceNamespaceAware;
 import com.hazelcast.spi.TaskScheduler;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.util.scheduler.EntryTaskScheduler;
@@ -45,8 +49,10 @@ import com.hazelcast.version.Version;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
@@ -225,10 +231,44 @@ public class PartitionReplicaManager implements PartitionReplicaVersionManager {
         }
         replicaSyncRequestsCounter.inc();
 
-        PartitionReplicaSyncRequest syncRequest = new PartitionReplicaSyncRequest(partitionId, namespaces, replicaIndex);
+        // the digest request is only sent with digests, so the sync stays compatible with members not knowing it
+        Map<ServiceNamespace, int[]> replicaDigests = getReplicaDigests(partitionId, namespaces);
+        PartitionReplicaSyncRequest syncRequest = replicaDigests.isEmpty()
+                ? new PartitionReplicaSyncRequest(partitionId, namespaces, replicaIndex)
+                : new PartitionReplicaDigestSyncRequest(partitionId, namespaces, replicaDigests, replicaIndex);
         nodeEngine.getOperationService().send(syncRequest, target);
     }
 
+    /**
+     * Returns the digests of the replica fragments of the {@link DeltaReplicaSyncAwareService}s. The replica data can only
+     * be read on the partition thread, so no digests are returned when the sync is triggered from another thread and
+     * the owner replicates the whole fragments.
+     */
+    private Map<ServiceNamespace, int[]> getReplicaDigests(int partitionId, Collection<ServiceNamespace> namespaces) {
+        Thread currentThread = Thread.currentThread();
+        OperationServiceImpl operationService = (OperationServiceImpl) nodeEngine.getOperationService();
+        if (!(currentThread instanceof PartitionOperationThread) || ((PartitionOperationThread) currentThread).getThreadId()
+                != operationService.getOperationExecutor().getPartitionThreadId(partitionId)) {
+            return Collections.emptyMap();
+        }
+
+        Map<ServiceNamespace, int[]> digests = new HashMap<ServiceNamespace, int[]>();
+        Collection<DeltaReplicaSyncAwareService> services = nodeEngine.getServices(DeltaReplicaSyncAwareService.class);
+        for (ServiceNamespace namespace : namespaces) {
+            for (DeltaReplicaSyncAwareService service : services) {
+                if (!service.isKnownServiceNamespace(namespace)) {
+                    continue;
+                }
+                int[] digest = service.getReplicaDigest(partitionId, namespace);
+                if (digest != null) {
+                    digests.put(namespace, digest);
+                }
+                break;
+            }
+        }
+        return digests;
+    }
+
     private Collection<ServiceNamespace> registerSyncInfoFor(int partitionId,
             Collection<ServiceNamespace> requestedNamespaces, int replicaIndex, Address target) {
 
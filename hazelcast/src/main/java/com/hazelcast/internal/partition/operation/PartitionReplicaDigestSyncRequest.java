@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.operation;
+
+import com.hazelcast.internal.partition.DeltaReplicaSyncAwareService;
+import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.ServiceNamespace;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link PartitionReplicaSyncRequest} carrying the digests of the replica fragments of the replica. The fragments of a
+ * {@link DeltaReplicaSyncAwareService} with a digest are synchronized by transferring only the differing data, the other
+ * fragments are replicated as a whole.
+ * <p>
+ * The request is only sent when the replica has digests, e.g. when the map Merkle trees are enabled, so the members which
+ * do not know this request can still exchange the {@link PartitionReplicaSyncRequest}s of a cluster not using the digests.
+ */
+public final class PartitionReplicaDigestSyncRequest extends PartitionReplicaSyncRequest {
+
+    private Map<ServiceNamespace, int[]> replicaDigests;
+
+    public PartitionReplicaDigestSyncRequest() {
+        replicaDigests = Collections.emptyMap();
+    }
+
+    public PartitionReplicaDigestSyncRequest(int partitionId, Collection<ServiceNamespace> namespaces,
+                                             Map<ServiceNamespace, int[]> replicaDigests, int replicaIndex) {
+        super(partitionId, namespaces, replicaIndex);
+        this.replicaDigests = replicaDigests;
+    }
+
+    @Override
+    Collection<Operation> createNamespaceReplicationOperations(PartitionReplicationEvent event, ServiceNamespace ns) {
+        Collection<Operation> operations = createDeltaReplicationOperations(event, ns);
+        return operations != null ? operations : super.createNamespaceReplicationOperations(event, ns);
+    }
+
+    /**
+     * Creates the operations bringing the replica fragment up to date from the digest sent by the replica.
+     * Returns {@code null} if the whole fragment needs to be replicated.
+     */
+    private Collection<Operation> createDeltaReplicationOperations(PartitionReplicationEvent event, ServiceNamespace ns) {
+        int[] digest = replicaDigests.get(ns);
+        if (digest == null) {
+            return null;
+        }
+
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        Collection<ServiceInfo> services = nodeEngine.getServiceInfos(DeltaReplicaSyncAwareService.class);
+        for (ServiceInfo serviceInfo : services) {
+            DeltaReplicaSyncAwareService service = serviceInfo.getService();
+            if (!service.isKnownServiceNamespace(ns)) {
+                continue;
+            }
+
+            Operation op = service.prepareDeltaReplicationOperation(event, ns, digest);
+            if (op == null) {
+                return null;
+            }
+            op.setServiceName(serviceInfo.getName());
+            return Collections.singleton(op);
+        }
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(replicaDigests.size());
+        for (Map.Entry<ServiceNamespace, int[]> entry : replicaDigests.entrySet()) {
+            out.writeObject(entry.getKey());
+            out.writeIntArray(entry.getValue());
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int digestCount = in.readInt();
+        replicaDigests = new HashMap<ServiceNamespace, int[]>(digestCount);
+        for (int i = 0; i < digestCount; i++) {
+            ServiceNamespace ns = in.readObject();
+            replicaDigests.put(ns, in.readIntArray());
+        }
+    }
+
+    @Override
+    public int getId() {
+        return PartitionDataSerializerHook.REPLICA_DIGEST_SYNC_REQUEST;
+    }
+}
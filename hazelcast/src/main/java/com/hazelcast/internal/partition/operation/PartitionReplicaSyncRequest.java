@@ -54,8 +54,10 @@ import java.util.Collections;
  * <li>the maximum number of parallel synchronizations has already been reached</li>
  * </ul>
  * An empty response can be sent if the current replica version is 0.
+ * <p>
+ * See {@link PartitionReplicaDigestSyncRequest} for the request carrying the digests of the replica fragments.
  */
-public final class PartitionReplicaSyncRequest extends AbstractPartitionOperation
+public class PartitionReplicaSyncRequest extends AbstractPartitionOperation
         implements PartitionAwareOperation, MigrationCycleOperation, Versioned {
 
     private Collection<ServiceNamespace> allNamespaces;
@@ -112,7 +114,7 @@ public final class PartitionReplicaSyncRequest extends AbstractPartitionOperatio
                 }
 
                 for (ServiceNamespace namespace : allNamespaces) {
-                    Collection<Operation> operations = createFragmentReplicationOperations(event, namespace);
+                    Collection<Operation> operations = createNamespaceReplicationOperations(event, namespace);
                     sendOperations(operations, namespace);
                 }
             }
@@ -121,6 +123,11 @@ public final class PartitionReplicaSyncRequest extends AbstractPartitionOperatio
         }
     }
 
+    /** Creates the operations replicating the given fragment namespace to the replica */
+    Collection<Operation> createNamespaceReplicationOperations(PartitionReplicationEvent event, ServiceNamespace ns) {
+        return createFragmentReplicationOperations(event, ns);
+    }
+
     private void sendOperations(Collection<Operation> operations, ServiceNamespace ns) throws Exception {
         if (operations.isEmpty()) {
             logNoReplicaDataFound(getPartitionId(), ns, getReplicaIndex());
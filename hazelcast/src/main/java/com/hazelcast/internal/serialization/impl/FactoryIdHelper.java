@@ -140,6 +140,12 @@ public final class FactoryIdHelper {
     public static final String EVENT_JOURNAL_DS_FACTORY = "hazelcast.serialization.ds.event_journal";
     public static final int EVENT_JOURNAL_DS_FACTORY_ID = -45;
 
+    public static final String FLAKE_ID_GENERATOR_DS_FACTORY = "hazelcast.serialization.ds.flake_id_generator";
+    public static final int FLAKE_ID_GENERATOR_DS_FACTORY_ID = -46;
+
+    public static final String PN_COUNTER_DS_FACTORY = "hazelcast.serialization.ds.pn_counter";
+    public static final int PN_COUNTER_DS_FACTORY_ID = -47;
+
     // =========================== portables =============================================
 
     public static final String SPI_PORTABLE_FACTORY = "hazelcast.serialization.portable.spi";
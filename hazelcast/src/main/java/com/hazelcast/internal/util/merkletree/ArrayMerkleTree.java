@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.merkletree;
+
+import java.util.Arrays;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * {@link MerkleTree} implementation storing the node hashes in a single {@code int[]} in breadth-first order.
+ * <p>
+ * A leaf hash is the sum of the hashes of its entries, which makes add, replace and remove O(depth) operations
+ * independent of the number of entries.
+ */
+public class ArrayMerkleTree implements MerkleTree {
+
+    /**
+     * The minimum depth of a tree: a root and two leaves.
+     */
+    public static final int MIN_DEPTH = 2;
+
+    /**
+     * The maximum depth of a tree, resulting in 2^26 leaves and 512 MB of node hashes.
+     */
+    public static final int MAX_DEPTH = 27;
+
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int INT_BITS = 32;
+
+    private final int depth;
+    private final int leafCount;
+    private final int leafLevelOrder;
+    private final int[] tree;
+
+    public ArrayMerkleTree(int depth) {
+        checkTrue(depth >= MIN_DEPTH && depth <= MAX_DEPTH,
+                "Merkle tree depth must be between " + MIN_DEPTH + " and " + MAX_DEPTH);
+        this.depth = depth;
+        this.leafCount = 1 << (depth - 1);
+        this.leafLevelOrder = leafCount - 1;
+        this.tree = new int[(leafCount << 1) - 1];
+    }
+
+    @Override
+    public void updateAdd(int keyHash, int valueHash) {
+        int leafOrder = leafLevelOrder + getLeafIndex(keyHash);
+        tree[leafOrder] += entryHash(keyHash, valueHash);
+        updateBranch(leafOrder);
+    }
+
+    @Override
+    public void updateReplace(int keyHash, int oldValueHash, int newValueHash) {
+        int leafOrder = leafLevelOrder + getLeafIndex(keyHash);
+        tree[leafOrder] += entryHash(keyHash, newValueHash) - entryHash(keyHash, oldValueHash);
+        updateBranch(leafOrder);
+    }
+
+    @Override
+    public void updateRemove(int keyHash, int removedValueHash) {
+        int leafOrder = leafLevelOrder + getLeafIndex(keyHash);
+        tree[leafOrder] -= entryHash(keyHash, removedValueHash);
+        updateBranch(leafOrder);
+    }
+
+    @Override
+    public int getNodeHash(int nodeOrder) {
+        return tree[nodeOrder];
+    }
+
+    @Override
+    public int[] getLeafHashes() {
+        return Arrays.copyOfRange(tree, leafLevelOrder, tree.length);
+    }
+
+    @Override
+    public int getLeafIndex(int keyHash) {
+        // the unsigned key hash space is split into leafCount consecutive ranges
+        return (int) (((keyHash & 0xFFFFFFFFL) * leafCount) >>> INT_BITS);
+    }
+
+    @Override
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    @Override
+    public int depth() {
+        return depth;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(tree, 0);
+    }
+
+    private void updateBranch(int leafOrder) {
+        int nodeOrder = leafOrder;
+        while (nodeOrder > 0) {
+            int parentOrder = (nodeOrder - 1) >> 1;
+            int leftChildOrder = (parentOrder << 1) + 1;
+            tree[parentOrder] = nodeHash(tree[leftChildOrder], tree[leftChildOrder + 1]);
+            nodeOrder = parentOrder;
+        }
+    }
+
+    private static int entryHash(int keyHash, int valueHash) {
+        return MurmurHash3_fmix(keyHash * HASH_MULTIPLIER + valueHash);
+    }
+
+    private static int nodeHash(int leftHash, int rightHash) {
+        return MurmurHash3_fmix(leftHash * HASH_MULTIPLIER + rightHash);
+    }
+}
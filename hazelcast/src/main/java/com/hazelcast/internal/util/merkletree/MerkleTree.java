@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.merkletree;
+
+/**
+ * A Merkle tree over the entries of a data structure, used to find the differing key ranges between two replicas
+ * without comparing every entry.
+ * <p>
+ * The key hash space is split into {@code 2^(depth-1)} consecutive ranges, one per leaf. The hash of a leaf is
+ * an order independent combination of the hashes of the entries whose key hash falls into its range, so the tree
+ * can be maintained incrementally on every mutation. The hash of an inner node is derived from the hashes of its
+ * children.
+ * <p>
+ * Nodes are identified by their order: the root has order 0 and the children of node {@code n} have orders
+ * {@code 2n+1} and {@code 2n+2}.
+ * <p>
+ * Implementations are not thread-safe; they are expected to be updated on the partition thread only.
+ */
+public interface MerkleTree {
+
+    /**
+     * Updates the tree with an added entry.
+     *
+     * @param keyHash   the hash of the key
+     * @param valueHash the hash of the value
+     */
+    void updateAdd(int keyHash, int valueHash);
+
+    /**
+     * Updates the tree with an entry whose value has been replaced.
+     *
+     * @param keyHash      the hash of the key
+     * @param oldValueHash the hash of the previous value
+     * @param newValueHash the hash of the new value
+     */
+    void updateReplace(int keyHash, int oldValueHash, int newValueHash);
+
+    /**
+     * Updates the tree with a removed entry.
+     *
+     * @param keyHash          the hash of the key
+     * @param removedValueHash the hash of the removed value
+     */
+    void updateRemove(int keyHash, int removedValueHash);
+
+    /**
+     * Returns the hash of the node with the given order.
+     *
+     * @param nodeOrder the order of the node
+     * @return the hash of the node
+     */
+    int getNodeHash(int nodeOrder);
+
+    /**
+     * Returns the hashes of all leaves, ordered by their key range.
+     *
+     * @return a copy of the leaf hashes
+     */
+    int[] getLeafHashes();
+
+    /**
+     * Returns the index of the leaf covering the given key hash.
+     *
+     * @param keyHash the hash of the key
+     * @return the index of the leaf, between 0 (inclusive) and {@link #getLeafCount()} (exclusive)
+     */
+    int getLeafIndex(int keyHash);
+
+    /**
+     * @return the number of leaves of the tree
+     */
+    int getLeafCount();
+
+    /**
+     * @return the depth of the tree
+     */
+    int depth();
+
+    /**
+     * Resets the tree to the state of an empty data structure.
+     */
+    void clear();
+}
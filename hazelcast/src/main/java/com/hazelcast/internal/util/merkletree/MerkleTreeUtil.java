@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.merkletree;
+
+import java.util.Arrays;
+
+/**
+ * Utility methods for comparing {@link MerkleTree}s.
+ */
+public final class MerkleTreeUtil {
+
+    private MerkleTreeUtil() {
+    }
+
+    /**
+     * Compares the leaf hashes of two Merkle trees and returns the indexes of the leaves which differ.
+     * <p>
+     * If either side has no tree or the trees have a different number of leaves, the differing key ranges
+     * cannot be determined and {@code null} is returned, meaning that all entries should be compared.
+     *
+     * @param localLeafHashes  the leaf hashes of the local tree, may be {@code null}
+     * @param remoteLeafHashes the leaf hashes of the remote tree, may be {@code null}
+     * @return the indexes of the differing leaves or {@code null} if the trees are not comparable
+     * @see MerkleTree#getLeafHashes()
+     */
+    public static int[] compareLeaves(int[] localLeafHashes, int[] remoteLeafHashes) {
+        if (localLeafHashes == null || remoteLeafHashes == null || localLeafHashes.length != remoteLeafHashes.length) {
+            return null;
+        }
+        int[] differingLeaves = new int[localLeafHashes.length];
+        int count = 0;
+        for (int i = 0; i < localLeafHashes.length; i++) {
+            if (localLeafHashes[i] != remoteLeafHashes[i]) {
+                differingLeaves[count++] = i;
+            }
+        }
+        return Arrays.copyOf(differingLeaves, count);
+    }
+
+    /**
+     * Returns a lookup table marking the given leaves.
+     *
+     * @param leafCount the number of leaves of the tree
+     * @param leaves    the indexes of the leaves to mark
+     * @return an array of {@code leafCount} elements where the given leaves are {@code true}
+     */
+    public static boolean[] toLeafMask(int leafCount, int[] leaves) {
+        boolean[] mask = new boolean[leafCount];
+        for (int leaf : leaves) {
+            mask[leaf] = true;
+        }
+        return mask;
+    }
+}
@@ -39,6 +39,11 @@ public final class EventJournalDataSerializerHook implements DataSerializerHook
      */
     public static final int EVENT_JOURNAL_INITIAL_SUBSCRIBER_STATE = 1;
 
+    /**
+     * Type ID for the {@link EventJournalQueryPredicate} class
+     */
+    public static final int EVENT_JOURNAL_QUERY_PREDICATE = 2;
+
     @Override
     public int getFactoryId() {
         return F_ID;
@@ -52,6 +57,8 @@ public final class EventJournalDataSerializerHook implements DataSerializerHook
                 switch (typeId) {
                     case EVENT_JOURNAL_INITIAL_SUBSCRIBER_STATE:
                         return new EventJournalInitialSubscriberState();
+                    case EVENT_JOURNAL_QUERY_PREDICATE:
+                        return new EventJournalQueryPredicate();
                     default:
                         return null;
                 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.journal;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.util.function.Predicate;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * An event journal predicate which is evaluated by the member owning the journal on the serialized form of the
+ * events. It wraps a query {@link com.hazelcast.query.Predicate} which is applied to the key and the value of the
+ * event: the new value, or the old value if the event has no new value (e.g. for removals and evictions).
+ * <p>
+ * Unlike an arbitrary predicate, which requires every event read from the journal to be deserialized, the query
+ * predicate reads the attributes it refers to from the serialized key and value. For {@link
+ * com.hazelcast.nio.serialization.Portable} values the attributes are read without deserializing the value,
+ * values in other formats are deserialized once when the first attribute is read. The key is referred to with the
+ * {@code __key} attribute, as in a map query. Attributes defined by extractors on the map config can be used too.
+ * <p>
+ * The predicate can be passed to {@link com.hazelcast.map.impl.proxy.MapProxyImpl#readFromEventJournal} and to
+ * the corresponding cache method. It can only be evaluated by the member owning the journal.
+ *
+ * @since 3.9
+ */
+public class EventJournalQueryPredicate implements Predicate<Object>, IdentifiedDataSerializable {
+
+    private com.hazelcast.query.Predicate predicate;
+
+    public EventJournalQueryPredicate() {
+    }
+
+    /**
+     * @param predicate the query predicate to apply to the key and value of the journal events
+     */
+    public EventJournalQueryPredicate(com.hazelcast.query.Predicate predicate) {
+        this.predicate = checkNotNull(predicate, "predicate can't be null");
+    }
+
+    /**
+     * Tests the key and value of an event in serialized form.
+     *
+     * @param serializationService the serialization service
+     * @param key                  the serialized key of the event
+     * @param newValue             the serialized new value of the event, may be {@code null}
+     * @param oldValue             the serialized old value of the event, may be {@code null}
+     * @param extractors           the extractors of the attributes
+     * @return {@code true} if the event passes the predicate
+     */
+    @SuppressWarnings("unchecked")
+    public boolean test(InternalSerializationService serializationService, Data key, Data newValue, Data oldValue,
+                        Extractors extractors) {
+        Data value = newValue != null ? newValue : oldValue;
+        return predicate.apply(new CachedQueryEntry(serializationService, key, value, extractors));
+    }
+
+    /**
+     * Not supported, the predicate is evaluated by the member owning the journal on the serialized events.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean test(Object event) {
+        throw new UnsupportedOperationException("EventJournalQueryPredicate can only be evaluated on serialized events");
+    }
+
+    @Override
+    public int getFactoryId() {
+        return EventJournalDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return EventJournalDataSerializerHook.EVENT_JOURNAL_QUERY_PREDICATE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(predicate);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        predicate = in.readObject();
+    }
+
+    @Override
+    public String toString() {
+        return "EventJournalQueryPredicate{predicate=" + predicate + '}';
+    }
+}
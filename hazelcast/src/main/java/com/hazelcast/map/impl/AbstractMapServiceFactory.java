@@ -180,6 +180,7 @@ abstract class AbstractMapServiceFactory implements MapServiceFactory {
         MapService mapService = new MapService();
         mapService.managedService = managedService;
         mapService.migrationAwareService = migrationAwareService;
+        mapService.merkleTreeReplicaSync = new MapMerkleTreeReplicaSync(mapServiceContext);
         mapService.transactionalService = transactionalService;
         mapService.remoteService = remoteService;
         mapService.eventPublishingService = eventPublishingService;
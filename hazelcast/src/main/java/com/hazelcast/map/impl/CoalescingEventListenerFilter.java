@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.EventFilter;
+
+import java.io.IOException;
+
+/**
+ * {@link EventListenerFilter} of a listener which asked for its entry events to be coalesced.
+ * <p>
+ * {@link com.hazelcast.core.EntryEventType#UPDATED UPDATED} events of the same key which are published within the
+ * coalescing window are merged into a single event carrying the old value of the first and the new value of the last
+ * update. The events collected in a window are delivered to the listener in a single batch.
+ *
+ * @see com.hazelcast.map.impl.event.EntryEventCoalescer
+ */
+public class CoalescingEventListenerFilter extends EventListenerFilter {
+
+    private long coalescingWindowMillis;
+
+    public CoalescingEventListenerFilter() {
+    }
+
+    public CoalescingEventListenerFilter(int listenerFlags, EventFilter eventFilter, long coalescingWindowMillis) {
+        super(listenerFlags, eventFilter);
+        this.coalescingWindowMillis = coalescingWindowMillis;
+    }
+
+    public long getCoalescingWindowMillis() {
+        return coalescingWindowMillis;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        out.writeLong(coalescingWindowMillis);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        coalescingWindowMillis = in.readLong();
+    }
+
+    @Override
+    public String toString() {
+        return "CoalescingEventListenerFilter{"
+                + "coalescingWindowMillis=" + coalescingWindowMillis
+                + ", " + super.toString()
+                + '}';
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.COALESCING_EVENT_LISTENER_FILTER;
+    }
+}
@@ -23,10 +23,13 @@ import com.hazelcast.internal.nearcache.impl.invalidation.SingleNearCacheInvalid
 import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.ArrayDataSerializableFactory;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
+import com.hazelcast.map.impl.event.EntryEventDataBatch;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapEntryViewsWithCursor;
 import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.journal.DeserializingEventJournalMapEvent;
 import com.hazelcast.map.impl.journal.InternalEventJournalMapEvent;
+import com.hazelcast.map.impl.journal.MapEventJournalCompactReadResultSet;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalReadResultSetImpl;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
@@ -45,6 +48,7 @@ import com.hazelcast.map.impl.operation.ContainsValueOperation;
 import com.hazelcast.map.impl.operation.ContainsValueOperationFactory;
 import com.hazelcast.map.impl.operation.DeleteOperation;
 import com.hazelcast.map.impl.operation.EntryBackupOperation;
+import com.hazelcast.map.impl.operation.EntryOffloadableCompareAndSetOperation;
 import com.hazelcast.map.impl.operation.EntryOffloadableSetUnlockOperation;
 import com.hazelcast.map.impl.operation.EntryOperation;
 import com.hazelcast.map.impl.operation.EvictAllBackupOperation;
@@ -79,13 +83,18 @@ import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.operation.MapReplicationStateHolder;
 import com.hazelcast.map.impl.operation.MapSizeOperation;
 import com.hazelcast.map.impl.operation.MergeOperation;
+import com.hazelcast.map.impl.operation.MerkleTreeLeafEntriesOperation;
+import com.hazelcast.map.impl.operation.MerkleTreeLeavesOperation;
+import com.hazelcast.map.impl.operation.MerkleTreeReplicationOperation;
 import com.hazelcast.map.impl.operation.MultipleEntryBackupOperation;
+import com.hazelcast.map.impl.operation.MultipleEntryChunkOperation;
 import com.hazelcast.map.impl.operation.MultipleEntryOperation;
 import com.hazelcast.map.impl.operation.MultipleEntryOperationFactory;
 import com.hazelcast.map.impl.operation.MultipleEntryWithPredicateBackupOperation;
 import com.hazelcast.map.impl.operation.MultipleEntryWithPredicateOperation;
 import com.hazelcast.map.impl.operation.NotifyMapFlushOperation;
 import com.hazelcast.map.impl.operation.PartitionWideEntryBackupOperation;
+import com.hazelcast.map.impl.operation.PartitionWideEntryChunkOperation;
 import com.hazelcast.map.impl.operation.PartitionWideEntryOperation;
 import com.hazelcast.map.impl.operation.PartitionWideEntryOperationFactory;
 import com.hazelcast.map.impl.operation.PartitionWideEntryWithPredicateBackupOperation;
@@ -132,8 +141,13 @@ import com.hazelcast.map.impl.querycache.subscriber.operation.SetReadCursorOpera
 import com.hazelcast.map.impl.record.RecordInfo;
 import com.hazelcast.map.impl.record.RecordReplicationInfo;
 import com.hazelcast.map.impl.tx.MapTransactionLogRecord;
+import com.hazelcast.map.impl.tx.OptimisticMapTransactionLogRecord;
+import com.hazelcast.map.impl.tx.TxnBatchBackupOperation;
+import com.hazelcast.map.impl.tx.TxnBatchOperation;
 import com.hazelcast.map.impl.tx.TxnDeleteOperation;
+import com.hazelcast.map.impl.tx.TxnGetVersionedOperation;
 import com.hazelcast.map.impl.tx.TxnLockAndGetOperation;
+import com.hazelcast.map.impl.tx.TxnOptimisticPrepareOperation;
 import com.hazelcast.map.impl.tx.TxnPrepareBackupOperation;
 import com.hazelcast.map.impl.tx.TxnPrepareOperation;
 import com.hazelcast.map.impl.tx.TxnRollbackBackupOperation;
@@ -304,8 +318,23 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int EVENT_JOURNAL_DESERIALIZING_MAP_EVENT = 143;
     public static final int EVENT_JOURNAL_INTERNAL_MAP_EVENT = 144;
     public static final int EVENT_JOURNAL_READ_RESULT_SET = 145;
+    public static final int MERKLE_TREE_LEAVES = 146;
+    public static final int MERKLE_TREE_LEAF_ENTRIES = 147;
+    public static final int PARTITION_WIDE_ENTRY_CHUNK = 148;
+    public static final int ENTRY_OFFLOADABLE_COMPARE_AND_SET = 149;
+    public static final int COALESCING_EVENT_LISTENER_FILTER = 150;
+    public static final int ENTRY_EVENT_DATA_BATCH = 151;
+    public static final int EVENT_JOURNAL_COMPACT_READ_RESULT_SET = 152;
+    public static final int TXN_BATCH = 153;
+    public static final int TXN_BATCH_BACKUP = 154;
+    public static final int OPTIMISTIC_MAP_TRANSACTION_LOG_RECORD = 155;
+    public static final int TXN_OPTIMISTIC_PREPARE = 156;
+    public static final int TXN_GET_VERSIONED = 157;
+    public static final int ENTRY_VIEWS_WITH_CURSOR = 158;
+    public static final int MERKLE_TREE_REPLICATION = 159;
+    public static final int MULTIPLE_ENTRY_CHUNK = 160;
 
-    private static final int LEN = EVENT_JOURNAL_READ_RESULT_SET + 1;
+    private static final int LEN = MULTIPLE_ENTRY_CHUNK + 1;
 
     @Override
     public int getFactoryId() {
@@ -1026,6 +1055,81 @@ public final class MapDataSerializerHook implements DataSerializerHook {
                 return new MapEventJournalReadResultSetImpl<Object, Object, Object>();
             }
         };
+        constructors[EVENT_JOURNAL_COMPACT_READ_RESULT_SET] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapEventJournalCompactReadResultSet<Object, Object, Object>();
+            }
+        };
+        constructors[MERKLE_TREE_LEAVES] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MerkleTreeLeavesOperation();
+            }
+        };
+        constructors[MERKLE_TREE_LEAF_ENTRIES] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MerkleTreeLeafEntriesOperation();
+            }
+        };
+        constructors[ENTRY_VIEWS_WITH_CURSOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapEntryViewsWithCursor();
+            }
+        };
+        constructors[MERKLE_TREE_REPLICATION] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MerkleTreeReplicationOperation();
+            }
+        };
+        constructors[MULTIPLE_ENTRY_CHUNK] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MultipleEntryChunkOperation();
+            }
+        };
+        constructors[PARTITION_WIDE_ENTRY_CHUNK] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new PartitionWideEntryChunkOperation();
+            }
+        };
+        constructors[ENTRY_OFFLOADABLE_COMPARE_AND_SET] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new EntryOffloadableCompareAndSetOperation();
+            }
+        };
+        constructors[COALESCING_EVENT_LISTENER_FILTER] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new CoalescingEventListenerFilter();
+            }
+        };
+        constructors[ENTRY_EVENT_DATA_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new EntryEventDataBatch();
+            }
+        };
+        constructors[TXN_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new TxnBatchOperation();
+            }
+        };
+        constructors[TXN_BATCH_BACKUP] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new TxnBatchBackupOperation();
+            }
+        };
+        constructors[OPTIMISTIC_MAP_TRANSACTION_LOG_RECORD] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new OptimisticMapTransactionLogRecord();
+            }
+        };
+        constructors[TXN_OPTIMISTIC_PREPARE] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new TxnOptimisticPrepareOperation();
+            }
+        };
+        constructors[TXN_GET_VERSIONED] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new TxnGetVersionedOperation();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
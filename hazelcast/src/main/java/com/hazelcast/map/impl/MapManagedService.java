@@ -18,13 +18,18 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.concurrent.lock.LockStoreInfo;
+import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.ObjectNamespace;
+import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.util.ConstructorFunction;
+import com.hazelcast.util.executor.ExecutorType;
 
 import java.util.Properties;
 
+import static com.hazelcast.spi.ExecutionService.MAP_LOADER_EXECUTOR;
+
 /**
  * Defines managed service behavior of map service.
  *
@@ -32,6 +37,8 @@ import java.util.Properties;
  */
 public class MapManagedService implements ManagedService {
 
+    private static final String DEFAULT_EXECUTOR_CONFIG_NAME = "default";
+
     private final MapServiceContext mapServiceContext;
 
     MapManagedService(MapServiceContext mapServiceContext) {
@@ -47,6 +54,27 @@ public class MapManagedService implements ManagedService {
         }
         mapServiceContext.initPartitionsContainers();
         mapServiceContext.getExpirationManager().start();
+        registerMapLoaderExecutor(nodeEngine);
+    }
+
+    /**
+     * Registers the map loader executor with the pool size and queue capacity of its executor config. The
+     * {@link GroupProperty#MAP_LOAD_PARALLELISM} only sizes the pool when no executor config matches the
+     * executor name, i.e. the executor would otherwise use the default executor config.
+     */
+    private static void registerMapLoaderExecutor(NodeEngine nodeEngine) {
+        ExecutorConfig executorConfig = nodeEngine.getConfig().findExecutorConfig(MAP_LOADER_EXECUTOR);
+        int poolSize = DEFAULT_EXECUTOR_CONFIG_NAME.equals(executorConfig.getName())
+                ? nodeEngine.getProperties().getInteger(GroupProperty.MAP_LOAD_PARALLELISM)
+                : executorConfig.getPoolSize();
+        int queueCapacity = executorConfig.getQueueCapacity() <= 0 ? Integer.MAX_VALUE : executorConfig.getQueueCapacity();
+        try {
+            nodeEngine.getExecutionService().register(MAP_LOADER_EXECUTOR, poolSize, queueCapacity, ExecutorType.CACHED);
+        } catch (IllegalArgumentException e) {
+            // the executor has already been created from its config, e.g. by a
+            // map store initialized before this service, so we keep using it
+            nodeEngine.getLogger(MapManagedService.class).finest("Map loader executor is already registered", e);
+        }
     }
 
     @Override
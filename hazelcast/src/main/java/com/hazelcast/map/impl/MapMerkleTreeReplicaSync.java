@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.util.merkletree.MerkleTree;
+import com.hazelcast.internal.util.merkletree.MerkleTreeUtil;
+import com.hazelcast.map.impl.operation.MerkleTreeReplicationOperation;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.ObjectNamespace;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.ServiceNamespace;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.hazelcast.map.impl.record.Records.buildRecordInfo;
+
+/**
+ * Synchronizes the backup replicas of the maps with Merkle trees by transferring only the entries in the tree leaves
+ * which differ between the primary and the backup replica. The digest of a backup replica is the leaf hashes of its
+ * tree.
+ * <p>
+ * The whole map fragment is replicated when either replica has no tree or the trees have a different depth, and for
+ * maps with a write-behind map store, whose write-behind queues are only replicated with the whole fragment.
+ *
+ * @see MapService
+ * @see com.hazelcast.spi.properties.GroupProperty#MAP_MERKLE_TREE_DEPTH
+ */
+class MapMerkleTreeReplicaSync {
+
+    private final MapServiceContext mapServiceContext;
+
+    MapMerkleTreeReplicaSync(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+    }
+
+    int[] getReplicaDigest(int partitionId, ServiceNamespace namespace) {
+        RecordStore recordStore = getExistingRecordStore(partitionId, namespace);
+        MerkleTree merkleTree = recordStore == null ? null : recordStore.getMerkleTree();
+        return merkleTree == null ? null : merkleTree.getLeafHashes();
+    }
+
+    Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace, int[] digest) {
+        RecordStore recordStore = getExistingRecordStore(event.getPartitionId(), namespace);
+        if (recordStore == null) {
+            return null;
+        }
+        MapContainer mapContainer = recordStore.getMapContainer();
+        if (mapContainer.getMapConfig().getTotalBackupCount() < event.getReplicaIndex()
+                || mapContainer.getMapStoreContext().isWriteBehindMapStoreEnabled()) {
+            return null;
+        }
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        int[] differingLeaves = MerkleTreeUtil.compareLeaves(merkleTree == null ? null : merkleTree.getLeafHashes(), digest);
+        if (differingLeaves == null) {
+            return null;
+        }
+
+        List<RecordReplicationInfo> records = new ArrayList<RecordReplicationInfo>();
+        if (differingLeaves.length > 0) {
+            boolean[] leafMask = MerkleTreeUtil.toLeafMask(merkleTree.getLeafCount(), differingLeaves);
+            Iterator<Record> iterator = recordStore.iterator();
+            while (iterator.hasNext()) {
+                Record record = iterator.next();
+                Data key = record.getKey();
+                if (leafMask[merkleTree.getLeafIndex(key.hashCode())]) {
+                    Data value = mapServiceContext.toData(record.getValue());
+                    records.add(new RecordReplicationInfo(key, value, buildRecordInfo(record)));
+                }
+            }
+        }
+        return new MerkleTreeReplicationOperation(recordStore.getName(), differingLeaves, records);
+    }
+
+    private RecordStore getExistingRecordStore(int partitionId, ServiceNamespace namespace) {
+        String mapName = ((ObjectNamespace) namespace).getObjectName();
+        return mapServiceContext.getPartitionContainer(partitionId).getExistingRecordStore(mapName);
+    }
+}
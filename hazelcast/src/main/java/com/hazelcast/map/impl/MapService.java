@@ -20,6 +20,7 @@ import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.internal.cluster.ClusterStateListener;
 import com.hazelcast.internal.cluster.ClusterVersionListener;
+import com.hazelcast.internal.partition.DeltaReplicaSyncAwareService;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.spi.ClientAwareService;
@@ -27,7 +28,6 @@ import com.hazelcast.spi.DistributedObjectNamespace;
 import com.hazelcast.spi.EventFilter;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.EventRegistration;
-import com.hazelcast.spi.FragmentedMigrationAwareService;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.NotifiableEventListener;
@@ -62,6 +62,7 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
  *
  * @see MapManagedService
  * @see MapMigrationAwareService
+ * @see MapMerkleTreeReplicaSync
  * @see MapTransactionalService
  * @see MapRemoteService
  * @see MapEventPublishingService
@@ -74,7 +75,7 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, FragmentedMigrationAwareService,
+public class MapService implements ManagedService, DeltaReplicaSyncAwareService,
         TransactionalService, RemoteService, EventPublishingService<Object, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService<LocalMapStats>,
         PartitionAwareService, ClientAwareService, QuorumAwareService, NotifiableEventListener, ClusterStateListener,
@@ -84,6 +85,7 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
 
     protected ManagedService managedService;
     protected CountingMigrationAwareService migrationAwareService;
+    protected MapMerkleTreeReplicaSync merkleTreeReplicaSync;
     protected TransactionalService transactionalService;
     protected RemoteService remoteService;
     protected EventPublishingService eventPublishingService;
@@ -142,6 +144,17 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
         return migrationAwareService.prepareReplicationOperation(event, namespaces);
     }
 
+    @Override
+    public int[] getReplicaDigest(int partitionId, ServiceNamespace namespace) {
+        return merkleTreeReplicaSync.getReplicaDigest(partitionId, namespace);
+    }
+
+    @Override
+    public Operation prepareDeltaReplicationOperation(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                      int[] digest) {
+        return merkleTreeReplicaSync.prepareDeltaReplicationOperation(event, namespace, digest);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
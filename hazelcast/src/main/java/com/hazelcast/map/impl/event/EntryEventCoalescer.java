@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.event;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.NodeEngine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Coalesces the entry events published to listeners registered with a
+ * {@link com.hazelcast.map.impl.CoalescingEventListenerFilter}.
+ * <p>
+ * The events of a registration are buffered for the coalescing window which starts with the first buffered event.
+ * Subsequent {@link com.hazelcast.core.EntryEventType#UPDATED UPDATED} events of an already buffered key are merged
+ * into the buffered event, keeping the old value of the first and the new value of the last update. Any other event
+ * type flushes the buffered update of its key before being published, so the listener never observes the events of
+ * a key out of order. When the window closes, all buffered events are published as one {@link EntryEventDataBatch}.
+ * <p>
+ * All events of a coalescing registration are published with the same order key, since the events of a batch and
+ * the events published outside of it have to be processed in the same order on the subscriber side.
+ */
+class EntryEventCoalescer {
+
+    private final EventService eventService;
+    private final ExecutionService executionService;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<String, Window>();
+
+    EntryEventCoalescer(NodeEngine nodeEngine) {
+        this.eventService = nodeEngine.getEventService();
+        this.executionService = nodeEngine.getExecutionService();
+    }
+
+    /**
+     * Buffers or publishes the {@code eventData} on the given {@code registration}.
+     *
+     * @param registration           the coalescing listener registration
+     * @param coalescingWindowMillis the duration of the coalescing window of the registration
+     * @param eventData              the event to publish
+     */
+    void publish(EventRegistration registration, long coalescingWindowMillis, EntryEventData eventData) {
+        while (true) {
+            Window window = getOrCreateWindow(registration, coalescingWindowMillis);
+            synchronized (window) {
+                if (window.closed) {
+                    // the window has just been flushed, the event goes to the next window
+                    continue;
+                }
+                window.add(eventData);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publishes the events buffered for the given {@code registration}, if there are any, followed by the
+     * {@code eventData}. Both are published with the order key of the registration, so the listener receives the
+     * buffered events first.
+     *
+     * @param registration the coalescing listener registration
+     * @param eventData    the event to publish after the buffered events, e.g. a map-wide event
+     */
+    void publishAfterBuffered(EventRegistration registration, Object eventData) {
+        Window window = windows.get(registration.getId());
+        if (window != null) {
+            window.flush();
+        }
+        eventService.publishEvent(SERVICE_NAME, registration, eventData, orderKey(registration));
+    }
+
+    private static int orderKey(EventRegistration registration) {
+        return registration.getId().hashCode();
+    }
+
+    private Window getOrCreateWindow(EventRegistration registration, long coalescingWindowMillis) {
+        String registrationId = registration.getId();
+        Window window = windows.get(registrationId);
+        if (window == null) {
+            Window newWindow = new Window(registration);
+            window = windows.putIfAbsent(registrationId, newWindow);
+            if (window == null) {
+                window = newWindow;
+                executionService.schedule(newWindow, coalescingWindowMillis, MILLISECONDS);
+            }
+        }
+        return window;
+    }
+
+    /**
+     * The events buffered for a single registration during a single coalescing window.
+     * All access to a window is guarded by the window's monitor.
+     */
+    private final class Window implements Runnable {
+
+        private final EventRegistration registration;
+        private final int orderKey;
+        private final Map<Data, EntryEventData> pending = new LinkedHashMap<Data, EntryEventData>();
+        private boolean closed;
+
+        Window(EventRegistration registration) {
+            this.registration = registration;
+            this.orderKey = orderKey(registration);
+        }
+
+        void add(EntryEventData eventData) {
+            Data key = eventData.getDataKey();
+            EntryEventData buffered = pending.get(key);
+            if (eventData.getEventType() == UPDATED.getType()) {
+                pending.put(key, buffered == null ? eventData : merge(buffered, eventData));
+                return;
+            }
+            if (buffered != null) {
+                pending.remove(key);
+                publish(buffered);
+            }
+            publish(eventData);
+        }
+
+        @Override
+        public void run() {
+            flush();
+        }
+
+        synchronized void flush() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            windows.remove(registration.getId(), this);
+            if (pending.size() == 1) {
+                publish(pending.values().iterator().next());
+            } else if (!pending.isEmpty()) {
+                List<EntryEventData> events = new ArrayList<EntryEventData>(pending.values());
+                publish(new EntryEventDataBatch(events));
+            }
+            pending.clear();
+        }
+
+        private void publish(Object event) {
+            eventService.publishEvent(SERVICE_NAME, registration, event, orderKey);
+        }
+
+        private EntryEventData merge(EntryEventData first, EntryEventData last) {
+            return new EntryEventData(last.getSource(), last.getMapName(), last.getCaller(), last.getDataKey(),
+                    last.getDataNewValue(), first.getDataOldValue(), UPDATED.getType());
+        }
+    }
+}
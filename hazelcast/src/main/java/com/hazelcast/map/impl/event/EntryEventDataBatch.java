@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.event;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of {@link EntryEventData} which is delivered to a listener as a single event, so that all events of a
+ * coalescing window travel in one packet.
+ *
+ * @see EntryEventCoalescer
+ */
+public class EntryEventDataBatch implements IdentifiedDataSerializable {
+
+    private List<EntryEventData> events;
+
+    public EntryEventDataBatch() {
+    }
+
+    public EntryEventDataBatch(List<EntryEventData> events) {
+        this.events = events;
+    }
+
+    public List<EntryEventData> getEvents() {
+        return events;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(events.size());
+        for (EntryEventData event : events) {
+            event.writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        events = new ArrayList<EntryEventData>(size);
+        for (int i = 0; i < size; i++) {
+            EntryEventData event = new EntryEventData();
+            event.readData(in);
+            events.add(event);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.ENTRY_EVENT_DATA_BATCH;
+    }
+
+    @Override
+    public String toString() {
+        return "EntryEventDataBatch{size=" + events.size() + '}';
+    }
+}
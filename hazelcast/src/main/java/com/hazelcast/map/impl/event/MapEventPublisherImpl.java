@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.event;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.CoalescingEventListenerFilter;
 import com.hazelcast.map.impl.EntryEventFilter;
 import com.hazelcast.map.impl.EventListenerFilter;
 import com.hazelcast.map.impl.MapContainer;
@@ -41,6 +42,7 @@ import com.hazelcast.wan.WanReplicationPublisher;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
@@ -66,6 +68,7 @@ public class MapEventPublisherImpl implements MapEventPublisher {
     protected final EventService eventService;
     protected final FilteringStrategy filteringStrategy;
     protected final QueryCacheEventPublisher queryCacheEventPublisher;
+    protected final EntryEventCoalescer eventCoalescer;
 
     public MapEventPublisherImpl(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
@@ -81,6 +84,7 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         this.queryCacheEventPublisher = new QueryCacheEventPublisher(filteringStrategy,
                 mapServiceContext.getQueryCacheContext(),
                 (InternalSerializationService) serializationService);
+        this.eventCoalescer = new EntryEventCoalescer(nodeEngine);
     }
 
     @Override
@@ -116,6 +120,7 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         }
 
         Collection<EventRegistration> registrations = null;
+        Collection<EventRegistration> coalescingRegistrations = null;
         for (EventRegistration registration : mapsListenerRegistrations) {
             EventFilter filter = registration.getFilter();
 
@@ -125,7 +130,12 @@ public class MapEventPublisherImpl implements MapEventPublisher {
                 }
             }
 
-            if (!(filter instanceof MapPartitionLostEventFilter)) {
+            if (filter instanceof CoalescingEventListenerFilter) {
+                if (coalescingRegistrations == null) {
+                    coalescingRegistrations = new ArrayList<EventRegistration>();
+                }
+                coalescingRegistrations.add(registration);
+            } else if (!(filter instanceof MapPartitionLostEventFilter)) {
                 if (registrations == null) {
                     registrations = new ArrayList<EventRegistration>();
                 }
@@ -133,13 +143,20 @@ public class MapEventPublisherImpl implements MapEventPublisher {
             }
         }
 
-        if (isEmpty(registrations)) {
+        if (isEmpty(registrations) && isEmpty(coalescingRegistrations)) {
             return;
         }
 
         String source = getThisNodesAddress();
         MapEventData mapEventData = new MapEventData(source, mapName, caller, eventType.getType(), numberOfEntriesAffected);
-        publishEventInternal(registrations, mapEventData, mapName.hashCode());
+        if (coalescingRegistrations != null) {
+            // the coalesced entry events precede the map-wide event, so it is published with their order key
+            for (EventRegistration registration : coalescingRegistrations) {
+                eventCoalescer.publishAfterBuffered(registration, mapEventData);
+            }
+        }
+        publishEventInternal(registrations == null ? Collections.<EventRegistration>emptyList() : registrations,
+                mapEventData, mapName.hashCode());
     }
 
     @Override
@@ -166,6 +183,8 @@ public class MapEventPublisherImpl implements MapEventPublisher {
      * <p>
      * The method uses the hashcode of the {@code dataKey} to order the events in the event subsystem.
      * This means that all events for the same key will be ordered. Events with different keys need not be ordered.
+     * The events of registrations with a {@link CoalescingEventListenerFilter} are handed to the
+     * {@link EntryEventCoalescer} instead.
      *
      * @param registrations the listener registrations to which we are publishing
      * @param caller        the address of the caller that caused the event
@@ -196,7 +215,12 @@ public class MapEventPublisherImpl implements MapEventPublisher {
 
             EntryEventData eventDataToBePublished = eventDataCache.getOrCreateEventData(mapName, caller, dataKey,
                     newValue, oldValue, mergingValue, eventTypeForPublishing, isIncludeValue(filter));
-            eventService.publishEvent(SERVICE_NAME, registration, eventDataToBePublished, orderKey);
+            if (filter instanceof CoalescingEventListenerFilter) {
+                long coalescingWindowMillis = ((CoalescingEventListenerFilter) filter).getCoalescingWindowMillis();
+                eventCoalescer.publish(registration, coalescingWindowMillis, eventDataToBePublished);
+            } else {
+                eventService.publishEvent(SERVICE_NAME, registration, eventDataToBePublished, orderKey);
+            }
         }
 
         // if events were generated, execute the post-publish hook on each one
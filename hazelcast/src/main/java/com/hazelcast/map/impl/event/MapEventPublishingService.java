@@ -83,6 +83,12 @@ public class MapEventPublishingService implements EventPublishingService<Object,
             dispatchEntryEventData((EntryEventData) eventData, listener);
             return;
         }
+
+        if (eventData instanceof EntryEventDataBatch) {
+            dispatchEntryEventDataBatch((EntryEventDataBatch) eventData, listener);
+            return;
+        }
+
         if (eventData instanceof MapEventData) {
             dispatchMapEventData((MapEventData) eventData, listener);
             return;
@@ -184,6 +190,12 @@ public class MapEventPublishingService implements EventPublishingService<Object,
         callListener(listener, event);
     }
 
+    private void dispatchEntryEventDataBatch(EntryEventDataBatch batch, ListenerAdapter listener) {
+        for (EntryEventData entryEventData : batch.getEvents()) {
+            dispatchEntryEventData(entryEventData, listener);
+        }
+    }
+
     private Member getMember(EventData eventData) {
         Member member = nodeEngine.getClusterService().getMember(eventData.getCaller());
         if (member == null) {
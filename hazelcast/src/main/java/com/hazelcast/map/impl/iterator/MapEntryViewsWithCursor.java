@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Container class for a collection of serialized {@link com.hazelcast.core.EntryView}s along with an offset from
+ * which new entry views can be fetched.
+ *
+ * @see com.hazelcast.map.impl.operation.MerkleTreeLeafEntriesOperation
+ */
+public class MapEntryViewsWithCursor extends AbstractCursor<Data> {
+
+    public MapEntryViewsWithCursor() {
+    }
+
+    public MapEntryViewsWithCursor(List<Data> entryViews, int nextTableIndexToReadFrom) {
+        super(entryViews, nextTableIndexToReadFrom);
+    }
+
+    @Override
+    void writeElement(ObjectDataOutput out, Data entryView) throws IOException {
+        out.writeData(entryView);
+    }
+
+    @Override
+    Data readElement(ObjectDataInput in) throws IOException {
+        return in.readData();
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.ENTRY_VIEWS_WITH_CURSOR;
+    }
+}
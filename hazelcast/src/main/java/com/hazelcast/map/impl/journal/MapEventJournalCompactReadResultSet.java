@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.function.Predicate;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * The result set of a map event journal read without a projection.
+ * <p>
+ * The {@link ReadResultSetImpl} serializes every item which passes the predicate into its own {@link Data} when
+ * it is added, so the response contains one nested {@link DeserializingEventJournalMapEvent} with its own headers
+ * per event. This result set keeps references to the serialized keys and values of the journal events instead and
+ * writes the batch in columns: the event types, followed by the keys, the new values and the old values of all
+ * events. The sequences are written as deltas to the first sequence. This avoids a serialization and a copy per
+ * event on the member owning the journal and makes the response smaller.
+ * <p>
+ * The per-event {@link #getDataItems() data items} are only created if they are requested, e.g. when the result
+ * is sent to a client.
+ *
+ * @param <K> the type of the map keys
+ * @param <V> the type of the map values
+ * @param <T> the type of the result items, equal to the event type since there is no projection
+ */
+public class MapEventJournalCompactReadResultSet<K, V, T> extends ReadResultSetImpl<InternalEventJournalMapEvent, T> {
+
+    private transient int minSize;
+    private transient Predicate<InternalEventJournalMapEvent> predicate;
+
+    private InternalEventJournalMapEvent[] events;
+    private long[] seqs;
+    private int size;
+    private int readCount;
+
+    public MapEventJournalCompactReadResultSet() {
+    }
+
+    MapEventJournalCompactReadResultSet(int minSize, int maxSize, SerializationService serializationService,
+                                        Predicate<? super EventJournalMapEvent<K, V>> predicate, Extractors extractors) {
+        this.minSize = minSize;
+        this.events = new InternalEventJournalMapEvent[maxSize];
+        this.seqs = new long[maxSize];
+        this.serializationService = serializationService;
+        this.predicate = MapEventJournalReadResultSetImpl.adaptPredicate(predicate, serializationService, extractors);
+    }
+
+    @Override
+    public void addItem(long seq, Object item) {
+        assert size < events.length;
+        readCount++;
+
+        // items read from the ringbuffer disk tier are serialized
+        InternalEventJournalMapEvent e = serializationService.toObject(item);
+        if (predicate != null && !predicate.test(new DeserializingEventJournalMapEvent<K, V>(serializationService, e))) {
+            return;
+        }
+        events[size] = e;
+        seqs[size] = seq;
+        size++;
+    }
+
+    @Override
+    public boolean isMaxSizeReached() {
+        return size == events.length;
+    }
+
+    @Override
+    public boolean isMinSizeReached() {
+        return size >= minSize;
+    }
+
+    @Override
+    public int readCount() {
+        return readCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkNotNegative(index, "index should not be negative");
+        checkTrue(index < size, "index should not be equal or larger than size");
+
+        return (T) new DeserializingEventJournalMapEvent<K, V>(serializationService, events[index]);
+    }
+
+    @Override
+    public long getSequence(int index) {
+        return index < size ? seqs[index] : -1;
+    }
+
+    @Override
+    public Data[] getDataItems() {
+        Data[] items = new Data[size];
+        for (int k = 0; k < size; k++) {
+            items[k] = serializationService.toData(new DeserializingEventJournalMapEvent<K, V>(serializationService, events[k]));
+        }
+        return items;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.EVENT_JOURNAL_COMPACT_READ_RESULT_SET;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(readCount);
+        out.writeInt(size);
+        if (size == 0) {
+            return;
+        }
+        out.writeLong(seqs[0]);
+        for (int k = 1; k < size; k++) {
+            out.writeInt((int) (seqs[k] - seqs[0]));
+        }
+        for (int k = 0; k < size; k++) {
+            out.writeInt(events[k].getEventType());
+        }
+        for (int k = 0; k < size; k++) {
+            out.writeData(events[k].getDataKey());
+        }
+        for (int k = 0; k < size; k++) {
+            out.writeData(events[k].getDataNewValue());
+        }
+        for (int k = 0; k < size; k++) {
+            out.writeData(events[k].getDataOldValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        readCount = in.readInt();
+        size = in.readInt();
+        seqs = new long[size];
+        events = new InternalEventJournalMapEvent[size];
+        if (size == 0) {
+            return;
+        }
+        seqs[0] = in.readLong();
+        for (int k = 1; k < size; k++) {
+            seqs[k] = seqs[0] + in.readInt();
+        }
+        int[] eventTypes = new int[size];
+        for (int k = 0; k < size; k++) {
+            eventTypes[k] = in.readInt();
+        }
+        Data[] keys = new Data[size];
+        for (int k = 0; k < size; k++) {
+            keys[k] = in.readData();
+        }
+        Data[] newValues = new Data[size];
+        for (int k = 0; k < size; k++) {
+            newValues[k] = in.readData();
+        }
+        for (int k = 0; k < size; k++) {
+            events[k] = new InternalEventJournalMapEvent(keys[k], newValues[k], in.readData(), eventTypes[k]);
+        }
+    }
+}
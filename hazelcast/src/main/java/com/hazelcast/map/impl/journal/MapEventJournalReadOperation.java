@@ -24,7 +24,9 @@ import com.hazelcast.map.journal.EventJournalMapEvent;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
+import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.function.Predicate;
 
 import java.io.IOException;
@@ -61,8 +63,15 @@ public class MapEventJournalReadOperation<K, V, T> extends EventJournalReadOpera
 
     @Override
     protected ReadResultSetImpl<InternalEventJournalMapEvent, T> createResultSet() {
+        final MapService service = getService();
+        final Extractors extractors = service.getMapServiceContext().getMapContainer(name).getExtractors();
+        final SerializationService serializationService = getNodeEngine().getSerializationService();
+        if (projection == null) {
+            return new MapEventJournalCompactReadResultSet<K, V, T>(
+                    minSize, maxSize, serializationService, predicate, extractors);
+        }
         return new MapEventJournalReadResultSetImpl<K, V, T>(
-                minSize, maxSize, getNodeEngine().getSerializationService(), predicate, projection);
+                minSize, maxSize, serializationService, predicate, projection, extractors);
     }
 
     @Override
@@ -16,10 +16,13 @@
 
 package com.hazelcast.map.impl.journal;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.journal.EventJournalQueryPredicate;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.journal.EventJournalMapEvent;
 import com.hazelcast.nio.serialization.SerializableByConvention;
 import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.function.Predicate;
@@ -31,24 +34,48 @@ public class MapEventJournalReadResultSetImpl<K, V, T> extends ReadResultSetImpl
     }
 
     MapEventJournalReadResultSetImpl(int minSize, int maxSize, SerializationService serializationService,
-                                     final Predicate<? super EventJournalMapEvent<K, V>> predicate,
-                                     final Projection<? super EventJournalMapEvent<K, V>, T> projection) {
+                                     Predicate<? super EventJournalMapEvent<K, V>> predicate,
+                                     Projection<? super EventJournalMapEvent<K, V>, T> projection,
+                                     Extractors extractors) {
         super(minSize, maxSize, serializationService,
-                predicate == null ? null : new Predicate<InternalEventJournalMapEvent>() {
-                    @Override
-                    @SuppressWarnings("unchecked")
-                    @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
-                    public boolean test(InternalEventJournalMapEvent e) {
-                        return predicate.test((DeserializingEventJournalMapEvent<K, V>) e);
-                    }
-                },
+                MapEventJournalReadResultSetImpl.<K, V>adaptPredicate(predicate, serializationService, extractors),
                 projection == null ? null : new ProjectionAdapter<K, V, T>(projection));
     }
 
+    /**
+     * Adapts the user supplied predicate to the internal journal events. An {@link EventJournalQueryPredicate} is
+     * evaluated on the serialized key and value of the events, any other predicate on the deserializing events.
+     */
+    static <K, V> Predicate<InternalEventJournalMapEvent> adaptPredicate(
+            final Predicate<? super EventJournalMapEvent<K, V>> predicate,
+            final SerializationService serializationService, final Extractors extractors) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof EventJournalQueryPredicate) {
+            final EventJournalQueryPredicate queryPredicate = (EventJournalQueryPredicate) predicate;
+            return new Predicate<InternalEventJournalMapEvent>() {
+                @Override
+                public boolean test(InternalEventJournalMapEvent e) {
+                    return queryPredicate.test((InternalSerializationService) serializationService,
+                            e.getDataKey(), e.getDataNewValue(), e.getDataOldValue(), extractors);
+                }
+            };
+        }
+        return new Predicate<InternalEventJournalMapEvent>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            @SuppressFBWarnings("BC_UNCONFIRMED_CAST")
+            public boolean test(InternalEventJournalMapEvent e) {
+                return predicate.test((DeserializingEventJournalMapEvent<K, V>) e);
+            }
+        };
+    }
+
     @Override
     public void addItem(long seq, Object item) {
-        // the event journal ringbuffer supports only OBJECT format for now
-        final InternalEventJournalMapEvent e = (InternalEventJournalMapEvent) item;
+        // the event journal ringbuffer is in OBJECT format, items read from the disk tier are serialized
+        final InternalEventJournalMapEvent e = serializationService.toObject(item);
         final DeserializingEventJournalMapEvent<K, V> deserialisingEvent
                 = new DeserializingEventJournalMapEvent<K, V>(serializationService, e);
         super.addItem(seq, deserialisingEvent);
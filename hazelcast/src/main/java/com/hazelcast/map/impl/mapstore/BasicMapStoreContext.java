@@ -21,11 +21,13 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.IterableUtil;
 
@@ -51,17 +53,25 @@ final class BasicMapStoreContext implements MapStoreContext {
 
     private MapStoreConfig mapStoreConfig;
 
+    private final MapLoaderStats mapLoaderStats = new MapLoaderStats();
+
     private BasicMapStoreContext() {
     }
 
     @Override
     public void start() {
         mapStoreManager.start();
+        getMetricsRegistry().scanAndRegister(mapLoaderStats, "map.loader[" + mapName + "]");
     }
 
     @Override
     public void stop() {
         mapStoreManager.stop();
+        getMetricsRegistry().deregister(mapLoaderStats);
+    }
+
+    private MetricsRegistry getMetricsRegistry() {
+        return ((NodeEngineImpl) mapServiceContext.getNodeEngine()).getMetricsRegistry();
     }
 
     @Override
@@ -76,6 +86,11 @@ final class BasicMapStoreContext implements MapStoreContext {
         return storeWrapper.isMapLoader();
     }
 
+    @Override
+    public MapLoaderStats getMapLoaderStats() {
+        return mapLoaderStats;
+    }
+
     @Override
     public SerializationService getSerializationService() {
         return mapServiceContext.getNodeEngine().getSerializationService();
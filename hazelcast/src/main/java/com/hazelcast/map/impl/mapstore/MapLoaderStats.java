@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Keeps track of the progress and the throughput of the values loaded from the
+ * {@link com.hazelcast.core.MapLoader} of a map on this member.
+ * One instance is created per map and registered to the metrics registry as {@code map.loader[<name>]}.
+ */
+public final class MapLoaderStats {
+
+    @Probe(name = "requestedKeyCount")
+    private final MwCounter requestedKeyCount = newMwCounter();
+    @Probe(name = "loadAllCount")
+    private final MwCounter loadAllCount = newMwCounter();
+    @Probe(name = "loadedEntryCount")
+    private final MwCounter loadedEntryCount = newMwCounter();
+    @Probe(name = "appliedEntryCount")
+    private final MwCounter appliedEntryCount = newMwCounter();
+    @Probe(name = "pendingBatchCount")
+    private final MwCounter pendingBatchCount = newMwCounter();
+    @Probe(name = "totalLoadAllLatencyNanos")
+    private final MwCounter totalLoadAllLatencyNanos = newMwCounter();
+
+    private volatile long firstLoadStartNanos;
+
+    /**
+     * Called when the values of the given number of keys are requested to be loaded.
+     */
+    public void onKeysRequested(int keyCount) {
+        if (firstLoadStartNanos == 0) {
+            firstLoadStartNanos = System.nanoTime();
+        }
+        requestedKeyCount.inc(keyCount);
+    }
+
+    /**
+     * Called when a {@link com.hazelcast.core.MapLoader#loadAll(java.util.Collection)} call has returned.
+     */
+    public void onLoadAll(int entryCount, long latencyNanos) {
+        loadAllCount.inc();
+        loadedEntryCount.inc(entryCount);
+        totalLoadAllLatencyNanos.inc(latencyNanos);
+    }
+
+    /**
+     * Called when a batch of loaded entries is sent to its partition.
+     */
+    public void onBatchSent() {
+        pendingBatchCount.inc();
+    }
+
+    /**
+     * Called when a batch of loaded entries has been put into its record store, or failed to.
+     */
+    public void onBatchApplied(int entryCount) {
+        pendingBatchCount.inc(-1);
+        appliedEntryCount.inc(entryCount);
+    }
+
+    public long getRequestedKeyCount() {
+        return requestedKeyCount.get();
+    }
+
+    public long getLoadedEntryCount() {
+        return loadedEntryCount.get();
+    }
+
+    public long getAppliedEntryCount() {
+        return appliedEntryCount.get();
+    }
+
+    /**
+     * @return the average number of entries put into the record stores per second since the first load started
+     */
+    @Probe(name = "appliedEntriesPerSecond")
+    public long getAppliedEntriesPerSecond() {
+        long startNanos = firstLoadStartNanos;
+        if (startNanos == 0) {
+            return 0;
+        }
+        long elapsedMillis = Math.max(1, NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return appliedEntryCount.get() * SECONDS.toMillis(1) / elapsedMillis;
+    }
+}
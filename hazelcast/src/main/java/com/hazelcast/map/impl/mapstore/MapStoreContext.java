@@ -60,4 +60,9 @@ public interface MapStoreContext {
      * @return {@code true} if MapLoader or MapStore is defined
      */
     boolean isMapLoader();
+
+    /**
+     * @return the statistics of the values loaded from the MapLoader of this map
+     */
+    MapLoaderStats getMapLoaderStats();
 }
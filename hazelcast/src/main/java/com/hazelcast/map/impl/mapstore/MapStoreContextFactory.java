@@ -108,5 +108,10 @@ public final class MapStoreContextFactory {
         public boolean isMapLoader() {
             return false;
         }
+
+        @Override
+        public MapLoaderStats getMapLoaderStats() {
+            throw new UnsupportedOperationException("This method should not be called. No defined map store exists.");
+        }
     }
 }
@@ -162,6 +162,19 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new GetEntryViewOperation(name, dataKey);
     }
 
+    @Override
+    public MapOperation createPartitionWideEntryChunkOperation(String name, EntryProcessor entryProcessor,
+                                                               Predicate predicate, int tableIndex, int chunkSize,
+                                                               boolean discardResults) {
+        return new PartitionWideEntryChunkOperation(name, entryProcessor, predicate, tableIndex, chunkSize, discardResults);
+    }
+
+    @Override
+    public MapOperation createMultipleEntryChunkOperation(String name, Set<Data> keys, EntryProcessor entryProcessor,
+                                                          boolean discardResults) {
+        return new MultipleEntryChunkOperation(name, keys, entryProcessor, discardResults);
+    }
+
     @Override
     public OperationFactory createPartitionWideEntryOperationFactory(String name, EntryProcessor entryProcessor) {
         return new PartitionWideEntryOperationFactory(name, entryProcessor);
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+
+import java.io.IOException;
+
+import static com.hazelcast.config.InMemoryFormat.OBJECT;
+import static com.hazelcast.map.impl.operation.EntryOperator.operator;
+
+/**
+ * Compare-and-set processing for the optimistic off-loaded EntryOperation.
+ * <p>
+ * The new value is committed only if the entry still has the version and the creation time which were observed when
+ * the snapshot handed to the entry processor was taken. The creation time is compared as well since the version of
+ * a removed and re-added entry starts from zero again. On a conflict nothing is committed and the current value and
+ * stamp of the entry are exposed so that the processor can be applied again. If a fallback entry processor is provided,
+ * it is applied on the partition thread instead of reporting a conflict.
+ * <p>
+ * See the javadoc on {@link EntryOperation} and {@link com.hazelcast.core.OptimisticOffloadable}
+ */
+public class EntryOffloadableCompareAndSetOperation extends MutatingKeyBasedMapOperation implements BackupAwareOperation {
+
+    /**
+     * The version and creation time of an entry which does not exist.
+     */
+    static final long NO_ENTRY = -1;
+
+    protected Data oldValue;
+    protected long expectedVersion;
+    protected long expectedCreationTime;
+    protected EntryEventType modificationType;
+    protected EntryBackupProcessor entryBackupProcessor;
+    protected EntryProcessor fallbackEntryProcessor;
+
+    private transient boolean conflict;
+    private transient boolean fallbackApplied;
+    private transient Data fallbackResult;
+    private transient Object currentValue;
+    private transient long currentVersion;
+    private transient long currentCreationTime;
+
+    public EntryOffloadableCompareAndSetOperation() {
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    public EntryOffloadableCompareAndSetOperation(String name, EntryEventType modificationType, Data key, Data oldValue,
+                                                  Data newValue, long expectedVersion, long expectedCreationTime,
+                                                  EntryBackupProcessor entryBackupProcessor,
+                                                  EntryProcessor fallbackEntryProcessor) {
+        // the new value is kept and serialized as the data value of the super class
+        super(name, key, newValue);
+        this.oldValue = oldValue;
+        this.expectedVersion = expectedVersion;
+        this.expectedCreationTime = expectedCreationTime;
+        this.modificationType = modificationType;
+        this.entryBackupProcessor = entryBackupProcessor;
+        this.fallbackEntryProcessor = fallbackEntryProcessor;
+    }
+
+    @Override
+    public void run() throws Exception {
+        boolean locked = recordStore.isLocked(dataKey);
+        Object value = recordStore.get(dataKey, false);
+        Record record = value == null ? null : recordStore.getRecord(dataKey);
+        long version = record == null ? NO_ENTRY : record.getVersion();
+        long creationTime = record == null ? NO_ENTRY : record.getCreationTime();
+
+        if (!locked && version == expectedVersion && creationTime == expectedCreationTime) {
+            operator(this).init(dataKey, oldValue, dataValue, null, modificationType)
+                    .doPostOperateOps();
+            return;
+        }
+        if (fallbackEntryProcessor != null) {
+            if (locked) {
+                // retrying the EntryOperation makes it wait for the lock
+                throw new RetryableHazelcastException("The key is locked, the entry processor will be retried");
+            }
+            fallbackResult = operator(this, fallbackEntryProcessor).operateOnKey(dataKey).doPostOperateOps().getResult();
+            fallbackApplied = true;
+            return;
+        }
+        conflict = true;
+        boolean shouldCloneForOffloading = OBJECT.equals(mapContainer.getMapConfig().getInMemoryFormat());
+        currentValue = shouldCloneForOffloading ? mapServiceContext.toData(value) : value;
+        currentVersion = version;
+        currentCreationTime = creationTime;
+    }
+
+    /**
+     * @return {@code true} if the entry has been modified since the snapshot was taken and nothing was committed
+     */
+    boolean isConflict() {
+        return conflict;
+    }
+
+    /**
+     * @return {@code true} if the fallback entry processor has been applied on the partition thread
+     */
+    boolean isFallbackApplied() {
+        return fallbackApplied;
+    }
+
+    Data getFallbackResult() {
+        return fallbackResult;
+    }
+
+    Object getCurrentValue() {
+        return currentValue;
+    }
+
+    long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    long getCurrentCreationTime() {
+        return currentCreationTime;
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        // this has to be true, otherwise the calling side won't be notified about the outcome of this operation
+        return true;
+    }
+
+    @Override
+    public Object getResponse() {
+        return fallbackApplied ? fallbackResult : null;
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        EntryBackupProcessor backupProcessor = getBackupProcessor();
+        return backupProcessor != null ? new EntryBackupOperation(name, dataKey, backupProcessor) : null;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !conflict && mapContainer.getTotalBackupCount() > 0 && getBackupProcessor() != null;
+    }
+
+    private EntryBackupProcessor getBackupProcessor() {
+        return fallbackApplied ? fallbackEntryProcessor.getBackupProcessor() : entryBackupProcessor;
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return mapContainer.getAsyncBackupCount();
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return mapContainer.getBackupCount();
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.ENTRY_OFFLOADABLE_COMPARE_AND_SET;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeUTF(modificationType != null ? modificationType.name() : "");
+        out.writeData(oldValue);
+        out.writeLong(expectedVersion);
+        out.writeLong(expectedCreationTime);
+        out.writeObject(entryBackupProcessor);
+        out.writeObject(fallbackEntryProcessor);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        String modificationTypeName = in.readUTF();
+        modificationType = modificationTypeName.equals("") ? null : EntryEventType.valueOf(modificationTypeName);
+        oldValue = in.readData();
+        expectedVersion = in.readLong();
+        expectedCreationTime = in.readLong();
+        entryBackupProcessor = in.readObject();
+        fallbackEntryProcessor = in.readObject();
+    }
+}
@@ -21,10 +21,12 @@ import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.core.Offloadable;
+import com.hazelcast.core.OptimisticOffloadable;
 import com.hazelcast.core.ReadOnly;
 import com.hazelcast.map.EntryBackupProcessor;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -48,6 +50,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.core.Offloadable.NO_OFFLOADING;
+import static com.hazelcast.map.impl.operation.EntryOffloadableCompareAndSetOperation.NO_ENTRY;
 import static com.hazelcast.map.impl.operation.EntryOperator.operator;
 import static com.hazelcast.spi.ExecutionService.OFFLOADABLE_EXECUTOR;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_TRY_PAUSE_MILLIS;
@@ -107,10 +110,31 @@ import static com.hazelcast.util.ExceptionUtil.sneakyThrow;
  * 1. partition-thread (fetch)
  * 2. execution-thread (process)
  * <p>
+ * ### Offloadable (optimistic)
+ * <p>
+ * If the EntryProcessor implements the OptimisticOffloadable interface the key is NOT locked. Instead, the version and
+ * the creation time of the record are read together with the entry and the processing is offloaded to the given executor.
+ * When the processing finishes
+ * if there is no change to the entry, the result is returned to the user from the executor-thread.
+ * if there is a change to the entry, a EntryOffloadableCompareAndSetOperation is spawned which sets the new value
+ * on partition-thread only if the version and the creation time of the record did not change in the meantime.
+ * On a conflict the processing is offloaded again with the current value of the entry. After a few conflicts
+ * the EntryOffloadableCompareAndSetOperation runs the EntryProcessor on partition-thread, so the processing always
+ * makes progress.
+ * <p>
+ * In the optimistic case the threading looks as follows:
+ * <p>
+ * 1. partition-thread (fetch)
+ * 2. execution-thread (process)
+ * 3. partition-thread (compare & set)
+ * <p>
+ * Steps 2. and 3. are repeated on a conflict.
+ * <p>
  * ### Primary partition - main actors
  * <p>
  * - EntryOperation
  * - EntryOffloadableSetUnlockOperation
+ * - EntryOffloadableCompareAndSetOperation
  * <p>
  * ### Backup partitions
  * <p>
@@ -133,6 +157,7 @@ import static com.hazelcast.util.ExceptionUtil.sneakyThrow;
 public class EntryOperation extends MutatingKeyBasedMapOperation implements BackupAwareOperation, BlockingOperation {
 
     private static final int SET_UNLOCK_FAST_RETRY_LIMIT = 10;
+    private static final int COMPARE_AND_SET_RETRY_LIMIT = 5;
 
     private EntryProcessor entryProcessor;
 
@@ -144,6 +169,7 @@ public class EntryOperation extends MutatingKeyBasedMapOperation implements Back
     // EntryOffloadableOperation
     private transient boolean readOnly;
     private transient int setUnlockRetryCount;
+    private transient int compareAndSetRetryCount;
     private transient long begin;
     private transient OperationServiceImpl ops;
     private transient ExecutionService exs;
@@ -195,6 +221,9 @@ public class EntryOperation extends MutatingKeyBasedMapOperation implements Back
 
         if (readOnly) {
             runOffloadedReadOnlyEntryProcessor(clonedOldValue, executorName);
+        } else if (entryProcessor instanceof OptimisticOffloadable) {
+            Record record = oldValue == null ? null : recordStore.getRecord(dataKey);
+            runOffloadedOptimisticEntryProcessor(clonedOldValue, record, executorName);
         } else {
             runOffloadedModifyingEntryProcessor(clonedOldValue, executorName);
         }
@@ -219,6 +248,97 @@ public class EntryOperation extends MutatingKeyBasedMapOperation implements Back
         });
     }
 
+    private void runOffloadedOptimisticEntryProcessor(Object oldValue, Record record, String executorName) {
+        long version = record == null ? NO_ENTRY : record.getVersion();
+        long creationTime = record == null ? NO_ENTRY : record.getCreationTime();
+
+        ops.onStartAsyncOperation(this);
+        try {
+            offloadOptimistic(oldValue, version, creationTime, executorName);
+        } catch (Throwable t) {
+            ops.onCompletionAsyncOperation(this);
+            sneakyThrow(t);
+        }
+    }
+
+    private void offloadOptimistic(final Object oldValue, final long version, final long creationTime,
+                                   final String executorName) {
+        exs.execute(executorName, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    EntryOperator entryOperator = operator(EntryOperation.this, entryProcessor)
+                            .operateOnKeyValue(dataKey, oldValue);
+                    Data result = entryOperator.getResult();
+                    EntryEventType modificationType = entryOperator.getEventType();
+                    if (modificationType != null) {
+                        Data newValue = toData(entryOperator.getNewValue());
+                        compareAndSet(toData(oldValue), newValue, modificationType, version, creationTime, result,
+                                executorName);
+                    } else {
+                        sendOffloadedResponse(result);
+                    }
+                } catch (Throwable t) {
+                    sendOffloadedResponse(t);
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    private void compareAndSet(Data previousValue, Data newValue, EntryEventType modificationType, long version,
+                               long creationTime, final Data result, final String executorName) {
+        // after too many conflicts the entry processor is applied on the partition thread to guarantee progress
+        EntryProcessor fallbackEntryProcessor = compareAndSetRetryCount >= COMPARE_AND_SET_RETRY_LIMIT ? entryProcessor : null;
+        EntryOffloadableCompareAndSetOperation casOperation = new EntryOffloadableCompareAndSetOperation(name,
+                modificationType, dataKey, previousValue, newValue, version, creationTime,
+                entryProcessor.getBackupProcessor(), fallbackEntryProcessor);
+
+        casOperation.setPartitionId(getPartitionId());
+        casOperation.setReplicaIndex(0);
+        casOperation.setNodeEngine(getNodeEngine());
+        casOperation.setCallerUuid(getCallerUuid());
+        casOperation.setThreadId(threadId);
+        OperationAccessor.setCallerAddress(casOperation, getCallerAddress());
+        casOperation.setOperationResponseHandler(new OperationResponseHandler() {
+            @Override
+            public void sendResponse(Operation op, Object response) {
+                if (isTimeout(response)) {
+                    sendOffloadedResponse(new RetryableHazelcastException("Compare-and-set of the entry timed out"));
+                } else if (response instanceof Throwable) {
+                    sendOffloadedResponse(response);
+                } else {
+                    handleResponse((EntryOffloadableCompareAndSetOperation) op);
+                }
+            }
+
+            private void handleResponse(EntryOffloadableCompareAndSetOperation op) {
+                if (op.isConflict()) {
+                    compareAndSetRetryCount++;
+                    try {
+                        offloadOptimistic(op.getCurrentValue(), op.getCurrentVersion(), op.getCurrentCreationTime(),
+                                executorName);
+                    } catch (Throwable t) {
+                        sendOffloadedResponse(t);
+                    }
+                } else if (op.isFallbackApplied()) {
+                    sendOffloadedResponse(op.getFallbackResult());
+                } else {
+                    sendOffloadedResponse(result);
+                }
+            }
+        });
+        ops.execute(casOperation);
+    }
+
+    private void sendOffloadedResponse(Object response) {
+        try {
+            getOperationResponseHandler().sendResponse(this, response);
+        } finally {
+            ops.onCompletionAsyncOperation(this);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void runOffloadedModifyingEntryProcessor(final Object oldValue, String executorName) {
         final OperationServiceImpl ops = (OperationServiceImpl) getNodeEngine().getOperationService();
@@ -123,6 +123,24 @@ public interface MapOperationProvider {
 
     OperationFactory createMultipleEntryOperationFactory(String name, Set<Data> keys, EntryProcessor entryProcessor);
 
+    /**
+     * Creates an operation which applies the entry processor to a single chunk of a partition.
+     *
+     * @see com.hazelcast.map.impl.proxy.MapProxyImpl#executeOnEntries(EntryProcessor, Predicate, int,
+     * com.hazelcast.util.function.BiConsumer)
+     */
+    MapOperation createPartitionWideEntryChunkOperation(String name, EntryProcessor entryProcessor, Predicate predicate,
+                                                        int tableIndex, int chunkSize, boolean discardResults);
+
+    /**
+     * Creates an operation which applies the entry processor to a single chunk of the keys of a partition.
+     *
+     * @see com.hazelcast.map.impl.proxy.MapProxyImpl#executeOnKeys(Set, EntryProcessor, int,
+     * com.hazelcast.util.function.BiConsumer)
+     */
+    MapOperation createMultipleEntryChunkOperation(String name, Set<Data> keys, EntryProcessor entryProcessor,
+                                                   boolean discardResults);
+
     OperationFactory createContainsValueOperationFactory(String name, Data testValue);
 
     OperationFactory createEvictAllOperationFactory(String name);
@@ -170,6 +170,20 @@ abstract class MapOperationProviderDelegator implements MapOperationProvider {
         return getDelegate().createMergeOperation(name, dataKey, entryView, policy, disableWanReplicationEvent);
     }
 
+    @Override
+    public MapOperation createPartitionWideEntryChunkOperation(String name, EntryProcessor entryProcessor,
+                                                               Predicate predicate, int tableIndex, int chunkSize,
+                                                               boolean discardResults) {
+        return getDelegate().createPartitionWideEntryChunkOperation(name, entryProcessor, predicate, tableIndex,
+                chunkSize, discardResults);
+    }
+
+    @Override
+    public MapOperation createMultipleEntryChunkOperation(String name, Set<Data> keys, EntryProcessor entryProcessor,
+                                                          boolean discardResults) {
+        return getDelegate().createMultipleEntryChunkOperation(name, keys, entryProcessor, discardResults);
+    }
+
     @Override
     public OperationFactory createPartitionWideEntryOperationFactory(String name, EntryProcessor entryProcessor) {
         return getDelegate().createPartitionWideEntryOperationFactory(name, entryProcessor);
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.util.merkletree.MerkleTree;
+import com.hazelcast.internal.util.merkletree.MerkleTreeUtil;
+import com.hazelcast.map.impl.EntryViews;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.iterator.MapEntryViewsWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Returns a page of the {@link EntryView}s of the entries of a single {@link com.hazelcast.core.IMap} partition
+ * whose keys fall into the given {@link MerkleTree} leaves. If no leaves are given or Merkle trees are disabled, all
+ * entries of the partition are returned.
+ * <p>
+ * The entries are read from the given table index of the partition's record storage as in
+ * {@link MapFetchEntriesOperation}, scanning at most {@code fetchSize} keys, so a partition is read in several
+ * operations without holding the partition thread for the whole scan. The iteration starts with the table index
+ * {@link Integer#MAX_VALUE} and is finished when the returned cursor has a negative next table index.
+ * <p>
+ * The entry views are returned serialized, with the key and value in serialized form.
+ */
+public class MerkleTreeLeafEntriesOperation extends MapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private int[] leaves;
+    private int tableIndex;
+    private int fetchSize;
+
+    private transient MapEntryViewsWithCursor response;
+
+    public MerkleTreeLeafEntriesOperation() {
+    }
+
+    public MerkleTreeLeafEntriesOperation(String name, int[] leaves, int tableIndex, int fetchSize) {
+        super(name);
+        this.leaves = leaves;
+        this.tableIndex = tableIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void run() {
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        boolean[] leafMask = merkleTree == null || leaves == null
+                ? null : MerkleTreeUtil.toLeafMask(merkleTree.getLeafCount(), leaves);
+
+        MapKeysWithCursor keys = recordStore.fetchKeys(tableIndex, fetchSize);
+        List<Data> entryViews = new ArrayList<Data>();
+        for (Data key : keys.getBatch()) {
+            if (leafMask != null && !leafMask[merkleTree.getLeafIndex(key.hashCode())]) {
+                continue;
+            }
+            Record record = recordStore.getRecordOrNull(key);
+            if (record == null) {
+                continue;
+            }
+            Data value = mapServiceContext.toData(record.getValue());
+            EntryView<Data, Data> entryView = EntryViews.createSimpleEntryView(key, value, record);
+            entryViews.add(mapServiceContext.toData(entryView));
+        }
+        response = new MapEntryViewsWithCursor(entryViews, keys.getNextTableIndexToReadFrom());
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeIntArray(leaves);
+        out.writeInt(tableIndex);
+        out.writeInt(fetchSize);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        leaves = in.readIntArray();
+        tableIndex = in.readInt();
+        fetchSize = in.readInt();
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.MERKLE_TREE_LEAF_ENTRIES;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.util.merkletree.MerkleTree;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+/**
+ * Returns the leaf hashes of the {@link MerkleTree} of a single {@link com.hazelcast.core.IMap} partition or
+ * {@code null} if Merkle trees are disabled.
+ *
+ * @see com.hazelcast.spi.properties.GroupProperty#MAP_MERKLE_TREE_DEPTH
+ */
+public class MerkleTreeLeavesOperation extends MapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private transient int[] leafHashes;
+
+    public MerkleTreeLeavesOperation() {
+    }
+
+    public MerkleTreeLeavesOperation(String name) {
+        super(name);
+    }
+
+    @Override
+    public void run() {
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        leafHashes = merkleTree == null ? null : merkleTree.getLeafHashes();
+    }
+
+    @Override
+    public Object getResponse() {
+        return leafHashes;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.MERKLE_TREE_LEAVES;
+    }
+}
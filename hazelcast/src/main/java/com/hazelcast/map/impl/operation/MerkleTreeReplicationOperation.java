@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.util.merkletree.MerkleTree;
+import com.hazelcast.internal.util.merkletree.MerkleTreeUtil;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.MutatingOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.map.impl.record.Records.applyRecordInfo;
+
+/**
+ * Replicates the entries of the given {@link MerkleTree} leaves of a map partition to a backup replica during the
+ * backup replica sync. The entries of the backup replica in these leaves are replaced with the given entries, the
+ * other entries of the backup replica are left as they are.
+ *
+ * @see com.hazelcast.internal.partition.DeltaReplicaSyncAwareService
+ */
+public class MerkleTreeReplicationOperation extends MapOperation implements MutatingOperation {
+
+    private int[] leaves;
+    private List<RecordReplicationInfo> records;
+
+    public MerkleTreeReplicationOperation() {
+    }
+
+    public MerkleTreeReplicationOperation(String name, int[] leaves, List<RecordReplicationInfo> records) {
+        super(name);
+        this.leaves = leaves;
+        this.records = records;
+    }
+
+    @Override
+    public void run() {
+        if (leaves.length == 0) {
+            return;
+        }
+        if (recordStore == null) {
+            recordStore = mapServiceContext.getRecordStore(getPartitionId(), name, true);
+        }
+
+        Set<Data> keys = new HashSet<Data>();
+        for (RecordReplicationInfo record : records) {
+            keys.add(record.getKey());
+        }
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        if (merkleTree != null) {
+            boolean[] leafMask = MerkleTreeUtil.toLeafMask(merkleTree.getLeafCount(), leaves);
+            List<Data> staleKeys = new ArrayList<Data>();
+            Iterator<Record> iterator = recordStore.iterator();
+            while (iterator.hasNext()) {
+                Data key = iterator.next().getKey();
+                if (leafMask[merkleTree.getLeafIndex(key.hashCode())] && !keys.contains(key)) {
+                    staleKeys.add(key);
+                }
+            }
+            for (Data key : staleKeys) {
+                recordStore.removeBackup(key);
+            }
+        }
+
+        for (RecordReplicationInfo recordInfo : records) {
+            Record record = recordStore.putBackup(recordInfo.getKey(), recordInfo.getValue(), recordInfo.getTtl(), false);
+            applyRecordInfo(record, recordInfo);
+        }
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeIntArray(leaves);
+        out.writeInt(records.size());
+        for (RecordReplicationInfo record : records) {
+            record.writeData(out);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        leaves = in.readIntArray();
+        int size = in.readInt();
+        records = new ArrayList<RecordReplicationInfo>(size);
+        for (int i = 0; i < size; i++) {
+            RecordReplicationInfo record = new RecordReplicationInfo();
+            record.readData(in);
+            records.add(record);
+        }
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.MERKLE_TREE_REPLICATION;
+    }
+}
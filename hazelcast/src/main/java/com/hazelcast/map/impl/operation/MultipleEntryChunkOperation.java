@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static com.hazelcast.map.impl.operation.EntryOperator.operator;
+
+/**
+ * Applies an {@link EntryProcessor} to a single chunk of the keys of a partition. Unlike the
+ * {@link MultipleEntryOperation} it may skip collecting the results, so a caller which does not need them does
+ * not get them sent back.
+ *
+ * @see com.hazelcast.map.impl.proxy.MapProxyImpl#executeOnKeys(Set, EntryProcessor, int,
+ * com.hazelcast.util.function.BiConsumer)
+ */
+public class MultipleEntryChunkOperation extends MultipleEntryOperation {
+
+    private boolean discardResults;
+
+    public MultipleEntryChunkOperation() {
+    }
+
+    public MultipleEntryChunkOperation(String name, Set<Data> keys, EntryProcessor entryProcessor,
+                                       boolean discardResults) {
+        super(name, keys, entryProcessor);
+        this.discardResults = discardResults;
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (!discardResults) {
+            super.run();
+            return;
+        }
+        responses = new MapEntries();
+        operator = operator(this, entryProcessor, getPredicate(), true);
+        for (Data key : keys) {
+            operator.operateOnKey(key).doPostOperateOps();
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        discardResults = in.readBoolean();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeBoolean(discardResults);
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.MULTIPLE_ENTRY_CHUNK;
+    }
+}
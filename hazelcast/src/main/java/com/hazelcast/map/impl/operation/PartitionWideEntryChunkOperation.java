@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.core.ManagedContext;
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.MutatingOperation;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.map.impl.operation.EntryOperator.operator;
+
+/**
+ * Applies an {@link EntryProcessor} to a single chunk of a partition instead of to the whole partition.
+ * <p>
+ * The chunk starts at {@link #tableIndex} and contains at most {@link #chunkSize} keys. The response is a
+ * {@link MapEntriesWithCursor} holding the results of this chunk together with the table index from which the
+ * next chunk should be processed, so the partition thread is released between two chunks and the caller
+ * receives the results incrementally. If {@link #discardResults} is set, the results are not collected at all.
+ * <p>
+ * Like the map iterator, the chunked execution is weakly consistent: entries which are added while the
+ * partition is being processed or which are moved around because of a rehash or a migration may be skipped.
+ * <p>
+ * GOTCHA: This operation does NOT load missing keys from map-store for now.
+ *
+ * @see com.hazelcast.map.impl.proxy.MapProxyImpl#executeOnEntries(EntryProcessor, Predicate, int,
+ * com.hazelcast.util.function.BiConsumer)
+ */
+public class PartitionWideEntryChunkOperation extends MapOperation
+        implements MutatingOperation, PartitionAwareOperation, BackupAwareOperation {
+
+    private EntryProcessor entryProcessor;
+    private Predicate predicate;
+    private int tableIndex;
+    private int chunkSize;
+    private boolean discardResults;
+
+    private transient Set<Data> processedKeys;
+    private transient MapEntriesWithCursor response;
+    private transient EntryOperator operator;
+
+    public PartitionWideEntryChunkOperation() {
+    }
+
+    public PartitionWideEntryChunkOperation(String name, EntryProcessor entryProcessor, Predicate predicate,
+                                            int tableIndex, int chunkSize, boolean discardResults) {
+        super(name);
+        this.entryProcessor = entryProcessor;
+        this.predicate = predicate == null ? TruePredicate.INSTANCE : predicate;
+        this.tableIndex = tableIndex;
+        this.chunkSize = chunkSize;
+        this.discardResults = discardResults;
+    }
+
+    @Override
+    public void innerBeforeRun() throws Exception {
+        super.innerBeforeRun();
+
+        ManagedContext managedContext = getNodeEngine().getSerializationService().getManagedContext();
+        managedContext.initialize(entryProcessor);
+    }
+
+    @Override
+    public void run() {
+        MapKeysWithCursor keys = recordStore.fetchKeys(tableIndex, chunkSize);
+        List<Data> batch = keys.getBatch();
+        int count = keys.getCount();
+
+        List<Map.Entry<Data, Data>> results = discardResults
+                ? Collections.<Map.Entry<Data, Data>>emptyList()
+                : new ArrayList<Map.Entry<Data, Data>>(count);
+        processedKeys = new LinkedHashSet<Data>(count);
+        // a non-null predicate makes the operator skip the keys which have expired or have been removed
+        operator = operator(this, entryProcessor, predicate, true);
+        for (int i = 0; i < count; i++) {
+            Data dataKey = batch.get(i);
+            Data result = operator.operateOnKey(dataKey).doPostOperateOps().getResult();
+            processedKeys.add(dataKey);
+            if (result != null && !discardResults) {
+                results.add(new AbstractMap.SimpleEntry<Data, Data>(dataKey, result));
+            }
+        }
+        response = new MapEntriesWithCursor(results, keys.getNextTableIndexToReadFrom());
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return mapContainer.getTotalBackupCount() > 0 && entryProcessor.getBackupProcessor() != null
+                && !processedKeys.isEmpty();
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return 0;
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return mapContainer.getTotalBackupCount();
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        EntryBackupProcessor backupProcessor = entryProcessor.getBackupProcessor();
+        MultipleEntryWithPredicateBackupOperation backupOperation
+                = new MultipleEntryWithPredicateBackupOperation(name, processedKeys, backupProcessor, predicate);
+        backupOperation.setWanEventList(operator.getWanEventList());
+        return backupOperation;
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        entryProcessor = in.readObject();
+        predicate = in.readObject();
+        tableIndex = in.readInt();
+        chunkSize = in.readInt();
+        discardResults = in.readBoolean();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(entryProcessor);
+        out.writeObject(predicate);
+        out.writeInt(tableIndex);
+        out.writeInt(chunkSize);
+        out.writeBoolean(discardResults);
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.PARTITION_WIDE_ENTRY_CHUNK;
+    }
+}
@@ -162,6 +162,22 @@ public class WANAwareOperationProvider extends MapOperationProviderDelegator {
         return getDelegate().createTxnSetOperation(name, dataKey, value, version, ttl);
     }
 
+    @Override
+    public MapOperation createPartitionWideEntryChunkOperation(String name, EntryProcessor entryProcessor,
+                                                               Predicate predicate, int tableIndex, int chunkSize,
+                                                               boolean discardResults) {
+        checkWanReplicationQueues(name);
+        return getDelegate().createPartitionWideEntryChunkOperation(name, entryProcessor, predicate, tableIndex,
+                chunkSize, discardResults);
+    }
+
+    @Override
+    public MapOperation createMultipleEntryChunkOperation(String name, Set<Data> keys, EntryProcessor entryProcessor,
+                                                          boolean discardResults) {
+        checkWanReplicationQueues(name);
+        return getDelegate().createMultipleEntryChunkOperation(name, keys, entryProcessor, discardResults);
+    }
+
     @Override
     public OperationFactory createPartitionWideEntryOperationFactory(String name, EntryProcessor entryProcessor) {
         checkWanReplicationQueues(name);
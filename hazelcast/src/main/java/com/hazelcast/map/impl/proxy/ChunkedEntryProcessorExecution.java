@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.proxy;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.function.BiConsumer;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static java.lang.Math.min;
+
+/**
+ * Drives the chunked execution of an {@link EntryProcessor} over all partitions of a map or over a set of keys.
+ * <p>
+ * Every partition is processed by a chain of chunk operations: a
+ * {@link com.hazelcast.map.impl.operation.PartitionWideEntryChunkOperation} per chunk of the partition when all
+ * entries are processed, a {@link com.hazelcast.map.impl.operation.MultipleEntryChunkOperation} per chunk of the
+ * keys of the partition otherwise. The next chunk of a partition is requested only after the results of the previous
+ * chunk have been handed to the result consumer. Partitions are processed in parallel, so a slow consumer throttles
+ * the execution and the partition threads are never occupied by more than a single chunk at a time. The order in
+ * which the entries of a single partition are processed is preserved.
+ *
+ * @param <K> the type of the map keys
+ */
+final class ChunkedEntryProcessorExecution<K> {
+
+    private final String name;
+    private final EntryProcessor entryProcessor;
+    private final Predicate predicate;
+    private final int chunkSize;
+    private final BiConsumer<K, Object> resultConsumer;
+    private final MapOperationProvider operationProvider;
+    private final OperationService operationService;
+    private final SerializationService serializationService;
+    // the keys to process grouped by partition, null if all entries are processed
+    private final Map<Integer, List<Data>> partitionKeys;
+    private final CountDownLatch remainingPartitions;
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    /**
+     * Creates an execution over the entries of all partitions which satisfy the predicate.
+     */
+    ChunkedEntryProcessorExecution(MapProxySupport mapProxy, EntryProcessor entryProcessor, Predicate predicate,
+                                   int chunkSize, BiConsumer<K, Object> resultConsumer) {
+        this(mapProxy, entryProcessor, predicate, null, chunkSize, resultConsumer);
+    }
+
+    /**
+     * Creates an execution over the given keys, grouped by partition.
+     */
+    ChunkedEntryProcessorExecution(MapProxySupport mapProxy, EntryProcessor entryProcessor,
+                                   Map<Integer, List<Data>> partitionKeys, int chunkSize,
+                                   BiConsumer<K, Object> resultConsumer) {
+        this(mapProxy, entryProcessor, null, partitionKeys, chunkSize, resultConsumer);
+    }
+
+    private ChunkedEntryProcessorExecution(MapProxySupport mapProxy, EntryProcessor entryProcessor, Predicate predicate,
+                                           Map<Integer, List<Data>> partitionKeys, int chunkSize,
+                                           BiConsumer<K, Object> resultConsumer) {
+        this.name = mapProxy.getName();
+        this.entryProcessor = entryProcessor;
+        this.predicate = predicate;
+        this.partitionKeys = partitionKeys;
+        this.chunkSize = chunkSize;
+        this.resultConsumer = resultConsumer;
+        this.operationProvider = mapProxy.getOperationProvider();
+        this.operationService = mapProxy.operationService;
+        this.serializationService = mapProxy.serializationService;
+        this.remainingPartitions = new CountDownLatch(partitionKeys == null
+                ? mapProxy.partitionService.getPartitionCount() : partitionKeys.size());
+    }
+
+    /**
+     * Processes all partitions and blocks until every partition has been processed or one of the chunks failed.
+     */
+    void execute() {
+        if (partitionKeys == null) {
+            int partitionCount = (int) remainingPartitions.getCount();
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                // the table of a partition is traversed from its end to its beginning
+                processChunk(partitionId, Integer.MAX_VALUE);
+            }
+        } else {
+            for (Map.Entry<Integer, List<Data>> entry : partitionKeys.entrySet()) {
+                processKeyChunk(entry.getKey(), entry.getValue(), 0);
+            }
+        }
+        try {
+            remainingPartitions.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rethrow(e);
+        }
+        Throwable t = failure.get();
+        if (t != null) {
+            throw rethrow(t);
+        }
+    }
+
+    private void processChunk(int partitionId, int tableIndex) {
+        MapOperation operation = operationProvider.createPartitionWideEntryChunkOperation(name, entryProcessor, predicate,
+                tableIndex, chunkSize, resultConsumer == null);
+        InternalCompletableFuture<MapEntriesWithCursor> future
+                = operationService.invokeOnPartition(SERVICE_NAME, operation, partitionId);
+        future.andThen(new TableChunkCallback(partitionId));
+    }
+
+    private void processKeyChunk(int partitionId, List<Data> keys, int fromIndex) {
+        int toIndex = min(fromIndex + chunkSize, keys.size());
+        MapOperation operation = operationProvider.createMultipleEntryChunkOperation(name,
+                new LinkedHashSet<Data>(keys.subList(fromIndex, toIndex)), entryProcessor, resultConsumer == null);
+        InternalCompletableFuture<MapEntries> future = operationService.invokeOnPartition(SERVICE_NAME, operation, partitionId);
+        future.andThen(new KeyChunkCallback(partitionId, keys, toIndex));
+    }
+
+    private abstract class ChunkCallback<R> implements ExecutionCallback<R> {
+
+        @Override
+        public void onResponse(R response) {
+            if (failure.get() != null) {
+                remainingPartitions.countDown();
+                return;
+            }
+            try {
+                if (resultConsumer != null) {
+                    for (Map.Entry<Data, Data> entry : getResults(response)) {
+                        K key = serializationService.toObject(entry.getKey());
+                        resultConsumer.accept(key, serializationService.toObject(entry.getValue()));
+                    }
+                }
+            } catch (Throwable t) {
+                onFailure(t);
+                return;
+            }
+            if (!processNextChunk(response)) {
+                remainingPartitions.countDown();
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            failure.compareAndSet(null, t);
+            remainingPartitions.countDown();
+        }
+
+        abstract List<Map.Entry<Data, Data>> getResults(R response);
+
+        /**
+         * Requests the next chunk of the partition.
+         *
+         * @return {@code false} if the partition has been fully processed
+         */
+        abstract boolean processNextChunk(R response);
+    }
+
+    private final class TableChunkCallback extends ChunkCallback<MapEntriesWithCursor> {
+
+        private final int partitionId;
+
+        TableChunkCallback(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        List<Map.Entry<Data, Data>> getResults(MapEntriesWithCursor response) {
+            return response.getBatch();
+        }
+
+        @Override
+        boolean processNextChunk(MapEntriesWithCursor response) {
+            int nextTableIndex = response.getNextTableIndexToReadFrom();
+            if (nextTableIndex < 0) {
+                return false;
+            }
+            processChunk(partitionId, nextTableIndex);
+            return true;
+        }
+    }
+
+    private final class KeyChunkCallback extends ChunkCallback<MapEntries> {
+
+        private final int partitionId;
+        private final List<Data> keys;
+        private final int nextIndex;
+
+        KeyChunkCallback(int partitionId, List<Data> keys, int nextIndex) {
+            this.partitionId = partitionId;
+            this.keys = keys;
+            this.nextIndex = nextIndex;
+        }
+
+        @Override
+        List<Map.Entry<Data, Data>> getResults(MapEntries response) {
+            return response.entries();
+        }
+
+        @Override
+        boolean processNextChunk(MapEntries response) {
+            if (nextIndex >= keys.size()) {
+                return false;
+            }
+            processKeyChunk(partitionId, keys, nextIndex);
+            return true;
+        }
+    }
+}
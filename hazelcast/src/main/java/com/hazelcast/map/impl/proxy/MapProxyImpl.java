@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.proxy;
 
 import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.core.ExecutionCallback;
@@ -77,6 +78,7 @@ import com.hazelcast.util.CollectionUtil;
 import com.hazelcast.util.IterationType;
 import com.hazelcast.util.UuidUtil;
 import com.hazelcast.util.executor.DelegatingFuture;
+import com.hazelcast.util.function.BiConsumer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -467,6 +469,30 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return addEntryListenerInternal(listener, null, includeValue);
     }
 
+    /**
+     * Adds a {@link MapListener} for this map whose entry events are coalesced on the members.
+     * <p>
+     * Updates of the same key which happen within the coalescing window are merged into a single
+     * {@link EntryEventType#UPDATED UPDATED} event carrying the old value of the first and the new value of the last
+     * update. The events of a window are delivered to the listener in a single batch, so a listener of frequently
+     * updated keys receives far fewer events. The events of a key are still delivered in order.
+     *
+     * @param listener         the map listener
+     * @param includeValue     {@code true} if the events should contain the entry values, {@code false} otherwise
+     * @param coalescingWindow the duration of the coalescing window
+     * @param timeUnit         the time unit of the {@code coalescingWindow}
+     * @return a UUID which is used as a key to remove the listener
+     * @throws IllegalArgumentException if the {@code coalescingWindow} is not positive
+     */
+    public String addEntryListener(MapListener listener, boolean includeValue, long coalescingWindow, TimeUnit timeUnit) {
+        checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
+        checkNotNull(timeUnit, "timeUnit should not be null");
+        checkPositive(coalescingWindow, "coalescingWindow should be positive");
+        handleHazelcastInstanceAwareParams(listener);
+
+        return addCoalescingEntryListenerInternal(listener, includeValue, timeUnit.toMillis(coalescingWindow));
+    }
+
     @Override
     public String addEntryListener(EntryListener listener, boolean includeValue) {
         checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
@@ -765,6 +791,72 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return resultingMap;
     }
 
+    /**
+     * Applies the user defined {@link EntryProcessor} to the entries in the map which satisfy the provided predicate,
+     * processing each partition in chunks of at most {@code chunkSize} entries.
+     * <p>
+     * Unlike {@link #executeOnEntries(EntryProcessor, Predicate)}, a partition thread is occupied only for the duration
+     * of a single chunk, so other operations on the partition are not delayed by the processing of the whole partition.
+     * The results are handed to the {@code resultConsumer} as soon as a chunk completes instead of being collected into
+     * a single map. The consumer may be invoked concurrently for entries of different partitions. If the results are
+     * not needed, pass {@code null} as the consumer and the results will not be collected or sent at all.
+     * <p>
+     * This method blocks until all partitions have been processed.
+     * <p>
+     * <b>NOTE</b>
+     * Entries which are added to the map or which are migrated while the entry processor is being executed
+     * may not be processed.
+     *
+     * @param entryProcessor the entry processor to apply
+     * @param predicate      the predicate which the processed entries should satisfy
+     * @param chunkSize      the maximum number of entries processed by a partition thread in one go
+     * @param resultConsumer the consumer of the non-null results or {@code null} to discard the results
+     * @throws IllegalArgumentException if the {@code chunkSize} is not positive
+     */
+    public void executeOnEntries(EntryProcessor entryProcessor, Predicate predicate, int chunkSize,
+                                 BiConsumer<K, Object> resultConsumer) {
+        checkNotNull(entryProcessor, NULL_ENTRY_PROCESSOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkPositive(chunkSize, "chunkSize should be positive");
+        handleHazelcastInstanceAwareParams(entryProcessor, predicate);
+
+        new ChunkedEntryProcessorExecution<K>(this, entryProcessor, predicate, chunkSize, resultConsumer).execute();
+    }
+
+    /**
+     * Applies the user defined {@link EntryProcessor} to the entries mapped by the given keys, processing the keys of
+     * each partition in chunks of at most {@code chunkSize} keys.
+     * <p>
+     * Unlike {@link #executeOnKeys(Set, EntryProcessor)}, a partition thread is occupied only for the duration of a
+     * single chunk and the results are handed to the {@code resultConsumer} as soon as a chunk completes instead of
+     * being collected into a single map. The consumer may be invoked concurrently for entries of different partitions.
+     * If the results are not needed, pass {@code null} as the consumer and the results will not be collected or sent
+     * at all.
+     * <p>
+     * This method blocks until all keys have been processed.
+     *
+     * @param keys           the keys of the entries to process
+     * @param entryProcessor the entry processor to apply
+     * @param chunkSize      the maximum number of keys processed by a partition thread in one go
+     * @param resultConsumer the consumer of the non-null results or {@code null} to discard the results
+     * @throws IllegalArgumentException if the {@code chunkSize} is not positive
+     */
+    public void executeOnKeys(Set<K> keys, EntryProcessor entryProcessor, int chunkSize,
+                              BiConsumer<K, Object> resultConsumer) {
+        checkNotNull(keys, NULL_KEYS_ARE_NOT_ALLOWED);
+        checkNotNull(entryProcessor, NULL_ENTRY_PROCESSOR_IS_NOT_ALLOWED);
+        checkPositive(chunkSize, "chunkSize should be positive");
+        handleHazelcastInstanceAwareParams(entryProcessor);
+
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Data> dataKeys = new ArrayList<Data>(keys.size());
+        toDataCollectionWithNonNullKeyValidation(keys, dataKeys);
+        new ChunkedEntryProcessorExecution<K>(this, entryProcessor, getPartitionIdToKeysMap(dataKeys), chunkSize,
+                resultConsumer).execute();
+    }
+
     @Override
     public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
         checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
@@ -36,6 +36,7 @@ import com.hazelcast.core.ReadOnly;
 import com.hazelcast.map.EntryBackupProcessor;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.impl.CoalescingEventListenerFilter;
 import com.hazelcast.map.impl.EntryEventFilter;
 import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.MapService;
@@ -102,7 +103,9 @@ import java.util.concurrent.TimeUnit;
 import static com.hazelcast.config.MapIndexConfig.validateIndexAttribute;
 import static com.hazelcast.core.EntryEventType.CLEAR_ALL;
 import static com.hazelcast.map.impl.EntryRemovingProcessor.ENTRY_REMOVING_PROCESSOR;
+import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.map.impl.LocalMapStatsProvider.EMPTY_LOCAL_MAP_STATS;
+import static com.hazelcast.map.impl.MapListenerFlagOperator.setAndGetListenerFlags;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.IterableUtil.nullToEmpty;
@@ -124,6 +127,7 @@ abstract class MapProxySupport<K, V>
     protected static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
     protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Aggregator should not be null!";
     protected static final String NULL_PROJECTION_IS_NOT_ALLOWED = "Projection should not be null!";
+    protected static final String NULL_ENTRY_PROCESSOR_IS_NOT_ALLOWED = "Entry processor should not be null!";
 
     private static final int INITIAL_WAIT_LOAD_SLEEP_MILLIS = 10;
     private static final int MAXIMAL_WAIT_LOAD_SLEEP_MILLIS = 1000;
@@ -768,7 +772,7 @@ abstract class MapProxySupport<K, V>
         return partitionIds;
     }
 
-    private Map<Integer, List<Data>> getPartitionIdToKeysMap(Iterable<Data> keys) {
+    Map<Integer, List<Data>> getPartitionIdToKeysMap(Iterable<Data> keys) {
         if (keys == null) {
             return Collections.emptyMap();
         }
@@ -1022,6 +1026,13 @@ abstract class MapProxySupport<K, V>
         return mapServiceContext.addEventListener(listener, eventFilter, name);
     }
 
+    protected String addCoalescingEntryListenerInternal(Object listener, boolean includeValue, long coalescingWindowMillis) {
+        int listenerFlags = setAndGetListenerFlags(createListenerAdapter(listener));
+        EventFilter eventFilter = new CoalescingEventListenerFilter(listenerFlags, new EntryEventFilter(includeValue, null),
+                coalescingWindowMillis);
+        return mapServiceContext.addEventListener(listener, eventFilter, name);
+    }
+
     protected String addEntryListenerInternal(Object listener, Predicate predicate, Data key, boolean includeValue) {
         EventFilter eventFilter = new QueryEventFilter(includeValue, key, predicate);
         return mapServiceContext.addEventListener(listener, eventFilter, name);
@@ -29,7 +29,6 @@ import com.hazelcast.map.impl.querycache.QueryCacheEventService;
 import com.hazelcast.map.impl.querycache.subscriber.record.QueryCacheRecord;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
-import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.IndexCopyBehavior;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.getters.Extractors;
@@ -118,16 +117,10 @@ abstract class AbstractInternalQueryCache<K, V> implements InternalQueryCache<K,
     }
 
     protected void doFullKeyScan(Predicate predicate, Set<K> resultingSet) {
-        InternalSerializationService serializationService = this.serializationService;
-
-        CachedQueryEntry queryEntry = new CachedQueryEntry();
+        QueryCacheRecordQueryEntry queryEntry = recordStore.newQueryEntry();
         Set<Map.Entry<Data, QueryCacheRecord>> entries = recordStore.entrySet();
         for (Map.Entry<Data, QueryCacheRecord> entry : entries) {
-            Data keyData = entry.getKey();
-            QueryCacheRecord record = entry.getValue();
-            Object value = record.getValue();
-
-            queryEntry.init(serializationService, keyData, value, Extractors.empty());
+            queryEntry.init(entry.getValue());
 
             boolean valid = predicate.apply(queryEntry);
             if (valid) {
@@ -137,15 +130,10 @@ abstract class AbstractInternalQueryCache<K, V> implements InternalQueryCache<K,
     }
 
     protected void doFullEntryScan(Predicate predicate, Set<Map.Entry<K, V>> resultingSet) {
-        InternalSerializationService serializationService = this.serializationService;
-
-        CachedQueryEntry queryEntry = new CachedQueryEntry();
+        QueryCacheRecordQueryEntry queryEntry = recordStore.newQueryEntry();
         Set<Map.Entry<Data, QueryCacheRecord>> entries = recordStore.entrySet();
         for (Map.Entry<Data, QueryCacheRecord> entry : entries) {
-            Data keyData = entry.getKey();
-            QueryCacheRecord record = entry.getValue();
-            Object value = record.getValue();
-            queryEntry.init(serializationService, keyData, value, Extractors.empty());
+            queryEntry.init(entry.getValue());
 
             boolean valid = predicate.apply(queryEntry);
             if (valid) {
@@ -158,16 +146,10 @@ abstract class AbstractInternalQueryCache<K, V> implements InternalQueryCache<K,
     }
 
     protected void doFullValueScan(Predicate predicate, Set<V> resultingSet) {
-        InternalSerializationService serializationService = this.serializationService;
-
-        CachedQueryEntry queryEntry = new CachedQueryEntry();
+        QueryCacheRecordQueryEntry queryEntry = recordStore.newQueryEntry();
         Set<Map.Entry<Data, QueryCacheRecord>> entries = recordStore.entrySet();
         for (Map.Entry<Data, QueryCacheRecord> entry : entries) {
-            Data keyData = entry.getKey();
-            QueryCacheRecord record = entry.getValue();
-            Object value = record.getValue();
-
-            queryEntry.init(serializationService, keyData, value, Extractors.empty());
+            queryEntry.init(entry.getValue());
 
             boolean valid = predicate.apply(queryEntry);
             if (valid) {
@@ -31,8 +31,12 @@ import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.util.Clock;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.util.EmptyStatement.ignore;
 
 /**
  * Default implementation of {@link QueryCacheRecordStore}.
@@ -47,6 +51,8 @@ class DefaultQueryCacheRecordStore implements QueryCacheRecordStore {
     private final Indexes indexes;
     private final InternalSerializationService serializationService;
     private final EvictionOperator evictionOperator;
+    // the attributes queried so far, they are extracted from every new record
+    private final Set<String> extractedAttributes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     public DefaultQueryCacheRecordStore(InternalSerializationService serializationService,
                                         Indexes indexes,
@@ -83,12 +89,29 @@ class DefaultQueryCacheRecordStore implements QueryCacheRecordStore {
         evictionOperator.evictIfRequired();
 
         QueryCacheRecord entry = recordFactory.createEntry(keyData, valueData);
+        extractAttributes(entry);
         QueryCacheRecord oldEntry = cache.put(keyData, entry);
         saveIndex(keyData, entry, oldEntry);
 
         return oldEntry;
     }
 
+    private void extractAttributes(QueryCacheRecord record) {
+        if (extractedAttributes.isEmpty()) {
+            return;
+        }
+        QueryCacheRecordQueryEntry queryEntry = newQueryEntry();
+        queryEntry.init(record);
+        for (String attributeName : extractedAttributes) {
+            try {
+                queryEntry.getAttributeValue(attributeName);
+            } catch (Exception e) {
+                // the value doesn't have this attribute, the query will extract it again and fail there
+                ignore(e);
+            }
+        }
+    }
+
     private void saveIndex(Data keyData, QueryCacheRecord currentRecord, QueryCacheRecord oldRecord) {
         if (indexes.hasIndex()) {
             Object currentValue = currentRecord.getValue();
@@ -170,4 +193,9 @@ class DefaultQueryCacheRecordStore implements QueryCacheRecordStore {
     public int size() {
         return cache.size();
     }
+
+    @Override
+    public QueryCacheRecordQueryEntry newQueryEntry() {
+        return new QueryCacheRecordQueryEntry(serializationService, extractedAttributes);
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.subscriber;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.querycache.subscriber.record.QueryCacheRecord;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * A reusable {@link CachedQueryEntry} over a {@link QueryCacheRecord}, which evaluates the predicates on the
+ * attribute values kept in the record. An attribute is extracted, so the value is deserialized, only the first
+ * time it is queried on a record; it is then kept in the record and registered to be extracted from every
+ * following update of the query cache.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class QueryCacheRecordQueryEntry<K, V> extends CachedQueryEntry<K, V> {
+
+    /**
+     * The maximum number of attributes which are kept in the records of a query cache.
+     */
+    static final int MAX_EXTRACTED_ATTRIBUTES = 16;
+
+    private final Set<String> extractedAttributes;
+
+    private QueryCacheRecord record;
+
+    QueryCacheRecordQueryEntry(InternalSerializationService serializationService, Set<String> extractedAttributes) {
+        this.serializationService = serializationService;
+        this.extractedAttributes = extractedAttributes;
+    }
+
+    public void init(QueryCacheRecord record) {
+        init(serializationService, record.getKey(), record.getRawValue(), Extractors.empty());
+        this.record = record;
+    }
+
+    @Override
+    public Object getAttributeValue(String attributeName) throws QueryException {
+        Map<String, Object> attributeValues = record.getAttributeValues();
+        if (attributeValues.containsKey(attributeName)) {
+            return attributeValues.get(attributeName);
+        }
+
+        Object attributeValue = super.getAttributeValue(attributeName);
+        if (shouldKeep(attributeName)) {
+            record.setAttributeValue(attributeName, attributeValue);
+        }
+        return attributeValue;
+    }
+
+    private boolean shouldKeep(String attributeName) {
+        // the key and the value themselves are not worth keeping twice
+        if (KEY_ATTRIBUTE_NAME.value().equals(attributeName) || THIS_ATTRIBUTE_NAME.value().equals(attributeName)) {
+            return false;
+        }
+        return extractedAttributes.contains(attributeName)
+                || extractedAttributes.size() < MAX_EXTRACTED_ATTRIBUTES && extractedAttributes.add(attributeName);
+    }
+
+    // the equality is defined by the key, as for any other query entry
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
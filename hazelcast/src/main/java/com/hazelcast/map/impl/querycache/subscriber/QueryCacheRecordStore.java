@@ -46,4 +46,12 @@ public interface QueryCacheRecordStore {
     boolean isEmpty();
 
     int size();
+
+    /**
+     * Creates a reusable entry to evaluate predicates on the records of this store.
+     * The attribute values it extracts are kept in the records and extracted from the following updates.
+     *
+     * @return a new query entry
+     */
+    QueryCacheRecordQueryEntry newQueryEntry();
 }
@@ -19,6 +19,10 @@ package com.hazelcast.map.impl.querycache.subscriber.record;
 import com.hazelcast.util.Clock;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Contains common functionality which is needed by a {@link QueryCacheRecord} instance.
  */
@@ -27,6 +31,8 @@ abstract class AbstractQueryCacheRecord implements QueryCacheRecord {
     protected final long creationTime;
     protected volatile long accessTime = -1L;
     protected volatile int accessHit;
+    // copy-on-write, written by the query threads which extract an attribute first
+    private volatile Map<String, Object> attributeValues = Collections.emptyMap();
 
     public AbstractQueryCacheRecord() {
         creationTime = Clock.currentTimeMillis();
@@ -58,4 +64,17 @@ abstract class AbstractQueryCacheRecord implements QueryCacheRecord {
     public void setAccessTime(long accessTime) {
         this.accessTime = accessTime;
     }
+
+    @Override
+    public Map<String, Object> getAttributeValues() {
+        return attributeValues;
+    }
+
+    @Override
+    public void setAttributeValue(String attributeName, Object attributeValue) {
+        // a concurrently extracted attribute may be lost, it is extracted again when needed
+        Map<String, Object> values = new HashMap<String, Object>(attributeValues);
+        values.put(attributeName, attributeValue);
+        attributeValues = values;
+    }
 }
@@ -41,6 +41,11 @@ class DataQueryCacheRecord extends AbstractQueryCacheRecord {
         return serializationService.toObject(valueData);
     }
 
+    @Override
+    public Object getRawValue() {
+        return valueData;
+    }
+
     @Override
     public final Data getKey() {
         return keyData;
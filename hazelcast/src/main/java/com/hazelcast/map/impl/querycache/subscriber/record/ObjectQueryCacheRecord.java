@@ -38,6 +38,11 @@ class ObjectQueryCacheRecord extends AbstractQueryCacheRecord {
         return value;
     }
 
+    @Override
+    public Object getRawValue() {
+        return value;
+    }
+
     @Override
     public final Data getKey() {
         return keyData;
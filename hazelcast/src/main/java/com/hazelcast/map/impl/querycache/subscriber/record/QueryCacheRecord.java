@@ -19,6 +19,8 @@ package com.hazelcast.map.impl.querycache.subscriber.record;
 import com.hazelcast.internal.eviction.Evictable;
 import com.hazelcast.nio.serialization.Data;
 
+import java.util.Map;
+
 /**
  * Represents a {@link com.hazelcast.map.QueryCache QueryCache} record.
  *
@@ -31,6 +33,30 @@ public interface QueryCacheRecord<V> extends Evictable {
     @Override
     V getValue();
 
+    /**
+     * Returns the value as it is kept in this record, so without deserializing it when the
+     * in-memory format is {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}.
+     *
+     * @return the value as it is kept in this record
+     */
+    Object getRawValue();
+
+    /**
+     * Returns the attribute values which were extracted from the value of this record so far.
+     * A record is replaced on every update of its key, so these values never get stale.
+     *
+     * @return the attribute values extracted so far, keyed by the attribute name
+     */
+    Map<String, Object> getAttributeValues();
+
+    /**
+     * Keeps an attribute value extracted from the value of this record for the following queries.
+     *
+     * @param attributeName  the name of the attribute
+     * @param attributeValue the extracted value, may be {@code null}
+     */
+    void setAttributeValue(String attributeName, Object attributeValue);
+
     /**
      * Sets the access time of this {@link Evictable} in milliseconds.
      *
@@ -16,20 +16,24 @@
 
 package com.hazelcast.map.impl.recordstore;
 
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
+import com.hazelcast.map.impl.mapstore.MapLoaderStats;
 import com.hazelcast.map.impl.operation.MapOperation;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.map.impl.operation.RemoveFromLoadAllOperation;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationAccessor;
 import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.util.ExceptionUtil;
 
@@ -41,21 +45,30 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.spi.ExecutionService.MAP_LOADER_EXECUTOR;
 
 /**
  * Responsible for loading keys from configured map store.
+ *
+ * The values are loaded on the {@link com.hazelcast.spi.ExecutionService#MAP_LOADER_EXECUTOR} and the loaded
+ * batches are put into the record store without waiting for them, so a loader thread can go on with the next
+ * batch while the partition thread applies the previous one. A loader task has at most
+ * {@value #MAX_IN_FLIGHT_BATCHES} batches in flight, so a slow partition thread holds back the loading instead of
+ * piling up loaded entries in memory. The returned future completes when all batches are applied.
  */
 class BasicRecordStoreLoader implements RecordStoreLoader {
 
+    static final int MAX_IN_FLIGHT_BATCHES = 2;
+
     private final ILogger logger;
     private final String name;
     private final MapServiceContext mapServiceContext;
     private final MapDataStore mapDataStore;
+    private final MapLoaderStats mapLoaderStats;
     private final int partitionId;
 
     BasicRecordStoreLoader(RecordStore recordStore) {
@@ -64,17 +77,16 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         this.mapServiceContext = mapContainer.getMapServiceContext();
         this.partitionId = recordStore.getPartitionId();
         this.mapDataStore = recordStore.getMapDataStore();
+        this.mapLoaderStats = mapContainer.getMapStoreContext().getMapLoaderStats();
         this.logger = mapServiceContext.getNodeEngine().getLogger(getClass());
     }
 
     @Override
     public Future<?> loadValues(List<Data> keys, boolean replaceExistingValues) {
-        final Callable task = new GivenKeysLoaderTask(keys, replaceExistingValues);
-        return executeTask(MAP_LOADER_EXECUTOR, task);
-    }
-
-    private Future<?> executeTask(String executorName, Callable task) {
-        return getExecutionService().submit(executorName, task);
+        final ValuesLoadedFuture future = new ValuesLoadedFuture(mapServiceContext.getNodeEngine());
+        final Runnable task = new GivenKeysLoaderTask(keys, replaceExistingValues, future);
+        getExecutionService().execute(MAP_LOADER_EXECUTOR, task);
+        return future;
     }
 
     private ExecutionService getExecutionService() {
@@ -86,24 +98,31 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
      * Task for loading values of given keys.
      * This task is used to make load in an outer thread instead of partition thread.
      */
-    private final class GivenKeysLoaderTask implements Callable<Object> {
+    private final class GivenKeysLoaderTask implements Runnable {
 
         private final List<Data> keys;
         private final boolean replaceExistingValues;
+        private final ValuesLoadedFuture future;
 
-        private GivenKeysLoaderTask(List<Data> keys, boolean replaceExistingValues) {
+        private GivenKeysLoaderTask(List<Data> keys, boolean replaceExistingValues, ValuesLoadedFuture future) {
             this.keys = keys;
             this.replaceExistingValues = replaceExistingValues;
+            this.future = future;
         }
 
         @Override
-        public Object call() throws Exception {
-            loadValuesInternal(keys, replaceExistingValues);
-            return null;
+        public void run() {
+            try {
+                loadValuesInternal(keys, replaceExistingValues, future);
+                future.onLoadFinished();
+            } catch (Throwable t) {
+                future.onFailure(t);
+            }
         }
     }
 
-    private void loadValuesInternal(List<Data> keys, boolean replaceExistingValues) throws Exception {
+    private void loadValuesInternal(List<Data> keys, boolean replaceExistingValues, ValuesLoadedFuture future)
+            throws Exception {
         if (!replaceExistingValues) {
             Future removeKeysFuture = removeExistingKeys(keys);
             removeKeysFuture.get();
@@ -115,10 +134,8 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
             return;
         }
 
-        List<Future> futures = doBatchLoad(keys);
-        for (Future future : futures) {
-            future.get();
-        }
+        mapLoaderStats.onKeysRequested(keys.size());
+        doBatchLoad(keys, future);
     }
 
     private Future removeExistingKeys(List<Data> keys) {
@@ -127,22 +144,22 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         return operationService.invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId);
     }
 
-    private List<Future> doBatchLoad(List<Data> keys) {
+    private void doBatchLoad(List<Data> keys, ValuesLoadedFuture future) throws InterruptedException {
         final Queue<List<Data>> batchChunks = createBatchChunks(keys);
-        final int size = batchChunks.size();
-        final AtomicInteger finishedBatchCounter = new AtomicInteger(size);
-        List<Future> futures = new ArrayList<Future>();
+        final Semaphore inFlightBatches = new Semaphore(MAX_IN_FLIGHT_BATCHES);
 
-        while (!batchChunks.isEmpty()) {
+        while (!batchChunks.isEmpty() && !future.isDone()) {
             final List<Data> chunk = batchChunks.poll();
             final List<Data> keyValueSequence = loadAndGet(chunk);
             if (keyValueSequence.isEmpty()) {
                 continue;
             }
-            futures.add(sendOperation(keyValueSequence, finishedBatchCounter));
+            inFlightBatches.acquire();
+            future.onBatchSent();
+            mapLoaderStats.onBatchSent();
+            BatchAppliedCallback callback = new BatchAppliedCallback(keyValueSequence.size() / 2, future, inFlightBatches);
+            sendOperation(keyValueSequence).andThen(callback);
         }
-
-        return futures;
     }
 
     private Queue<List<Data>> createBatchChunks(List<Data> keys) {
@@ -159,7 +176,9 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     private List<Data> loadAndGet(List<Data> keys) {
         Map<Object, Object> entries = Collections.emptyMap();
         try {
+            long startNanos = System.nanoTime();
             entries = mapDataStore.loadAll(keys);
+            mapLoaderStats.onLoadAll(entries == null ? 0 : entries.size(), System.nanoTime() - startNanos);
         } catch (Throwable t) {
             logger.warning("Could not load keys from map store", t);
             ExceptionUtil.rethrow(t);
@@ -203,14 +222,13 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         return list.subList(start, end);
     }
 
-    private Future<?> sendOperation(List<Data> keyValueSequence, AtomicInteger finishedBatchCounter) {
+    private InternalCompletableFuture<Object> sendOperation(List<Data> keyValueSequence) {
         OperationService operationService = mapServiceContext.getNodeEngine().getOperationService();
-        final Operation operation = createOperation(keyValueSequence, finishedBatchCounter);
-        //operationService.executeOperation(operation);
+        final Operation operation = createOperation(keyValueSequence);
         return operationService.invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId);
     }
 
-    private Operation createOperation(List<Data> keyValueSequence, final AtomicInteger finishedBatchCounter) {
+    private Operation createOperation(List<Data> keyValueSequence) {
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         MapOperationProvider operationProvider = mapServiceContext.getMapOperationProvider(name);
         MapOperation operation = operationProvider.createPutFromLoadAllOperation(name, keyValueSequence);
@@ -238,4 +256,66 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     private int getLoadBatchSize() {
         return mapServiceContext.getNodeEngine().getProperties().getInteger(GroupProperty.MAP_LOAD_CHUNK_SIZE);
     }
+
+    /**
+     * Updates the stats and the loading future when a batch of loaded entries has been put into the record store.
+     */
+    private final class BatchAppliedCallback implements ExecutionCallback<Object> {
+
+        private final int entryCount;
+        private final ValuesLoadedFuture future;
+        private final Semaphore inFlightBatches;
+
+        private BatchAppliedCallback(int entryCount, ValuesLoadedFuture future, Semaphore inFlightBatches) {
+            this.entryCount = entryCount;
+            this.future = future;
+            this.inFlightBatches = inFlightBatches;
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            inFlightBatches.release();
+            mapLoaderStats.onBatchApplied(entryCount);
+            future.onBatchApplied();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            inFlightBatches.release();
+            mapLoaderStats.onBatchApplied(0);
+            future.onFailure(t);
+        }
+    }
+
+    /**
+     * Completes when the loader task has finished and all the batches it has sent are applied,
+     * or with the first failure.
+     */
+    private static final class ValuesLoadedFuture extends AbstractCompletableFuture<Object> {
+
+        // the loader task itself is counted as pending until it has sent all batches
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private ValuesLoadedFuture(NodeEngine nodeEngine) {
+            super(nodeEngine, nodeEngine.getLogger(ValuesLoadedFuture.class));
+        }
+
+        void onBatchSent() {
+            pending.incrementAndGet();
+        }
+
+        void onBatchApplied() {
+            if (pending.decrementAndGet() == 0) {
+                setResult(null);
+            }
+        }
+
+        void onLoadFinished() {
+            onBatchApplied();
+        }
+
+        void onFailure(Throwable t) {
+            setResult(t);
+        }
+    }
 }
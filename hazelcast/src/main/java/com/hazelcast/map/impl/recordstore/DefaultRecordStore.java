@@ -20,6 +20,8 @@ import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.util.merkletree.ArrayMerkleTree;
+import com.hazelcast.internal.util.merkletree.MerkleTree;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.EntryViews;
 import com.hazelcast.map.impl.MapContainer;
@@ -39,6 +41,7 @@ import com.hazelcast.map.impl.querycache.publisher.MapPublisherRegistry;
 import com.hazelcast.map.impl.querycache.publisher.PublisherContext;
 import com.hazelcast.map.impl.querycache.publisher.PublisherRegistry;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.map.merge.MapMergePolicy;
 import com.hazelcast.nio.serialization.Data;
@@ -65,6 +68,7 @@ import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.POOLED
 import static com.hazelcast.core.EntryEventType.ADDED;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.updateExpiryTime;
 import static com.hazelcast.map.impl.mapstore.MapDataStores.EMPTY_MAP_DATA_STORE;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_MERKLE_TREE_DEPTH;
 import static com.hazelcast.util.MapUtil.createHashMap;
 import static java.util.Collections.emptyList;
 
@@ -84,6 +88,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     // records if the record store has been loaded just before the migrations starts
     // if so, the loading should NOT be started after the migration commit
     private boolean loadedOnPreMigration;
+    // maintained by the storage when Merkle trees are enabled, otherwise null
+    private final MerkleTree merkleTree;
 
     public DefaultRecordStore(MapContainer mapContainer, int partitionId,
                               MapKeyLoader keyLoader, ILogger logger) {
@@ -93,6 +99,27 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         this.keyLoader = keyLoader;
         this.recordStoreLoader = createRecordStoreLoader(mapStoreContext);
         this.loadedOnCreate = false;
+        this.merkleTree = createMerkleTree();
+    }
+
+    private MerkleTree createMerkleTree() {
+        int depth = mapServiceContext.getNodeEngine().getProperties().getInteger(MAP_MERKLE_TREE_DEPTH);
+        return depth > 0 ? new ArrayMerkleTree(depth) : null;
+    }
+
+    @Override
+    public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        Storage storage = super.createStorage(recordFactory, memoryFormat);
+        if (merkleTree == null) {
+            return storage;
+        }
+        return new MerkleTreeAwareStorage<Record>(storage, merkleTree, serializationService);
+    }
+
+    @Override
+    public MerkleTree getMerkleTree() {
+        // the dirty leaves are rehashed by the storage, a storage created by a subclass has no tree
+        return storage instanceof MerkleTreeAwareStorage ? ((MerkleTreeAwareStorage) storage).getMerkleTree() : null;
     }
 
     public void startLoading() {
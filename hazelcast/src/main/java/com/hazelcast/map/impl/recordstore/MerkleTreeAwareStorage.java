@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.util.merkletree.MerkleTree;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link Storage} decorator which keeps a {@link MerkleTree} over the entries of the decorated storage. Keys and
+ * values are hashed by their serialized form, so the trees of replicas holding the same entries are equal
+ * regardless of the in-memory format.
+ * <p>
+ * A mutation only marks its key as dirty, so it does not serialize the value of an
+ * {@link com.hazelcast.config.InMemoryFormat#OBJECT} record. The value hash each key contributes to the tree is
+ * kept, so {@link #getMerkleTree()} replaces the contributions of the dirty keys only: a read of the tree costs a
+ * serialization per key mutated since the previous read instead of a serialization per mutation.
+ *
+ * @param <R> the type of the records in the storage
+ */
+class MerkleTreeAwareStorage<R extends Record> implements Storage<Data, R> {
+
+    private final Storage<Data, R> storage;
+    private final MerkleTree merkleTree;
+    private final SerializationService serializationService;
+    // the value hash each key currently contributes to the tree
+    private final Map<Data, Integer> valueHashes = new HashMap<Data, Integer>();
+    private final Set<Data> dirtyKeys = new HashSet<Data>();
+
+    MerkleTreeAwareStorage(Storage<Data, R> storage, MerkleTree merkleTree, SerializationService serializationService) {
+        this.storage = storage;
+        this.merkleTree = merkleTree;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Returns the Merkle tree after rehashing the keys which were touched by a mutation since the last call.
+     *
+     * @return the up to date Merkle tree
+     */
+    MerkleTree getMerkleTree() {
+        if (dirtyKeys.isEmpty()) {
+            return merkleTree;
+        }
+        for (Data key : dirtyKeys) {
+            int keyHash = key.hashCode();
+            R record = storage.get(key);
+            if (record == null) {
+                Integer oldValueHash = valueHashes.remove(key);
+                if (oldValueHash != null) {
+                    merkleTree.updateRemove(keyHash, oldValueHash);
+                }
+            } else {
+                int newValueHash = valueHash(record.getValue());
+                Integer oldValueHash = valueHashes.put(key, newValueHash);
+                if (oldValueHash == null) {
+                    merkleTree.updateAdd(keyHash, newValueHash);
+                } else if (oldValueHash != newValueHash) {
+                    merkleTree.updateReplace(keyHash, oldValueHash, newValueHash);
+                }
+            }
+        }
+        dirtyKeys.clear();
+        return merkleTree;
+    }
+
+    @Override
+    public void put(Data key, R record) {
+        storage.put(key, record);
+        markDirty(key);
+    }
+
+    @Override
+    public void updateRecordValue(Data key, R record, Object value) {
+        storage.updateRecordValue(key, record, value);
+        markDirty(key);
+    }
+
+    @Override
+    public void removeRecord(R record) {
+        if (record == null) {
+            return;
+        }
+        storage.removeRecord(record);
+        markDirty(record.getKey());
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        storage.clear(isDuringShutdown);
+        clearMerkleTree();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        storage.destroy(isDuringShutdown);
+        clearMerkleTree();
+    }
+
+    private void clearMerkleTree() {
+        merkleTree.clear();
+        valueHashes.clear();
+        dirtyKeys.clear();
+    }
+
+    private void markDirty(Data key) {
+        dirtyKeys.add(key);
+    }
+
+    private int valueHash(Object value) {
+        Data valueData = serializationService.toData(value);
+        return valueData == null ? 0 : valueData.hashCode();
+    }
+
+    @Override
+    public R get(Data key) {
+        return storage.get(key);
+    }
+
+    @Override
+    public R getIfSameKey(Data key) {
+        return storage.getIfSameKey(key);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return storage.containsKey(key);
+    }
+
+    @Override
+    public Collection<R> values() {
+        return storage.values();
+    }
+
+    @Override
+    public Iterator<R> mutationTolerantIterator() {
+        return storage.mutationTolerantIterator();
+    }
+
+    @Override
+    public int size() {
+        return storage.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return storage.isEmpty();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return storage.getEntryCostEstimator();
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        storage.setEntryCostEstimator(entryCostEstimator);
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        storage.disposeDeferredBlocks();
+    }
+
+    @Override
+    public Iterable<LazyEntryViewFromRecord> getRandomSamples(int sampleCount) {
+        return storage.getRandomSamples(sampleCount);
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        return storage.fetchKeys(tableIndex, size);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(int tableIndex, int size, SerializationService serializationService) {
+        return storage.fetchEntries(tableIndex, size, serializationService);
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.recordstore;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
+import com.hazelcast.internal.util.merkletree.MerkleTree;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
@@ -223,6 +224,14 @@ public interface RecordStore<R extends Record> extends LocalRecordStoreStats {
 
     int size();
 
+    /**
+     * Returns the Merkle tree maintained over the entries of this record store.
+     *
+     * @return the Merkle tree or {@code null} if Merkle trees are disabled
+     * @see com.hazelcast.spi.properties.GroupProperty#MAP_MERKLE_TREE_DEPTH
+     */
+    MerkleTree getMerkleTree();
+
     boolean txnLock(Data key, String caller, long threadId, long referenceId, long ttl, boolean blockReads);
 
     boolean extendLock(Data key, String caller, long threadId, long ttl);
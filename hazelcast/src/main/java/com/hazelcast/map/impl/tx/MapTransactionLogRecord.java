@@ -22,15 +22,18 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.Operation;
-import com.hazelcast.transaction.impl.TransactionLogRecord;
+import com.hazelcast.transaction.impl.BatchableTransactionLogRecord;
 import com.hazelcast.util.ThreadUtil;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Represents an operation on the map in the transaction log.
+ *
+ * The operations of the records of the same map and partition are sent together in a {@link TxnBatchOperation}.
  */
-public class MapTransactionLogRecord implements TransactionLogRecord {
+public class MapTransactionLogRecord implements BatchableTransactionLogRecord {
 
     private int partitionId;
     private String name;
@@ -76,6 +79,37 @@ public class MapTransactionLogRecord implements TransactionLogRecord {
         return operation;
     }
 
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    @Override
+    public Object getBatchKey() {
+        return name;
+    }
+
+    @Override
+    public Operation newBatchOperation(List<Operation> operations) {
+        return new TxnBatchOperation(name, partitionId, operations);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Data getDataKey() {
+        return key;
+    }
+
+    long getThreadId() {
+        return threadId;
+    }
+
+    String getOwnerUuid() {
+        return ownerUuid;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+
+/**
+ * Represents an operation on the map in the log of an optimistic transaction.
+ *
+ * The key is not locked when the operation is logged. Instead, the version and the value read by the
+ * transaction are remembered and validated by the {@link TxnOptimisticPrepareOperation}.
+ */
+public class OptimisticMapTransactionLogRecord extends MapTransactionLogRecord {
+
+    private long version;
+    private Data value;
+
+    public OptimisticMapTransactionLogRecord() {
+    }
+
+    public OptimisticMapTransactionLogRecord(String name, Data key, int partitionId, Operation op, long version,
+                                             Data value, String ownerUuid) {
+        super(name, key, partitionId, op, version, ownerUuid);
+        this.version = version;
+        this.value = value;
+    }
+
+    @Override
+    public Operation newPrepareOperation() {
+        TxnOptimisticPrepareOperation operation = new TxnOptimisticPrepareOperation(getPartitionId(), getName(),
+                getDataKey(), getOwnerUuid(), version, value);
+        operation.setThreadId(getThreadId());
+        return operation;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        super.writeData(out);
+        out.writeLong(version);
+        out.writeData(value);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        super.readData(in);
+        version = in.readLong();
+        value = in.readData();
+    }
+
+    @Override
+    public String toString() {
+        return "OptimisticMapTransactionRecord{"
+                + "version=" + version
+                + ", present=" + (value != null)
+                + ", " + super.toString()
+                + '}';
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.OPTIMISTIC_MAP_TRANSACTION_LOG_RECORD;
+    }
+}
@@ -28,6 +28,7 @@ import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.map.impl.record.RecordComparator;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationFactory;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.TransactionalDistributedObject;
@@ -182,7 +183,7 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
 
     Object getForUpdateInternal(Data key) {
         VersionedValue versionedValue = lockAndGet(key, tx.getTimeoutMillis(), true);
-        addUnlockTransactionRecord(key, versionedValue.version);
+        addUnlockTransactionRecord(key, versionedValue);
         return versionedValue.value;
     }
 
@@ -205,7 +206,7 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
         VersionedValue versionedValue = lockAndGet(key, tx.getTimeoutMillis());
         long timeInMillis = getTimeInMillis(ttl, timeUnit);
         MapOperation operation = operationProvider.createTxnSetOperation(name, key, value, versionedValue.version, timeInMillis);
-        tx.add(new MapTransactionLogRecord(name, key, getPartitionId(key), operation, versionedValue.version, tx.getOwnerUuid()));
+        addTransactionRecord(key, operation, versionedValue);
         return versionedValue.value;
     }
 
@@ -217,12 +218,12 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
                 unlock(key, versionedValue);
                 return versionedValue.value;
             }
-            addUnlockTransactionRecord(key, versionedValue.version);
+            addUnlockTransactionRecord(key, versionedValue);
             return versionedValue.value;
         }
 
         MapOperation operation = operationProvider.createTxnSetOperation(name, key, value, versionedValue.version, -1);
-        tx.add(new MapTransactionLogRecord(name, key, getPartitionId(key), operation, versionedValue.version, tx.getOwnerUuid()));
+        addTransactionRecord(key, operation, versionedValue);
         return versionedValue.value;
     }
 
@@ -234,11 +235,11 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
                 unlock(key, versionedValue);
                 return null;
             }
-            addUnlockTransactionRecord(key, versionedValue.version);
+            addUnlockTransactionRecord(key, versionedValue);
             return null;
         }
         MapOperation operation = operationProvider.createTxnSetOperation(name, key, value, versionedValue.version, -1);
-        tx.add(new MapTransactionLogRecord(name, key, getPartitionId(key), operation, versionedValue.version, tx.getOwnerUuid()));
+        addTransactionRecord(key, operation, versionedValue);
         return versionedValue.value;
     }
 
@@ -250,19 +251,18 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
                 unlock(key, versionedValue);
                 return false;
             }
-            addUnlockTransactionRecord(key, versionedValue.version);
+            addUnlockTransactionRecord(key, versionedValue);
             return false;
         }
         MapOperation operation = operationProvider.createTxnSetOperation(name, key, newValue, versionedValue.version, -1);
-        tx.add(new MapTransactionLogRecord(name, key, getPartitionId(key), operation, versionedValue.version, tx.getOwnerUuid()));
+        addTransactionRecord(key, operation, versionedValue);
         return true;
     }
 
     Data removeInternal(Data key) {
         VersionedValue versionedValue = lockAndGet(key, tx.getTimeoutMillis());
-        tx.add(new MapTransactionLogRecord(name, key, getPartitionId(key),
-                operationProvider.createTxnDeleteOperation(name, key, versionedValue.version),
-                versionedValue.version, tx.getOwnerUuid()));
+        addTransactionRecord(key, operationProvider.createTxnDeleteOperation(name, key, versionedValue.version),
+                versionedValue);
         return versionedValue.value;
     }
 
@@ -274,16 +274,20 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
                 unlock(key, versionedValue);
                 return false;
             }
-            addUnlockTransactionRecord(key, versionedValue.version);
+            addUnlockTransactionRecord(key, versionedValue);
             return false;
         }
-        tx.add(new MapTransactionLogRecord(name, key, getPartitionId(key),
-                operationProvider.createTxnDeleteOperation(name, key, versionedValue.version),
-                versionedValue.version, tx.getOwnerUuid()));
+        addTransactionRecord(key, operationProvider.createTxnDeleteOperation(name, key, versionedValue.version),
+                versionedValue);
         return true;
     }
 
     private void unlock(Data key, VersionedValue versionedValue) {
+        if (tx.isOptimistic()) {
+            // nothing was locked, just forget the version read
+            valueMap.remove(key);
+            return;
+        }
         try {
             TxnUnlockOperation unlockOperation = new TxnUnlockOperation(name, key, versionedValue.version);
             unlockOperation.setThreadId(ThreadUtil.getThreadId());
@@ -297,14 +301,26 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
         }
     }
 
-    private void addUnlockTransactionRecord(Data key, long version) {
-        TxnUnlockOperation operation = new TxnUnlockOperation(name, key, version);
-        tx.add(new MapTransactionLogRecord(name, key, getPartitionId(key), operation, version, tx.getOwnerUuid()));
+    private void addUnlockTransactionRecord(Data key, VersionedValue versionedValue) {
+        TxnUnlockOperation operation = new TxnUnlockOperation(name, key, versionedValue.version);
+        addTransactionRecord(key, operation, versionedValue);
+    }
+
+    private void addTransactionRecord(Data key, Operation operation, VersionedValue versionedValue) {
+        int partitionId = getPartitionId(key);
+        if (tx.isOptimistic()) {
+            tx.add(new OptimisticMapTransactionLogRecord(name, key, partitionId, operation, versionedValue.version,
+                    versionedValue.value, tx.getOwnerUuid()));
+        } else {
+            tx.add(new MapTransactionLogRecord(name, key, partitionId, operation, versionedValue.version,
+                    tx.getOwnerUuid()));
+        }
     }
 
     /**
      * Locks the key on the partition owner and returns the value with the version. Does not invokes maploader if
-     * the key is missing in memory
+     * the key is missing in memory. An optimistic transaction does not lock the key, its version and value are validated
+     * when the transaction is prepared.
      *
      * @param key     serialized key
      * @param timeout timeout in millis
@@ -319,9 +335,14 @@ public abstract class TransactionalMapProxySupport extends TransactionalDistribu
         if (versionedValue != null) {
             return versionedValue;
         }
-        boolean blockReads = tx.getTransactionType() == TransactionType.ONE_PHASE;
-        MapOperation operation = operationProvider.createTxnLockAndGetOperation(name, key, timeout, timeout,
-                tx.getOwnerUuid(), shouldLoad, blockReads);
+        MapOperation operation;
+        if (tx.isOptimistic()) {
+            operation = new TxnGetVersionedOperation(name, key, shouldLoad);
+        } else {
+            boolean blockReads = tx.getTransactionType() == TransactionType.ONE_PHASE;
+            operation = operationProvider.createTxnLockAndGetOperation(name, key, timeout, timeout,
+                    tx.getOwnerUuid(), shouldLoad, blockReads);
+        }
         operation.setThreadId(ThreadUtil.getThreadId());
         try {
             int partitionId = partitionService.getPartitionId(key);
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.BackupOperation;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.MutatingOperation;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.hazelcast.map.impl.tx.TxnBatchOperation.readOperations;
+import static com.hazelcast.map.impl.tx.TxnBatchOperation.runNested;
+import static com.hazelcast.map.impl.tx.TxnBatchOperation.writeOperations;
+
+/**
+ * Runs the backup operations of a {@link TxnBatchOperation} on a backup replica of the partition.
+ */
+public class TxnBatchBackupOperation extends MapOperation implements PartitionAwareOperation, BackupOperation,
+        MutatingOperation {
+
+    private List<Operation> operations;
+
+    public TxnBatchBackupOperation() {
+    }
+
+    public TxnBatchBackupOperation(String name, List<Operation> operations) {
+        super(name);
+        this.operations = operations;
+    }
+
+    @Override
+    public void run() throws Exception {
+        for (Operation operation : operations) {
+            runNested(this, operation);
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        writeOperations(out, operations);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        operations = readOperations(in);
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.TXN_BATCH_BACKUP;
+    }
+}
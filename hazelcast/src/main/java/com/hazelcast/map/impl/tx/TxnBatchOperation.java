@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.BackupAwareOperation;
+import com.hazelcast.spi.Notifier;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationAccessor;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.impl.MutatingOperation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.spi.impl.OperationResponseHandlerFactory.createEmptyResponseHandler;
+
+/**
+ * Runs the prepare, commit or rollback operations of several keys of a map which belong to the same partition,
+ * so a transaction needs a single round trip per partition for each phase.
+ *
+ * All operations are run even if one of them fails; the first failure is sent as the response. The backups of the
+ * operations are sent together in a {@link TxnBatchBackupOperation}.
+ */
+public class TxnBatchOperation extends MapOperation implements PartitionAwareOperation, BackupAwareOperation,
+        MutatingOperation {
+
+    private List<Operation> operations;
+
+    private transient List<Operation> backupOperations;
+    private transient Throwable failure;
+
+    public TxnBatchOperation() {
+    }
+
+    public TxnBatchOperation(String name, int partitionId, List<Operation> operations) {
+        super(name);
+        setPartitionId(partitionId);
+        this.operations = operations;
+    }
+
+    @Override
+    public void run() throws Exception {
+        backupOperations = new ArrayList<Operation>(operations.size());
+        for (Operation operation : operations) {
+            try {
+                runNested(this, operation);
+                notify(operation);
+                addBackupOperation(operation);
+            } catch (Throwable t) {
+                if (failure == null) {
+                    failure = t;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the given operation on the partition thread of its parent operation, as the operation runner would.
+     */
+    static void runNested(Operation parent, Operation operation) throws Exception {
+        operation.setNodeEngine(parent.getNodeEngine());
+        operation.setPartitionId(parent.getPartitionId());
+        operation.setReplicaIndex(parent.getReplicaIndex());
+        operation.setCallerUuid(parent.getCallerUuid());
+        OperationAccessor.setCallerAddress(operation, parent.getCallerAddress());
+        operation.setOperationResponseHandler(createEmptyResponseHandler());
+
+        operation.beforeRun();
+        operation.run();
+        operation.afterRun();
+    }
+
+    private void notify(Operation operation) {
+        if (operation instanceof Notifier && ((Notifier) operation).shouldNotify()) {
+            NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+            nodeEngine.getOperationParker().unpark((Notifier) operation);
+        }
+    }
+
+    private void addBackupOperation(Operation operation) {
+        if (operation instanceof BackupAwareOperation) {
+            BackupAwareOperation backupAwareOperation = (BackupAwareOperation) operation;
+            if (backupAwareOperation.shouldBackup()) {
+                backupOperations.add(backupAwareOperation.getBackupOperation());
+            }
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return failure != null ? failure : Boolean.TRUE;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !backupOperations.isEmpty();
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new TxnBatchBackupOperation(name, backupOperations);
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return mapContainer.getBackupCount();
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return mapContainer.getAsyncBackupCount();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        writeOperations(out, operations);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        operations = readOperations(in);
+    }
+
+    static void writeOperations(ObjectDataOutput out, List<Operation> operations) throws IOException {
+        out.writeInt(operations.size());
+        for (Operation operation : operations) {
+            out.writeObject(operation);
+        }
+    }
+
+    static List<Operation> readOperations(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        List<Operation> operations = new ArrayList<Operation>(size);
+        for (int i = 0; i < size; i++) {
+            operations.add(in.<Operation>readObject());
+        }
+        return operations;
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+
+        sb.append(", operations=").append(operations.size());
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.TXN_BATCH;
+    }
+}
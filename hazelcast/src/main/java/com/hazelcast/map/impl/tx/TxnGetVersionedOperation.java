@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.operation.ReadonlyKeyBasedMapOperation;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+
+/**
+ * Reads the value of a key together with its version without locking it.
+ * Used by the optimistic transactions, which validate the version when they are prepared.
+ *
+ * @see TxnOptimisticPrepareOperation
+ */
+public class TxnGetVersionedOperation extends ReadonlyKeyBasedMapOperation {
+
+    private boolean shouldLoad;
+    private transient VersionedValue response;
+
+    public TxnGetVersionedOperation() {
+    }
+
+    public TxnGetVersionedOperation(String name, Data dataKey, boolean shouldLoad) {
+        super(name, dataKey);
+        this.shouldLoad = shouldLoad;
+    }
+
+    @Override
+    public void run() throws Exception {
+        Record record = recordStore.getRecordOrNull(dataKey);
+        if (record == null && shouldLoad) {
+            record = recordStore.loadRecordOrNull(dataKey, false);
+        }
+        Data value = record == null ? null : mapServiceContext.toData(record.getValue());
+        response = new VersionedValue(value, record == null ? 0 : record.getVersion());
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeBoolean(shouldLoad);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        shouldLoad = in.readBoolean();
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.TXN_GET_VERSIONED;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordComparator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.transaction.TransactionException;
+
+import java.io.IOException;
+
+/**
+ * An operation to prepare an optimistic transaction. The key is locked only now, and the entry is
+ * checked to be unchanged since it was read by the transaction; otherwise the transaction is aborted.
+ * <p>
+ * Both the version and the value are compared, since the version of an entry starts over when the
+ * entry is removed and put again.
+ */
+public class TxnOptimisticPrepareOperation extends TxnPrepareOperation {
+
+    private long version;
+    private Data value;
+
+    TxnOptimisticPrepareOperation(int partitionId, String name, Data dataKey, String ownerUuid,
+                                  long version, Data value) {
+        super(partitionId, name, dataKey, ownerUuid);
+        this.version = version;
+        this.value = value;
+    }
+
+    public TxnOptimisticPrepareOperation() {
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (!recordStore.txnLock(dataKey, ownerUuid, getThreadId(), getCallId(), LOCK_TTL_MILLIS, true)) {
+            throw new TransactionException("Optimistic transaction couldn't obtain lock! ["
+                    + recordStore.getLockOwnerInfo(dataKey) + ']');
+        }
+        Record record = recordStore.getRecordOrNull(dataKey);
+        if (!isUnchanged(record)) {
+            recordStore.unlock(dataKey, ownerUuid, getThreadId(), getCallId());
+            throw new TransactionException("Entry was modified after it was read by the optimistic transaction! key: ["
+                    + dataKey + "], expected version: " + (value != null ? version : "absent"));
+        }
+    }
+
+    private boolean isUnchanged(Record record) {
+        if (value == null || record == null) {
+            return value == null && record == null;
+        }
+        if (record.getVersion() != version) {
+            return false;
+        }
+        RecordComparator comparator = mapServiceContext.getRecordComparator(mapContainer.getMapConfig().getInMemoryFormat());
+        return comparator.isEqual(record.getValue(), value);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(version);
+        out.writeData(value);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        version = in.readLong();
+        value = in.readData();
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+
+        sb.append(", version=").append(version);
+        sb.append(", present=").append(value != null);
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.TXN_OPTIMISTIC_PREPARE;
+    }
+}
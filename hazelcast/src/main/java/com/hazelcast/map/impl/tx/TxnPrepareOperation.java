@@ -34,9 +34,9 @@ import java.io.IOException;
  */
 public class TxnPrepareOperation extends MutatingKeyBasedMapOperation implements BackupAwareOperation, MutatingOperation {
 
-    private static final long LOCK_TTL_MILLIS = 10000L;
+    static final long LOCK_TTL_MILLIS = 10000L;
 
-    private String ownerUuid;
+    String ownerUuid;
 
     protected TxnPrepareOperation(int partitionId, String name, Data dataKey, String ownerUuid) {
         super(name, dataKey);
@@ -49,6 +49,8 @@ public class MultiMapContainer extends MultiMapContainerSupport {
 
     private final ObjectNamespace objectNamespace;
 
+    private final MultiMapValueIndex valueIndex;
+
     private long idGen;
 
     // these fields are volatile since they can be read by other threads than the partition-thread
@@ -63,6 +65,7 @@ public class MultiMapContainer extends MultiMapContainerSupport {
         this.lockStore = lockService == null ? null : lockService.createLockStore(partitionId, lockNamespace);
         this.creationTime = currentTimeMillis();
         this.objectNamespace = new DistributedObjectNamespace(MultiMapService.SERVICE_NAME, name);
+        this.valueIndex = config.isValueIndexEnabled() ? new MultiMapValueIndex() : null;
     }
 
     public boolean canAcquireLock(Data dataKey, String caller, long threadId) {
@@ -106,12 +109,64 @@ public class MultiMapContainer extends MultiMapContainerSupport {
     }
 
     public void delete(Data dataKey) {
-        multiMapValues.remove(dataKey);
+        MultiMapValue multiMapValue = multiMapValues.remove(dataKey);
+        if (valueIndex != null && multiMapValue != null) {
+            valueIndex.removeAll(dataKey, multiMapValue.getCollection(false));
+        }
     }
 
     public Collection<MultiMapRecord> remove(Data dataKey, boolean copyOf) {
         MultiMapValue multiMapValue = multiMapValues.remove(dataKey);
-        return multiMapValue != null ? multiMapValue.getCollection(copyOf) : null;
+        if (multiMapValue == null) {
+            return null;
+        }
+        if (valueIndex != null) {
+            valueIndex.removeAll(dataKey, multiMapValue.getCollection(false));
+        }
+        return multiMapValue.getCollection(copyOf);
+    }
+
+    /**
+     * Puts the value collection of the key, replacing the existing one. Used when inserting migrated or
+     * replicated data.
+     *
+     * @param dataKey       the key
+     * @param multiMapValue the value collection of the key
+     */
+    public void putMultiMapValue(Data dataKey, MultiMapValue multiMapValue) {
+        MultiMapValue oldValue = multiMapValues.put(dataKey, multiMapValue);
+        if (valueIndex != null) {
+            if (oldValue != null) {
+                valueIndex.removeAll(dataKey, oldValue.getCollection(false));
+            }
+            valueIndex.addAll(dataKey, multiMapValue.getCollection(false));
+        }
+    }
+
+    /**
+     * Registers a record which has been added to the value collection of the key in the value index.
+     * Does nothing if the value index is not enabled.
+     *
+     * @param dataKey the key
+     * @param record  the added record
+     */
+    public void addToValueIndex(Data dataKey, MultiMapRecord record) {
+        if (valueIndex != null) {
+            valueIndex.add(dataKey, record);
+        }
+    }
+
+    /**
+     * Unregisters a record which has been removed from the value collection of the key from the value index.
+     * Does nothing if the value index is not enabled.
+     *
+     * @param dataKey the key
+     * @param record  the removed record
+     */
+    public void removeFromValueIndex(Data dataKey, MultiMapRecord record) {
+        if (valueIndex != null) {
+            valueIndex.remove(dataKey, record);
+        }
     }
 
     public Set<Data> keySet() {
@@ -134,6 +189,9 @@ public class MultiMapContainer extends MultiMapContainerSupport {
     }
 
     public boolean containsEntry(boolean binary, Data key, Data value) {
+        if (valueIndex != null) {
+            return valueIndex.containsEntry(key, binary ? value : nodeEngine.toObject(value));
+        }
         MultiMapValue multiMapValue = multiMapValues.get(key);
         if (multiMapValue == null) {
             return false;
@@ -143,6 +201,9 @@ public class MultiMapContainer extends MultiMapContainerSupport {
     }
 
     public boolean containsValue(boolean binary, Data value) {
+        if (valueIndex != null) {
+            return valueIndex.containsValue(binary ? value : nodeEngine.toObject(value));
+        }
         for (Data key : multiMapValues.keySet()) {
             if (containsEntry(binary, key, value)) {
                 return true;
@@ -181,6 +242,12 @@ public class MultiMapContainer extends MultiMapContainerSupport {
         int numberOfAffectedEntries = multiMapValues.size() - lockedKeys.size();
         multiMapValues.clear();
         multiMapValues.putAll(lockedKeys);
+        if (valueIndex != null) {
+            valueIndex.clear();
+            for (Map.Entry<Data, MultiMapValue> entry : lockedKeys.entrySet()) {
+                valueIndex.addAll(entry.getKey(), entry.getValue().getCollection(false));
+            }
+        }
         return numberOfAffectedEntries;
     }
 
@@ -190,6 +257,9 @@ public class MultiMapContainer extends MultiMapContainerSupport {
             lockService.clearLockStore(partitionId, lockNamespace);
         }
         multiMapValues.clear();
+        if (valueIndex != null) {
+            valueIndex.clear();
+        }
     }
 
     public void access() {
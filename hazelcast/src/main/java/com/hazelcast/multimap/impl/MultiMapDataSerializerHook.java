@@ -25,11 +25,15 @@ import com.hazelcast.multimap.impl.operations.ContainsEntryOperation;
 import com.hazelcast.multimap.impl.operations.CountOperation;
 import com.hazelcast.multimap.impl.operations.EntrySetOperation;
 import com.hazelcast.multimap.impl.operations.EntrySetResponse;
+import com.hazelcast.multimap.impl.operations.GetAllForKeysOperation;
 import com.hazelcast.multimap.impl.operations.GetAllOperation;
+import com.hazelcast.multimap.impl.operations.GetAllPartitionAwareOperationFactory;
 import com.hazelcast.multimap.impl.operations.KeySetOperation;
 import com.hazelcast.multimap.impl.operations.MultiMapReplicationOperation;
 import com.hazelcast.multimap.impl.operations.MultiMapOperationFactory;
 import com.hazelcast.multimap.impl.operations.MultiMapResponse;
+import com.hazelcast.multimap.impl.operations.PutAllBackupOperation;
+import com.hazelcast.multimap.impl.operations.PutAllOperation;
 import com.hazelcast.multimap.impl.operations.PutBackupOperation;
 import com.hazelcast.multimap.impl.operations.PutOperation;
 import com.hazelcast.multimap.impl.operations.RemoveAllBackupOperation;
@@ -113,6 +117,10 @@ public class MultiMapDataSerializerHook implements DataSerializerHook {
     public static final int MULTIMAP_REPLICATION_OPERATION = 45;
     public static final int MULTIMAP_RESPONSE = 46;
     public static final int ENTRY_SET_RESPONSE = 47;
+    public static final int PUT_ALL = 48;
+    public static final int PUT_ALL_BACKUP = 49;
+    public static final int GET_ALL_FOR_KEYS = 50;
+    public static final int GET_ALL_PARTITION_AWARE_FACTORY = 51;
 
 
     public int getFactoryId() {
@@ -121,7 +129,7 @@ public class MultiMapDataSerializerHook implements DataSerializerHook {
 
     public DataSerializableFactory createFactory() {
         ConstructorFunction<Integer, IdentifiedDataSerializable>[] constructors
-                = new ConstructorFunction[ENTRY_SET_RESPONSE + 1];
+                = new ConstructorFunction[GET_ALL_PARTITION_AWARE_FACTORY + 1];
         constructors[CLEAR_BACKUP] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
             public IdentifiedDataSerializable createNew(Integer arg) {
                 return new ClearBackupOperation();
@@ -304,6 +312,26 @@ public class MultiMapDataSerializerHook implements DataSerializerHook {
                 return new EntrySetResponse();
             }
         };
+        constructors[PUT_ALL] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new PutAllOperation();
+            }
+        };
+        constructors[PUT_ALL_BACKUP] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new PutAllBackupOperation();
+            }
+        };
+        constructors[GET_ALL_FOR_KEYS] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new GetAllForKeysOperation();
+            }
+        };
+        constructors[GET_ALL_PARTITION_AWARE_FACTORY] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new GetAllPartitionAwareOperationFactory();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
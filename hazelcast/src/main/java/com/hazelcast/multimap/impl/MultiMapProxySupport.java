@@ -20,11 +20,15 @@ import com.hazelcast.concurrent.lock.LockProxySupport;
 import com.hazelcast.concurrent.lock.LockServiceImpl;
 import com.hazelcast.config.MultiMapConfig;
 import com.hazelcast.core.EntryEventType;
+import com.hazelcast.multimap.impl.operations.ContainsEntryOperation;
 import com.hazelcast.multimap.impl.operations.CountOperation;
+import com.hazelcast.multimap.impl.operations.EntrySetResponse;
 import com.hazelcast.multimap.impl.operations.GetAllOperation;
+import com.hazelcast.multimap.impl.operations.GetAllPartitionAwareOperationFactory;
 import com.hazelcast.multimap.impl.operations.MultiMapOperationFactory;
 import com.hazelcast.multimap.impl.operations.MultiMapOperationFactory.OperationFactoryType;
 import com.hazelcast.multimap.impl.operations.MultiMapResponse;
+import com.hazelcast.multimap.impl.operations.PutAllOperation;
 import com.hazelcast.multimap.impl.operations.PutOperation;
 import com.hazelcast.multimap.impl.operations.RemoveAllOperation;
 import com.hazelcast.multimap.impl.operations.RemoveOperation;
@@ -33,10 +37,15 @@ import com.hazelcast.spi.AbstractDistributedObject;
 import com.hazelcast.spi.DistributedObjectNamespace;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.ThreadUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
@@ -70,6 +79,15 @@ public abstract class MultiMapProxySupport extends AbstractDistributedObject<Mul
         }
     }
 
+    protected Boolean putAllInternal(Data dataKey, List<Data> dataValues) {
+        try {
+            PutAllOperation operation = new PutAllOperation(name, dataKey, getThreadId(), dataValues);
+            return invoke(operation, dataKey);
+        } catch (Throwable throwable) {
+            throw ExceptionUtil.rethrow(throwable);
+        }
+    }
+
     protected MultiMapResponse getAllInternal(Data dataKey) {
         try {
             GetAllOperation operation = new GetAllOperation(name, dataKey);
@@ -80,6 +98,48 @@ public abstract class MultiMapProxySupport extends AbstractDistributedObject<Mul
         }
     }
 
+    protected <K, V> Map<K, Collection<V>> getAllInternal(Collection<Data> dataKeys) {
+        final NodeEngine nodeEngine = getNodeEngine();
+        IPartitionService partitionService = nodeEngine.getPartitionService();
+        Map<Integer, List<Data>> keysByPartition = new HashMap<Integer, List<Data>>();
+        for (Data dataKey : dataKeys) {
+            int partitionId = partitionService.getPartitionId(dataKey);
+            List<Data> partitionKeys = keysByPartition.get(partitionId);
+            if (partitionKeys == null) {
+                partitionKeys = new ArrayList<Data>();
+                keysByPartition.put(partitionId, partitionKeys);
+            }
+            partitionKeys.add(dataKey);
+        }
+        int[] partitions = new int[keysByPartition.size()];
+        List<Data>[] keys = new List[keysByPartition.size()];
+        int index = 0;
+        for (Map.Entry<Integer, List<Data>> entry : keysByPartition.entrySet()) {
+            partitions[index] = entry.getKey();
+            keys[index++] = entry.getValue();
+        }
+        try {
+            long startTimeNanos = System.nanoTime();
+            Map<Integer, Object> results = nodeEngine.getOperationService()
+                    .invokeOnPartitions(
+                            MultiMapService.SERVICE_NAME,
+                            new GetAllPartitionAwareOperationFactory(name, partitions, keys),
+                            partitions
+                    );
+            Map<K, Collection<V>> collections = new HashMap<K, Collection<V>>(dataKeys.size());
+            for (Object result : results.values()) {
+                EntrySetResponse response = nodeEngine.toObject(result);
+                collections.putAll(response.<K, V>getObjectCollections(nodeEngine, config.getValueCollectionType()));
+            }
+            if (config.isStatisticsEnabled()) {
+                getService().getLocalMultiMapStatsImpl(name).incrementGetLatencyNanos(System.nanoTime() - startTimeNanos);
+            }
+            return collections;
+        } catch (Throwable throwable) {
+            throw ExceptionUtil.rethrow(throwable);
+        }
+    }
+
     protected Boolean removeInternal(Data dataKey, Data dataValue) {
         try {
             RemoveOperation operation = new RemoveOperation(name, dataKey, getThreadId(), dataValue);
@@ -156,6 +216,12 @@ public abstract class MultiMapProxySupport extends AbstractDistributedObject<Mul
     }
 
     protected boolean containsInternal(Data key, Data value) {
+        if (key != null) {
+            // the entries of a key live in the key's partition, so there is no need to ask all partitions
+            ContainsEntryOperation operation = new ContainsEntryOperation(name, key, value, ThreadUtil.getThreadId());
+            Boolean result = invoke(operation, key);
+            return result;
+        }
         final NodeEngine nodeEngine = getNodeEngine();
         try {
             Map<Integer, Object> results = nodeEngine.getOperationService()
@@ -250,7 +316,7 @@ public abstract class MultiMapProxySupport extends AbstractDistributedObject<Mul
                 f = nodeEngine.getOperationService()
                         .invokeOnPartition(MultiMapService.SERVICE_NAME, operation, partitionId);
                 o = f.get();
-                if (operation instanceof PutOperation) {
+                if (operation instanceof PutOperation || operation instanceof PutAllOperation) {
                     //TODO @ali should we remove statics from operations ?
                     getService().getLocalMultiMapStatsImpl(name).incrementPutLatencyNanos(System.nanoTime() - startTimeNanos);
                 } else if (operation instanceof RemoveOperation || operation instanceof RemoveAllOperation) {
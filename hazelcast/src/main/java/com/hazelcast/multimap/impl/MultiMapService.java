@@ -283,7 +283,7 @@ public class MultiMapService implements ManagedService, RemoteService, Fragmente
 
             for (Map.Entry<Data, MultiMapValue> multiMapValueEntry : collections.entrySet()) {
                 MultiMapValue multiMapValue = multiMapValueEntry.getValue();
-                container.getMultiMapValues().put(multiMapValueEntry.getKey(), multiMapValue);
+                container.putMultiMapValue(multiMapValueEntry.getKey(), multiMapValue);
                 long recordId = getMaxRecordId(multiMapValue);
                 maxRecordId = Math.max(maxRecordId, recordId);
             }
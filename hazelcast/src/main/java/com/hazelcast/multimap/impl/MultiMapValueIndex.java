@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.multimap.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.MutableInteger;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reverse index of a {@link MultiMapContainer} which maps every value to the keys holding it, so that
+ * {@link MultiMapContainer#containsValue(boolean, Data)} and {@link MultiMapContainer#containsEntry(boolean, Data, Data)}
+ * are hash lookups instead of scans over all value collections of the partition.
+ * <p>
+ * The values are indexed in the form they are stored in the {@link MultiMapRecord}s, so lookups follow the same
+ * equality as the value collections. Since list value collections may hold the same value more than once under a key,
+ * the index counts the occurrences per key.
+ * <p>
+ * The index is only accessed by the partition thread.
+ */
+class MultiMapValueIndex {
+
+    private final Map<Object, Map<Data, MutableInteger>> keysByValue = new HashMap<Object, Map<Data, MutableInteger>>();
+
+    void add(Data key, MultiMapRecord record) {
+        Object value = record.getObject();
+        Map<Data, MutableInteger> keys = keysByValue.get(value);
+        if (keys == null) {
+            keys = new HashMap<Data, MutableInteger>(1);
+            keysByValue.put(value, keys);
+        }
+        MutableInteger count = keys.get(key);
+        if (count == null) {
+            count = new MutableInteger();
+            keys.put(key, count);
+        }
+        count.value++;
+    }
+
+    void addAll(Data key, Collection<MultiMapRecord> records) {
+        for (MultiMapRecord record : records) {
+            add(key, record);
+        }
+    }
+
+    void remove(Data key, MultiMapRecord record) {
+        Object value = record.getObject();
+        Map<Data, MutableInteger> keys = keysByValue.get(value);
+        if (keys == null) {
+            return;
+        }
+        MutableInteger count = keys.get(key);
+        if (count == null) {
+            return;
+        }
+        if (--count.value == 0) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByValue.remove(value);
+            }
+        }
+    }
+
+    void removeAll(Data key, Collection<MultiMapRecord> records) {
+        for (MultiMapRecord record : records) {
+            remove(key, record);
+        }
+    }
+
+    boolean containsValue(Object value) {
+        return keysByValue.containsKey(value);
+    }
+
+    boolean containsEntry(Data key, Object value) {
+        Map<Data, MutableInteger> keys = keysByValue.get(value);
+        return keys != null && keys.containsKey(key);
+    }
+
+    void clear() {
+        keysByValue.clear();
+    }
+}
@@ -43,7 +43,9 @@ import com.hazelcast.spi.InitializingObject;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.util.ExceptionUtil;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -116,6 +118,37 @@ public class ObjectMultiMapProxy<K, V>
         return result.getObjectCollection(nodeEngine);
     }
 
+    @Override
+    public boolean putAll(K key, Collection<? extends V> values) {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(values, "Null values collection is not allowed!");
+
+        final NodeEngine nodeEngine = getNodeEngine();
+        Data dataKey = nodeEngine.toData(key);
+        List<Data> dataValues = new ArrayList<Data>(values.size());
+        for (V value : values) {
+            checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+            dataValues.add(nodeEngine.toData(value));
+        }
+        return putAllInternal(dataKey, dataValues);
+    }
+
+    @Override
+    public Map<K, Collection<V>> getAll(Set<K> keys) {
+        checkNotNull(keys, "Null keys set is not allowed!");
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final NodeEngine nodeEngine = getNodeEngine();
+        List<Data> dataKeys = new ArrayList<Data>(keys.size());
+        for (K key : keys) {
+            checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+            dataKeys.add(nodeEngine.toData(key));
+        }
+        return getAllInternal(dataKeys);
+    }
+
     @Override
     public boolean remove(Object key, Object value) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.multimap.impl.operations;
 
+import com.hazelcast.config.MultiMapConfig;
 import com.hazelcast.multimap.impl.MultiMapDataSerializerHook;
 import com.hazelcast.multimap.impl.MultiMapRecord;
 import com.hazelcast.nio.ObjectDataInput;
@@ -33,6 +34,8 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.multimap.impl.ValueCollectionFactory.createCollection;
+
 public class EntrySetResponse implements IdentifiedDataSerializable {
 
     private Map<Data, Collection<Data>> map;
@@ -77,6 +80,22 @@ public class EntrySetResponse implements IdentifiedDataSerializable {
         return entrySet;
     }
 
+    public <K, V> Map<K, Collection<V>> getObjectCollections(NodeEngine nodeEngine,
+                                                             MultiMapConfig.ValueCollectionType collectionType) {
+        Map<K, Collection<V>> collections = new HashMap<K, Collection<V>>(map.size());
+        for (Map.Entry<Data, Collection<Data>> entry : map.entrySet()) {
+            Collection<Data> coll = entry.getValue();
+            Collection<V> values = createCollection(collectionType, coll.size());
+            for (Data data : coll) {
+                V val = nodeEngine.toObject(data);
+                values.add(val);
+            }
+            K key = nodeEngine.toObject(entry.getKey());
+            collections.put(key, values);
+        }
+        return collections;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeInt(map.size());
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.multimap.impl.operations;
+
+import com.hazelcast.multimap.impl.MultiMapContainer;
+import com.hazelcast.multimap.impl.MultiMapDataSerializerHook;
+import com.hazelcast.multimap.impl.MultiMapRecord;
+import com.hazelcast.multimap.impl.MultiMapValue;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Returns the value collections of multiple keys of a partition with a single operation.
+ * <p>
+ * Unlike {@link GetAllOperation} it does not wait for transactional locks of the keys, the committed values
+ * are returned instead.
+ */
+public class GetAllForKeysOperation extends MultiMapOperation implements ReadonlyOperation {
+
+    private List<Data> keys;
+
+    public GetAllForKeysOperation() {
+    }
+
+    public GetAllForKeysOperation(String name, List<Data> keys) {
+        super(name);
+        this.keys = keys;
+    }
+
+    @Override
+    public void run() throws Exception {
+        MultiMapContainer container = getOrCreateContainer();
+        Map<Data, Collection<MultiMapRecord>> collections = new HashMap<Data, Collection<MultiMapRecord>>(keys.size());
+        for (Data key : keys) {
+            MultiMapValue multiMapValue = container.getMultiMapValueOrNull(key);
+            if (multiMapValue != null) {
+                multiMapValue.incrementHit();
+                collections.put(key, multiMapValue.getCollection(false));
+            }
+        }
+        response = new EntrySetResponse(collections, getNodeEngine());
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(keys.size());
+        for (Data key : keys) {
+            out.writeData(key);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        keys = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(in.readData());
+        }
+    }
+
+    @Override
+    public int getId() {
+        return MultiMapDataSerializerHook.GET_ALL_FOR_KEYS;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.multimap.impl.operations;
+
+import com.hazelcast.multimap.impl.MultiMapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionAwareOperationFactory;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fetches the value collections of the keys of all partitions of a member via locally invoked
+ * {@link GetAllForKeysOperation}s.
+ * <p/>
+ * Used to reduce the number of remote invocations of a {@link com.hazelcast.core.MultiMap#getAll(java.util.Set)} call.
+ */
+public class GetAllPartitionAwareOperationFactory extends PartitionAwareOperationFactory {
+
+    private String name;
+    private List<Data>[] keys;
+
+    public GetAllPartitionAwareOperationFactory() {
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public GetAllPartitionAwareOperationFactory(String name, int[] partitions, List<Data>[] keys) {
+        this.name = name;
+        this.partitions = partitions;
+        this.keys = keys;
+    }
+
+    @Override
+    public Operation createPartitionOperation(int partitionId) {
+        for (int i = 0; i < partitions.length; i++) {
+            if (partitions[i] == partitionId) {
+                return new GetAllForKeysOperation(name, keys[i]);
+            }
+        }
+        throw new IllegalArgumentException("Unknown partitionId " + partitionId + " (" + Arrays.toString(partitions) + ")");
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeIntArray(partitions);
+        for (List<Data> partitionKeys : keys) {
+            out.writeInt(partitionKeys.size());
+            for (Data key : partitionKeys) {
+                out.writeData(key);
+            }
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        partitions = in.readIntArray();
+        keys = new List[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            int size = in.readInt();
+            List<Data> partitionKeys = new ArrayList<Data>(size);
+            for (int j = 0; j < size; j++) {
+                partitionKeys.add(in.readData());
+            }
+            keys[i] = partitionKeys;
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MultiMapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MultiMapDataSerializerHook.GET_ALL_PARTITION_AWARE_FACTORY;
+    }
+}
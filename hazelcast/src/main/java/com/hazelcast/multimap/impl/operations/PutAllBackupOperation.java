@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.multimap.impl.operations;
+
+import com.hazelcast.multimap.impl.MultiMapContainer;
+import com.hazelcast.multimap.impl.MultiMapDataSerializerHook;
+import com.hazelcast.multimap.impl.MultiMapRecord;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.BackupOperation;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class PutAllBackupOperation extends MultiMapKeyBasedOperation implements BackupOperation {
+
+    private List<Data> values;
+    private long[] recordIds;
+
+    public PutAllBackupOperation() {
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public PutAllBackupOperation(String name, Data dataKey, List<Data> values, long[] recordIds) {
+        super(name, dataKey);
+        this.values = values;
+        this.recordIds = recordIds;
+    }
+
+    @Override
+    public void run() throws Exception {
+        MultiMapContainer container = getOrCreateContainer();
+        Collection<MultiMapRecord> coll = container.getOrCreateMultiMapValue(dataKey).getCollection(false);
+        for (int i = 0; i < recordIds.length; i++) {
+            Data value = values.get(i);
+            MultiMapRecord record = new MultiMapRecord(recordIds[i], isBinary() ? value : toObject(value));
+            if (coll.add(record)) {
+                container.addToValueIndex(dataKey, record);
+            }
+        }
+        response = true;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLongArray(recordIds);
+        for (Data value : values) {
+            out.writeData(value);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        recordIds = in.readLongArray();
+        values = new ArrayList<Data>(recordIds.length);
+        for (int i = 0; i < recordIds.length; i++) {
+            values.add(in.readData());
+        }
+    }
+
+    @Override
+    public int getId() {
+        return MultiMapDataSerializerHook.PUT_ALL_BACKUP;
+    }
+}
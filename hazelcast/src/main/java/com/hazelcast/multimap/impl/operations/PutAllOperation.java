@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.multimap.impl.operations;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.multimap.impl.MultiMapContainer;
+import com.hazelcast.multimap.impl.MultiMapDataSerializerHook;
+import com.hazelcast.multimap.impl.MultiMapRecord;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adds multiple values to the value collection of a key with a single operation.
+ */
+public class PutAllOperation extends MultiMapBackupAwareOperation {
+
+    private List<Data> values;
+    private transient List<Data> addedValues;
+    private transient long[] recordIds;
+
+    public PutAllOperation() {
+    }
+
+    public PutAllOperation(String name, Data dataKey, long threadId, List<Data> values) {
+        super(name, dataKey, threadId);
+        this.values = values;
+    }
+
+    @Override
+    public void run() throws Exception {
+        MultiMapContainer container = getOrCreateContainer();
+        Collection<MultiMapRecord> coll = container.getOrCreateMultiMapValue(dataKey).getCollection(false);
+        addedValues = new ArrayList<Data>(values.size());
+        recordIds = new long[values.size()];
+        for (Data value : values) {
+            MultiMapRecord record = new MultiMapRecord(container.nextId(), isBinary() ? value : toObject(value));
+            if (coll.add(record)) {
+                container.addToValueIndex(dataKey, record);
+                recordIds[addedValues.size()] = record.getRecordId();
+                addedValues.add(value);
+            }
+        }
+        if (coll.isEmpty()) {
+            delete();
+        }
+        response = !addedValues.isEmpty();
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        for (Data value : addedValues) {
+            publishEvent(EntryEventType.ADDED, dataKey, value, null);
+        }
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new PutAllBackupOperation(name, dataKey, addedValues, Arrays.copyOf(recordIds, addedValues.size()));
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return Boolean.TRUE.equals(response);
+    }
+
+    @Override
+    public void onWaitExpire() {
+        sendResponse(false);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(values.size());
+        for (Data value : values) {
+            out.writeData(value);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        values = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readData());
+        }
+    }
+
+    @Override
+    public int getId() {
+        return MultiMapDataSerializerHook.PUT_ALL;
+    }
+}
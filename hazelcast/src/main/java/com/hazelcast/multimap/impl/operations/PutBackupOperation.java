@@ -16,6 +16,7 @@
 
 package com.hazelcast.multimap.impl.operations;
 
+import com.hazelcast.multimap.impl.MultiMapContainer;
 import com.hazelcast.multimap.impl.MultiMapDataSerializerHook;
 import com.hazelcast.multimap.impl.MultiMapRecord;
 import com.hazelcast.nio.ObjectDataInput;
@@ -47,8 +48,9 @@ public class PutBackupOperation extends MultiMapKeyBasedOperation implements Bac
 
     @Override
     public void run() throws Exception {
+        MultiMapContainer container = getOrCreateContainer();
         MultiMapRecord record = new MultiMapRecord(recordId, isBinary() ? value : toObject(value));
-        Collection<MultiMapRecord> coll = getOrCreateMultiMapValue().getCollection(false);
+        Collection<MultiMapRecord> coll = container.getOrCreateMultiMapValue(dataKey).getCollection(false);
         if (index == -1) {
             response = coll.add(record);
         } else {
@@ -59,6 +61,9 @@ public class PutBackupOperation extends MultiMapKeyBasedOperation implements Bac
                 response = e;
             }
         }
+        if (Boolean.TRUE.equals(response)) {
+            container.addToValueIndex(dataKey, record);
+        }
     }
 
     @Override
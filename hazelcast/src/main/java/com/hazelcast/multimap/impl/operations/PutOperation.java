@@ -60,6 +60,9 @@ public class PutOperation extends MultiMapBackupAwareOperation {
                 response = e;
             }
         }
+        if (Boolean.TRUE.equals(response)) {
+            container.addToValueIndex(dataKey, record);
+        }
     }
 
     @Override
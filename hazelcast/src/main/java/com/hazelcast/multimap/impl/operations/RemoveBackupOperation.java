@@ -50,8 +50,10 @@ public class RemoveBackupOperation extends MultiMapKeyBasedOperation implements
         Collection<MultiMapRecord> coll = multiMapValue.getCollection(false);
         Iterator<MultiMapRecord> iter = coll.iterator();
         while (iter.hasNext()) {
-            if (iter.next().getRecordId() == recordId) {
+            MultiMapRecord record = iter.next();
+            if (record.getRecordId() == recordId) {
                 iter.remove();
+                getOrCreateContainer().removeFromValueIndex(dataKey, record);
                 response = true;
                 if (coll.isEmpty()) {
                     delete();
@@ -56,6 +56,7 @@ public class RemoveOperation extends MultiMapBackupAwareOperation {
             MultiMapRecord r = iter.next();
             if (r.equals(record)) {
                 iter.remove();
+                getOrCreateContainer().removeFromValueIndex(dataKey, r);
                 recordId = r.getRecordId();
                 response = true;
                 if (coll.isEmpty()) {
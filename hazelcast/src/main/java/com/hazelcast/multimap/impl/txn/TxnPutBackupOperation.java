@@ -54,6 +54,7 @@ public class TxnPutBackupOperation extends MultiMapKeyBasedOperation {
         Collection<MultiMapRecord> coll = multiMapValue.getCollection(false);
         MultiMapRecord record = new MultiMapRecord(recordId, isBinary() ? value : toObject(value));
         coll.add(record);
+        container.addToValueIndex(dataKey, record);
     }
 
     @Override
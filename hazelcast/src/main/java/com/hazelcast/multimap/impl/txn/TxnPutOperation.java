@@ -60,6 +60,7 @@ public class TxnPutOperation extends MultiMapKeyBasedOperation implements Backup
         Collection<MultiMapRecord> coll = multiMapValue.getCollection(false);
         MultiMapRecord record = new MultiMapRecord(recordId, isBinary() ? value : toObject(value));
         coll.add(record);
+        container.addToValueIndex(dataKey, record);
     }
 
     @Override
@@ -60,6 +60,7 @@ public class TxnRemoveAllBackupOperation extends MultiMapKeyBasedOperation {
                 MultiMapRecord record = iter.next();
                 if (record.getRecordId() == recordId) {
                     iter.remove();
+                    container.removeFromValueIndex(dataKey, record);
                     break;
                 }
             }
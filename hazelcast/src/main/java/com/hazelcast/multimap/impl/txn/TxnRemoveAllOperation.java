@@ -72,6 +72,7 @@ public class TxnRemoveAllOperation extends MultiMapKeyBasedOperation implements
                 MultiMapRecord record = iter.next();
                 if (record.getRecordId() == recordId) {
                     iter.remove();
+                    container.removeFromValueIndex(dataKey, record);
                     removed.add(record);
                     break;
                 }
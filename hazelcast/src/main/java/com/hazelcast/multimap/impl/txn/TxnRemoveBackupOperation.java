@@ -55,8 +55,10 @@ public class TxnRemoveBackupOperation extends MultiMapKeyBasedOperation {
         Collection<MultiMapRecord> coll = multiMapValue.getCollection(false);
         Iterator<MultiMapRecord> iter = coll.iterator();
         while (iter.hasNext()) {
-            if (iter.next().getRecordId() == recordId) {
+            MultiMapRecord record = iter.next();
+            if (record.getRecordId() == recordId) {
                 iter.remove();
+                container.removeFromValueIndex(dataKey, record);
                 break;
             }
         }
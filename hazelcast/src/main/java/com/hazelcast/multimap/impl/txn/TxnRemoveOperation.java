@@ -61,8 +61,10 @@ public class TxnRemoveOperation extends MultiMapKeyBasedOperation implements Bac
         Collection<MultiMapRecord> coll = multiMapValue.getCollection(false);
         Iterator<MultiMapRecord> iter = coll.iterator();
         while (iter.hasNext()) {
-            if (iter.next().getRecordId() == recordId) {
+            MultiMapRecord record = iter.next();
+            if (record.getRecordId() == recordId) {
                 iter.remove();
+                container.removeFromValueIndex(dataKey, record);
                 break;
             }
         }
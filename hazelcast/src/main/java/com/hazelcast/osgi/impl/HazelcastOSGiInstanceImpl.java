@@ -43,10 +43,12 @@ import com.hazelcast.core.MultiMap;
 import com.hazelcast.core.PartitionService;
 import com.hazelcast.core.ReplicatedMap;
 import com.hazelcast.durableexecutor.DurableExecutorService;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.mapreduce.JobTracker;
 import com.hazelcast.osgi.HazelcastOSGiInstance;
 import com.hazelcast.osgi.HazelcastOSGiService;
+import com.hazelcast.pncounter.PNCounter;
 import com.hazelcast.quorum.QuorumService;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.scheduledexecutor.IScheduledExecutorService;
@@ -186,6 +188,16 @@ class HazelcastOSGiInstanceImpl
         return delegatedInstance.getIdGenerator(name);
     }
 
+    @Override
+    public FlakeIdGenerator getFlakeIdGenerator(String name) {
+        return delegatedInstance.getFlakeIdGenerator(name);
+    }
+
+    @Override
+    public PNCounter getPNCounter(String name) {
+        return delegatedInstance.getPNCounter(name);
+    }
+
     @Override
     public IAtomicLong getAtomicLong(String name) {
         return delegatedInstance.getAtomicLong(name);
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter;
+
+import com.hazelcast.core.HazelcastException;
+
+/**
+ * Thrown when the session guarantees of a {@link PNCounter} proxy cannot be kept, because none of the reachable
+ * members has received all updates the proxy has observed. This happens when the member a client proxy was using
+ * leaves the cluster before it sent its latest state to the other members. Call {@link PNCounter#reset()} to
+ * continue with the state of the remaining members.
+ */
+public class ConsistencyLostException extends HazelcastException {
+
+    public ConsistencyLostException(String message) {
+        super(message);
+    }
+}
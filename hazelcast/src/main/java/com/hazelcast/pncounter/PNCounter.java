@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter;
+
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.spi.annotation.Beta;
+
+/**
+ * A conflict-free replicated counter which can be incremented and decremented, also known as a PN counter.
+ * <p>
+ * Unlike {@link com.hazelcast.core.IAtomicLong}, which sends every update to the single partition owning the
+ * counter, every member accumulates the updates made through it in local, striped cells without any remote call
+ * and without touching a partition thread. The members periodically send the state of their counters to each other
+ * (see {@link com.hazelcast.spi.properties.GroupProperty#PN_COUNTER_REPLICATION_PERIOD_MILLIS}) and merge the
+ * received state, so all members converge to the same value once the updates stop.
+ * <p>
+ * The counter is therefore eventually consistent: {@link #get()} returns the sum of the local updates and of the
+ * updates the member has received from the other members so far. The updates of a member are never counted twice,
+ * the merge is idempotent and can be repeated any number of times. A member sends its state once more when it is
+ * shut down, the updates it made since it last sent its state are lost if it crashes.
+ * <p>
+ * The value returned by the {@code xxxAndGet} and {@code getAndXxx} methods is the value observed right after
+ * applying the update and may include concurrent updates of other threads or members.
+ * <p>
+ * A proxy guarantees read-your-writes for its own updates: a member proxy applies all updates to the member it
+ * belongs to. A client proxy sends all invocations to the same member and remembers the state it has observed. If
+ * that member leaves, the client continues on another member which has received the observed state, if there is
+ * none the invocation fails with a {@link ConsistencyLostException} and the client has to {@link #reset()} the
+ * proxy to continue.
+ *
+ * @since 3.10
+ */
+@Beta
+public interface PNCounter extends DistributedObject {
+
+    /**
+     * Returns the current value of the counter.
+     *
+     * @return the current value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long get();
+
+    /**
+     * Adds the given value to the current value.
+     *
+     * @param delta the value to add, may be negative
+     * @return the previous value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long getAndAdd(long delta);
+
+    /**
+     * Adds the given value to the current value.
+     *
+     * @param delta the value to add, may be negative
+     * @return the updated value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long addAndGet(long delta);
+
+    /**
+     * Subtracts the given value from the current value.
+     *
+     * @param delta the value to subtract, may be negative
+     * @return the previous value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long getAndSubtract(long delta);
+
+    /**
+     * Subtracts the given value from the current value.
+     *
+     * @param delta the value to subtract, may be negative
+     * @return the updated value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long subtractAndGet(long delta);
+
+    /**
+     * Increments the current value by one.
+     *
+     * @return the previous value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long getAndIncrement();
+
+    /**
+     * Increments the current value by one.
+     *
+     * @return the updated value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long incrementAndGet();
+
+    /**
+     * Decrements the current value by one.
+     *
+     * @return the previous value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long getAndDecrement();
+
+    /**
+     * Decrements the current value by one.
+     *
+     * @return the updated value
+     * @throws ConsistencyLostException if the session guarantees of a client proxy cannot be kept
+     */
+    long decrementAndGet();
+
+    /**
+     * Resets the session state of this proxy. A client proxy forgets the state it has observed and the member it
+     * was sending its invocations to, afterwards it may observe a value which does not contain all of its previous
+     * updates. This is needed to continue after a {@link ConsistencyLostException}. It has no effect on a member
+     * proxy and it does not change the value of the counter.
+     */
+    void reset();
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter.impl;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Applies an update of a client session to the local replica of the member it is executed on. Clients cannot hold
+ * a replica themselves, they submit it to the member they are using.
+ */
+public class PNCounterCallable implements Callable<PNCounterResult>, IdentifiedDataSerializable, HazelcastInstanceAware {
+
+    private String name;
+    private long delta;
+    private Map<String, Long> observedClock;
+    private transient HazelcastInstance instance;
+
+    public PNCounterCallable() {
+    }
+
+    /**
+     * @param name          the name of the PN counter
+     * @param delta         the value to add, {@code 0} to only read the value
+     * @param observedClock the logical timestamps of the replicas the session has observed
+     */
+    public PNCounterCallable(String name, long delta, Map<String, Long> observedClock) {
+        this.name = name;
+        this.delta = delta;
+        this.observedClock = observedClock;
+    }
+
+    @Override
+    public PNCounterResult call() throws Exception {
+        PNCounterProxy proxy = instance.getDistributedObject(PNCounterService.SERVICE_NAME, name);
+        return proxy.invoke(delta, observedClock);
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance instance) {
+        this.instance = instance;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PNCounterDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return PNCounterDataSerializerHook.CALLABLE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeLong(delta);
+        writeClock(out, observedClock);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        delta = in.readLong();
+        observedClock = readClock(in);
+    }
+
+    static void writeClock(ObjectDataOutput out, Map<String, Long> clock) throws IOException {
+        out.writeInt(clock.size());
+        for (Map.Entry<String, Long> entry : clock.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    static Map<String, Long> readClock(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        Map<String, Long> clock = new HashMap<String, Long>(size);
+        for (int i = 0; i < size; i++) {
+            clock.put(in.readUTF(), in.readLong());
+        }
+        return clock;
+    }
+}
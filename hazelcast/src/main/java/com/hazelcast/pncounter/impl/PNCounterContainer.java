@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter.impl;
+
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+
+/**
+ * The state of a single PN counter on a member.
+ * <p>
+ * The updates made on this member are accumulated in striped cells, a thread adds to the cell of its stripe only,
+ * so concurrent updates rarely contend. Every stripe has a cell for the increments and a cell for the decrements,
+ * both only grow. The sums of the cells are the increments and decrements of the local replica.
+ * <p>
+ * The increments and decrements of the other members (replicas) are merged from their replicated state by taking
+ * the maximum, which makes the merge idempotent, commutative and associative. The sum of the increments and
+ * decrements of a replica grows with every update, it is used as the logical timestamp of the replica for the
+ * read-your-writes checks.
+ * <p>
+ * When a member leaves the cluster, the master adopts its replica: the increments and decrements of the departed
+ * replica are added to the local replica of the master, and the other members drop the departed replica once they
+ * learn about the adoption. This way the state of departed members doesn't pile up.
+ */
+class PNCounterContainer {
+
+    /**
+     * The cells of a stripe occupy a 64 byte cache line, to prevent false sharing between the stripes.
+     */
+    private static final int STRIPE_LENGTH = 8;
+    private static final int DECREMENTS_OFFSET = 1;
+
+    private final String localReplicaId;
+    private final int stripeMask;
+    private final AtomicLongArray cells;
+    private final ConcurrentMap<String, ReplicaState> remoteStates = new ConcurrentHashMap<String, ReplicaState>();
+    // the state of the departed replicas adopted by this member, guarded by this container like all merges
+    private final Map<String, long[]> adoptedStates = new HashMap<String, long[]>();
+    // the logical timestamp of the local replica when it was last replicated, used by the replication task only
+    private long replicatedTimestamp;
+
+    /**
+     * @param localReplicaId the ID of the replica on this member
+     * @param stripeCount    the number of stripes, must be a power of two
+     */
+    PNCounterContainer(String localReplicaId, int stripeCount) {
+        this.localReplicaId = localReplicaId;
+        this.stripeMask = stripeCount - 1;
+        this.cells = new AtomicLongArray(stripeCount * STRIPE_LENGTH);
+    }
+
+    /**
+     * Adds the delta to the local replica.
+     *
+     * @param delta the value to add, negative values are added to the decrements
+     * @return the value of the counter after the update
+     */
+    long add(long delta) {
+        if (delta != 0) {
+            int stripeOffset = (int) (Thread.currentThread().getId() & stripeMask) * STRIPE_LENGTH;
+            if (delta > 0) {
+                cells.getAndAdd(stripeOffset, delta);
+            } else {
+                cells.getAndAdd(stripeOffset + DECREMENTS_OFFSET, -delta);
+            }
+        }
+        return get();
+    }
+
+    long get() {
+        long value = localIncrements() - localDecrements();
+        for (ReplicaState state : remoteStates.values()) {
+            value += state.increments.get() - state.decrements.get();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the increments and decrements of all known replicas, including the local one.
+     */
+    Map<String, long[]> getState() {
+        Map<String, long[]> state = new HashMap<String, long[]>(remoteStates.size() + 1);
+        state.put(localReplicaId, new long[]{localIncrements(), localDecrements()});
+        for (Map.Entry<String, ReplicaState> entry : remoteStates.entrySet()) {
+            ReplicaState replicaState = entry.getValue();
+            state.put(entry.getKey(), new long[]{replicaState.increments.get(), replicaState.decrements.get()});
+        }
+        return state;
+    }
+
+    /**
+     * Returns the increments and decrements of the local replica.
+     */
+    long[] getLocalState() {
+        return new long[]{localIncrements(), localDecrements()};
+    }
+
+    /**
+     * Returns the increments and decrements of the local replica if they changed since the last call.
+     * Called by the replication task only.
+     *
+     * @param force {@code true} to return the state even if it didn't change
+     * @return the state of the local replica, {@code null} if it didn't change
+     */
+    long[] getLocalStateToReplicate(boolean force) {
+        long[] state = getLocalState();
+        long timestamp = state[0] + state[1];
+        if (timestamp == replicatedTimestamp && !force) {
+            return null;
+        }
+        replicatedTimestamp = timestamp;
+        return state;
+    }
+
+    /**
+     * Merges the state replicated by another member. The state of the local replica is always the latest one
+     * and is not merged. The updates of an adopted replica which arrive late are added to the local replica.
+     */
+    synchronized void merge(Map<String, long[]> state) {
+        for (Map.Entry<String, long[]> entry : state.entrySet()) {
+            String replicaId = entry.getKey();
+            if (localReplicaId.equals(replicaId)) {
+                continue;
+            }
+            long[] counts = entry.getValue();
+            if (mergeAdopted(replicaId, counts)) {
+                continue;
+            }
+            ReplicaState replicaState = getOrPutIfAbsent(remoteStates, replicaId, ReplicaState.CONSTRUCTOR);
+            setMax(replicaState.increments, counts[0]);
+            setMax(replicaState.decrements, counts[1]);
+        }
+    }
+
+    private boolean mergeAdopted(String replicaId, long[] counts) {
+        long[] adopted = adoptedStates.get(replicaId);
+        if (adopted == null) {
+            return false;
+        }
+        for (int i = 0; i < adopted.length; i++) {
+            if (counts[i] > adopted[i]) {
+                cells.getAndAdd(i == 0 ? 0 : DECREMENTS_OFFSET, counts[i] - adopted[i]);
+                adopted[i] = counts[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the state of a departed replica to the local replica and drops the departed replica.
+     */
+    synchronized void adopt(String replicaId) {
+        if (adoptedStates.containsKey(replicaId)) {
+            return;
+        }
+        ReplicaState replicaState = remoteStates.remove(replicaId);
+        long[] adopted = new long[2];
+        if (replicaState != null) {
+            adopted[0] = replicaState.increments.get();
+            adopted[1] = replicaState.decrements.get();
+            cells.getAndAdd(0, adopted[0]);
+            cells.getAndAdd(DECREMENTS_OFFSET, adopted[1]);
+        }
+        adoptedStates.put(replicaId, adopted);
+    }
+
+    synchronized boolean hasAdopted(String replicaId) {
+        return adoptedStates.containsKey(replicaId);
+    }
+
+    /**
+     * Drops a departed replica which has been adopted by another member.
+     */
+    synchronized void retire(String replicaId) {
+        remoteStates.remove(replicaId);
+    }
+
+    /**
+     * Forgets the state of an adopted replica, once no late updates of it are expected anymore.
+     */
+    synchronized void forgetAdopted(String replicaId) {
+        adoptedStates.remove(replicaId);
+    }
+
+    /**
+     * Checks if the given replica is the local one or its state has been received from another member.
+     */
+    boolean isKnownReplica(String replicaId) {
+        return localReplicaId.equals(replicaId) || remoteStates.containsKey(replicaId);
+    }
+
+    /**
+     * Returns the logical timestamps of all known replicas.
+     */
+    Map<String, Long> getClock() {
+        Map<String, Long> clock = new HashMap<String, Long>(remoteStates.size() + 1);
+        clock.put(localReplicaId, localIncrements() + localDecrements());
+        for (Map.Entry<String, ReplicaState> entry : remoteStates.entrySet()) {
+            clock.put(entry.getKey(), entry.getValue().timestamp());
+        }
+        return clock;
+    }
+
+    /**
+     * Checks if this member has received all updates of the given clock.
+     *
+     * @param observedClock the logical timestamps observed by a session
+     * @return {@code true} if every replica in the clock is at least at the observed timestamp on this member
+     */
+    boolean hasObserved(Map<String, Long> observedClock) {
+        for (Map.Entry<String, Long> entry : observedClock.entrySet()) {
+            long timestamp;
+            if (localReplicaId.equals(entry.getKey())) {
+                timestamp = localIncrements() + localDecrements();
+            } else {
+                ReplicaState replicaState = remoteStates.get(entry.getKey());
+                timestamp = replicaState == null ? 0 : replicaState.timestamp();
+            }
+            if (timestamp < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long localIncrements() {
+        return sumCells(0);
+    }
+
+    private long localDecrements() {
+        return sumCells(DECREMENTS_OFFSET);
+    }
+
+    private long sumCells(int offset) {
+        long sum = 0;
+        for (int i = offset; i < cells.length(); i += STRIPE_LENGTH) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    private static void setMax(AtomicLong counter, long value) {
+        for (;;) {
+            long current = counter.get();
+            if (current >= value || counter.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The increments and decrements of a remote replica, as last received from it.
+     */
+    private static final class ReplicaState {
+
+        static final ConstructorFunction<String, ReplicaState> CONSTRUCTOR
+                = new ConstructorFunction<String, ReplicaState>() {
+            @Override
+            public ReplicaState createNew(String replicaId) {
+                return new ReplicaState();
+            }
+        };
+
+        final AtomicLong increments = new AtomicLong();
+        final AtomicLong decrements = new AtomicLong();
+
+        long timestamp() {
+            return increments.get() + decrements.get();
+        }
+    }
+}
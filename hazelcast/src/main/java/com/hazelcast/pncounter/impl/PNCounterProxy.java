@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter.impl;
+
+import com.hazelcast.pncounter.ConsistencyLostException;
+import com.hazelcast.pncounter.PNCounter;
+import com.hazelcast.spi.AbstractDistributedObject;
+import com.hazelcast.spi.NodeEngine;
+
+import java.util.Map;
+
+/**
+ * Member side proxy of the {@link PNCounter}. All updates are applied to the local replica of the member without
+ * any remote call, so the proxy always reads its own writes.
+ */
+public class PNCounterProxy extends AbstractDistributedObject<PNCounterService> implements PNCounter {
+
+    private final String name;
+
+    PNCounterProxy(String name, NodeEngine nodeEngine, PNCounterService service) {
+        super(nodeEngine, service);
+        this.name = name;
+    }
+
+    @Override
+    public long get() {
+        return getService().getContainer(name).get();
+    }
+
+    @Override
+    public long getAndAdd(long delta) {
+        return add(delta) - delta;
+    }
+
+    @Override
+    public long addAndGet(long delta) {
+        return add(delta);
+    }
+
+    @Override
+    public long getAndSubtract(long delta) {
+        return add(-delta) + delta;
+    }
+
+    @Override
+    public long subtractAndGet(long delta) {
+        return add(-delta);
+    }
+
+    @Override
+    public long getAndIncrement() {
+        return add(1) - 1;
+    }
+
+    @Override
+    public long incrementAndGet() {
+        return add(1);
+    }
+
+    @Override
+    public long getAndDecrement() {
+        return add(-1) + 1;
+    }
+
+    @Override
+    public long decrementAndGet() {
+        return add(-1);
+    }
+
+    @Override
+    public void reset() {
+        // a member proxy has no session state, its updates are always applied to the local replica
+    }
+
+    private long add(long delta) {
+        return getService().getContainer(name).add(delta);
+    }
+
+    /**
+     * Applies an update of a client session to the local replica.
+     *
+     * @param delta         the value to add, {@code 0} to only read the value
+     * @param observedClock the logical timestamps of the replicas the session has observed
+     * @return the value after the update and the logical timestamps of the replicas known to this member
+     * @throws ConsistencyLostException if this member has not received all updates observed by the session
+     */
+    public PNCounterResult invoke(long delta, Map<String, Long> observedClock) {
+        PNCounterService service = getService();
+        PNCounterContainer container = service.getContainer(name);
+        if (!service.hasObserved(container, observedClock)) {
+            throw new ConsistencyLostException("Member " + getNodeEngine().getThisAddress()
+                    + " has not received all updates of the PN counter " + name + " observed by the session");
+        }
+        long value = container.add(delta);
+        return new PNCounterResult(value, container.getClock());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return PNCounterService.SERVICE_NAME;
+    }
+
+    @Override
+    public String toString() {
+        return "PNCounter{name='" + name + "'}";
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Carries the state of the local replicas of the PN counters of a member to another member, which merges it into
+ * its own state, together with the departed replicas adopted by the master. It is sent without waiting for a
+ * response and runs on a generic operation thread. A lost replication is repaired by the next complete one.
+ */
+public class PNCounterReplicationOperation extends Operation implements IdentifiedDataSerializable {
+
+    private Map<String, Map<String, long[]>> states;
+    private Collection<String> departedReplicas;
+
+    public PNCounterReplicationOperation() {
+    }
+
+    public PNCounterReplicationOperation(Map<String, Map<String, long[]>> states, Collection<String> departedReplicas) {
+        this.states = states;
+        this.departedReplicas = departedReplicas;
+    }
+
+    @Override
+    public void run() throws Exception {
+        PNCounterService service = getService();
+        service.merge(states, departedReplicas);
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public String getServiceName() {
+        return PNCounterService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PNCounterDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return PNCounterDataSerializerHook.REPLICATION_OPERATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(states.size());
+        for (Map.Entry<String, Map<String, long[]>> entry : states.entrySet()) {
+            out.writeUTF(entry.getKey());
+            Map<String, long[]> state = entry.getValue();
+            out.writeInt(state.size());
+            for (Map.Entry<String, long[]> replicaEntry : state.entrySet()) {
+                out.writeUTF(replicaEntry.getKey());
+                out.writeLong(replicaEntry.getValue()[0]);
+                out.writeLong(replicaEntry.getValue()[1]);
+            }
+        }
+        out.writeInt(departedReplicas.size());
+        for (String replicaId : departedReplicas) {
+            out.writeUTF(replicaId);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        states = new HashMap<String, Map<String, long[]>>(size);
+        for (int i = 0; i < size; i++) {
+            String name = in.readUTF();
+            int replicaCount = in.readInt();
+            Map<String, long[]> state = new HashMap<String, long[]>(replicaCount);
+            for (int k = 0; k < replicaCount; k++) {
+                state.put(in.readUTF(), new long[]{in.readLong(), in.readLong()});
+            }
+            states.put(name, state);
+        }
+        int departedCount = in.readInt();
+        departedReplicas = new ArrayList<String>(departedCount);
+        for (int i = 0; i < departedCount; i++) {
+            departedReplicas.add(in.readUTF());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The result of a {@link PNCounterCallable}: the value of the counter and the logical timestamps of the replicas
+ * the executing member knows, which the client session merges into its observed clock.
+ */
+public class PNCounterResult implements IdentifiedDataSerializable {
+
+    private long value;
+    private Map<String, Long> clock;
+
+    public PNCounterResult() {
+    }
+
+    public PNCounterResult(long value, Map<String, Long> clock) {
+        this.value = value;
+        this.clock = clock;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public Map<String, Long> getClock() {
+        return clock;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PNCounterDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return PNCounterDataSerializerHook.RESULT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(value);
+        PNCounterCallable.writeClock(out, clock);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        value = in.readLong();
+        clock = PNCounterCallable.readClock(in);
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter.impl;
+
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.core.LifecycleEvent;
+import com.hazelcast.core.LifecycleListener;
+import com.hazelcast.core.Member;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+import com.hazelcast.spi.ManagedService;
+import com.hazelcast.spi.MemberAttributeServiceEvent;
+import com.hazelcast.spi.MembershipAwareService;
+import com.hazelcast.spi.MembershipServiceEvent;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.RemoteService;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.cluster.memberselector.MemberSelectors.NON_LOCAL_MEMBER_SELECTOR;
+import static com.hazelcast.core.LifecycleEvent.LifecycleState.SHUTTING_DOWN;
+import static com.hazelcast.spi.properties.GroupProperty.PN_COUNTER_REPLICATION_PERIOD_MILLIS;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Service of the {@link com.hazelcast.pncounter.PNCounter}. It keeps the state of the counters on this member and
+ * periodically sends the changes of its local replicas to all other members, which merge them into their own state.
+ * The complete state of the local replicas is sent every {@value #FULL_REPLICATION_ROUNDS} rounds, to a member
+ * which joins the cluster and when this member shuts down, so lost replications are repaired. The counters are
+ * not partitioned, every member holds the state of all counters it has updated or received.
+ * <p>
+ * The replicas of departed members are adopted by the master, see {@link PNCounterContainer}. The departed replicas
+ * and the destroyed counters are remembered for {@value #RETENTION_ROUNDS} rounds, to ignore replicated state of
+ * them which is still in flight.
+ */
+public class PNCounterService implements ManagedService, RemoteService, MembershipAwareService {
+
+    public static final String SERVICE_NAME = "hz:impl:pnCounterService";
+
+    /**
+     * The name of the executor running the {@link PNCounterCallable}s of the clients.
+     */
+    public static final String EXECUTOR_NAME = "hz:impl:pnCounterExecutor";
+
+    static final int FULL_REPLICATION_ROUNDS = 10;
+    static final int RETENTION_ROUNDS = 30;
+
+    private final int stripeCount = nextPowerOfTwo(RuntimeAvailableProcessors.get());
+    private final ConcurrentMap<String, PNCounterContainer> containers = new ConcurrentHashMap<String, PNCounterContainer>();
+    private final ConstructorFunction<String, PNCounterContainer> containerConstructor =
+            new ConstructorFunction<String, PNCounterContainer>() {
+                @Override
+                public PNCounterContainer createNew(String name) {
+                    return new PNCounterContainer(nodeEngine.getLocalMember().getUuid(), stripeCount);
+                }
+            };
+    // the time when a departed replica was adopted by the master, by the replica ID
+    private final ConcurrentMap<String, Long> retiredReplicas = new ConcurrentHashMap<String, Long>();
+    // the time when a counter was destroyed, by the counter name
+    private final ConcurrentMap<String, Long> destroyedCounters = new ConcurrentHashMap<String, Long>();
+
+    private NodeEngine nodeEngine;
+    private ScheduledFuture<?> replicationTask;
+    private long retentionMillis;
+    private int replicationRound;
+
+    public PNCounterService(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+    }
+
+    @Override
+    public void init(NodeEngine nodeEngine, Properties properties) {
+        this.nodeEngine = nodeEngine;
+        long periodMillis = nodeEngine.getProperties().getMillis(PN_COUNTER_REPLICATION_PERIOD_MILLIS);
+        retentionMillis = RETENTION_ROUNDS * periodMillis;
+        replicationTask = nodeEngine.getExecutionService().scheduleWithRepetition(new Runnable() {
+            @Override
+            public void run() {
+                replicate(++replicationRound % FULL_REPLICATION_ROUNDS == 0);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        // the connections are already closed when the services are shut down, so the last state is sent before
+        nodeEngine.getHazelcastInstance().getLifecycleService().addLifecycleListener(new LifecycleListener() {
+            @Override
+            public void stateChanged(LifecycleEvent event) {
+                if (event.getState() == SHUTTING_DOWN) {
+                    replicate(true);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void reset() {
+        // the counters are kept, their state merges with the state of the cluster this member joins
+    }
+
+    @Override
+    public void shutdown(boolean terminate) {
+        if (replicationTask != null) {
+            replicationTask.cancel(false);
+            replicationTask = null;
+        }
+        containers.clear();
+        retiredReplicas.clear();
+        destroyedCounters.clear();
+    }
+
+    /**
+     * Returns the container of the counter, creating it if needed. Used by the proxies, a counter which is used
+     * again after it has been destroyed accepts replicated state again.
+     */
+    PNCounterContainer getContainer(String name) {
+        destroyedCounters.remove(name);
+        return getOrPutIfAbsent(containers, name, containerConstructor);
+    }
+
+    /**
+     * Checks if the local replica of the counter has received all updates of the given clock. Departed replicas
+     * are skipped, their updates have been adopted by the master.
+     *
+     * @param container     the container of the counter
+     * @param observedClock the logical timestamps observed by a session
+     * @return {@code true} if all updates have been received
+     */
+    boolean hasObserved(PNCounterContainer container, Map<String, Long> observedClock) {
+        Map<String, Long> activeClock = new HashMap<String, Long>(observedClock.size());
+        for (Map.Entry<String, Long> entry : observedClock.entrySet()) {
+            String replicaId = entry.getKey();
+            boolean departed = retiredReplicas.containsKey(replicaId) || container.hasAdopted(replicaId)
+                    || (!container.isKnownReplica(replicaId) && nodeEngine.getClusterService().getMember(replicaId) == null);
+            if (!departed) {
+                activeClock.put(replicaId, entry.getValue());
+            }
+        }
+        return container.hasObserved(activeClock);
+    }
+
+    /**
+     * Merges the state of the counters replicated by another member.
+     *
+     * @param states           the state of every counter by the counter name
+     * @param departedReplicas the departed replicas which have been adopted by the master
+     */
+    void merge(Map<String, Map<String, long[]>> states, Collection<String> departedReplicas) {
+        long now = Clock.currentTimeMillis();
+        for (String replicaId : departedReplicas) {
+            if (retiredReplicas.putIfAbsent(replicaId, now) == null) {
+                for (PNCounterContainer container : containers.values()) {
+                    container.retire(replicaId);
+                }
+            }
+        }
+        for (Map.Entry<String, Map<String, long[]>> entry : states.entrySet()) {
+            if (destroyedCounters.containsKey(entry.getKey())) {
+                continue;
+            }
+            PNCounterContainer container = getOrPutIfAbsent(containers, entry.getKey(), containerConstructor);
+            Map<String, long[]> state = entry.getValue();
+            for (String replicaId : state.keySet()) {
+                if (retiredReplicas.containsKey(replicaId) && !container.hasAdopted(replicaId)) {
+                    state = withoutRetiredReplicas(container, state);
+                    break;
+                }
+            }
+            container.merge(state);
+        }
+    }
+
+    private Map<String, long[]> withoutRetiredReplicas(PNCounterContainer container, Map<String, long[]> state) {
+        Map<String, long[]> filtered = new HashMap<String, long[]>(state);
+        for (String replicaId : state.keySet()) {
+            if (retiredReplicas.containsKey(replicaId) && !container.hasAdopted(replicaId)) {
+                filtered.remove(replicaId);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Sends the state of the local replicas to all other members.
+     *
+     * @param full {@code true} to send the state of all counters, {@code false} to send only the changed ones
+     */
+    synchronized void replicate(boolean full) {
+        expireRetention();
+        // the master sends its whole state while it has adopted replicas, which the other members drop
+        full |= !retiredReplicas.isEmpty() && nodeEngine.getClusterService().isMaster();
+        String localReplicaId = nodeEngine.getLocalMember().getUuid();
+        Map<String, Map<String, long[]>> states = new HashMap<String, Map<String, long[]>>();
+        for (Map.Entry<String, PNCounterContainer> entry : containers.entrySet()) {
+            long[] localState = entry.getValue().getLocalStateToReplicate(full);
+            if (localState != null) {
+                states.put(entry.getKey(), Collections.singletonMap(localReplicaId, localState));
+            }
+        }
+        if (states.isEmpty() && retiredReplicas.isEmpty()) {
+            return;
+        }
+        send(states, nodeEngine.getClusterService().getMembers(NON_LOCAL_MEMBER_SELECTOR));
+    }
+
+    private void send(Map<String, Map<String, long[]>> states, Collection<Member> members) {
+        Collection<String> departedReplicas = new ArrayList<String>(retiredReplicas.keySet());
+        OperationService operationService = nodeEngine.getOperationService();
+        for (Member member : members) {
+            operationService.send(new PNCounterReplicationOperation(states, departedReplicas), member.getAddress());
+        }
+    }
+
+    private void expireRetention() {
+        long expiry = Clock.currentTimeMillis() - retentionMillis;
+        for (Map.Entry<String, Long> entry : retiredReplicas.entrySet()) {
+            if (entry.getValue() < expiry && retiredReplicas.remove(entry.getKey(), entry.getValue())) {
+                for (PNCounterContainer container : containers.values()) {
+                    container.forgetAdopted(entry.getKey());
+                }
+            }
+        }
+        for (Map.Entry<String, Long> entry : destroyedCounters.entrySet()) {
+            if (entry.getValue() < expiry) {
+                destroyedCounters.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void memberAdded(MembershipServiceEvent event) {
+        String localReplicaId = nodeEngine.getLocalMember().getUuid();
+        Map<String, Map<String, long[]>> states = new HashMap<String, Map<String, long[]>>(containers.size());
+        for (Map.Entry<String, PNCounterContainer> entry : containers.entrySet()) {
+            states.put(entry.getKey(), Collections.singletonMap(localReplicaId, entry.getValue().getLocalState()));
+        }
+        if (!states.isEmpty()) {
+            send(states, Collections.<Member>singleton(event.getMember()));
+        }
+    }
+
+    /**
+     * The master adopts the replicas of a departed member. The other members drop them when the next replication
+     * of the master arrives.
+     */
+    @Override
+    public void memberRemoved(MembershipServiceEvent event) {
+        if (!nodeEngine.getClusterService().isMaster()) {
+            return;
+        }
+        String replicaId = event.getMember().getUuid();
+        retiredReplicas.put(replicaId, Clock.currentTimeMillis());
+        for (PNCounterContainer container : containers.values()) {
+            container.adopt(replicaId);
+        }
+    }
+
+    @Override
+    public void memberAttributeChanged(MemberAttributeServiceEvent event) {
+    }
+
+    @Override
+    public DistributedObject createDistributedObject(String name) {
+        return new PNCounterProxy(name, nodeEngine, this);
+    }
+
+    /**
+     * Removes the state of the counter from this member. Called on every member when the counter is destroyed.
+     * The replicated state of the counter which is still in flight is ignored for a while, so it doesn't create
+     * the counter again.
+     */
+    @Override
+    public void destroyDistributedObject(String name) {
+        destroyedCounters.put(name, Clock.currentTimeMillis());
+        containers.remove(name);
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.replicatedmap.impl;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.config.ReplicatedMapConfig;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.ReplicatedMap;
@@ -23,7 +24,10 @@ import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.util.ResultSet;
 import com.hazelcast.monitor.LocalReplicatedMapStats;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.replicatedmap.impl.client.ReplicatedMapEntries;
 import com.hazelcast.replicatedmap.impl.operation.ClearOperationFactory;
 import com.hazelcast.replicatedmap.impl.operation.PutAllOperation;
@@ -45,6 +49,7 @@ import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.IterationType;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -415,6 +420,67 @@ public class ReplicatedMapProxy<K, V> extends AbstractDistributedObject<Replicat
         return result;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<K> keySet(Predicate<K, V> predicate) {
+        checkPredicate(predicate, "keySet");
+        Set<K> keySet = new HashSet<K>();
+        for (QueryableEntry entry : service.query(name, predicate)) {
+            keySet.add((K) entry.getKey());
+        }
+        return keySet;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values(Predicate<K, V> predicate) {
+        checkPredicate(predicate, "values");
+        Collection<V> values = new ArrayList<V>();
+        for (QueryableEntry entry : service.query(name, predicate)) {
+            values.add((V) entry.getValue());
+        }
+        return values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Entry<K, V>> entrySet(Predicate<K, V> predicate) {
+        checkPredicate(predicate, "entrySet");
+        List<Entry> entries = new ArrayList<Entry>();
+        for (QueryableEntry entry : service.query(name, predicate)) {
+            entries.add(new AbstractMap.SimpleImmutableEntry(entry.getKey(), entry.getValue()));
+        }
+        Set result = new ResultSet(entries, IterationType.ENTRY);
+        return result;
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator) {
+        return aggregate(aggregator, TruePredicate.<K, V>truePredicate());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Aggregator<Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, "Aggregator cannot be null!");
+        checkPredicate(predicate, "aggregate");
+        // the aggregator is stateful, so the aggregation is done on a copy of it
+        Aggregator<Entry<K, V>, R> copy = serializationService.toObject(serializationService.toData(aggregator));
+        for (QueryableEntry entry : service.query(name, predicate)) {
+            copy.accumulate(entry);
+        }
+        copy.onAccumulationFinished();
+        copy.onCombinationFinished();
+        return copy.aggregate();
+    }
+
+    private static void checkPredicate(Predicate predicate, String method) {
+        checkNotNull(predicate, "Predicate cannot be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("PagingPredicate not supported in " + method + " method");
+        }
+    }
+
     @Override
     public int hashCode() {
         int result = super.hashCode();
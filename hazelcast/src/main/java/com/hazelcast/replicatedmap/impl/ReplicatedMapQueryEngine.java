@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.replicatedmap.impl;
+
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.query.DefaultIndexProvider;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecord;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.ConcurrencyUtil;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.spi.properties.GroupProperty.INDEX_COPY_BEHAVIOR;
+
+/**
+ * Maintains the indexes of the replicated maps and evaluates predicates against the local replicas. Since every
+ * member holds all entries of a replicated map, queries never leave the member they are issued on.
+ */
+class ReplicatedMapQueryEngine {
+
+    private final ConcurrentMap<String, Indexes> indexesMap = new ConcurrentHashMap<String, Indexes>();
+    private final ConstructorFunction<String, Indexes> indexesConstructorFunction =
+            new ConstructorFunction<String, Indexes>() {
+                @Override
+                public Indexes createNew(String name) {
+                    IndexCopyBehavior copyBehavior = nodeEngine.getProperties().getEnum(INDEX_COPY_BEHAVIOR,
+                            IndexCopyBehavior.class);
+                    Indexes indexes = new Indexes(serializationService, new DefaultIndexProvider(), Extractors.empty(),
+                            true, copyBehavior);
+                    for (MapIndexConfig indexConfig : service.getReplicatedMapConfig(name).getMapIndexConfigs()) {
+                        indexes.addOrGetIndex(indexConfig.getAttribute(), indexConfig.isOrdered());
+                    }
+                    return indexes;
+                }
+            };
+
+    private final ReplicatedMapService service;
+    private final NodeEngine nodeEngine;
+    private final InternalSerializationService serializationService;
+
+    ReplicatedMapQueryEngine(ReplicatedMapService service, NodeEngine nodeEngine) {
+        this.service = service;
+        this.nodeEngine = nodeEngine;
+        this.serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
+    }
+
+    Indexes getOrCreateIndexes(String name) {
+        if (service.getReplicatedMapConfig(name).getMapIndexConfigs().isEmpty()) {
+            return null;
+        }
+        return ConcurrencyUtil.getOrPutSynchronized(indexesMap, name, indexesMap, indexesConstructorFunction);
+    }
+
+    void destroyIndexes(String name) {
+        Indexes indexes = indexesMap.remove(name);
+        if (indexes != null) {
+            indexes.clearIndexes();
+        }
+    }
+
+    Collection<QueryableEntry> query(String name, Predicate predicate) {
+        Indexes indexes = indexesMap.get(name);
+        if (indexes != null) {
+            Set<QueryableEntry> result = indexes.query(predicate);
+            if (result != null) {
+                return result;
+            }
+        }
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        CachedQueryEntry queryEntry = new CachedQueryEntry();
+        for (ReplicatedRecordStore store : service.getAllReplicatedRecordStores(name)) {
+            Iterator<ReplicatedRecord> iterator = store.recordIterator();
+            while (iterator.hasNext()) {
+                ReplicatedRecord record = iterator.next();
+                Data key = serializationService.toData(record.getKeyInternal());
+                queryEntry.init(serializationService, key, record.getValueInternal(), Extractors.empty());
+                if (predicate.apply(queryEntry)) {
+                    result.add(queryEntry);
+                    queryEntry = new CachedQueryEntry();
+                }
+            }
+        }
+        return result;
+    }
+}
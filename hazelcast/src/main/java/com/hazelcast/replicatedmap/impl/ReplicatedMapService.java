@@ -33,6 +33,9 @@ import com.hazelcast.monitor.LocalReplicatedMapStats;
 import com.hazelcast.monitor.impl.LocalReplicatedMapStatsImpl;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
 import com.hazelcast.replicatedmap.impl.operation.CheckReplicaVersionOperation;
 import com.hazelcast.replicatedmap.impl.operation.ReplicationOperation;
@@ -67,6 +70,8 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_DELAY_MILLIS;
 
 /**
  * This is the main service implementation to handle proxy creation, event publishing, migration, anti-entropy and
@@ -89,6 +94,8 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
     private final ReplicatedMapEventPublishingService eventPublishingService;
     private final MergePolicyProvider mergePolicyProvider;
     private final ReplicatedMapSplitBrainHandlerService replicatedMapSplitBrainHandlerService;
+    private final ReplicatedMapUpdateBatcher updateBatcher;
+    private final ReplicatedMapQueryEngine queryEngine;
     private ConcurrentHashMap<String, LocalReplicatedMapStatsImpl> statsMap =
             new ConcurrentHashMap<String, LocalReplicatedMapStatsImpl>();
     private ConstructorFunction<String, LocalReplicatedMapStatsImpl> constructorFunction =
@@ -110,6 +117,9 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
         this.replicatedMapSplitBrainHandlerService = new ReplicatedMapSplitBrainHandlerService(this,
                 mergePolicyProvider);
+        this.updateBatcher = new ReplicatedMapUpdateBatcher(nodeEngine,
+                nodeEngine.getProperties().getInteger(REPLICATED_MAP_REPLICATION_BATCH_SIZE));
+        this.queryEngine = new ReplicatedMapQueryEngine(this, nodeEngine);
     }
 
     @Override
@@ -127,6 +137,15 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
                 triggerAntiEntropy();
             }
         }, 0, SYNC_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        if (updateBatcher.isEnabled()) {
+            long delayMillis = nodeEngine.getProperties().getMillis(REPLICATED_MAP_REPLICATION_DELAY_MILLIS);
+            nodeEngine.getExecutionService().getGlobalTaskScheduler().scheduleWithRepetition(new Runnable() {
+                @Override
+                public void run() {
+                    updateBatcher.flushAll();
+                }
+            }, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     /** Send an operation to all replicas to check their replica versions for all partitions for which this node is the owner */
@@ -170,6 +189,7 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
                 store.reset();
             }
         }
+        updateBatcher.reset();
     }
 
     @Override
@@ -178,6 +198,9 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
             return;
         }
 
+        if (!terminate) {
+            updateBatcher.flushAll();
+        }
         for (PartitionContainer container : partitionContainers) {
             container.shutdown();
         }
@@ -240,6 +263,7 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         for (int i = 0; i < nodeEngine.getPartitionService().getPartitionCount(); i++) {
             partitionContainers[i].destroy(objectName);
         }
+        queryEngine.destroyIndexes(objectName);
     }
 
     @Override
@@ -285,6 +309,29 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         return stores;
     }
 
+    /**
+     * Returns the indexes of the replicated map, creating them on first access, or {@code null} if no index
+     * is configured for the replicated map. The indexes are shared by the record stores of all partitions.
+     *
+     * @param name the name of the replicated map
+     * @return the indexes or {@code null} if no index is configured
+     */
+    public Indexes getOrCreateIndexes(String name) {
+        return queryEngine.getOrCreateIndexes(name);
+    }
+
+    /**
+     * Evaluates the predicate against the local replica of the replicated map. The indexes of the replicated map
+     * are used if the predicate supports them, otherwise all records are scanned.
+     *
+     * @param name      the name of the replicated map
+     * @param predicate the predicate to evaluate
+     * @return the matching entries
+     */
+    public Collection<QueryableEntry> query(String name, Predicate predicate) {
+        return queryEngine.query(name, predicate);
+    }
+
     private Collection<Address> getMemberAddresses(MemberSelector memberSelector) {
         Collection<Member> members = clusterService.getMembers(memberSelector);
         Collection<Address> addresses = new ArrayList<Address>(members.size());
@@ -329,6 +376,10 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         return eventPublishingService;
     }
 
+    public ReplicatedMapUpdateBatcher getUpdateBatcher() {
+        return updateBatcher;
+    }
+
     @Override
     public Operation prepareReplicationOperation(PartitionReplicationEvent event) {
         if (config.isLiteMember()) {
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.replicatedmap.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.replicatedmap.impl.operation.ReplicateUpdateBatchOperation;
+import com.hazelcast.replicatedmap.impl.operation.ReplicateUpdateOperation;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.replicatedmap.impl.ReplicatedMapService.INVOCATION_TRY_COUNT;
+import static com.hazelcast.replicatedmap.impl.ReplicatedMapService.SERVICE_NAME;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+
+/**
+ * Queues the {@link ReplicateUpdateOperation}s created on the partition owners per target member and sends them as
+ * {@link ReplicateUpdateBatchOperation}s, either when the queue of a member reaches the batch size or when
+ * {@link #flushAll()} is called periodically by the {@link ReplicatedMapService}.
+ * <p>
+ * All batches sent by this member are executed on the same partition thread of the target, chosen by the address of
+ * this member, and the batches for one target are sent under a lock. Together this keeps the order in which the
+ * updates of a partition are applied on the target equal to the order in which they were done on the owner, so the
+ * versions of the record stores stay comparable by the {@code CheckReplicaVersionOperation}.
+ */
+public class ReplicatedMapUpdateBatcher {
+
+    private final NodeEngine nodeEngine;
+    private final OperationService operationService;
+    private final int batchSize;
+    private final ConcurrentMap<Address, TargetQueue> queues = new ConcurrentHashMap<Address, TargetQueue>();
+
+    public ReplicatedMapUpdateBatcher(NodeEngine nodeEngine, int batchSize) {
+        this.nodeEngine = nodeEngine;
+        this.operationService = nodeEngine.getOperationService();
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return batchSize > 1;
+    }
+
+    /**
+     * Replicates the update to the given member. If batching is disabled, the update is sent immediately.
+     *
+     * @param target the member to replicate the update to
+     * @param update the update, with its partition ID set
+     */
+    public void replicate(Address target, ReplicateUpdateOperation update) {
+        if (!isEnabled()) {
+            invoke(target, update);
+            return;
+        }
+        TargetQueue queue = queues.get(target);
+        if (queue == null) {
+            TargetQueue newQueue = new TargetQueue();
+            queue = queues.putIfAbsent(target, newQueue);
+            if (queue == null) {
+                queue = newQueue;
+            }
+        }
+        queue.updates.offer(update);
+        if (queue.size.incrementAndGet() >= batchSize && queue.lock.tryLock()) {
+            try {
+                flush(target, queue);
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Sends the queued updates to all members and discards the queues of the members which left the cluster.
+     */
+    public void flushAll() {
+        for (Map.Entry<Address, TargetQueue> entry : queues.entrySet()) {
+            Address target = entry.getKey();
+            TargetQueue queue = entry.getValue();
+            if (nodeEngine.getClusterService().getMember(target) == null) {
+                queues.remove(target);
+                continue;
+            }
+            if (queue.size.get() == 0) {
+                continue;
+            }
+            queue.lock.lock();
+            try {
+                flush(target, queue);
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    public void reset() {
+        queues.clear();
+    }
+
+    private void flush(Address target, TargetQueue queue) {
+        List<ReplicateUpdateOperation> batch = new ArrayList<ReplicateUpdateOperation>(batchSize);
+        ReplicateUpdateOperation update;
+        while ((update = queue.updates.poll()) != null) {
+            queue.size.decrementAndGet();
+            batch.add(update);
+            if (batch.size() == batchSize) {
+                send(target, batch);
+                batch = new ArrayList<ReplicateUpdateOperation>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(target, batch);
+        }
+    }
+
+    private void send(Address target, List<ReplicateUpdateOperation> batch) {
+        ReplicateUpdateBatchOperation operation = new ReplicateUpdateBatchOperation(batch);
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        operation.setPartitionId(hashToIndex(nodeEngine.getThisAddress().hashCode(), partitionCount));
+        operation.setValidateTarget(false);
+        invoke(target, operation);
+    }
+
+    private void invoke(Address target, Operation operation) {
+        operationService.createInvocationBuilder(SERVICE_NAME, operation, target)
+                .setTryCount(INVOCATION_TRY_COUNT)
+                .invoke();
+    }
+
+    /**
+     * The queued updates of a single target member.
+     */
+    private static final class TargetQueue {
+        final ConcurrentLinkedQueue<ReplicateUpdateOperation> updates = new ConcurrentLinkedQueue<ReplicateUpdateOperation>();
+        final AtomicInteger size = new AtomicInteger();
+        final Lock lock = new ReentrantLock();
+    }
+}
@@ -20,6 +20,8 @@ import com.hazelcast.cluster.memberselector.MemberSelectors;
 import com.hazelcast.core.Member;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapUpdateBatcher;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 
@@ -37,10 +39,15 @@ public abstract class AbstractReplicatedMapOperation extends AbstractSerializabl
     protected transient VersionResponsePair response;
 
     protected void sendReplicationOperation(final boolean isRemove) {
-        final OperationService operationService = getNodeEngine().getOperationService();
+        ReplicatedMapService service = getService();
+        ReplicatedMapUpdateBatcher batcher = service.getUpdateBatcher();
         Collection<Address> members = getMemberAddresses();
         for (Address address : members) {
-            invoke(isRemove, operationService, address, name, key, value, ttl, response);
+            ReplicateUpdateOperation updateOperation = new ReplicateUpdateOperation(name, key, value, ttl, response,
+                    isRemove, getCallerAddress());
+            updateOperation.setPartitionId(getPartitionId());
+            updateOperation.setValidateTarget(false);
+            batcher.replicate(address, updateOperation);
         }
     }
 
@@ -58,18 +65,6 @@ public abstract class AbstractReplicatedMapOperation extends AbstractSerializabl
         return addresses;
     }
 
-    private void invoke(boolean isRemove, OperationService operationService, Address address, String name, Data key,
-                        Data value, long ttl, VersionResponsePair response) {
-        ReplicateUpdateOperation updateOperation = new ReplicateUpdateOperation(name, key, value, ttl, response,
-                isRemove, getCallerAddress());
-        updateOperation.setPartitionId(getPartitionId());
-        updateOperation.setValidateTarget(false);
-        operationService
-                .createInvocationBuilder(getServiceName(), updateOperation, address)
-                .setTryCount(INVOCATION_TRY_COUNT)
-                .invoke();
-    }
-
     protected void sendUpdateCallerOperation(boolean isRemove) {
         OperationService operationService = getNodeEngine().getOperationService();
         ReplicateUpdateToCallerOperation updateCallerOperation = new ReplicateUpdateToCallerOperation(name, getCallId(),
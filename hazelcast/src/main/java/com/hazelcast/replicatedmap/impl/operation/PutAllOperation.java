@@ -23,9 +23,9 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapEventPublishingService;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapUpdateBatcher;
 import com.hazelcast.replicatedmap.impl.client.ReplicatedMapEntries;
 import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
-import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.partition.IPartitionService;
 
 import java.io.IOException;
@@ -72,7 +72,8 @@ public class PutAllOperation extends AbstractSerializableOperation {
     }
 
     private void publishReplicationMessage(Data key, Data value, VersionResponsePair response) {
-        OperationService operationService = getNodeEngine().getOperationService();
+        ReplicatedMapService service = getService();
+        ReplicatedMapUpdateBatcher batcher = service.getUpdateBatcher();
         Collection<Member> members = getNodeEngine().getClusterService().getMembers(DATA_MEMBER_SELECTOR);
         for (Member member : members) {
             Address address = member.getAddress();
@@ -83,7 +84,7 @@ public class PutAllOperation extends AbstractSerializableOperation {
                     getCallerAddress());
             updateOperation.setPartitionId(getPartitionId());
             updateOperation.setValidateTarget(false);
-            operationService.invokeOnTarget(getServiceName(), updateOperation, address);
+            batcher.replicate(address, updateOperation);
         }
     }
 
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.replicatedmap.impl.operation;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.OperationAccessor;
+import com.hazelcast.spi.OperationService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.spi.impl.OperationResponseHandlerFactory.createEmptyResponseHandler;
+
+/**
+ * Carries a batch of {@link ReplicateUpdateOperation}s of different partitions from the partition owners on one
+ * member to another member. The batch is executed on a partition thread chosen by the sending member, so the batches
+ * of a sender are processed in the order they were sent. Each update is then handed over to the partition thread of
+ * its own partition.
+ * <p>
+ * An update which cannot be applied, e.g. because its partition is migrating, is dropped. The replica is brought
+ * up to date again by the next anti-entropy round, see {@link CheckReplicaVersionOperation}.
+ */
+public class ReplicateUpdateBatchOperation extends AbstractSerializableOperation {
+
+    private List<ReplicateUpdateOperation> updates;
+
+    public ReplicateUpdateBatchOperation() {
+    }
+
+    public ReplicateUpdateBatchOperation(List<ReplicateUpdateOperation> updates) {
+        this.updates = updates;
+    }
+
+    @Override
+    public void run() throws Exception {
+        NodeEngine nodeEngine = getNodeEngine();
+        OperationService operationService = nodeEngine.getOperationService();
+        for (ReplicateUpdateOperation update : updates) {
+            update.setNodeEngine(nodeEngine)
+                    .setServiceName(getServiceName())
+                    .setService(getService())
+                    .setOperationResponseHandler(createEmptyResponseHandler());
+            OperationAccessor.setCallerAddress(update, getCallerAddress());
+            operationService.execute(update);
+        }
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(updates.size());
+        for (ReplicateUpdateOperation update : updates) {
+            out.writeInt(update.getPartitionId());
+            update.writeInternal(out);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        updates = new ArrayList<ReplicateUpdateOperation>(size);
+        for (int i = 0; i < size; i++) {
+            ReplicateUpdateOperation update = new ReplicateUpdateOperation();
+            update.setPartitionId(in.readInt());
+            update.setValidateTarget(false);
+            update.readInternal(in);
+            updates.add(update);
+        }
+    }
+
+    @Override
+    public int getId() {
+        return ReplicatedMapDataSerializerHook.REPLICATE_UPDATE_BATCH;
+    }
+}
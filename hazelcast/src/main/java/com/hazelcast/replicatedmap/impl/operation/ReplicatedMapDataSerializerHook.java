@@ -68,8 +68,9 @@ public class ReplicatedMapDataSerializerHook implements DataSerializerHook {
     public static final int LATEST_UPDATE_MERGE_POLICY = 27;
     public static final int PASS_THROUGH_MERGE_POLICY = 28;
     public static final int PUT_IF_ABSENT_MERGE_POLICY = 29;
+    public static final int REPLICATE_UPDATE_BATCH = 30;
 
-    private static final int LEN = PUT_IF_ABSENT_MERGE_POLICY + 1;
+    private static final int LEN = REPLICATE_UPDATE_BATCH + 1;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -259,6 +260,12 @@ public class ReplicatedMapDataSerializerHook implements DataSerializerHook {
                 return PutIfAbsentMapMergePolicy.INSTANCE;
             }
         };
+        constructors[REPLICATE_UPDATE_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ReplicateUpdateBatchOperation();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -28,7 +28,6 @@ import com.hazelcast.replicatedmap.impl.record.ReplicatedRecord;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Carries set of replicated map records for a partition from one node to another
@@ -74,8 +73,7 @@ public class SyncReplicatedMapDataOperation<K, V> extends AbstractSerializableOp
         }
 
         newStorage.syncVersion(version);
-        AtomicReference<InternalReplicatedMapStorage<K, V>> storageRef = store.getStorageRef();
-        storageRef.set(newStorage);
+        store.setStorage(newStorage);
         store.setLoaded(true);
     }
 
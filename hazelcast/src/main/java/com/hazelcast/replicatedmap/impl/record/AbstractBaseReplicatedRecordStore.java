@@ -17,7 +17,11 @@
 package com.hazelcast.replicatedmap.impl.record;
 
 import com.hazelcast.config.ReplicatedMapConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.monitor.impl.LocalReplicatedMapStatsImpl;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapEvictionProcessor;
 import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.spi.EventService;
@@ -30,6 +34,7 @@ import com.hazelcast.util.scheduler.ScheduleType;
 import com.hazelcast.util.scheduler.ScheduledEntry;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -52,6 +57,7 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
     protected final EntryTaskScheduler<Object, Object> ttlEvictionScheduler;
     protected final EventService eventService;
     protected final String name;
+    protected final Indexes indexes;
     protected int partitionId;
 
     protected AbstractBaseReplicatedRecordStore(String name, ReplicatedMapService replicatedMapService, int partitionId) {
@@ -65,6 +71,7 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
         this.replicatedMapConfig = replicatedMapService.getReplicatedMapConfig(name);
         this.storageRef = new AtomicReference<InternalReplicatedMapStorage<K, V>>();
         this.storageRef.set(new InternalReplicatedMapStorage<K, V>());
+        this.indexes = replicatedMapService.getOrCreateIndexes(name);
         this.ttlEvictionScheduler = EntryTaskSchedulerFactory
                 .newScheduler(nodeEngine.getExecutionService().getGlobalTaskScheduler(),
                         new ReplicatedMapEvictionProcessor(this, nodeEngine, partitionId), ScheduleType.POSTPONE);
@@ -78,6 +85,21 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
         return storageRef;
     }
 
+    /**
+     * Replaces the storage of this record store and moves the index entries from the old to the new storage.
+     *
+     * @param storage the new storage
+     */
+    public void setStorage(InternalReplicatedMapStorage<K, V> storage) {
+        InternalReplicatedMapStorage<K, V> oldStorage = storageRef.getAndSet(storage);
+        removeIndexes(oldStorage);
+        if (indexes != null) {
+            for (Map.Entry<K, ReplicatedRecord<K, V>> entry : storage.entrySet()) {
+                saveIndex(entry.getKey(), entry.getValue().getValueInternal(), null);
+            }
+        }
+    }
+
     @Override
     public String getName() {
         return name;
@@ -89,8 +111,9 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
 
     @Override
     public void destroy() {
-        InternalReplicatedMapStorage storage = storageRef.getAndSet(new InternalReplicatedMapStorage<K, V>());
+        InternalReplicatedMapStorage<K, V> storage = storageRef.getAndSet(new InternalReplicatedMapStorage<K, V>());
         if (storage != null) {
+            removeIndexes(storage);
             storage.clear();
         }
     }
@@ -129,6 +152,49 @@ public abstract class AbstractBaseReplicatedRecordStore<K, V> implements Replica
         isLoaded.set(loaded);
     }
 
+    /**
+     * Updates the indexes of the replicated map, if there are any, after the value of the key has been set.
+     *
+     * @param key      the key in its stored format
+     * @param value    the new value in its stored format
+     * @param oldValue the previous value in its stored format or {@code null} if there was none
+     */
+    protected void saveIndex(Object key, Object value, Object oldValue) {
+        if (indexes == null) {
+            return;
+        }
+        QueryEntry queryEntry = new QueryEntry((InternalSerializationService) serializationService,
+                serializationService.toData(key), value, Extractors.empty());
+        indexes.saveEntryIndex(queryEntry, oldValue);
+    }
+
+    /**
+     * Removes the key from the indexes of the replicated map, if there are any.
+     *
+     * @param key   the key in its stored format
+     * @param value the removed value in its stored format
+     */
+    protected void removeIndex(Object key, Object value) {
+        if (indexes == null || value == null) {
+            return;
+        }
+        indexes.removeEntryIndex(serializationService.toData(key), value);
+    }
+
+    /**
+     * Removes all entries of the given storage from the indexes of the replicated map, if there are any.
+     *
+     * @param storage the storage whose entries are removed from the indexes
+     */
+    protected void removeIndexes(InternalReplicatedMapStorage<K, V> storage) {
+        if (indexes == null) {
+            return;
+        }
+        for (Map.Entry<K, ReplicatedRecord<K, V>> entry : storage.entrySet()) {
+            removeIndex(entry.getKey(), entry.getValue().getValueInternal());
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
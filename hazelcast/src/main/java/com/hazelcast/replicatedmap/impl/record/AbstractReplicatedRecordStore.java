@@ -81,6 +81,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
         } else {
             oldValue = (V) current.getValueInternal();
             storage.remove(marshalledKey, current);
+            removeIndex(marshalledKey, oldValue);
         }
         Object unmarshalledOldValue = unmarshall(oldValue);
         if (replicatedMapConfig.isStatisticsEnabled()) {
@@ -102,6 +103,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
         } else {
             oldValue = (V) current.getValueInternal();
             storage.remove(marshalledKey, current);
+            removeIndex(marshalledKey, oldValue);
         }
         Data dataKey = nodeEngine.toData(key);
         Data dataOldValue = nodeEngine.toData(oldValue);
@@ -181,6 +183,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             }
             storage.put(marshalledKey, old);
         }
+        saveIndex(marshalledKey, marshalledValue, oldValue);
         if (ttlMillis > 0) {
             scheduleTtlEntry(ttlMillis, marshalledKey, marshalledValue);
         } else {
@@ -284,6 +287,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
     @Override
     public void clear() {
         InternalReplicatedMapStorage<K, V> storage = getStorage();
+        removeIndexes(storage);
         storage.clear();
         storage.incrementVersion();
         getStats().incrementOtherOperations();
@@ -292,6 +296,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
     @Override
     public void clearWithVersion(long version) {
         InternalReplicatedMapStorage<K, V> storage = getStorage();
+        removeIndexes(storage);
         storage.clear();
         storage.setVersion(version);
         getStats().incrementOtherOperations();
@@ -323,7 +328,8 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
         newRecord.setCreationTime(record.getCreationTime());
         newRecord.setLastAccessTime(record.getLastAccessTime());
         newRecord.setUpdateTime(record.getLastUpdateTime());
-        storage.put(key, newRecord);
+        ReplicatedRecord<K, V> oldRecord = storage.put(key, newRecord);
+        saveIndex(key, value, oldRecord == null ? null : oldRecord.getValueInternal());
         if (record.getTtl() > 0) {
             scheduleTtlEntry(record.getTtl(), key, value);
         }
@@ -347,6 +353,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             }
             record = buildReplicatedRecord((K) marshalledKey, (V) newValue, 0);
             storage.put((K) marshalledKey, record);
+            saveIndex(marshalledKey, newValue, null);
             storage.incrementVersion();
             Data dataKey = serializationService.toData(marshalledKey);
             Data dataValue = serializationService.toData(newValue);
@@ -363,6 +370,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
             newValue = policy.merge(getName(), mergingEntry, existingEntry);
             if (newValue == null) {
                 storage.remove((K) marshalledKey, record);
+                removeIndex(marshalledKey, oldValue);
                 storage.incrementVersion();
                 Data dataKey = serializationService.toData(marshalledKey);
                 VersionResponsePair responsePair = new VersionResponsePair(mergingEntry.getValue(), getVersion());
@@ -370,6 +378,7 @@ public abstract class AbstractReplicatedRecordStore<K, V> extends AbstractBaseRe
                 return false;
             }
             record.setValueInternal((V) newValue, record.getTtlMillis());
+            saveIndex(marshalledKey, newValue, oldValue);
             storage.incrementVersion();
             Data dataKey = serializationService.toData(marshalledKey);
             Data dataValue = serializationService.toData(newValue);
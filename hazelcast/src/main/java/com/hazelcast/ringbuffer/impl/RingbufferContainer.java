@@ -18,6 +18,7 @@ package com.hazelcast.ringbuffer.impl;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -64,6 +65,12 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
     private RingbufferStoreWrapper store;
     private SerializationService serializationService;
 
+    /**
+     * The optional disk tier receiving the items evicted from the head of the {@link #ringbuffer}. It is
+     * {@code null} if the tier is disabled.
+     */
+    private RingbufferDiskTier diskTier;
+
     /**
      * The ringbuffer containing the items. The type of contained items depends on the {@link #inMemoryFormat} :
      * <ul>
@@ -164,8 +171,14 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
         return ringbuffer.tailSequence();
     }
 
+    /**
+     * Returns the sequence of the oldest item which can be read. If the disk tier is enabled, this is the oldest
+     * item in the disk tier, otherwise it is the head sequence of the in-memory ringbuffer.
+     *
+     * @return the head sequence
+     */
     public long headSequence() {
-        return ringbuffer.headSequence();
+        return isDiskTierReadable() ? diskTier.headSequence() : ringbuffer.headSequence();
     }
 
     // just for testing
@@ -234,10 +247,28 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
      *                                         deserialized
      */
     public long add(T item) {
+        return add(item, null);
+    }
+
+    /**
+     * Adds one item to the ring buffer like {@link #add(Object)} and notifies the {@code storeCallback} with the
+     * sequence of the item once the item has been written to the data store. If the data store writes behind,
+     * the callback is notified asynchronously. The callback is not notified if the data store is not enabled.
+     *
+     * @param item          item to be stored in the ring buffer and data store, can be {@link Data} or an deserialized object
+     * @param storeCallback the callback to notify once the item has been stored, can be {@code null}
+     * @return the sequence ID of the item stored in the ring buffer
+     * @throws HazelcastException              if there was any exception thrown by the data store
+     * @throws HazelcastSerializationException if the ring buffer is configured to keep items
+     *                                         in object format and the item could not be
+     *                                         deserialized
+     */
+    public long add(T item, ExecutionCallback<Long> storeCallback) {
+        spillHeadIfFull();
         final long sequence = addInternal(item);
         if (store.isEnabled()) {
             try {
-                store.store(sequence, convertToData(item));
+                store.store(sequence, convertToData(item), storeCallback);
             } catch (Exception e) {
                 throw new HazelcastException(e);
             }
@@ -257,10 +288,28 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
      *                                         deserialized
      */
     public long addAll(T[] items) {
+        return addAll(items, null);
+    }
+
+    /**
+     * Adds all items to the ring buffer like {@link #addAll(Object[])} and notifies the {@code storeCallback} with
+     * the sequence of the last item once the items have been written to the data store. If the data store writes
+     * behind, the callback is notified asynchronously. The callback is not notified if the data store is not enabled.
+     *
+     * @param items         items to be stored in the ring buffer and data store
+     * @param storeCallback the callback to notify once the items have been stored, can be {@code null}
+     * @return the sequence ID of the last item stored in the ring buffer
+     * @throws HazelcastException              if there was any exception thrown by the data store
+     * @throws HazelcastSerializationException if the ring buffer is configured to keep items
+     *                                         in object format and the item could not be
+     *                                         deserialized
+     */
+    public long addAll(T[] items, ExecutionCallback<Long> storeCallback) {
         long firstSequence = -1;
         long lastSequence = -1;
 
         for (int i = 0; i < items.length; i++) {
+            spillHeadIfFull();
             lastSequence = addInternal(items[i]);
             if (i == 0) {
                 firstSequence = lastSequence;
@@ -268,7 +317,7 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
         }
         if (store.isEnabled() && items.length != 0) {
             try {
-                store.storeAll(firstSequence, convertToData(items));
+                store.storeAll(firstSequence, convertToData(items), storeCallback);
             } catch (Exception e) {
                 throw new HazelcastException(e);
             }
@@ -282,6 +331,7 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
      * item in the data store. This method expands the ring buffer tail and head sequence to
      * accommodate for the sequence. This means that it will move the head or tail sequence to
      * the target sequence if the target sequence is less than the head sequence or greater than the tail sequence.
+     * If the disk tier is enabled, the items evicted by moving the head sequence are appended to the disk tier.
      *
      * @param sequenceId the sequence ID under which the item is stored
      * @param item       item to be stored in the ring buffer and data store
@@ -293,6 +343,15 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
     public void set(long sequenceId, T item) {
         final Object rbItem = convertToRingbufferFormat(item);
 
+        if (diskTier != null && sequenceId > tailSequence()) {
+            // the evicted items must be spilled before their slots are overwritten
+            final long newHeadSequence = sequenceId - ringbuffer.getCapacity() + 1;
+            final long lastEvicted = Math.min(newHeadSequence - 1, tailSequence());
+            for (long seq = ringbuffer.headSequence(); seq <= lastEvicted; seq++) {
+                diskTier.append(seq, convertToData(ringbuffer.read(seq)));
+            }
+        }
+
         // first we write the dataItem in the ring.
         ringbuffer.set(sequenceId, rbItem);
 
@@ -303,7 +362,7 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
                 ringbuffer.setHeadSequence(ringbuffer.tailSequence() - ringbuffer.getCapacity() + 1);
             }
         }
-        if (sequenceId < headSequence()) {
+        if (sequenceId < ringbuffer.headSequence()) {
             ringbuffer.setHeadSequence(sequenceId);
         }
 
@@ -342,13 +401,14 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
         checkReadSequence(beginSequence);
 
         long seq = beginSequence;
-        while (seq <= ringbuffer.tailSequence()) {
+        if (seq < ringbuffer.headSequence() && isDiskTierReadable()) {
+            // the items evicted from memory are read sequentially from the disk tier
+            seq = diskTier.readMany(seq, ringbuffer.headSequence(), result);
+        }
+        // we stop as soon as we have found all items we are looking for
+        while (seq <= ringbuffer.tailSequence() && !result.isMaxSizeReached()) {
             result.addItem(seq, readOrLoadItem(seq));
             seq++;
-            if (result.isMaxSizeReached()) {
-                // we have found all items we are looking for. We are done.
-                break;
-            }
         }
         return seq;
     }
@@ -382,7 +442,7 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
                     + " is too large. The current tailSequence is:" + tailSequence);
         }
 
-        final long headSequence = ringbuffer.headSequence();
+        final long headSequence = headSequence();
         if (readSequence < headSequence && !store.isEnabled()) {
             throw new StaleSequenceException("sequence:" + readSequence
                     + " is too small and data store is disabled. "
@@ -406,7 +466,7 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
                     + " is too large. The current tailSequence is:" + tailSequence);
         }
 
-        final long headSequence = ringbuffer.headSequence();
+        final long headSequence = headSequence();
         if (sequence < headSequence && !store.isEnabled()) {
             throw new StaleSequenceException("sequence:" + sequence
                     + " is too small and data store is disabled."
@@ -418,18 +478,72 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
     /**
      * Reads the item at the specified sequence or loads it from the ringbuffer
      * store if one is enabled. The type of the returned object is equal to the
-     * ringbuffer format.
+     * ringbuffer format, unless the item is read from the disk tier, in which
+     * case it is always {@link Data}.
      */
     private Object readOrLoadItem(long sequence) {
         Object item;
         if (sequence < ringbuffer.headSequence() && store.isEnabled()) {
             item = store.load(sequence);
+        } else if (sequence < ringbuffer.headSequence() && isDiskTierReadable()) {
+            item = diskTier.read(sequence);
         } else {
             item = ringbuffer.read(sequence);
         }
         return item;
     }
 
+    /**
+     * Appends the head item to the disk tier if the disk tier is enabled and
+     * the head item is about to be overwritten by the next added item.
+     */
+    private void spillHeadIfFull() {
+        if (diskTier != null && ringbuffer.size() == ringbuffer.getCapacity()) {
+            final long headSequence = ringbuffer.headSequence();
+            diskTier.append(headSequence, convertToData(ringbuffer.read(headSequence)));
+        }
+    }
+
+    /**
+     * Returns {@code true} if the disk tier is enabled and its items directly
+     * precede the items of the in-memory ringbuffer, so that the sequences
+     * between the disk tier head and the ringbuffer tail can all be read.
+     */
+    private boolean isDiskTierReadable() {
+        return diskTier != null && !diskTier.isEmpty()
+                && diskTier.tailSequence() + 1 >= ringbuffer.headSequence();
+    }
+
+    /**
+     * Returns {@code true} if the items of this ringbuffer can be spilled to a
+     * disk tier. Ringbuffers with an enabled ringbuffer store or with a time to
+     * live do not support a disk tier.
+     */
+    boolean supportsDiskTier() {
+        return !store.isEnabled() && expirationPolicy == null;
+    }
+
+    RingbufferDiskTier getDiskTier() {
+        return diskTier;
+    }
+
+    void setDiskTier(RingbufferDiskTier diskTier) {
+        this.diskTier = diskTier;
+    }
+
+    /**
+     * Releases the resources held by this container. The items still queued by
+     * a write-behind data store are written and the disk tier, if any, is
+     * destroyed together with its segment files.
+     */
+    public void destroy() {
+        store.destroy();
+        if (diskTier != null) {
+            diskTier.destroy();
+            diskTier = null;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private long addInternal(T item) {
         final Object rbItem = convertToRingbufferFormat(item);
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.memory.impl.UnsafeUtil;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.util.EmptyStatement.ignore;
+
+/**
+ * The disk tier of a {@link RingbufferContainer}. It receives the items which are evicted from the head of the
+ * in-memory {@link ArrayRingbuffer} and appends them to memory-mapped segment files, so they stay readable after
+ * they have been overwritten in memory.
+ * <p>
+ * The tier always contains a contiguous range of sequences. Every segment file starts at a base sequence and
+ * contains records of the form {@code [int length][serialized item]}. A sparse index of record offsets is kept
+ * in memory for each segment so that a read does not have to scan the whole segment to find its first record;
+ * the following records are then read sequentially. When the number of segments exceeds the configured maximum,
+ * the oldest segment is deleted.
+ * <p>
+ * The tier is only accessed from the partition thread owning the ringbuffer, apart from {@link #destroy()}
+ * which may be called by the service on any thread. The methods are synchronized to make this safe, the lock
+ * is uncontended in the common case.
+ */
+public class RingbufferDiskTier {
+
+    /**
+     * Every {@code INDEX_INTERVAL}-th record of a segment has its offset indexed.
+     */
+    static final int INDEX_INTERVAL = 64;
+
+    private static final String SEGMENT_FILE_SUFFIX = ".segment";
+
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<Segment>();
+    private long nextSequence = -1;
+
+    /**
+     * @param directory   the directory holding the segment files, any existing content is deleted
+     * @param segmentSize the size of a segment file in bytes
+     * @param maxSegments the maximum number of segment files kept
+     */
+    public RingbufferDiskTier(File directory, int segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        deleteQuietly(directory);
+        if (!directory.mkdirs() && !directory.isDirectory()) {
+            throw new HazelcastException("Could not create ringbuffer disk tier directory " + directory);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Returns the sequence of the oldest item in the tier or {@code -1} if the tier is empty.
+     */
+    public synchronized long headSequence() {
+        return segments.isEmpty() ? -1 : segments.getFirst().baseSequence;
+    }
+
+    /**
+     * Returns the sequence of the newest item in the tier or {@code -1} if the tier is empty.
+     */
+    public synchronized long tailSequence() {
+        return segments.isEmpty() ? -1 : nextSequence - 1;
+    }
+
+    /**
+     * Appends the item with the given sequence. If the sequence does not directly follow the newest sequence in
+     * the tier, the existing content is discarded since the tier can only hold a contiguous range of sequences.
+     *
+     * @param sequence the sequence of the item
+     * @param item     the serialized item
+     */
+    public synchronized void append(long sequence, Data item) {
+        if (!segments.isEmpty() && sequence != nextSequence) {
+            clear();
+        }
+        byte[] bytes = item.toByteArray();
+        Segment segment = segments.peekLast();
+        if (segment == null || !segment.append(bytes)) {
+            segment = newSegment(sequence, bytes.length);
+            segment.append(bytes);
+        }
+        nextSequence = sequence + 1;
+    }
+
+    /**
+     * Reads the item with the given sequence.
+     *
+     * @param sequence the sequence of the item
+     * @return the serialized item
+     * @throws IllegalArgumentException if the sequence is not contained in the tier
+     */
+    public synchronized Data read(long sequence) {
+        Segment segment = findSegment(sequence);
+        return new HeapData(segment.readRecord(segment.offsetOf(sequence)));
+    }
+
+    /**
+     * Sequentially reads the items starting at {@code beginSequence} into the result set until either the
+     * {@code endSequence} (exclusive) or the end of the tier is reached, or the result set is full.
+     *
+     * @param beginSequence the sequence of the first item to read
+     * @param endSequence   the sequence at which to stop reading (exclusive)
+     * @param result        the result set to add the items to
+     * @return the sequence of the next item to read
+     * @throws IllegalArgumentException if the begin sequence is not contained in the tier
+     */
+    public synchronized long readMany(long beginSequence, long endSequence, ReadResultSetImpl result) {
+        long sequence = beginSequence;
+        long end = Math.min(endSequence, nextSequence);
+        checkContains(sequence);
+        Iterator<Segment> iterator = segments.iterator();
+        Segment segment = iterator.next();
+        while (sequence >= segment.baseSequence + segment.count) {
+            segment = iterator.next();
+        }
+        int offset = segment.offsetOf(sequence);
+        while (sequence < end && !result.isMaxSizeReached()) {
+            if (sequence == segment.baseSequence + segment.count) {
+                segment = iterator.next();
+                offset = 0;
+            }
+            byte[] bytes = segment.readRecord(offset);
+            offset += INT_SIZE_IN_BYTES + bytes.length;
+            result.addItem(sequence, new HeapData(bytes));
+            sequence++;
+        }
+        return sequence;
+    }
+
+    /**
+     * Deletes all segments.
+     */
+    public synchronized void clear() {
+        for (Segment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+        nextSequence = -1;
+    }
+
+    /**
+     * Deletes all segments and the directory of the tier.
+     */
+    public synchronized void destroy() {
+        clear();
+        deleteQuietly(directory);
+    }
+
+    File getDirectory() {
+        return directory;
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private void checkContains(long sequence) {
+        if (segments.isEmpty() || sequence < segments.getFirst().baseSequence || sequence >= nextSequence) {
+            throw new IllegalArgumentException("sequence:" + sequence + " is not contained in the disk tier."
+                    + " The disk tier headSequence is:" + headSequence() + " tailSequence is:" + tailSequence());
+        }
+    }
+
+    private Segment findSegment(long sequence) {
+        checkContains(sequence);
+        Iterator<Segment> iterator = segments.descendingIterator();
+        while (true) {
+            Segment segment = iterator.next();
+            if (sequence >= segment.baseSequence) {
+                return segment;
+            }
+        }
+    }
+
+    private Segment newSegment(long baseSequence, int recordSize) {
+        int size = Math.max(segmentSize, INT_SIZE_IN_BYTES + recordSize);
+        Segment segment = new Segment(new File(directory, baseSequence + SEGMENT_FILE_SUFFIX), baseSequence, size);
+        segments.addLast(segment);
+        while (segments.size() > maxSegments) {
+            segments.removeFirst().delete();
+        }
+        return segment;
+    }
+
+    /**
+     * A single memory-mapped segment file.
+     */
+    private static final class Segment {
+        final long baseSequence;
+        int count;
+
+        private final File file;
+        private final RandomAccessFile randomAccessFile;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private int[] index = new int[INDEX_INTERVAL];
+
+        Segment(File file, long baseSequence, int size) {
+            this.file = file;
+            this.baseSequence = baseSequence;
+            try {
+                this.randomAccessFile = new RandomAccessFile(file, "rw");
+                this.buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                throw new HazelcastException("Could not create ringbuffer disk tier segment " + file, e);
+            }
+        }
+
+        boolean append(byte[] bytes) {
+            if (writeOffset + INT_SIZE_IN_BYTES + bytes.length > buffer.capacity()) {
+                return false;
+            }
+            if (count % INDEX_INTERVAL == 0) {
+                int slot = count / INDEX_INTERVAL;
+                if (slot == index.length) {
+                    index = Arrays.copyOf(index, index.length * 2);
+                }
+                index[slot] = writeOffset;
+            }
+            buffer.putInt(writeOffset, bytes.length);
+            ByteBuffer target = buffer.duplicate();
+            target.position(writeOffset + INT_SIZE_IN_BYTES);
+            target.put(bytes);
+            writeOffset += INT_SIZE_IN_BYTES + bytes.length;
+            count++;
+            return true;
+        }
+
+        int offsetOf(long sequence) {
+            int position = (int) (sequence - baseSequence);
+            int offset = index[position / INDEX_INTERVAL];
+            for (int i = 0; i < position % INDEX_INTERVAL; i++) {
+                offset += INT_SIZE_IN_BYTES + buffer.getInt(offset);
+            }
+            return offset;
+        }
+
+        byte[] readRecord(int offset) {
+            byte[] bytes = new byte[buffer.getInt(offset)];
+            ByteBuffer source = buffer.duplicate();
+            source.position(offset + INT_SIZE_IN_BYTES);
+            source.get(bytes);
+            return bytes;
+        }
+
+        /**
+         * Unmaps the buffer before closing and deleting the file. A mapping is otherwise only released when the
+         * buffer is garbage collected, so the pages of deleted segments would stay mapped and, on Windows, the file
+         * could not be deleted. The segment must not be accessed afterwards.
+         */
+        void delete() {
+            unmap(buffer);
+            closeResource(randomAccessFile);
+            deleteQuietly(file);
+        }
+
+        /**
+         * Runs the cleaner of the buffer, using {@code Unsafe.invokeCleaner()} on JDK 9+ and the
+         * {@code DirectBuffer.cleaner()} on earlier JDKs. If neither is accessible, the mapping is left to the
+         * garbage collector.
+         */
+        private static void unmap(MappedByteBuffer buffer) {
+            try {
+                Object unsafe = UnsafeUtil.UNSAFE;
+                if (unsafe != null) {
+                    try {
+                        unsafe.getClass().getMethod("invokeCleaner", ByteBuffer.class).invoke(unsafe, buffer);
+                        return;
+                    } catch (NoSuchMethodException e) {
+                        ignore(e);
+                    }
+                }
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    Method cleanMethod = cleaner.getClass().getMethod("clean");
+                    cleanMethod.setAccessible(true);
+                    cleanMethod.invoke(cleaner);
+                }
+            } catch (Exception e) {
+                ignore(e);
+            }
+        }
+    }
+}
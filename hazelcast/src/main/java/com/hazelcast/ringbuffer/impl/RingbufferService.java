@@ -34,9 +34,11 @@ import com.hazelcast.spi.PartitionReplicationEvent;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.ServiceNamespace;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.version.Version;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,8 +51,12 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.hazelcast.nio.IOUtil.toFileName;
 import static com.hazelcast.spi.partition.MigrationEndpoint.DESTINATION;
 import static com.hazelcast.spi.partition.MigrationEndpoint.SOURCE;
+import static com.hazelcast.spi.properties.GroupProperty.RINGBUFFER_DISK_TIER_DIRECTORY;
+import static com.hazelcast.spi.properties.GroupProperty.RINGBUFFER_DISK_TIER_MAX_SEGMENTS;
+import static com.hazelcast.spi.properties.GroupProperty.RINGBUFFER_DISK_TIER_SEGMENT_SIZE;
 import static com.hazelcast.util.MapUtil.isNullOrEmpty;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
@@ -63,6 +69,12 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
      */
     public static final String TOPIC_RB_PREFIX = "_hz_rb_";
 
+    /**
+     * Infix separating the topic name from the shard index in the names of the ringbuffers of a sharded reliable
+     * topic. The ringbuffers of all shards use the configuration of the topic name.
+     */
+    public static final String TOPIC_RB_SHARD_INFIX = "_hz_shard_";
+
     /**
      * The ringbuffer service name which defines it in the node engine.
      */
@@ -82,9 +94,25 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         this.nodeEngine = checkNotNull(nodeEngine, "nodeEngine can't be null");
     }
 
+    /**
+     * Returns the name of the ringbuffer backing the given shard of a reliable topic. The first shard uses the
+     * ringbuffer of an unsharded topic.
+     *
+     * @param topicName the name of the reliable topic
+     * @param shard     the index of the shard
+     * @return the name of the ringbuffer
+     */
+    public static String getTopicRingbufferName(String topicName, int shard) {
+        return shard == 0 ? TOPIC_RB_PREFIX + topicName : TOPIC_RB_PREFIX + topicName + TOPIC_RB_SHARD_INFIX + shard;
+    }
+
     private static String getConfigName(String name) {
         if (name.startsWith(TOPIC_RB_PREFIX)) {
             name = name.substring(TOPIC_RB_PREFIX.length());
+            int shardIndex = name.lastIndexOf(TOPIC_RB_SHARD_INFIX);
+            if (shardIndex > 0) {
+                name = name.substring(0, shardIndex);
+            }
         }
         return name;
     }
@@ -111,7 +139,10 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         if (partitionContainers == null) {
             return;
         }
-        partitionContainers.remove(namespace);
+        final RingbufferContainer container = partitionContainers.remove(namespace);
+        if (container != null) {
+            container.destroy();
+        }
     }
 
     @Override
@@ -121,6 +152,11 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
 
     @Override
     public void reset() {
+        for (Map<ObjectNamespace, RingbufferContainer> partitionContainers : containers.values()) {
+            for (RingbufferContainer container : partitionContainers.values()) {
+                container.destroy();
+            }
+        }
         containers.clear();
     }
 
@@ -168,6 +204,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
                 nodeEngine.getSerializationService(),
                 nodeEngine.getConfigClassLoader(), partitionId);
         ringbuffer.getStore().instrument(nodeEngine);
+        attachDiskTier(partitionId, ringbuffer, null);
         partitionContainers.put(namespace, ringbuffer);
         return ringbuffer;
     }
@@ -216,7 +253,41 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         final SerializationService serializationService = nodeEngine.getSerializationService();
         ringbuffer.init(config, serializationService, nodeEngine.getConfigClassLoader());
         ringbuffer.getStore().instrument(nodeEngine);
-        getOrCreateRingbufferContainers(partitionId).put(ringbuffer.getNamespace(), ringbuffer);
+        final Map<ObjectNamespace, RingbufferContainer> partitionContainers = getOrCreateRingbufferContainers(partitionId);
+        final RingbufferContainer previous = partitionContainers.get(ringbuffer.getNamespace());
+        attachDiskTier(partitionId, ringbuffer, previous);
+        partitionContainers.put(ringbuffer.getNamespace(), ringbuffer);
+        if (previous != null && previous != ringbuffer) {
+            previous.destroy();
+        }
+    }
+
+    /**
+     * Attaches a disk tier to the {@code container} if the disk tier is enabled
+     * by the {@link com.hazelcast.spi.properties.GroupProperty#RINGBUFFER_DISK_TIER_DIRECTORY}
+     * property and the container supports it. If the container replaces a
+     * {@code previous} container having a disk tier, the disk tier is handed
+     * over instead of being recreated.
+     */
+    private void attachDiskTier(int partitionId, RingbufferContainer container, RingbufferContainer previous) {
+        final HazelcastProperties properties = nodeEngine.getProperties();
+        final String directory = properties.getString(RINGBUFFER_DISK_TIER_DIRECTORY);
+        if (directory == null || directory.isEmpty() || !container.supportsDiskTier()) {
+            return;
+        }
+        if (previous != null && previous != container && previous.getDiskTier() != null) {
+            container.setDiskTier(previous.getDiskTier());
+            previous.setDiskTier(null);
+            return;
+        }
+        final ObjectNamespace namespace = container.getNamespace();
+        final File memberDirectory = new File(directory, nodeEngine.getLocalMember().getUuid());
+        final File partitionDirectory = new File(memberDirectory, "partition-" + partitionId);
+        final String name = toFileName(namespace.getServiceName() + "-" + namespace.getObjectName())
+                + "-" + Integer.toHexString(namespace.hashCode());
+        container.setDiskTier(new RingbufferDiskTier(new File(partitionDirectory, name),
+                properties.getInteger(RINGBUFFER_DISK_TIER_SEGMENT_SIZE),
+                properties.getInteger(RINGBUFFER_DISK_TIER_MAX_SEGMENTS)));
     }
 
     @Override
@@ -277,6 +348,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
             final RingbufferContainer container = entry.getValue();
             if (thresholdReplicaIndex < 0 || container.getConfig().getTotalBackupCount() < thresholdReplicaIndex) {
                 iterator.remove();
+                container.destroy();
             }
         }
     }
@@ -17,7 +17,9 @@
 package com.hazelcast.ringbuffer.impl;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.RingbufferStoreAcknowledgeType;
 import com.hazelcast.config.RingbufferStoreConfig;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.RingbufferStore;
 import com.hazelcast.core.RingbufferStoreFactory;
 import com.hazelcast.internal.diagnostics.Diagnostics;
@@ -41,6 +43,9 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
  * Wrapper for the ring buffer store. In charge of creation of a ring buffer store from
  * configuration and enforcing rules defined by the ring buffer configuration (e.g.
  * store format) before forwarding the calls to the underlying ring buffer store.
+ * <p>
+ * If the write-behind mode is enabled in the {@link RingbufferStoreConfig}, the items are not written on the
+ * calling thread but handed over to a {@link WriteBehindRingbufferStore}.
  */
 public final class RingbufferStoreWrapper implements RingbufferStore<Data> {
 
@@ -53,6 +58,9 @@ public final class RingbufferStoreWrapper implements RingbufferStore<Data> {
     private InMemoryFormat inMemoryFormat;
     private RingbufferStore store;
     private SerializationService serializationService;
+    private RingbufferStoreConfig storeConfig;
+    private WriteBehindRingbufferStore writeBehindStore;
+    private NodeEngine nodeEngine;
 
     private RingbufferStoreWrapper(ObjectNamespace namespace) {
         this.namespace = namespace;
@@ -93,6 +101,7 @@ public final class RingbufferStoreWrapper implements RingbufferStore<Data> {
             storeWrapper.enabled = storeConfig.isEnabled();
             storeWrapper.inMemoryFormat = inMemoryFormat;
             storeWrapper.store = ringbufferStore;
+            storeWrapper.storeConfig = storeConfig;
         }
         return storeWrapper;
     }
@@ -149,7 +158,25 @@ public final class RingbufferStoreWrapper implements RingbufferStore<Data> {
         return enabled;
     }
 
+    /**
+     * Returns {@code true} if the items are written in write-behind mode and an added item should only be
+     * acknowledged once it has been written to the store.
+     */
+    public boolean isAcknowledgedOnStore() {
+        return writeBehindStore != null
+                && storeConfig.getWriteBehindAcknowledgeType() == RingbufferStoreAcknowledgeType.STORED;
+    }
+
     void instrument(NodeEngine nodeEngine) {
+        if (enabled && storeConfig.isWriteBehindEnabled()) {
+            this.nodeEngine = nodeEngine;
+            this.writeBehindStore = new WriteBehindRingbufferStore(this, nodeEngine.getExecutionService(),
+                    nodeEngine.getLogger(WriteBehindRingbufferStore.class),
+                    storeConfig.getWriteBehindQueueCapacity(), storeConfig.getWriteBehindBatchSize());
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry()
+                    .scanAndRegister(writeBehindStore, "ringbuffer.store[" + namespace.getObjectName() + "]");
+        }
+
         Diagnostics diagnostics = ((NodeEngineImpl) nodeEngine).getDiagnostics();
         StoreLatencyPlugin storeLatencyPlugin = diagnostics.getPlugin(StoreLatencyPlugin.class);
         if (!enabled || storeLatencyPlugin == null) {
@@ -159,9 +186,46 @@ public final class RingbufferStoreWrapper implements RingbufferStore<Data> {
         this.store = new LatencyTrackingRingbufferStore(store, storeLatencyPlugin, namespace);
     }
 
+    /**
+     * Writes the items still queued by the write-behind store and releases its resources.
+     */
+    void destroy() {
+        if (writeBehindStore == null) {
+            return;
+        }
+        writeBehindStore.flush();
+        ((NodeEngineImpl) nodeEngine).getMetricsRegistry().deregister(writeBehindStore);
+        writeBehindStore = null;
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
     public void store(long sequence, Data value) {
+        store(sequence, value, null);
+    }
+
+    /**
+     * Stores the item and notifies the {@code callback}, if any, once the item
+     * has been stored. In write-behind mode, the item is queued and the
+     * callback is notified by the flusher, otherwise the item is stored and the
+     * callback notified on the calling thread.
+     *
+     * @param sequence the sequence of the item
+     * @param value    the item
+     * @param callback the callback to notify with the sequence of the item, can be {@code null}
+     */
+    public void store(long sequence, Data value, ExecutionCallback<Long> callback) {
+        if (writeBehindStore != null) {
+            writeBehindStore.add(sequence, new Data[]{value}, callback);
+            return;
+        }
+        storeNow(sequence, value);
+        if (callback != null) {
+            callback.onResponse(sequence);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void storeNow(long sequence, Data value) {
         final Object actualValue;
         if (isBinaryFormat()) {
             // WARNING: we can't pass original byte array to the user
@@ -176,8 +240,32 @@ public final class RingbufferStoreWrapper implements RingbufferStore<Data> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void storeAll(long firstItemSequence, Data[] items) {
+        storeAll(firstItemSequence, items, null);
+    }
+
+    /**
+     * Stores the items and notifies the {@code callback}, if any, once all
+     * items have been stored.
+     *
+     * @param firstItemSequence the sequence of the first item
+     * @param items             the items
+     * @param callback          the callback to notify with the sequence of the last item, can be {@code null}
+     * @see #store(long, Data, ExecutionCallback)
+     */
+    public void storeAll(long firstItemSequence, Data[] items, ExecutionCallback<Long> callback) {
+        if (writeBehindStore != null) {
+            writeBehindStore.add(firstItemSequence, items, callback);
+            return;
+        }
+        storeAllNow(firstItemSequence, items);
+        if (callback != null) {
+            callback.onResponse(firstItemSequence + items.length - 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void storeAllNow(long firstItemSequence, Data[] items) {
         final Object[] storedItems = new Object[items.length];
         for (int i = 0; i < items.length; i++) {
             final Data value = items[i];
@@ -200,6 +288,12 @@ public final class RingbufferStoreWrapper implements RingbufferStore<Data> {
 
     @Override
     public Data load(long sequence) {
+        if (writeBehindStore != null) {
+            final Data pending = writeBehindStore.getPending(sequence);
+            if (pending != null) {
+                return pending;
+            }
+        }
         final Object val = store.load(sequence);
         if (val == null) {
             return null;
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.ExecutionService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.ExecutionService.RINGBUFFER_STORE_EXECUTOR;
+import static com.hazelcast.util.EmptyStatement.ignore;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The write-behind mode of a {@link RingbufferStoreWrapper}. The items added to the ringbuffer are put into a
+ * bounded queue and written to the ringbuffer store by a flush task running on the
+ * {@link ExecutionService#RINGBUFFER_STORE_EXECUTOR}, so the partition thread does not wait for the store.
+ * <p>
+ * The flush task is only scheduled when there is no flush task pending. It keeps writing until the queue is
+ * empty, taking up to {@code batchSize} items with consecutive sequences for each
+ * {@link com.hazelcast.core.RingbufferStore#storeAll(long, Object[])} call. Under load, the items added while a
+ * batch is being written are therefore coalesced into the next batch.
+ * <p>
+ * When the queue is full, the thread adding the items writes the oldest queued items itself. This bounds the memory
+ * used by the queue at the cost of blocking the partition thread while the store is slower than the producers.
+ * A queued item stays in the queue until it has been written, so {@link #getPending(long)} can serve reads of the
+ * items which are no longer in the ringbuffer but not yet in the store.
+ * <p>
+ * A batch which could not be written stays at the head of the queue and is retried after a delay. After
+ * {@value #MAX_STORE_ATTEMPTS} failed attempts it is dropped: the failure is logged and reported to the
+ * callbacks of its items, so the callers waiting for a {@link com.hazelcast.config.RingbufferStoreAcknowledgeType#STORED}
+ * acknowledgement get the failure instead of a response. The items of one {@link #add} share an
+ * {@link AddCompletion}, so an add spanning several batches fails if any of its items is dropped and only succeeds
+ * once all of them have been written.
+ */
+final class WriteBehindRingbufferStore {
+
+    static final int MAX_STORE_ATTEMPTS = 3;
+    static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final RingbufferStoreWrapper storeWrapper;
+    private final ExecutionService executionService;
+    private final ILogger logger;
+    private final int capacity;
+    private final int batchSize;
+    private final ArrayDeque<PendingItem> queue = new ArrayDeque<PendingItem>();
+    private final Lock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Runnable flushTask = new FlushTask();
+    // the failed attempts to write the batch at the head of the queue, only written while holding the flush lock
+    private volatile int failedStoreAttempts;
+
+    @Probe(name = "storeAllCount")
+    private final MwCounter storeAllCount = newMwCounter();
+    @Probe(name = "storedItemCount")
+    private final MwCounter storedItemCount = newMwCounter();
+    @Probe(name = "failedItemCount")
+    private final MwCounter failedItemCount = newMwCounter();
+    @Probe(name = "callerRunsCount")
+    private final MwCounter callerRunsCount = newMwCounter();
+    @Probe(name = "totalStoreLatencyNanos")
+    private final MwCounter totalStoreLatencyNanos = newMwCounter();
+    @Probe(name = "maxStoreLatencyNanos")
+    private volatile long maxStoreLatencyNanos;
+
+    WriteBehindRingbufferStore(RingbufferStoreWrapper storeWrapper, ExecutionService executionService, ILogger logger,
+                               int capacity, int batchSize) {
+        this.storeWrapper = storeWrapper;
+        this.executionService = executionService;
+        this.logger = logger;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queues the items for writing. The {@code callback}, if any, is notified with the sequence of the last item
+     * once all items have been written or with the failure if they could not be written.
+     *
+     * @param firstItemSequence the sequence of the first item
+     * @param items             the items
+     * @param callback          the callback to notify, can be {@code null}
+     */
+    void add(long firstItemSequence, Data[] items, ExecutionCallback<Long> callback) {
+        if (items.length == 0) {
+            if (callback != null) {
+                callback.onResponse(firstItemSequence - 1);
+            }
+            return;
+        }
+        while (!offer(firstItemSequence, items, callback)) {
+            callerRunsCount.inc();
+            flushBatch();
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Returns the queued item with the given sequence or {@code null} if there is no such item.
+     */
+    Data getPending(long sequence) {
+        synchronized (queue) {
+            for (PendingItem item : queue) {
+                if (item.sequence == sequence) {
+                    return item.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes all queued items on the calling thread. A failed batch is retried right away until it is dropped.
+     */
+    void flush() {
+        boolean flushed = true;
+        while (flushed) {
+            flushed = flushBatch() || failedStoreAttempts > 0;
+        }
+    }
+
+    /**
+     * Writes the queued items until the queue is empty or a batch could not be written.
+     */
+    private void flushUntilFailure() {
+        boolean flushed = true;
+        while (flushed) {
+            flushed = flushBatch();
+        }
+    }
+
+    @Probe(name = "backlog")
+    int backlog() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private boolean offer(long firstItemSequence, Data[] items, ExecutionCallback<Long> callback) {
+        synchronized (queue) {
+            // a batch larger than the capacity is accepted by an empty queue, otherwise it could never be added
+            if (!queue.isEmpty() && queue.size() + items.length > capacity) {
+                return false;
+            }
+            AddCompletion completion = callback != null
+                    ? new AddCompletion(firstItemSequence + items.length - 1, items.length, callback) : null;
+            for (int i = 0; i < items.length; i++) {
+                queue.addLast(new PendingItem(firstItemSequence + i, items[i], completion));
+            }
+            return true;
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (failedStoreAttempts > 0) {
+                executionService.schedule(RINGBUFFER_STORE_EXECUTOR, flushTask, RETRY_DELAY_MILLIS, MILLISECONDS);
+            } else {
+                executionService.execute(RINGBUFFER_STORE_EXECUTOR, flushTask);
+            }
+        } catch (RejectedExecutionException e) {
+            // the member is shutting down, the remaining items are written when the container is destroyed
+            ignore(e);
+            flushScheduled.set(false);
+        }
+    }
+
+    /**
+     * Writes the oldest batch of queued items with consecutive sequences. A batch which failed
+     * {@value #MAX_STORE_ATTEMPTS} times is removed from the queue and its callbacks are notified of the failure.
+     *
+     * @return {@code true} if a batch was written or dropped, {@code false} if the queue was empty or the batch
+     * failed and is kept for a retry
+     */
+    private boolean flushBatch() {
+        flushLock.lock();
+        try {
+            List<PendingItem> batch = peekBatch();
+            if (batch.isEmpty()) {
+                return false;
+            }
+            Data[] items = new Data[batch.size()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = batch.get(i).value;
+            }
+
+            Throwable failure = null;
+            long startNanos = System.nanoTime();
+            try {
+                storeWrapper.storeAllNow(batch.get(0).sequence, items);
+                storedItemCount.inc(items.length);
+            } catch (Throwable t) {
+                failure = t;
+            }
+            recordLatency(System.nanoTime() - startNanos);
+
+            if (failure != null) {
+                String range = batch.get(0).sequence + " to " + batch.get(items.length - 1).sequence;
+                if (++failedStoreAttempts < MAX_STORE_ATTEMPTS) {
+                    logger.warning("Failed to store the ringbuffer items from sequence " + range
+                            + ", attempt " + failedStoreAttempts + " of " + MAX_STORE_ATTEMPTS, failure);
+                    return false;
+                }
+                failedItemCount.inc(items.length);
+                logger.severe("Dropping the ringbuffer items from sequence " + range + " after "
+                        + MAX_STORE_ATTEMPTS + " failed store attempts", failure);
+            }
+            failedStoreAttempts = 0;
+
+            synchronized (queue) {
+                for (int i = 0; i < items.length; i++) {
+                    queue.removeFirst();
+                }
+            }
+            notifyCallbacks(batch, failure);
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<PendingItem> peekBatch() {
+        List<PendingItem> batch = new ArrayList<PendingItem>();
+        synchronized (queue) {
+            for (PendingItem item : queue) {
+                if (batch.size() == batchSize
+                        || (!batch.isEmpty() && item.sequence != batch.get(batch.size() - 1).sequence + 1)) {
+                    break;
+                }
+                batch.add(item);
+            }
+        }
+        return batch;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        storeAllCount.inc();
+        totalStoreLatencyNanos.inc(latencyNanos);
+        // only written while holding the flush lock
+        if (latencyNanos > maxStoreLatencyNanos) {
+            maxStoreLatencyNanos = latencyNanos;
+        }
+    }
+
+    private void notifyCallbacks(List<PendingItem> batch, Throwable failure) {
+        for (PendingItem item : batch) {
+            if (item.completion == null) {
+                continue;
+            }
+            try {
+                item.completion.itemDone(failure);
+            } catch (Throwable t) {
+                logger.warning("Failed to notify the ringbuffer store callback", t);
+            }
+        }
+    }
+
+    private static final class PendingItem {
+        final long sequence;
+        final Data value;
+        final AddCompletion completion;
+
+        PendingItem(long sequence, Data value, AddCompletion completion) {
+            this.sequence = sequence;
+            this.value = value;
+            this.completion = completion;
+        }
+    }
+
+    /**
+     * The completion shared by the items of one {@link #add}. The callback is notified of the first dropped item or,
+     * if no item was dropped, with the sequence of the last item once all items have been written. It is only
+     * accessed while holding the flush lock.
+     */
+    private static final class AddCompletion {
+        private final long lastItemSequence;
+        private final ExecutionCallback<Long> callback;
+        private int pendingItems;
+        private boolean failed;
+
+        AddCompletion(long lastItemSequence, int itemCount, ExecutionCallback<Long> callback) {
+            this.lastItemSequence = lastItemSequence;
+            this.pendingItems = itemCount;
+            this.callback = callback;
+        }
+
+        void itemDone(Throwable failure) {
+            pendingItems--;
+            if (failed) {
+                return;
+            }
+            if (failure != null) {
+                failed = true;
+                callback.onFailure(failure);
+            } else if (pendingItems == 0) {
+                callback.onResponse(lastItemSequence);
+            }
+        }
+    }
+
+    private final class FlushTask implements Runnable {
+        @Override
+        public void run() {
+            try {
+                flushUntilFailure();
+            } finally {
+                flushScheduled.set(false);
+            }
+            if (backlog() > 0) {
+                scheduleFlush();
+            }
+        }
+    }
+}
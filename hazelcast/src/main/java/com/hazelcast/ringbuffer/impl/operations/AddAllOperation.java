@@ -65,7 +65,19 @@ public class AddAllOperation extends AbstractRingBufferOperation
             }
         }
 
-        lastSequence = ringbuffer.addAll(items);
+        if (!ringbuffer.getStore().isAcknowledgedOnStore() || items.length == 0) {
+            lastSequence = ringbuffer.addAll(items);
+            return;
+        }
+
+        // the response is held back until the write-behind store has written the items
+        final StoreAcknowledgement acknowledgement = new StoreAcknowledgement(this);
+        try {
+            lastSequence = ringbuffer.addAll(items, acknowledgement);
+        } catch (RuntimeException e) {
+            acknowledgement.cancel();
+            throw e;
+        }
     }
 
     @Override
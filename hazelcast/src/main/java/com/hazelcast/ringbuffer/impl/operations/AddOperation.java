@@ -63,7 +63,19 @@ public class AddOperation extends AbstractRingBufferOperation implements Notifie
             }
         }
 
-        resultSequence = ringbuffer.add(item);
+        if (!ringbuffer.getStore().isAcknowledgedOnStore()) {
+            resultSequence = ringbuffer.add(item);
+            return;
+        }
+
+        // the response is held back until the write-behind store has written the item
+        final StoreAcknowledgement acknowledgement = new StoreAcknowledgement(this);
+        try {
+            resultSequence = ringbuffer.add(item, acknowledgement);
+        } catch (RuntimeException e) {
+            acknowledgement.cancel();
+            throw e;
+        }
     }
 
     @Override
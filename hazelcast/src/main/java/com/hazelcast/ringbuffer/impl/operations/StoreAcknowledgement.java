@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl.operations;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationResponseHandler;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+
+/**
+ * Delays the response of an add operation until the added items have been written by a write-behind ringbuffer
+ * store which acknowledges on store (see {@link com.hazelcast.config.RingbufferStoreAcknowledgeType#STORED}).
+ * <p>
+ * The acknowledgement replaces the response handler of the operation, so the operation runner still builds the
+ * response as usual (including the number of sync backup acknowledgements the caller has to wait for) and sends
+ * the backups. The response is held back until the store has written the items and is then forwarded to the
+ * original response handler. If the store fails, the failure is sent instead. The operation is tracked as a
+ * running asynchronous operation until the response has been forwarded.
+ */
+final class StoreAcknowledgement implements ExecutionCallback<Long>, OperationResponseHandler<Operation> {
+
+    private final Operation op;
+    private final OperationServiceImpl operationService;
+    private final OperationResponseHandler originalResponseHandler;
+
+    private boolean stored;
+    private boolean responseSent;
+    private Object response;
+
+    StoreAcknowledgement(Operation op) {
+        this.op = op;
+        this.operationService = (OperationServiceImpl) op.getNodeEngine().getOperationService();
+        this.originalResponseHandler = op.getOperationResponseHandler();
+        op.setOperationResponseHandler(this);
+        operationService.onStartAsyncOperation(op);
+    }
+
+    /**
+     * Called by the operation runner with the response of the operation.
+     */
+    @Override
+    public void sendResponse(Operation operation, Object runnerResponse) {
+        synchronized (this) {
+            if (responseSent) {
+                // the store has already failed and the failure was sent
+                return;
+            }
+            if (!stored) {
+                response = runnerResponse;
+                return;
+            }
+            responseSent = true;
+        }
+        forward(runnerResponse);
+    }
+
+    @Override
+    public void onResponse(Long lastSequence) {
+        Object pendingResponse;
+        synchronized (this) {
+            stored = true;
+            if (response == null) {
+                return;
+            }
+            pendingResponse = response;
+            response = null;
+            responseSent = true;
+        }
+        forward(pendingResponse);
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+        synchronized (this) {
+            if (responseSent) {
+                return;
+            }
+            response = null;
+            responseSent = true;
+        }
+        forward(t);
+    }
+
+    /**
+     * Restores the original response handler and stops tracking the operation.
+     * Used when adding the items failed and the operation runner responds with the exception.
+     */
+    void cancel() {
+        op.setOperationResponseHandler(originalResponseHandler);
+        operationService.onCompletionAsyncOperation(op);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forward(Object value) {
+        try {
+            originalResponseHandler.sendResponse(op, value);
+        } finally {
+            operationService.onCompletionAsyncOperation(op);
+        }
+    }
+}
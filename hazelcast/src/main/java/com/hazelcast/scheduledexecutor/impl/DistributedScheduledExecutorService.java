@@ -22,21 +22,26 @@ import com.hazelcast.core.MembershipAdapter;
 import com.hazelcast.core.MembershipEvent;
 import com.hazelcast.partition.PartitionLostEvent;
 import com.hazelcast.partition.PartitionLostListener;
+import com.hazelcast.scheduledexecutor.impl.operations.AdvanceTimingWheelOperation;
 import com.hazelcast.spi.ManagedService;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.impl.executionservice.InternalExecutionService;
 import com.hazelcast.spi.partition.MigrationEndpoint;
+import com.hazelcast.util.Clock;
 
 import java.util.Properties;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.util.ExceptionUtil.peel;
@@ -72,6 +77,14 @@ public class DistributedScheduledExecutorService
 
     private String membershipListenerRegistration;
 
+    private ScheduledFuture<?> timingWheelTicker;
+
+    /**
+     * The partitions whose timing wheel holds tasks. Tasks are only scheduled on the wheels of the owned partitions
+     * and the wheel of a partition migrated away is cleared, so only owned partitions are ticked.
+     */
+    private final Set<Integer> activeTimingWheels = newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
     public DistributedScheduledExecutorService() {
     }
 
@@ -117,14 +130,23 @@ public class DistributedScheduledExecutorService
             if (partitions[partitionId] != null) {
                 partitions[partitionId].destroy();
             }
-            partitions[partitionId] = new ScheduledExecutorPartition(nodeEngine, partitionId);
+            partitions[partitionId] = new ScheduledExecutorPartition(nodeEngine, this, partitionId);
         }
+
+        timingWheelTicker = nodeEngine.getExecutionService().scheduleWithRepetition(new TimingWheelTicker(),
+                ScheduledTaskTimingWheel.TICK_MILLIS, ScheduledTaskTimingWheel.TICK_MILLIS, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void shutdown(boolean terminate) {
         shutdownExecutors.clear();
 
+        if (timingWheelTicker != null) {
+            timingWheelTicker.cancel(false);
+            timingWheelTicker = null;
+        }
+        activeTimingWheels.clear();
+
         if (memberBin != null) {
             memberBin.destroy();
         }
@@ -185,6 +207,10 @@ public class DistributedScheduledExecutorService
     public void commitMigration(PartitionMigrationEvent event) {
         int partitionId = event.getPartitionId();
         if (event.getMigrationEndpoint() == MigrationEndpoint.SOURCE) {
+            if (event.getCurrentReplicaIndex() == 0) {
+                // the tasks were stopped when the migration was prepared, the new owner schedules them again
+                partitions[partitionId].clearTimingWheel();
+            }
             discardStash(partitionId, event.getNewReplicaIndex());
         } else if (event.getNewReplicaIndex() == 0) {
             ScheduledExecutorPartition partition = partitions[partitionId];
@@ -281,4 +307,38 @@ public class DistributedScheduledExecutorService
 
         this.membershipListenerRegistration = null;
     }
+
+    void activateTimingWheel(int partitionId) {
+        activeTimingWheels.add(partitionId);
+    }
+
+    void deactivateTimingWheel(int partitionId) {
+        activeTimingWheels.remove(partitionId);
+    }
+
+    /**
+     * Sends an {@link AdvanceTimingWheelOperation} to every partition whose timing wheel holds tasks and has due or
+     * cancelled tasks.
+     */
+    private final class TimingWheelTicker implements Runnable {
+
+        @Override
+        public void run() {
+            OperationService operationService = nodeEngine.getOperationService();
+            long now = Clock.currentTimeMillis();
+            for (int partitionId : activeTimingWheels) {
+                ScheduledExecutorPartition partition = partitions[partitionId];
+                if (partition == null || !partition.tryScheduleTimingWheelAdvance(now)) {
+                    continue;
+                }
+                Operation op = new AdvanceTimingWheelOperation()
+                        .setNodeEngine(nodeEngine)
+                        .setCallerUuid(nodeEngine.getLocalMember().getUuid())
+                        .setPartitionId(partitionId)
+                        .setValidateTarget(false)
+                        .setServiceName(SERVICE_NAME);
+                operationService.execute(op);
+            }
+        }
+    }
 }
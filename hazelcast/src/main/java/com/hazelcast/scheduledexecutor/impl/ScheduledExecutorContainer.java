@@ -64,13 +64,26 @@ public class ScheduledExecutorContainer {
 
     private final int capacity;
 
+    /**
+     * The timing wheel of the partition, {@code null} for member owned containers whose tasks are scheduled
+     * on the scheduler of the execution service.
+     */
+    private final ScheduledTaskTimingWheel timingWheel;
+
     ScheduledExecutorContainer(String name, int partitionId, NodeEngine nodeEngine,
-                                      int durability, int capacity) {
-        this(name, partitionId, nodeEngine, durability, capacity, new ConcurrentHashMap<String, ScheduledTaskDescriptor>());
+                                      int durability, int capacity, ScheduledTaskTimingWheel timingWheel) {
+        this(name, partitionId, nodeEngine, durability, capacity, new ConcurrentHashMap<String, ScheduledTaskDescriptor>(),
+                timingWheel);
     }
 
     ScheduledExecutorContainer(String name, int partitionId, NodeEngine nodeEngine,
                                       int durability, int capacity, ConcurrentMap<String, ScheduledTaskDescriptor> tasks) {
+        this(name, partitionId, nodeEngine, durability, capacity, tasks, null);
+    }
+
+    private ScheduledExecutorContainer(String name, int partitionId, NodeEngine nodeEngine, int durability, int capacity,
+                                       ConcurrentMap<String, ScheduledTaskDescriptor> tasks,
+                                       ScheduledTaskTimingWheel timingWheel) {
         this.logger = nodeEngine.getLogger(getClass());
         this.name = name;
         this.nodeEngine = nodeEngine;
@@ -79,6 +92,7 @@ public class ScheduledExecutorContainer {
         this.durability = durability;
         this.capacity = capacity;
         this.tasks = tasks;
+        this.timingWheel = timingWheel;
     }
 
     public ScheduledFuture schedule(TaskDefinition definition) {
@@ -340,6 +354,34 @@ public class ScheduledExecutorContainer {
 
     private <V> void doSchedule(ScheduledTaskDescriptor descriptor) {
         assert descriptor.getScheduledFuture() == null;
+
+        ScheduledFuture future = timingWheel != null
+                ? this.<V>scheduleOnTimingWheel(descriptor)
+                : this.<V>scheduleOnExecutionService(descriptor);
+
+        descriptor.setTaskOwner(true);
+        descriptor.setScheduledFuture(future);
+    }
+
+    private <V> ScheduledFuture scheduleOnTimingWheel(ScheduledTaskDescriptor descriptor) {
+        TaskDefinition definition = descriptor.getDefinition();
+        long period;
+        switch (definition.getType()) {
+            case SINGLE_RUN:
+                period = 0;
+                break;
+            case AT_FIXED_RATE:
+                period = definition.getPeriod();
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
+        TaskRunner<V> runner = new TaskRunner<V>(descriptor);
+        return timingWheel.schedule(runner, executionService.getScheduledDurable(name),
+                definition.getInitialDelay(), period, definition.getUnit());
+    }
+
+    private <V> ScheduledFuture scheduleOnExecutionService(ScheduledTaskDescriptor descriptor) {
         TaskDefinition definition = descriptor.getDefinition();
 
         ScheduledFuture future;
@@ -360,9 +402,7 @@ public class ScheduledExecutorContainer {
             default:
                 throw new IllegalArgumentException();
         }
-
-        descriptor.setTaskOwner(true);
-        descriptor.setScheduledFuture(future);
+        return future;
     }
 
     private void checkNotStaleTask(String taskName) {
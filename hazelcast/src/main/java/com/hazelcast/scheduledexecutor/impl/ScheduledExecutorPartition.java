@@ -21,11 +21,13 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.scheduledexecutor.impl.operations.ReplicationOperation;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
+import com.hazelcast.util.Clock;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ScheduledExecutorPartition extends AbstractScheduledExecutorContainerHolder {
 
@@ -33,6 +35,12 @@ public class ScheduledExecutorPartition extends AbstractScheduledExecutorContain
 
     private final int partitionId;
 
+    private final DistributedScheduledExecutorService service;
+
+    private final ScheduledTaskTimingWheel timingWheel;
+
+    private final AtomicBoolean timingWheelAdvancePending = new AtomicBoolean();
+
     private final ConstructorFunction<String, ScheduledExecutorContainer> containerConstructorFunction =
             new ConstructorFunction<String, ScheduledExecutorContainer>() {
                 @Override
@@ -44,14 +52,22 @@ public class ScheduledExecutorPartition extends AbstractScheduledExecutorContain
 
                     ScheduledExecutorConfig config = nodeEngine.getConfig().findScheduledExecutorConfig(name);
                     return new ScheduledExecutorContainer(name, partitionId, nodeEngine,
-                            config.getDurability(), config.getCapacity());
+                            config.getDurability(), config.getCapacity(), timingWheel);
                 }
             };
 
-    public ScheduledExecutorPartition(NodeEngine nodeEngine, int partitionId) {
+    public ScheduledExecutorPartition(NodeEngine nodeEngine, DistributedScheduledExecutorService service,
+                                      final int partitionId) {
         super(nodeEngine);
         this.logger = nodeEngine.getLogger(getClass());
         this.partitionId = partitionId;
+        this.service = service;
+        this.timingWheel = new ScheduledTaskTimingWheel(new Runnable() {
+            @Override
+            public void run() {
+                ScheduledExecutorPartition.this.service.activateTimingWheel(partitionId);
+            }
+        });
     }
 
     public Operation prepareReplicationOperation(int replicaIndex, boolean migrationMode) {
@@ -102,6 +118,51 @@ public class ScheduledExecutorPartition extends AbstractScheduledExecutorContain
         }
     }
 
+    /**
+     * Hands the due tasks of the partition to their executors. Must be called on the partition thread.
+     *
+     * @return the number of tasks handed to the executors
+     */
+    public int advanceTimingWheel() {
+        try {
+            int fired = timingWheel.advance(Clock.currentTimeMillis());
+            if (timingWheel.size() == 0 && !timingWheel.hasCancelled()) {
+                service.deactivateTimingWheel(partitionId);
+            }
+            return fired;
+        } finally {
+            timingWheelAdvancePending.set(false);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the timing wheel has due tasks or cancelled tasks to remove and no advance of the wheel
+     * is pending. In this case the advance is marked as pending until {@link #advanceTimingWheel()} is called.
+     */
+    boolean tryScheduleTimingWheelAdvance(long now) {
+        if (timingWheel.getNextDueMillis() > now && !timingWheel.hasCancelled()) {
+            return false;
+        }
+        return timingWheelAdvancePending.compareAndSet(false, true);
+    }
+
+    /**
+     * Drops all tasks of the timing wheel, used when this member does not own the partition anymore. The wheel is
+     * no longer ticked until a task is scheduled on it again. Must be called on the partition thread.
+     */
+    public void clearTimingWheel() {
+        try {
+            timingWheel.clear();
+            service.deactivateTimingWheel(partitionId);
+        } finally {
+            timingWheelAdvancePending.set(false);
+        }
+    }
+
+    public void cancelTimingWheelAdvance() {
+        timingWheelAdvancePending.set(false);
+    }
+
     void promoteStash() {
         if (logger.isFinestEnabled()) {
             logger.finest("[Partition: " + partitionId + "] " + "Promote stashes");
@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.scheduledexecutor.impl;
+
+import com.hazelcast.util.Clock;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hierarchical timing wheel holding the scheduled tasks of a partition.
+ * <p>
+ * Time is divided in ticks of {@link #TICK_MILLIS}. The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots each,
+ * a slot of level {@code n} covers {@code SLOTS^n} ticks. A task is inserted into the lowest level whose range covers
+ * its deadline, and when the wheel reaches a slot of a higher level, the tasks of this slot are cascaded into the
+ * lower levels. Every slot is a doubly linked list, so inserting and removing a task is O(1). An occupancy bitmap
+ * per level allows finding the next tick with work without visiting the empty slots.
+ * <p>
+ * The wheel is only accessed by the partition thread, apart from {@link #getNextDueMillis()} and the cancellation of
+ * tasks, which can happen on any thread. Cancelled tasks are queued and unlinked by the partition thread on its next
+ * access. Due tasks are not run on the partition thread but handed to the executor they were scheduled with.
+ * <p>
+ * The activation listener is notified when a task is scheduled on an empty wheel, so only the wheels holding tasks
+ * have to be ticked.
+ */
+class ScheduledTaskTimingWheel {
+
+    /**
+     * The duration of a tick. Tasks run at most one tick after their deadline.
+     */
+    static final long TICK_MILLIS = 10;
+
+    static final int LEVELS = 5;
+
+    static final int SLOTS_BITS = 6;
+
+    static final int SLOTS = 1 << SLOTS_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final long MAX_TICKS = 1L << (SLOTS_BITS * LEVELS);
+
+    // the slots are created on first use, most partitions only ever use a few of them
+    private final Slot[][] slots = new Slot[LEVELS][SLOTS];
+    private final long[] occupancy = new long[LEVELS];
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<Timeout>();
+    private final Runnable activationListener;
+
+    // the next tick to process
+    private long nextTick;
+    private int size;
+    private volatile long nextDueMillis = Long.MAX_VALUE;
+
+    ScheduledTaskTimingWheel() {
+        this(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    /**
+     * @param activationListener notified on the partition thread when a task is scheduled on the empty wheel
+     */
+    ScheduledTaskTimingWheel(Runnable activationListener) {
+        this.activationListener = activationListener;
+        this.nextTick = toTick(Clock.currentTimeMillis());
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task     the task
+     * @param executor the executor which runs the task once it is due
+     * @param delay    the delay of the first run
+     * @param period   the period between the runs or {@code 0} for a task running once
+     * @param unit     the unit of the delay and the period
+     * @param <V>      the result type of the task
+     * @return the future of the task
+     */
+    <V> Timeout<V> schedule(Callable<V> task, Executor executor, long delay, long period, TimeUnit unit) {
+        purgeCancelled();
+        long now = Clock.currentTimeMillis();
+        boolean wasEmpty = size == 0;
+        if (wasEmpty) {
+            // nothing to process in between, skip the ticks elapsed since the last access
+            nextTick = Math.max(nextTick, now / TICK_MILLIS);
+        }
+        long deadline = now + unit.toMillis(delay);
+        Timeout<V> timeout = new Timeout<V>(this, task, executor, deadline, unit.toMillis(period));
+        insert(timeout);
+        updateNextDue();
+        if (wasEmpty) {
+            activationListener.run();
+        }
+        return timeout;
+    }
+
+    /**
+     * Hands all tasks which are due at the given time to their executors and schedules the next run of periodic tasks.
+     *
+     * @param now the current time in milliseconds
+     * @return the number of tasks handed to the executors
+     */
+    int advance(long now) {
+        purgeCancelled();
+        long nowTick = now / TICK_MILLIS;
+        int fired = 0;
+        while (size > 0) {
+            long tick = nextEventTick();
+            if (tick > nowTick) {
+                break;
+            }
+            fired += processTick(tick, now);
+        }
+        if (nextTick <= nowTick) {
+            nextTick = nowTick + 1;
+        }
+        updateNextDue();
+        return fired;
+    }
+
+    /**
+     * Returns the time at which the wheel has the next work to do, or {@link Long#MAX_VALUE} if it is empty. This is
+     * either the deadline of a task or the time a slot is cascaded into the lower levels.
+     */
+    long getNextDueMillis() {
+        return nextDueMillis;
+    }
+
+    boolean hasCancelled() {
+        return !cancelled.isEmpty();
+    }
+
+    /**
+     * Cancels and removes all tasks, used when the partition is no longer owned by this member. The new owner
+     * schedules the tasks again from their replicated descriptors.
+     */
+    void clear() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int index = 0; index < SLOTS; index++) {
+                Timeout head = detach(level, index);
+                while (head != null) {
+                    Timeout timeout = head;
+                    head = head.next;
+                    timeout.next = null;
+                    timeout.cancel(false);
+                }
+            }
+        }
+        cancelled.clear();
+        updateNextDue();
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int processTick(long tick, long now) {
+        // the ticks in between have no work, the cascaded tasks are inserted relative to this tick
+        nextTick = tick;
+        for (int level = 1; level < LEVELS; level++) {
+            if ((tick & ((1L << (SLOTS_BITS * level)) - 1)) != 0) {
+                break;
+            }
+            cascade(level, slotIndex(tick, level));
+        }
+
+        int index = (int) (tick & SLOT_MASK);
+        Timeout head = detach(0, index);
+        nextTick = tick + 1;
+        int fired = 0;
+        while (head != null) {
+            Timeout timeout = head;
+            head = head.next;
+            timeout.next = null;
+            if (fire(timeout, now)) {
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    private boolean fire(Timeout timeout, long now) {
+        if (timeout.isDone()) {
+            return false;
+        }
+        if (timeout.period > 0) {
+            // runs missed while the previous run was still in progress are skipped
+            long deadline = timeout.deadline + timeout.period;
+            if (deadline <= now) {
+                deadline = now + timeout.period - (now - deadline) % timeout.period;
+            }
+            timeout.deadline = deadline;
+            insert(timeout);
+        }
+        return timeout.dispatch();
+    }
+
+    private void cascade(int level, int index) {
+        Timeout head = detach(level, index);
+        while (head != null) {
+            Timeout timeout = head;
+            head = head.next;
+            timeout.next = null;
+            insert(timeout);
+        }
+    }
+
+    private void insert(Timeout timeout) {
+        long tick = Math.max(toTick(timeout.deadline), nextTick);
+        long ticks = tick - nextTick;
+        if (ticks >= MAX_TICKS) {
+            tick = nextTick + MAX_TICKS - 1;
+            ticks = MAX_TICKS - 1;
+        }
+        int level = 0;
+        while (ticks >= 1L << (SLOTS_BITS * (level + 1))) {
+            level++;
+        }
+        int index = slotIndex(tick, level);
+        Slot slot = slots[level][index];
+        if (slot == null) {
+            slot = new Slot();
+            slots[level][index] = slot;
+        }
+        slot.add(timeout);
+        occupancy[level] |= 1L << index;
+        timeout.level = level;
+        timeout.index = index;
+        size++;
+    }
+
+    private void remove(Timeout timeout) {
+        Slot slot = slots[timeout.level][timeout.index];
+        slot.remove(timeout);
+        if (slot.head == null) {
+            occupancy[timeout.level] &= ~(1L << timeout.index);
+        }
+        size--;
+    }
+
+    private Timeout detach(int level, int index) {
+        Slot slot = slots[level][index];
+        if (slot == null) {
+            return null;
+        }
+        Timeout head = slot.head;
+        for (Timeout timeout = head; timeout != null; timeout = timeout.next) {
+            timeout.slot = null;
+            timeout.prev = null;
+            size--;
+        }
+        slot.head = null;
+        slot.tail = null;
+        occupancy[level] &= ~(1L << index);
+        return head;
+    }
+
+    /**
+     * Returns the next tick at which a task is due or a slot has to be cascaded.
+     */
+    private long nextEventTick() {
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            long mask = occupancy[level];
+            if (mask == 0) {
+                continue;
+            }
+            int shift = SLOTS_BITS * level;
+            long position = nextTick >> shift;
+            boolean aligned = (nextTick & ((1L << shift) - 1)) == 0;
+            long first = aligned ? position : position + 1;
+            long rotated = Long.rotateRight(mask, (int) (first & SLOT_MASK));
+            long tick = (first + Long.numberOfTrailingZeros(rotated)) << shift;
+            next = Math.min(next, tick);
+        }
+        return next;
+    }
+
+    private void updateNextDue() {
+        nextDueMillis = size == 0 ? Long.MAX_VALUE : nextEventTick() * TICK_MILLIS;
+    }
+
+    void purgeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot != null) {
+                remove(timeout);
+            }
+        }
+        updateNextDue();
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >> (SLOTS_BITS * level)) & SLOT_MASK);
+    }
+
+    private static long toTick(long millis) {
+        return (millis + TICK_MILLIS - 1) / TICK_MILLIS;
+    }
+
+    /**
+     * A slot of the wheel, a doubly linked list of timeouts.
+     */
+    private static final class Slot {
+        Timeout head;
+        Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+
+    /**
+     * A task scheduled in the wheel and its future. Periodic tasks stay in the wheel until they are cancelled or
+     * a run fails. A run which is due while the previous run is still in progress is skipped.
+     *
+     * @param <V> the result type of the task
+     */
+    static final class Timeout<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        // the wheel fields are only accessed by the partition thread
+        Slot slot;
+        Timeout prev;
+        Timeout next;
+        int level;
+        int index;
+
+        private final ScheduledTaskTimingWheel wheel;
+        private final Executor executor;
+        private final long period;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile long deadline;
+
+        Timeout(ScheduledTaskTimingWheel wheel, Callable<V> task, Executor executor, long deadline, long period) {
+            super(task);
+            this.wheel = wheel;
+            this.executor = executor;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (period == 0) {
+                    super.run();
+                } else {
+                    runAndReset();
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                wheel.cancelled.offer(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - Clock.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            long diff = getDelay(TimeUnit.MILLISECONDS) - o.getDelay(TimeUnit.MILLISECONDS);
+            return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+        }
+
+        private boolean dispatch() {
+            if (!running.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                executor.execute(this);
+                return true;
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                setException(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.scheduledexecutor.impl.operations;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.scheduledexecutor.impl.DistributedScheduledExecutorService;
+import com.hazelcast.scheduledexecutor.impl.ScheduledExecutorPartition;
+import com.hazelcast.spi.AbstractLocalOperation;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.PartitionAwareOperation;
+
+/**
+ * Hands the due tasks of a partition to their executors. Runs on the partition thread, so the timing wheel of the
+ * partition is never accessed concurrently with scheduling, cancellation or migration of its tasks. Tasks are only
+ * handed out while this member owns the partition, otherwise the wheel is cleared since the new owner schedules the
+ * tasks again.
+ */
+public class AdvanceTimingWheelOperation extends AbstractLocalOperation implements PartitionAwareOperation {
+
+    @Override
+    public void run() throws Exception {
+        DistributedScheduledExecutorService service = getService();
+        ScheduledExecutorPartition partition = service.getPartition(getPartitionId());
+        if (isOwner()) {
+            partition.advanceTimingWheel();
+        } else {
+            partition.clearTimingWheel();
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Throwable e) {
+        try {
+            super.onExecutionFailure(e);
+        } finally {
+            DistributedScheduledExecutorService service = getService();
+            service.getPartition(getPartitionId()).cancelTimingWheelAdvance();
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public String getServiceName() {
+        return DistributedScheduledExecutorService.SERVICE_NAME;
+    }
+
+    private boolean isOwner() {
+        NodeEngine nodeEngine = getNodeEngine();
+        Address owner = nodeEngine.getPartitionService().getPartitionOwner(getPartitionId());
+        return nodeEngine.getThisAddress().equals(owner);
+    }
+}
@@ -84,6 +84,11 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor that writes the items queued by write-behind {@link com.hazelcast.core.RingbufferStore}s.
+     */
+    String RINGBUFFER_STORE_EXECUTOR = "hz:ringbuffer-store";
+
     ManagedExecutorService register(String name, int poolSize, int queueCapacity, ExecutorType type);
 
     ManagedExecutorService getExecutor(String name);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.properties;
 
+import com.hazelcast.config.ExecutorConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.IndeterminateOperationStateException;
@@ -221,6 +222,15 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_LOAD_CHUNK_SIZE
             = new HazelcastProperty("hazelcast.map.load.chunk.size", 1000);
 
+    /**
+     * The maximum number of {@link com.hazelcast.core.MapLoader#loadAll(java.util.Collection)} calls a member runs
+     * in parallel for all its maps. The loaded batches are put into the record stores without blocking the loader
+     * threads, so the store calls and the inserts on the partition threads overlap. An executor config matching
+     * {@value com.hazelcast.spi.ExecutionService#MAP_LOADER_EXECUTOR} overrides this property.
+     */
+    public static final HazelcastProperty MAP_LOAD_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.load.parallelism", ExecutorConfig.DEFAULT_POOL_SIZE);
+
     /**
      * The delay until the first run of the {@link com.hazelcast.internal.cluster.impl.SplitBrainHandler}
      */
@@ -487,6 +497,35 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_EXPIRY_DELAY_SECONDS
             = new HazelcastProperty("hazelcast.map.expiry.delay.seconds", 10, SECONDS);
 
+    /**
+     * Depth of the Merkle trees maintained per map partition over the map entries. The trees are used to find
+     * the differing key ranges when a map is synchronized with a WAN target cluster, so that only those ranges
+     * are transferred. Each tree has {@code 2^(depth-1)} leaves. A value of {@code 0} disables the trees.
+     * <p>
+     * With the trees enabled, the backup replicas are also synchronized by sending only the entries of the differing
+     * leaves, so it should only be enabled when all members of the cluster support this sync.
+     */
+    public static final HazelcastProperty MAP_MERKLE_TREE_DEPTH
+            = new HazelcastProperty("hazelcast.map.merkle.tree.depth", 0);
+
+    /**
+     * Maximum number of replicated map updates sent to another member in a single batch. The updates done on the
+     * partition owner are queued per target member and sent when the batch is full or when
+     * {@link #REPLICATED_MAP_REPLICATION_DELAY_MILLIS} has passed. A value of {@code 1} or less disables batching
+     * and every update is sent to every member on its own, which is the default. Batching lowers the number of
+     * replication operations under heavy write load, but delays the updates on the other members by up to the
+     * replication delay, so it has to be enabled explicitly, e.g. with a value of {@code 100}.
+     */
+    public static final HazelcastProperty REPLICATED_MAP_REPLICATION_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.replicatedmap.replication.batch.size", 1);
+
+    /**
+     * Interval in milliseconds at which the queued replicated map updates are sent to the other members, even if
+     * the batch is not full yet.
+     */
+    public static final HazelcastProperty REPLICATED_MAP_REPLICATION_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.replicatedmap.replication.delay.millis", 5, MILLISECONDS);
+
     public static final HazelcastProperty LOGGING_TYPE
             = new HazelcastProperty("hazelcast.logging.type", "jdk");
 
@@ -582,6 +621,18 @@ public final class GroupProperty {
     public static final HazelcastProperty LOCK_MAX_LEASE_TIME_SECONDS
             = new HazelcastProperty("hazelcast.lock.max.lease.time.seconds", Long.MAX_VALUE, SECONDS);
 
+    /**
+     * The lease of the {@link com.hazelcast.core.ILock}s cached by the member which acquired them.
+     *
+     * When enabled, an unlocked {@link com.hazelcast.core.ILock} stays held on its partition owner by the thread
+     * which acquired it, so that thread locks it again without a round trip. The partition owner revokes the
+     * cached lock as soon as another caller contends for it; a cached lock which stays idle for the lease is
+     * released. Only locks acquired without a lease time are cached. Since the partition owner is the one which
+     * revokes cached locks, the same value must be used on all members. {@code 0} disables the local lock cache.
+     */
+    public static final HazelcastProperty LOCK_LOCAL_CACHE_LEASE_MILLIS
+            = new HazelcastProperty("hazelcast.lock.local.cache.lease.millis", 0, MILLISECONDS);
+
     public static final HazelcastProperty ENTERPRISE_LICENSE_KEY
             = new HazelcastProperty("hazelcast.enterprise.license.key");
 
@@ -902,6 +953,48 @@ public final class GroupProperty {
     public static final HazelcastProperty TASK_SCHEDULER_REMOVE_ON_CANCEL =
             new HazelcastProperty("hazelcast.executionservice.taskscheduler.remove.oncancel", false);
 
+    /**
+     * Directory in which ringbuffers spill the items evicted from their in-memory window. When set, the items
+     * overwritten at the head of a ringbuffer are appended to memory-mapped segment files under this directory
+     * and remain readable until the oldest segment is discarded. This also applies to the ringbuffers backing
+     * reliable topics and event journals. Ringbuffers with a {@link com.hazelcast.core.RingbufferStore} or a
+     * time-to-live are never tiered. The disk tier is local to the member and is not replicated or migrated.
+     * Disabled when empty.
+     */
+    public static final HazelcastProperty RINGBUFFER_DISK_TIER_DIRECTORY
+            = new HazelcastProperty("hazelcast.ringbuffer.disk.tier.directory", "");
+
+    /**
+     * Size in bytes of a single memory-mapped segment file of the ringbuffer disk tier.
+     */
+    public static final HazelcastProperty RINGBUFFER_DISK_TIER_SEGMENT_SIZE
+            = new HazelcastProperty("hazelcast.ringbuffer.disk.tier.segment.size", 64 * 1024 * 1024);
+
+    /**
+     * Maximum number of segment files kept per ringbuffer by the disk tier. When a new segment is started and
+     * the limit is exceeded, the oldest segment is deleted together with the items it contains.
+     */
+    public static final HazelcastProperty RINGBUFFER_DISK_TIER_MAX_SEGMENTS
+            = new HazelcastProperty("hazelcast.ringbuffer.disk.tier.max.segments", 16);
+
+    /**
+     * Period in milliseconds in which every member sends the state of its PN counters to the other members.
+     * A shorter period makes the increments of a member visible sooner on the other members, at the cost of
+     * more network traffic. The increments a member made since the last replication are lost if it crashes.
+     */
+    public static final HazelcastProperty PN_COUNTER_REPLICATION_PERIOD_MILLIS
+            = new HazelcastProperty("hazelcast.pncounter.replication.period.millis", 1000, MILLISECONDS);
+
+    /**
+     * Window in milliseconds in which a member buffers the elements added to a
+     * {@link com.hazelcast.cardinality.CardinalityEstimator} through it. The elements are aggregated into a local
+     * HyperLogLog and only its registers are sent to the estimator, once per window, instead of one operation per
+     * element. An estimate made through the same member includes its buffered elements, the estimates made through
+     * other members and clients include them after the window. Disabled when 0, which is the default.
+     */
+    public static final HazelcastProperty CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS
+            = new HazelcastProperty("hazelcast.cardinality.estimator.buffer.window.millis", 0, MILLISECONDS);
+
     private GroupProperty() {
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic;
+
+/**
+ * A {@link ReliableMessageListener} which tracks its sequence per shard of a sharded reliable topic.
+ *
+ * A reliable topic configured with a {@link com.hazelcast.config.ReliableTopicConfig#setShardCount(int) shard count}
+ * larger than 1 is backed by multiple ringbuffers, so the position of a listener is given by one sequence per shard.
+ * If a ShardedReliableMessageListener is registered on such a topic, {@link #retrieveInitialSequence(int)} and
+ * {@link #storeSequence(int, long)} are called instead of {@link #retrieveInitialSequence()} and
+ * {@link #storeSequence(long)}, which makes it possible to create a durable subscription on a sharded topic.
+ *
+ * A plain ReliableMessageListener registered on a sharded topic has to start from the next published message, i.e.
+ * {@link #retrieveInitialSequence()} has to return -1, and {@link #storeSequence(long)} is not called on it, since
+ * a single sequence can't describe the position in all shards.
+ *
+ * The messages of a single shard are received in order, the messages of different shards are interleaved. The
+ * listener is never called concurrently.
+ *
+ * @param <E>
+ */
+public interface ShardedReliableMessageListener<E> extends ReliableMessageListener<E> {
+
+    /**
+     * Retrieves the initial sequence from which this listener should start reading the given shard.
+     *
+     * Return -1 if you want to start from the next message published to the shard.
+     *
+     * @param shard the index of the shard
+     * @return the initial sequence
+     */
+    long retrieveInitialSequence(int shard);
+
+    /**
+     * Informs the listener that it should store the sequence of the given shard. This method is called before the
+     * message is processed.
+     *
+     * @param shard    the index of the shard
+     * @param sequence the sequence
+     */
+    void storeSequence(int shard, long sequence);
+}
@@ -31,6 +31,7 @@ import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.topic.ReliableMessageListener;
 
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * An {@link com.hazelcast.core.ExecutionCallback} that will try to read an item from the ringbuffer or blocks
@@ -38,8 +39,17 @@ import com.hazelcast.topic.ReliableMessageListener;
  * a self-perpetuating stream of async calls.
  * <p/>
  * The ReliableTopicRunner keeps track of the sequence.
+ * <p/>
+ * A runner of a listener which starts listening from the tail of the topic does not read on its own, it subscribes
+ * to the {@link ReliableTopicReader} of the proxy which reads the batches once for all such runners on this member and
+ * {@link #deliver(ReliableTopicMessage[], long) delivers} them to every runner. A runner of a listener which starts
+ * from a given sequence reads on its own since it may be far behind the other runners.
+ * <p/>
+ * On a sharded topic every listener has one runner per shard, the runners of a listener form a
+ * {@link ShardedListenerGroup}.
  */
-class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>>,
+        ShardedListenerGroup.Runner {
 
     final ReliableMessageListener<E> listener;
     private final Ringbuffer<ReliableTopicMessage> ringbuffer;
@@ -49,6 +59,8 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
     private final ILogger logger;
     private final String id;
     private final ReliableTopicProxy<E> proxy;
+    private final ReliableTopicReader reader;
+    private final ShardedListenerGroup<E> group;
 
     private long sequence;
     private volatile boolean cancelled;
@@ -57,10 +69,19 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
     public ReliableMessageListenerRunner(String id,
                                          ReliableMessageListener<E> listener,
                                          ReliableTopicProxy<E> proxy) {
+        this(id, listener, proxy, 0, null);
+    }
+
+    ReliableMessageListenerRunner(String id,
+                                  ReliableMessageListener<E> listener,
+                                  ReliableTopicProxy<E> proxy,
+                                  int shard,
+                                  ShardedListenerGroup<E> group) {
         this.id = id;
         this.listener = listener;
         this.proxy = proxy;
-        this.ringbuffer = proxy.ringbuffer;
+        this.group = group;
+        this.ringbuffer = proxy.shards[shard];
         this.topicName = proxy.getName();
         NodeEngine nodeEngine = proxy.getNodeEngine();
         this.serializationService = nodeEngine.getSerializationService();
@@ -72,10 +93,29 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         long initialSequence = listener.retrieveInitialSequence();
         if (initialSequence == -1) {
             initialSequence = ringbuffer.tailSequence() + 1;
+            this.reader = proxy.readers[shard];
+        } else {
+            this.reader = null;
         }
         this.sequence = initialSequence;
     }
 
+    /**
+     * Starts the runner, either by subscribing to the shared reader or by reading on its own.
+     */
+    @Override
+    public void start() {
+        if (reader != null) {
+            reader.subscribe(this);
+        } else {
+            next();
+        }
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
     void next() {
         if (cancelled) {
             return;
@@ -88,13 +128,64 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
     // This method is called from the provided executor.
     @Override
     public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+        if (processBatch(toMessages(result), sequence)) {
+            next();
+        }
+    }
+
+    /**
+     * Processes a batch read by the shared {@link ReliableTopicReader} on the provided executor.
+     *
+     * @param messages      the messages of the batch
+     * @param firstSequence the sequence of the first message of the batch
+     */
+    void deliver(final ReliableTopicMessage[] messages, final long firstSequence) {
+        try {
+            proxy.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        processBatch(messages, firstSequence);
+                    } finally {
+                        reader.batchProcessed();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reader.batchProcessed();
+            handleFailure(e);
+        }
+    }
+
+    static ReliableTopicMessage[] toMessages(ReadResultSet<ReliableTopicMessage> result) {
+        ReliableTopicMessage[] messages = new ReliableTopicMessage[result.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = result.get(i);
+        }
+        return messages;
+    }
+
+    /**
+     * Processes the messages of a batch which are not older than the current sequence.
+     *
+     * @return {@code true} if the runner should continue, {@code false} if it has been cancelled
+     */
+    private boolean processBatch(ReliableTopicMessage[] messages, long firstSequence) {
         // we process all messages in batch. So we don't release the thread and reschedule ourselves;
         // but we'll process whatever was received in 1 go.
-        for (Object item : result) {
-            ReliableTopicMessage message = (ReliableTopicMessage) item;
+        for (int i = 0; i < messages.length; i++) {
+            long messageSequence = firstSequence + i;
+            if (messageSequence < sequence) {
+                // the runner subscribed to the shared reader after this message was published
+                continue;
+            }
+            ReliableTopicMessage message = messages[i];
 
             if (cancelled) {
-                return;
+                return false;
+            }
+            if (messageSequence > sequence && !skipTo(messageSequence)) {
+                return false;
             }
 
             try {
@@ -103,14 +194,38 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
             } catch (Throwable t) {
                 if (terminate(t)) {
                     cancel();
-                    return;
+                    return false;
                 }
             }
 
             sequence++;
         }
+        return true;
+    }
 
-        next();
+    /**
+     * Skips the messages up to the given sequence, e.g. when the shared reader ran into a stale sequence and
+     * continued from the head. A listener which is not loss tolerant is terminated, just like a runner reading on its
+     * own which runs into a {@link StaleSequenceException}.
+     *
+     * @param messageSequence the sequence of the next message to process
+     * @return {@code true} if the runner continues from the given sequence, {@code false} if it has been cancelled
+     */
+    private boolean skipTo(long messageSequence) {
+        if (listener.isLossTolerant()) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("MessageListener " + listener + " on topic: " + topicName + " missed messages. "
+                        + "Jumping from oldSequence: " + sequence + " to sequence: " + messageSequence);
+            }
+            sequence = messageSequence;
+            return true;
+        }
+
+        logger.warning("Terminating MessageListener:" + listener + " on topic: " + topicName + ". "
+                + "Reason: The listener was too slow or the retention period of the message has been violated. "
+                + "head: " + messageSequence + " sequence:" + sequence);
+        cancel();
+        return false;
     }
 
     /**
@@ -134,8 +249,20 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
     // This method is called from the provided executor.
     @Override
     public void onFailure(Throwable t) {
+        if (handleFailure(t)) {
+            next();
+        }
+    }
+
+    /**
+     * Handles a failure to read the ringbuffer. If the runner can not continue, it is cancelled.
+     *
+     * @param t the failure
+     * @return {@code true} if the runner continues from the head of the ringbuffer, {@code false} otherwise
+     */
+    boolean handleFailure(Throwable t) {
         if (cancelled) {
-            return;
+            return false;
         }
 
         if (t instanceof StaleSequenceException) {
@@ -147,9 +274,11 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
                             + "Jumping from oldSequence: " + sequence
                             + " to sequence: " + staleSequenceException.getHeadSeq());
                 }
-                sequence = staleSequenceException.getHeadSeq();
-                next();
-                return;
+                if (reader == null) {
+                    // a runner using the shared reader jumps when it receives the next batch
+                    sequence = staleSequenceException.getHeadSeq();
+                }
+                return true;
             }
 
             logger.warning("Terminating MessageListener:" + listener + " on topic: " + topicName + ". "
@@ -171,11 +300,19 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         }
 
         cancel();
+        return false;
     }
 
-    void cancel() {
+    @Override
+    public void cancel() {
         cancelled = true;
         proxy.runnersMap.remove(id);
+        if (reader != null) {
+            reader.unsubscribe(this);
+        }
+        if (group != null) {
+            group.cancel();
+        }
     }
 
     private boolean terminate(Throwable failure) {
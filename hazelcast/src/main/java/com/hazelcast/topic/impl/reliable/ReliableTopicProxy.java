@@ -22,6 +22,7 @@ import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.MessageListener;
+import com.hazelcast.core.PartitionAware;
 import com.hazelcast.monitor.LocalTopicStats;
 import com.hazelcast.monitor.impl.LocalTopicStatsImpl;
 import com.hazelcast.nio.Address;
@@ -41,15 +42,21 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
-import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
+import static com.hazelcast.ringbuffer.impl.RingbufferService.getTopicRingbufferName;
 import static com.hazelcast.spi.ExecutionService.ASYNC_EXECUTOR;
 import static com.hazelcast.util.ExceptionUtil.peel;
+import static com.hazelcast.util.HashUtil.hashToIndex;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 
 /**
  * The serverside {@link com.hazelcast.core.ITopic} implementation for reliable topics.
+ * <p>
+ * If the topic is configured with a {@link ReliableTopicConfig#getShardCount() shard count} larger than 1, it is
+ * backed by that many ringbuffers. The first shard uses the ringbuffer of an unsharded topic, the ringbuffers of the
+ * other shards have the shard index appended to their name. A message is added to the shard selected by its key and
+ * every listener has a runner per shard.
  *
  * @param <E> type of item contained in the topic
  */
@@ -59,6 +66,8 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     public static final int INITIAL_BACKOFF_MS = 100;
 
     final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    final Ringbuffer<ReliableTopicMessage>[] shards;
+    final ReliableTopicReader[] readers;
     final Executor executor;
     final ConcurrentMap<String, ReliableMessageListenerRunner> runnersMap
             = new ConcurrentHashMap<String, ReliableMessageListenerRunner>();
@@ -75,6 +84,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     private final Address thisAddress;
     private final String name;
 
+    @SuppressWarnings("unchecked")
     public ReliableTopicProxy(String name, NodeEngine nodeEngine, ReliableTopicService service,
                               ReliableTopicConfig topicConfig) {
         super(nodeEngine, service);
@@ -82,11 +92,19 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         this.name = name;
         this.topicConfig = topicConfig;
         this.nodeEngine = nodeEngine;
-        this.ringbuffer = nodeEngine.getHazelcastInstance().getRingbuffer(TOPIC_RB_PREFIX + name);
+        this.shards = new Ringbuffer[topicConfig.getShardCount()];
+        this.readers = new ReliableTopicReader[shards.length];
+        for (int shard = 0; shard < shards.length; shard++) {
+            shards[shard] = nodeEngine.getHazelcastInstance().getRingbuffer(getTopicRingbufferName(name, shard));
+        }
+        this.ringbuffer = shards[0];
         this.executor = initExecutor(nodeEngine, topicConfig);
         this.thisAddress = nodeEngine.getThisAddress();
         this.overloadPolicy = topicConfig.getTopicOverloadPolicy();
         this.localTopicStats = service.getLocalTopicStats(name);
+        for (int shard = 0; shard < shards.length; shard++) {
+            readers[shard] = new ReliableTopicReader(this, shards[shard]);
+        }
 
         for (ListenerConfig listenerConfig : topicConfig.getMessageListenerConfigs()) {
             addMessageListener(listenerConfig);
@@ -150,23 +168,43 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         return executor;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * On a sharded topic the message is added to the shard selected by its partition key if it is
+     * {@link PartitionAware}, otherwise to a shard selected by the publishing thread, so the messages published
+     * by a single thread are received in order.
+     */
     @Override
     public void publish(E payload) {
+        Object key = payload instanceof PartitionAware ? ((PartitionAware) payload).getPartitionKey() : null;
+        publish(key, payload);
+    }
+
+    /**
+     * Publishes the message to the shard selected by the given key. Messages published with the same key are
+     * received in publication order. On an unsharded topic the key is ignored.
+     *
+     * @param key     the key selecting the shard or {@code null} to select the shard by the publishing thread
+     * @param payload the message
+     */
+    public void publish(Object key, E payload) {
         try {
             Data data = nodeEngine.toData(payload);
             ReliableTopicMessage message = new ReliableTopicMessage(data, thisAddress);
+            Ringbuffer<ReliableTopicMessage> shard = selectShard(key);
             switch (overloadPolicy) {
                 case ERROR:
-                    addOrFail(message);
+                    addOrFail(shard, message);
                     break;
                 case DISCARD_OLDEST:
-                    addOrOverwrite(message);
+                    addOrOverwrite(shard, message);
                     break;
                 case DISCARD_NEWEST:
-                    ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
+                    shard.addAsync(message, OverflowPolicy.FAIL).get();
                     break;
                 case BLOCK:
-                    addWithBackoff(message);
+                    addWithBackoff(shard, message);
                     break;
                 default:
                     throw new IllegalArgumentException("Unknown overloadPolicy:" + overloadPolicy);
@@ -179,21 +217,29 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         }
     }
 
-    private Long addOrOverwrite(ReliableTopicMessage message) throws Exception {
-        return ringbuffer.addAsync(message, OverflowPolicy.OVERWRITE).get();
+    private Ringbuffer<ReliableTopicMessage> selectShard(Object key) {
+        if (shards.length == 1) {
+            return ringbuffer;
+        }
+        int hash = key == null ? (int) Thread.currentThread().getId() : nodeEngine.toData(key).getPartitionHash();
+        return shards[hashToIndex(hash, shards.length)];
+    }
+
+    private Long addOrOverwrite(Ringbuffer<ReliableTopicMessage> shard, ReliableTopicMessage message) throws Exception {
+        return shard.addAsync(message, OverflowPolicy.OVERWRITE).get();
     }
 
-    private void addOrFail(ReliableTopicMessage message) throws Exception {
-        long sequenceId = ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
+    private void addOrFail(Ringbuffer<ReliableTopicMessage> shard, ReliableTopicMessage message) throws Exception {
+        long sequenceId = shard.addAsync(message, OverflowPolicy.FAIL).get();
         if (sequenceId == -1) {
             throw new TopicOverloadException("Failed to publish message: " + message + " on topic:" + getName());
         }
     }
 
-    private void addWithBackoff(ReliableTopicMessage message) throws Exception {
+    private void addWithBackoff(Ringbuffer<ReliableTopicMessage> shard, ReliableTopicMessage message) throws Exception {
         long timeoutMs = INITIAL_BACKOFF_MS;
         for (; ; ) {
-            long result = ringbuffer.addAsync(message, OverflowPolicy.FAIL).get();
+            long result = shard.addAsync(message, OverflowPolicy.FAIL).get();
             if (result != -1) {
                 break;
             }
@@ -218,9 +264,27 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
             reliableMessageListener = new ReliableMessageListenerAdapter<E>(listener);
         }
 
+        if (shards.length > 1) {
+            return addShardedMessageListener(id, reliableMessageListener);
+        }
         ReliableMessageListenerRunner<E> runner = new ReliableMessageListenerRunner<E>(id, reliableMessageListener, this);
         runnersMap.put(id, runner);
-        runner.next();
+        runner.start();
+        return id;
+    }
+
+    private String addShardedMessageListener(String id, ReliableMessageListener<E> listener) {
+        ShardedListenerGroup<E> group = new ShardedListenerGroup<E>(listener, shards.length);
+        for (int shard = 0; shard < shards.length; shard++) {
+            ReliableMessageListenerRunner<E> runner
+                    = new ReliableMessageListenerRunner<E>(id, group.shardListener(shard), this, shard, group);
+            group.setRunner(shard, runner);
+            if (shard == 0) {
+                // the runner of the first shard represents the group, cancelling it cancels all runners
+                runnersMap.put(id, runner);
+            }
+        }
+        group.start();
         return id;
     }
 
@@ -239,7 +303,9 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     @Override
     protected void postDestroy() {
         // this will trigger all listeners to destroy themselves.
-        ringbuffer.destroy();
+        for (Ringbuffer<ReliableTopicMessage> shard : shards) {
+            shard.destroy();
+        }
     }
 
     @Override
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the ringbuffer of a reliable topic on behalf of all {@link ReliableMessageListenerRunner}s on this member
+ * which listen from the tail of the topic. Instead of every runner sending its own
+ * {@link com.hazelcast.ringbuffer.impl.operations.ReadManyOperation} and receiving its own copy of every batch, the
+ * reader fetches each batch once and hands it to all subscribed runners, so the load on the partition owning the
+ * ringbuffer scales with the number of members instead of the number of listeners.
+ * <p>
+ * The next batch is prefetched as soon as a batch has been dispatched, so the listeners do not have to wait for
+ * the round trip once they are done. At most one batch is prefetched: a prefetched batch is only dispatched when
+ * all runners have processed the current one, so the slowest listener paces the reader. If the reader falls behind
+ * the head of the ringbuffer, it continues from the head; the runners of listeners which are not loss tolerant are
+ * terminated, just like they would be when reading on their own.
+ * <p>
+ * The reader stops fetching when it has no subscribers and starts again from the sequence of the next subscriber.
+ */
+class ReliableTopicReader implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final ReliableTopicProxy proxy;
+    private final int batchSize;
+
+    // all fields below are guarded by this
+    private final List<ReliableMessageListenerRunner> subscribers = new ArrayList<ReliableMessageListenerRunner>();
+    private long sequence;
+    private boolean fetching;
+    private int outstanding;
+    private ReliableTopicMessage[] prefetched;
+    private long prefetchedSequence;
+
+    ReliableTopicReader(ReliableTopicProxy proxy, Ringbuffer<ReliableTopicMessage> ringbuffer) {
+        this.proxy = proxy;
+        this.ringbuffer = ringbuffer;
+        this.batchSize = proxy.topicConfig.getReadBatchSize();
+    }
+
+    synchronized void subscribe(ReliableMessageListenerRunner runner) {
+        subscribers.add(runner);
+        if (!fetching && outstanding == 0 && prefetched == null) {
+            // the reader is idle, it starts reading from the sequence of the new runner
+            sequence = runner.getSequence();
+            fetch();
+        }
+    }
+
+    synchronized void unsubscribe(ReliableMessageListenerRunner runner) {
+        subscribers.remove(runner);
+    }
+
+    // This method is called from the proxy executor.
+    @Override
+    public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+        ReliableTopicMessage[] messages = ReliableMessageListenerRunner.toMessages(result);
+        synchronized (this) {
+            fetching = false;
+            long firstSequence = sequence;
+            sequence += result.readCount();
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            if (outstanding > 0) {
+                prefetched = messages;
+                prefetchedSequence = firstSequence;
+                return;
+            }
+            dispatch(messages, firstSequence);
+            fetch();
+        }
+    }
+
+    // This method is called from the proxy executor.
+    @Override
+    public void onFailure(Throwable t) {
+        List<ReliableMessageListenerRunner> runners;
+        synchronized (this) {
+            fetching = false;
+            runners = new ArrayList<ReliableMessageListenerRunner>(subscribers);
+        }
+
+        // the runners which should not continue cancel and unsubscribe themselves
+        for (ReliableMessageListenerRunner runner : runners) {
+            runner.handleFailure(t);
+        }
+
+        if (t instanceof StaleSequenceException) {
+            synchronized (this) {
+                sequence = ((StaleSequenceException) t).getHeadSeq();
+                if (!subscribers.isEmpty() && outstanding == 0) {
+                    fetch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Called by a runner when it has processed the batch dispatched to it.
+     */
+    synchronized void batchProcessed() {
+        outstanding--;
+        if (outstanding > 0 || subscribers.isEmpty()) {
+            return;
+        }
+        if (prefetched != null) {
+            ReliableTopicMessage[] messages = prefetched;
+            prefetched = null;
+            dispatch(messages, prefetchedSequence);
+        }
+        fetch();
+    }
+
+    private void dispatch(ReliableTopicMessage[] messages, long firstSequence) {
+        List<ReliableMessageListenerRunner> runners = new ArrayList<ReliableMessageListenerRunner>(subscribers);
+        outstanding += runners.size();
+        for (ReliableMessageListenerRunner runner : runners) {
+            runner.deliver(messages, firstSequence);
+        }
+    }
+
+    private void fetch() {
+        if (fetching) {
+            return;
+        }
+        fetching = true;
+        try {
+            ringbuffer.readManyAsync(sequence, 1, batchSize, null).andThen(this, proxy.executor);
+        } catch (RuntimeException e) {
+            onFailure(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.Message;
+import com.hazelcast.topic.ReliableMessageListener;
+import com.hazelcast.topic.ShardedReliableMessageListener;
+
+/**
+ * Groups the runners which consume the shards of a sharded reliable topic on behalf of a single listener. It is used
+ * by the {@link ReliableTopicProxy} on the members and by the reliable topic proxy on the clients.
+ * <p>
+ * Every runner sees a {@link #shardListener(int) shard listener} which maps the sequences of its shard onto the
+ * user supplied listener and serializes the calls to it, so the listener is never called concurrently even though
+ * the shards are consumed independently. If one of the runners terminates, the whole group is cancelled.
+ * <p>
+ * The position of a listener on a sharded topic is given by one sequence per shard. Only a
+ * {@link ShardedReliableMessageListener} gets these sequences. A plain {@link ReliableMessageListener} has to start
+ * from the next published message, i.e. its initial sequence must be -1, and {@link #storeSequence(long)} is not
+ * called on it, since a single sequence can not describe its position.
+ *
+ * @param <E> type of the message
+ */
+public class ShardedListenerGroup<E> {
+
+    private final ReliableMessageListener<E> listener;
+    private final Runner[] runners;
+    private boolean cancelled;
+
+    /**
+     * Creates the group for the given listener.
+     *
+     * @param listener   the user supplied listener
+     * @param shardCount the number of shards of the topic
+     * @throws IllegalArgumentException if the listener is not a {@link ShardedReliableMessageListener} and does not
+     *                                  start from the next published message
+     */
+    public ShardedListenerGroup(ReliableMessageListener<E> listener, int shardCount) {
+        if (!(listener instanceof ShardedReliableMessageListener) && listener.retrieveInitialSequence() != -1) {
+            throw new IllegalArgumentException("A ReliableMessageListener on a sharded reliable topic can only start from "
+                    + "the next published message, use a ShardedReliableMessageListener to start from given sequences");
+        }
+        this.listener = listener;
+        this.runners = new Runner[shardCount];
+    }
+
+    public ReliableMessageListener<E> shardListener(int shard) {
+        return new ShardListener(shard);
+    }
+
+    public void setRunner(int shard, Runner runner) {
+        runners[shard] = runner;
+    }
+
+    public void start() {
+        for (Runner runner : runners) {
+            runner.start();
+        }
+    }
+
+    public void cancel() {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+        }
+        for (Runner runner : runners) {
+            runner.cancel();
+        }
+    }
+
+    private synchronized void storeSequence(int shard, long sequence) {
+        if (listener instanceof ShardedReliableMessageListener) {
+            ((ShardedReliableMessageListener<E>) listener).storeSequence(shard, sequence);
+        }
+    }
+
+    private synchronized void onMessage(Message<E> message) {
+        listener.onMessage(message);
+    }
+
+    /**
+     * The runner consuming a single shard.
+     */
+    public interface Runner {
+
+        /**
+         * Starts consuming the shard.
+         */
+        void start();
+
+        /**
+         * Stops consuming the shard.
+         */
+        void cancel();
+    }
+
+    /**
+     * The listener seen by the runner of a single shard.
+     */
+    private final class ShardListener implements ReliableMessageListener<E> {
+
+        private final int shard;
+
+        ShardListener(int shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            return listener instanceof ShardedReliableMessageListener
+                    ? ((ShardedReliableMessageListener<E>) listener).retrieveInitialSequence(shard)
+                    : -1;
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+            ShardedListenerGroup.this.storeSequence(shard, sequence);
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return listener.isLossTolerant();
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            return listener.isTerminal(failure);
+        }
+
+        @Override
+        public void onMessage(Message<E> message) {
+            ShardedListenerGroup.this.onMessage(message);
+        }
+
+        @Override
+        public String toString() {
+            return listener + " (shard " + shard + ")";
+        }
+    }
+}
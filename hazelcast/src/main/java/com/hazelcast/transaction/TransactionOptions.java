@@ -37,12 +37,19 @@ public final class TransactionOptions implements DataSerializable {
      */
     public static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
 
+    /**
+     * Marks an optimistic transaction in the serialized transaction type. Non-optimistic options keep the
+     * serialized form of the previous versions.
+     */
+    private static final int OPTIMISTIC_FLAG = 1 << 30;
+
     private long timeoutMillis;
 
     private int durability;
 
     private TransactionType transactionType;
 
+    private boolean optimistic;
 
     /**
      * Creates a new default configured TransactionsOptions.
@@ -147,6 +154,33 @@ public final class TransactionOptions implements DataSerializable {
         return this;
     }
 
+    /**
+     * Checks if the transaction is optimistic.
+     *
+     * @return {@code true} if the transaction is optimistic, {@code false} otherwise.
+     * @see #setOptimistic(boolean)
+     */
+    public boolean isOptimistic() {
+        return optimistic;
+    }
+
+    /**
+     * Sets if the transaction is optimistic.
+     * <p/>
+     * An optimistic transaction doesn't lock the map entries it reads or writes. It records the versions of the
+     * entries instead and buffers its writes until it is committed. The entries are locked and their versions
+     * are validated when the transaction is prepared; the commit fails with a
+     * {@link TransactionException} if another transaction has changed or locked any of them in the meantime.
+     * Optimistic transactions suit read-mostly workloads with rare conflicts. Defaults to {@code false}.
+     *
+     * @param optimistic {@code true} to make the transaction optimistic
+     * @return the updated TransactionOptions.
+     */
+    public TransactionOptions setOptimistic(boolean optimistic) {
+        this.optimistic = optimistic;
+        return this;
+    }
+
     /**
      * Creates a new TransactionOptions configured with default settings.
      *
@@ -165,14 +199,16 @@ public final class TransactionOptions implements DataSerializable {
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeLong(timeoutMillis);
         out.writeInt(durability);
-        out.writeInt(transactionType.value);
+        out.writeInt(optimistic ? transactionType.value | OPTIMISTIC_FLAG : transactionType.value);
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         timeoutMillis = in.readLong();
         durability = in.readInt();
-        transactionType = TransactionType.getByValue(in.readInt());
+        int type = in.readInt();
+        transactionType = TransactionType.getByValue(type & ~OPTIMISTIC_FLAG);
+        optimistic = (type & OPTIMISTIC_FLAG) != 0;
     }
 
 
@@ -182,6 +218,7 @@ public final class TransactionOptions implements DataSerializable {
                 + "timeoutMillis=" + timeoutMillis
                 + ", durability=" + durability
                 + ", txType=" + transactionType
+                + ", optimistic=" + optimistic
                 + '}';
     }
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.transaction.impl;
+
+import com.hazelcast.spi.Operation;
+
+import java.util.List;
+
+/**
+ * Represents a change made in a transaction whose prepare, commit and rollback operations can be sent to
+ * the partition in a single operation together with the operations of other records of the same batch.
+ *
+ * @see TransactionLog
+ * @see TransactionLogRecord
+ */
+public interface BatchableTransactionLogRecord extends TransactionLogRecord {
+
+    /**
+     * Returns the partition the operations of this record are executed on.
+     *
+     * @return the partition ID of this record
+     */
+    int getPartitionId();
+
+    /**
+     * Returns the key of the batch this record belongs to. Records of the same partition which return equal
+     * batch keys are sent in a single operation.
+     *
+     * @return the batch key of this record
+     */
+    Object getBatchKey();
+
+    /**
+     * Creates the operation which executes the given operations on the partition of this record, in the given
+     * order. The operations have been created by records of the same batch as this record.
+     *
+     * @param operations the prepare, commit or rollback operations of the records of the batch
+     * @return the operation which executes the given operations
+     */
+    Operation newBatchOperation(List<Operation> operations);
+}
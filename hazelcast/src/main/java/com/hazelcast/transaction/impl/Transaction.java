@@ -47,6 +47,15 @@ public interface Transaction {
 
     TransactionType getTransactionType();
 
+    /**
+     * Checks if this transaction is optimistic, i.e. validates the versions of the entries it touched when it is
+     * prepared instead of locking them when they are touched.
+     *
+     * @return {@code true} if this transaction is optimistic
+     * @see com.hazelcast.transaction.TransactionOptions#setOptimistic(boolean)
+     */
+    boolean isOptimistic();
+
     enum State {
         NO_TXN,
         ACTIVE,
@@ -66,6 +66,7 @@ import static com.hazelcast.util.FutureUtil.waitWithDeadline;
 import static com.hazelcast.util.UuidUtil.newUnsecureUuidString;
 import static java.lang.Boolean.TRUE;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class TransactionImpl implements Transaction {
 
@@ -80,6 +81,7 @@ public class TransactionImpl implements Transaction {
     private final String txnId;
     private final int durability;
     private final TransactionType transactionType;
+    private final boolean optimistic;
     private final boolean checkThreadAccess;
     private final ILogger logger;
     private final String txOwnerUuid;
@@ -88,6 +90,7 @@ public class TransactionImpl implements Transaction {
     private long timeoutMillis;
     private State state = NO_TXN;
     private long startTime;
+    private long commitStartNanos;
     private Address[] backupAddresses = EMPTY_ADDRESSES;
     private boolean backupLogsCreated;
     private boolean originatedFromClient;
@@ -106,6 +109,7 @@ public class TransactionImpl implements Transaction {
         this.timeoutMillis = options.getTimeoutMillis();
         this.transactionType = options.getTransactionType() == LOCAL ? ONE_PHASE : options.getTransactionType();
         this.durability = transactionType == ONE_PHASE ? 0 : options.getDurability();
+        this.optimistic = options.isOptimistic();
         this.txOwnerUuid = txOwnerUuid == null ? nodeEngine.getLocalMember().getUuid() : txOwnerUuid;
         this.checkThreadAccess = txOwnerUuid == null;
 
@@ -128,6 +132,7 @@ public class TransactionImpl implements Transaction {
         this.startTime = startTime;
         this.durability = 0;
         this.transactionType = TWO_PHASE;
+        this.optimistic = false;
         this.state = PREPARED;
         this.txOwnerUuid = txOwnerUuid;
         this.checkThreadAccess = false;
@@ -229,6 +234,7 @@ public class TransactionImpl implements Transaction {
 
         checkThread();
         checkTimeout();
+        commitStartNanos = System.nanoTime();
         try {
             createBackupLogs();
             state = PREPARING;
@@ -237,6 +243,9 @@ public class TransactionImpl implements Transaction {
             state = PREPARED;
             replicateTxnLog();
         } catch (Throwable e) {
+            if (optimistic) {
+                transactionManagerService.optimisticAbortCount.inc();
+            }
             throw rethrow(e, TransactionException.class);
         }
     }
@@ -251,10 +260,17 @@ public class TransactionImpl implements Transaction {
      * preparing, we are just going to try to commit. If the lock is still acquired, the write
      * succeeds, and if the lock isn't acquired, the write fails; this is the same effect as a
      * prepare would have.
+     * <p>
+     * An optimistic transaction always needs to be prepared, since the prepare validates the versions
+     * of the entries it has touched without locking them.
      *
      * @return true if {@link #prepare()} is required.
      */
     public boolean requiresPrepare() {
+        if (optimistic) {
+            return transactionLog.size() > 0;
+        }
+
         if (transactionType == ONE_PHASE) {
             return false;
         }
@@ -269,7 +285,11 @@ public class TransactionImpl implements Transaction {
     @Override
     public void commit() throws TransactionException, IllegalStateException {
         try {
-            if (transactionType == TWO_PHASE) {
+            if (optimistic) {
+                if (transactionLog.size() > 0 && state != PREPARED) {
+                    throw new IllegalStateException("Transaction is not prepared");
+                }
+            } else if (transactionType == TWO_PHASE) {
                 if (transactionLog.size() > 1) {
                     if (state != PREPARED) {
                         throw new IllegalStateException("Transaction is not prepared");
@@ -292,6 +312,9 @@ public class TransactionImpl implements Transaction {
                 waitWithDeadline(futures, Long.MAX_VALUE, MILLISECONDS, RETHROW_TRANSACTION_EXCEPTION);
                 state = COMMITTED;
                 transactionManagerService.commitCount.inc();
+                if (optimistic) {
+                    onOptimisticCommit();
+                }
             } catch (Throwable e) {
                 state = COMMIT_FAILED;
                 throw rethrow(e, TransactionException.class);
@@ -303,6 +326,14 @@ public class TransactionImpl implements Transaction {
         }
     }
 
+    private void onOptimisticCommit() {
+        transactionManagerService.optimisticCommitCount.inc();
+        if (commitStartNanos != 0) {
+            long latencyMillis = NANOSECONDS.toMillis(System.nanoTime() - commitStartNanos);
+            transactionManagerService.optimisticCommitLatencyMillis.inc(latencyMillis);
+        }
+    }
+
     private void checkTimeout() throws TransactionException {
         if (startTime + timeoutMillis < currentTimeMillis()) {
             throw new TransactionException("Transaction is timed-out!");
@@ -456,12 +487,18 @@ public class TransactionImpl implements Transaction {
         return transactionType;
     }
 
+    @Override
+    public boolean isOptimistic() {
+        return optimistic;
+    }
+
     @Override
     public String toString() {
         return "Transaction{"
                 + "txnId='" + txnId + '\''
                 + ", state=" + state
                 + ", txType=" + transactionType
+                + ", optimistic=" + optimistic
                 + ", timeoutMillis=" + timeoutMillis
                 + '}';
     }
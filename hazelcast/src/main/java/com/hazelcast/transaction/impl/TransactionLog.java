@@ -24,10 +24,11 @@ import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.Future;
 
@@ -97,30 +98,55 @@ public class TransactionLog {
     }
 
     public List<Future> commit(NodeEngine nodeEngine) {
-        List<Future> futures = new ArrayList<Future>(size());
-        for (TransactionLogRecord record : recordList) {
-            Future future = invoke(nodeEngine, record, record.newCommitOperation());
-            futures.add(future);
-        }
-        return futures;
+        return invoke(nodeEngine, recordList, Phase.COMMIT);
     }
 
     public List<Future> prepare(NodeEngine nodeEngine) {
-        List<Future> futures = new ArrayList<Future>(size());
-        for (TransactionLogRecord record : recordList) {
-            Future future = invoke(nodeEngine, record, record.newPrepareOperation());
-            futures.add(future);
-        }
-        return futures;
+        return invoke(nodeEngine, recordList, Phase.PREPARE);
     }
 
     public List<Future> rollback(NodeEngine nodeEngine) {
-        List<Future> futures = new ArrayList<Future>(size());
-        ListIterator<TransactionLogRecord> iterator = recordList.listIterator(size());
-        while (iterator.hasPrevious()) {
-            TransactionLogRecord record = iterator.previous();
-            Future future = invoke(nodeEngine, record, record.newRollbackOperation());
-            futures.add(future);
+        List<TransactionLogRecord> records = new ArrayList<TransactionLogRecord>(recordList);
+        Collections.reverse(records);
+        return invoke(nodeEngine, records, Phase.ROLLBACK);
+    }
+
+    /**
+     * Invokes the operations of the given phase for the given records. The operations of the
+     * {@link BatchableTransactionLogRecord}s of the same batch are sent in a single operation per partition.
+     */
+    private List<Future> invoke(NodeEngine nodeEngine, List<TransactionLogRecord> records, Phase phase) {
+        List<Future> futures = new ArrayList<Future>(records.size());
+        Map<BatchKey, List<BatchableTransactionLogRecord>> batches
+                = new LinkedHashMap<BatchKey, List<BatchableTransactionLogRecord>>();
+        for (TransactionLogRecord record : records) {
+            if (!(record instanceof BatchableTransactionLogRecord)) {
+                futures.add(invoke(nodeEngine, record, phase.newOperation(record)));
+                continue;
+            }
+            BatchableTransactionLogRecord batchableRecord = (BatchableTransactionLogRecord) record;
+            BatchKey batchKey = new BatchKey(batchableRecord.getPartitionId(), batchableRecord.getBatchKey());
+            List<BatchableTransactionLogRecord> batch = batches.get(batchKey);
+            if (batch == null) {
+                batch = new ArrayList<BatchableTransactionLogRecord>();
+                batches.put(batchKey, batch);
+            }
+            batch.add(batchableRecord);
+        }
+
+        for (List<BatchableTransactionLogRecord> batch : batches.values()) {
+            BatchableTransactionLogRecord first = batch.get(0);
+            if (batch.size() == 1) {
+                futures.add(invoke(nodeEngine, first, phase.newOperation(first)));
+                continue;
+            }
+            List<Operation> operations = new ArrayList<Operation>(batch.size());
+            for (BatchableTransactionLogRecord record : batch) {
+                operations.add(phase.newOperation(record));
+            }
+            Operation op = first.newBatchOperation(operations);
+            OperationService operationService = nodeEngine.getOperationService();
+            futures.add(operationService.invokeOnPartition(op.getServiceName(), op, first.getPartitionId()));
         }
         return futures;
     }
@@ -158,4 +184,49 @@ public class TransactionLog {
             operationService.asyncInvokeOnPartition(op.getServiceName(), op, op.getPartitionId(), callback);
         }
     }
+
+    private enum Phase {
+        PREPARE,
+        COMMIT,
+        ROLLBACK;
+
+        Operation newOperation(TransactionLogRecord record) {
+            switch (this) {
+                case PREPARE:
+                    return record.newPrepareOperation();
+                case COMMIT:
+                    return record.newCommitOperation();
+                default:
+                    return record.newRollbackOperation();
+            }
+        }
+    }
+
+    private static final class BatchKey {
+
+        private final int partitionId;
+        private final Object key;
+
+        BatchKey(int partitionId, Object key) {
+            this.partitionId = partitionId;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return partitionId == that.partitionId && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * partitionId + key.hashCode();
+        }
+    }
 }
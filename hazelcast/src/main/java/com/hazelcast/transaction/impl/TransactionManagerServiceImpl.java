@@ -82,6 +82,14 @@ public class TransactionManagerServiceImpl implements TransactionManagerService,
     Counter rollbackCount = MwCounter.newMwCounter();
     @Probe(level = ProbeLevel.MANDATORY)
     Counter commitCount = MwCounter.newMwCounter();
+    @Probe
+    Counter optimisticCommitCount = MwCounter.newMwCounter();
+    // optimistic transactions which failed to validate the versions of their entries
+    @Probe
+    Counter optimisticAbortCount = MwCounter.newMwCounter();
+    // the total time spent by the successful optimistic transactions from prepare to the end of commit
+    @Probe
+    Counter optimisticCommitLatencyMillis = MwCounter.newMwCounter();
 
     private final ExceptionHandler finalizeExceptionHandler;
 
@@ -235,6 +235,11 @@ public final class XATransaction implements Transaction {
         return TransactionType.TWO_PHASE;
     }
 
+    @Override
+    public boolean isOptimistic() {
+        return false;
+    }
+
     @Override
     public long getTimeoutMillis() {
         return timeoutMillis;
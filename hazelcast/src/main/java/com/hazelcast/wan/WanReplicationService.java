@@ -70,12 +70,12 @@ public interface WanReplicationService extends CoreService, StatisticsAwareServi
 
     /**
      * Initiate wan sync for a specific map.
-     * NOTE: not supported on OS, only on EE
+     * NOTE: on OS, only supported by {@link com.hazelcast.wan.impl.WanBatchReplication} publishers
      *
      * @param wanReplicationName the name of the wan replication config
      * @param targetGroupName    the group name on the target cluster
      * @param mapName            the map name
-     * @throws UnsupportedOperationException if the operation is not supported (not EE)
+     * @throws UnsupportedOperationException if the operation is not supported (neither EE nor WanBatchReplication)
      * @throws InvalidConfigurationException if there is no WAN replication config for {@code wanReplicationName}
      * @throws SyncFailedException           if there is a sync request in progress
      */
@@ -83,11 +83,11 @@ public interface WanReplicationService extends CoreService, StatisticsAwareServi
 
     /**
      * Initiate wan sync for all maps.
-     * NOTE: not supported on OS, only on EE
+     * NOTE: on OS, only supported by {@link com.hazelcast.wan.impl.WanBatchReplication} publishers
      *
      * @param wanReplicationName the name of the wan replication config
      * @param targetGroupName    the group name on the target cluster
-     * @throws UnsupportedOperationException if the operation is not supported (not EE)
+     * @throws UnsupportedOperationException if the operation is not supported (neither EE nor WanBatchReplication)
      * @throws InvalidConfigurationException if there is no WAN replication config for {@code wanReplicationName}
      * @throws SyncFailedException           if there is a sync request in progress
      */
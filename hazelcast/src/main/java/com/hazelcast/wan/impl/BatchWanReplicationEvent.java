@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.wan.WanReplicationEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of {@link WanReplicationEvent}s which is shipped to the target cluster in a single
+ * {@link com.hazelcast.wan.impl.operation.WanBatchReplicationOperation}.
+ */
+public class BatchWanReplicationEvent implements IdentifiedDataSerializable {
+
+    private List<WanReplicationEvent> events;
+
+    public BatchWanReplicationEvent() {
+        this.events = new ArrayList<WanReplicationEvent>();
+    }
+
+    public BatchWanReplicationEvent(int expectedSize) {
+        this.events = new ArrayList<WanReplicationEvent>(expectedSize);
+    }
+
+    public void addEvent(WanReplicationEvent event) {
+        events.add(event);
+    }
+
+    public List<WanReplicationEvent> getEvents() {
+        return events;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(events.size());
+        for (WanReplicationEvent event : events) {
+            out.writeObject(event);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        events = new ArrayList<WanReplicationEvent>(size);
+        for (int i = 0; i < size; i++) {
+            WanReplicationEvent event = in.readObject();
+            events.add(event);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return WanDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return WanDataSerializerHook.BATCH_WAN_REPLICATION_EVENT;
+    }
+}
@@ -0,0 +1,609 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.WANQueueFullBehavior;
+import com.hazelcast.config.WanAcknowledgeType;
+import com.hazelcast.config.WanPublisherConfig;
+import com.hazelcast.config.WanReplicationConfig;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.util.merkletree.MerkleTreeUtil;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.iterator.MapEntryViewsWithCursor;
+import com.hazelcast.map.impl.operation.MerkleTreeLeafEntriesOperation;
+import com.hazelcast.map.impl.operation.MerkleTreeLeavesOperation;
+import com.hazelcast.map.impl.wan.MapReplicationRemove;
+import com.hazelcast.map.impl.wan.MapReplicationUpdate;
+import com.hazelcast.map.merge.MapMergePolicy;
+import com.hazelcast.monitor.LocalWanPublisherStats;
+import com.hazelcast.monitor.impl.LocalWanPublisherStatsImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.spi.partition.IPartition;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.AddressUtil;
+import com.hazelcast.util.Clock;
+import com.hazelcast.wan.ReplicationEventObject;
+import com.hazelcast.wan.WANReplicationQueueFullException;
+import com.hazelcast.wan.WanReplicationEndpoint;
+import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.WanReplicationService;
+import com.hazelcast.wan.impl.operation.WanBatchReplicationOperation;
+import com.hazelcast.wan.impl.operation.WanMerkleTreeOperation;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.ThreadUtil.createThreadName;
+
+/**
+ * Opensource {@link WanReplicationEndpoint} which ships WAN replication events to a target cluster in batches.
+ * <p>
+ * Events are kept in bounded per-partition queues. The partitions are split into a number of stripes
+ * (see {@link #MAX_CONCURRENT_BATCHES}) and each stripe has at most one batch in flight at a time. A batch is
+ * sent when it reaches {@link #BATCH_SIZE} events or when its oldest event has waited for
+ * {@link #BATCH_MAX_DELAY_MILLIS}. The batch is serialized, optionally compressed and sent to one of the
+ * configured {@link #ENDPOINTS} of the target cluster. Acknowledgements are handled asynchronously; a batch
+ * which fails is retried on the next endpoint before any newer event of the same stripe is sent.
+ * <p>
+ * Per-partition ordering on the target cluster is only guaranteed with
+ * {@link WanAcknowledgeType#ACK_ON_OPERATION_COMPLETE}, since {@link WanAcknowledgeType#ACK_ON_RECEIPT}
+ * applies the received batches asynchronously.
+ * <p>
+ * Backup events are not queued, so events which have not been sent yet are lost when a member crashes.
+ */
+public class WanBatchReplication implements WanReplicationEndpoint {
+
+    /**
+     * Comma separated list of the target cluster member addresses, e.g. {@code 10.0.0.1:5701,10.0.0.2:5701}.
+     */
+    public static final String ENDPOINTS = "endpoints";
+
+    /**
+     * Maximum number of events in a single batch.
+     */
+    public static final String BATCH_SIZE = "batch.size";
+
+    /**
+     * Maximum time in milliseconds an incomplete batch waits for more events before it is sent.
+     */
+    public static final String BATCH_MAX_DELAY_MILLIS = "batch.max.delay.millis";
+
+    /**
+     * Time in milliseconds to wait for the acknowledgement of a batch before it is retried.
+     */
+    public static final String RESPONSE_TIMEOUT_MILLIS = "response.timeout.millis";
+
+    /**
+     * Name of the {@link WanAcknowledgeType} used for the batches.
+     */
+    public static final String ACK_TYPE = "ack.type";
+
+    /**
+     * Whether the serialized batches are compressed before they are sent.
+     */
+    public static final String COMPRESSION_ENABLED = "compression.enabled";
+
+    /**
+     * Maximum number of batches which are in flight at the same time.
+     */
+    public static final String MAX_CONCURRENT_BATCHES = "max.concurrent.batches";
+
+    static final int DEFAULT_BATCH_SIZE = 500;
+    static final long DEFAULT_BATCH_MAX_DELAY_MILLIS = 1000;
+    static final long DEFAULT_RESPONSE_TIMEOUT_MILLIS = 60000;
+    static final WanAcknowledgeType DEFAULT_ACK_TYPE = WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE;
+    static final boolean DEFAULT_COMPRESSION_ENABLED = true;
+    static final int DEFAULT_MAX_CONCURRENT_BATCHES = 4;
+
+    private static final int DEFAULT_PORT = 5701;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicInteger endpointIndex = new AtomicInteger();
+    private final LocalWanPublisherStatsImpl stats = new LocalWanPublisherStatsImpl();
+    private final AtomicBoolean syncInProgress = new AtomicBoolean();
+
+    private Node node;
+    private ILogger logger;
+    private String wanReplicationName;
+    private String targetGroupName;
+    private int queueCapacity;
+    private WANQueueFullBehavior queueFullBehavior;
+    private int batchSize;
+    private long batchMaxDelayMillis;
+    private long responseTimeoutMillis;
+    private WanAcknowledgeType acknowledgeType;
+    private boolean compressionEnabled;
+    private List<Address> targetEndpoints;
+    private Queue<WanReplicationEvent>[] partitionQueues;
+    private BatchStripe[] stripes;
+    private BatchSenderThread senderThread;
+
+    private volatile boolean running;
+    private volatile boolean paused;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void init(Node node, WanReplicationConfig wanReplicationConfig, WanPublisherConfig publisherConfig) {
+        this.node = node;
+        this.logger = node.getLogger(WanBatchReplication.class);
+        this.wanReplicationName = wanReplicationConfig.getName();
+        this.targetGroupName = publisherConfig.getGroupName();
+        this.queueCapacity = publisherConfig.getQueueCapacity();
+        this.queueFullBehavior = publisherConfig.getQueueFullBehavior();
+
+        Map<String, Comparable> properties = publisherConfig.getProperties();
+        this.batchSize = getInt(properties, BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        this.batchMaxDelayMillis = getLong(properties, BATCH_MAX_DELAY_MILLIS, DEFAULT_BATCH_MAX_DELAY_MILLIS);
+        this.responseTimeoutMillis = getLong(properties, RESPONSE_TIMEOUT_MILLIS, DEFAULT_RESPONSE_TIMEOUT_MILLIS);
+        this.compressionEnabled = getBoolean(properties, COMPRESSION_ENABLED, DEFAULT_COMPRESSION_ENABLED);
+        Comparable ackType = properties.get(ACK_TYPE);
+        this.acknowledgeType = ackType == null ? DEFAULT_ACK_TYPE : WanAcknowledgeType.valueOf(ackType.toString());
+        this.targetEndpoints = parseEndpoints(properties.get(ENDPOINTS));
+
+        int partitionCount = node.getPartitionService().getPartitionCount();
+        this.partitionQueues = new Queue[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionQueues[i] = new ConcurrentLinkedQueue<WanReplicationEvent>();
+        }
+        int stripeCount = Math.min(partitionCount, getInt(properties, MAX_CONCURRENT_BATCHES, DEFAULT_MAX_CONCURRENT_BATCHES));
+        this.stripes = new BatchStripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new BatchStripe(i, partitionCount, stripeCount);
+        }
+
+        this.running = true;
+        this.senderThread = new BatchSenderThread();
+        senderThread.start();
+    }
+
+    private static List<Address> parseEndpoints(Comparable endpoints) {
+        if (endpoints == null) {
+            throw new InvalidConfigurationException("The '" + ENDPOINTS + "' property needs to be set for "
+                    + WanBatchReplication.class.getSimpleName());
+        }
+        List<Address> addresses = new ArrayList<Address>();
+        for (String endpoint : endpoints.toString().split(",")) {
+            endpoint = endpoint.trim();
+            if (endpoint.isEmpty()) {
+                continue;
+            }
+            AddressUtil.AddressHolder holder = AddressUtil.getAddressHolder(endpoint, DEFAULT_PORT);
+            try {
+                addresses.add(new Address(holder.getAddress(), holder.getPort()));
+            } catch (UnknownHostException e) {
+                throw new InvalidConfigurationException("Invalid WAN endpoint: " + endpoint);
+            }
+        }
+        if (addresses.isEmpty()) {
+            throw new InvalidConfigurationException("No WAN endpoints defined in property '" + ENDPOINTS + "'");
+        }
+        return Collections.unmodifiableList(addresses);
+    }
+
+    private static int getInt(Map<String, Comparable> properties, String key, int defaultValue) {
+        Comparable value = properties.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value.toString());
+    }
+
+    private static long getLong(Map<String, Comparable> properties, String key, long defaultValue) {
+        Comparable value = properties.get(key);
+        return value == null ? defaultValue : Long.parseLong(value.toString());
+    }
+
+    private static boolean getBoolean(Map<String, Comparable> properties, String key, boolean defaultValue) {
+        Comparable value = properties.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.toString());
+    }
+
+    @Override
+    public void publishReplicationEvent(String serviceName, ReplicationEventObject eventObject) {
+        if (queueSize.incrementAndGet() > queueCapacity) {
+            queueSize.decrementAndGet();
+            if (logger.isFinestEnabled()) {
+                logger.finest("WAN replication queue of " + wanReplicationName + " is full, dropping event " + eventObject);
+            }
+            return;
+        }
+        int partitionId = getPartitionId(eventObject);
+        partitionQueues[partitionId].offer(new WanReplicationEvent(serviceName, eventObject));
+    }
+
+    @Override
+    public void publishReplicationEventBackup(String serviceName, ReplicationEventObject eventObject) {
+        // backup events are not queued
+    }
+
+    @Override
+    public void publishReplicationEvent(WanReplicationEvent wanReplicationEvent) {
+        publishReplicationEvent(wanReplicationEvent.getServiceName(), wanReplicationEvent.getEventObject());
+    }
+
+    @Override
+    public void checkWanReplicationQueues() {
+        if (queueFullBehavior == WANQueueFullBehavior.DISCARD_AFTER_MUTATION) {
+            return;
+        }
+        if (queueFullBehavior == WANQueueFullBehavior.THROW_EXCEPTION_ONLY_IF_REPLICATION_ACTIVE && paused) {
+            return;
+        }
+        if (queueSize.get() >= queueCapacity) {
+            throw new WANReplicationQueueFullException("WAN replication queue of " + wanReplicationName
+                    + " for target group " + targetGroupName + " is full");
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        BatchSenderThread thread = senderThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Stops sending batches to the target cluster. Events are still queued while paused.
+     */
+    public void pause() {
+        paused = true;
+        stats.setPaused(true);
+    }
+
+    /**
+     * Resumes sending batches to the target cluster.
+     */
+    public void resume() {
+        paused = false;
+        stats.setPaused(false);
+        LockSupport.unpark(senderThread);
+    }
+
+    /**
+     * Removes all queued events which have not been sent yet.
+     */
+    public void clearQueues() {
+        for (Queue<WanReplicationEvent> queue : partitionQueues) {
+            int removed = 0;
+            while (queue.poll() != null) {
+                removed++;
+            }
+            queueSize.addAndGet(-removed);
+        }
+    }
+
+    /**
+     * Synchronizes the given maps with the target cluster. The synchronization runs asynchronously and, for
+     * each partition owned by this member, compares the map's Merkle tree with the one in the target cluster
+     * and publishes update and remove events only for the entries in the differing key ranges. If Merkle trees
+     * are disabled on either side, all entries of the partition are compared. The entries are read from both
+     * sides in pages of at most {@code batch.size} scanned keys.
+     *
+     * @param mapNames the names of the maps to synchronize
+     * @throws IllegalStateException if a synchronization is already in progress
+     * @see com.hazelcast.spi.properties.GroupProperty#MAP_MERKLE_TREE_DEPTH
+     */
+    public void syncMaps(final Collection<String> mapNames) {
+        if (!syncInProgress.compareAndSet(false, true)) {
+            throw new IllegalStateException("WAN sync to " + targetGroupName + " is already in progress");
+        }
+        node.getNodeEngine().getExecutionService().execute(ExecutionService.ASYNC_EXECUTOR, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (String mapName : mapNames) {
+                        syncMap(mapName);
+                    }
+                } catch (Throwable t) {
+                    logger.warning("WAN sync of " + wanReplicationName + " to " + targetGroupName + " failed", t);
+                } finally {
+                    syncInProgress.set(false);
+                }
+            }
+        });
+    }
+
+    private void syncMap(String mapName) {
+        for (IPartition partition : node.getPartitionService().getPartitions()) {
+            if (partition.isLocal()) {
+                syncPartition(mapName, partition.getPartitionId());
+            }
+        }
+    }
+
+    private void syncPartition(String mapName, int partitionId) {
+        InternalOperationService operationService = node.getNodeEngine().getOperationService();
+        int partitionCount = partitionQueues.length;
+
+        int[] localLeaves = operationService.<int[]>invokeOnPartition(MapService.SERVICE_NAME,
+                new MerkleTreeLeavesOperation(mapName), partitionId).join();
+        int[] remoteLeaves = invokeOnTargetCluster(
+                new WanMerkleTreeOperation(targetGroupName, mapName, partitionId, partitionCount, false, null, 0, 0));
+        int[] differingLeaves = MerkleTreeUtil.compareLeaves(localLeaves, remoteLeaves);
+        if (differingLeaves != null && differingLeaves.length == 0) {
+            return;
+        }
+
+        SerializationService serializationService = node.getSerializationService();
+        Map<Data, Data> remoteValues = new HashMap<Data, Data>();
+        int tableIndex = Integer.MAX_VALUE;
+        while (tableIndex >= 0) {
+            MapEntryViewsWithCursor remoteEntries = invokeOnTargetCluster(new WanMerkleTreeOperation(targetGroupName,
+                    mapName, partitionId, partitionCount, true, differingLeaves, tableIndex, batchSize));
+            for (Data entryViewData : remoteEntries.getBatch()) {
+                EntryView<Data, Data> entryView = serializationService.toObject(entryViewData);
+                remoteValues.put(entryView.getKey(), entryView.getValue());
+            }
+            tableIndex = remoteEntries.getNextTableIndexToReadFrom();
+        }
+
+        MapService mapService = node.getNodeEngine().getService(MapService.SERVICE_NAME);
+        MapMergePolicy mergePolicy = mapService.getMapServiceContext().getMapContainer(mapName).getWanMergePolicy();
+        tableIndex = Integer.MAX_VALUE;
+        while (tableIndex >= 0) {
+            MapEntryViewsWithCursor localEntries = operationService.<MapEntryViewsWithCursor>invokeOnPartition(
+                    MapService.SERVICE_NAME, new MerkleTreeLeafEntriesOperation(mapName, differingLeaves, tableIndex, batchSize),
+                    partitionId).join();
+            for (Data entryViewData : localEntries.getBatch()) {
+                EntryView<Data, Data> entryView = serializationService.toObject(entryViewData);
+                Data remoteValue = remoteValues.remove(entryView.getKey());
+                if (!entryView.getValue().equals(remoteValue)) {
+                    publishReplicationEvent(MapService.SERVICE_NAME, new MapReplicationUpdate(mapName, mergePolicy, entryView));
+                }
+            }
+            tableIndex = localEntries.getNextTableIndexToReadFrom();
+        }
+        long now = Clock.currentTimeMillis();
+        for (Data key : remoteValues.keySet()) {
+            publishReplicationEvent(MapService.SERVICE_NAME, new MapReplicationRemove(mapName, key, now));
+        }
+    }
+
+    private <T> T invokeOnTargetCluster(Operation operation) {
+        Address target = targetEndpoints.get(endpointIndex.get() % targetEndpoints.size());
+        InternalCompletableFuture<T> future = node.getNodeEngine().getOperationService()
+                .createInvocationBuilder(WanReplicationService.SERVICE_NAME, operation, target)
+                .setTryCount(1)
+                .setCallTimeout(responseTimeoutMillis)
+                .invoke();
+        return future.join();
+    }
+
+    public String getTargetGroupName() {
+        return targetGroupName;
+    }
+
+    public LocalWanPublisherStats getStats() {
+        stats.setOutboundQueueSize(queueSize.get());
+        return stats;
+    }
+
+    int getQueueSize() {
+        return queueSize.get();
+    }
+
+    private int getPartitionId(ReplicationEventObject eventObject) {
+        Object key = null;
+        if (eventObject instanceof MapReplicationUpdate) {
+            key = ((MapReplicationUpdate) eventObject).getEntryView().getKey();
+        } else if (eventObject instanceof MapReplicationRemove) {
+            key = ((MapReplicationRemove) eventObject).getKey();
+        }
+        // events of unknown services have no key; they are kept in order on a single queue
+        return key == null ? 0 : node.getPartitionService().getPartitionId(key);
+    }
+
+    private byte[] encode(BatchWanReplicationEvent batch) {
+        Data data = node.getSerializationService().toData(batch);
+        byte[] bytes = data.toByteArray();
+        if (!compressionEnabled) {
+            return bytes;
+        }
+        try {
+            return IOUtil.compress(bytes);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * A group of partitions which has at most one batch in flight. A failed batch is kept and resent
+     * before any newer event of the stripe is drained.
+     */
+    private final class BatchStripe implements ExecutionCallback<Object> {
+
+        private final int index;
+        private final int[] partitionIds;
+
+        // accessed only by the sender thread
+        private BatchWanReplicationEvent pendingBatch;
+        private long pendingSince;
+        private long retryTime;
+        private int partitionCursor;
+
+        // handed over between the sender thread and the response thread
+        private volatile boolean inFlight;
+        private volatile BatchWanReplicationEvent sentBatch;
+        private volatile BatchWanReplicationEvent failedBatch;
+        private volatile long sendTime;
+
+        private BatchStripe(int index, int partitionCount, int stripeCount) {
+            this.index = index;
+            this.partitionIds = new int[(partitionCount - index + stripeCount - 1) / stripeCount];
+            for (int i = 0; i < partitionIds.length; i++) {
+                partitionIds[i] = index + i * stripeCount;
+            }
+        }
+
+        boolean trySend() {
+            if (inFlight) {
+                return false;
+            }
+            long now = Clock.currentTimeMillis();
+            BatchWanReplicationEvent batch = failedBatch;
+            if (batch != null) {
+                if (now < retryTime) {
+                    return false;
+                }
+                failedBatch = null;
+            } else {
+                batch = collect(now);
+                if (batch == null) {
+                    return false;
+                }
+            }
+            send(batch, now);
+            return true;
+        }
+
+        private BatchWanReplicationEvent collect(long now) {
+            if (pendingBatch == null) {
+                pendingBatch = new BatchWanReplicationEvent(batchSize);
+            }
+            drain(pendingBatch);
+            if (pendingBatch.isEmpty()) {
+                return null;
+            }
+            if (pendingSince == 0) {
+                pendingSince = now;
+            }
+            if (pendingBatch.size() < batchSize && now - pendingSince < batchMaxDelayMillis) {
+                return null;
+            }
+            BatchWanReplicationEvent batch = pendingBatch;
+            pendingBatch = null;
+            pendingSince = 0;
+            return batch;
+        }
+
+        private void drain(BatchWanReplicationEvent batch) {
+            boolean drained = true;
+            while (batch.size() < batchSize && drained) {
+                drained = false;
+                for (int i = 0; i < partitionIds.length && batch.size() < batchSize; i++) {
+                    int partitionId = partitionIds[(partitionCursor + i) % partitionIds.length];
+                    WanReplicationEvent event = partitionQueues[partitionId].poll();
+                    if (event != null) {
+                        queueSize.decrementAndGet();
+                        batch.addEvent(event);
+                        drained = true;
+                    }
+                }
+            }
+            partitionCursor = (partitionCursor + 1) % partitionIds.length;
+        }
+
+        private void send(BatchWanReplicationEvent batch, long now) {
+            inFlight = true;
+            sentBatch = batch;
+            sendTime = now;
+            try {
+                Address target = targetEndpoints.get((endpointIndex.get() + index) % targetEndpoints.size());
+                WanBatchReplicationOperation operation
+                        = new WanBatchReplicationOperation(targetGroupName, encode(batch), compressionEnabled, acknowledgeType);
+                InternalOperationService operationService = node.getNodeEngine().getOperationService();
+                InternalCompletableFuture<Object> future = operationService
+                        .createInvocationBuilder(WanReplicationService.SERVICE_NAME, operation, target)
+                        .setTryCount(1)
+                        .setCallTimeout(responseTimeoutMillis)
+                        .invoke();
+                future.andThen(this);
+            } catch (Throwable t) {
+                onFailure(t);
+            }
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            BatchWanReplicationEvent batch = sentBatch;
+            long latency = Clock.currentTimeMillis() - sendTime;
+            for (int i = 0; i < batch.size(); i++) {
+                stats.incrementPublishedEventCount(latency);
+            }
+            stats.setConnected(true);
+            sentBatch = null;
+            inFlight = false;
+            LockSupport.unpark(senderThread);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (stats.isConnected()) {
+                logger.warning("Failed to send WAN batch of " + wanReplicationName + " to target group "
+                        + targetGroupName + ", the batch will be retried", t);
+            } else if (logger.isFinestEnabled()) {
+                logger.finest("Failed to send WAN batch of " + wanReplicationName + ", the batch will be retried", t);
+            }
+            stats.setConnected(false);
+            endpointIndex.incrementAndGet();
+            retryTime = Clock.currentTimeMillis() + batchMaxDelayMillis;
+            failedBatch = sentBatch;
+            sentBatch = null;
+            inFlight = false;
+        }
+    }
+
+    private final class BatchSenderThread extends Thread {
+
+        private BatchSenderThread() {
+            super(createThreadName(node.hazelcastInstance.getName(), "wan-batch-replication-" + wanReplicationName));
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                boolean sent = false;
+                if (!paused) {
+                    for (BatchStripe stripe : stripes) {
+                        try {
+                            sent |= stripe.trySend();
+                        } catch (Throwable t) {
+                            logger.severe("Failed to send WAN batch of " + wanReplicationName, t);
+                        }
+                    }
+                }
+                if (!sent) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+}
@@ -23,6 +23,8 @@ import com.hazelcast.map.impl.wan.MapReplicationUpdate;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.impl.operation.WanBatchReplicationOperation;
+import com.hazelcast.wan.impl.operation.WanMerkleTreeOperation;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.WAN_REPLICATION_DS_FACTORY;
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.WAN_REPLICATION_DS_FACTORY_ID;
@@ -49,6 +51,21 @@ public class WanDataSerializerHook implements DataSerializerHook {
      */
     public static final int MAP_REPLICATION_REMOVE = 2;
 
+    /**
+     * ID of {@link com.hazelcast.wan.impl.BatchWanReplicationEvent}
+     */
+    public static final int BATCH_WAN_REPLICATION_EVENT = 3;
+
+    /**
+     * ID of {@link com.hazelcast.wan.impl.operation.WanBatchReplicationOperation}
+     */
+    public static final int WAN_BATCH_REPLICATION_OPERATION = 4;
+
+    /**
+     * ID of {@link com.hazelcast.wan.impl.operation.WanMerkleTreeOperation}
+     */
+    public static final int WAN_MERKLE_TREE_OPERATION = 5;
+
     @Override
     public int getFactoryId() {
         return F_ID;
@@ -67,6 +84,12 @@ public class WanDataSerializerHook implements DataSerializerHook {
                         return new MapReplicationUpdate();
                     case MAP_REPLICATION_REMOVE:
                         return new MapReplicationRemove();
+                    case BATCH_WAN_REPLICATION_EVENT:
+                        return new BatchWanReplicationEvent();
+                    case WAN_BATCH_REPLICATION_OPERATION:
+                        return new WanBatchReplicationOperation();
+                    case WAN_MERKLE_TREE_OPERATION:
+                        return new WanMerkleTreeOperation();
                 }
                 throw new IllegalArgumentException("Unknown type-id: " + typeId);
             }
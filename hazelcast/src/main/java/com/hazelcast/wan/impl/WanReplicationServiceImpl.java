@@ -19,14 +19,22 @@ package com.hazelcast.wan.impl;
 import com.hazelcast.config.InvalidConfigurationException;
 import com.hazelcast.config.WanPublisherConfig;
 import com.hazelcast.config.WanReplicationConfig;
+import com.hazelcast.config.WanReplicationRef;
 import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.monitor.LocalWanPublisherStats;
 import com.hazelcast.monitor.LocalWanStats;
+import com.hazelcast.monitor.impl.LocalWanStatsImpl;
 import com.hazelcast.monitor.WanSyncState;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.wan.WanReplicationEndpoint;
 import com.hazelcast.wan.WanReplicationPublisher;
 import com.hazelcast.wan.WanReplicationService;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -102,32 +110,63 @@ public class WanReplicationServiceImpl implements WanReplicationService {
 
     @Override
     public void pause(String name, String targetGroupName) {
-        throw new UnsupportedOperationException("Pausing wan replication is not supported.");
+        WanBatchReplication endpoint = getBatchReplication(name, targetGroupName);
+        if (endpoint == null) {
+            throw new UnsupportedOperationException("Pausing wan replication is not supported.");
+        }
+        endpoint.pause();
     }
 
     @Override
     public void resume(String name, String targetGroupName) {
-        throw new UnsupportedOperationException("Resuming wan replication is not supported");
+        WanBatchReplication endpoint = getBatchReplication(name, targetGroupName);
+        if (endpoint == null) {
+            throw new UnsupportedOperationException("Resuming wan replication is not supported");
+        }
+        endpoint.resume();
     }
 
     @Override
     public void checkWanReplicationQueues(String name) {
-        //NOP
+        WanReplicationPublisherDelegate delegate = wanReplications.get(name);
+        if (delegate != null) {
+            delegate.checkWanReplicationQueues();
+        }
     }
 
     @Override
     public void syncMap(String wanReplicationName, String targetGroupName, String mapName) {
-        throw new UnsupportedOperationException("WAN sync for map is not supported.");
+        WanBatchReplication endpoint = getBatchReplication(wanReplicationName, targetGroupName);
+        if (endpoint == null) {
+            throw new UnsupportedOperationException("WAN sync for map is not supported.");
+        }
+        endpoint.syncMaps(Collections.singletonList(mapName));
     }
 
     @Override
     public void syncAllMaps(String wanReplicationName, String targetGroupName) {
-        throw new UnsupportedOperationException("WAN sync is not supported.");
+        WanBatchReplication endpoint = getBatchReplication(wanReplicationName, targetGroupName);
+        if (endpoint == null) {
+            throw new UnsupportedOperationException("WAN sync is not supported.");
+        }
+        MapService mapService = node.getNodeEngine().getService(MapService.SERVICE_NAME);
+        List<String> mapNames = new ArrayList<String>();
+        for (MapContainer mapContainer : mapService.getMapServiceContext().getMapContainers().values()) {
+            WanReplicationRef wanReplicationRef = mapContainer.getMapConfig().getWanReplicationRef();
+            if (wanReplicationRef != null && wanReplicationName.equals(wanReplicationRef.getName())) {
+                mapNames.add(mapContainer.getName());
+            }
+        }
+        endpoint.syncMaps(mapNames);
     }
 
     @Override
     public void clearQueues(String wanReplicationName, String targetGroupName) {
-        throw new UnsupportedOperationException("Clearing WAN replication queues is not supported.");
+        WanBatchReplication endpoint = getBatchReplication(wanReplicationName, targetGroupName);
+        if (endpoint == null) {
+            throw new UnsupportedOperationException("Clearing WAN replication queues is not supported.");
+        }
+        endpoint.clearQueues();
     }
 
     @Override
@@ -137,6 +176,39 @@ public class WanReplicationServiceImpl implements WanReplicationService {
 
     @Override
     public Map<String, LocalWanStats> getStats() {
+        Map<String, LocalWanStats> statsMap = new HashMap<String, LocalWanStats>();
+        for (Map.Entry<String, WanReplicationPublisherDelegate> entry : wanReplications.entrySet()) {
+            Map<String, LocalWanPublisherStats> publisherStats = new HashMap<String, LocalWanPublisherStats>();
+            for (WanReplicationEndpoint endpoint : entry.getValue().getEndpoints()) {
+                if (endpoint instanceof WanBatchReplication) {
+                    WanBatchReplication batchReplication = (WanBatchReplication) endpoint;
+                    publisherStats.put(batchReplication.getTargetGroupName(), batchReplication.getStats());
+                }
+            }
+            if (!publisherStats.isEmpty()) {
+                LocalWanStatsImpl wanStats = new LocalWanStatsImpl();
+                wanStats.setLocalPublisherStatsMap(publisherStats);
+                statsMap.put(entry.getKey(), wanStats);
+            }
+        }
+        return statsMap.isEmpty() ? null : statsMap;
+    }
+
+    /**
+     * Returns the {@link WanBatchReplication} endpoint replicating to the given target group or {@code null} if the
+     * WAN replication scheme does not exist or the endpoint is not a {@link WanBatchReplication}.
+     */
+    private WanBatchReplication getBatchReplication(String wanReplicationName, String targetGroupName) {
+        WanReplicationPublisherDelegate delegate = wanReplications.get(wanReplicationName);
+        if (delegate == null) {
+            return null;
+        }
+        for (WanReplicationEndpoint endpoint : delegate.getEndpoints()) {
+            if (endpoint instanceof WanBatchReplication
+                    && ((WanBatchReplication) endpoint).getTargetGroupName().equals(targetGroupName)) {
+                return (WanBatchReplication) endpoint;
+            }
+        }
         return null;
     }
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wan.impl.operation;
+
+import com.hazelcast.config.WanAcknowledgeType;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.cluster.impl.operations.WanReplicationOperation;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.IOUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.ReplicationSupportingService;
+import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.impl.BatchWanReplicationEvent;
+import com.hazelcast.wan.impl.WanDataSerializerHook;
+
+import java.io.IOException;
+
+/**
+ * Operation sent by {@link com.hazelcast.wan.impl.WanBatchReplication} to a member of the target cluster.
+ * It carries a serialized and optionally compressed {@link BatchWanReplicationEvent} and applies every
+ * contained event through the {@link ReplicationSupportingService} of the event's service.
+ * <p>
+ * If the acknowledge type is {@link WanAcknowledgeType#ACK_ON_RECEIPT}, the response is sent as soon as the
+ * batch has been decoded and the events are applied asynchronously. Otherwise the response is sent after all
+ * events have been applied.
+ */
+public class WanBatchReplicationOperation extends Operation implements WanReplicationOperation, IdentifiedDataSerializable {
+
+    private String targetGroupName;
+    private boolean compressed;
+    private int acknowledgeType;
+    private byte[] payload;
+
+    public WanBatchReplicationOperation() {
+    }
+
+    public WanBatchReplicationOperation(String targetGroupName, byte[] payload, boolean compressed,
+                                        WanAcknowledgeType acknowledgeType) {
+        this.targetGroupName = targetGroupName;
+        this.payload = payload;
+        this.compressed = compressed;
+        this.acknowledgeType = acknowledgeType.getId();
+    }
+
+    @Override
+    public void run() throws Exception {
+        NodeEngine nodeEngine = getNodeEngine();
+        String groupName = nodeEngine.getConfig().getGroupConfig().getName();
+        if (!groupName.equals(targetGroupName)) {
+            throw new HazelcastException("WAN batch targeted at group '" + targetGroupName
+                    + "' was received by group '" + groupName + "'");
+        }
+
+        byte[] bytes = compressed ? IOUtil.decompress(payload) : payload;
+        final BatchWanReplicationEvent batch = nodeEngine.toObject(new HeapData(bytes));
+
+        if (WanAcknowledgeType.getById(acknowledgeType) == WanAcknowledgeType.ACK_ON_RECEIPT) {
+            nodeEngine.getExecutionService().execute(ExecutionService.ASYNC_EXECUTOR, new Runnable() {
+                @Override
+                public void run() {
+                    applyEvents(batch);
+                }
+            });
+        } else {
+            applyEvents(batch);
+        }
+    }
+
+    private void applyEvents(BatchWanReplicationEvent batch) {
+        NodeEngine nodeEngine = getNodeEngine();
+        for (WanReplicationEvent event : batch.getEvents()) {
+            try {
+                ReplicationSupportingService service = nodeEngine.getService(event.getServiceName());
+                service.onReplicationEvent(event);
+            } catch (Throwable t) {
+                ILogger logger = getLogger();
+                logger.warning("Failed to apply WAN replication event for service " + event.getServiceName(), t);
+            }
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(targetGroupName);
+        out.writeBoolean(compressed);
+        out.writeInt(acknowledgeType);
+        out.writeByteArray(payload);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        targetGroupName = in.readUTF();
+        compressed = in.readBoolean();
+        acknowledgeType = in.readInt();
+        payload = in.readByteArray();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return WanDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return WanDataSerializerHook.WAN_BATCH_REPLICATION_OPERATION;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wan.impl.operation;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.cluster.impl.operations.WanReplicationOperation;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.MerkleTreeLeafEntriesOperation;
+import com.hazelcast.map.impl.operation.MerkleTreeLeavesOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.wan.impl.WanDataSerializerHook;
+
+import java.io.IOException;
+
+/**
+ * Operation sent by {@link com.hazelcast.wan.impl.WanBatchReplication} to a member of the target cluster while
+ * synchronizing a map. It reads either the Merkle tree leaf hashes or the entries falling into the given leaves of
+ * a map partition in the target cluster, so the source cluster can transfer only the differing key ranges.
+ * The entries are read in pages, see {@link MerkleTreeLeafEntriesOperation}.
+ * <p>
+ * The map partition is read asynchronously: the response is sent when the operation on the partition completes,
+ * so the thread running this operation is not blocked while waiting for it.
+ * <p>
+ * Both clusters need to have the same partition count for the partition contents to be comparable.
+ */
+public class WanMerkleTreeOperation extends Operation implements WanReplicationOperation, IdentifiedDataSerializable {
+
+    private String targetGroupName;
+    private String mapName;
+    private int mapPartitionId;
+    private int partitionCount;
+    private boolean fetchEntries;
+    private int[] leaves;
+    private int tableIndex;
+    private int fetchSize;
+
+    public WanMerkleTreeOperation() {
+    }
+
+    /**
+     * @param targetGroupName the group name of the target cluster
+     * @param mapName         the name of the map
+     * @param mapPartitionId  the ID of the partition to read
+     * @param partitionCount  the partition count of the source cluster
+     * @param fetchEntries    {@code true} to read the entries in {@code leaves}, {@code false} to read the leaf hashes
+     * @param leaves          the leaves to read the entries from, {@code null} for all entries
+     * @param tableIndex      the table index to read the page of entries from
+     * @param fetchSize       the maximum number of keys scanned for the page of entries
+     */
+    public WanMerkleTreeOperation(String targetGroupName, String mapName, int mapPartitionId, int partitionCount,
+                                  boolean fetchEntries, int[] leaves, int tableIndex, int fetchSize) {
+        this.targetGroupName = targetGroupName;
+        this.mapName = mapName;
+        this.mapPartitionId = mapPartitionId;
+        this.partitionCount = partitionCount;
+        this.fetchEntries = fetchEntries;
+        this.leaves = leaves;
+        this.tableIndex = tableIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void run() throws Exception {
+        NodeEngine nodeEngine = getNodeEngine();
+        String groupName = nodeEngine.getConfig().getGroupConfig().getName();
+        if (!groupName.equals(targetGroupName)) {
+            throw new HazelcastException("WAN sync targeted at group '" + targetGroupName
+                    + "' was received by group '" + groupName + "'");
+        }
+        int localPartitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        if (localPartitionCount != partitionCount) {
+            throw new HazelcastException("WAN sync requires the same partition count in both clusters, source: "
+                    + partitionCount + ", target: " + localPartitionCount);
+        }
+
+        Operation operation = fetchEntries
+                ? new MerkleTreeLeafEntriesOperation(mapName, leaves, tableIndex, fetchSize)
+                : new MerkleTreeLeavesOperation(mapName);
+        nodeEngine.getOperationService()
+                .invokeOnPartition(MapService.SERVICE_NAME, operation, mapPartitionId)
+                .andThen(new ExecutionCallback<Object>() {
+                    @Override
+                    public void onResponse(Object response) {
+                        sendResponse(response);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        sendResponse(t);
+                    }
+                });
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeUTF(targetGroupName);
+        out.writeUTF(mapName);
+        out.writeInt(mapPartitionId);
+        out.writeInt(partitionCount);
+        out.writeBoolean(fetchEntries);
+        out.writeIntArray(leaves);
+        out.writeInt(tableIndex);
+        out.writeInt(fetchSize);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        targetGroupName = in.readUTF();
+        mapName = in.readUTF();
+        mapPartitionId = in.readInt();
+        partitionCount = in.readInt();
+        fetchEntries = in.readBoolean();
+        leaves = in.readIntArray();
+        tableIndex = in.readInt();
+        fetchSize = in.readInt();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return WanDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return WanDataSerializerHook.WAN_MERKLE_TREE_OPERATION;
+    }
+}
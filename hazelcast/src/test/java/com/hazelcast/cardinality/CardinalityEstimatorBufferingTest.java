@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cardinality;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CardinalityEstimatorBufferingTest extends HazelcastTestSupport {
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setup() {
+        Config config = new Config().setProperty(CARDINALITY_ESTIMATOR_BUFFER_WINDOW_MILLIS.getName(), "200");
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+    }
+
+    @Test
+    public void testEstimate_includesOwnBufferedElements() {
+        CardinalityEstimator estimator = instances[0].getCardinalityEstimator(generateKeyOwnedBy(instances[1]));
+        for (int i = 0; i < 100; i++) {
+            estimator.add(i);
+        }
+
+        assertEquals(100, estimator.estimate());
+    }
+
+    @Test
+    public void testBufferIsFlushedAfterWindow() {
+        final String name = generateKeyOwnedBy(instances[1]);
+        for (int i = 0; i < 100; i++) {
+            instances[0].getCardinalityEstimator(name).add(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, instances[1].getCardinalityEstimator(name).estimate());
+            }
+        });
+    }
+
+    @Test
+    public void testBuffersOfDifferentMembersAreMerged() {
+        String name = randomString();
+        for (int i = 0; i < 100; i++) {
+            instances[0].getCardinalityEstimator(name).add(i);
+            instances[1].getCardinalityEstimator(name).add(i + 50);
+        }
+        // each estimate flushes the buffer of the member it is made through
+        instances[0].getCardinalityEstimator(name).estimate();
+
+        assertEquals(150, instances[1].getCardinalityEstimator(name).estimate());
+    }
+
+    @Test
+    public void testAddAsync_completesWhenMerged() throws Exception {
+        String name = generateKeyOwnedBy(instances[1]);
+        CardinalityEstimator estimator = instances[0].getCardinalityEstimator(name);
+
+        assertEquals(null, estimator.addAsync(1).get());
+        // the estimate is made through the other member, so it does not flush the buffer of the first one
+        assertEquals(1, instances[1].getCardinalityEstimator(name).estimate());
+    }
+
+    @Test
+    public void testAddAsync_completesWhenFlushedByEstimate() throws Exception {
+        CardinalityEstimator estimator = instances[0].getCardinalityEstimator(randomString());
+
+        ICompletableFuture<Void> future = estimator.addAsync(1);
+
+        assertEquals(1, estimator.estimate());
+        assertEquals(null, future.get());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cardinality.impl;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.cardinality.impl.HyperLogLogBuffer.MAX_MERGE_ATTEMPTS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class HyperLogLogBufferTest extends HazelcastTestSupport {
+
+    private final AtomicInteger openedWindows = new AtomicInteger();
+    private HyperLogLogBuffer buffer;
+
+    @Before
+    public void setup() {
+        Executor callerRuns = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        buffer = new HyperLogLogBuffer(callerRuns, Logger.getLogger(HyperLogLogBuffer.class), new Runnable() {
+            @Override
+            public void run() {
+                openedWindows.incrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    public void testAddsOfWindow_shareFuture_completedOnMerge() throws Exception {
+        InternalCompletableFuture<Void> future1 = buffer.add(1);
+        InternalCompletableFuture<Void> future2 = buffer.add(2);
+
+        HyperLogLogBuffer.Window window = buffer.drain();
+        assertSame(future1, future2);
+        assertEquals(1, openedWindows.get());
+        assertNull(buffer.drain());
+
+        window.onResponse(null);
+        assertNull(future1.get());
+    }
+
+    @Test
+    public void testFailedWindow_isMergedWithNextWindow() throws Exception {
+        InternalCompletableFuture<Void> failedFuture = buffer.add(1);
+        HyperLogLogBuffer.Window failed = buffer.drain();
+        InternalCompletableFuture<Void> nextFuture = buffer.add(2);
+
+        failed.onFailure(new IllegalStateException("expected failure"));
+
+        assertFalse(failedFuture.isDone());
+        HyperLogLog expected = new HyperLogLogImpl();
+        expected.add(1);
+        expected.add(2);
+        HyperLogLogBuffer.Window merged = buffer.drain();
+        assertEquals(expected.estimate(), merged.getSketch().estimate());
+        merged.onResponse(null);
+        assertNull(failedFuture.get());
+        assertNull(nextFuture.get());
+    }
+
+    @Test
+    public void testFailedWindow_isPutBackIntoEmptyBuffer() {
+        InternalCompletableFuture<Void> future = buffer.add(1);
+        buffer.drain().onFailure(new IllegalStateException("expected failure"));
+
+        assertEquals(2, openedWindows.get());
+        assertFalse(future.isDone());
+        assertSame(future, buffer.add(2));
+    }
+
+    @Test
+    public void testFutureFails_afterLastMergeAttempt() throws Exception {
+        InternalCompletableFuture<Void> future = buffer.add(1);
+
+        for (int i = 0; i < MAX_MERGE_ATTEMPTS; i++) {
+            buffer.drain().onFailure(new IllegalStateException("expected failure"));
+        }
+
+        assertNull(buffer.drain());
+        try {
+            future.get();
+            fail("the add should fail after the last merge attempt");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.cardinality.impl.hyperloglog.impl;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.HashUtil;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class HyperLogLogMergeTest {
+
+    private static final double MAX_ERROR = 0.05;
+
+    @Test
+    public void testMerge_sparseIntoSparse() {
+        assertMergedEstimate(newHyperLogLog(0, 1000), newHyperLogLog(500, 1500), 1500);
+    }
+
+    @Test
+    public void testMerge_denseIntoSparse() {
+        assertMergedEstimate(newHyperLogLog(0, 1000), newHyperLogLog(0, 50000), 50000);
+    }
+
+    @Test
+    public void testMerge_sparseIntoDense() {
+        assertMergedEstimate(newHyperLogLog(0, 50000), newHyperLogLog(49000, 51000), 51000);
+    }
+
+    @Test
+    public void testMerge_denseIntoDense() {
+        assertMergedEstimate(newHyperLogLog(0, 50000), newHyperLogLog(25000, 100000), 100000);
+    }
+
+    @Test
+    public void testMerge_isIdempotent() {
+        HyperLogLog hll = newHyperLogLog(0, 1000);
+        HyperLogLog other = newHyperLogLog(500, 1500);
+        hll.merge(other);
+        long estimate = hll.estimate();
+
+        hll.merge(other);
+
+        assertEquals(estimate, hll.estimate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_differentPrecision() {
+        HyperLogLog hll = new HyperLogLogImpl(14, 25);
+        hll.add(1);
+        HyperLogLog other = new HyperLogLogImpl(12, 25);
+        other.add(2);
+
+        hll.merge(other);
+    }
+
+    private static void assertMergedEstimate(HyperLogLog hll, HyperLogLog other, long expected) {
+        hll.merge(other);
+
+        assertEquals(expected, hll.estimate(), expected * MAX_ERROR);
+    }
+
+    private static HyperLogLog newHyperLogLog(int from, int to) {
+        HyperLogLog hll = new HyperLogLogImpl();
+        ByteBuffer bb = ByteBuffer.allocate(4);
+        for (int i = from; i < to; i++) {
+            bb.clear();
+            bb.putInt(i);
+            hll.add(HashUtil.MurmurHash3_x64_64(bb.array(), 0, bb.array().length));
+        }
+        return hll;
+    }
+}
@@ -39,6 +39,7 @@ import com.hazelcast.mapreduce.TopologyChangedException;
 import com.hazelcast.memory.NativeOutOfMemoryError;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.partition.NoDataMemberInClusterException;
+import com.hazelcast.pncounter.ConsistencyLostException;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.quorum.QuorumException;
 import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
@@ -266,7 +267,8 @@ public class ClientExceptionFactoryTest extends HazelcastTestSupport {
                 new Object[]{new RuntimeException("fun",
                         new RuntimeException("!@#$%^&*()'][/.,l;§!|`]:\\ľščťž /sᵻˈrɪlɪk/ Áзбука 中华民族 \n \r \t \r\n"))},
                 new Object[]{new LocalMemberResetException(randomString())},
-                new Object[]{new IndeterminateOperationStateException(randomString())}
+                new Object[]{new IndeterminateOperationStateException(randomString())},
+                new Object[]{new ConsistencyLostException(randomString())}
         );
 
     }
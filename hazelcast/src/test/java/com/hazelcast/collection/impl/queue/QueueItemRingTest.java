@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class QueueItemRingTest extends HazelcastTestSupport {
+
+    private final QueueItemRing ring = new QueueItemRing(2);
+
+    @Test
+    public void testAddLastAndRemoveFirst_wrapsAround() {
+        for (int i = 0; i < 100; i++) {
+            ring.addLast(i, null, i);
+            if (i % 3 == 0) {
+                ring.removeFirst(1);
+            }
+        }
+
+        assertEquals(66, ring.size());
+        for (int i = 0; i < ring.size(); i++) {
+            assertEquals(ring.itemId(0) + i, ring.itemId(i));
+            assertEquals(ring.itemId(i), ring.creationTime(i));
+        }
+        assertEquals(99, ring.lastItemId());
+    }
+
+    @Test
+    public void testAddFirst() {
+        ring.addLast(2, null, 0);
+        ring.addLast(3, null, 0);
+        ring.addFirst(1, null, 0);
+        ring.addFirst(0, null, 0);
+
+        assertItemIds(0, 1, 2, 3);
+    }
+
+    @Test
+    public void testInsertOrdered() {
+        long[] itemIds = {5, 1, 9, 3, 7, 0, 8};
+        for (long itemId : itemIds) {
+            ring.insertOrdered(itemId, null, 0);
+        }
+        ring.insertOrdered(3, null, 42);
+
+        assertItemIds(0, 1, 3, 5, 7, 8, 9);
+        assertEquals(42, ring.creationTime(ring.binarySearch(3)));
+        assertTrue(ring.binarySearch(4) < 0);
+        assertEquals(3, ring.indexOfFirstLarger(4));
+    }
+
+    @Test
+    public void testRemoveAt() {
+        for (int i = 0; i < 10; i++) {
+            ring.addLast(i, null, 0);
+        }
+        ring.removeAt(1);
+        ring.removeAt(7);
+        ring.removeAt(0);
+        ring.removeAt(ring.size() - 1);
+
+        assertItemIds(2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void testRemoveMarked() {
+        for (int i = 0; i < 6; i++) {
+            ring.addLast(i, null, 0);
+        }
+        ring.removeMarked(new boolean[]{true, false, true, true, false, false});
+
+        assertItemIds(1, 4, 5);
+    }
+
+    @Test
+    public void testSortByItemId() {
+        ring.addLast(4, null, 0);
+        ring.addLast(2, null, 0);
+        ring.addLast(3, null, 0);
+        ring.addFirst(1, null, 0);
+
+        ring.sortByItemId(null);
+
+        assertItemIds(1, 2, 3, 4);
+    }
+
+    @Test
+    public void testClear() {
+        ring.addLast(1, null, 0);
+        ring.clear();
+
+        assertTrue(ring.isEmpty());
+    }
+
+    private void assertItemIds(long... expected) {
+        assertEquals(expected.length, ring.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], ring.itemId(i));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.test.HazelcastTestSupport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the offer and poll throughput of an unsharded queue with queues of increasing shard counts. Every member
+ * runs producer and consumer threads against the same queue, the throughput of the sharded queues should grow with
+ * the shard count until the partition threads of the cluster are saturated.
+ */
+public class ShardedQueuePerformanceBenchmark extends HazelcastTestSupport {
+
+    private static final int MEMBER_COUNT = 4;
+    private static final int THREADS_PER_MEMBER = 8;
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8, 16};
+    private static final int RUN_SECONDS = 20;
+    private static final byte[] VALUE = new byte[100];
+
+    public static void main(String[] args) {
+        System.setProperty("hazelcast.local.localAddress", "127.0.0.1");
+        Config config = new Config();
+        for (int shardCount : SHARD_COUNTS) {
+            config.addQueueConfig(new QueueConfig("queue-" + shardCount).setShardCount(shardCount));
+        }
+        HazelcastInstance[] members = new HazelcastInstance[MEMBER_COUNT];
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members[i] = Hazelcast.newHazelcastInstance(config);
+        }
+
+        for (int shardCount : SHARD_COUNTS) {
+            long operations = run(members, "queue-" + shardCount);
+            System.err.println("shards: " + shardCount + ",\t speed: " + (operations / RUN_SECONDS) + " ops/s");
+        }
+        Hazelcast.shutdownAll();
+    }
+
+    private static long run(HazelcastInstance[] members, String name) {
+        final AtomicLong operations = new AtomicLong();
+        final long deadline = System.currentTimeMillis() + RUN_SECONDS * 1000L;
+        Thread[] threads = new Thread[MEMBER_COUNT * THREADS_PER_MEMBER];
+        for (int i = 0; i < threads.length; i++) {
+            final IQueue<Object> queue = members[i % MEMBER_COUNT].getQueue(name);
+            final boolean producer = i % 2 == 0;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    long count = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        if (producer) {
+                            queue.offer(VALUE);
+                        } else {
+                            queue.poll();
+                        }
+                        count++;
+                    }
+                    operations.addAndGet(count);
+                }
+            };
+            threads[i].start();
+        }
+        assertJoinable(RUN_SECONDS * 2, threads);
+        members[0].getQueue(name).clear();
+        return operations.get();
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.impl.txnqueue.TransactionalShardedQueueProxy;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.config.QueueStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.core.ItemEvent;
+import com.hazelcast.core.ItemListener;
+import com.hazelcast.core.QueueStore;
+import com.hazelcast.core.TransactionalQueue;
+import com.hazelcast.monitor.LocalQueueStats;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ShardedQueueTest extends HazelcastTestSupport {
+
+    private static final int SHARD_COUNT = 4;
+
+    private HazelcastInstance[] instances;
+    private IQueue<Integer> queue;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.addQueueConfig(new QueueConfig("sharded*").setShardCount(SHARD_COUNT));
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+        queue = instances[0].getQueue("sharded");
+    }
+
+    @Test
+    public void testProxyIsSharded() {
+        assertTrue(queue instanceof ShardedQueueProxyImpl);
+        assertEquals(SHARD_COUNT, ((ShardedQueueProxyImpl) queue).getShardCount());
+    }
+
+    @Test
+    public void testItemsAreSpreadOverShards() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertEquals(100, queue.size());
+        for (int i = 1; i < SHARD_COUNT; i++) {
+            assertEquals(25, instances[0].getQueue(QueueService.getShardName("sharded", i)).size());
+        }
+    }
+
+    @Test
+    public void testPollFromAnyMember() {
+        for (int i = 0; i < 100; i++) {
+            queue.offer(i);
+        }
+
+        IQueue<Integer> other = instances[1].getQueue("sharded");
+        Set<Integer> polled = new HashSet<Integer>();
+        Integer item;
+        while ((item = other.poll()) != null) {
+            polled.add(item);
+        }
+
+        assertEquals(100, polled.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testKeyedItemsKeepOrder() {
+        ShardedQueueProxyImpl<Integer> sharded = (ShardedQueueProxyImpl<Integer>) queue;
+        for (int i = 0; i < 50; i++) {
+            sharded.offer("key", i);
+        }
+
+        List<Integer> drained = new ArrayList<Integer>();
+        queue.drainTo(drained);
+
+        assertEquals(50, drained.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, (int) drained.get(i));
+        }
+    }
+
+    @Test
+    public void testLocalQueueStats_skipsShardsWithoutAgedItems() {
+        ShardedQueueProxyImpl<Integer> sharded = (ShardedQueueProxyImpl<Integer>) queue;
+        sharded.offer("key", 1);
+        sleepMillis(100);
+        assertEquals(1, (int) queue.poll());
+
+        // the owner of the shard aged the item, the backup may have aged it too
+        int agedCount = 0;
+        for (HazelcastInstance instance : instances) {
+            LocalQueueStats stats = instance.getQueue("sharded").getLocalQueueStats();
+            if (stats.getMinAge() == Long.MAX_VALUE) {
+                continue;
+            }
+            agedCount++;
+            assertTrue(stats.getMinAge() >= 100);
+            assertEquals(stats.getMinAge(), stats.getMaxAge());
+            assertEquals(stats.getMinAge(), stats.getAvgAge());
+        }
+        assertTrue(agedCount > 0);
+    }
+
+    @Test
+    public void testBlockingPoll_receivesItemOfAnyShard() throws Exception {
+        final IQueue<Integer> other = instances[1].getQueue("sharded");
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                sleepMillis(500);
+                queue.offer(1);
+            }
+        });
+
+        assertEquals(1, (int) other.poll(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+        assertNull(other.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testBulkOperations() {
+        List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < 20; i++) {
+            items.add(i);
+        }
+        assertTrue(queue.addAll(items));
+
+        assertEquals(20, queue.size());
+        assertTrue(queue.containsAll(items));
+        assertEquals(20, queue.toArray().length);
+        assertTrue(queue.removeAll(items.subList(0, 10)));
+        assertEquals(10, queue.size());
+        assertFalse(queue.contains(0));
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testItemListener_receivesEventsOfAllShards() {
+        final AtomicInteger added = new AtomicInteger();
+        String registrationId = queue.addItemListener(new ItemListener<Integer>() {
+            @Override
+            public void itemAdded(ItemEvent<Integer> item) {
+                added.incrementAndGet();
+            }
+
+            @Override
+            public void itemRemoved(ItemEvent<Integer> item) {
+            }
+        }, false);
+        for (int i = 0; i < 20; i++) {
+            queue.offer(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(20, added.get());
+            }
+        });
+        assertTrue(queue.removeItemListener(registrationId));
+    }
+
+    @Test
+    public void testDestroy_destroysAllShards() {
+        for (int i = 0; i < 20; i++) {
+            queue.offer(i);
+        }
+
+        queue.destroy();
+
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            assertEquals(0, instances[0].getQueue(QueueService.getShardName("sharded", i)).size());
+        }
+    }
+
+    @Test
+    public void testTransactionalQueue_offersAndPollsAllShards() {
+        TransactionContext context = instances[0].newTransactionContext();
+        context.beginTransaction();
+        TransactionalQueue<Integer> txQueue = context.getQueue("sharded");
+        assertTrue(txQueue instanceof TransactionalShardedQueueProxy);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(txQueue.offer(i));
+        }
+        assertEquals(8, txQueue.size());
+        context.commitTransaction();
+
+        for (int i = 1; i < SHARD_COUNT; i++) {
+            assertEquals(2, instances[0].getQueue(QueueService.getShardName("sharded", i)).size());
+        }
+
+        context = instances[1].newTransactionContext();
+        context.beginTransaction();
+        txQueue = context.getQueue("sharded");
+        Set<Integer> polled = new HashSet<Integer>();
+        Integer item;
+        while ((item = txQueue.poll()) != null) {
+            polled.add(item);
+        }
+        context.commitTransaction();
+
+        assertEquals(8, polled.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testTransactionalPoll_rollbackRestoresItems() {
+        for (int i = 0; i < 8; i++) {
+            queue.offer(i);
+        }
+
+        TransactionContext context = instances[1].newTransactionContext();
+        context.beginTransaction();
+        TransactionalQueue<Integer> txQueue = context.getQueue("sharded");
+        for (int i = 0; i < 8; i++) {
+            assertNotNull(txQueue.poll());
+        }
+        assertNull(txQueue.poll());
+        context.rollbackTransaction();
+
+        assertEquals(8, queue.size());
+    }
+
+    @Test
+    public void testQueueStore_shardsShareStoreWithDisjointItemIds() {
+        SharedQueueStore store = new SharedQueueStore();
+        Config config = new Config();
+        config.addQueueConfig(new QueueConfig("stored").setShardCount(SHARD_COUNT)
+                .setQueueStoreConfig(new QueueStoreConfig().setStoreImplementation(store)));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IQueue<Integer> storedQueue = instance.getQueue("stored");
+
+        for (int i = 0; i < 40; i++) {
+            storedQueue.offer(i);
+        }
+
+        assertEquals(40, store.items.size());
+        for (int i = 0; i < 40; i++) {
+            assertTrue(store.items.containsValue(i));
+        }
+    }
+
+    static class SharedQueueStore implements QueueStore<Integer> {
+
+        final Map<Long, Integer> items = new ConcurrentHashMap<Long, Integer>();
+
+        @Override
+        public void store(Long key, Integer value) {
+            items.put(key, value);
+        }
+
+        @Override
+        public void storeAll(Map<Long, Integer> map) {
+            items.putAll(map);
+        }
+
+        @Override
+        public void delete(Long key) {
+            items.remove(key);
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys) {
+            for (Long key : keys) {
+                items.remove(key);
+            }
+        }
+
+        @Override
+        public Integer load(Long key) {
+            return items.get(key);
+        }
+
+        @Override
+        public Map<Long, Integer> loadAll(Collection<Long> keys) {
+            Map<Long, Integer> result = new ConcurrentHashMap<Long, Integer>();
+            for (Long key : keys) {
+                Integer value = items.get(key);
+                if (value != null) {
+                    result.put(key, value);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Set<Long> loadAllKeys() {
+            return items.keySet();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.concurrent.lock;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ILock;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.strategy.StringPartitioningStrategy;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.properties.GroupProperty.LOCK_LOCAL_CACHE_LEASE_MILLIS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LockLocalCacheTest extends HazelcastTestSupport {
+
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+    private ILock lock;
+    private ILock remoteLock;
+
+    @Before
+    public void setup() {
+        Config config = new Config().setProperty(LOCK_LOCAL_CACHE_LEASE_MILLIS.getName(), "2000");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        local = instances[0];
+        remote = instances[1];
+        String name = generateKeyOwnedBy(remote);
+        lock = local.getLock(name);
+        remoteLock = remote.getLock(name);
+    }
+
+    @Test
+    public void testUnlockedLock_isCachedButReportedAsFree() {
+        lock.lock();
+        lock.unlock();
+
+        assertTrue(isCachedLocally());
+        assertFalse(lock.isLocked());
+        assertFalse(remoteLock.isLocked());
+        assertEquals(0, remoteLock.getLockCount());
+        assertEquals(-1, remoteLock.getRemainingLeaseTime());
+    }
+
+    @Test
+    public void testReentrantLock() {
+        lock.lock();
+        lock.lock();
+        assertEquals(2, lock.getLockCount());
+        assertTrue(lock.isLockedByCurrentThread());
+
+        lock.unlock();
+        assertEquals(1, lock.getLockCount());
+        lock.unlock();
+        assertEquals(0, lock.getLockCount());
+        assertFalse(lock.isLockedByCurrentThread());
+    }
+
+    @Test
+    public void testCachedLock_reacquiredByOwnerThread() {
+        lock.lock();
+        lock.unlock();
+
+        assertTrue(lock.tryLock());
+        assertTrue(lock.isLockedByCurrentThread());
+        lock.unlock();
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testUnlock_whenCachedLockIsIdle() {
+        lock.lock();
+        lock.unlock();
+
+        lock.unlock();
+    }
+
+    @Test
+    public void testIdleCachedLock_revokedOnContention() throws Exception {
+        lock.lock();
+        lock.unlock();
+
+        assertTrue(remoteLock.tryLock());
+        assertFalse(lock.tryLock());
+        assertTrue(lock.isLocked());
+        assertFalse(isCachedLocally());
+    }
+
+    @Test
+    public void testHeldCachedLock_tryLockFromOtherMemberFails() {
+        lock.lock();
+        lock.unlock();
+        lock.lock();
+
+        assertFalse(remoteLock.tryLock());
+        assertTrue(remoteLock.isLocked());
+        assertEquals(1, remoteLock.getLockCount());
+
+        lock.unlock();
+        assertTrue(remoteLock.tryLock());
+    }
+
+    @Test
+    public void testIdleCachedLock_revokedOnContentionFromOtherThread() throws Exception {
+        lock.lock();
+        lock.unlock();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Thread() {
+            @Override
+            public void run() {
+                lock.lock();
+                latch.countDown();
+            }
+        }.start();
+
+        assertOpenEventually(latch);
+        assertFalse(lock.tryLock());
+    }
+
+    @Test
+    public void testHeldCachedLock_releasedOnLastUnlockAfterContention() {
+        lock.lock();
+        lock.unlock();
+        lock.lock();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Thread() {
+            @Override
+            public void run() {
+                remoteLock.lock();
+                latch.countDown();
+            }
+        }.start();
+
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, latch.getCount());
+            }
+        }, 2);
+        lock.unlock();
+        assertOpenEventually(latch);
+    }
+
+    @Test
+    public void testIdleCachedLock_releasedAfterLease() {
+        lock.lock();
+        lock.unlock();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(isCachedLocally());
+            }
+        });
+        assertFalse(remoteLock.isLocked());
+    }
+
+    @Test
+    public void testLockWithLeaseTime_isNotCached() {
+        lock.lock(1, TimeUnit.MINUTES);
+        lock.unlock();
+
+        assertFalse(isCachedLocally());
+        assertFalse(remoteLock.isLocked());
+    }
+
+    @Test
+    public void testForceUnlock_invalidatesCachedLock() {
+        lock.lock();
+
+        remoteLock.forceUnlock();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertFalse(lock.isLocked());
+            }
+        });
+        assertTrue(remoteLock.tryLock());
+    }
+
+    private boolean isCachedLocally() {
+        LockServiceImpl service = getNodeEngineImpl(local).getService(LockServiceImpl.SERVICE_NAME);
+        Data key = getSerializationService(local).toData(lock.getName(), StringPartitioningStrategy.INSTANCE);
+        return service.getLocalLockCache().get(key) != null;
+    }
+}
@@ -78,6 +78,7 @@ class ConfigCompatibilityChecker {
         checkCompatibleConfigs("lock", c1, c2, c1.getLockConfigs(), c2.getLockConfigs(), new LockConfigChecker());
         checkCompatibleConfigs("topic", c1, c2, c1.getTopicConfigs(), c2.getTopicConfigs(), new TopicConfigChecker());
         checkCompatibleConfigs("reliable topic", c1, c2, c1.getReliableTopicConfigs(), c2.getReliableTopicConfigs(), new ReliableTopicConfigChecker());
+        checkCompatibleConfigs("flake id generator", c1, c2, c1.getFlakeIdGeneratorConfigs(), c2.getFlakeIdGeneratorConfigs(), new FlakeIdGeneratorConfigChecker());
         checkCompatibleConfigs("cache", c1, c2, c1.getCacheConfigs(), c2.getCacheConfigs(), new CacheSimpleConfigChecker());
         checkCompatibleConfigs("executor", c1, c2, c1.getExecutorConfigs(), c2.getExecutorConfigs(), new ExecutorConfigChecker());
         checkCompatibleConfigs("durable executor", c1, c2, c1.getDurableExecutorConfigs(), c2.getDurableExecutorConfigs(), new DurableExecutorConfigChecker());
@@ -200,7 +201,11 @@ class ConfigCompatibilityChecker {
                     (c1 != null && c2 != null
                             && nullSafeEqual(c1.getClassName(), c2.getClassName())
                             && nullSafeEqual(c1.getFactoryClassName(), c2.getFactoryClassName())
-                            && nullSafeEqual(c1.getProperties(), c2.getProperties()));
+                            && nullSafeEqual(c1.getProperties(), c2.getProperties())
+                            && c1.isWriteBehindEnabled() == c2.isWriteBehindEnabled()
+                            && c1.getWriteBehindQueueCapacity() == c2.getWriteBehindQueueCapacity()
+                            && c1.getWriteBehindBatchSize() == c2.getWriteBehindBatchSize()
+                            && nullSafeEqual(c1.getWriteBehindAcknowledgeType(), c2.getWriteBehindAcknowledgeType()));
         }
 
         @Override
@@ -247,6 +252,7 @@ class ConfigCompatibilityChecker {
                     && nullSafeEqual(c1.getAsyncBackupCount(), c2.getAsyncBackupCount())
                     && nullSafeEqual(c1.getMaxSize(), c2.getMaxSize())
                     && nullSafeEqual(c1.getEmptyQueueTtl(), c2.getEmptyQueueTtl())
+                    && nullSafeEqual(c1.getShardCount(), c2.getShardCount())
                     && isCompatible(c1.getQueueStoreConfig(), c2.getQueueStoreConfig())
                     && nullSafeEqual(c1.isStatisticsEnabled(), c2.isStatisticsEnabled())
                     && nullSafeEqual(c1.getQuorumName(), c2.getQuorumName());
@@ -357,7 +363,8 @@ class ConfigCompatibilityChecker {
                     && nullSafeEqual(c1.getName(), c2.getName())
                     && nullSafeEqual(c1.isStatisticsEnabled(), c2.isStatisticsEnabled())
                     && nullSafeEqual(c1.getMessageListenerConfigs(), c2.getMessageListenerConfigs())
-                    && nullSafeEqual(c1.getTopicOverloadPolicy(), c2.getTopicOverloadPolicy());
+                    && nullSafeEqual(c1.getTopicOverloadPolicy(), c2.getTopicOverloadPolicy())
+                    && nullSafeEqual(c1.getShardCount(), c2.getShardCount());
         }
 
         @Override
@@ -366,6 +373,23 @@ class ConfigCompatibilityChecker {
         }
     }
 
+    private static class FlakeIdGeneratorConfigChecker extends ConfigChecker<FlakeIdGeneratorConfig> {
+        @Override
+        boolean check(FlakeIdGeneratorConfig c1, FlakeIdGeneratorConfig c2) {
+            return c1 == c2 || !(c1 == null || c2 == null)
+                    && nullSafeEqual(c1.getName(), c2.getName())
+                    && nullSafeEqual(c1.getPrefetchCount(), c2.getPrefetchCount())
+                    && nullSafeEqual(c1.getPrefetchValidityMillis(), c2.getPrefetchValidityMillis())
+                    && nullSafeEqual(c1.getIdOffset(), c2.getIdOffset())
+                    && nullSafeEqual(c1.getNodeIdOffset(), c2.getNodeIdOffset());
+        }
+
+        @Override
+        FlakeIdGeneratorConfig getDefault(Config c) {
+            return c.getFlakeIdGeneratorConfig("default");
+        }
+    }
+
     private static class ExecutorConfigChecker extends ConfigChecker<ExecutorConfig> {
         @Override
         boolean check(ExecutorConfig c1, ExecutorConfig c2) {
@@ -430,7 +454,8 @@ class ConfigCompatibilityChecker {
                     && nullSafeEqual(c1.isBinary(), c2.isBinary())
                     && nullSafeEqual(c1.getBackupCount(), c2.getBackupCount())
                     && nullSafeEqual(c1.getAsyncBackupCount(), c2.getAsyncBackupCount())
-                    && nullSafeEqual(c1.isStatisticsEnabled(), c2.isStatisticsEnabled());
+                    && nullSafeEqual(c1.isStatisticsEnabled(), c2.isStatisticsEnabled())
+                    && nullSafeEqual(c1.isValueIndexEnabled(), c2.isValueIndexEnabled());
         }
 
         @Override
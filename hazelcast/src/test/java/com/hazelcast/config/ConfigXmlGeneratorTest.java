@@ -122,7 +122,8 @@ public class ConfigXmlGeneratorTest {
                 .setName("replicated-map-name")
                 .setStatisticsEnabled(false)
                 .setConcurrencyLevel(128)
-                .addEntryListenerConfig(new EntryListenerConfig("com.hazelcast.entrylistener", false, false));
+                .addEntryListenerConfig(new EntryListenerConfig("com.hazelcast.entrylistener", false, false))
+                .addMapIndexConfig(new MapIndexConfig("age", true));
 
         Config config = new Config()
                 .addReplicatedMapConfig(replicatedMapConfig);
@@ -134,6 +135,7 @@ public class ConfigXmlGeneratorTest {
         assertFalse(xmlReplicatedMapConfig.isStatisticsEnabled());
         assertEquals(128, xmlReplicatedMapConfig.getConcurrencyLevel());
         assertEquals("com.hazelcast.entrylistener", xmlReplicatedMapConfig.getListenerConfigs().get(0).getClassName());
+        assertEquals(replicatedMapConfig.getMapIndexConfigs(), xmlReplicatedMapConfig.getMapIndexConfigs());
     }
 
     @Test
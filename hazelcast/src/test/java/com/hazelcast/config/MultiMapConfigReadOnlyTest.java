@@ -74,6 +74,11 @@ public class MultiMapConfigReadOnlyTest {
         getReadOnlyConfig().setBinary(true);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void setValueIndexEnabledOfReadOnlyMultiMapConfigShouldFail() {
+        getReadOnlyConfig().setValueIndexEnabled(true);
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void setSyncBackupCountOfReadOnlyMultiMapConfigShouldFail() {
         getReadOnlyConfig().setSyncBackupCount(1);
@@ -16,6 +16,8 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -109,4 +111,26 @@ public class QueueConfigTest {
                               new QueueStoreConfigReadOnly(new QueueStoreConfig().setClassName("black")))
                       .verify();
     }
+
+    @Test
+    public void testSerialization_withDefaultShardCount_keepsPreviousFormat() {
+        QueueConfig config = new QueueConfig("queue");
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        QueueConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.QUEUE_CONFIG, config.getId());
+        assertEquals(config, clone);
+    }
+
+    @Test
+    public void testSerialization_withShardCount() {
+        QueueConfig config = new QueueConfig("queue").setShardCount(4);
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        QueueConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.QUEUE_CONFIG_WITH_SHARDS, config.getId());
+        assertEquals(config, clone);
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -234,4 +236,25 @@ public class ReliableTopicConfigTest {
                       .verify();
     }
 
+    @Test
+    public void testSerialization_withDefaultShardCount_keepsPreviousFormat() {
+        ReliableTopicConfig config = new ReliableTopicConfig("topic");
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        ReliableTopicConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.RELIABLE_TOPIC_CONFIG, config.getId());
+        assertEquals(config, clone);
+    }
+
+    @Test
+    public void testSerialization_withShardCount() {
+        ReliableTopicConfig config = new ReliableTopicConfig("topic").setShardCount(4);
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        ReliableTopicConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.RELIABLE_TOPIC_CONFIG_WITH_SHARDS, config.getId());
+        assertEquals(config, clone);
+    }
 }
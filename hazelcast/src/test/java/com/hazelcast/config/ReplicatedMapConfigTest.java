@@ -16,6 +16,8 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -25,6 +27,8 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
+
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 public class ReplicatedMapConfigTest {
@@ -44,4 +48,27 @@ public class ReplicatedMapConfigTest {
                       .suppress(Warning.NONFINAL_FIELDS)
                       .verify();
     }
+
+    @Test
+    public void testSerialization_withoutIndexes_keepsPreviousFormat() {
+        ReplicatedMapConfig config = new ReplicatedMapConfig("replicated");
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        ReplicatedMapConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.REPLICATED_MAP_CONFIG, config.getId());
+        assertEquals(config, clone);
+    }
+
+    @Test
+    public void testSerialization_withIndexes() {
+        ReplicatedMapConfig config = new ReplicatedMapConfig("replicated")
+                .addMapIndexConfig(new MapIndexConfig("age", true));
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        ReplicatedMapConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.REPLICATED_MAP_CONFIG_WITH_INDEXES, config.getId());
+        assertEquals(config, clone);
+    }
 }
@@ -118,4 +118,27 @@ public class RingbufferStoreConfigTest {
                               new RingbufferStoreConfigReadOnly(new RingbufferStoreConfig().setClassName("black")))
                       .verify();
     }
+
+    @Test
+    public void testSerialization_withoutWriteBehindSettings_keepsPreviousFormat() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        RingbufferStoreConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.RINGBUFFER_STORE_CONFIG, config.getId());
+        assertEquals(config, clone);
+    }
+
+    @Test
+    public void testSerialization_withWriteBehindSettings() {
+        config.setWriteBehindEnabled(true)
+              .setWriteBehindBatchSize(10)
+              .setWriteBehindAcknowledgeType(RingbufferStoreAcknowledgeType.STORED);
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        RingbufferStoreConfig clone = serializationService.toObject(serializationService.toData(config));
+
+        assertEquals(ConfigDataSerializerHook.RINGBUFFER_STORE_CONFIG_WITH_WRITE_BEHIND, config.getId());
+        assertEquals(config, clone);
+    }
 }
@@ -306,6 +306,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                 "        <backup-count>1</backup-count>" +
                 "        <async-backup-count>0</async-backup-count>" +
                 "        <empty-queue-ttl>-1</empty-queue-ttl>" +
+                "        <shard-count>4</shard-count>" +
                 "        <item-listeners>" +
                 "            <item-listener>com.hazelcast.examples.ItemListener</item-listener>" +
                 "        </item-listeners>" +
@@ -327,6 +328,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(1, qConfig.getBackupCount());
         assertEquals(0, qConfig.getAsyncBackupCount());
         assertEquals(-1, qConfig.getEmptyQueueTtl());
+        assertEquals(4, qConfig.getShardCount());
 
         assertTrue(qConfig.getItemListenerConfigs().size() == 1);
         final ItemListenerConfig listenerConfig = qConfig.getItemListenerConfigs().iterator().next();
@@ -372,6 +374,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                 + "           <message-listeners>"
                 + "               <message-listener>MessageListenerImpl</message-listener>"
                 + "           </message-listeners>"
+                + "           <shard-count>8</shard-count>"
                 + "    </reliable-topic>"
                 + HAZELCAST_END_TAG;
 
@@ -382,6 +385,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(35, topicConfig.getReadBatchSize());
         assertFalse(topicConfig.isStatisticsEnabled());
         assertEquals(TopicOverloadPolicy.DISCARD_OLDEST, topicConfig.getTopicOverloadPolicy());
+        assertEquals(8, topicConfig.getShardCount());
 
         // checking listener configuration
         assertEquals(1, topicConfig.getMessageListenerConfigs().size());
@@ -390,6 +394,62 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertNull(listenerConfig.getImplementation());
     }
 
+    @Test
+    public void readFlakeIdGenerator() {
+        String xml = HAZELCAST_START_TAG
+                + "    <flake-id-generator name=\"gen\">"
+                + "           <prefetch-count>3</prefetch-count>"
+                + "           <prefetch-validity-millis>10</prefetch-validity-millis>"
+                + "           <id-offset>20</id-offset>"
+                + "           <node-id-offset>30</node-id-offset>"
+                + "    </flake-id-generator>"
+                + HAZELCAST_END_TAG;
+
+        Config config = buildConfig(xml);
+
+        FlakeIdGeneratorConfig generatorConfig = config.getFlakeIdGeneratorConfig("gen");
+        assertEquals(3, generatorConfig.getPrefetchCount());
+        assertEquals(10L, generatorConfig.getPrefetchValidityMillis());
+        assertEquals(20L, generatorConfig.getIdOffset());
+        assertEquals(30L, generatorConfig.getNodeIdOffset());
+    }
+
+    @Test
+    public void readReplicatedMapIndexes() {
+        String xml = HAZELCAST_START_TAG
+                + "    <replicatedmap name=\"replicated\">"
+                + "        <indexes>"
+                + "            <index ordered=\"false\">name</index>"
+                + "            <index ordered=\"true\">age</index>"
+                + "        </indexes>"
+                + "    </replicatedmap>"
+                + HAZELCAST_END_TAG;
+
+        Config config = buildConfig(xml);
+
+        List<MapIndexConfig> indexConfigs = config.getReplicatedMapConfig("replicated").getMapIndexConfigs();
+        assertEquals(2, indexConfigs.size());
+        assertEquals(new MapIndexConfig("name", false), indexConfigs.get(0));
+        assertEquals(new MapIndexConfig("age", true), indexConfigs.get(1));
+    }
+
+    @Test
+    public void readMultiMapValueIndex() {
+        String xml = HAZELCAST_START_TAG
+                + "    <multimap name=\"indexed\">"
+                + "        <value-collection-type>LIST</value-collection-type>"
+                + "        <value-index-enabled>true</value-index-enabled>"
+                + "    </multimap>"
+                + HAZELCAST_END_TAG;
+
+        Config config = buildConfig(xml);
+
+        MultiMapConfig multiMapConfig = config.getMultiMapConfig("indexed");
+        assertTrue(multiMapConfig.isValueIndexEnabled());
+        assertEquals(MultiMapConfig.ValueCollectionType.LIST, multiMapConfig.getValueCollectionType());
+        assertFalse(config.getMultiMapConfig("default").isValueIndexEnabled());
+    }
+
     @Test
     public void readRingbuffer() {
         String xml = HAZELCAST_START_TAG
@@ -420,6 +480,25 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertEquals(".//tmp//bufferstore", ringbufferStoreProperties.get("store-path"));
     }
 
+    @Test
+    public void testRingbufferStoreWriteBehind() {
+        String xml = HAZELCAST_START_TAG
+                + "    <ringbuffer name=\"custom\">"
+                + "        <ringbuffer-store>"
+                + "            <class-name>com.hazelcast.RingbufferStoreImpl</class-name>"
+                + "            <write-behind enabled=\"true\" queue-capacity=\"500\" batch-size=\"50\""
+                + "                acknowledge-type=\"STORED\"/>"
+                + "        </ringbuffer-store>"
+                + "    </ringbuffer>"
+                + HAZELCAST_END_TAG;
+        Config config = buildConfig(xml);
+        RingbufferStoreConfig ringbufferStoreConfig = config.getRingbufferConfig("custom").getRingbufferStoreConfig();
+        assertTrue(ringbufferStoreConfig.isWriteBehindEnabled());
+        assertEquals(500, ringbufferStoreConfig.getWriteBehindQueueCapacity());
+        assertEquals(50, ringbufferStoreConfig.getWriteBehindBatchSize());
+        assertEquals(RingbufferStoreAcknowledgeType.STORED, ringbufferStoreConfig.getWriteBehindAcknowledgeType());
+    }
+
     @Test
     public void testConfig2Xml2DefaultConfig() {
         testConfig2Xml2Config("hazelcast-default.xml");
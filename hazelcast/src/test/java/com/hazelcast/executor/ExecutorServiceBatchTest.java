@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.executor;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.PartitionAware;
+import com.hazelcast.executor.impl.ExecutorServiceProxy;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ExecutorServiceBatchTest extends ExecutorServiceTestSupport {
+
+    private static final int POOL_SIZE = 2;
+    private static final int QUEUE_CAPACITY = 10;
+
+    private HazelcastInstance[] instances;
+    private ExecutorServiceProxy executor;
+
+    @Before
+    public void setUp() {
+        Config config = new Config()
+                .addExecutorConfig(new ExecutorConfig("batch", POOL_SIZE))
+                .addExecutorConfig(new ExecutorConfig("bounded", POOL_SIZE).setQueueCapacity(QUEUE_CAPACITY));
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+        executor = (ExecutorServiceProxy) instances[0].getExecutorService("batch");
+    }
+
+    @Test
+    public void testSubmitAll_returnsResultsInOrder() throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < ExecutorServiceProxy.TASK_BATCH_SIZE * 3; i++) {
+            tasks.add(new SquareTask(i));
+        }
+
+        List<Future<Integer>> futures = executor.submitAll(tasks);
+
+        assertEquals(tasks.size(), futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i * i, (int) futures.get(i).get());
+        }
+    }
+
+    @Test
+    public void testSubmitAll_failingTask() throws Exception {
+        List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        tasks.add(new BasicTestCallable());
+        tasks.add(new FailingTestTask());
+
+        List<Future<String>> futures = executor.submitAll(tasks);
+
+        assertEquals(BasicTestCallable.RESULT, futures.get(0).get());
+        try {
+            futures.get(1).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testSubmitAll_cancelIsNotSupported() throws Exception {
+        List<Callable<String>> tasks = new ArrayList<Callable<String>>();
+        tasks.add(new BasicTestCallable());
+
+        Future<String> future = executor.submitAll(tasks).get(0);
+
+        assertFalse(future.cancel(true));
+        assertEquals(BasicTestCallable.RESULT, future.get());
+        assertFalse(future.isCancelled());
+    }
+
+    @Test
+    public void testInvokeAll() throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new SquareTask(i));
+        }
+
+        List<Future<Integer>> futures = executor.invokeAll(tasks);
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertTrue(futures.get(i).isDone());
+            assertEquals(i * i, (int) futures.get(i).get());
+        }
+    }
+
+    @Test
+    public void testSubmitAllToMember_tasksAreNotStolen() throws Exception {
+        Member target = instances[1].getCluster().getLocalMember();
+        List<Callable<Member>> tasks = new ArrayList<Callable<Member>>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new SlowMemberCheck());
+        }
+
+        List<Future<Member>> futures = executor.submitAllToMember(tasks, target);
+
+        for (Future<Member> future : futures) {
+            assertEquals(target, future.get());
+        }
+    }
+
+    @Test
+    public void testSubmitAll_partitionAwareTasksRunOnPartitionOwner() throws Exception {
+        String key = generateKeyOwnedBy(instances[1]);
+        Member owner = instances[1].getCluster().getLocalMember();
+        List<Callable<Member>> tasks = new ArrayList<Callable<Member>>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new PartitionAwareSlowMemberCheck(key));
+        }
+
+        List<Future<Member>> futures = executor.submitAll(tasks);
+
+        for (Future<Member> future : futures) {
+            assertEquals(owner, future.get());
+        }
+    }
+
+    @Test
+    public void testSubmitAll_queueCapacityExceeded() throws Exception {
+        ExecutorServiceProxy boundedExecutor = (ExecutorServiceProxy) instances[0].getExecutorService("bounded");
+        Member target = instances[1].getCluster().getLocalMember();
+        List<Callable<Member>> tasks = new ArrayList<Callable<Member>>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new SlowMemberCheck());
+        }
+
+        List<Future<Member>> futures = boundedExecutor.submitAllToMember(tasks, target);
+
+        int rejected = 0;
+        for (Future<Member> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+                rejected++;
+            }
+        }
+        assertEquals(tasks.size() - QUEUE_CAPACITY, rejected);
+    }
+
+    @Test
+    public void testSubmitAll_emptyCollection() {
+        List<Future<Object>> futures = executor.submitAll(new ArrayList<Callable<Object>>());
+
+        assertTrue(futures.isEmpty());
+    }
+
+    static class SquareTask implements Callable<Integer>, Serializable {
+
+        private final int value;
+
+        SquareTask(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer call() {
+            return value * value;
+        }
+    }
+
+    static class SlowMemberCheck implements Callable<Member>, Serializable, HazelcastInstanceAware {
+
+        private transient Member localMember;
+
+        @Override
+        public Member call() {
+            sleepMillis(50);
+            return localMember;
+        }
+
+        @Override
+        public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+            localMember = hazelcastInstance.getCluster().getLocalMember();
+        }
+    }
+
+    static class PartitionAwareSlowMemberCheck extends SlowMemberCheck implements PartitionAware<String> {
+
+        private final String partitionKey;
+
+        PartitionAwareSlowMemberCheck(String partitionKey) {
+            this.partitionKey = partitionKey;
+        }
+
+        @Override
+        public String getPartitionKey() {
+            return partitionKey;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.FlakeIdGeneratorConfig;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.newSetFromMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class FlakeIdGeneratorTest extends HazelcastTestSupport {
+
+    private static final long NODE_ID_MASK = (1 << 16) - 1;
+    private static final int TIMESTAMP_SHIFT = 22;
+
+    private TestHazelcastInstanceFactory factory;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory();
+    }
+
+    @Test
+    public void testIdsUniqueAcrossMembersAndThreads() {
+        HazelcastInstance[] instances = factory.newInstances(new Config(), 2);
+        final Set<Long> ids = newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final FlakeIdGenerator gen = instances[i % instances.length].getFlakeIdGenerator("gen");
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        ids.add(gen.newId());
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        assertJoinable(threads);
+
+        assertEquals(threads.length * 10000, ids.size());
+    }
+
+    @Test
+    public void testMembersHaveDistinctNodeIds() {
+        HazelcastInstance[] instances = factory.newInstances(new Config(), 2);
+
+        long id1 = instances[0].getFlakeIdGenerator("gen").newId();
+        long id2 = instances[1].getFlakeIdGenerator("gen").newId();
+
+        assertNotEquals(id1 & NODE_ID_MASK, id2 & NODE_ID_MASK);
+    }
+
+    @Test
+    public void testExpiredBatch_isReplaced() {
+        Config config = new Config();
+        config.addFlakeIdGeneratorConfig(new FlakeIdGeneratorConfig("gen").setPrefetchValidityMillis(100));
+        FlakeIdGenerator gen = factory.newHazelcastInstance(config).getFlakeIdGenerator("gen");
+
+        long id1 = gen.newId();
+        sleepMillis(200);
+        long id2 = gen.newId();
+
+        assertTrue((id2 >> TIMESTAMP_SHIFT) - (id1 >> TIMESTAMP_SHIFT) >= 200);
+    }
+
+    @Test
+    public void testNodeIdOutOfRange_batchesAreRequestedFromOtherMember() {
+        Config outOfRangeConfig = new Config();
+        outOfRangeConfig.addFlakeIdGeneratorConfig(new FlakeIdGeneratorConfig("gen").setNodeIdOffset(1 << 16));
+        HazelcastInstance outOfRange = factory.newHazelcastInstance(outOfRangeConfig);
+        HazelcastInstance inRange = factory.newHazelcastInstance(new Config());
+
+        long id1 = outOfRange.getFlakeIdGenerator("gen").newId();
+        long id2 = inRange.getFlakeIdGenerator("gen").newId();
+
+        assertEquals(id2 & NODE_ID_MASK, id1 & NODE_ID_MASK);
+    }
+
+    @Test(expected = HazelcastException.class)
+    public void testNodeIdOfAllMembersOutOfRange_throwsException() {
+        Config config = new Config();
+        config.addFlakeIdGeneratorConfig(new FlakeIdGeneratorConfig("gen").setNodeIdOffset(1 << 16));
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+
+        instance.getFlakeIdGenerator("gen").newId();
+    }
+}
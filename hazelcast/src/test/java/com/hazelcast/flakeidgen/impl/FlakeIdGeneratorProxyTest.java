@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.flakeidgen.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.FlakeIdGeneratorConfig;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy.ALLOWED_FUTURE_MILLIS;
+import static com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy.BITS_NODE_ID;
+import static com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy.BITS_SEQUENCE;
+import static com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy.BITS_TIMESTAMP;
+import static com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy.EPOCH_START;
+import static com.hazelcast.flakeidgen.impl.FlakeIdGeneratorProxy.INCREMENT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class FlakeIdGeneratorProxyTest extends HazelcastTestSupport {
+
+    private static final long NODE_ID = 123;
+    private static final long NOW = EPOCH_START + 1000;
+
+    private HazelcastInstance instance;
+    private FlakeIdGeneratorProxy gen;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.addFlakeIdGeneratorConfig(new FlakeIdGeneratorConfig("offset").setIdOffset(10));
+        instance = createHazelcastInstance(config);
+        gen = (FlakeIdGeneratorProxy) instance.getFlakeIdGenerator("gen");
+    }
+
+    @Test
+    public void testBatchBase_containsTimestampAndNodeId() {
+        IdBatchAndWaitTime result = gen.newIdBaseLocal(NOW, NODE_ID, 10);
+
+        assertEquals(1000L << (BITS_SEQUENCE + BITS_NODE_ID) | NODE_ID, result.idBatch.base());
+        assertEquals(INCREMENT, result.idBatch.increment());
+        assertEquals(10, result.idBatch.batchSize());
+        assertEquals(0, result.waitTimeMillis);
+    }
+
+    @Test
+    public void testSequenceOverflow_continuesInNextMillisecond() {
+        gen.newIdBaseLocal(NOW, NODE_ID, 1 << BITS_SEQUENCE);
+        IdBatchAndWaitTime result = gen.newIdBaseLocal(NOW, NODE_ID, 10);
+
+        assertEquals(1001L << (BITS_SEQUENCE + BITS_NODE_ID) | NODE_ID, result.idBatch.base());
+    }
+
+    @Test
+    public void testClockGoingBackwards_idsStillIncrease() {
+        IdBatchAndWaitTime first = gen.newIdBaseLocal(NOW, NODE_ID, 10);
+        IdBatchAndWaitTime second = gen.newIdBaseLocal(NOW - 500, NODE_ID, 10);
+
+        assertEquals(first.idBatch.get(9) + INCREMENT, second.idBatch.base());
+    }
+
+    @Test
+    public void testBorrowingTooFarToFuture_returnsWaitTime() {
+        int allowedIds = (int) (ALLOWED_FUTURE_MILLIS << BITS_SEQUENCE);
+        assertEquals(0, gen.newIdBaseLocal(NOW, NODE_ID, allowedIds).waitTimeMillis);
+
+        IdBatchAndWaitTime result = gen.newIdBaseLocal(NOW, NODE_ID, 2 << BITS_SEQUENCE);
+
+        assertEquals(2, result.waitTimeMillis);
+    }
+
+    @Test
+    public void testNewIdBatch_returnsWaitTimeWithoutWaiting() {
+        int tooManyIds = (int) ((ALLOWED_FUTURE_MILLIS + 10000) << BITS_SEQUENCE);
+
+        IdBatchAndWaitTime result = gen.newIdBatch(tooManyIds);
+
+        assertEquals(tooManyIds, result.idBatch().batchSize());
+        assertTrue(result.waitTimeMillis() > 0);
+    }
+
+    @Test(expected = HazelcastException.class)
+    public void testTimestampOutOfRange_throwsException() {
+        gen.newIdBaseLocal(EPOCH_START + (1L << BITS_TIMESTAMP), NODE_ID, 10);
+    }
+
+    @Test
+    public void testIdOffset_isAdded() {
+        FlakeIdGeneratorProxy offsetGen = (FlakeIdGeneratorProxy) instance.getFlakeIdGenerator("offset");
+
+        IdBatchAndWaitTime result = offsetGen.newIdBaseLocal(NOW, NODE_ID, 10);
+
+        assertEquals((1000L << (BITS_SEQUENCE + BITS_NODE_ID) | NODE_ID) + 10, result.idBatch.base());
+    }
+
+    @Test
+    public void testNewId_increasingInSingleThread() {
+        long previous = gen.newId();
+        for (int i = 0; i < 1000; i++) {
+            long id = gen.newId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+}
@@ -763,6 +763,11 @@ public class AdvancedClusterStateTest extends HazelcastTestSupport {
             return tx.getTransactionType();
         }
 
+        @Override
+        public boolean isOptimistic() {
+            return tx.isOptimistic();
+        }
+
         @Override
         public boolean isOriginatedFromClient() {
             return tx.isOriginatedFromClient();
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.merkletree;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ArrayMerkleTreeTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDepthTooSmall() {
+        new ArrayMerkleTree(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDepthTooLarge() {
+        new ArrayMerkleTree(ArrayMerkleTree.MAX_DEPTH + 1);
+    }
+
+    @Test
+    public void testLeafCount() {
+        assertEquals(8, new ArrayMerkleTree(4).getLeafCount());
+        assertEquals(8, new ArrayMerkleTree(4).getLeafHashes().length);
+    }
+
+    @Test
+    public void testLeafIndexCoversKeyRanges() {
+        MerkleTree tree = new ArrayMerkleTree(3);
+
+        assertEquals(0, tree.getLeafIndex(0));
+        assertEquals(1, tree.getLeafIndex(0x40000000));
+        assertEquals(2, tree.getLeafIndex(0x80000000));
+        assertEquals(3, tree.getLeafIndex(-1));
+    }
+
+    @Test
+    public void testUpdatesAreOrderIndependent() {
+        MerkleTree tree1 = new ArrayMerkleTree(4);
+        MerkleTree tree2 = new ArrayMerkleTree(4);
+
+        for (int i = 0; i < 100; i++) {
+            tree1.updateAdd(i * 7919, i);
+        }
+        for (int i = 99; i >= 0; i--) {
+            tree2.updateAdd(i * 7919, i);
+        }
+
+        assertEquals(tree1.getNodeHash(0), tree2.getNodeHash(0));
+        assertArrayEquals(tree1.getLeafHashes(), tree2.getLeafHashes());
+    }
+
+    @Test
+    public void testReplaceEqualsAddOfNewValue() {
+        MerkleTree tree1 = new ArrayMerkleTree(4);
+        MerkleTree tree2 = new ArrayMerkleTree(4);
+
+        tree1.updateAdd(42, 1);
+        tree1.updateReplace(42, 1, 2);
+        tree2.updateAdd(42, 2);
+
+        assertEquals(tree1.getNodeHash(0), tree2.getNodeHash(0));
+    }
+
+    @Test
+    public void testRemoveRestoresPreviousState() {
+        MerkleTree tree = new ArrayMerkleTree(4);
+        tree.updateAdd(1, 1);
+        int rootHash = tree.getNodeHash(0);
+
+        tree.updateAdd(2, 2);
+        assertNotEquals(rootHash, tree.getNodeHash(0));
+
+        tree.updateRemove(2, 2);
+        assertEquals(rootHash, tree.getNodeHash(0));
+    }
+
+    @Test
+    public void testClear() {
+        MerkleTree tree = new ArrayMerkleTree(4);
+        MerkleTree emptyTree = new ArrayMerkleTree(4);
+        tree.updateAdd(1, 1);
+
+        tree.clear();
+
+        assertArrayEquals(emptyTree.getLeafHashes(), tree.getLeafHashes());
+        assertEquals(emptyTree.getNodeHash(0), tree.getNodeHash(0));
+    }
+
+    @Test
+    public void testCompareLeaves() {
+        MerkleTree tree1 = new ArrayMerkleTree(3);
+        MerkleTree tree2 = new ArrayMerkleTree(3);
+        tree1.updateAdd(0x40000000, 1);
+        tree2.updateAdd(0x40000000, 1);
+        tree1.updateAdd(-1, 1);
+
+        int[] differingLeaves = MerkleTreeUtil.compareLeaves(tree1.getLeafHashes(), tree2.getLeafHashes());
+
+        assertArrayEquals(new int[]{3}, differingLeaves);
+    }
+
+    @Test
+    public void testCompareLeaves_whenNotComparable() {
+        int[] leaves = new ArrayMerkleTree(3).getLeafHashes();
+
+        assertNull(MerkleTreeUtil.compareLeaves(leaves, null));
+        assertNull(MerkleTreeUtil.compareLeaves(null, leaves));
+        assertNull(MerkleTreeUtil.compareLeaves(leaves, new ArrayMerkleTree(4).getLeafHashes()));
+    }
+}
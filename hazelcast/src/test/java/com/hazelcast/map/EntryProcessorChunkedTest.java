@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.function.BiConsumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class EntryProcessorChunkedTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+    private MapProxyImpl<Integer, Integer> map;
+
+    @Before
+    public void setUp() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instance1 = factory.newHazelcastInstance();
+        instance2 = factory.newHazelcastInstance();
+        map = (MapProxyImpl<Integer, Integer>) instance1.<Integer, Integer>getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void testAllEntriesProcessed_andResultsStreamed() {
+        final ConcurrentMap<Integer, Object> results = new ConcurrentHashMap<Integer, Object>();
+
+        map.executeOnEntries(new IncrementEntryProcessor(), TruePredicate.INSTANCE, 7, new CollectingConsumer(results));
+
+        assertEquals(ENTRY_COUNT, results.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i + 1, results.get(i));
+            assertEquals(i + 1, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void testResultsDiscarded() {
+        map.executeOnEntries(new IncrementEntryProcessor(), TruePredicate.INSTANCE, 10, null);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i + 1, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void testPredicate() {
+        ConcurrentMap<Integer, Object> results = new ConcurrentHashMap<Integer, Object>();
+        Predicate predicate = Predicates.lessThan("this", 100);
+
+        map.executeOnEntries(new IncrementEntryProcessor(), predicate, 10, new CollectingConsumer(results));
+
+        assertEquals(100, results.size());
+        assertEquals(51, (int) map.get(50));
+        assertEquals(500, (int) map.get(500));
+    }
+
+    @Test
+    public void testBackupsUpdated() {
+        map.executeOnEntries(new IncrementEntryProcessor(), TruePredicate.INSTANCE, 10, null);
+
+        instance1.shutdown();
+
+        IMap<Integer, Integer> survivingMap = instance2.getMap(map.getName());
+        assertEquals(ENTRY_COUNT, survivingMap.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i + 1, (int) survivingMap.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveChunkSize() {
+        map.executeOnEntries(new IncrementEntryProcessor(), TruePredicate.INSTANCE, 0, null);
+    }
+
+    @Test
+    public void testExecuteOnKeys_keysProcessed_andResultsStreamed() {
+        ConcurrentMap<Integer, Object> results = new ConcurrentHashMap<Integer, Object>();
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            keys.add(i);
+        }
+
+        map.executeOnKeys(keys, new IncrementEntryProcessor(), 3, new CollectingConsumer(results));
+
+        assertEquals(keys.size(), results.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            int expected = i % 2 == 0 ? i + 1 : i;
+            assertEquals(expected, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void testExecuteOnKeys_resultsDiscarded_andBackupsUpdated() {
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            keys.add(i);
+        }
+
+        map.executeOnKeys(keys, new IncrementEntryProcessor(), 10, null);
+        instance1.shutdown();
+
+        IMap<Integer, Integer> survivingMap = instance2.getMap(map.getName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i + 1, (int) survivingMap.get(i));
+        }
+    }
+
+    private static class CollectingConsumer implements BiConsumer<Integer, Object> {
+
+        private final ConcurrentMap<Integer, Object> results;
+
+        CollectingConsumer(ConcurrentMap<Integer, Object> results) {
+            this.results = results;
+        }
+
+        @Override
+        public void accept(Integer key, Object value) {
+            results.put(key, value);
+        }
+    }
+
+    private static class IncrementEntryProcessor extends AbstractEntryProcessor<Integer, Integer> {
+
+        @Override
+        public Object process(Map.Entry<Integer, Integer> entry) {
+            int newValue = entry.getValue() + 1;
+            entry.setValue(newValue);
+            return newValue;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.OptimisticOffloadable;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The latches and counters shared with the entry processors are static, so the tests of this class run serially.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class EntryProcessorOptimisticOffloadableTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "EntryProcessorOptimisticOffloadableTest";
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    private static volatile CountDownLatch processingStarted;
+    private static volatile CountDownLatch resumeProcessing;
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void before() {
+        INVOCATIONS.set(0);
+        processingStarted = new CountDownLatch(1);
+        resumeProcessing = new CountDownLatch(0);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instances = factory.newInstances(getConfig());
+    }
+
+    @Test
+    public void testSetValue_isCommittedAndBackedUp() {
+        String key = generateKeyOwnedBy(instances[0]);
+        IMap<String, Integer> map = instances[1].getMap(MAP_NAME);
+        map.put(key, 1);
+
+        Object result = map.executeOnKey(key, new IncrementOptimistic());
+
+        assertEquals(2, result);
+        assertEquals(2, (int) map.get(key));
+        instances[0].shutdown();
+        assertEquals(2, (int) map.get(key));
+    }
+
+    @Test
+    public void testAbsentEntry_isCreated() {
+        String key = generateKeyOwnedBy(instances[0]);
+        IMap<String, Integer> map = instances[1].getMap(MAP_NAME);
+
+        map.executeOnKey(key, new IncrementOptimistic());
+
+        assertEquals(1, (int) map.get(key));
+    }
+
+    @Test
+    public void testConcurrentModification_processorIsReapplied() throws Exception {
+        String key = generateKeyOwnedBy(instances[0]);
+        IMap<String, Integer> map = instances[1].getMap(MAP_NAME);
+        map.put(key, 1);
+        resumeProcessing = new CountDownLatch(1);
+
+        ICompletableFuture<Object> future = map.submitToKey(key, new IncrementOptimistic());
+        assertOpenEventually(processingStarted);
+        // the key is not locked, so the put is not blocked by the running entry processor
+        map.put(key, 10);
+        resumeProcessing.countDown();
+
+        assertEquals(11, future.get());
+        assertEquals(11, (int) map.get(key));
+        assertEquals(2, INVOCATIONS.get());
+        assertFalse(map.isLocked(key));
+    }
+
+    @Test
+    public void testConcurrentIncrements_noUpdateIsLost() throws Exception {
+        String key = generateKeyOwnedBy(instances[0]);
+        final IMap<String, Integer> map = instances[1].getMap(MAP_NAME);
+        map.put(key, 0);
+
+        int threadCount = 4;
+        final int incrementsPerThread = 100;
+        List<Future> futures = new ArrayList<Future>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(spawn(new IncrementingTask(map, key, incrementsPerThread)));
+        }
+        for (Future future : futures) {
+            future.get();
+        }
+
+        assertEquals(threadCount * incrementsPerThread, (int) map.get(key));
+        assertTrue(INVOCATIONS.get() >= threadCount * incrementsPerThread);
+    }
+
+    private static class IncrementingTask implements Runnable {
+
+        private final IMap<String, Integer> map;
+        private final String key;
+        private final int count;
+
+        IncrementingTask(IMap<String, Integer> map, String key, int count) {
+            this.map = map;
+            this.key = key;
+            this.count = count;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < count; i++) {
+                map.executeOnKey(key, new IncrementOptimistic());
+            }
+        }
+    }
+
+    private static class IncrementOptimistic extends AbstractEntryProcessor<String, Integer> implements OptimisticOffloadable {
+
+        @Override
+        public Object process(Map.Entry<String, Integer> entry) {
+            INVOCATIONS.incrementAndGet();
+            processingStarted.countDown();
+            try {
+                resumeProcessing.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int newValue = entry.getValue() == null ? 1 : entry.getValue() + 1;
+            entry.setValue(newValue);
+            return newValue;
+        }
+
+        @Override
+        public String getExecutorName() {
+            return OFFLOADABLE_EXECUTOR;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.PacketFiltersUtil.dropOperationsFrom;
+import static com.hazelcast.test.PacketFiltersUtil.resetPacketFiltersFrom;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MerkleTreeReplicaSyncTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testBackupReplicasAreSynchronized_whenBackupsAreLost() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        warmUpPartitions(instance1, instance2);
+
+        IMap<Integer, Integer> map = instance1.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        waitAllForSafeState(instance1, instance2);
+
+        dropOperationsFrom(instance1, SpiDataSerializerHook.F_ID, singletonList(SpiDataSerializerHook.BACKUP));
+        dropOperationsFrom(instance2, SpiDataSerializerHook.F_ID, singletonList(SpiDataSerializerHook.BACKUP));
+        for (int i = 0; i < ENTRY_COUNT / 10; i++) {
+            map.put(i, -i);
+            map.remove(ENTRY_COUNT - i - 1);
+            map.put(ENTRY_COUNT + i, i);
+        }
+        resetPacketFiltersFrom(instance1);
+        resetPacketFiltersFrom(instance2);
+        waitAllForSafeState(instance1, instance2);
+
+        instance2.getLifecycleService().terminate();
+
+        IMap<Integer, Integer> survivingMap = instance1.getMap("map");
+        assertEquals(ENTRY_COUNT, survivingMap.size());
+        for (int i = 0; i < ENTRY_COUNT / 10; i++) {
+            assertEquals(-i, (int) survivingMap.get(i));
+            assertNull(survivingMap.get(ENTRY_COUNT - i - 1));
+            assertEquals(i, (int) survivingMap.get(ENTRY_COUNT + i));
+        }
+        for (int i = ENTRY_COUNT / 10; i < ENTRY_COUNT - ENTRY_COUNT / 10; i++) {
+            assertEquals(i, (int) survivingMap.get(i));
+        }
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.MAP_MERKLE_TREE_DEPTH.getName(), "6");
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), "11");
+        // backups are asynchronous so the puts do not wait for the dropped backups
+        config.getMapConfig("map").setBackupCount(0).setAsyncBackupCount(1);
+        return config;
+    }
+}
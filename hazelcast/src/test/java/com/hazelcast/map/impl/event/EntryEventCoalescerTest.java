@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.event;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class EntryEventCoalescerTest extends HazelcastTestSupport {
+
+    private HazelcastInstance listeningInstance;
+    private HazelcastInstance mutatingInstance;
+    private String mapName;
+
+    @Before
+    public void setUp() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        listeningInstance = factory.newHazelcastInstance();
+        mutatingInstance = factory.newHazelcastInstance();
+        mapName = randomMapName();
+    }
+
+    @Test
+    public void testUpdatesOfSameKey_areCoalesced() {
+        final RecordingListener listener = addCoalescingListener(1, TimeUnit.SECONDS);
+        IMap<Integer, Integer> map = mutatingInstance.getMap(mapName);
+        map.put(1, 0);
+        for (int i = 1; i <= 100; i++) {
+            map.put(1, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                EntryEvent<Integer, Integer> last = listener.events.get(listener.events.size() - 1);
+                assertEquals(EntryEventType.UPDATED, last.getEventType());
+                assertEquals(100, (int) last.getValue());
+            }
+        });
+        assertEquals(EntryEventType.ADDED, listener.events.get(0).getEventType());
+        assertTrue("Expected the updates to be coalesced but got " + listener.events.size() + " events",
+                listener.events.size() < 100);
+    }
+
+    @Test
+    public void testMergedUpdate_carriesOldValueOfFirstUpdate() {
+        final RecordingListener listener = addCoalescingListener(1, TimeUnit.HOURS);
+        IMap<Integer, Integer> map = mutatingInstance.getMap(mapName);
+        map.put(1, 0);
+        map.put(1, 1);
+        map.put(1, 2);
+        map.put(1, 3);
+        // the removal flushes the buffered update of the key, although the window is still open
+        map.remove(1);
+
+        assertSizeEventually(3, listener.events);
+        assertEquals(EntryEventType.ADDED, listener.events.get(0).getEventType());
+        EntryEvent<Integer, Integer> update = listener.events.get(1);
+        assertEquals(EntryEventType.UPDATED, update.getEventType());
+        assertEquals(0, (int) update.getOldValue());
+        assertEquals(3, (int) update.getValue());
+        assertEquals(EntryEventType.REMOVED, listener.events.get(2).getEventType());
+    }
+
+    @Test
+    public void testUpdatesOfDifferentKeys_areDeliveredInBatch() {
+        final RecordingListener listener = addCoalescingListener(500, TimeUnit.MILLISECONDS);
+        IMap<Integer, Integer> map = mutatingInstance.getMap(mapName);
+        for (int i = 0; i < 50; i++) {
+            map.set(i, 0);
+        }
+        for (int round = 1; round <= 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                map.set(i, round);
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                int lastValues = 0;
+                for (EntryEvent<Integer, Integer> event : listener.events) {
+                    if (event.getEventType() == EntryEventType.UPDATED && event.getValue() == 10) {
+                        lastValues++;
+                    }
+                }
+                assertEquals(50, lastValues);
+            }
+        });
+        assertTrue(listener.events.size() < 50 + 50 * 10);
+    }
+
+    private RecordingListener addCoalescingListener(long window, TimeUnit unit) {
+        RecordingListener listener = new RecordingListener();
+        MapProxyImpl<Integer, Integer> map = (MapProxyImpl<Integer, Integer>) listeningInstance.<Integer, Integer>getMap(mapName);
+        map.addEntryListener(listener, true, window, unit);
+        return listener;
+    }
+
+    private static class RecordingListener implements EntryAddedListener<Integer, Integer>,
+            EntryUpdatedListener<Integer, Integer>, EntryRemovedListener<Integer, Integer> {
+
+        private final List<EntryEvent<Integer, Integer>> events = new CopyOnWriteArrayList<EntryEvent<Integer, Integer>>();
+
+        @Override
+        public void entryAdded(EntryEvent<Integer, Integer> event) {
+            events.add(event);
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<Integer, Integer> event) {
+            events.add(event);
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<Integer, Integer> event) {
+            events.add(event);
+        }
+    }
+}
@@ -27,10 +27,12 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.instance.Node;
 import com.hazelcast.journal.EventJournalInitialSubscriberState;
+import com.hazelcast.journal.EventJournalQueryPredicate;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
 import com.hazelcast.map.journal.EventJournalMapEvent;
 import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.impl.RingbufferContainer;
 import com.hazelcast.ringbuffer.impl.RingbufferService;
@@ -323,6 +325,68 @@ public class BasicMapJournalTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testQueryPredicate() throws Exception {
+        final IMap<String, Integer> m = getMap();
+        final int count = 50;
+        assertJournalSize(m, 0);
+        for (int i = 0; i < count; i++) {
+            m.put(randomPartitionKey(), i);
+        }
+        final String removedKey = m.keySet().iterator().next();
+        final Integer removedValue = m.remove(removedKey);
+        assertJournalSize(m, count + 1);
+
+        final EventJournalQueryPredicate predicate = new EventJournalQueryPredicate(Predicates.greaterEqual("this", 40));
+        int added = 0;
+        for (EventJournalMapEvent<String, Integer> e : getAllEvents(m, predicate, IDENTITY_PROJECTION)) {
+            if (e.getType() == EntryEventType.ADDED) {
+                assertTrue(e.getNewValue() >= 40);
+                added++;
+            } else {
+                // removals are tested against the old value
+                assertEquals(EntryEventType.REMOVED, e.getType());
+                assertEquals(removedKey, e.getKey());
+                assertTrue(e.getOldValue() >= 40);
+            }
+        }
+        assertEquals(10, added);
+
+        final EventJournalQueryPredicate keyPredicate = new EventJournalQueryPredicate(Predicates.equal("__key", removedKey));
+        final ReadResultSet<EventJournalMapEvent<String, Integer>> events = getAllEvents(m, keyPredicate, null);
+        assertEquals(2, events.size());
+        assertEquals(EntryEventType.ADDED, events.get(0).getType());
+        assertEquals(removedValue, events.get(0).getNewValue());
+        assertEquals(EntryEventType.REMOVED, events.get(1).getType());
+        assertEquals(removedValue, events.get(1).getOldValue());
+    }
+
+    @Test
+    public void testWithoutProjection() throws Exception {
+        final IMap<String, Integer> m = getMap();
+        final int count = 50;
+        assertJournalSize(m, 0);
+        for (int i = 0; i < count; i++) {
+            m.put(randomPartitionKey(), i);
+        }
+        assertJournalSize(m, count);
+
+        final ReadResultSet<EventJournalMapEvent<String, Integer>> events
+                = getAllEvents(m, new NewValueParityPredicate(0), null);
+        assertEquals(count, events.readCount());
+        assertEquals(count / 2, events.size());
+        long previousSequence = -1;
+        for (int i = 0; i < events.size(); i++) {
+            EventJournalMapEvent<String, Integer> e = events.get(i);
+            assertEquals(EntryEventType.ADDED, e.getType());
+            assertEquals(0, e.getNewValue() % 2);
+            assertNull(e.getOldValue());
+            assertEquals(e.getNewValue(), m.get(e.getKey()));
+            assertTrue(events.getSequence(i) > previousSequence);
+            previousSequence = events.getSequence(i);
+        }
+    }
+
     @Test
     public void testProjection() throws Exception {
         final IMap<String, Integer> m = getMap();
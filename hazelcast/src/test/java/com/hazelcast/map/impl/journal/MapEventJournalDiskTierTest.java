@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.function.Predicate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Reads map event journal events which were evicted from the in-memory journal and spilled to the ringbuffer disk tier.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapEventJournalDiskTierTest extends HazelcastTestSupport {
+
+    private static final int JOURNAL_CAPACITY = 10;
+    private static final int EVENT_COUNT = 100;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MapProxyImpl<Integer, Integer> map;
+
+    @Before
+    public void setup() throws Exception {
+        Config config = new Config()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), "1")
+                .setProperty(GroupProperty.RINGBUFFER_DISK_TIER_DIRECTORY.getName(), folder.newFolder().getAbsolutePath())
+                .setProperty(GroupProperty.RINGBUFFER_DISK_TIER_SEGMENT_SIZE.getName(), "4096")
+                .addEventJournalConfig(new EventJournalConfig()
+                        .setEnabled(true)
+                        .setMapName("tiered")
+                        .setCapacity(JOURNAL_CAPACITY));
+        map = (MapProxyImpl<Integer, Integer>) createHazelcastInstance(config).<Integer, Integer>getMap("tiered");
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void readCompactResultSet_fromDiskTier() throws Exception {
+        ReadResultSet<EventJournalMapEvent<Integer, Integer>> result = readFromEventJournal(null);
+
+        assertEquals(EVENT_COUNT, result.readCount());
+        assertEquals(EVENT_COUNT, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            EventJournalMapEvent<Integer, Integer> event = result.get(i);
+            assertEquals(i, result.getSequence(i));
+            assertEquals(EntryEventType.ADDED, event.getType());
+            assertEquals(i, (int) event.getKey());
+            assertEquals(i, (int) event.getNewValue());
+        }
+    }
+
+    @Test
+    public void readCompactResultSet_withPredicate_fromDiskTier() throws Exception {
+        ReadResultSet<EventJournalMapEvent<Integer, Integer>> result = readFromEventJournal(
+                new Predicate<EventJournalMapEvent<Integer, Integer>>() {
+                    @Override
+                    public boolean test(EventJournalMapEvent<Integer, Integer> event) {
+                        return event.getNewValue() % 2 == 0;
+                    }
+                });
+
+        assertEquals(EVENT_COUNT, result.readCount());
+        assertEquals(EVENT_COUNT / 2, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(2 * i, (int) result.get(i).getNewValue());
+        }
+    }
+
+    private ReadResultSet<EventJournalMapEvent<Integer, Integer>> readFromEventJournal(
+            Predicate<? super EventJournalMapEvent<Integer, Integer>> predicate) throws Exception {
+        Projection<EventJournalMapEvent<Integer, Integer>, EventJournalMapEvent<Integer, Integer>> noProjection = null;
+        return map.readFromEventJournal(0, EVENT_COUNT, EVENT_COUNT, 0, predicate, noProjection).get();
+    }
+}
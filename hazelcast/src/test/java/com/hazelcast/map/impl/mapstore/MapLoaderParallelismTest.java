@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ExecutorConfig;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapLoader;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.config.MapStoreConfig.InitialLoadMode.EAGER;
+import static com.hazelcast.spi.ExecutionService.MAP_LOADER_EXECUTOR;
+import static com.hazelcast.test.TimeConstants.MINUTE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapLoaderParallelismTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 2000;
+    private static final int PARALLELISM = 2;
+
+    private final String mapName = randomMapName();
+
+    @Test(timeout = MINUTE)
+    public void testLoadAllCallsAreBoundedByParallelism() {
+        ConcurrencyTrackingMapLoader loader = new ConcurrencyTrackingMapLoader(ENTRY_COUNT);
+        HazelcastInstance instance = createHazelcastInstance(newConfig(loader));
+
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        assertEquals(ENTRY_COUNT, map.size());
+        assertTrue("max concurrent loadAll calls: " + loader.maxConcurrentCalls.get(),
+                loader.maxConcurrentCalls.get() <= PARALLELISM);
+    }
+
+    @Test(timeout = MINUTE)
+    public void testExecutorConfig_overridesParallelism() {
+        ConcurrencyTrackingMapLoader loader = new ConcurrencyTrackingMapLoader(ENTRY_COUNT);
+        Config config = newConfig(loader);
+        config.addExecutorConfig(new ExecutorConfig(MAP_LOADER_EXECUTOR).setPoolSize(1));
+        HazelcastInstance instance = createHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals(1, loader.maxConcurrentCalls.get());
+    }
+
+    @Test(timeout = MINUTE)
+    public void testLoaderStats() {
+        ConcurrencyTrackingMapLoader loader = new ConcurrencyTrackingMapLoader(ENTRY_COUNT);
+        HazelcastInstance instance = createHazelcastInstance(newConfig(loader));
+
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+        assertEquals(ENTRY_COUNT, map.size());
+
+        MapServiceContext mapServiceContext = ((MapService) getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME))
+                .getMapServiceContext();
+        MapLoaderStats stats = mapServiceContext.getMapContainer(mapName).getMapStoreContext().getMapLoaderStats();
+        assertEquals(ENTRY_COUNT, stats.getRequestedKeyCount());
+        assertEquals(ENTRY_COUNT, stats.getLoadedEntryCount());
+        assertEquals(ENTRY_COUNT, stats.getAppliedEntryCount());
+    }
+
+    private Config newConfig(MapLoader loader) {
+        Config config = getConfig();
+        config.setProperty(GroupProperty.MAP_LOAD_CHUNK_SIZE.getName(), "10");
+        config.setProperty(GroupProperty.MAP_LOAD_PARALLELISM.getName(), Integer.toString(PARALLELISM));
+        MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setImplementation(loader)
+                .setInitialLoadMode(EAGER);
+        config.getMapConfig(mapName).setMapStoreConfig(mapStoreConfig);
+        return config;
+    }
+
+    private static class ConcurrencyTrackingMapLoader implements MapLoader<Integer, Integer> {
+
+        private final int size;
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        ConcurrencyTrackingMapLoader(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer load(Integer key) {
+            return key;
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            int calls = concurrentCalls.incrementAndGet();
+            try {
+                int max;
+                while ((max = maxConcurrentCalls.get()) < calls && !maxConcurrentCalls.compareAndSet(max, calls)) {
+                    // retry
+                }
+                sleepMillis(1);
+                Map<Integer, Integer> result = new HashMap<Integer, Integer>();
+                for (Integer key : keys) {
+                    result.put(key, key);
+                }
+                return result;
+            } finally {
+                concurrentCalls.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            Set<Integer> keys = new HashSet<Integer>();
+            for (int i = 0; i < size; i++) {
+                keys.add(i);
+            }
+            return keys;
+        }
+    }
+}
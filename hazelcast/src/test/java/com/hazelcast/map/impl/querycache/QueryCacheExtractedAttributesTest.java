@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.map.impl.querycache.AbstractQueryCacheTestSupport.getMap;
+import static org.junit.Assert.assertEquals;
+
+// keep serial runner, test operates on statistics
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class})
+public class QueryCacheExtractedAttributesTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 10;
+
+    private IMap<Integer, Employee> map;
+    private QueryCache<Integer, Employee> cache;
+
+    @Before
+    public void setUp() {
+        String mapName = randomString();
+        String cacheName = randomString();
+
+        QueryCacheConfig cacheConfig = new QueryCacheConfig(cacheName);
+        cacheConfig.setInMemoryFormat(BINARY);
+        cacheConfig.getPredicateConfig().setSql("__key > -1");
+        Config config = new Config();
+        config.getMapConfig(mapName).addQueryCacheConfig(cacheConfig);
+
+        HazelcastInstance node = createHazelcastInstance(config);
+        map = getMap(node, mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i));
+        }
+        Employee.deserializationCount.set(0);
+        cache = map.getQueryCache(cacheName);
+    }
+
+    @Test
+    public void testAttributesAreExtractedOnce() {
+        Predicate predicate = Predicates.greaterEqual("age", 5);
+
+        assertEquals(5, cache.keySet(predicate).size());
+        assertEquals(ENTRY_COUNT, Employee.deserializationCount.get());
+
+        assertEquals(5, cache.keySet(predicate).size());
+        assertEquals(5, cache.keySet(Predicates.lessThan("age", 5)).size());
+        assertEquals(ENTRY_COUNT, Employee.deserializationCount.get());
+    }
+
+    @Test
+    public void testAttributesAreExtractedFromUpdates() {
+        final Predicate predicate = Predicates.greaterEqual("age", 100);
+        assertEquals(0, cache.keySet(predicate).size());
+        assertEquals(ENTRY_COUNT, Employee.deserializationCount.get());
+
+        map.put(1, new Employee(100));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, cache.keySet(predicate).size());
+            }
+        });
+        assertEquals(ENTRY_COUNT + 1, Employee.deserializationCount.get());
+    }
+
+    private static final class Employee implements Serializable {
+
+        private static final AtomicInteger deserializationCount = new AtomicInteger();
+
+        private final int age;
+
+        Employee(int age) {
+            this.age = age;
+        }
+
+        private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+            stream.defaultReadObject();
+            deserializationCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.TransactionalMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapTransactionBatchTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 100;
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance local;
+    private HazelcastInstance owner;
+    private List<String> keys;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(2);
+        local = factory.newHazelcastInstance();
+        owner = factory.newHazelcastInstance();
+        int partitionId = getPartitionService(owner).getPartitionId(generateKeyOwnedBy(owner));
+        keys = new ArrayList<String>(KEY_COUNT);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys.add(generateKeyForPartition(owner, partitionId));
+        }
+    }
+
+    @Test
+    public void testCommit_keysOfSamePartition() {
+        TransactionContext context = local.newTransactionContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        for (String key : keys) {
+            txMap.put(key, key);
+        }
+        context.commitTransaction();
+
+        IMap<String, String> map = local.getMap("map");
+        for (String key : keys) {
+            assertEquals(key, map.get(key));
+            assertFalse(map.isLocked(key));
+        }
+    }
+
+    @Test
+    public void testCommit_removesKeysOfSamePartition() {
+        IMap<String, String> map = local.getMap("map");
+        for (String key : keys) {
+            map.put(key, key);
+        }
+
+        TransactionContext context = local.newTransactionContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        for (String key : keys) {
+            txMap.remove(key);
+        }
+        context.commitTransaction();
+
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testRollback_keysOfSamePartition() {
+        TransactionContext context = local.newTransactionContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        for (String key : keys) {
+            txMap.put(key, key);
+        }
+        context.rollbackTransaction();
+
+        IMap<String, String> map = local.getMap("map");
+        for (String key : keys) {
+            assertNull(map.get(key));
+            assertFalse(map.isLocked(key));
+        }
+    }
+
+    @Test
+    public void testCommit_keysOfSamePartition_areBackedUp() {
+        TransactionContext context = local.newTransactionContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        for (String key : keys) {
+            txMap.put(key, key);
+        }
+        context.commitTransaction();
+
+        owner.getLifecycleService().terminate();
+
+        IMap<String, String> map = local.getMap("map");
+        assertEquals(KEY_COUNT, map.size());
+        for (String key : keys) {
+            assertEquals(key, map.get(key));
+        }
+    }
+}
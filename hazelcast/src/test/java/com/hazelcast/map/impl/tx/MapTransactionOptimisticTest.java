@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.tx;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.TransactionalMap;
+import com.hazelcast.internal.metrics.LongGauge;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import com.hazelcast.transaction.TransactionException;
+import com.hazelcast.transaction.TransactionOptions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapTransactionOptimisticTest extends HazelcastTestSupport {
+
+    private HazelcastInstance local;
+    private IMap<String, String> map;
+
+    @Before
+    public void setUp() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances();
+        local = instances[0];
+        map = local.getMap("map");
+    }
+
+    @Test
+    public void testCommit() {
+        map.put("existing", "old");
+
+        TransactionContext context = newOptimisticContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        assertEquals("old", txMap.put("existing", "new"));
+        assertNull(txMap.put("absent", "value"));
+        context.commitTransaction();
+
+        assertEquals("new", map.get("existing"));
+        assertEquals("value", map.get("absent"));
+        assertFalse(map.isLocked("existing"));
+        assertFalse(map.isLocked("absent"));
+    }
+
+    @Test
+    public void testKeysAreNotLockedBeforeCommit() {
+        TransactionContext context = newOptimisticContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        txMap.put("key", "value");
+        txMap.getForUpdate("other");
+
+        assertFalse(map.isLocked("key"));
+        assertFalse(map.isLocked("other"));
+        context.commitTransaction();
+    }
+
+    @Test
+    public void testCommitFails_whenEntryUpdatedConcurrently() {
+        map.put("key", "old");
+
+        TransactionContext context = newOptimisticContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        txMap.put("key", "tx");
+        map.put("key", "concurrent");
+
+        assertCommitFails(context);
+        assertEquals("concurrent", map.get("key"));
+        assertFalse(map.isLocked("key"));
+    }
+
+    @Test
+    public void testCommitFails_whenAbsentEntryInsertedConcurrently() {
+        TransactionContext context = newOptimisticContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        assertNull(txMap.putIfAbsent("key", "tx"));
+        map.put("key", "concurrent");
+
+        assertCommitFails(context);
+        assertEquals("concurrent", map.get("key"));
+    }
+
+    @Test
+    public void testCommitFails_whenEntryReadForUpdateIsRemovedConcurrently() {
+        map.put("key", "value");
+
+        TransactionContext context = newOptimisticContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        assertEquals("value", txMap.getForUpdate("key"));
+        txMap.put("other", "value");
+        map.remove("key");
+
+        assertCommitFails(context);
+        assertNull(map.get("other"));
+        assertFalse(map.isLocked("other"));
+    }
+
+    @Test
+    public void testCommitFails_whenEntryRemovedAndPutAgainConcurrently() {
+        map.put("key", "old");
+
+        TransactionContext context = newOptimisticContext();
+        context.beginTransaction();
+        TransactionalMap<String, String> txMap = context.getMap("map");
+        assertEquals("old", txMap.put("key", "tx"));
+        // the re-created entry starts over with the same version
+        map.remove("key");
+        map.put("key", "concurrent");
+
+        assertCommitFails(context);
+        assertEquals("concurrent", map.get("key"));
+    }
+
+    @Test
+    public void testOptionsSerialization() {
+        SerializationService serializationService = getSerializationService(local);
+        TransactionOptions options = new TransactionOptions()
+                .setTransactionType(TransactionOptions.TransactionType.ONE_PHASE)
+                .setOptimistic(true);
+
+        TransactionOptions copy = serializationService.toObject(serializationService.toData(options));
+
+        assertTrue(copy.isOptimistic());
+        assertEquals(TransactionOptions.TransactionType.ONE_PHASE, copy.getTransactionType());
+        assertFalse(serializationService.<TransactionOptions>toObject(
+                serializationService.toData(new TransactionOptions())).isOptimistic());
+    }
+
+    @Test
+    public void testMetrics() {
+        map.put("key", "old");
+        LongGauge commits = getNodeEngineImpl(local).getMetricsRegistry()
+                .newLongGauge("transactions.optimisticCommitCount");
+        LongGauge aborts = getNodeEngineImpl(local).getMetricsRegistry()
+                .newLongGauge("transactions.optimisticAbortCount");
+
+        TransactionContext context = newOptimisticContext();
+        context.beginTransaction();
+        context.getMap("map").put("key", "new");
+        context.commitTransaction();
+
+        context = newOptimisticContext();
+        context.beginTransaction();
+        context.getMap("map").put("key", "tx");
+        map.put("key", "concurrent");
+        assertCommitFails(context);
+
+        assertEquals(1, commits.read());
+        assertEquals(1, aborts.read());
+    }
+
+    private TransactionContext newOptimisticContext() {
+        return local.newTransactionContext(new TransactionOptions().setOptimistic(true));
+    }
+
+    private static void assertCommitFails(TransactionContext context) {
+        try {
+            context.commitTransaction();
+            fail("Commit should have failed");
+        } catch (TransactionException expected) {
+            context.rollbackTransaction();
+        }
+    }
+}
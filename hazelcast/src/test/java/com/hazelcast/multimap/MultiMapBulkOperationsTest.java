@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.multimap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MultiMapConfig;
+import com.hazelcast.config.MultiMapConfig.ValueCollectionType;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.MultiMap;
+import com.hazelcast.instance.TestUtil;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MultiMapBulkOperationsTest extends HazelcastTestSupport {
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.addMultiMapConfig(new MultiMapConfig("list*").setValueCollectionType(ValueCollectionType.LIST));
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+    }
+
+    @Test
+    public void testPutAll_withSetCollection_skipsExistingValues() {
+        MultiMap<String, Integer> multiMap = instances[0].getMultiMap("set");
+        multiMap.put("key", 1);
+
+        assertTrue(multiMap.putAll("key", asList(1, 2, 3, 3)));
+        assertFalse(multiMap.putAll("key", asList(1, 2)));
+
+        assertEquals(3, multiMap.valueCount("key"));
+        assertEquals(new HashSet<Integer>(asList(1, 2, 3)), new HashSet<Integer>(multiMap.get("key")));
+    }
+
+    @Test
+    public void testPutAll_withListCollection_keepsOrder() {
+        MultiMap<String, Integer> multiMap = instances[0].getMultiMap("list");
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            values.add(i % 10);
+        }
+
+        assertTrue(multiMap.putAll("key", values));
+
+        assertEquals(values, new ArrayList<Integer>(instances[1].<String, Integer>getMultiMap("list").get("key")));
+    }
+
+    @Test
+    public void testPutAll_withEmptyCollection() {
+        MultiMap<String, Integer> multiMap = instances[0].getMultiMap("set");
+
+        assertFalse(multiMap.putAll("key", new ArrayList<Integer>()));
+
+        assertFalse(multiMap.containsKey("key"));
+        assertEquals(0, multiMap.size());
+    }
+
+    @Test
+    public void testPutAll_isBackedUp() {
+        MultiMap<String, Integer> multiMap = instances[0].getMultiMap("set");
+        for (int i = 0; i < 50; i++) {
+            multiMap.putAll("key" + i, asList(1, 2, 3));
+        }
+
+        TestUtil.terminateInstance(instances[0]);
+
+        MultiMap<String, Integer> otherMultiMap = instances[1].getMultiMap("set");
+        assertEquals(150, otherMultiMap.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(3, otherMultiMap.valueCount("key" + i));
+        }
+    }
+
+    @Test
+    public void testPutAll_publishesEventPerAddedValue() {
+        MultiMap<String, Integer> multiMap = instances[0].getMultiMap("set");
+        final AtomicInteger added = new AtomicInteger();
+        multiMap.addEntryListener(new EntryAdapter<String, Integer>() {
+            @Override
+            public void entryAdded(EntryEvent<String, Integer> event) {
+                added.incrementAndGet();
+            }
+        }, true);
+
+        multiMap.putAll("key", asList(1, 2, 2, 3));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(3, added.get());
+            }
+        });
+    }
+
+    @Test
+    public void testGetAll() {
+        MultiMap<String, Integer> multiMap = instances[0].getMultiMap("list");
+        Set<String> keys = new HashSet<String>();
+        for (int i = 0; i < 100; i++) {
+            multiMap.putAll("key" + i, asList(i, i, i + 1));
+            keys.add("key" + i);
+        }
+        keys.add("missing");
+
+        Map<String, Collection<Integer>> result = instances[1].<String, Integer>getMultiMap("list").getAll(keys);
+
+        assertEquals(100, result.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(asList(i, i, i + 1), new ArrayList<Integer>(result.get("key" + i)));
+        }
+    }
+
+    @Test
+    public void testGetAll_withEmptyKeys() {
+        MultiMap<String, Integer> multiMap = instances[0].getMultiMap("set");
+
+        assertTrue(multiMap.getAll(new HashSet<String>()).isEmpty());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.multimap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MultiMapConfig;
+import com.hazelcast.config.MultiMapConfig.ValueCollectionType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.MultiMap;
+import com.hazelcast.core.TransactionalMultiMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MultiMapValueIndexTest extends HazelcastTestSupport {
+
+    @Test
+    public void testPutAndRemove_withSetCollection() {
+        MultiMap<String, String> multiMap = createMultiMap(ValueCollectionType.SET, true);
+
+        multiMap.put("key1", "value1");
+        multiMap.put("key1", "value2");
+        multiMap.put("key2", "value1");
+
+        assertTrue(multiMap.containsValue("value1"));
+        assertTrue(multiMap.containsEntry("key2", "value1"));
+        assertFalse(multiMap.containsEntry("key2", "value2"));
+
+        multiMap.remove("key1", "value1");
+        assertTrue(multiMap.containsValue("value1"));
+        assertFalse(multiMap.containsEntry("key1", "value1"));
+
+        multiMap.remove("key2");
+        assertFalse(multiMap.containsValue("value1"));
+        assertTrue(multiMap.containsValue("value2"));
+    }
+
+    @Test
+    public void testDuplicateValues_withListCollection() {
+        MultiMap<String, String> multiMap = createMultiMap(ValueCollectionType.LIST, false);
+
+        multiMap.put("key", "value");
+        multiMap.put("key", "value");
+        multiMap.remove("key", "value");
+
+        assertTrue(multiMap.containsEntry("key", "value"));
+        assertTrue(multiMap.containsValue("value"));
+
+        multiMap.remove("key", "value");
+        assertFalse(multiMap.containsEntry("key", "value"));
+        assertFalse(multiMap.containsValue("value"));
+    }
+
+    @Test
+    public void testClear() {
+        MultiMap<String, String> multiMap = createMultiMap(ValueCollectionType.SET, true);
+        for (int i = 0; i < 100; i++) {
+            multiMap.put("key" + i, "value" + i);
+        }
+
+        multiMap.clear();
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(multiMap.containsValue("value" + i));
+        }
+    }
+
+    @Test
+    public void testTransactionalPutAndRemove() {
+        HazelcastInstance instance = createHazelcastInstance(createConfig(ValueCollectionType.SET, true));
+        MultiMap<String, String> multiMap = instance.getMultiMap("indexed");
+
+        TransactionContext context = instance.newTransactionContext();
+        context.beginTransaction();
+        TransactionalMultiMap<String, String> txnMultiMap = context.getMultiMap("indexed");
+        txnMultiMap.put("key", "value1");
+        txnMultiMap.put("key", "value2");
+        context.commitTransaction();
+
+        assertTrue(multiMap.containsEntry("key", "value1"));
+
+        context = instance.newTransactionContext();
+        context.beginTransaction();
+        txnMultiMap = context.getMultiMap("indexed");
+        txnMultiMap.remove("key", "value1");
+        context.commitTransaction();
+
+        assertFalse(multiMap.containsValue("value1"));
+        assertTrue(multiMap.containsValue("value2"));
+    }
+
+    @Test
+    public void testPutAll() {
+        MultiMap<String, String> multiMap = createMultiMap(ValueCollectionType.SET, true);
+
+        multiMap.putAll("key", asList("value1", "value2"));
+
+        assertTrue(multiMap.containsEntry("key", "value1"));
+        assertTrue(multiMap.containsEntry("key", "value2"));
+    }
+
+    @Test
+    public void testIndexIsRebuiltAfterMigration() {
+        Config config = createConfig(ValueCollectionType.SET, true);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        MultiMap<String, String> multiMap = instance1.getMultiMap("indexed");
+        for (int i = 0; i < 100; i++) {
+            multiMap.put("key" + i, "value" + i);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance3 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2, instance3);
+        instance1.shutdown();
+        waitAllForSafeState(instance2, instance3);
+
+        MultiMap<String, String> otherMultiMap = instance2.getMultiMap("indexed");
+        for (int i = 0; i < 100; i++) {
+            assertTrue(otherMultiMap.containsValue("value" + i));
+            assertTrue(otherMultiMap.containsEntry("key" + i, "value" + i));
+        }
+        otherMultiMap.remove("key0", "value0");
+        assertFalse(otherMultiMap.containsValue("value0"));
+    }
+
+    private MultiMap<String, String> createMultiMap(ValueCollectionType collectionType, boolean binary) {
+        HazelcastInstance instance = createHazelcastInstance(createConfig(collectionType, binary));
+        return instance.getMultiMap("indexed");
+    }
+
+    private static Config createConfig(ValueCollectionType collectionType, boolean binary) {
+        Config config = new Config();
+        config.addMultiMapConfig(new MultiMapConfig("indexed")
+                .setValueCollectionType(collectionType)
+                .setBinary(binary)
+                .setValueIndexEnabled(true));
+        return config;
+    }
+}
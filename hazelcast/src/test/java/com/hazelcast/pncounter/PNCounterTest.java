@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.PN_COUNTER_REPLICATION_PERIOD_MILLIS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PNCounterTest extends HazelcastTestSupport {
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(3);
+        instances = factory.newInstances(newConfig(), 2);
+    }
+
+    private static Config newConfig() {
+        return new Config().setProperty(PN_COUNTER_REPLICATION_PERIOD_MILLIS.getName(), "100");
+    }
+
+    @Test
+    public void testUpdatesAreVisibleLocally() {
+        PNCounter counter = instances[0].getPNCounter("counter");
+
+        assertEquals(1, counter.incrementAndGet());
+        assertEquals(1, counter.getAndAdd(5));
+        assertEquals(6, counter.get());
+        assertEquals(4, counter.subtractAndGet(2));
+        assertEquals(4, counter.getAndDecrement());
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    public void testMembersConverge() {
+        instances[0].getPNCounter("counter").addAndGet(10);
+        instances[1].getPNCounter("counter").subtractAndGet(3);
+
+        assertValueEventually(7, instances);
+    }
+
+    @Test
+    public void testConcurrentUpdates() {
+        final PNCounter counter = instances[0].getPNCounter("counter");
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < 1000; k++) {
+                        counter.incrementAndGet();
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        assertJoinable(threads);
+
+        assertEquals(4000, counter.get());
+        assertValueEventually(4000, instances);
+    }
+
+    @Test
+    public void testJoiningMemberReceivesState() {
+        instances[0].getPNCounter("counter").addAndGet(5);
+        HazelcastInstance joining = factory.newHazelcastInstance(newConfig());
+
+        assertValueEventually(5, joining);
+    }
+
+    @Test
+    public void testUpdatesSurviveGracefulShutdown() {
+        instances[0].getPNCounter("counter").addAndGet(5);
+        instances[1].getPNCounter("counter").addAndGet(3);
+
+        instances[0].shutdown();
+
+        assertValueEventually(8, instances[1]);
+    }
+
+    @Test
+    public void testDepartedReplica_isAdoptedByMaster() {
+        instances[0].getPNCounter("counter").addAndGet(5);
+        instances[1].getPNCounter("counter").addAndGet(3);
+        assertValueEventually(8, instances);
+
+        instances[1].getLifecycleService().terminate();
+        HazelcastInstance joining = factory.newHazelcastInstance(newConfig());
+
+        assertValueEventually(8, instances[0], joining);
+    }
+
+    @Test
+    public void testDestroy_removesCounterOnAllMembers() {
+        instances[0].getPNCounter("counter").addAndGet(5);
+        instances[1].getPNCounter("counter").addAndGet(3);
+        assertValueEventually(8, instances);
+
+        instances[0].getPNCounter("counter").destroy();
+
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (HazelcastInstance member : instances) {
+                    assertEquals(0, member.getPNCounter("counter").get());
+                }
+            }
+        }, 2);
+    }
+
+    private static void assertValueEventually(final long expected, final HazelcastInstance... members) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (HazelcastInstance member : members) {
+                    assertEquals(expected, member.getPNCounter("counter").get());
+                }
+            }
+        });
+    }
+}
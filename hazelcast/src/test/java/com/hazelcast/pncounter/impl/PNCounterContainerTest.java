@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.pncounter.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PNCounterContainerTest extends HazelcastTestSupport {
+
+    private final PNCounterContainer container = new PNCounterContainer("local", 4);
+
+    @Test
+    public void testAdd() {
+        container.add(5);
+        container.add(-2);
+
+        assertEquals(3, container.get());
+        assertArrayEquals(new long[]{5, 2}, container.getState().get("local"));
+        assertEquals(7, (long) container.getClock().get("local"));
+    }
+
+    @Test
+    public void testMerge_isIdempotent() {
+        Map<String, long[]> state = Collections.singletonMap("remote", new long[]{10, 4});
+        container.merge(state);
+        container.merge(state);
+
+        assertEquals(6, container.get());
+    }
+
+    @Test
+    public void testMerge_keepsLatestState() {
+        container.merge(Collections.singletonMap("remote", new long[]{10, 4}));
+        container.merge(Collections.singletonMap("remote", new long[]{8, 6}));
+
+        assertArrayEquals(new long[]{10, 6}, container.getState().get("remote"));
+        assertEquals(4, container.get());
+    }
+
+    @Test
+    public void testMerge_ignoresLocalReplica() {
+        container.add(1);
+        container.merge(Collections.singletonMap("local", new long[]{100, 0}));
+
+        assertEquals(1, container.get());
+    }
+
+    @Test
+    public void testHasObserved() {
+        container.add(3);
+        container.merge(Collections.singletonMap("remote", new long[]{2, 1}));
+        Map<String, Long> clock = new HashMap<String, Long>();
+        clock.put("local", 3L);
+        clock.put("remote", 3L);
+
+        assertTrue(container.hasObserved(clock));
+        assertTrue(container.hasObserved(Collections.<String, Long>emptyMap()));
+        assertFalse(container.hasObserved(Collections.singletonMap("remote", 4L)));
+        assertFalse(container.hasObserved(Collections.singletonMap("unknown", 1L)));
+    }
+
+    @Test
+    public void testAdopt_addsDepartedReplicaToLocalReplica() {
+        container.add(1);
+        container.merge(Collections.singletonMap("remote", new long[]{10, 4}));
+
+        container.adopt("remote");
+
+        assertEquals(7, container.get());
+        assertEquals(1, container.getState().size());
+        assertArrayEquals(new long[]{11, 4}, container.getState().get("local"));
+        assertTrue(container.hasAdopted("remote"));
+    }
+
+    @Test
+    public void testMerge_whenReplicaAdopted_thenLateUpdatesAddedOnce() {
+        container.merge(Collections.singletonMap("remote", new long[]{10, 4}));
+        container.adopt("remote");
+
+        container.merge(Collections.singletonMap("remote", new long[]{12, 4}));
+        container.merge(Collections.singletonMap("remote", new long[]{12, 4}));
+
+        assertEquals(8, container.get());
+        assertEquals(1, container.getState().size());
+    }
+
+    @Test
+    public void testRetire_dropsReplica() {
+        container.merge(Collections.singletonMap("remote", new long[]{10, 4}));
+
+        container.retire("remote");
+
+        assertEquals(0, container.get());
+        assertFalse(container.isKnownReplica("remote"));
+    }
+
+    @Test
+    public void testGetLocalStateToReplicate_whenUnchanged_thenNull() {
+        container.add(3);
+
+        assertArrayEquals(new long[]{3, 0}, container.getLocalStateToReplicate(false));
+        assertNull(container.getLocalStateToReplicate(false));
+        assertArrayEquals(new long[]{3, 0}, container.getLocalStateToReplicate(true));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.replicatedmap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReplicatedMap;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_DELAY_MILLIS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReplicatedMapBatchedReplicationTest extends ReplicatedMapAbstractTest {
+
+    private static final int MEMBER_COUNT = 3;
+
+    @Test
+    public void testPutsAreReplicated() {
+        final List<ReplicatedMap<String, Object>> maps = createMaps(10);
+
+        for (int i = 0; i < 1000; i++) {
+            maps.get(i % MEMBER_COUNT).put("key-" + i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReplicatedMap<String, Object> map : maps) {
+                    assertEquals(1000, map.size());
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i, map.get("key-" + i));
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testUpdatesOfSameKey_areAppliedInOrder() {
+        final List<ReplicatedMap<String, Object>> maps = createMaps(10);
+
+        for (int i = 0; i < 500; i++) {
+            maps.get(0).put("key", i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                long version = getStore(maps.get(0), "key").getVersion();
+                for (ReplicatedMap<String, Object> map : maps) {
+                    assertEquals(499, map.get("key"));
+                    assertEquals(version, getStore(map, "key").getVersion());
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testRemovesAreReplicated() {
+        final List<ReplicatedMap<String, Object>> maps = createMaps(10);
+        for (int i = 0; i < 100; i++) {
+            maps.get(0).put("key-" + i, i);
+        }
+
+        for (int i = 0; i < 100; i += 2) {
+            maps.get(1).remove("key-" + i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReplicatedMap<String, Object> map : maps) {
+                    assertEquals(50, map.size());
+                    assertNull(map.get("key-0"));
+                    assertEquals(1, map.get("key-1"));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testPutAllIsReplicated() {
+        final List<ReplicatedMap<String, Object>> maps = createMaps(10);
+        Map<String, Object> entries = new HashMap<String, Object>();
+        for (int i = 0; i < 500; i++) {
+            entries.put("key-" + i, i);
+        }
+
+        maps.get(0).putAll(entries);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReplicatedMap<String, Object> map : maps) {
+                    assertEquals(500, map.size());
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testPartialBatch_isSentAfterDelay() {
+        final List<ReplicatedMap<String, Object>> maps = createMaps(100000);
+
+        maps.get(0).put("key", "value");
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReplicatedMap<String, Object> map : maps) {
+                    assertEquals("value", map.get("key"));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testBatchingDisabled() {
+        final List<ReplicatedMap<String, Object>> maps = createMaps(1);
+
+        for (int i = 0; i < 100; i++) {
+            maps.get(i % MEMBER_COUNT).put("key-" + i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReplicatedMap<String, Object> map : maps) {
+                    assertEquals(100, map.size());
+                }
+            }
+        });
+    }
+
+    private List<ReplicatedMap<String, Object>> createMaps(int batchSize) {
+        Config config = new Config()
+                .setProperty(REPLICATED_MAP_REPLICATION_BATCH_SIZE.getName(), String.valueOf(batchSize))
+                .setProperty(REPLICATED_MAP_REPLICATION_DELAY_MILLIS.getName(), "5");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(MEMBER_COUNT).newInstances(config);
+        return createMapOnEachInstance(instances, randomMapName());
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.replicatedmap;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.ReplicatedMapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReplicatedMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReplicatedMapQueryTest extends ReplicatedMapAbstractTest {
+
+    @Test
+    public void testQuery_withoutIndex() {
+        ReplicatedMap<Integer, Person> map = createMap(InMemoryFormat.OBJECT, false);
+        fill(map);
+
+        assertQueryResults(map);
+    }
+
+    @Test
+    public void testQuery_withIndex() throws Exception {
+        ReplicatedMap<Integer, Person> map = createMap(InMemoryFormat.OBJECT, true);
+        fill(map);
+
+        Index index = getIndex(map, "age");
+        assertNotNull(index);
+        assertEquals(10, index.getRecords(30).size());
+        assertQueryResults(map);
+    }
+
+    @Test
+    public void testQuery_withIndex_binaryFormat() throws Exception {
+        ReplicatedMap<Integer, Person> map = createMap(InMemoryFormat.BINARY, true);
+        fill(map);
+
+        assertEquals(10, getIndex(map, "age").getRecords(30).size());
+        assertQueryResults(map);
+    }
+
+    @Test
+    public void testIndex_isUpdatedOnPutRemoveAndClear() throws Exception {
+        ReplicatedMap<Integer, Person> map = createMap(InMemoryFormat.OBJECT, true);
+        fill(map);
+
+        map.put(2, new Person("updated", 99));
+        map.remove(5);
+
+        assertEquals(asSet(2), map.keySet(Predicates.equal("age", 99)));
+        assertEquals(8, map.keySet(Predicates.equal("age", 30)).size());
+        assertEquals(8, getIndex(map, "age").getRecords(30).size());
+
+        map.clear();
+
+        assertTrue(map.values(Predicates.greaterEqual("age", 0)).isEmpty());
+        assertEquals(0, getIndex(map, "age").getRecords(30).size());
+    }
+
+    @Test
+    public void testQuery_onOtherMember() {
+        Config config = createConfig(InMemoryFormat.OBJECT, true);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        ReplicatedMap<Integer, Person> map = instances[0].getReplicatedMap("persons");
+        final ReplicatedMap<Integer, Person> otherMap = instances[1].getReplicatedMap("persons");
+        fill(map);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(10, otherMap.values(Predicates.equal("age", 30)).size());
+                assertEquals(10, getIndex(otherMap, "age").getRecords(30).size());
+            }
+        });
+    }
+
+    @Test
+    public void testAggregate() {
+        ReplicatedMap<Integer, Person> map = createMap(InMemoryFormat.OBJECT, true);
+        fill(map);
+        Aggregator<Map.Entry<Integer, Person>, Long> sum = Aggregators.integerSum("age");
+
+        assertEquals(Long.valueOf(10 * (10 + 20 + 30)), map.aggregate(sum));
+        assertEquals(Long.valueOf(10 * 30), map.aggregate(sum, Predicates.equal("age", 30)));
+        assertEquals(Long.valueOf(10), map.aggregate(Aggregators.<Map.Entry<Integer, Person>>count(),
+                Predicates.equal("name", "name-1")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuery_withPagingPredicate() {
+        ReplicatedMap<Integer, Person> map = createMap(InMemoryFormat.OBJECT, false);
+
+        map.values(new PagingPredicate(10));
+    }
+
+    private void assertQueryResults(ReplicatedMap<Integer, Person> map) {
+        Collection<Person> values = map.values(Predicates.equal("age", 30));
+        assertEquals(10, values.size());
+        for (Person person : values) {
+            assertEquals(30, person.getAge());
+        }
+        assertEquals(20, map.keySet(Predicates.greaterThan("age", 15)).size());
+        Set<Map.Entry<Integer, Person>> entries = map.entrySet(Predicates.and(
+                Predicates.equal("age", 10), Predicates.equal("name", "name-0")));
+        assertEquals(10, entries.size());
+        for (Map.Entry<Integer, Person> entry : entries) {
+            assertEquals(0, entry.getKey() % 3);
+        }
+    }
+
+    private Index getIndex(ReplicatedMap map, String attribute) throws Exception {
+        ReplicatedMapService service = (ReplicatedMapService) REPLICATED_MAP_SERVICE.get(map);
+        return service.getOrCreateIndexes(map.getName()).getIndex(attribute);
+    }
+
+    private ReplicatedMap<Integer, Person> createMap(InMemoryFormat inMemoryFormat, boolean indexed) {
+        HazelcastInstance instance = createHazelcastInstance(createConfig(inMemoryFormat, indexed));
+        return instance.getReplicatedMap("persons");
+    }
+
+    private static Config createConfig(InMemoryFormat inMemoryFormat, boolean indexed) {
+        ReplicatedMapConfig replicatedMapConfig = new ReplicatedMapConfig("persons").setInMemoryFormat(inMemoryFormat);
+        if (indexed) {
+            replicatedMapConfig.addMapIndexConfig(new MapIndexConfig("age", true))
+                    .addMapIndexConfig(new MapIndexConfig("name", false));
+        }
+        return new Config().addReplicatedMapConfig(replicatedMapConfig);
+    }
+
+    private static void fill(ReplicatedMap<Integer, Person> map) {
+        for (int i = 0; i < 30; i++) {
+            map.put(i, new Person("name-" + (i % 3), 10 * (1 + i % 3)));
+        }
+    }
+
+    private static Set<Integer> asSet(Integer... values) {
+        return new HashSet<Integer>(asList(values));
+    }
+
+    public static class Person implements Serializable {
+
+        private final String name;
+        private final int age;
+
+        Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.replicatedmap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReplicatedMap;
+import com.hazelcast.test.HazelcastTestSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.spi.properties.GroupProperty.REPLICATED_MAP_REPLICATION_BATCH_SIZE;
+
+/**
+ * Measures the put throughput of a replicated map for growing cluster sizes, once with every update replicated on
+ * its own and once with batched replication. Without batching the number of replication operations grows with the
+ * square of the cluster size, so the throughput of the batched replication should degrade much slower.
+ */
+public class ReplicatedMapReplicationBenchmark extends HazelcastTestSupport {
+
+    private static final int[] MEMBER_COUNTS = {2, 4, 8};
+    private static final int[] BATCH_SIZES = {1, 100};
+    private static final int THREADS_PER_MEMBER = 4;
+    private static final int KEY_COUNT = 10000;
+    private static final int RUN_SECONDS = 20;
+    private static final byte[] VALUE = new byte[100];
+
+    public static void main(String[] args) {
+        System.setProperty("hazelcast.local.localAddress", "127.0.0.1");
+        for (int batchSize : BATCH_SIZES) {
+            for (int memberCount : MEMBER_COUNTS) {
+                Config config = new Config()
+                        .setProperty(REPLICATED_MAP_REPLICATION_BATCH_SIZE.getName(), String.valueOf(batchSize));
+                List<HazelcastInstance> members = new ArrayList<HazelcastInstance>(memberCount);
+                for (int i = 0; i < memberCount; i++) {
+                    members.add(Hazelcast.newHazelcastInstance(config));
+                }
+                long operations = run(members);
+                System.err.println("batch size: " + batchSize + ",\t members: " + memberCount
+                        + ",\t speed: " + (operations / RUN_SECONDS) + " ops/s");
+                Hazelcast.shutdownAll();
+            }
+        }
+    }
+
+    private static long run(List<HazelcastInstance> members) {
+        final AtomicLong operations = new AtomicLong();
+        final long deadline = System.currentTimeMillis() + RUN_SECONDS * 1000L;
+        Thread[] threads = new Thread[members.size() * THREADS_PER_MEMBER];
+        for (int i = 0; i < threads.length; i++) {
+            final ReplicatedMap<Integer, Object> map = members.get(i % members.size()).getReplicatedMap("map");
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    Random random = new Random();
+                    long count = 0;
+                    while (System.currentTimeMillis() < deadline) {
+                        map.put(random.nextInt(KEY_COUNT), VALUE);
+                        count++;
+                    }
+                    operations.addAndGet(count);
+                }
+            };
+            threads[i].start();
+        }
+        assertJoinable(RUN_SECONDS * 2, threads);
+        return operations.get();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class RingbufferDiskTierTest extends HazelcastTestSupport {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SerializationService serializationService;
+
+    @Before
+    public void setup() {
+        serializationService = getSerializationService(createHazelcastInstance());
+    }
+
+    @Test
+    public void readMany_acrossSegments() throws Exception {
+        RingbufferDiskTier tier = new RingbufferDiskTier(folder.newFolder(), 1024, 100);
+        for (int i = 0; i < 500; i++) {
+            tier.append(i, serializationService.toData("item" + i));
+        }
+        assertTrue(tier.segmentCount() > 1);
+        assertEquals(0, tier.headSequence());
+        assertEquals(499, tier.tailSequence());
+        assertEquals("item" + 321, serializationService.toObject(tier.read(321)));
+
+        ReadResultSetImpl<String, String> result = new ReadResultSetImpl<String, String>(0, 300, serializationService, null);
+        long next = tier.readMany(100, 1000, result);
+
+        assertEquals(400, next);
+        assertEquals(300, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(100 + i, result.getSequence(i));
+            assertEquals("item" + (100 + i), result.get(i));
+        }
+    }
+
+    @Test
+    public void append_whenMaxSegmentsExceeded_thenOldestSegmentDeleted() throws Exception {
+        File directory = folder.newFolder();
+        RingbufferDiskTier tier = new RingbufferDiskTier(directory, 256, 2);
+        for (int i = 0; i < 500; i++) {
+            tier.append(i, serializationService.toData(i));
+        }
+
+        assertEquals(2, tier.segmentCount());
+        assertEquals(2, directory.listFiles().length);
+        assertTrue(tier.headSequence() > 0);
+        assertEquals(499, tier.tailSequence());
+    }
+
+    @Test
+    public void append_whenSequenceNotContiguous_thenCleared() throws Exception {
+        RingbufferDiskTier tier = new RingbufferDiskTier(folder.newFolder(), 1024, 10);
+        for (int i = 0; i < 10; i++) {
+            tier.append(i, serializationService.toData(i));
+        }
+        tier.append(20, serializationService.toData(20));
+
+        assertEquals(20, tier.headSequence());
+        assertEquals(20, tier.tailSequence());
+    }
+
+    @Test
+    public void destroy_deletesDirectory() throws Exception {
+        File directory = folder.newFolder();
+        RingbufferDiskTier tier = new RingbufferDiskTier(directory, 1024, 10);
+        tier.append(0, serializationService.toData(0));
+
+        tier.destroy();
+
+        assertTrue(tier.isEmpty());
+        assertFalse(directory.exists());
+    }
+
+    @Test
+    public void ringbuffer_readsEvictedItemsFromDisk() throws Exception {
+        Config config = new Config();
+        config.setProperty(GroupProperty.RINGBUFFER_DISK_TIER_DIRECTORY.getName(), folder.newFolder().getAbsolutePath());
+        config.setProperty(GroupProperty.RINGBUFFER_DISK_TIER_SEGMENT_SIZE.getName(), "4096");
+        config.addRingBufferConfig(new RingbufferConfig("tiered").setCapacity(10).setInMemoryFormat(InMemoryFormat.OBJECT));
+        HazelcastInstance hz = createHazelcastInstance(config);
+        Ringbuffer<Integer> ringbuffer = hz.getRingbuffer("tiered");
+        for (int i = 0; i < 1000; i++) {
+            ringbuffer.add(i);
+        }
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(999, ringbuffer.tailSequence());
+        assertEquals(5, (int) ringbuffer.readOne(5));
+
+        ReadResultSet<Integer> result = ringbuffer.readManyAsync(985, 1, 100, null).get();
+        assertEquals(15, result.readCount());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(985 + i, (int) result.get(i));
+        }
+    }
+
+    @Test(expected = StaleSequenceException.class)
+    public void ringbuffer_whenDiskTierDisabled_thenEvictedItemsStale() throws Exception {
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("notTiered").setCapacity(10));
+        Ringbuffer<Integer> ringbuffer = createHazelcastInstance(config).getRingbuffer("notTiered");
+        for (int i = 0; i < 11; i++) {
+            ringbuffer.add(i);
+        }
+
+        ringbuffer.readOne(0);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.RingbufferStoreAcknowledgeType;
+import com.hazelcast.config.RingbufferStoreConfig;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.RingbufferStore;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class RingbufferStoreWriteBehindTest extends HazelcastTestSupport {
+
+    @Test
+    public void testItemsAreStoredInBatches() {
+        final ConcurrentRingbufferStore<Integer> store = new ConcurrentRingbufferStore<Integer>();
+        Ringbuffer<Integer> ringbuffer = newRingbuffer(store, RingbufferStoreAcknowledgeType.MEMORY, 100);
+
+        for (int i = 0; i < 1000; i++) {
+            ringbuffer.add(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1000, store.items.size());
+            }
+        });
+        assertEquals(0, store.storeCount.get());
+        assertTrue(store.storeAllCount.get() > 0);
+        assertEquals(999, (int) store.items.get(999L));
+    }
+
+    @Test
+    public void testMemoryAcknowledge_doesNotWaitForStore() throws Exception {
+        ConcurrentRingbufferStore<Integer> store = new ConcurrentRingbufferStore<Integer>();
+        store.blockLatch = new CountDownLatch(1);
+        Ringbuffer<Integer> ringbuffer = newRingbuffer(store, RingbufferStoreAcknowledgeType.MEMORY, 100);
+
+        for (int i = 0; i < 20; i++) {
+            ringbuffer.add(i);
+        }
+
+        // the evicted items are still queued, they are read from the write-behind queue
+        assertEquals(0, (int) ringbuffer.readOne(0));
+        assertEquals(0, store.items.size());
+        store.blockLatch.countDown();
+        assertSizeEventually(20, store.items);
+    }
+
+    @Test
+    public void testStoredAcknowledge_waitsForStore() throws Exception {
+        ConcurrentRingbufferStore<Integer> store = new ConcurrentRingbufferStore<Integer>();
+        store.blockLatch = new CountDownLatch(1);
+        Ringbuffer<Integer> ringbuffer = newRingbuffer(store, RingbufferStoreAcknowledgeType.STORED, 100);
+
+        ICompletableFuture<Long> future = ringbuffer.addAsync(1, OverflowPolicy.OVERWRITE);
+
+        // the partition thread is not blocked while the item is being stored
+        assertEquals(1, (int) ringbuffer.readOne(0));
+        sleepMillis(200);
+        assertFalse(future.isDone());
+
+        store.blockLatch.countDown();
+        assertEquals(0L, (long) future.get());
+        assertEquals(1, (int) store.items.get(0L));
+    }
+
+    @Test
+    public void testQueueFull_callerWritesOldestItems() {
+        final ConcurrentRingbufferStore<Integer> store = new ConcurrentRingbufferStore<Integer>();
+        Ringbuffer<Integer> ringbuffer = newRingbuffer(store, RingbufferStoreAcknowledgeType.MEMORY, 5);
+
+        for (int i = 0; i < 100; i++) {
+            ringbuffer.add(i);
+        }
+
+        assertSizeEventually(100, store.items);
+    }
+
+    @Test
+    public void testFailedBatch_isRetried() {
+        ConcurrentRingbufferStore<Integer> store = new ConcurrentRingbufferStore<Integer>();
+        store.failuresRemaining.set(1);
+        Ringbuffer<Integer> ringbuffer = newRingbuffer(store, RingbufferStoreAcknowledgeType.MEMORY, 100);
+
+        for (int i = 0; i < 10; i++) {
+            ringbuffer.add(i);
+        }
+
+        assertSizeEventually(10, store.items);
+        assertEquals(0, store.failuresRemaining.get());
+    }
+
+    @Test
+    public void testStoredAcknowledge_failsWhenStoreKeepsFailing() throws Exception {
+        ConcurrentRingbufferStore<Integer> store = new ConcurrentRingbufferStore<Integer>();
+        store.failuresRemaining.set(Integer.MAX_VALUE);
+        Ringbuffer<Integer> ringbuffer = newRingbuffer(store, RingbufferStoreAcknowledgeType.STORED, 100);
+
+        ICompletableFuture<Long> future = ringbuffer.addAsync(1, OverflowPolicy.OVERWRITE);
+
+        try {
+            future.get();
+            fail("the add should fail once the store gave up on the batch");
+        } catch (ExecutionException expected) {
+            ignore(expected);
+        }
+        assertEquals(0, store.items.size());
+    }
+
+    @Test
+    public void testStoredAcknowledge_failsWhenEarlierBatchOfAddAllIsDropped() throws Exception {
+        ConcurrentRingbufferStore<Integer> store = new ConcurrentRingbufferStore<Integer>();
+        store.failingSequence = 0;
+        Ringbuffer<Integer> ringbuffer = newRingbuffer(store, RingbufferStoreAcknowledgeType.STORED, 100);
+        List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            items.add(i);
+        }
+
+        // the items are written in two batches of 50, the first one is dropped after the last failed attempt
+        ICompletableFuture<Long> future = ringbuffer.addAllAsync(items, OverflowPolicy.OVERWRITE);
+
+        try {
+            future.get();
+            fail("the addAll should fail when some of its items were dropped");
+        } catch (ExecutionException expected) {
+            ignore(expected);
+        }
+        assertSizeEventually(50, store.items);
+        assertFalse(store.items.containsKey(0L));
+        assertEquals(99, (int) store.items.get(99L));
+    }
+
+    private Ringbuffer<Integer> newRingbuffer(RingbufferStore store, RingbufferStoreAcknowledgeType acknowledgeType,
+                                              int queueCapacity) {
+        RingbufferStoreConfig storeConfig = new RingbufferStoreConfig()
+                .setStoreImplementation(store)
+                .setWriteBehindEnabled(true)
+                .setWriteBehindQueueCapacity(queueCapacity)
+                .setWriteBehindBatchSize(50)
+                .setWriteBehindAcknowledgeType(acknowledgeType);
+        Config config = new Config();
+        config.getRingbufferConfig("writeBehind*")
+              .setCapacity(10)
+              .setInMemoryFormat(InMemoryFormat.OBJECT)
+              .setRingbufferStoreConfig(storeConfig);
+        return createHazelcastInstance(config).getRingbuffer("writeBehind" + randomString());
+    }
+
+    static class ConcurrentRingbufferStore<T> implements RingbufferStore<T> {
+
+        final ConcurrentMap<Long, T> items = new ConcurrentHashMap<Long, T>();
+        final AtomicInteger storeCount = new AtomicInteger();
+        final AtomicInteger storeAllCount = new AtomicInteger();
+        final AtomicInteger failuresRemaining = new AtomicInteger();
+        volatile CountDownLatch blockLatch;
+        volatile long failingSequence = -1;
+
+        @Override
+        public void store(long sequence, T data) {
+            storeCount.incrementAndGet();
+            items.put(sequence, data);
+        }
+
+        @Override
+        public void storeAll(long firstItemSequence, T[] data) {
+            if (blockLatch != null) {
+                assertOpenEventually(blockLatch);
+            }
+            if (firstItemSequence == failingSequence) {
+                throw new IllegalStateException("expected failure");
+            }
+            if (failuresRemaining.get() > 0) {
+                failuresRemaining.decrementAndGet();
+                throw new IllegalStateException("expected failure");
+            }
+            storeAllCount.incrementAndGet();
+            for (int i = 0; i < data.length; i++) {
+                items.put(firstItemSequence + i, data[i]);
+            }
+        }
+
+        @Override
+        public T load(long sequence) {
+            return items.get(sequence);
+        }
+
+        @Override
+        public long getLargestSequence() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.scheduledexecutor.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.Clock;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.scheduledexecutor.impl.ScheduledTaskTimingWheel.TICK_MILLIS;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ScheduledTaskTimingWheelTest {
+
+    private final ScheduledTaskTimingWheel wheel = new ScheduledTaskTimingWheel();
+
+    private final List<Runnable> dispatched = new ArrayList<Runnable>();
+
+    private final Executor executor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            dispatched.add(command);
+        }
+    };
+
+    @Test
+    public void testSingleRun_firesNotBeforeDeadline() throws Exception {
+        long now = Clock.currentTimeMillis();
+        ScheduledTaskTimingWheel.Timeout<Integer> timeout = wheel.schedule(new ValueTask(42), executor, 500, 0, MILLISECONDS);
+
+        assertEquals(0, wheel.advance(now + 500 - TICK_MILLIS));
+        assertEquals(1, wheel.advance(now + 500 + 2 * TICK_MILLIS + 1000));
+        runDispatched();
+
+        assertTrue(timeout.isDone());
+        assertEquals(42, (int) timeout.get());
+        assertEquals(0, wheel.size());
+        assertEquals(Long.MAX_VALUE, wheel.getNextDueMillis());
+    }
+
+    @Test
+    public void testTasksOnAllLevels_fireInOrder() {
+        long now = Clock.currentTimeMillis();
+        long[] delays = {0, 100, 700, 41000, 41100, 2700000, HOURS.toMillis(50), HOURS.toMillis(24 * 200)};
+        final List<Long> fired = new ArrayList<Long>();
+        for (final long delay : delays) {
+            wheel.schedule(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    fired.add(delay);
+                    return null;
+                }
+            }, executor, delay, 0, MILLISECONDS);
+        }
+
+        for (long delay : delays) {
+            wheel.advance(now + delay - TICK_MILLIS);
+            runDispatched();
+            assertFalse("fired too early: " + delay, fired.contains(delay));
+
+            wheel.advance(now + delay + 5 * TICK_MILLIS);
+            runDispatched();
+            assertTrue("not fired: " + delay, fired.contains(delay));
+        }
+        assertEquals(delays.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancel_removesTask() {
+        long now = Clock.currentTimeMillis();
+        ScheduledTaskTimingWheel.Timeout<Integer> timeout = wheel.schedule(new ValueTask(1), executor, 100, 0, MILLISECONDS);
+        wheel.schedule(new ValueTask(2), executor, 100, 0, MILLISECONDS);
+
+        assertTrue(timeout.cancel(false));
+        assertTrue(wheel.hasCancelled());
+
+        assertEquals(1, wheel.advance(now + 10000));
+        assertFalse(wheel.hasCancelled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testClear_cancelsAndRemovesAllTasks() {
+        long now = Clock.currentTimeMillis();
+        ScheduledTaskTimingWheel.Timeout<Integer> single = wheel.schedule(new ValueTask(1), executor, 100, 0, MILLISECONDS);
+        ScheduledTaskTimingWheel.Timeout<Integer> periodic = wheel.schedule(new ValueTask(2), executor, 1, 1, HOURS);
+
+        wheel.clear();
+
+        assertTrue(single.isCancelled());
+        assertTrue(periodic.isCancelled());
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.hasCancelled());
+        assertEquals(Long.MAX_VALUE, wheel.getNextDueMillis());
+        assertEquals(0, wheel.advance(now + HOURS.toMillis(2)));
+    }
+
+    @Test
+    public void testActivationListener_notifiedWhenEmptyWheelGetsTask() {
+        final AtomicInteger activations = new AtomicInteger();
+        ScheduledTaskTimingWheel activatingWheel = new ScheduledTaskTimingWheel(new Runnable() {
+            @Override
+            public void run() {
+                activations.incrementAndGet();
+            }
+        });
+        long now = Clock.currentTimeMillis();
+
+        activatingWheel.schedule(new ValueTask(1), executor, 100, 0, MILLISECONDS);
+        activatingWheel.schedule(new ValueTask(2), executor, 100, 0, MILLISECONDS);
+        assertEquals(1, activations.get());
+
+        activatingWheel.advance(now + 10000);
+        activatingWheel.schedule(new ValueTask(3), executor, 100, 0, MILLISECONDS);
+        assertEquals(2, activations.get());
+    }
+
+    @Test
+    public void testPeriodic_rescheduledAfterEveryRun() {
+        long now = Clock.currentTimeMillis();
+        ValueTask task = new ValueTask(0);
+        ScheduledTaskTimingWheel.Timeout<Integer> timeout = wheel.schedule(task, executor, 100, 100, MILLISECONDS);
+
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(1, wheel.advance(now + i * 100 + 2 * TICK_MILLIS + 50));
+            runDispatched();
+        }
+
+        assertEquals(5, task.calls.get());
+        assertEquals(1, wheel.size());
+        assertFalse(timeout.isDone());
+    }
+
+    @Test
+    public void testPeriodic_skipsRunWhilePreviousRunInProgress() {
+        long now = Clock.currentTimeMillis();
+        ValueTask task = new ValueTask(0);
+        wheel.schedule(task, executor, 100, 100, MILLISECONDS);
+
+        assertEquals(1, wheel.advance(now + 100 + 2 * TICK_MILLIS + 50));
+        assertEquals(0, wheel.advance(now + 200 + 2 * TICK_MILLIS + 50));
+        runDispatched();
+        assertEquals(1, wheel.advance(now + 300 + 2 * TICK_MILLIS + 50));
+        runDispatched();
+
+        assertEquals(2, task.calls.get());
+    }
+
+    @Test
+    public void testPeriodic_failedRunStopsTask() throws Exception {
+        long now = Clock.currentTimeMillis();
+        ScheduledTaskTimingWheel.Timeout<Object> timeout = wheel.schedule(new Callable<Object>() {
+            @Override
+            public Object call() {
+                throw new IllegalStateException();
+            }
+        }, executor, 100, 100, MILLISECONDS);
+
+        wheel.advance(now + 100 + 2 * TICK_MILLIS + 50);
+        runDispatched();
+
+        assertTrue(timeout.isDone());
+        assertEquals(0, wheel.advance(now + 1000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testGetDelay() {
+        ScheduledTaskTimingWheel.Timeout<Integer> timeout = wheel.schedule(new ValueTask(1), executor, 1, 0, HOURS);
+
+        long delay = timeout.getDelay(TimeUnit.MINUTES);
+        assertTrue("delay: " + delay, delay > 58 && delay <= 60);
+    }
+
+    private void runDispatched() {
+        List<Runnable> commands = new ArrayList<Runnable>(dispatched);
+        dispatched.clear();
+        for (Runnable command : commands) {
+            command.run();
+        }
+    }
+
+    private static class ValueTask implements Callable<Integer> {
+
+        private final int value;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        ValueTask(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer call() {
+            calls.incrementAndGet();
+            return value;
+        }
+    }
+}
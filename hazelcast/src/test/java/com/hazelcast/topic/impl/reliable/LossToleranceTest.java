@@ -30,6 +30,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -39,6 +40,7 @@ public class LossToleranceTest extends HazelcastTestSupport {
 
     private ReliableTopicProxy<String> topic;
     private Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private HazelcastInstance hz;
 
     @Before
     public void setup() {
@@ -46,7 +48,7 @@ public class LossToleranceTest extends HazelcastTestSupport {
         config.addRingBufferConfig(new RingbufferConfig("foo")
                 .setCapacity(100)
                 .setTimeToLiveSeconds(0));
-        HazelcastInstance hz = createHazelcastInstance(config);
+        hz = createHazelcastInstance(config);
 
         topic = (ReliableTopicProxy<String>) hz.<String>getReliableTopic("foo");
         ringbuffer = topic.ringbuffer;
@@ -102,4 +104,46 @@ public class LossToleranceTest extends HazelcastTestSupport {
             }
         });
     }
+
+    @Test
+    public void whenNotLossTolerant_andSharedReaderSkipsMessages_thenTerminate() {
+        ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        listener.isLossTolerant = false;
+
+        String id = topic.addMessageListener(listener);
+        ReliableMessageListenerRunner runner = topic.runnersMap.get(id);
+        runner.deliver(new ReliableTopicMessage[]{newMessage("skipped")}, runner.getSequence() + 10);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(topic.runnersMap.isEmpty());
+            }
+        });
+        assertTrue(listener.objects.isEmpty());
+    }
+
+    @Test
+    public void whenLossTolerant_andSharedReaderSkipsMessages_thenContinue() {
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        listener.isLossTolerant = true;
+
+        String id = topic.addMessageListener(listener);
+        final ReliableMessageListenerRunner runner = topic.runnersMap.get(id);
+        final long sequence = runner.getSequence() + 10;
+        runner.deliver(new ReliableTopicMessage[]{newMessage("skipped")}, sequence);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertContains(listener.objects, "skipped");
+                assertEquals(sequence + 1, runner.getSequence());
+                assertFalse(topic.runnersMap.isEmpty());
+            }
+        });
+    }
+
+    private ReliableTopicMessage newMessage(String payload) {
+        return new ReliableTopicMessage(getSerializationService(hz).toData(payload), getAddress(hz));
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReliableTopicReaderTest extends HazelcastTestSupport {
+
+    private ReliableTopicProxy<String> topic;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("foo")
+                .setCapacity(1000)
+                .setTimeToLiveSeconds(0));
+        HazelcastInstance hz = createHazelcastInstance(config);
+        topic = (ReliableTopicProxy<String>) hz.<String>getReliableTopic("foo");
+    }
+
+    @Test
+    public void allListenersReceiveAllMessages_inOrder() {
+        final List<ReliableMessageListenerMock> listeners = new ArrayList<ReliableMessageListenerMock>();
+        for (int i = 0; i < 10; i++) {
+            ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+            topic.addMessageListener(listener);
+            listeners.add(listener);
+        }
+
+        final List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 500; i++) {
+            String item = "item" + i;
+            topic.publish(item);
+            expected.add(item);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReliableMessageListenerMock listener : listeners) {
+                    assertEquals(expected, listener.objects);
+                    assertEquals(499, listener.storedSequence);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void listenerAddedLater_receivesOnlyNewMessages() {
+        final ReliableMessageListenerMock first = new ReliableMessageListenerMock();
+        topic.addMessageListener(first);
+        topic.publish("item1");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(asList("item1"), first.objects);
+            }
+        });
+
+        final ReliableMessageListenerMock second = new ReliableMessageListenerMock();
+        topic.addMessageListener(second);
+        topic.publish("item2");
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(asList("item1", "item2"), first.objects);
+                assertEquals(asList("item2"), second.objects);
+            }
+        });
+    }
+
+    @Test
+    public void listenerWithInitialSequence_readsOnItsOwn() {
+        topic.publish("item1");
+        topic.publish("item2");
+
+        final ReliableMessageListenerMock shared = new ReliableMessageListenerMock();
+        topic.addMessageListener(shared);
+        final ReliableMessageListenerMock standalone = new ReliableMessageListenerMock();
+        standalone.initialSequence = 0;
+        topic.addMessageListener(standalone);
+
+        topic.publish("item3");
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(asList("item3"), shared.objects);
+                assertEquals(asList("item1", "item2", "item3"), standalone.objects);
+            }
+        });
+    }
+
+    @Test
+    public void removedListener_doesNotStopOtherListeners() {
+        final ReliableMessageListenerMock removed = new ReliableMessageListenerMock();
+        String id = topic.addMessageListener(removed);
+        final ReliableMessageListenerMock remaining = new ReliableMessageListenerMock();
+        topic.addMessageListener(remaining);
+
+        topic.publish("item1");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(asList("item1"), removed.objects);
+                assertEquals(asList("item1"), remaining.objects);
+            }
+        });
+
+        assertTrue(topic.removeMessageListener(id));
+        topic.publish("item2");
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(asList("item1", "item2"), remaining.objects);
+            }
+        });
+        assertEquals(asList("item1"), removed.objects);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Message;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.topic.ShardedReliableMessageListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ShardedReliableTopicTest extends HazelcastTestSupport {
+
+    private static final int SHARD_COUNT = 4;
+
+    private ReliableTopicProxy<String> topic;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("foo")
+                .setCapacity(1000)
+                .setTimeToLiveSeconds(0));
+        config.addReliableTopicConfig(new ReliableTopicConfig("foo")
+                .setShardCount(SHARD_COUNT));
+        HazelcastInstance hz = createHazelcastInstance(config);
+        topic = (ReliableTopicProxy<String>) hz.<String>getReliableTopic("foo");
+    }
+
+    @Test
+    public void shardsUseTopicRingbufferConfig() {
+        assertEquals(SHARD_COUNT, topic.shards.length);
+        for (Ringbuffer<ReliableTopicMessage> shard : topic.shards) {
+            assertEquals(1000, shard.capacity());
+        }
+    }
+
+    @Test
+    public void messagesAreSpreadOverShards_andOrderedPerKey() {
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        topic.addMessageListener(listener);
+
+        final int keyCount = 20;
+        final int messagesPerKey = 50;
+        for (int i = 0; i < messagesPerKey; i++) {
+            for (int key = 0; key < keyCount; key++) {
+                topic.publish(key, key + ":" + i);
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(keyCount * messagesPerKey, listener.objects.size());
+            }
+        });
+
+        int usedShards = 0;
+        for (Ringbuffer<ReliableTopicMessage> shard : topic.shards) {
+            if (shard.size() > 0) {
+                usedShards++;
+            }
+        }
+        assertTrue(usedShards > 1);
+
+        ConcurrentMap<String, Integer> lastPerKey = new ConcurrentHashMap<String, Integer>();
+        for (String object : listener.objects) {
+            String[] parts = object.split(":");
+            int index = Integer.parseInt(parts[1]);
+            Integer previous = lastPerKey.put(parts[0], index);
+            assertEquals(previous == null ? 0 : previous + 1, index);
+        }
+        // a single sequence can not describe the position of a plain listener in all shards
+        assertEquals(0, listener.storedSequence);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void plainListenerWithInitialSequence_isRejected() {
+        ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        listener.initialSequence = 0;
+
+        topic.addMessageListener(listener);
+    }
+
+    @Test
+    public void removeMessageListener_cancelsAllShards() {
+        final ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+        String id = topic.addMessageListener(listener);
+        assertEquals(1, topic.runnersMap.size());
+
+        assertTrue(topic.removeMessageListener(id));
+        assertTrue(topic.runnersMap.isEmpty());
+
+        for (int key = 0; key < 10; key++) {
+            topic.publish(key, "item" + key);
+        }
+        assertTrueFiveSeconds(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(listener.objects.isEmpty());
+            }
+        });
+    }
+
+    @Test
+    public void shardedListener_resumesFromSequencePerShard() {
+        for (int key = 0; key < 10; key++) {
+            topic.publish(key, "old" + key);
+        }
+
+        final ShardedListenerMock first = new ShardedListenerMock(0);
+        String id = topic.addMessageListener(first);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(10, first.objects.size());
+            }
+        });
+        topic.removeMessageListener(id);
+
+        for (int key = 0; key < 10; key++) {
+            topic.publish(key, "new" + key);
+        }
+
+        final ShardedListenerMock second = new ShardedListenerMock(first.storedSequences);
+        topic.addMessageListener(second);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(10, second.objects.size());
+                for (String object : second.objects) {
+                    assertTrue(object.startsWith("new"));
+                }
+            }
+        });
+    }
+
+    private static class ShardedListenerMock implements ShardedReliableMessageListener<String> {
+
+        final List<String> objects = new CopyOnWriteArrayList<String>();
+        final ConcurrentMap<Integer, Long> storedSequences = new ConcurrentHashMap<Integer, Long>();
+        private final ConcurrentMap<Integer, Long> initialSequences;
+        private final long defaultInitialSequence;
+
+        ShardedListenerMock(long defaultInitialSequence) {
+            this.initialSequences = new ConcurrentHashMap<Integer, Long>();
+            this.defaultInitialSequence = defaultInitialSequence;
+        }
+
+        ShardedListenerMock(ConcurrentMap<Integer, Long> storedSequences) {
+            this.initialSequences = new ConcurrentHashMap<Integer, Long>();
+            for (ConcurrentMap.Entry<Integer, Long> entry : storedSequences.entrySet()) {
+                initialSequences.put(entry.getKey(), entry.getValue() + 1);
+            }
+            this.defaultInitialSequence = 0;
+        }
+
+        @Override
+        public long retrieveInitialSequence(int shard) {
+            Long sequence = initialSequences.get(shard);
+            return sequence == null ? defaultInitialSequence : sequence;
+        }
+
+        @Override
+        public void storeSequence(int shard, long sequence) {
+            storedSequences.put(shard, sequence);
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            return true;
+        }
+
+        @Override
+        public void onMessage(Message<String> message) {
+            objects.add(message.getMessageObject());
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2017, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.WanAcknowledgeType;
+import com.hazelcast.config.WanPublisherConfig;
+import com.hazelcast.config.WanReplicationConfig;
+import com.hazelcast.config.WanReplicationRef;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.merge.PassThroughMergePolicy;
+import com.hazelcast.monitor.LocalWanPublisherStats;
+import com.hazelcast.monitor.LocalWanStats;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.wan.WanReplicationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replicates between two clusters running in the same JVM.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class WanBatchReplicationTest extends HazelcastTestSupport {
+
+    private static final String WAN_NAME = "batchWan";
+    private static final String TARGET_GROUP = "target-cluster";
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance target;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(4);
+        target = factory.newHazelcastInstance(targetConfig());
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testPutsAreReplicated() {
+        HazelcastInstance source = newSourceInstance(WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE, true);
+        IMap<Integer, Integer> sourceMap = source.getMap("map");
+        for (int i = 0; i < 1000; i++) {
+            sourceMap.put(i, i);
+        }
+
+        assertSizeEventually(1000, target.getMap("map"));
+        assertEquals(999, target.getMap("map").get(999));
+    }
+
+    @Test
+    public void testRemovesAreReplicated() {
+        HazelcastInstance source = newSourceInstance(WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE, false);
+        IMap<Integer, Integer> sourceMap = source.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            sourceMap.put(i, i);
+        }
+        assertSizeEventually(100, target.getMap("map"));
+
+        for (int i = 0; i < 50; i++) {
+            sourceMap.remove(i);
+        }
+        assertSizeEventually(50, target.getMap("map"));
+    }
+
+    @Test
+    public void testAckOnReceipt() {
+        HazelcastInstance source = newSourceInstance(WanAcknowledgeType.ACK_ON_RECEIPT, true);
+        IMap<Integer, Integer> sourceMap = source.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            sourceMap.put(i, i);
+        }
+
+        assertSizeEventually(100, target.getMap("map"));
+    }
+
+    @Test
+    public void testStats() {
+        final HazelcastInstance source = newSourceInstance(WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE, true);
+        IMap<Integer, Integer> sourceMap = source.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            sourceMap.put(i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                LocalWanPublisherStats stats = getPublisherStats(source);
+                assertTrue(stats.isConnected());
+                assertEquals(100, stats.getTotalPublishedEventCount());
+                assertEquals(0, stats.getOutboundQueueSize());
+            }
+        });
+    }
+
+    @Test
+    public void testPauseAndResume() {
+        HazelcastInstance source = newSourceInstance(WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE, true);
+        IMap<Integer, Integer> sourceMap = source.getMap("map");
+        WanReplicationService wanReplicationService = getNodeEngineImpl(source).getWanReplicationService();
+
+        wanReplicationService.pause(WAN_NAME, TARGET_GROUP);
+        for (int i = 0; i < 100; i++) {
+            sourceMap.put(i, i);
+        }
+        sleepSeconds(2);
+        assertEquals(0, target.getMap("map").size());
+        assertTrue(getPublisherStats(source).isPaused());
+
+        wanReplicationService.resume(WAN_NAME, TARGET_GROUP);
+        assertSizeEventually(100, target.getMap("map"));
+        assertFalse(getPublisherStats(source).isPaused());
+    }
+
+    @Test
+    public void testSyncMap_transfersOnlyDifferences() {
+        target.shutdown();
+        target = factory.newHazelcastInstance(withMerkleTrees(targetConfig()));
+        IMap<Integer, Integer> targetMap = target.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            targetMap.put(i, i);
+        }
+        targetMap.put(1000, 1000);
+
+        HazelcastInstance source = newSourceInstance(WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE, true);
+        IMap<Integer, Integer> sourceMap = source.getMap("map");
+        WanReplicationService wanReplicationService = getNodeEngineImpl(source).getWanReplicationService();
+        wanReplicationService.pause(WAN_NAME, TARGET_GROUP);
+        for (int i = 0; i < 100; i++) {
+            sourceMap.put(i, i == 50 ? -1 : i);
+        }
+        wanReplicationService.clearQueues(WAN_NAME, TARGET_GROUP);
+        wanReplicationService.resume(WAN_NAME, TARGET_GROUP);
+
+        wanReplicationService.syncMap(WAN_NAME, TARGET_GROUP, "map");
+
+        assertSizeEventually(100, targetMap);
+        assertEquals(-1, (int) targetMap.get(50));
+        LocalWanPublisherStats stats = getPublisherStats(source);
+        // one update for the changed entry, one remove for the entry which exists only in the target cluster
+        assertTrue(stats.getTotalPublishedEventCount() < 100);
+    }
+
+    private static Config targetConfig() {
+        Config targetConfig = new Config();
+        targetConfig.getGroupConfig().setName(TARGET_GROUP);
+        return targetConfig;
+    }
+
+    private static Config withMerkleTrees(Config config) {
+        config.setProperty(GroupProperty.MAP_MERKLE_TREE_DEPTH.getName(), "6");
+        return config;
+    }
+
+    private HazelcastInstance newSourceInstance(WanAcknowledgeType ackType, boolean compression) {
+        WanPublisherConfig publisherConfig = new WanPublisherConfig();
+        publisherConfig.setGroupName(TARGET_GROUP);
+        publisherConfig.setClassName(WanBatchReplication.class.getName());
+        Map<String, Comparable> properties = publisherConfig.getProperties();
+        properties.put(WanBatchReplication.ENDPOINTS, getAddress(target).getHost() + ":" + getAddress(target).getPort());
+        properties.put(WanBatchReplication.BATCH_SIZE, 50);
+        properties.put(WanBatchReplication.BATCH_MAX_DELAY_MILLIS, 100);
+        properties.put(WanBatchReplication.ACK_TYPE, ackType.name());
+        properties.put(WanBatchReplication.COMPRESSION_ENABLED, compression);
+
+        WanReplicationConfig wanConfig = new WanReplicationConfig();
+        wanConfig.setName(WAN_NAME);
+        wanConfig.addWanPublisherConfig(publisherConfig);
+
+        WanReplicationRef wanRef = new WanReplicationRef();
+        wanRef.setName(WAN_NAME);
+        wanRef.setMergePolicy(PassThroughMergePolicy.class.getName());
+
+        Config config = withMerkleTrees(new Config());
+        config.getGroupConfig().setName("source-cluster");
+        config.addWanReplicationConfig(wanConfig);
+        config.getMapConfig("default").setWanReplicationRef(wanRef);
+        return factory.newHazelcastInstance(config);
+    }
+
+    private static LocalWanPublisherStats getPublisherStats(HazelcastInstance instance) {
+        Map<String, LocalWanStats> stats = getNodeEngineImpl(instance).getWanReplicationService().getStats();
+        assertNotNull(stats);
+        return stats.get(WAN_NAME).getLocalWanPublisherStats().get(TARGET_GROUP);
+    }
+}
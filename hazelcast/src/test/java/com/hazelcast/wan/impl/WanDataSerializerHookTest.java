@@ -23,6 +23,7 @@ import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
 import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.impl.operation.WanBatchReplicationOperation;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
@@ -47,6 +48,14 @@ public class WanDataSerializerHookTest {
         IdentifiedDataSerializable mapRemove = hook.createFactory()
                 .create(WanDataSerializerHook.MAP_REPLICATION_REMOVE);
         assertTrue(mapRemove instanceof MapReplicationRemove);
+
+        IdentifiedDataSerializable batchEvent = hook.createFactory()
+                .create(WanDataSerializerHook.BATCH_WAN_REPLICATION_EVENT);
+        assertTrue(batchEvent instanceof BatchWanReplicationEvent);
+
+        IdentifiedDataSerializable batchOperation = hook.createFactory()
+                .create(WanDataSerializerHook.WAN_BATCH_REPLICATION_OPERATION);
+        assertTrue(batchOperation instanceof WanBatchReplicationOperation);
     }
 
     @Test(expected = IllegalArgumentException.class)